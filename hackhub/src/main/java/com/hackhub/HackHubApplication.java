@@ -1,5 +1,23 @@
 package com.hackhub;
 
+import com.hackhub.archivio.ArchivioHackathon;
+import com.hackhub.avvio.MetricheAvvio;
+import com.hackhub.avvio.ModelloPigro;
+import com.hackhub.avvio.RiscaldatoreModello;
+import com.hackhub.diagnostica.RegistrazioneJfr;
+import com.hackhub.enums.ProfiloJfr;
+import com.hackhub.replica.FollowerReplica;
+import com.hackhub.replica.PrimarioReplica;
+import com.hackhub.replica.RegistroMutazioni;
+import com.hackhub.unicita.IndiceUnicita;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
 /**
  * Classe principale dell'applicazione HackHub.
  *
@@ -10,18 +28,116 @@ package com.hackhub;
  * - Sottomissione progetti e valutazioni
  * - Prenotazione call con mentori
  *
+ * Modalita' di replica (opzionali):
+ * - --primario PORTA: registra le mutazioni e le invia ai follower
+ * - --follower HOST PORTA: mantiene una copia del modello per le letture
+ *
+ * Avvio rapido (opzionale):
+ * - --avvio-rapido CARTELLA: apre l'indice del modello salvato e serve subito,
+ *   caricando le entita' al primo accesso e riscaldando in background gli hackathon attivi;
+ *   i registri di unicita' di nomi dei team ed email rispondono subito alle verifiche negative
+ *
+ * Registrazione JFR (opzionale, prima delle altre opzioni):
+ * - --jfr PROFILO FILE: registra gli eventi di dominio con il profilo produzione o diagnosi;
+ *   il file viene scritto alla chiusura e si legge con diagnostica.AnalizzatoreJfr
+ *
+ * Archiviazione (opzionale, dopo --jfr e prima delle altre opzioni):
+ * - --archivio CARTELLA: sposta su disco iscrizioni e sottomissioni degli hackathon
+ *   che passano allo stato CONCLUSO; i segmenti gia' presenti nella cartella vengono riaperti
+ *
  * @author Matteo, Alessandro, Elena
  * @version 1.0.0
  * Progetto IDS - UNICAM - Prof. Andrea Polini
  */
 public class HackHubApplication {
 
-    public static void main(String[] args) {
+    /** Intervallo di heartbeat del primario in millisecondi */
+    private static final long HEARTBEAT_MILLIS = 200;
+
+    /** Numero di sottografi archiviati tenuti in cache */
+    private static final int CAPACITA_CACHE_ARCHIVIO = 64;
+
+    /** Attesa massima del riscaldamento prima di stampare le metriche */
+    private static final Duration ATTESA_RISCALDAMENTO = Duration.ofMinutes(10);
+
+    public static void main(String[] args) throws IOException, InterruptedException, ParseException {
+        long inizio = System.nanoTime();
+        if (args.length >= 3 && args[0].equals("--jfr")) {
+            ProfiloJfr profilo = ProfiloJfr.valueOf(args[1].toUpperCase(Locale.ROOT));
+            RegistrazioneJfr.avvia(profilo, Path.of(args[2]));
+            args = Arrays.copyOfRange(args, 3, args.length);
+        }
+        if (args.length >= 2 && args[0].equals("--archivio")) {
+            // Resta attivo per tutta la vita del processo: il thread di archiviazione e' daemon
+            ArchivioHackathon archivio = new ArchivioHackathon(Path.of(args[1]), CAPACITA_CACHE_ARCHIVIO);
+            archivio.attiva();
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
         System.out.println("=================================");
         System.out.println("  HackHub - Gestione Hackathon");
         System.out.println("  Progetto IDS - UNICAM");
         System.out.println("=================================");
         System.out.println();
+
+        if (args.length >= 2 && args[0].equals("--primario")) {
+            avviaPrimario(Integer.parseInt(args[1]));
+        } else if (args.length >= 3 && args[0].equals("--follower")) {
+            avviaFollower(args[1], Integer.parseInt(args[2]));
+        } else if (args.length >= 2 && args[0].equals("--avvio-rapido")) {
+            avviaRapido(Path.of(args[1]), inizio);
+            return;
+        }
+
         System.out.println("Applicazione avviata con successo!");
     }
+
+    private static void avviaRapido(Path cartella, long inizio) throws IOException, InterruptedException {
+        MetricheAvvio metriche = new MetricheAvvio(inizio);
+        ModelloPigro modello = ModelloPigro.apri(cartella, metriche);
+        if (Files.exists(cartella.resolve(IndiceUnicita.FILE_UNICITA))) {
+            IndiceUnicita unicita = IndiceUnicita.apri(cartella);
+            unicita.attiva();
+        }
+        RiscaldatoreModello riscaldatore = new RiscaldatoreModello(modello);
+        riscaldatore.avvia();
+        System.out.println("Modello aperto in " + metriche.getTempoApertura().toMillis() + " ms ("
+            + modello.getIndice().getNumeroTotale() + " entita' indicizzate)");
+        System.out.println("Applicazione avviata con successo!");
+
+        // Le richieste vengono servite durante il riscaldamento; qui si attende solo per le metriche
+        if (riscaldatore.attendi(ATTESA_RISCALDAMENTO)) {
+            System.out.println("Riscaldamento completato: " + metriche);
+        }
+    }
+
+    private static void avviaPrimario(int porta) throws IOException, InterruptedException {
+        RegistroMutazioni registro = new RegistroMutazioni();
+        registro.attiva();
+        PrimarioReplica primario = new PrimarioReplica(registro, porta, HEARTBEAT_MILLIS);
+        primario.avvia();
+        System.out.println("Primario di replica in ascolto sulla porta " + primario.getPorta());
+
+        // I thread di accettazione e invio sono daemon: il processo resta vivo qui.
+        // Stampa periodicamente lo stato del registro
+        while (true) {
+            Thread.sleep(1000);
+            System.out.println("Posizione " + registro.getPosizioneCorrente()
+                + ", record " + registro.getNumeroRecord()
+                + ", follower " + primario.getNumeroFollower());
+        }
+    }
+
+    private static void avviaFollower(String host, int porta) throws InterruptedException {
+        FollowerReplica follower = new FollowerReplica(host, porta);
+        follower.avvia();
+        System.out.println("Follower di replica connesso a " + host + ":" + porta);
+
+        // Stampa periodicamente lo stato di allineamento
+        while (true) {
+            Thread.sleep(1000);
+            System.out.println("Posizione " + follower.getPosizioneApplicata()
+                + ", ritardo " + follower.getRitardo()
+                + ", obsolescenza " + follower.getObsolescenza().toMillis() + " ms");
+        }
+    }
 }
@@ -0,0 +1,406 @@
+package com.hackhub.abbinamento;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Classe che calcola i suggerimenti di abbinamento tra utenti senza team
+ * e team iscritti a un hackathon.
+ *
+ * Algoritmo:
+ * 1. Competenze e preferenze di utenti e team vengono codificate come vettori di bit
+ * 2. Punteggio (parallelo, fork-join per blocchi di utenti): per ogni utente si
+ *    tengono i migliori CANDIDATI_PER_UTENTE team con posti liberi
+ * 3. Assegnazione: le coppie candidate vengono ordinate per punteggio
+ *    decrescente e assegnate in modo greedy, senza superare maxMembriTeam
+ * 4. Gli utenti rimasti senza team vengono raggruppati (in parallelo, per blocchi)
+ *    in nuovi team di al massimo maxMembriTeam membri con competenze complementari
+ *
+ * I suggerimenti possono essere inviati direttamente con Leader.invitaUtente().
+ */
+public class MotoreAbbinamento {
+
+    /** Numero di team candidati conservati per ogni utente */
+    private static final int CANDIDATI_PER_UTENTE = 3;
+
+    /** Dimensione del blocco di utenti sotto la quale non si divide piu' il lavoro */
+    private static final int SOGLIA_PARALLELA = 1024;
+
+    /** Numero di utenti esaminati per completare un nuovo gruppo */
+    private static final int FINESTRA_GRUPPI = 256;
+
+    /** Numero massimo di utenti e di team: gli indici occupano 24 bit nelle chiavi delle candidature */
+    public static final int MASSIMO_INDICI = 1 << 24;
+
+    /** Pool fork-join su cui eseguire il calcolo */
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruttore della classe MotoreAbbinamento che usa il pool comune.
+     */
+    public MotoreAbbinamento() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe MotoreAbbinamento.
+     *
+     * @param pool Il pool fork-join da usare
+     */
+    public MotoreAbbinamento(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Calcola i suggerimenti di abbinamento per un hackathon.
+     *
+     * Vengono considerati i team con iscrizione CONFERMATA e posti liberi,
+     * e i candidati che non appartengono ancora a un team.
+     *
+     * @param hackathon L'hackathon per cui calcolare gli abbinamenti
+     * @param candidati Gli utenti da abbinare
+     * @return I suggerimenti calcolati
+     * @throws IllegalArgumentException se i team o i candidati senza team sono piu' di MASSIMO_INDICI
+     */
+    public SuggerimentiAbbinamento calcola(Hackathon hackathon, Collection<? extends Utente> candidati) {
+        int massimo = hackathon.getMaxMembriTeam();
+
+        List<Team> team = new ArrayList<>();
+        Set<Team> visti = new HashSet<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            Team t = iscrizione.getTeam();
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA
+                    && t.countMembri() < massimo && visti.add(t)) {
+                team.add(t);
+            }
+        }
+
+        List<Utente> utenti = new ArrayList<>();
+        for (Utente utente : candidati) {
+            if (!utente.haTeam()) {
+                utenti.add(utente);
+            }
+        }
+        if (team.size() > MASSIMO_INDICI || utenti.size() > MASSIMO_INDICI) {
+            throw new IllegalArgumentException("Un calcolo di abbinamento accetta al massimo "
+                + MASSIMO_INDICI + " team e " + MASSIMO_INDICI + " candidati");
+        }
+
+        // Codifica dei profili
+        Vocabolario vocabolario = new Vocabolario();
+        List<Set<String>> competenzeTeam = new ArrayList<>(team.size());
+        List<Set<String>> preferenzeTeam = new ArrayList<>(team.size());
+        for (Team t : team) {
+            Set<String> competenze = new LinkedHashSet<>();
+            Set<String> preferenze = new LinkedHashSet<>();
+            for (MembroTeam membro : t.getMembri()) {
+                competenze.addAll(membro.getCompetenze());
+                preferenze.addAll(membro.getPreferenze());
+            }
+            vocabolario.registra(competenze);
+            vocabolario.registra(preferenze);
+            competenzeTeam.add(competenze);
+            preferenzeTeam.add(preferenze);
+        }
+        for (Utente utente : utenti) {
+            vocabolario.registra(utente.getCompetenze());
+            vocabolario.registra(utente.getPreferenze());
+        }
+
+        Profili profiliTeam = new Profili(team.size(), vocabolario.parole());
+        for (int i = 0; i < team.size(); i++) {
+            profiliTeam.imposta(i, vocabolario.codifica(competenzeTeam.get(i)),
+                vocabolario.codifica(preferenzeTeam.get(i)));
+        }
+        Profili profiliUtenti = new Profili(utenti.size(), vocabolario.parole());
+        pool.invoke(new CodificaUtenti(utenti, vocabolario, profiliUtenti, 0, utenti.size()));
+
+        // Punteggio parallelo
+        List<Set<Utente>> invitatiPerTeam = new ArrayList<>(team.size());
+        int[] posti = new int[team.size()];
+        for (int i = 0; i < team.size(); i++) {
+            Set<Utente> invitati = new HashSet<>();
+            for (Invito invito : team.get(i).getInviti()) {
+                if (invito.getStato() == StatoInvito.IN_ATTESA) {
+                    invitati.add(invito.getDestinatario());
+                }
+            }
+            invitatiPerTeam.add(invitati);
+            posti[i] = massimo - team.get(i).countMembri();
+        }
+
+        long[] candidature = new long[utenti.size() * CANDIDATI_PER_UTENTE];
+        Arrays.fill(candidature, -1L);
+        pool.invoke(new Punteggio(utenti, invitatiPerTeam, profiliUtenti, profiliTeam, candidature, 0, utenti.size()));
+
+        // Assegnazione greedy per punteggio decrescente
+        Arrays.parallelSort(candidature);
+        boolean[] assegnato = new boolean[utenti.size()];
+        List<SuggerimentoInvito> inviti = new ArrayList<>();
+        for (int i = candidature.length - 1; i >= 0 && candidature[i] >= 0; i--) {
+            long chiave = candidature[i];
+            int u = (int) ((chiave >>> 24) & 0xFFFFFF);
+            int t = (int) (chiave & 0xFFFFFF);
+            if (!assegnato[u] && posti[t] > 0) {
+                assegnato[u] = true;
+                posti[t]--;
+                inviti.add(new SuggerimentoInvito(team.get(t), utenti.get(u), (int) (chiave >>> 48)));
+            }
+        }
+
+        // Nuovi team tra gli utenti rimasti
+        int[] rimasti = new int[utenti.size()];
+        int numeroRimasti = 0;
+        for (int u = 0; u < utenti.size(); u++) {
+            if (!assegnato[u]) {
+                rimasti[numeroRimasti++] = u;
+            }
+        }
+        List<List<Utente>> nuoviTeam = numeroRimasti == 0 ? List.of()
+            : pool.invoke(new Raggruppamento(utenti, profiliUtenti, rimasti, massimo, 0, numeroRimasti));
+
+        return new SuggerimentiAbbinamento(inviti, nuoviTeam);
+    }
+
+    /**
+     * Calcola il punteggio di un candidato rispetto a un profilo:
+     * 2 punti per ogni competenza nuova, 1 per ogni preferenza in comune.
+     */
+    private static int punteggio(Profili candidato, int c, Profili profilo, int p) {
+        int punteggio = 0;
+        int base = c * candidato.parole;
+        int basePr = p * profilo.parole;
+        for (int w = 0; w < candidato.parole; w++) {
+            punteggio += 2 * Long.bitCount(candidato.competenze[base + w] & ~profilo.competenze[basePr + w]);
+            punteggio += Long.bitCount(candidato.preferenze[base + w] & profilo.preferenze[basePr + w]);
+        }
+        return punteggio;
+    }
+
+    /**
+     * Vettori di bit di competenze e preferenze, memorizzati in array contigui.
+     */
+    private static class Profili {
+
+        final int parole;
+        final long[] competenze;
+        final long[] preferenze;
+
+        Profili(int numero, int parole) {
+            this.parole = parole;
+            this.competenze = new long[numero * parole];
+            this.preferenze = new long[numero * parole];
+        }
+
+        void imposta(int indice, long[] competenzeProfilo, long[] preferenzeProfilo) {
+            System.arraycopy(competenzeProfilo, 0, competenze, indice * parole, parole);
+            System.arraycopy(preferenzeProfilo, 0, preferenze, indice * parole, parole);
+        }
+
+        void unisci(int destinazione, Profili sorgente, int indice) {
+            for (int w = 0; w < parole; w++) {
+                competenze[destinazione * parole + w] |= sorgente.competenze[indice * parole + w];
+                preferenze[destinazione * parole + w] |= sorgente.preferenze[indice * parole + w];
+            }
+        }
+    }
+
+    /**
+     * Codifica in parallelo i profili degli utenti.
+     */
+    private static class CodificaUtenti extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Utente> utenti;
+        private final Vocabolario vocabolario;
+        private final Profili profili;
+        private final int da;
+        private final int a;
+
+        CodificaUtenti(List<Utente> utenti, Vocabolario vocabolario, Profili profili, int da, int a) {
+            this.utenti = utenti;
+            this.vocabolario = vocabolario;
+            this.profili = profili;
+            this.da = da;
+            this.a = a;
+        }
+
+        @Override
+        protected void compute() {
+            if (a - da <= SOGLIA_PARALLELA) {
+                for (int u = da; u < a; u++) {
+                    Utente utente = utenti.get(u);
+                    profili.imposta(u, vocabolario.codifica(utente.getCompetenze()),
+                        vocabolario.codifica(utente.getPreferenze()));
+                }
+                return;
+            }
+            int meta = (da + a) >>> 1;
+            invokeAll(new CodificaUtenti(utenti, vocabolario, profili, da, meta),
+                new CodificaUtenti(utenti, vocabolario, profili, meta, a));
+        }
+    }
+
+    /**
+     * Calcola in parallelo i migliori team candidati per ogni utente.
+     *
+     * Ogni candidatura e' codificata in un long ordinabile:
+     * punteggio (bit 48-62) | indice utente (bit 24-47) | indice team (bit 0-23).
+     */
+    private static class Punteggio extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Utente> utenti;
+        private final List<Set<Utente>> invitatiPerTeam;
+        private final Profili profiliUtenti;
+        private final Profili profiliTeam;
+        private final long[] candidature;
+        private final int da;
+        private final int a;
+
+        Punteggio(List<Utente> utenti, List<Set<Utente>> invitatiPerTeam, Profili profiliUtenti,
+                  Profili profiliTeam, long[] candidature, int da, int a) {
+            this.utenti = utenti;
+            this.invitatiPerTeam = invitatiPerTeam;
+            this.profiliUtenti = profiliUtenti;
+            this.profiliTeam = profiliTeam;
+            this.candidature = candidature;
+            this.da = da;
+            this.a = a;
+        }
+
+        @Override
+        protected void compute() {
+            if (a - da > SOGLIA_PARALLELA) {
+                int meta = (da + a) >>> 1;
+                invokeAll(new Punteggio(utenti, invitatiPerTeam, profiliUtenti, profiliTeam, candidature, da, meta),
+                    new Punteggio(utenti, invitatiPerTeam, profiliUtenti, profiliTeam, candidature, meta, a));
+                return;
+            }
+
+            int numeroTeam = invitatiPerTeam.size();
+            for (int u = da; u < a; u++) {
+                int base = u * CANDIDATI_PER_UTENTE;
+                for (int t = 0; t < numeroTeam; t++) {
+                    int punteggio = Math.min(punteggio(profiliUtenti, u, profiliTeam, t), 0x7FFF);
+                    if (punteggio == 0) {
+                        continue;
+                    }
+                    long chiave = ((long) punteggio << 48) | ((long) u << 24) | t;
+                    // Inserimento ordinato nei migliori candidati dell'utente
+                    int peggiore = base + CANDIDATI_PER_UTENTE - 1;
+                    if (chiave <= candidature[peggiore] || invitatiPerTeam.get(t).contains(utenti.get(u))) {
+                        continue;
+                    }
+                    int i = peggiore;
+                    while (i > base && candidature[i - 1] < chiave) {
+                        candidature[i] = candidature[i - 1];
+                        i--;
+                    }
+                    candidature[i] = chiave;
+                }
+            }
+        }
+    }
+
+    /**
+     * Raggruppa in parallelo gli utenti rimasti in nuovi team.
+     *
+     * Ogni blocco e' indipendente: il primo utente libero fonda un gruppo,
+     * poi tra i successivi FINESTRA_GRUPPI utenti liberi del blocco si aggiunge
+     * di volta in volta quello che completa meglio il gruppo.
+     */
+    private static class Raggruppamento extends RecursiveTask<List<List<Utente>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Utente> utenti;
+        private final Profili profili;
+        private final int[] rimasti;
+        private final int massimo;
+        private final int da;
+        private final int a;
+
+        Raggruppamento(List<Utente> utenti, Profili profili, int[] rimasti, int massimo, int da, int a) {
+            this.utenti = utenti;
+            this.profili = profili;
+            this.rimasti = rimasti;
+            this.massimo = massimo;
+            this.da = da;
+            this.a = a;
+        }
+
+        @Override
+        protected List<List<Utente>> compute() {
+            if (a - da > SOGLIA_PARALLELA * 4) {
+                int meta = (da + a) >>> 1;
+                Raggruppamento sinistra = new Raggruppamento(utenti, profili, rimasti, massimo, da, meta);
+                sinistra.fork();
+                List<List<Utente>> destra = new Raggruppamento(utenti, profili, rimasti, massimo, meta, a).compute();
+                List<List<Utente>> risultato = sinistra.join();
+                risultato.addAll(destra);
+                return risultato;
+            }
+
+            List<List<Utente>> gruppi = new ArrayList<>();
+            boolean[] usato = new boolean[a - da];
+            Profili gruppo = new Profili(1, profili.parole);
+            for (int i = 0; i < usato.length; i++) {
+                if (usato[i]) {
+                    continue;
+                }
+                usato[i] = true;
+                List<Utente> membri = new ArrayList<>(massimo);
+                membri.add(utenti.get(rimasti[da + i]));
+                Arrays.fill(gruppo.competenze, 0);
+                Arrays.fill(gruppo.preferenze, 0);
+                gruppo.unisci(0, profili, rimasti[da + i]);
+
+                while (membri.size() < massimo) {
+                    int migliore = -1;
+                    int punteggioMigliore = -1;
+                    int esaminati = 0;
+                    for (int j = i + 1; j < usato.length && esaminati < FINESTRA_GRUPPI; j++) {
+                        if (usato[j]) {
+                            continue;
+                        }
+                        esaminati++;
+                        int punteggio = punteggio(profili, rimasti[da + j], gruppo, 0);
+                        if (punteggio > punteggioMigliore) {
+                            punteggioMigliore = punteggio;
+                            migliore = j;
+                        }
+                    }
+                    if (migliore < 0) {
+                        break;
+                    }
+                    usato[migliore] = true;
+                    membri.add(utenti.get(rimasti[da + migliore]));
+                    gruppo.unisci(0, profili, rimasti[da + migliore]);
+                }
+                gruppi.add(membri);
+            }
+            return gruppi;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hackhub.abbinamento;
+
+import com.hackhub.enums.AmbitoLimite;
+import com.hackhub.limiti.LimiteSuperatoException;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe che raccoglie il risultato di un calcolo di abbinamento.
+ *
+ * Contiene:
+ * - Gli inviti suggeriti verso team esistenti con posti liberi
+ * - I gruppi suggeriti per formare nuovi team tra gli utenti rimasti
+ */
+public class SuggerimentiAbbinamento {
+
+    /** Inviti suggeriti, in ordine di punteggio decrescente */
+    private final List<SuggerimentoInvito> inviti;
+
+    /** Gruppi di utenti suggeriti per formare nuovi team */
+    private final List<List<Utente>> nuoviTeam;
+
+    /** Inviti non inviati dall'ultimo inviaInviti() perche' la quota era esaurita */
+    private List<SuggerimentoInvito> rinviati;
+
+    /**
+     * Costruttore della classe SuggerimentiAbbinamento.
+     *
+     * @param inviti    Gli inviti suggeriti
+     * @param nuoviTeam I gruppi suggeriti per nuovi team
+     */
+    public SuggerimentiAbbinamento(List<SuggerimentoInvito> inviti, List<List<Utente>> nuoviTeam) {
+        this.inviti = inviti;
+        this.nuoviTeam = nuoviTeam;
+        this.rinviati = Collections.emptyList();
+    }
+
+    // ==================== GETTER ====================
+
+    public List<SuggerimentoInvito> getInviti() {
+        return inviti;
+    }
+
+    public List<List<Utente>> getNuoviTeam() {
+        return nuoviTeam;
+    }
+
+    /**
+     * Restituisce gli inviti che l'ultimo inviaInviti() non ha inviato per una quota esaurita.
+     * Possono essere riproposti dopo l'attesa indicata da LimiteSuperatoException.
+     *
+     * @return Gli inviti rinviati, in ordine di punteggio decrescente
+     */
+    public List<SuggerimentoInvito> getRinviati() {
+        return Collections.unmodifiableList(rinviati);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Invia tutti gli inviti suggeriti tramite Leader.invitaUtente().
+     * Gli inviti non piu' validi (utente entrato in un altro team nel frattempo,
+     * invito gia' pendente) vengono saltati.
+     *
+     * Se una quota di inviti e' esaurita, gli inviti che ne dipendono non vengono
+     * tentati e finiscono in getRinviati(): quelli dello stesso team per una quota
+     * per utente o per team, tutti i restanti per la quota globale.
+     *
+     * @return Il numero di inviti effettivamente inviati
+     */
+    public int inviaInviti() {
+        int inviati = 0;
+        List<SuggerimentoInvito> nonInviati = new ArrayList<>();
+        Map<Team, Boolean> teamLimitati = new IdentityHashMap<>();
+        boolean limiteGlobale = false;
+        for (SuggerimentoInvito suggerimento : inviti) {
+            if (limiteGlobale || teamLimitati.containsKey(suggerimento.getTeam())) {
+                nonInviati.add(suggerimento);
+                continue;
+            }
+            try {
+                suggerimento.invia();
+                inviati++;
+            } catch (LimiteSuperatoException e) {
+                nonInviati.add(suggerimento);
+                if (e.getAmbito() == AmbitoLimite.GLOBALE) {
+                    limiteGlobale = true;
+                } else {
+                    teamLimitati.put(suggerimento.getTeam(), Boolean.TRUE);
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // Suggerimento non piu' applicabile
+            }
+        }
+        this.rinviati = nonInviati;
+        return inviati;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hackhub.abbinamento;
+
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+
+/**
+ * Classe che rappresenta il suggerimento di invitare un utente in un team.
+ *
+ * Il punteggio misura quanto l'utente completa il team: ogni competenza
+ * nuova per il team vale 2 punti, ogni preferenza in comune vale 1 punto.
+ */
+public class SuggerimentoInvito {
+
+    /** Team a cui si suggerisce l'invito */
+    private final Team team;
+
+    /** Utente da invitare */
+    private final Utente utente;
+
+    /** Punteggio di compatibilita' */
+    private final int punteggio;
+
+    /**
+     * Costruttore della classe SuggerimentoInvito.
+     *
+     * @param team      Il team
+     * @param utente    L'utente da invitare
+     * @param punteggio Il punteggio di compatibilita'
+     */
+    public SuggerimentoInvito(Team team, Utente utente, int punteggio) {
+        this.team = team;
+        this.utente = utente;
+        this.punteggio = punteggio;
+    }
+
+    // ==================== GETTER ====================
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public Utente getUtente() {
+        return utente;
+    }
+
+    public int getPunteggio() {
+        return punteggio;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Invia l'invito suggerito tramite il Leader del team.
+     *
+     * @return L'invito creato
+     * @throws IllegalStateException    se il Leader non ha un team
+     * @throws IllegalArgumentException se l'utente ha gia' un team o un invito pendente
+     * @throws com.hackhub.limiti.LimiteSuperatoException se la quota di inviti e' esaurita
+     */
+    public Invito invia() {
+        return team.getLeader().invitaUtente(utente);
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale del suggerimento.
+     *
+     * @return Stringa con team, utente e punteggio
+     */
+    @Override
+    public String toString() {
+        return "Suggerimento: " + utente.getEmail() + " -> " + team.getNome() + " (" + punteggio + ")";
+    }
+}
@@ -0,0 +1,56 @@
+package com.hackhub.abbinamento;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe che assegna un indice di bit a ogni competenza o preferenza,
+ * in modo da rappresentare i profili come vettori di bit (long[]).
+ *
+ * Con i vettori di bit il confronto tra due profili si riduce a operazioni
+ * AND/ANDNOT e Long.bitCount(), senza allocare oggetti durante il punteggio.
+ */
+class Vocabolario {
+
+    /** Indice di bit per ogni termine */
+    private final Map<String, Integer> indici = new HashMap<>();
+
+    /**
+     * Registra i termini non ancora presenti nel vocabolario.
+     *
+     * @param termini I termini da registrare
+     */
+    void registra(Collection<String> termini) {
+        for (String termine : termini) {
+            indici.putIfAbsent(termine, indici.size());
+        }
+    }
+
+    /**
+     * Restituisce il numero di parole long necessarie per un vettore.
+     *
+     * @return Il numero di parole
+     */
+    int parole() {
+        return Math.max(1, (indici.size() + 63) / 64);
+    }
+
+    /**
+     * Codifica un insieme di termini come vettore di bit.
+     * I termini non presenti nel vocabolario vengono ignorati.
+     *
+     * @param termini I termini da codificare
+     * @return Il vettore di bit
+     */
+    long[] codifica(Collection<String> termini) {
+        long[] vettore = new long[parole()];
+        for (String termine : termini) {
+            Integer indice = indici.get(termine);
+            if (indice != null) {
+                vettore[indice >>> 6] |= 1L << indice;
+            }
+        }
+        return vettore;
+    }
+}
@@ -0,0 +1,653 @@
+package com.hackhub.archivio;
+
+import com.hackhub.collezioni.Segnaposto;
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Classe che gestisce il livello di archiviazione degli hackathon conclusi.
+ *
+ * archivia() scrive le iscrizioni di un hackathon CONCLUSO e le sottomissioni dei
+ * team iscritti come record compresso in coda al segmento corrente. Poi toglie
+ * l'elenco delle iscrizioni dall'hackathon e, nelle collezioni dei team, sostituisce
+ * iscrizioni e sottomissioni archiviate con segnaposto: restano in memoria solo i
+ * dati anagrafici dell'hackathon e il vincitore. L'archivio non trattiene i team:
+ * sono entita' vive, condivise con gli hackathon attivi.
+ * Durante la scrittura l'hackathon rifiuta nuove iscrizioni e nuove sottomissioni,
+ * cosi' il record contiene tutto cio' che poi viene tolto dalla memoria.
+ * I segmenti sono file in sola aggiunta che ruotano al superamento di una dimensione massima.
+ *
+ * I getter dell'hackathon e dei team ricaricano il sottografo tramite reidrata(), che
+ * consulta prima una cache LRU di capacita' fissa e solo in caso di mancanza legge il disco.
+ * Le istanze ricaricate sono collegate ai team vivi, o a team ricostruiti dai dati
+ * anagrafici del record se nel frattempo sono stati raccolti; un team, un'iscrizione
+ * o una sottomissione ancora referenziati da qualcuno vengono riusati, quindi per
+ * ogni id esiste al piu' un'istanza in memoria.
+ *
+ * All'apertura l'indice viene ricostruito scorrendo i segmenti gia' presenti nella
+ * cartella; un record scritto a meta' in coda all'ultimo segmento viene scartato.
+ * L'archiviazione dopo un riavvio ricollega solo gli hackathon archiviati di nuovo
+ * (il record piu' recente di un hackathon prevale sui precedenti).
+ *
+ * Con attiva() gli hackathon vengono archiviati in un thread in background quando
+ * passano allo stato CONCLUSO.
+ *
+ * Formato di un segmento: magia (int), versione (int), poi i record.
+ * Formato di un record: id hackathon (long), lunghezza compressa (int),
+ * lunghezza originale (int), byte compressi con Deflater.
+ */
+public class ArchivioHackathon implements AscoltatoreEventi, Closeable {
+
+    /** Dimensione massima predefinita di un segmento: 64 MB */
+    public static final long DIMENSIONE_SEGMENTO_PREDEFINITA = 64L * 1024 * 1024;
+
+    /** Numero magico dei segmenti ("HHAR") */
+    private static final int MAGIA = 0x48484152;
+
+    /** Versione del formato dei segmenti */
+    private static final int VERSIONE = 2;
+
+    private static final int INTESTAZIONE_SEGMENTO = 2 * Integer.BYTES;
+
+    private static final int INTESTAZIONE_RECORD = Long.BYTES + 2 * Integer.BYTES;
+
+    private static final Logger LOG = Logger.getLogger(ArchivioHackathon.class.getName());
+
+    /** Cartella dei segmenti */
+    private final Path cartella;
+
+    /** Dimensione oltre la quale si apre un nuovo segmento */
+    private final long dimensioneMassimaSegmento;
+
+    /** Posizione del record di ogni hackathon archiviato */
+    private final Map<Long, Posizione> indice;
+
+    /** Canali aperti in lettura per numero di segmento */
+    private final Map<Integer, FileChannel> segmenti;
+
+    /** Cache LRU dei sottografi ricaricati, protetta dal proprio lock */
+    private final LinkedHashMap<Long, ContenutoArchiviato> cache;
+
+    /** Team, iscrizioni e sottomissioni archiviati ancora referenziati in memoria */
+    private final IstanzeCanoniche canoniche;
+
+    /** Segmento corrente in scrittura */
+    private FileChannel scrittura;
+    private int numeroSegmento;
+
+    /** Thread che archivia gli hackathon conclusi (null se l'archivio non e' attivo) */
+    private volatile ExecutorService esecutore;
+
+    private final AtomicLong accessiCache;
+    private final AtomicLong lettureDisco;
+    private final AtomicLong byteScritti;
+
+    /**
+     * Costruttore della classe ArchivioHackathon.
+     *
+     * @param cartella         La cartella dei segmenti (creata se assente)
+     * @param capacitaCache    Il numero massimo di sottografi tenuti in cache
+     * @throws IOException se la cartella non puo' essere creata o un segmento non e' leggibile
+     */
+    public ArchivioHackathon(Path cartella, int capacitaCache) throws IOException {
+        this(cartella, capacitaCache, DIMENSIONE_SEGMENTO_PREDEFINITA);
+    }
+
+    /**
+     * Costruttore della classe ArchivioHackathon.
+     * Se la cartella contiene gia' dei segmenti, l'indice viene ricostruito da questi
+     * e le nuove archiviazioni proseguono in coda all'ultimo.
+     *
+     * @param cartella                  La cartella dei segmenti (creata se assente)
+     * @param capacitaCache             Il numero massimo di sottografi tenuti in cache
+     * @param dimensioneMassimaSegmento La dimensione oltre la quale si apre un nuovo segmento
+     * @throws IllegalArgumentException se la capacita' o la dimensione non sono positive
+     * @throws IOException se la cartella non puo' essere creata o un segmento non e' leggibile
+     */
+    public ArchivioHackathon(Path cartella, int capacitaCache, long dimensioneMassimaSegmento) throws IOException {
+        if (capacitaCache <= 0 || dimensioneMassimaSegmento <= 0) {
+            throw new IllegalArgumentException("Capacita' della cache e dimensione dei segmenti devono essere positive");
+        }
+        this.cartella = Files.createDirectories(cartella);
+        this.dimensioneMassimaSegmento = dimensioneMassimaSegmento;
+        this.indice = new ConcurrentHashMap<>();
+        this.segmenti = new ConcurrentHashMap<>();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ContenutoArchiviato> piuVecchio) {
+                return size() > capacitaCache;
+            }
+        };
+        this.canoniche = new IstanzeCanoniche();
+        this.accessiCache = new AtomicLong();
+        this.lettureDisco = new AtomicLong();
+        this.byteScritti = new AtomicLong();
+        this.numeroSegmento = -1;
+        try {
+            riapri();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di hackathon archiviati, compresi quelli trovati all'apertura.
+     *
+     * @return Il numero di hackathon archiviati
+     */
+    public int getNumeroArchiviati() {
+        return indice.size();
+    }
+
+    /**
+     * Verifica se l'archivio contiene un record per l'hackathon indicato.
+     *
+     * @param idHackathon L'id dell'hackathon
+     * @return true se l'hackathon e' stato archiviato
+     */
+    public boolean contiene(Long idHackathon) {
+        return indice.containsKey(idHackathon);
+    }
+
+    /**
+     * Restituisce il numero di reidratazioni servite dalla cache.
+     *
+     * @return Il numero di accessi in cache
+     */
+    public long getAccessiCache() {
+        return accessiCache.get();
+    }
+
+    /**
+     * Restituisce il numero di reidratazioni che hanno letto il disco.
+     *
+     * @return Il numero di letture da disco
+     */
+    public long getLettureDisco() {
+        return lettureDisco.get();
+    }
+
+    /**
+     * Restituisce il numero totale di byte scritti nei segmenti.
+     *
+     * @return I byte scritti, intestazioni comprese
+     */
+    public long getByteScritti() {
+        return byteScritti.get();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Archivia automaticamente gli hackathon che passano allo stato CONCLUSO.
+     * L'archiviazione avviene in un thread in background; gli errori vengono registrati nel log.
+     */
+    public synchronized void attiva() {
+        if (esecutore == null) {
+            esecutore = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "hackhub-archiviazione");
+                thread.setDaemon(true);
+                return thread;
+            });
+            GestoreEventi.registra(this);
+        }
+    }
+
+    /**
+     * Smette di archiviare automaticamente gli hackathon conclusi.
+     * Le archiviazioni gia' avviate vengono completate.
+     */
+    public synchronized void disattiva() {
+        if (esecutore != null) {
+            GestoreEventi.rimuovi(this);
+            esecutore.shutdown();
+            esecutore = null;
+        }
+    }
+
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        if (evento.getTipo() == TipoEvento.MODIFICA && evento.getSorgente() instanceof Hackathon hackathon
+                && "stato".equals(evento.getCampo()) && evento.getValoreNuovo() == StatoHackathon.CONCLUSO) {
+            ExecutorService corrente = esecutore;
+            if (corrente != null) {
+                try {
+                    corrente.execute(() -> archiviaInBackground(hackathon));
+                } catch (RejectedExecutionException e) {
+                    // L'archivio e' stato disattivato nel frattempo
+                }
+            }
+        }
+    }
+
+    private void archiviaInBackground(Hackathon hackathon) {
+        try {
+            if (hackathon.getStato() == StatoHackathon.CONCLUSO && !hackathon.isArchiviato()) {
+                archivia(hackathon);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Archiviazione dell'hackathon " + hackathon.getId() + " non riuscita", e);
+        }
+    }
+
+    /**
+     * Archivia un hackathon concluso.
+     *
+     * Precondizioni: l'hackathon e' CONCLUSO e non ancora archiviato
+     * Postcondizioni:
+     * - il sottografo e' scritto su disco e l'hackathon resta come stub
+     * - nelle collezioni dei team le iscrizioni e le sottomissioni archiviate sono segnaposto
+     * - se la scrittura fallisce l'hackathon torna ad accettare iscrizioni e sottomissioni
+     *
+     * @param hackathon L'hackathon da archiviare
+     * @throws IllegalStateException se l'hackathon non e' concluso o e' gia' archiviato
+     * @throws IOException se la scrittura del segmento fallisce
+     */
+    public synchronized void archivia(Hackathon hackathon) throws IOException {
+        if (hackathon.getStato() != StatoHackathon.CONCLUSO) {
+            throw new IllegalStateException("Solo un hackathon concluso puo' essere archiviato");
+        }
+        if (hackathon.isArchiviato()) {
+            throw new IllegalStateException("L'hackathon e' gia' archiviato");
+        }
+
+        // Prima si chiudono le aggiunte, poi si legge il sottografo: nulla di cio' che
+        // viene tolto dalla memoria puo' mancare dal record
+        hackathon.sospendiAggiunte();
+        try {
+            scriviSottografo(hackathon);
+        } catch (IOException | RuntimeException e) {
+            hackathon.riprendiAggiunte();
+            throw e;
+        }
+    }
+
+    private void scriviSottografo(Hackathon hackathon) throws IOException {
+        List<Iscrizione> iscrizioni = hackathon.getIscrizioni();
+        Set<Team> iscritti = new LinkedHashSet<>();
+        for (Iscrizione iscrizione : iscrizioni) {
+            iscritti.add(iscrizione.getTeam());
+        }
+        List<Sottomissione> sottomissioni = new ArrayList<>();
+        for (Team t : iscritti) {
+            for (Sottomissione sottomissione : t.getSottomissioni()) {
+                if (sottomissione.getHackathon() == hackathon) {
+                    sottomissioni.add(sottomissione);
+                }
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodificaSottografo.scrivi(iscrizioni, sottomissioni, new DataOutputStream(buffer));
+        byte[] originale = buffer.toByteArray();
+        byte[] compresso = comprimi(originale);
+
+        if (scrittura == null || scrittura.size() >= dimensioneMassimaSegmento) {
+            apriNuovoSegmento();
+        }
+        long offset = scrittura.size();
+        ByteBuffer record = ByteBuffer.allocate(INTESTAZIONE_RECORD + compresso.length);
+        record.putLong(hackathon.getId()).putInt(compresso.length).putInt(originale.length).put(compresso).flip();
+        scriviCompletamente(scrittura, record, offset);
+        scrittura.force(false);
+        byteScritti.addAndGet(record.limit());
+        indice.put(hackathon.getId(), new Posizione(numeroSegmento, offset));
+
+        // Le istanze ancora referenziate restano quelle canoniche per la reidratazione
+        Set<Long> idIscrizioni = new HashSet<>();
+        for (Iscrizione iscrizione : iscrizioni) {
+            canoniche.iscrizione(iscrizione.getId(), () -> iscrizione);
+            idIscrizioni.add(iscrizione.getId());
+        }
+        Set<Long> idSottomissioni = new HashSet<>();
+        for (Sottomissione sottomissione : sottomissioni) {
+            canoniche.sottomissione(sottomissione.getId(), () -> sottomissione);
+            idSottomissioni.add(sottomissione.getId());
+        }
+        for (Team t : iscritti) {
+            canoniche.team(t.getId(), () -> t);
+        }
+        synchronized (cache) {
+            cache.remove(hackathon.getId());
+        }
+
+        hackathon.archivia(this);
+        for (Team t : iscritti) {
+            t.scaricaArchiviate(
+                iscrizione -> idIscrizioni.contains(iscrizione.getId())
+                    ? new IscrizioneArchiviata(this, hackathon, iscrizione.getId()) : null,
+                sottomissione -> idSottomissioni.contains(sottomissione.getId())
+                    ? new SottomissioneArchiviata(this, hackathon, sottomissione.getId()) : null);
+        }
+    }
+
+    /**
+     * Restituisce il sottografo di un hackathon archiviato, dalla cache o dal disco.
+     *
+     * @param hackathon L'hackathon archiviato
+     * @return Il contenuto ricostruito, collegato ai team vivi
+     * @throws IllegalArgumentException se l'hackathon non e' in questo archivio
+     * @throws UncheckedIOException se la lettura del segmento fallisce
+     */
+    public ContenutoArchiviato reidrata(Hackathon hackathon) {
+        Long id = hackathon.getId();
+        synchronized (cache) {
+            ContenutoArchiviato contenuto = cache.get(id);
+            if (contenuto != null) {
+                accessiCache.incrementAndGet();
+                return contenuto;
+            }
+        }
+        Posizione posizione = indice.get(id);
+        if (posizione == null) {
+            throw new IllegalArgumentException("Hackathon non presente nell'archivio: " + id);
+        }
+
+        // La lettura avviene fuori dal lock: due thread possono ricaricare lo stesso
+        // hackathon, ma le istanze canoniche garantiscono una sola copia per id
+        ContenutoArchiviato letto;
+        try {
+            letto = leggi(hackathon, posizione);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lettureDisco.incrementAndGet();
+        synchronized (cache) {
+            ContenutoArchiviato presente = cache.putIfAbsent(id, letto);
+            return presente != null ? presente : letto;
+        }
+    }
+
+    /**
+     * Svuota la cache dei sottografi ricaricati.
+     */
+    public void svuotaCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Disattiva l'archiviazione automatica e chiude i segmenti aperti.
+     *
+     * @throws IOException se la chiusura fallisce
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        disattiva();
+        if (scrittura != null) {
+            scrittura.close();
+        }
+        for (FileChannel canale : segmenti.values()) {
+            canale.close();
+        }
+    }
+
+    /**
+     * Ricostruisce l'indice dai segmenti presenti nella cartella.
+     * Un record incompleto in coda all'ultimo segmento (scrittura interrotta) viene troncato.
+     */
+    private void riapri() throws IOException {
+        TreeSet<Integer> numeri = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cartella, "segmento-*.arc")) {
+            for (Path file : files) {
+                String nome = file.getFileName().toString();
+                try {
+                    numeri.add(Integer.parseInt(nome.substring("segmento-".length(), nome.length() - ".arc".length())));
+                } catch (NumberFormatException e) {
+                    // Non e' un segmento dell'archivio
+                }
+            }
+        }
+        for (int numero : numeri) {
+            FileChannel canale = FileChannel.open(fileSegmento(numero), StandardOpenOption.READ);
+            segmenti.put(numero, canale);
+            long fine = scorri(numero, canale);
+            if (numero == numeri.last()) {
+                numeroSegmento = numero;
+                scrittura = FileChannel.open(fileSegmento(numero), StandardOpenOption.WRITE);
+                if (fine < scrittura.size()) {
+                    LOG.warning("Segmento " + numero + " troncato a " + fine + " byte: record incompleto in coda");
+                    scrittura.truncate(fine);
+                }
+            } else if (fine < canale.size()) {
+                throw new IOException("Segmento " + numero + " danneggiato all'offset " + fine);
+            }
+        }
+    }
+
+    /**
+     * Legge le intestazioni dei record di un segmento e aggiorna l'indice.
+     *
+     * @return L'offset successivo all'ultimo record completo
+     */
+    private long scorri(int numero, FileChannel canale) throws IOException {
+        long dimensione = canale.size();
+        if (dimensione < INTESTAZIONE_SEGMENTO) {
+            return 0;
+        }
+        ByteBuffer intestazione = ByteBuffer.allocate(INTESTAZIONE_SEGMENTO);
+        leggiCompletamente(canale, intestazione, 0);
+        intestazione.flip();
+        if (intestazione.getInt() != MAGIA) {
+            throw new IOException("Il file " + fileSegmento(numero) + " non e' un segmento dell'archivio");
+        }
+        int versione = intestazione.getInt();
+        if (versione != VERSIONE) {
+            throw new IOException("Versione del segmento non supportata: " + versione);
+        }
+
+        long offset = INTESTAZIONE_SEGMENTO;
+        ByteBuffer record = ByteBuffer.allocate(INTESTAZIONE_RECORD);
+        while (offset + INTESTAZIONE_RECORD <= dimensione) {
+            record.clear();
+            leggiCompletamente(canale, record, offset);
+            record.flip();
+            long id = record.getLong();
+            int lunghezzaCompressa = record.getInt();
+            if (lunghezzaCompressa < 0 || offset + INTESTAZIONE_RECORD + lunghezzaCompressa > dimensione) {
+                break;
+            }
+            // Un hackathon archiviato di nuovo dopo un riavvio ha un record piu' recente
+            indice.put(id, new Posizione(numero, offset));
+            offset += INTESTAZIONE_RECORD + lunghezzaCompressa;
+        }
+        return offset;
+    }
+
+    private void apriNuovoSegmento() throws IOException {
+        if (scrittura != null) {
+            scrittura.close();
+        }
+        numeroSegmento++;
+        Path file = fileSegmento(numeroSegmento);
+        scrittura = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer intestazione = ByteBuffer.allocate(INTESTAZIONE_SEGMENTO);
+        intestazione.putInt(MAGIA).putInt(VERSIONE).flip();
+        scriviCompletamente(scrittura, intestazione, 0);
+        byteScritti.addAndGet(INTESTAZIONE_SEGMENTO);
+        segmenti.put(numeroSegmento, FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    private Path fileSegmento(int numero) {
+        return cartella.resolve(String.format("segmento-%06d.arc", numero));
+    }
+
+    private ContenutoArchiviato leggi(Hackathon hackathon, Posizione posizione) throws IOException {
+        FileChannel canale = segmenti.get(posizione.segmento);
+        ByteBuffer intestazione = ByteBuffer.allocate(INTESTAZIONE_RECORD);
+        leggiCompletamente(canale, intestazione, posizione.offset);
+        intestazione.flip();
+        long id = intestazione.getLong();
+        if (id != hackathon.getId()) {
+            throw new IOException("Record inatteso nel segmento " + posizione.segmento + ": " + id);
+        }
+        ByteBuffer compresso = ByteBuffer.allocate(intestazione.getInt());
+        int lunghezzaOriginale = intestazione.getInt();
+        leggiCompletamente(canale, compresso, posizione.offset + INTESTAZIONE_RECORD);
+
+        byte[] originale = decomprimi(compresso.array(), lunghezzaOriginale);
+        return CodificaSottografo.leggi(hackathon, canoniche, new DataInputStream(new ByteArrayInputStream(originale)));
+    }
+
+    private static void scriviCompletamente(FileChannel canale, ByteBuffer sorgente, long offset) throws IOException {
+        while (sorgente.hasRemaining()) {
+            canale.write(sorgente, offset + sorgente.position());
+        }
+    }
+
+    private static void leggiCompletamente(FileChannel canale, ByteBuffer destinazione, long offset) throws IOException {
+        while (destinazione.hasRemaining()) {
+            if (canale.read(destinazione, offset + destinazione.position()) < 0) {
+                throw new IOException("Segmento troncato");
+            }
+        }
+    }
+
+    private static byte[] comprimi(byte[] dati) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(dati);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, dati.length / 4));
+            byte[] blocco = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(blocco, 0, deflater.deflate(blocco));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decomprimi(byte[] dati, int lunghezzaOriginale) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(dati);
+            byte[] originale = new byte[lunghezzaOriginale];
+            int letti = 0;
+            while (letti < lunghezzaOriginale && !inflater.finished()) {
+                letti += inflater.inflate(originale, letti, lunghezzaOriginale - letti);
+                if (inflater.needsInput()) {
+                    break;
+                }
+            }
+            if (letti != lunghezzaOriginale) {
+                throw new IOException("Record compresso danneggiato");
+            }
+            return originale;
+        } catch (DataFormatException e) {
+            throw new IOException("Record compresso danneggiato", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Posizione di un record: numero del segmento e offset nel file.
+     */
+    private static class Posizione {
+        private final int segmento;
+        private final long offset;
+
+        Posizione(int segmento, long offset) {
+            this.segmento = segmento;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Segnaposto di un'iscrizione archiviata nella collezione del suo team.
+     */
+    private static final class IscrizioneArchiviata implements Segnaposto<Iscrizione> {
+        private final ArchivioHackathon archivio;
+        private final Hackathon hackathon;
+        private final long id;
+
+        IscrizioneArchiviata(ArchivioHackathon archivio, Hackathon hackathon, long id) {
+            this.archivio = archivio;
+            this.hackathon = hackathon;
+            this.id = id;
+        }
+
+        @Override
+        public Iscrizione carica() {
+            Iscrizione iscrizione = archivio.canoniche.cercaIscrizione(id);
+            if (iscrizione == null) {
+                iscrizione = archivio.reidrata(hackathon).getIscrizione(id);
+            }
+            if (iscrizione == null) {
+                throw new IllegalStateException("Iscrizione " + id + " assente dall'archivio");
+            }
+            return iscrizione;
+        }
+    }
+
+    /**
+     * Segnaposto di una sottomissione archiviata nella collezione del suo team.
+     */
+    private static final class SottomissioneArchiviata implements Segnaposto<Sottomissione> {
+        private final ArchivioHackathon archivio;
+        private final Hackathon hackathon;
+        private final long id;
+
+        SottomissioneArchiviata(ArchivioHackathon archivio, Hackathon hackathon, long id) {
+            this.archivio = archivio;
+            this.hackathon = hackathon;
+            this.id = id;
+        }
+
+        @Override
+        public Sottomissione carica() {
+            Sottomissione sottomissione = archivio.canoniche.cercaSottomissione(id);
+            if (sottomissione == null) {
+                sottomissione = archivio.reidrata(hackathon).getSottomissione(id);
+            }
+            if (sottomissione == null) {
+                throw new IllegalStateException("Sottomissione " + id + " assente dall'archivio");
+            }
+            return sottomissione;
+        }
+    }
+}
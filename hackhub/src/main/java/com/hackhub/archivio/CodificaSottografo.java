@@ -0,0 +1,162 @@
+package com.hackhub.archivio;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codifica binaria del sottografo di un hackathon: iscrizioni e sottomissioni
+ * dei team iscritti.
+ *
+ * Team e utenti sono entita' vive, condivise con gli altri hackathon: dei team il
+ * record conserva solo id e dati anagrafici, degli utenti nulla. Alla lettura le
+ * iscrizioni e le sottomissioni vengono ricollegate al team vivo con lo stesso id;
+ * se il team non e' piu' in memoria ne viene ricostruito uno dai dati anagrafici.
+ */
+class CodificaSottografo {
+
+    private static final long DATA_ASSENTE = Long.MIN_VALUE;
+
+    private CodificaSottografo() {
+    }
+
+    // ==================== SCRITTURA ====================
+
+    static void scrivi(List<Iscrizione> iscrizioni, List<Sottomissione> sottomissioni, DataOutputStream out)
+            throws IOException {
+        Map<Long, Team> team = new LinkedHashMap<>();
+        for (Iscrizione iscrizione : iscrizioni) {
+            team.putIfAbsent(iscrizione.getTeam().getId(), iscrizione.getTeam());
+        }
+        for (Sottomissione sottomissione : sottomissioni) {
+            team.putIfAbsent(sottomissione.getTeam().getId(), sottomissione.getTeam());
+        }
+        out.writeInt(team.size());
+        for (Team t : team.values()) {
+            out.writeLong(t.getId());
+            scriviStringa(t.getNome(), out);
+            scriviStringa(t.getDescrizione(), out);
+            scriviData(t.getDataCreazione(), out);
+        }
+
+        out.writeInt(iscrizioni.size());
+        for (Iscrizione iscrizione : iscrizioni) {
+            out.writeLong(iscrizione.getId());
+            out.writeLong(iscrizione.getTeam().getId());
+            scriviData(iscrizione.getDataIscrizione(), out);
+            out.writeByte(iscrizione.getStato().ordinal());
+        }
+
+        out.writeInt(sottomissioni.size());
+        for (Sottomissione sottomissione : sottomissioni) {
+            out.writeLong(sottomissione.getId());
+            out.writeLong(sottomissione.getTeam().getId());
+            scriviStringa(sottomissione.getTitolo(), out);
+            scriviStringa(sottomissione.getUrlRepository(), out);
+            scriviStringa(sottomissione.getDescrizione(), out);
+            scriviStringa(sottomissione.getContenuto(), out);
+            scriviData(sottomissione.getDataInvio(), out);
+            out.writeByte(sottomissione.getStato().ordinal());
+        }
+    }
+
+    private static void scriviStringa(String valore, DataOutputStream out) throws IOException {
+        if (valore == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] byteValore = valore.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(byteValore.length);
+        out.write(byteValore);
+    }
+
+    private static void scriviData(LocalDate data, DataOutputStream out) throws IOException {
+        out.writeLong(data != null ? data.toEpochDay() : DATA_ASSENTE);
+    }
+
+    // ==================== LETTURA ====================
+
+    /**
+     * Ricostruisce il sottografo senza consumare id e senza pubblicare eventi.
+     *
+     * @param hackathon  L'hackathon (stub) a cui collegare iscrizioni e sottomissioni
+     * @param canoniche  Le istanze gia' in memoria, team compresi, riusate al posto di nuove copie
+     * @param in         Lo stream da leggere
+     * @return Il contenuto ricostruito
+     * @throws IOException se il record e' danneggiato
+     */
+    static ContenutoArchiviato leggi(Hackathon hackathon, IstanzeCanoniche canoniche, DataInputStream in)
+            throws IOException {
+        int numeroTeam = in.readInt();
+        Map<Long, Team> team = new HashMap<>();
+        for (int i = 0; i < numeroTeam; i++) {
+            long id = in.readLong();
+            String nome = leggiStringa(in);
+            String descrizione = leggiStringa(in);
+            LocalDate dataCreazione = leggiData(in);
+            team.put(id, canoniche.team(id, () -> Team.ripristina(id, nome, descrizione, dataCreazione)));
+        }
+
+        int numeroIscrizioni = in.readInt();
+        List<Iscrizione> iscrizioni = new ArrayList<>(numeroIscrizioni);
+        for (int i = 0; i < numeroIscrizioni; i++) {
+            long id = in.readLong();
+            Team t = teamVivo(team, in.readLong());
+            LocalDate data = leggiData(in);
+            StatoIscrizione stato = StatoIscrizione.values()[in.readByte()];
+            iscrizioni.add(canoniche.iscrizione(id, () -> Iscrizione.ripristina(id, t, hackathon, data, stato)));
+        }
+
+        int numeroSottomissioni = in.readInt();
+        List<Sottomissione> sottomissioni = new ArrayList<>(numeroSottomissioni);
+        for (int i = 0; i < numeroSottomissioni; i++) {
+            long id = in.readLong();
+            Team t = teamVivo(team, in.readLong());
+            String titolo = leggiStringa(in);
+            String url = leggiStringa(in);
+            String descrizione = leggiStringa(in);
+            String contenuto = leggiStringa(in);
+            LocalDate data = leggiData(in);
+            StatoSottomissione stato = StatoSottomissione.values()[in.readByte()];
+            sottomissioni.add(canoniche.sottomissione(id, () -> Sottomissione.ripristina(id, t, hackathon,
+                titolo, url, descrizione, contenuto, data, stato)));
+        }
+        return new ContenutoArchiviato(iscrizioni, sottomissioni);
+    }
+
+    private static Team teamVivo(Map<Long, Team> team, long id) throws IOException {
+        Team t = team.get(id);
+        if (t == null) {
+            throw new IOException("Team " + id + " assente dal record");
+        }
+        return t;
+    }
+
+    private static String leggiStringa(DataInputStream in) throws IOException {
+        int lunghezza = in.readInt();
+        if (lunghezza < 0) {
+            return null;
+        }
+        byte[] byteValore = new byte[lunghezza];
+        in.readFully(byteValore);
+        return new String(byteValore, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDate leggiData(DataInputStream in) throws IOException {
+        long giorno = in.readLong();
+        return giorno == DATA_ASSENTE ? null : LocalDate.ofEpochDay(giorno);
+    }
+}
@@ -0,0 +1,78 @@
+package com.hackhub.archivio;
+
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe che contiene il sottografo di un hackathon ricaricato dall'archivio.
+ *
+ * Le iscrizioni e le sottomissioni sono le stesse istanze ancora in memoria,
+ * se qualcuno le referenzia, altrimenti ricostruzioni con gli id originali
+ * collegate ai team vivi. Un hackathon concluso e' in sola lettura, quindi
+ * non vanno modificate.
+ */
+public class ContenutoArchiviato {
+
+    /** Iscrizioni dell'hackathon */
+    private final List<Iscrizione> iscrizioni;
+
+    /** Sottomissioni dei team all'hackathon */
+    private final List<Sottomissione> sottomissioni;
+
+    /** Iscrizioni per id, per i segnaposto nelle collezioni dei team */
+    private final Map<Long, Iscrizione> iscrizioniPerId;
+
+    /** Sottomissioni per id, per i segnaposto nelle collezioni dei team */
+    private final Map<Long, Sottomissione> sottomissioniPerId;
+
+    /**
+     * Costruttore della classe ContenutoArchiviato.
+     *
+     * @param iscrizioni    Le iscrizioni ricostruite
+     * @param sottomissioni Le sottomissioni ricostruite
+     */
+    ContenutoArchiviato(List<Iscrizione> iscrizioni, List<Sottomissione> sottomissioni) {
+        this.iscrizioni = Collections.unmodifiableList(iscrizioni);
+        this.sottomissioni = Collections.unmodifiableList(sottomissioni);
+        this.iscrizioniPerId = new HashMap<>();
+        for (Iscrizione iscrizione : iscrizioni) {
+            iscrizioniPerId.put(iscrizione.getId(), iscrizione);
+        }
+        this.sottomissioniPerId = new HashMap<>();
+        for (Sottomissione sottomissione : sottomissioni) {
+            sottomissioniPerId.put(sottomissione.getId(), sottomissione);
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce le iscrizioni dell'hackathon.
+     *
+     * @return Lista non modificabile delle iscrizioni
+     */
+    public List<Iscrizione> getIscrizioni() {
+        return iscrizioni;
+    }
+
+    /**
+     * Restituisce le sottomissioni dei team all'hackathon.
+     *
+     * @return Lista non modificabile delle sottomissioni
+     */
+    public List<Sottomissione> getSottomissioni() {
+        return sottomissioni;
+    }
+
+    Iscrizione getIscrizione(long id) {
+        return iscrizioniPerId.get(id);
+    }
+
+    Sottomissione getSottomissione(long id) {
+        return sottomissioniPerId.get(id);
+    }
+}
@@ -0,0 +1,111 @@
+package com.hackhub.archivio;
+
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro delle iscrizioni e sottomissioni archiviate, e dei loro team, ancora
+ * raggiungibili in memoria.
+ *
+ * I riferimenti sono deboli: il registro non trattiene nulla, ma finche' un'istanza
+ * e' referenziata da qualcuno (una vista, una cache, un'altra entita') la
+ * reidratazione restituisce quella invece di ricostruirne una copia. Per ogni id
+ * esiste quindi al piu' un'istanza viva. Un team raccolto dopo l'archiviazione
+ * viene ricostruito dai dati anagrafici scritti nel record.
+ */
+class IstanzeCanoniche {
+
+    private final Map<Long, Riferimento<Iscrizione>> iscrizioni;
+    private final Map<Long, Riferimento<Sottomissione>> sottomissioni;
+    private final Map<Long, Riferimento<Team>> team;
+
+    /** Riferimenti le cui istanze sono state raccolte dal garbage collector */
+    private final ReferenceQueue<Object> raccolti;
+
+    IstanzeCanoniche() {
+        this.iscrizioni = new HashMap<>();
+        this.sottomissioni = new HashMap<>();
+        this.team = new HashMap<>();
+        this.raccolti = new ReferenceQueue<>();
+    }
+
+    /**
+     * Restituisce l'iscrizione viva con l'id indicato, o la ricostruisce.
+     */
+    synchronized Iscrizione iscrizione(long id, Supplier<Iscrizione> ricostruzione) {
+        return canonica(iscrizioni, id, ricostruzione);
+    }
+
+    /**
+     * Restituisce la sottomissione viva con l'id indicato, o la ricostruisce.
+     */
+    synchronized Sottomissione sottomissione(long id, Supplier<Sottomissione> ricostruzione) {
+        return canonica(sottomissioni, id, ricostruzione);
+    }
+
+    /**
+     * Restituisce il team vivo con l'id indicato, o lo ricostruisce.
+     */
+    synchronized Team team(long id, Supplier<Team> ricostruzione) {
+        return canonica(team, id, ricostruzione);
+    }
+
+    /**
+     * Restituisce l'iscrizione viva con l'id indicato, senza ricostruirla.
+     */
+    synchronized Iscrizione cercaIscrizione(long id) {
+        return cerca(iscrizioni, id);
+    }
+
+    /**
+     * Restituisce la sottomissione viva con l'id indicato, senza ricostruirla.
+     */
+    synchronized Sottomissione cercaSottomissione(long id) {
+        return cerca(sottomissioni, id);
+    }
+
+    private <E> E canonica(Map<Long, Riferimento<E>> istanze, long id, Supplier<E> ricostruzione) {
+        E presente = cerca(istanze, id);
+        if (presente == null) {
+            presente = ricostruzione.get();
+            istanze.put(id, new Riferimento<>(presente, id, istanze, raccolti));
+        }
+        return presente;
+    }
+
+    private <E> E cerca(Map<Long, Riferimento<E>> istanze, long id) {
+        pulisci();
+        Riferimento<E> riferimento = istanze.get(id);
+        return riferimento != null ? riferimento.get() : null;
+    }
+
+    private void pulisci() {
+        for (Object raccolto = raccolti.poll(); raccolto != null; raccolto = raccolti.poll()) {
+            ((Riferimento<?>) raccolto).rimuovi();
+        }
+    }
+
+    /**
+     * Riferimento debole che ricorda la propria voce, per toglierla quando l'istanza viene raccolta.
+     */
+    private static final class Riferimento<E> extends WeakReference<E> {
+        private final long id;
+        private final Map<Long, Riferimento<E>> istanze;
+
+        private Riferimento(E istanza, long id, Map<Long, Riferimento<E>> istanze, ReferenceQueue<Object> coda) {
+            super(istanza, coda);
+            this.id = id;
+            this.istanze = istanze;
+        }
+
+        private void rimuovi() {
+            istanze.remove(id, this);
+        }
+    }
+}
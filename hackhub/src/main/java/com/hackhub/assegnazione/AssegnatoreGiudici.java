@@ -0,0 +1,224 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.collezioni.CodaMinimaIndicizzata;
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Classe che assegna a ogni sottomissione un numero fisso di giudici dello staff,
+ * escludendo quelli in conflitto di interessi e bilanciando il carico.
+ *
+ * 1. I conflitti vengono calcolati con GrafoConflitti, in parallelo per giudice.
+ * 2. Le sottomissioni vengono servite dalla piu' vincolata (meno giudici idonei);
+ *    per ognuna si prendono i giudici meno carichi da una CodaMinimaIndicizzata,
+ *    saltando quelli in conflitto: O((S * N + C) log G) con C conflitti.
+ * 3. Finche' un giudice ha almeno due sottomissioni piu' del meno carico, una
+ *    sottomissione viene spostata dal primo al secondo se non e' in conflitto.
+ *
+ * Alla fine la differenza tra il carico massimo e il minimo e' al piu' 1, salvo
+ * quando i conflitti impediscono ogni spostamento.
+ */
+public class AssegnatoreGiudici {
+
+    /** Pool su cui calcolare i conflitti */
+    private final ForkJoinPool pool;
+
+    public AssegnatoreGiudici() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public AssegnatoreGiudici(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Assegna i giudici alle sottomissioni di un hackathon in valutazione.
+     * Vengono considerate le sottomissioni dei team con iscrizione non annullata.
+     *
+     * Precondizioni: l'hackathon e' IN_VALUTAZIONE
+     *
+     * @param hackathon               L'hackathon
+     * @param giudici                 I giudici disponibili
+     * @param storia                  I team passati da cui ricavare i conflitti
+     * @param giudiciPerSottomissione Il numero di giudici per sottomissione
+     * @return L'assegnazione
+     * @throws IllegalStateException se l'hackathon non e' in valutazione
+     */
+    public AssegnazioneGiudici assegna(Hackathon hackathon, List<MembroStaff> giudici, Collection<Team> storia,
+                                       int giudiciPerSottomissione) {
+        if (hackathon.getStato() != StatoHackathon.IN_VALUTAZIONE) {
+            throw new IllegalStateException("L'hackathon non e' in valutazione");
+        }
+        List<Sottomissione> sottomissioni = new ArrayList<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (iscrizione.getStato() == StatoIscrizione.ANNULLATA) {
+                continue;
+            }
+            for (Sottomissione sottomissione : iscrizione.getTeam().getSottomissioni()) {
+                if (sottomissione.getHackathon() == hackathon) {
+                    sottomissioni.add(sottomissione);
+                }
+            }
+        }
+        return assegna(sottomissioni, giudici, storia, giudiciPerSottomissione);
+    }
+
+    /**
+     * Assegna i giudici alle sottomissioni.
+     * Lo storico viene completato con i team delle sottomissioni.
+     *
+     * Postcondizioni: nessun giudice e' assegnato a una sottomissione con cui e' in conflitto
+     *
+     * @param sottomissioni           Le sottomissioni da valutare
+     * @param giudici                 I giudici disponibili
+     * @param storia                  I team passati da cui ricavare i conflitti
+     * @param giudiciPerSottomissione Il numero di giudici per sottomissione
+     * @return L'assegnazione
+     * @throws IllegalArgumentException se il numero di giudici per sottomissione non e' positivo
+     */
+    public AssegnazioneGiudici assegna(List<Sottomissione> sottomissioni, List<MembroStaff> giudici,
+                                       Collection<Team> storia, int giudiciPerSottomissione) {
+        if (giudiciPerSottomissione <= 0) {
+            throw new IllegalArgumentException("Il numero di giudici per sottomissione deve essere positivo");
+        }
+        List<Sottomissione> elenco = List.copyOf(sottomissioni);
+        List<MembroStaff> staff = List.copyOf(giudici);
+        List<Team> team = new ArrayList<>(elenco.size());
+        Set<Team> completa = new LinkedHashSet<>(storia);
+        for (Sottomissione sottomissione : elenco) {
+            team.add(sottomissione.getTeam());
+            completa.add(sottomissione.getTeam());
+        }
+        BitSet[] conflitti = new GrafoConflitti(completa).conflitti(staff, team, pool);
+
+        int[][] assegnati = new int[elenco.size()][];
+        int[] carichi = new int[staff.size()];
+        assegnaPerVincoli(conflitti, assegnati, carichi, giudiciPerSottomissione);
+        bilancia(conflitti, assegnati, carichi);
+        return new AssegnazioneGiudici(elenco, staff, assegnati, carichi, giudiciPerSottomissione);
+    }
+
+    /**
+     * Assegna le sottomissioni dalla piu' vincolata, prendendo i giudici idonei meno carichi.
+     */
+    private static void assegnaPerVincoli(BitSet[] conflitti, int[][] assegnati, int[] carichi, int richiesti) {
+        int numeroSottomissioni = assegnati.length;
+        int[] idonei = new int[numeroSottomissioni];
+        Arrays.fill(idonei, conflitti.length);
+        for (BitSet conflittiGiudice : conflitti) {
+            conflittiGiudice.stream().forEach(s -> idonei[s]--);
+        }
+        int[] ordine = IntStream.range(0, numeroSottomissioni).boxed()
+            .sorted(Comparator.comparingInt((Integer s) -> idonei[s]).thenComparingInt(s -> s))
+            .mapToInt(Integer::intValue).toArray();
+
+        CodaMinimaIndicizzata coda = new CodaMinimaIndicizzata();
+        for (int g = 0; g < conflitti.length; g++) {
+            coda.inserisci(g, 0);
+        }
+        int[] scelti = new int[richiesti];
+        int[] scartati = new int[conflitti.length];
+        for (int s : ordine) {
+            int numeroScelti = 0;
+            int numeroScartati = 0;
+            while (numeroScelti < richiesti && !coda.isVuota()) {
+                int giudice = coda.minimo();
+                coda.rimuovi(giudice);
+                if (conflitti[giudice].get(s)) {
+                    scartati[numeroScartati++] = giudice;
+                } else {
+                    scelti[numeroScelti++] = giudice;
+                }
+            }
+            for (int i = 0; i < numeroScartati; i++) {
+                coda.inserisci(scartati[i], carichi[scartati[i]]);
+            }
+            for (int i = 0; i < numeroScelti; i++) {
+                coda.inserisci(scelti[i], ++carichi[scelti[i]]);
+            }
+            assegnati[s] = Arrays.copyOf(scelti, numeroScelti);
+        }
+    }
+
+    /**
+     * Sposta sottomissioni dai giudici piu' carichi al meno carico finche' la
+     * differenza supera 1. Ogni spostamento riduce la somma dei quadrati dei
+     * carichi, quindi il ciclo termina.
+     */
+    private static void bilancia(BitSet[] conflitti, int[][] assegnati, int[] carichi) {
+        int numeroGiudici = carichi.length;
+        BitSet[] perGiudice = new BitSet[numeroGiudici];
+        for (int g = 0; g < numeroGiudici; g++) {
+            perGiudice[g] = new BitSet(assegnati.length);
+        }
+        for (int s = 0; s < assegnati.length; s++) {
+            for (int giudice : assegnati[s]) {
+                perGiudice[giudice].set(s);
+            }
+        }
+        // Un giudice bloccato non puo' ricevere nulla dai piu' carichi; i loro carichi
+        // possono solo scendere, quindi resta bloccato
+        boolean[] bloccati = new boolean[numeroGiudici];
+        Integer[] perCarico = new Integer[numeroGiudici];
+        for (int g = 0; g < numeroGiudici; g++) {
+            perCarico[g] = g;
+        }
+        while (true) {
+            int minimo = -1;
+            for (int g = 0; g < numeroGiudici; g++) {
+                if (!bloccati[g] && (minimo < 0 || carichi[g] < carichi[minimo])) {
+                    minimo = g;
+                }
+            }
+            if (minimo < 0) {
+                return;
+            }
+            Arrays.sort(perCarico, Comparator.comparingInt((Integer g) -> -carichi[g]));
+            boolean spostato = false;
+            for (int i = 0; i < numeroGiudici && !spostato && carichi[perCarico[i]] >= carichi[minimo] + 2; i++) {
+                int carico = perCarico[i];
+                BitSet proprie = perGiudice[carico];
+                for (int s = proprie.nextSetBit(0); s >= 0; s = proprie.nextSetBit(s + 1)) {
+                    if (!conflitti[minimo].get(s) && !perGiudice[minimo].get(s)) {
+                        sposta(assegnati[s], carico, minimo);
+                        proprie.clear(s);
+                        perGiudice[minimo].set(s);
+                        carichi[carico]--;
+                        carichi[minimo]++;
+                        spostato = true;
+                        break;
+                    }
+                }
+            }
+            if (!spostato) {
+                bloccati[minimo] = true;
+            }
+        }
+    }
+
+    private static void sposta(int[] giudici, int da, int a) {
+        for (int i = 0; i < giudici.length; i++) {
+            if (giudici[i] == da) {
+                giudici[i] = a;
+                return;
+            }
+        }
+    }
+}
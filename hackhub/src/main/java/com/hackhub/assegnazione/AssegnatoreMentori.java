@@ -0,0 +1,333 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.collezioni.CodaMinimaIndicizzata;
+import com.hackhub.enums.StatoCall;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Call;
+import com.hackhub.model.MembroStaff;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe che assegna le call richieste dai team al mentore qualificato meno carico.
+ *
+ * Per ogni competenza c'e' una CodaMinimaIndicizzata dei mentori che la
+ * possiedono, ordinata per carico: la scelta costa O(log n). Ogni coda ha il
+ * proprio lock, quindi le richieste su competenze diverse procedono in
+ * parallelo e non esiste un lock globale; un thread tiene al piu' un lock alla volta.
+ *
+ * Il carico vero di un mentore e' il contatore atomico del suo ProfiloMentore.
+ * Un mentore sta in piu' code, e dopo ogni variazione viene riposizionato in
+ * ciascuna; nel frattempo una coda puo' avere una chiave vecchia, che viene
+ * corretta quando il mentore arriva in cima. Il posto viene preso con un
+ * compare-and-set sul carico, quindi la capacita' non viene mai superata.
+ *
+ * Se tutti i mentori di una competenza sono al completo la richiesta resta in
+ * attesa (stato RICHIESTA) e viene servita appena un mentore si libera.
+ * Quando una call passa ad ANNULLATA o COMPLETATA il posto viene liberato: il
+ * mentore risale nelle code e la prima richiesta in attesa gli viene assegnata.
+ *
+ * Le transizioni vengono intercettate registrando l'assegnatore con attiva();
+ * in alternativa si chiama rilascia() direttamente.
+ */
+public class AssegnatoreMentori implements AscoltatoreEventi {
+
+    /** Chiave di un mentore al completo: resta in coda ma non viene scelto */
+    private static final long SATURO = Long.MAX_VALUE;
+
+    /** Code e richieste in attesa per competenza */
+    private final Map<String, Competenza> competenze;
+
+    /** Profili per mentore */
+    private final Map<MembroStaff, ProfiloMentore> perMentore;
+
+    /** Profili per indice, sostituito a ogni registrazione */
+    private volatile ProfiloMentore[] profili;
+
+    /** Call attive con il profilo a cui sono state assegnate */
+    private final Map<Call, ProfiloMentore> assegnate;
+
+    public AssegnatoreMentori() {
+        this.competenze = new ConcurrentHashMap<>();
+        this.perMentore = new ConcurrentHashMap<>();
+        this.profili = new ProfiloMentore[0];
+        this.assegnate = new ConcurrentHashMap<>();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il profilo di un mentore.
+     *
+     * @param mentore Il mentore
+     * @return Il profilo, o null se il mentore non e' registrato
+     */
+    public ProfiloMentore getProfilo(MembroStaff mentore) {
+        return perMentore.get(mentore);
+    }
+
+    /**
+     * Restituisce il numero di call attive assegnate a un mentore.
+     *
+     * @param mentore Il mentore
+     * @return Il carico, 0 se il mentore non e' registrato
+     */
+    public int getCarico(MembroStaff mentore) {
+        ProfiloMentore profilo = perMentore.get(mentore);
+        return profilo == null ? 0 : profilo.getCarico();
+    }
+
+    /**
+     * Restituisce il numero di richieste in attesa di un mentore per una competenza.
+     *
+     * @param argomento La competenza
+     * @return Il numero di richieste in attesa
+     */
+    public int getInAttesa(String argomento) {
+        Competenza competenza = competenze.get(normalizza(argomento));
+        if (competenza == null) {
+            return 0;
+        }
+        synchronized (competenza) {
+            return competenza.inAttesa.size();
+        }
+    }
+
+    public int getNumeroAssegnate() {
+        return assegnate.size();
+    }
+
+    public Collection<ProfiloMentore> getProfili() {
+        return Arrays.asList(profili);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra l'assegnatore presso il GestoreEventi, per liberare i posti
+     * delle call annullate o completate.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Rimuove l'assegnatore dal GestoreEventi.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Registra un mentore con le sue competenze.
+     * Le richieste gia' in attesa sulle sue competenze gli vengono assegnate subito.
+     *
+     * @param mentore    Il membro dello staff
+     * @param capacita   Il numero massimo di call attive contemporanee
+     * @param competenze Le competenze (confrontate senza distinzione di maiuscole)
+     * @return Il profilo creato
+     * @throws IllegalArgumentException se il mentore e' gia' registrato, la capacita' non e'
+     *                                  positiva o non ci sono competenze
+     */
+    public ProfiloMentore registraMentore(MembroStaff mentore, int capacita, Collection<String> competenze) {
+        if (capacita <= 0) {
+            throw new IllegalArgumentException("La capacita' del mentore deve essere positiva");
+        }
+        Set<String> normalizzate = new LinkedHashSet<>();
+        for (String competenza : competenze) {
+            normalizzate.add(normalizza(competenza));
+        }
+        if (normalizzate.isEmpty()) {
+            throw new IllegalArgumentException("Il mentore deve avere almeno una competenza");
+        }
+
+        ProfiloMentore profilo;
+        synchronized (this) {
+            if (perMentore.containsKey(mentore)) {
+                throw new IllegalArgumentException("Mentore gia' registrato: " + mentore.getEmail());
+            }
+            ProfiloMentore[] nuovi = Arrays.copyOf(profili, profili.length + 1);
+            profilo = new ProfiloMentore(nuovi.length - 1, mentore, normalizzate, capacita);
+            nuovi[profilo.getIndice()] = profilo;
+            profili = nuovi;
+            perMentore.put(mentore, profilo);
+        }
+        for (String nome : profilo.getCompetenze()) {
+            Competenza competenza = this.competenze.computeIfAbsent(nome, n -> new Competenza());
+            synchronized (competenza) {
+                competenza.coda.inserisci(profilo.getIndice(), chiave(profilo, profilo.getCarico()));
+            }
+        }
+        serviInAttesa(profilo);
+        return profilo;
+    }
+
+    /**
+     * Assegna una call al mentore meno carico con la competenza richiesta.
+     *
+     * Precondizioni:
+     * - La call e' in stato RICHIESTA
+     * - Almeno un mentore registrato ha la competenza dell'argomento
+     *
+     * Postcondizioni:
+     * - Se un mentore ha posto, la call gli viene assegnata (stato PROPOSTA)
+     * - Altrimenti la call resta RICHIESTA e in attesa del primo posto libero
+     *
+     * @param call La call da assegnare
+     * @return Il mentore assegnato, o null se la call e' in attesa
+     * @throws IllegalStateException    se la call non e' in stato RICHIESTA
+     * @throws IllegalArgumentException se nessun mentore ha la competenza richiesta
+     */
+    public MembroStaff richiedi(Call call) {
+        if (call.getStato() != StatoCall.RICHIESTA) {
+            throw new IllegalStateException("La call non e' in attesa di un mentore");
+        }
+        Competenza competenza = competenze.get(normalizza(call.getArgomento()));
+        if (competenza == null) {
+            throw new IllegalArgumentException("Nessun mentore ha la competenza " + call.getArgomento());
+        }
+        ProfiloMentore profilo = assegna(call, competenza, false);
+        return profilo == null ? null : profilo.getMentore();
+    }
+
+    /**
+     * Libera il posto di una call assegnata e lo offre alle richieste in attesa.
+     * Chiamato automaticamente, se l'assegnatore e' attivo, quando la call passa
+     * ad ANNULLATA o COMPLETATA.
+     *
+     * @param call La call conclusa
+     * @return false se la call non era assegnata o era gia' stata liberata
+     */
+    public boolean rilascia(Call call) {
+        ProfiloMentore profilo = assegnate.remove(call);
+        if (profilo == null) {
+            return false;
+        }
+        profilo.libera();
+        riposiziona(profilo, null);
+        serviInAttesa(profilo);
+        return true;
+    }
+
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        if (evento.getSorgente() instanceof Call && "stato".equals(evento.getCampo())) {
+            Call call = (Call) evento.getSorgente();
+            if (!call.isAttiva()) {
+                rilascia(call);
+            }
+        }
+    }
+
+    /**
+     * Prende un posto presso il mentore meno carico della competenza e gli assegna la call.
+     *
+     * @param inTesta true se la call, in mancanza di posti, torna in testa alla coda di attesa
+     * @return Il profilo scelto, o null se la call e' in attesa o non e' piu' RICHIESTA
+     */
+    private ProfiloMentore assegna(Call call, Competenza competenza, boolean inTesta) {
+        ProfiloMentore scelto = null;
+        synchronized (competenza) {
+            ProfiloMentore[] correnti = profili;
+            while (scelto == null) {
+                int indice = competenza.coda.minimo();
+                ProfiloMentore candidato = correnti[indice];
+                int carico = candidato.getCarico();
+                long chiave = chiave(candidato, carico);
+                if (competenza.coda.getChiave(indice) != chiave) {
+                    // Chiave vecchia: il carico e' cambiato per un'altra competenza
+                    competenza.coda.aggiorna(indice, chiave);
+                } else if (chiave == SATURO) {
+                    if (inTesta) {
+                        competenza.inAttesa.addFirst(call);
+                    } else {
+                        competenza.inAttesa.addLast(call);
+                    }
+                    return null;
+                } else if (candidato.prenota(carico)) {
+                    competenza.coda.aggiorna(indice, chiave(candidato, carico + 1));
+                    scelto = candidato;
+                }
+            }
+        }
+        riposiziona(scelto, competenza);
+
+        assegnate.put(call, scelto);
+        try {
+            call.assegna(scelto.getMentore());
+        } catch (IllegalStateException e) {
+            // La call e' stata annullata nel frattempo: il posto torna libero
+            if (assegnate.remove(call, scelto)) {
+                scelto.libera();
+                riposiziona(scelto, null);
+                serviInAttesa(scelto);
+            }
+            return null;
+        }
+        return scelto;
+    }
+
+    /**
+     * Offre i posti liberi di un mentore alle richieste in attesa sulle sue competenze.
+     */
+    private void serviInAttesa(ProfiloMentore profilo) {
+        for (String nome : profilo.getCompetenze()) {
+            if (profilo.getCarico() >= profilo.getCapacita()) {
+                return;
+            }
+            Competenza competenza = competenze.get(nome);
+            Call prossima;
+            synchronized (competenza) {
+                prossima = competenza.inAttesa.pollFirst();
+                // Le richieste annullate mentre erano in attesa vengono scartate
+                while (prossima != null && prossima.getStato() != StatoCall.RICHIESTA) {
+                    prossima = competenza.inAttesa.pollFirst();
+                }
+            }
+            if (prossima != null) {
+                assegna(prossima, competenza, true);
+            }
+        }
+    }
+
+    /**
+     * Riallinea la chiave del mentore nelle code delle sue competenze, un lock alla volta.
+     *
+     * @param esclusa La competenza gia' aggiornata, o null
+     */
+    private void riposiziona(ProfiloMentore profilo, Competenza esclusa) {
+        for (String nome : profilo.getCompetenze()) {
+            Competenza competenza = competenze.get(nome);
+            if (competenza != esclusa) {
+                synchronized (competenza) {
+                    competenza.coda.aggiorna(profilo.getIndice(), chiave(profilo, profilo.getCarico()));
+                }
+            }
+        }
+    }
+
+    private static long chiave(ProfiloMentore profilo, int carico) {
+        return carico >= profilo.getCapacita() ? SATURO : carico;
+    }
+
+    private static String normalizza(String competenza) {
+        return competenza.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mentori e richieste in attesa di una competenza, protetti dal monitor dell'oggetto.
+     */
+    private static final class Competenza {
+        private final CodaMinimaIndicizzata coda = new CodaMinimaIndicizzata();
+        private final Deque<Call> inAttesa = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Sottomissione;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe che rappresenta il risultato di AssegnatoreGiudici: i giudici di ogni
+ * sottomissione e il carico di ogni giudice.
+ *
+ * Un posto e' scoperto quando una sottomissione ha meno giudici di quelli
+ * richiesti perche' non ci sono abbastanza giudici senza conflitti.
+ */
+public class AssegnazioneGiudici {
+
+    private final List<Sottomissione> sottomissioni;
+    private final List<MembroStaff> giudici;
+
+    /** Indici dei giudici assegnati per sottomissione */
+    private final int[][] assegnati;
+
+    /** Numero di sottomissioni per giudice */
+    private final int[] carichi;
+
+    private final Map<Sottomissione, Integer> indiciSottomissioni;
+    private final Map<MembroStaff, Integer> indiciGiudici;
+    private final int giudiciPerSottomissione;
+
+    AssegnazioneGiudici(List<Sottomissione> sottomissioni, List<MembroStaff> giudici, int[][] assegnati,
+                        int[] carichi, int giudiciPerSottomissione) {
+        this.sottomissioni = sottomissioni;
+        this.giudici = giudici;
+        this.assegnati = assegnati;
+        this.carichi = carichi;
+        this.giudiciPerSottomissione = giudiciPerSottomissione;
+        this.indiciSottomissioni = new HashMap<>();
+        for (int i = 0; i < sottomissioni.size(); i++) {
+            indiciSottomissioni.put(sottomissioni.get(i), i);
+        }
+        this.indiciGiudici = new HashMap<>();
+        for (int i = 0; i < giudici.size(); i++) {
+            indiciGiudici.put(giudici.get(i), i);
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    public int getGiudiciPerSottomissione() {
+        return giudiciPerSottomissione;
+    }
+
+    /**
+     * Restituisce i giudici assegnati a una sottomissione.
+     *
+     * @param sottomissione La sottomissione
+     * @return I giudici, lista vuota se la sottomissione non faceva parte dell'assegnazione
+     */
+    public List<MembroStaff> getGiudici(Sottomissione sottomissione) {
+        Integer indice = indiciSottomissioni.get(sottomissione);
+        if (indice == null) {
+            return Collections.emptyList();
+        }
+        List<MembroStaff> risultato = new ArrayList<>(assegnati[indice].length);
+        for (int giudice : assegnati[indice]) {
+            risultato.add(giudici.get(giudice));
+        }
+        return risultato;
+    }
+
+    /**
+     * Restituisce le sottomissioni assegnate a un giudice.
+     *
+     * @param giudice Il giudice
+     * @return Le sottomissioni, lista vuota se il giudice non faceva parte dell'assegnazione
+     */
+    public List<Sottomissione> getSottomissioni(MembroStaff giudice) {
+        Integer indice = indiciGiudici.get(giudice);
+        if (indice == null) {
+            return Collections.emptyList();
+        }
+        List<Sottomissione> risultato = new ArrayList<>(carichi[indice]);
+        for (int s = 0; s < assegnati.length; s++) {
+            for (int assegnato : assegnati[s]) {
+                if (assegnato == indice) {
+                    risultato.add(sottomissioni.get(s));
+                }
+            }
+        }
+        return risultato;
+    }
+
+    /**
+     * Restituisce il numero di sottomissioni assegnate a un giudice.
+     *
+     * @param giudice Il giudice
+     * @return Il carico, 0 se il giudice non faceva parte dell'assegnazione
+     */
+    public int getCarico(MembroStaff giudice) {
+        Integer indice = indiciGiudici.get(giudice);
+        return indice == null ? 0 : carichi[indice];
+    }
+
+    public int getCaricoMinimo() {
+        int minimo = Integer.MAX_VALUE;
+        for (int carico : carichi) {
+            minimo = Math.min(minimo, carico);
+        }
+        return carichi.length == 0 ? 0 : minimo;
+    }
+
+    public int getCaricoMassimo() {
+        int massimo = 0;
+        for (int carico : carichi) {
+            massimo = Math.max(massimo, carico);
+        }
+        return massimo;
+    }
+
+    /**
+     * Restituisce il numero di posti rimasti senza giudice.
+     *
+     * @return La differenza tra i giudici richiesti e quelli assegnati
+     */
+    public int getPostiScoperti() {
+        int scoperti = 0;
+        for (int[] giudiciSottomissione : assegnati) {
+            scoperti += giudiciPerSottomissione - giudiciSottomissione.length;
+        }
+        return scoperti;
+    }
+
+    @Override
+    public String toString() {
+        return "AssegnazioneGiudici{" +
+                "sottomissioni=" + sottomissioni.size() +
+                ", giudici=" + giudici.size() +
+                ", carico=" + getCaricoMinimo() + ".." + getCaricoMassimo() +
+                ", scoperti=" + getPostiScoperti() +
+                '}';
+    }
+}
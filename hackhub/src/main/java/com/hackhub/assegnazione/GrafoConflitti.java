@@ -0,0 +1,222 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.model.Invito;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Classe che rappresenta i legami tra persone ricavati dallo storico di team e inviti,
+ * usata per escludere i giudici in conflitto di interessi.
+ *
+ * Una persona e' identificata dall'email, perche' la stessa persona puo' avere
+ * piu' account (Utente, Leader creato da creaTeam, membro dello staff).
+ * Due persone sono legate se:
+ * - hanno fatto parte dello stesso team (membri attuali, leader e chi ha accettato un invito)
+ * - una ha ricevuto un invito da un team di cui l'altra faceva parte
+ *
+ * Un giudice e' in conflitto con un team se ne fa parte o e' legato a uno dei suoi membri.
+ */
+public class GrafoConflitti {
+
+    /** Id delle persone per email normalizzata (per id dell'utente se l'email manca) */
+    private final Map<String, Integer> persone;
+
+    /** Componenti (passati e presenti) di ogni team dello storico */
+    private final List<int[]> componenti;
+
+    /** Destinatari degli inviti di ogni team dello storico, in qualsiasi stato */
+    private final List<int[]> invitati;
+
+    /** Team dello storico di cui ogni persona ha fatto parte */
+    private final List<List<Integer>> teamPerPersona;
+
+    /** Team dello storico che hanno invitato ogni persona */
+    private final List<List<Integer>> invitiPerPersona;
+
+    /**
+     * Costruisce il grafo dallo storico dei team.
+     * Lo storico deve comprendere anche i team di cui si valutano le sottomissioni.
+     *
+     * @param storia I team da considerare, con i loro inviti
+     */
+    public GrafoConflitti(Collection<Team> storia) {
+        this.persone = new HashMap<>();
+        this.componenti = new ArrayList<>(storia.size());
+        this.invitati = new ArrayList<>(storia.size());
+        this.teamPerPersona = new ArrayList<>();
+        this.invitiPerPersona = new ArrayList<>();
+        for (Team team : storia) {
+            int indice = componenti.size();
+            int[] membri = componenti(team);
+            List<Invito> inviti = team.getInviti();
+            int[] destinatari = new int[inviti.size()];
+            int numero = 0;
+            for (Invito invito : inviti) {
+                if (invito.getDestinatario() != null) {
+                    int persona = persona(invito.getDestinatario());
+                    destinatari[numero++] = persona;
+                    invitiPerPersona.get(persona).add(indice);
+                }
+            }
+            componenti.add(membri);
+            invitati.add(Arrays.copyOf(destinatari, numero));
+            for (int persona : membri) {
+                teamPerPersona.get(persona).add(indice);
+            }
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    public int getNumeroPersone() {
+        return persone.size();
+    }
+
+    public int getNumeroTeam() {
+        return componenti.size();
+    }
+
+    /**
+     * Verifica se un giudice e' in conflitto con un team.
+     *
+     * @param giudice Il giudice
+     * @param team    Il team
+     * @return true se il giudice fa parte del team o e' legato a uno dei suoi membri
+     */
+    public boolean isInConflitto(UtenteAstratto giudice, Team team) {
+        Integer persona = persone.get(chiave(giudice));
+        if (persona == null) {
+            return false;
+        }
+        BitSet legati = legati(persona);
+        for (int membro : membri(team)) {
+            if (membro >= 0 && legati.get(membro)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Calcola, in parallelo per giudice, con quali team ogni giudice e' in conflitto.
+     *
+     * @param giudici I giudici
+     * @param team    I team da valutare, in ordine (lo stesso team puo' comparire piu' volte)
+     * @param pool    Il pool su cui eseguire il calcolo
+     * @return Per ogni giudice, l'insieme delle posizioni dei team in conflitto
+     */
+    public BitSet[] conflitti(List<? extends UtenteAstratto> giudici, List<Team> team, ForkJoinPool pool) {
+        // Posizioni dei team per persona: i membri di un team lo rendono in conflitto
+        Map<Integer, BitSet> teamPerMembro = new HashMap<>();
+        for (int i = 0; i < team.size(); i++) {
+            for (int membro : membri(team.get(i))) {
+                if (membro >= 0) {
+                    teamPerMembro.computeIfAbsent(membro, m -> new BitSet()).set(i);
+                }
+            }
+        }
+        BitSet[] risultato = new BitSet[giudici.size()];
+        pool.submit(() -> IntStream.range(0, giudici.size()).parallel().forEach(g -> {
+            BitSet conflitti = new BitSet(team.size());
+            Integer persona = persone.get(chiave(giudici.get(g)));
+            if (persona != null) {
+                BitSet legati = legati(persona);
+                for (int altra = legati.nextSetBit(0); altra >= 0; altra = legati.nextSetBit(altra + 1)) {
+                    BitSet posizioni = teamPerMembro.get(altra);
+                    if (posizioni != null) {
+                        conflitti.or(posizioni);
+                    }
+                }
+            }
+            risultato[g] = conflitti;
+        })).join();
+        return risultato;
+    }
+
+    /**
+     * Restituisce la persona stessa e tutte quelle legate a lei.
+     */
+    private BitSet legati(int persona) {
+        BitSet legati = new BitSet(persone.size());
+        legati.set(persona);
+        for (int team : teamPerPersona.get(persona)) {
+            for (int altra : componenti.get(team)) {
+                legati.set(altra);
+            }
+            for (int altra : invitati.get(team)) {
+                legati.set(altra);
+            }
+        }
+        for (int team : invitiPerPersona.get(persona)) {
+            for (int altra : componenti.get(team)) {
+                legati.set(altra);
+            }
+        }
+        return legati;
+    }
+
+    /**
+     * Restituisce le persone che hanno fatto parte di un team: membri, leader e
+     * destinatari di inviti accettati. Crea le persone non ancora note.
+     */
+    private int[] componenti(Team team) {
+        BitSet insieme = new BitSet();
+        for (MembroTeam membro : team.getMembri()) {
+            insieme.set(persona(membro));
+        }
+        if (team.getLeader() != null) {
+            insieme.set(persona(team.getLeader()));
+        }
+        for (Invito invito : team.getInviti()) {
+            if (invito.getStato() == StatoInvito.ACCETTATO && invito.getDestinatario() != null) {
+                insieme.set(persona(invito.getDestinatario()));
+            }
+        }
+        return insieme.stream().toArray();
+    }
+
+    /**
+     * Restituisce i membri attuali di un team, -1 per quelli non presenti nello storico.
+     */
+    private int[] membri(Team team) {
+        List<MembroTeam> membri = team.getMembri();
+        int[] risultato = new int[membri.size() + 1];
+        for (int i = 0; i < membri.size(); i++) {
+            risultato[i] = persone.getOrDefault(chiave(membri.get(i)), -1);
+        }
+        risultato[membri.size()] = team.getLeader() == null ? -1
+            : persone.getOrDefault(chiave(team.getLeader()), -1);
+        return risultato;
+    }
+
+    private int persona(UtenteAstratto utente) {
+        return persone.computeIfAbsent(chiave(utente), email -> {
+            teamPerPersona.add(new ArrayList<>());
+            invitiPerPersona.add(new ArrayList<>());
+            return teamPerPersona.size() - 1;
+        });
+    }
+
+    /**
+     * Restituisce la chiave di una persona: l'email normalizzata, oppure l'id
+     * se l'email manca, cosi' utenti diversi senza email non si confondono.
+     */
+    private static String chiave(UtenteAstratto utente) {
+        String email = utente.getEmail();
+        return email == null ? "#" + utente.getId() : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
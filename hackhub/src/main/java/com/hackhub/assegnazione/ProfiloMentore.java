@@ -0,0 +1,84 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.model.MembroStaff;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe che rappresenta un mentore noto ad AssegnatoreMentori: le sue
+ * competenze, il numero massimo di call contemporanee e il carico corrente.
+ *
+ * Il carico e' un contatore atomico: e' la fonte di verita', mentre le code
+ * per competenza ne conservano una copia che viene riallineata quando serve.
+ */
+public class ProfiloMentore {
+
+    /** Indice denso del mentore nelle code per competenza */
+    private final int indice;
+
+    /** Membro dello staff che fa da mentore */
+    private final MembroStaff mentore;
+
+    /** Competenze del mentore, in minuscolo */
+    private final Set<String> competenze;
+
+    /** Numero massimo di call attive contemporaneamente */
+    private final int capacita;
+
+    /** Numero di call attive assegnate */
+    private final AtomicInteger carico;
+
+    ProfiloMentore(int indice, MembroStaff mentore, Set<String> competenze, int capacita) {
+        this.indice = indice;
+        this.mentore = mentore;
+        this.competenze = Set.copyOf(competenze);
+        this.capacita = capacita;
+        this.carico = new AtomicInteger();
+    }
+
+    // ==================== GETTER ====================
+
+    public MembroStaff getMentore() {
+        return mentore;
+    }
+
+    public Set<String> getCompetenze() {
+        return competenze;
+    }
+
+    public int getCapacita() {
+        return capacita;
+    }
+
+    public int getCarico() {
+        return carico.get();
+    }
+
+    int getIndice() {
+        return indice;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Prende un posto se il carico e' ancora quello letto.
+     *
+     * @param atteso Il carico letto
+     * @return true se il carico e' passato da atteso ad atteso + 1
+     */
+    boolean prenota(int atteso) {
+        return carico.compareAndSet(atteso, atteso + 1);
+    }
+
+    /**
+     * Libera un posto.
+     */
+    void libera() {
+        carico.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return mentore.getEmail() + " " + carico.get() + "/" + capacita + " " + competenze;
+    }
+}
@@ -0,0 +1,221 @@
+package com.hackhub.avvio;
+
+import com.hackhub.json.CodificaJson;
+import com.hackhub.json.CodificheJson;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Classe che tiene in memoria l'indice delle entita' salvate da MagazzinoModello.
+ *
+ * Per ogni categoria l'indice conserva, in array ordinati per id, la posizione
+ * del documento JSON nel file delle entita' e un'etichetta (lo stato per gli
+ * hackathon). L'apertura legge solo l'indice: circa 22 byte per entita'.
+ *
+ * Formato del file indice: MAGIA (int), VERSIONE (int), numero di record (int),
+ * poi per ogni record categoria (byte), id (long), posizione (long),
+ * lunghezza (int), etichetta (byte).
+ */
+public class IndiceEntita {
+
+    /** Nome del file indice nella cartella del modello */
+    public static final String FILE_INDICE = "indice.dat";
+
+    /** Nome del file dei documenti nella cartella del modello */
+    public static final String FILE_ENTITA = "entita.dat";
+
+    public static final byte HACKATHON = 0;
+    public static final byte TEAM = 1;
+    public static final byte UTENTE = 2;
+    public static final byte INVITO = 3;
+    public static final byte ISCRIZIONE = 4;
+    public static final byte SOTTOMISSIONE = 5;
+
+    /** Etichetta delle entita' che non ne hanno una */
+    public static final byte NESSUNA_ETICHETTA = -1;
+
+    static final int MAGIA = 0x48484958;
+    static final int VERSIONE = 1;
+    static final int DIMENSIONE_RECORD = 1 + Long.BYTES + Long.BYTES + Integer.BYTES + 1;
+
+    /** Codifiche per categoria, nell'ordine delle costanti */
+    static final CodificaJson<?>[] CODIFICHE = {
+        CodificheJson.HACKATHON, CodificheJson.TEAM, CodificheJson.UTENTE,
+        CodificheJson.INVITO, CodificheJson.ISCRIZIONE, CodificheJson.SOTTOMISSIONE
+    };
+
+    private final long[][] id;
+    private final long[][] posizioni;
+    private final int[][] lunghezze;
+    private final byte[][] etichette;
+
+    private IndiceEntita(long[][] id, long[][] posizioni, int[][] lunghezze, byte[][] etichette) {
+        this.id = id;
+        this.posizioni = posizioni;
+        this.lunghezze = lunghezze;
+        this.etichette = etichette;
+    }
+
+    /**
+     * Legge l'indice dalla cartella del modello.
+     *
+     * @param cartella La cartella scritta da MagazzinoModello
+     * @return L'indice
+     * @throws IOException se il file non puo' essere letto o non e' un indice valido
+     */
+    public static IndiceEntita apri(Path cartella) throws IOException {
+        ByteBuffer dati = ByteBuffer.wrap(Files.readAllBytes(cartella.resolve(FILE_INDICE)));
+        try {
+            if (dati.getInt() != MAGIA || dati.getInt() != VERSIONE) {
+                throw new IOException("Indice non valido: " + cartella.resolve(FILE_INDICE));
+            }
+            int numero = dati.getInt();
+            if (numero < 0 || dati.remaining() != (long) numero * DIMENSIONE_RECORD) {
+                throw new IOException("Indice troncato: " + cartella.resolve(FILE_INDICE));
+            }
+
+            // Prima passata: quante entita' per categoria
+            int[] perCategoria = new int[CODIFICHE.length];
+            int inizio = dati.position();
+            for (int i = 0; i < numero; i++) {
+                perCategoria[categoria(dati.get(inizio + i * DIMENSIONE_RECORD))]++;
+            }
+
+            long[][] id = new long[CODIFICHE.length][];
+            long[][] posizioni = new long[CODIFICHE.length][];
+            int[][] lunghezze = new int[CODIFICHE.length][];
+            byte[][] etichette = new byte[CODIFICHE.length][];
+            for (int c = 0; c < CODIFICHE.length; c++) {
+                id[c] = new long[perCategoria[c]];
+                posizioni[c] = new long[perCategoria[c]];
+                lunghezze[c] = new int[perCategoria[c]];
+                etichette[c] = new byte[perCategoria[c]];
+            }
+
+            // Seconda passata: MagazzinoModello scrive i record ordinati per categoria e id
+            int[] riempiti = new int[CODIFICHE.length];
+            for (int i = 0; i < numero; i++) {
+                int c = dati.get();
+                int j = riempiti[c]++;
+                id[c][j] = dati.getLong();
+                posizioni[c][j] = dati.getLong();
+                lunghezze[c][j] = dati.getInt();
+                etichette[c][j] = dati.get();
+                if (j > 0 && id[c][j] <= id[c][j - 1]) {
+                    throw new IOException("Indice non ordinato per id: " + cartella.resolve(FILE_INDICE));
+                }
+            }
+            return new IndiceEntita(id, posizioni, lunghezze, etichette);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Indice troncato: " + cartella.resolve(FILE_INDICE), e);
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di entita' indicizzate di una categoria.
+     *
+     * @param categoria La categoria (HACKATHON, TEAM, ...)
+     * @return Il numero di entita'
+     */
+    public int getNumero(byte categoria) {
+        return id[categoria].length;
+    }
+
+    /**
+     * Restituisce il numero totale di entita' indicizzate.
+     *
+     * @return Il numero di entita'
+     */
+    public int getNumeroTotale() {
+        int totale = 0;
+        for (long[] perCategoria : id) {
+            totale += perCategoria.length;
+        }
+        return totale;
+    }
+
+    /**
+     * Restituisce l'id massimo di una categoria, per riservare gli id alle nuove entita'.
+     *
+     * @param categoria La categoria
+     * @return L'id massimo, o 0 se la categoria e' vuota
+     */
+    public long getIdMassimo(byte categoria) {
+        long[] perCategoria = id[categoria];
+        return perCategoria.length > 0 ? perCategoria[perCategoria.length - 1] : 0;
+    }
+
+    /**
+     * Restituisce gli id delle entita' di una categoria con una delle etichette indicate.
+     *
+     * @param categoria La categoria
+     * @param ammesse   Le etichette ammesse (es. ordinali di StatoHackathon)
+     * @return Gli id in ordine crescente
+     */
+    public long[] getIdConEtichetta(byte categoria, byte... ammesse) {
+        long[] trovati = new long[id[categoria].length];
+        int numero = 0;
+        for (int i = 0; i < trovati.length; i++) {
+            for (byte ammessa : ammesse) {
+                if (etichette[categoria][i] == ammessa) {
+                    trovati[numero++] = id[categoria][i];
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(trovati, numero);
+    }
+
+    /**
+     * Restituisce tutti gli id di una categoria.
+     *
+     * @param categoria La categoria
+     * @return Gli id in ordine crescente
+     */
+    public long[] getId(byte categoria) {
+        return id[categoria].clone();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Cerca la posizione di un'entita' nell'indice.
+     *
+     * @param categoria La categoria
+     * @param idEntita  L'id dell'entita'
+     * @return La posizione nell'indice della categoria, o un valore negativo se assente
+     */
+    public int cerca(byte categoria, long idEntita) {
+        return Arrays.binarySearch(id[categoria], idEntita);
+    }
+
+    long getPosizione(byte categoria, int indice) {
+        return posizioni[categoria][indice];
+    }
+
+    int getLunghezza(byte categoria, int indice) {
+        return lunghezze[categoria][indice];
+    }
+
+    static byte categoria(Class<?> classe) {
+        for (byte c = 0; c < CODIFICHE.length; c++) {
+            if (CODIFICHE[c].getCategoria() == classe) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("Categoria non indicizzata: " + classe.getSimpleName());
+    }
+
+    private static int categoria(byte valore) throws IOException {
+        if (valore < 0 || valore >= CODIFICHE.length) {
+            throw new IOException("Categoria non valida nell'indice: " + valore);
+        }
+        return valore;
+    }
+}
@@ -0,0 +1,220 @@
+package com.hackhub.avvio;
+
+import com.hackhub.json.CodificaJson;
+import com.hackhub.json.ContestoCodifica;
+import com.hackhub.json.ScrittoreJson;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.model.UtenteAstratto;
+import com.hackhub.unicita.IndiceUnicita;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe che salva il modello in una cartella leggibile da ModelloPigro.
+ *
+ * Partendo da hackathon e utenti vengono raggiunte tutte le entita' collegate
+ * (team, inviti, iscrizioni, sottomissioni). Ogni entita' viene scritta come
+ * documento JSON a se' con i riferimenti per id (ContestoCodifica.SOLO_ID),
+ * una riga per documento, e l'indice registra dove si trova ogni documento.
+ * I membri dello staff non sono ricostruibili dalle codifiche e non vengono salvati.
+ * Accanto alle entita' vengono salvati i registri di unicita' di nomi dei team
+ * ed email (IndiceUnicita), pronti all'avvio senza caricare le entita'.
+ *
+ * I file vengono scritti accanto a quelli esistenti e poi sostituiti, quindi
+ * una cartella aperta da un altro processo resta valida fino alla sostituzione.
+ */
+public final class MagazzinoModello {
+
+    private MagazzinoModello() {
+    }
+
+    /**
+     * Salva il modello raggiungibile da hackathon e utenti.
+     *
+     * @param cartella  La cartella di destinazione (creata se assente)
+     * @param hackathon Gli hackathon da salvare
+     * @param utenti    Gli utenti da salvare, anche se non collegati ad alcun hackathon
+     * @return Il numero di entita' salvate
+     * @throws IOException se i file non possono essere scritti
+     */
+    public static int salva(Path cartella, Collection<Hackathon> hackathon,
+                            Collection<? extends UtenteAstratto> utenti) throws IOException {
+        Files.createDirectories(cartella);
+        Visita visita = new Visita();
+        for (Hackathon h : hackathon) {
+            visita.aggiungi(IndiceEntita.HACKATHON, h);
+        }
+        for (UtenteAstratto utente : utenti) {
+            visita.aggiungi(IndiceEntita.UTENTE, utente);
+        }
+        visita.esegui();
+
+        List<Voce> voci = visita.voci;
+        voci.sort(Comparator.<Voce>comparingInt(v -> v.categoria).thenComparingLong(v -> v.id));
+
+        Path entitaTemporanee = cartella.resolve(IndiceEntita.FILE_ENTITA + ".tmp");
+        Path indiceTemporaneo = cartella.resolve(IndiceEntita.FILE_INDICE + ".tmp");
+        ScrittoreJson scrittore = new ScrittoreJson();
+        ContestoCodifica contesto = new ContestoCodifica(ContestoCodifica.SOLO_ID);
+        long posizione = 0;
+        try (OutputStream entita = new BufferedOutputStream(Files.newOutputStream(entitaTemporanee), 1 << 16);
+             DataOutputStream indice = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(indiceTemporaneo), 1 << 16))) {
+            indice.writeInt(IndiceEntita.MAGIA);
+            indice.writeInt(IndiceEntita.VERSIONE);
+            indice.writeInt(voci.size());
+            for (Voce voce : voci) {
+                scrittore.reimposta();
+                codifica(voce, IndiceEntita.CODIFICHE[voce.categoria], contesto, scrittore);
+                int lunghezza = scrittore.getLunghezza();
+                scrittore.nuovaRiga();
+                scrittore.scriviSu(entita);
+
+                indice.writeByte(voce.categoria);
+                indice.writeLong(voce.id);
+                indice.writeLong(posizione);
+                indice.writeInt(lunghezza);
+                indice.writeByte(etichetta(voce));
+                posizione += lunghezza + 1;
+            }
+        }
+        salvaUnicita(cartella, voci);
+        // L'indice viene sostituito per ultimo: punta sempre a un file delle entita' completo
+        Files.move(entitaTemporanee, cartella.resolve(IndiceEntita.FILE_ENTITA),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indiceTemporaneo, cartella.resolve(IndiceEntita.FILE_INDICE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return voci.size();
+    }
+
+    /**
+     * Salva i registri di unicita' delle voci, gia' ordinate per id: a parita'
+     * di email la mantiene l'account creato per primo.
+     */
+    private static void salvaUnicita(Path cartella, List<Voce> voci) throws IOException {
+        List<Team> team = new ArrayList<>();
+        List<UtenteAstratto> utenti = new ArrayList<>();
+        for (Voce voce : voci) {
+            if (voce.categoria == IndiceEntita.TEAM) {
+                team.add((Team) voce.entita);
+            } else if (voce.categoria == IndiceEntita.UTENTE) {
+                utenti.add((UtenteAstratto) voce.entita);
+            }
+        }
+        IndiceUnicita unicita = new IndiceUnicita();
+        unicita.indicizza(team, utenti);
+        unicita.salva(cartella);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void codifica(Voce voce, CodificaJson<T> codifica, ContestoCodifica contesto,
+                                     ScrittoreJson scrittore) {
+        contesto.reimposta();
+        contesto.scrivi(scrittore, (T) voce.entita, codifica);
+    }
+
+    private static byte etichetta(Voce voce) {
+        if (voce.entita instanceof Hackathon) {
+            return (byte) ((Hackathon) voce.entita).getStato().ordinal();
+        }
+        return IndiceEntita.NESSUNA_ETICHETTA;
+    }
+
+    /**
+     * Visita in ampiezza del grafo, una volta per entita'.
+     */
+    private static final class Visita {
+
+        private final Map<Object, Boolean> visitate = new IdentityHashMap<>();
+        private final Deque<Voce> daVisitare = new ArrayDeque<>();
+        private final List<Voce> voci = new ArrayList<>();
+
+        private void aggiungi(byte categoria, Object entita) {
+            if (entita == null || !(entita instanceof Utente) && categoria == IndiceEntita.UTENTE) {
+                return;
+            }
+            if (visitate.putIfAbsent(entita, Boolean.TRUE) == null) {
+                Voce voce = new Voce(categoria, entita);
+                voci.add(voce);
+                daVisitare.add(voce);
+            }
+        }
+
+        private void esegui() {
+            Voce voce;
+            while ((voce = daVisitare.poll()) != null) {
+                Object entita = voce.entita;
+                if (entita instanceof Hackathon) {
+                    Hackathon hackathon = (Hackathon) entita;
+                    aggiungi(IndiceEntita.TEAM, hackathon.getVincitore());
+                    hackathon.getIscrizioni().forEach(i -> aggiungi(IndiceEntita.ISCRIZIONE, i));
+                } else if (entita instanceof Team) {
+                    Team team = (Team) entita;
+                    aggiungi(IndiceEntita.UTENTE, team.getLeader());
+                    for (MembroTeam membro : team.getMembri()) {
+                        aggiungi(IndiceEntita.UTENTE, membro);
+                    }
+                    team.getInviti().forEach(i -> aggiungi(IndiceEntita.INVITO, i));
+                    team.getIscrizioni().forEach(i -> aggiungi(IndiceEntita.ISCRIZIONE, i));
+                    team.getSottomissioni().forEach(s -> aggiungi(IndiceEntita.SOTTOMISSIONE, s));
+                } else if (entita instanceof Utente) {
+                    Utente utente = (Utente) entita;
+                    aggiungi(IndiceEntita.TEAM, utente.getTeam());
+                    utente.getInvitiRicevuti().forEach(i -> aggiungi(IndiceEntita.INVITO, i));
+                } else if (entita instanceof Invito) {
+                    Invito invito = (Invito) entita;
+                    aggiungi(IndiceEntita.TEAM, invito.getTeam());
+                    aggiungi(IndiceEntita.UTENTE, invito.getDestinatario());
+                } else if (entita instanceof Iscrizione) {
+                    Iscrizione iscrizione = (Iscrizione) entita;
+                    aggiungi(IndiceEntita.TEAM, iscrizione.getTeam());
+                    aggiungi(IndiceEntita.HACKATHON, iscrizione.getHackathon());
+                } else if (entita instanceof Sottomissione) {
+                    Sottomissione sottomissione = (Sottomissione) entita;
+                    aggiungi(IndiceEntita.TEAM, sottomissione.getTeam());
+                    aggiungi(IndiceEntita.HACKATHON, sottomissione.getHackathon());
+                }
+            }
+        }
+    }
+
+    /**
+     * Entita' da salvare con la sua categoria.
+     */
+    private static final class Voce {
+
+        private final byte categoria;
+        private final long id;
+        private final Object entita;
+
+        private Voce(byte categoria, Object entita) {
+            this.categoria = categoria;
+            this.entita = entita;
+            this.id = id(IndiceEntita.CODIFICHE[categoria], entita);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> long id(CodificaJson<T> codifica, Object entita) {
+            return codifica.getId((T) entita);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hackhub.avvio;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe che raccoglie le metriche dell'avvio rapido.
+ *
+ * Tutti i tempi sono misurati dall'istante di avvio del processo passato al
+ * costruttore: apertura dell'indice, prima richiesta servita e fine del
+ * riscaldamento degli hackathon attivi. Vengono contati anche i documenti
+ * caricati e le collezioni idratate, con il tempo speso a decodificarli.
+ */
+public class MetricheAvvio {
+
+    private static final long NON_AVVENUTO = -1;
+
+    /** Istante di avvio del processo (System.nanoTime) */
+    private final long inizio;
+
+    private volatile long apertura = NON_AVVENUTO;
+    private final AtomicLong primaRichiesta = new AtomicLong(NON_AVVENUTO);
+    private volatile long riscaldamento = NON_AVVENUTO;
+
+    private final AtomicLong entitaCaricate = new AtomicLong();
+    private final AtomicLong collezioniIdratate = new AtomicLong();
+    private final AtomicLong nanosCaricamento = new AtomicLong();
+
+    /**
+     * Costruttore della classe MetricheAvvio.
+     *
+     * @param inizio L'istante di avvio del processo, come System.nanoTime()
+     */
+    public MetricheAvvio(long inizio) {
+        this.inizio = inizio;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il tempo tra l'avvio e l'apertura dell'indice.
+     *
+     * @return Il tempo, o null se l'indice non e' ancora aperto
+     */
+    public Duration getTempoApertura() {
+        return durata(apertura);
+    }
+
+    /**
+     * Restituisce il tempo tra l'avvio e la prima richiesta servita.
+     *
+     * @return Il tempo, o null se nessuna richiesta e' ancora stata servita
+     */
+    public Duration getTempoPrimaRichiesta() {
+        return durata(primaRichiesta.get());
+    }
+
+    /**
+     * Restituisce il tempo tra l'avvio e la fine del riscaldamento.
+     *
+     * @return Il tempo, o null se il riscaldamento non e' terminato
+     */
+    public Duration getTempoRiscaldamento() {
+        return durata(riscaldamento);
+    }
+
+    public long getEntitaCaricate() {
+        return entitaCaricate.get();
+    }
+
+    public long getCollezioniIdratate() {
+        return collezioniIdratate.get();
+    }
+
+    /**
+     * Restituisce il tempo complessivo speso a leggere e decodificare documenti.
+     *
+     * @return Il tempo di caricamento
+     */
+    public Duration getTempoCaricamento() {
+        return Duration.ofNanos(nanosCaricamento.get());
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    void segnaApertura() {
+        apertura = System.nanoTime();
+    }
+
+    /**
+     * Registra che una richiesta e' stata servita; conta solo la prima.
+     */
+    public void segnaRichiesta() {
+        if (primaRichiesta.get() == NON_AVVENUTO) {
+            primaRichiesta.compareAndSet(NON_AVVENUTO, System.nanoTime());
+        }
+    }
+
+    void segnaRiscaldamento() {
+        riscaldamento = System.nanoTime();
+    }
+
+    void registraCaricamento(int entita, long nanos) {
+        entitaCaricate.addAndGet(entita);
+        nanosCaricamento.addAndGet(nanos);
+    }
+
+    void registraIdratazione() {
+        collezioniIdratate.incrementAndGet();
+    }
+
+    private Duration durata(long istante) {
+        return istante == NON_AVVENUTO ? null : Duration.ofNanos(istante - inizio);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricheAvvio{apertura=" + millis(getTempoApertura())
+            + ", primaRichiesta=" + millis(getTempoPrimaRichiesta())
+            + ", riscaldamento=" + millis(getTempoRiscaldamento())
+            + ", entitaCaricate=" + getEntitaCaricate()
+            + ", collezioniIdratate=" + getCollezioniIdratate()
+            + ", caricamento=" + getTempoCaricamento().toMillis() + " ms}";
+    }
+
+    private static String millis(Duration durata) {
+        return durata == null ? "-" : String.format("%.1f ms", durata.toNanos() / 1e6);
+    }
+}
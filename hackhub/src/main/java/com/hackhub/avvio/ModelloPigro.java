@@ -0,0 +1,274 @@
+package com.hackhub.avvio;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.json.CodificaJson;
+import com.hackhub.json.CodificheJson;
+import com.hackhub.json.CollezioniPigre;
+import com.hackhub.json.ContestoDecodifica;
+import com.hackhub.json.LettoreJson;
+import com.hackhub.json.RisolutoreRiferimenti;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Idratabile;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.model.UtenteAstratto;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Classe che serve il modello salvato da MagazzinoModello caricandolo su richiesta.
+ *
+ * All'apertura viene letto solo l'indice. Un'entita' viene decodificata al primo
+ * accesso insieme ai riferimenti singoli di cui ha bisogno (team di un utente,
+ * hackathon di un'iscrizione); le sue collezioni (iscrizioni, inviti,
+ * sottomissioni) restano da idratare e vengono caricate al primo accesso tramite
+ * Idratabile.aggiungiIdratazione().
+ *
+ * Le decodifiche avvengono sotto un unico lock e in un unico ContestoDecodifica,
+ * quindi ogni entita' esiste in una sola copia anche se raggiunta da percorsi
+ * diversi. Le entita' gia' caricate si leggono senza lock dalla cache.
+ *
+ * Ordine dei lock: il monitor dell'idratazione dell'entita' precede il lock di
+ * caricamento. Durante una decodifica non si accede alle collezioni di altre entita'.
+ */
+public class ModelloPigro implements RisolutoreRiferimenti, CollezioniPigre, Closeable {
+
+    /** Indice delle entita' salvate */
+    private final IndiceEntita indice;
+
+    /** File dei documenti, letto con letture posizionali */
+    private final FileChannel entita;
+
+    /** Metriche di avvio */
+    private final MetricheAvvio metriche;
+
+    /** Entita' caricate per categoria, leggibili senza lock */
+    private final List<Map<Long, Object>> cache;
+
+    /** Lock delle decodifiche */
+    private final ReentrantLock caricamento;
+
+    /** Contesto condiviso da tutte le decodifiche, protetto da caricamento */
+    private final ContestoDecodifica sessione;
+
+    private ModelloPigro(IndiceEntita indice, FileChannel entita, MetricheAvvio metriche) {
+        this.indice = indice;
+        this.entita = entita;
+        this.metriche = metriche;
+        this.cache = new ArrayList<>(IndiceEntita.CODIFICHE.length);
+        for (int i = 0; i < IndiceEntita.CODIFICHE.length; i++) {
+            cache.add(new ConcurrentHashMap<>());
+        }
+        this.caricamento = new ReentrantLock();
+        this.sessione = new ContestoDecodifica(this, this);
+    }
+
+    /**
+     * Apre il modello salvato in una cartella, leggendo solo l'indice.
+     * Gli id delle categorie vengono riservati, cosi' le entita' create dopo
+     * l'apertura non collidono con quelle non ancora caricate.
+     *
+     * @param cartella La cartella scritta da MagazzinoModello
+     * @param metriche Le metriche in cui registrare l'apertura e i caricamenti
+     * @return Il modello aperto
+     * @throws IOException se l'indice o il file delle entita' non possono essere aperti
+     */
+    public static ModelloPigro apri(Path cartella, MetricheAvvio metriche) throws IOException {
+        IndiceEntita indice = IndiceEntita.apri(cartella);
+        FileChannel canale = FileChannel.open(cartella.resolve(IndiceEntita.FILE_ENTITA), StandardOpenOption.READ);
+        ModelloPigro modello = new ModelloPigro(indice, canale, metriche);
+        modello.riservaId();
+        metriche.segnaApertura();
+        return modello;
+    }
+
+    // ==================== GETTER ====================
+
+    public IndiceEntita getIndice() {
+        return indice;
+    }
+
+    public MetricheAvvio getMetriche() {
+        return metriche;
+    }
+
+    /**
+     * Restituisce un hackathon, caricandolo se necessario.
+     *
+     * @param id L'id dell'hackathon
+     * @return L'hackathon, o null se non e' nel modello salvato
+     * @throws UncheckedIOException se il documento non puo' essere letto
+     */
+    public Hackathon getHackathon(long id) {
+        metriche.segnaRichiesta();
+        return carica(CodificheJson.HACKATHON, id);
+    }
+
+    /**
+     * Restituisce un team, caricandolo se necessario.
+     *
+     * @param id L'id del team
+     * @return Il team, o null se non e' nel modello salvato
+     * @throws UncheckedIOException se il documento non puo' essere letto
+     */
+    public Team getTeam(long id) {
+        metriche.segnaRichiesta();
+        return carica(CodificheJson.TEAM, id);
+    }
+
+    /**
+     * Restituisce un utente, caricandolo se necessario.
+     *
+     * @param id L'id dell'utente
+     * @return L'utente, o null se non e' nel modello salvato
+     * @throws UncheckedIOException se il documento non puo' essere letto
+     */
+    public UtenteAstratto getUtente(long id) {
+        metriche.segnaRichiesta();
+        return carica(CodificheJson.UTENTE, id);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Restituisce un'entita', caricandola se necessario. Non conta come richiesta.
+     *
+     * @param codifica La codifica della categoria
+     * @param id       L'id dell'entita'
+     * @return L'entita', o null se non e' nel modello salvato
+     * @throws UncheckedIOException se il documento non puo' essere letto
+     */
+    public <T> T carica(CodificaJson<T> codifica, long id) {
+        Class<T> categoria = codifica.getCategoria();
+        Map<Long, Object> perCategoria = cache.get(IndiceEntita.categoria(categoria));
+        Object presente = perCategoria.get(id);
+        if (presente != null) {
+            return categoria.cast(presente);
+        }
+
+        caricamento.lock();
+        try {
+            List<T> risultato = new ArrayList<>(1);
+            GestoreEventi.eseguiSenzaEventi(() -> {
+                T caricata = sessione.trova(categoria, id);
+                if (caricata == null && decodifica(codifica, id)) {
+                    sessione.completa();
+                    caricata = sessione.trova(categoria, id);
+                }
+                risultato.add(caricata);
+            });
+            T caricata = risultato.get(0);
+            if (caricata != null) {
+                perCategoria.put(id, caricata);
+            }
+            return caricata;
+        } finally {
+            caricamento.unlock();
+        }
+    }
+
+    /**
+     * Decodifica nella sessione un'entita' richiesta da un riferimento.
+     * Chiamato da ContestoDecodifica.completa() con il lock di caricamento gia' acquisito.
+     */
+    @Override
+    public Object risolvi(Class<?> categoria, long id) {
+        CodificaJson<?> codifica = IndiceEntita.CODIFICHE[IndiceEntita.categoria(categoria)];
+        decodifica(codifica, id);
+        return sessione.trova(categoria, id);
+    }
+
+    /**
+     * Rinvia il caricamento di una collezione al primo accesso del proprietario.
+     */
+    @Override
+    public <T> void rinvia(Idratabile proprietario, CodificaJson<T> codifica, long[] id,
+                           Consumer<? super T> azione) {
+        proprietario.aggiungiIdratazione(() -> {
+            List<T> elementi = new ArrayList<>(id.length);
+            caricamento.lock();
+            try {
+                for (long elemento : id) {
+                    T caricato = carica(codifica, elemento);
+                    if (caricato != null) {
+                        elementi.add(caricato);
+                    }
+                }
+            } finally {
+                caricamento.unlock();
+            }
+            GestoreEventi.eseguiSenzaEventi(() -> elementi.forEach(azione));
+            metriche.registraIdratazione();
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        entita.close();
+    }
+
+    /**
+     * Legge e decodifica il documento di un'entita' nella sessione, senza risolverne i riferimenti.
+     *
+     * @return false se l'entita' non e' nell'indice
+     */
+    private boolean decodifica(CodificaJson<?> codifica, long id) {
+        byte categoria = IndiceEntita.categoria(codifica.getCategoria());
+        int posizione = indice.cerca(categoria, id);
+        if (posizione < 0) {
+            return false;
+        }
+        long inizio = System.nanoTime();
+        byte[] documento = leggi(indice.getPosizione(categoria, posizione), indice.getLunghezza(categoria, posizione));
+        codifica.leggi(new LettoreJson(documento), sessione);
+        metriche.registraCaricamento(1, System.nanoTime() - inizio);
+        return true;
+    }
+
+    private byte[] leggi(long posizione, int lunghezza) {
+        ByteBuffer buffer = ByteBuffer.allocate(lunghezza);
+        try {
+            while (buffer.hasRemaining()) {
+                if (entita.read(buffer, posizione + buffer.position()) < 0) {
+                    throw new EOFException("File delle entita' troncato alla posizione " + posizione);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.array();
+    }
+
+    private void riservaId() {
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            riserva(IndiceEntita.HACKATHON, id -> new Hackathon(null, null, null, null).setId(id));
+            riserva(IndiceEntita.TEAM, id -> new Team(null, null).setId(id));
+            riserva(IndiceEntita.UTENTE, id -> new Utente(null, null, null, null).setId(id));
+            riserva(IndiceEntita.INVITO, id -> new Invito(null, null).setId(id));
+            riserva(IndiceEntita.ISCRIZIONE, id -> new Iscrizione(null, null).setId(id));
+            riserva(IndiceEntita.SOTTOMISSIONE, id -> new Sottomissione(null, null, null, null).setId(id));
+        });
+    }
+
+    private void riserva(byte categoria, LongConsumer segnaposto) {
+        if (indice.getNumero(categoria) > 0) {
+            segnaposto.accept(indice.getIdMassimo(categoria));
+        }
+    }
+}
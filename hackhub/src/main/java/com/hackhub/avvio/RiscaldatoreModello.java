@@ -0,0 +1,128 @@
+package com.hackhub.avvio;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.json.CodificheJson;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe che precarica in background gli hackathon attivi del modello pigro.
+ *
+ * Gli hackathon IN_ISCRIZIONE e IN_CORSO (riconosciuti dall'etichetta
+ * nell'indice, senza decodificarli) vengono caricati con le iscrizioni, i team
+ * iscritti e le loro collezioni, e gli inviti ricevuti dai membri. Quando
+ * l'ultimo e' caldo viene registrato il tempo di riscaldamento nelle metriche.
+ *
+ * Le richieste degli utenti non attendono il riscaldamento: chi accede a
+ * un'entita' non ancora caricata la carica da se'.
+ */
+public class RiscaldatoreModello implements Runnable {
+
+    private static final Logger LOG = Logger.getLogger(RiscaldatoreModello.class.getName());
+
+    private final ModelloPigro modello;
+
+    private final Thread thread;
+
+    private final AtomicInteger riscaldati;
+
+    private volatile boolean fermato;
+
+    /**
+     * Costruttore della classe RiscaldatoreModello.
+     *
+     * @param modello Il modello da riscaldare
+     */
+    public RiscaldatoreModello(ModelloPigro modello) {
+        this.modello = modello;
+        this.thread = new Thread(this, "hackhub-riscaldamento");
+        this.thread.setDaemon(true);
+        this.riscaldati = new AtomicInteger();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di hackathon gia' riscaldati.
+     *
+     * @return Il numero di hackathon riscaldati
+     */
+    public int getRiscaldati() {
+        return riscaldati.get();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Avvia il riscaldamento nel thread in background.
+     */
+    public void avvia() {
+        thread.start();
+    }
+
+    /**
+     * Attende la fine del riscaldamento.
+     *
+     * @param attesa L'attesa massima
+     * @return true se il riscaldamento e' terminato
+     * @throws InterruptedException se il thread corrente viene interrotto
+     */
+    public boolean attendi(Duration attesa) throws InterruptedException {
+        thread.join(Math.max(1, attesa.toMillis()));
+        return !thread.isAlive();
+    }
+
+    /**
+     * Interrompe il riscaldamento dopo l'hackathon corrente.
+     */
+    public void ferma() {
+        fermato = true;
+    }
+
+    @Override
+    public void run() {
+        long[] attivi = modello.getIndice().getIdConEtichetta(IndiceEntita.HACKATHON,
+            (byte) StatoHackathon.IN_ISCRIZIONE.ordinal(), (byte) StatoHackathon.IN_CORSO.ordinal());
+        for (long id : attivi) {
+            if (fermato) {
+                return;
+            }
+            try {
+                Hackathon hackathon = modello.carica(CodificheJson.HACKATHON, id);
+                if (hackathon != null) {
+                    riscalda(hackathon);
+                }
+                riscaldati.incrementAndGet();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Errore nel riscaldamento dell'hackathon " + id, e);
+            }
+        }
+        modello.getMetriche().segnaRiscaldamento();
+    }
+
+    /**
+     * Idrata le collezioni di un hackathon e dei team iscritti.
+     *
+     * @param hackathon L'hackathon da riscaldare
+     */
+    static void riscalda(Hackathon hackathon) {
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            Team team = iscrizione.getTeam();
+            if (team == null) {
+                continue;
+            }
+            team.getInviti();
+            team.getIscrizioni();
+            team.getSottomissioni();
+            for (MembroTeam membro : team.getMembri()) {
+                membro.getInvitiRicevuti();
+            }
+        }
+    }
+}
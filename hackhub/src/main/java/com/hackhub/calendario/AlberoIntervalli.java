@@ -0,0 +1,290 @@
+package com.hackhub.calendario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Albero di intervalli chiusi [inizio, fine] di valori long (es. giorni epoch).
+ *
+ * E' un albero AVL ordinato per (inizio, chiave) in cui ogni nodo conosce la
+ * fine massima del proprio sottoalbero. Inserimento, rimozione e ricerca di un
+ * intervallo sovrapposto costano O(log n); l'elenco dei k intervalli sovrapposti
+ * costa O(log n + k).
+ *
+ * Non e' thread-safe: chi lo condivide lo protegge con un lock.
+ *
+ * @param <T> Il tipo dei valori associati agli intervalli
+ */
+public class AlberoIntervalli<T> {
+
+    /** Radice dell'albero */
+    private Nodo<T> radice;
+
+    /** Numero di intervalli */
+    private int dimensione;
+
+    // ==================== GETTER ====================
+
+    public int getDimensione() {
+        return dimensione;
+    }
+
+    public boolean isVuoto() {
+        return dimensione == 0;
+    }
+
+    /**
+     * Restituisce i valori in ordine di inizio.
+     *
+     * @return I valori ordinati
+     */
+    public List<T> valori() {
+        List<T> valori = new ArrayList<>(dimensione);
+        visita(radice, nodo -> valori.add(nodo.valore));
+        return valori;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inserisce un intervallo.
+     *
+     * @param inizio L'inizio dell'intervallo (incluso)
+     * @param fine   La fine dell'intervallo (inclusa)
+     * @param chiave La chiave che distingue intervalli con lo stesso inizio (es. id dell'iscrizione)
+     * @param valore Il valore associato
+     * @return false se un intervallo con lo stesso inizio e la stessa chiave era gia' presente
+     * @throws IllegalArgumentException se la fine precede l'inizio
+     */
+    public boolean inserisci(long inizio, long fine, long chiave, T valore) {
+        if (fine < inizio) {
+            throw new IllegalArgumentException("La fine dell'intervallo precede l'inizio");
+        }
+        int prima = dimensione;
+        radice = inserisci(radice, new Nodo<>(inizio, fine, chiave, valore));
+        return dimensione > prima;
+    }
+
+    /**
+     * Rimuove un intervallo.
+     *
+     * @param inizio L'inizio con cui l'intervallo e' stato inserito
+     * @param chiave La chiave con cui l'intervallo e' stato inserito
+     * @return true se l'intervallo era presente
+     */
+    public boolean rimuovi(long inizio, long chiave) {
+        int prima = dimensione;
+        radice = rimuovi(radice, inizio, chiave);
+        return dimensione < prima;
+    }
+
+    /**
+     * Cerca un intervallo che si sovrappone a [inizio, fine], in O(log n).
+     *
+     * @param inizio L'inizio dell'intervallo cercato (incluso)
+     * @param fine   La fine dell'intervallo cercato (inclusa)
+     * @return Il valore di un intervallo sovrapposto, o null se non ce ne sono
+     */
+    public T primoSovrapposto(long inizio, long fine) {
+        Nodo<T> nodo = radice;
+        while (nodo != null) {
+            if (nodo.inizio <= fine && inizio <= nodo.fine) {
+                return nodo.valore;
+            }
+            // Se il sottoalbero sinistro arriva fino a inizio, o contiene un intervallo sovrapposto
+            // o nessun intervallo a destra puo' esserlo (iniziano tutti dopo fine)
+            if (nodo.sinistro != null && nodo.sinistro.fineMassima >= inizio) {
+                nodo = nodo.sinistro;
+            } else {
+                nodo = nodo.destro;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passa all'azione tutti gli intervalli sovrapposti a [inizio, fine], in ordine di inizio.
+     *
+     * @param inizio L'inizio dell'intervallo cercato (incluso)
+     * @param fine   La fine dell'intervallo cercato (inclusa)
+     * @param azione L'azione da eseguire per ogni valore sovrapposto
+     */
+    public void sovrapposti(long inizio, long fine, Consumer<? super T> azione) {
+        sovrapposti(radice, inizio, fine, azione);
+    }
+
+    /**
+     * Passa all'azione ogni coppia di intervalli sovrapposti dell'albero, in O(n + k).
+     * Il primo valore della coppia e' quello che inizia prima.
+     *
+     * @param azione L'azione da eseguire per ogni coppia
+     */
+    public void coppieSovrapposte(BiConsumer<? super T, ? super T> azione) {
+        List<Nodo<T>> ordinati = new ArrayList<>(dimensione);
+        visita(radice, ordinati::add);
+        for (int i = 0; i < ordinati.size(); i++) {
+            Nodo<T> primo = ordinati.get(i);
+            // Gli intervalli successivi iniziano dopo primo.inizio: si sovrappongono finche' iniziano entro primo.fine
+            for (int j = i + 1; j < ordinati.size() && ordinati.get(j).inizio <= primo.fine; j++) {
+                azione.accept(primo.valore, ordinati.get(j).valore);
+            }
+        }
+    }
+
+    private Nodo<T> inserisci(Nodo<T> nodo, Nodo<T> nuovo) {
+        if (nodo == null) {
+            dimensione++;
+            return nuovo;
+        }
+        int confronto = confronta(nuovo.inizio, nuovo.chiave, nodo);
+        if (confronto < 0) {
+            nodo.sinistro = inserisci(nodo.sinistro, nuovo);
+        } else if (confronto > 0) {
+            nodo.destro = inserisci(nodo.destro, nuovo);
+        } else {
+            return nodo;
+        }
+        return bilancia(nodo);
+    }
+
+    private Nodo<T> rimuovi(Nodo<T> nodo, long inizio, long chiave) {
+        if (nodo == null) {
+            return null;
+        }
+        int confronto = confronta(inizio, chiave, nodo);
+        if (confronto < 0) {
+            nodo.sinistro = rimuovi(nodo.sinistro, inizio, chiave);
+        } else if (confronto > 0) {
+            nodo.destro = rimuovi(nodo.destro, inizio, chiave);
+        } else {
+            dimensione--;
+            if (nodo.sinistro == null) {
+                return nodo.destro;
+            }
+            if (nodo.destro == null) {
+                return nodo.sinistro;
+            }
+            // Sostituisce il nodo con il minimo del sottoalbero destro
+            Nodo<T> successore = nodo.destro;
+            while (successore.sinistro != null) {
+                successore = successore.sinistro;
+            }
+            successore.destro = rimuoviMinimo(nodo.destro);
+            successore.sinistro = nodo.sinistro;
+            return bilancia(successore);
+        }
+        return bilancia(nodo);
+    }
+
+    private Nodo<T> rimuoviMinimo(Nodo<T> nodo) {
+        if (nodo.sinistro == null) {
+            return nodo.destro;
+        }
+        nodo.sinistro = rimuoviMinimo(nodo.sinistro);
+        return bilancia(nodo);
+    }
+
+    private void sovrapposti(Nodo<T> nodo, long inizio, long fine, Consumer<? super T> azione) {
+        if (nodo == null || nodo.fineMassima < inizio) {
+            return;
+        }
+        sovrapposti(nodo.sinistro, inizio, fine, azione);
+        if (nodo.inizio > fine) {
+            return;
+        }
+        if (inizio <= nodo.fine) {
+            azione.accept(nodo.valore);
+        }
+        sovrapposti(nodo.destro, inizio, fine, azione);
+    }
+
+    private static <T> void visita(Nodo<T> nodo, Consumer<Nodo<T>> azione) {
+        if (nodo != null) {
+            visita(nodo.sinistro, azione);
+            azione.accept(nodo);
+            visita(nodo.destro, azione);
+        }
+    }
+
+    private static int confronta(long inizio, long chiave, Nodo<?> nodo) {
+        int confronto = Long.compare(inizio, nodo.inizio);
+        return confronto != 0 ? confronto : Long.compare(chiave, nodo.chiave);
+    }
+
+    private static <T> Nodo<T> bilancia(Nodo<T> nodo) {
+        aggiorna(nodo);
+        int fattore = altezza(nodo.sinistro) - altezza(nodo.destro);
+        if (fattore > 1) {
+            if (altezza(nodo.sinistro.sinistro) < altezza(nodo.sinistro.destro)) {
+                nodo.sinistro = ruotaSinistra(nodo.sinistro);
+            }
+            return ruotaDestra(nodo);
+        }
+        if (fattore < -1) {
+            if (altezza(nodo.destro.destro) < altezza(nodo.destro.sinistro)) {
+                nodo.destro = ruotaDestra(nodo.destro);
+            }
+            return ruotaSinistra(nodo);
+        }
+        return nodo;
+    }
+
+    private static <T> Nodo<T> ruotaDestra(Nodo<T> nodo) {
+        Nodo<T> figlio = nodo.sinistro;
+        nodo.sinistro = figlio.destro;
+        figlio.destro = nodo;
+        aggiorna(nodo);
+        aggiorna(figlio);
+        return figlio;
+    }
+
+    private static <T> Nodo<T> ruotaSinistra(Nodo<T> nodo) {
+        Nodo<T> figlio = nodo.destro;
+        nodo.destro = figlio.sinistro;
+        figlio.sinistro = nodo;
+        aggiorna(nodo);
+        aggiorna(figlio);
+        return figlio;
+    }
+
+    private static void aggiorna(Nodo<?> nodo) {
+        nodo.altezza = 1 + Math.max(altezza(nodo.sinistro), altezza(nodo.destro));
+        long massima = nodo.fine;
+        if (nodo.sinistro != null) {
+            massima = Math.max(massima, nodo.sinistro.fineMassima);
+        }
+        if (nodo.destro != null) {
+            massima = Math.max(massima, nodo.destro.fineMassima);
+        }
+        nodo.fineMassima = massima;
+    }
+
+    private static int altezza(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.altezza;
+    }
+
+    /**
+     * Nodo dell'albero.
+     */
+    private static final class Nodo<T> {
+        private final long inizio;
+        private final long fine;
+        private final long chiave;
+        private final T valore;
+        private long fineMassima;
+        private int altezza;
+        private Nodo<T> sinistro;
+        private Nodo<T> destro;
+
+        private Nodo(long inizio, long fine, long chiave, T valore) {
+            this.inizio = inizio;
+            this.fine = fine;
+            this.chiave = chiave;
+            this.valore = valore;
+            this.fineMassima = fine;
+            this.altezza = 1;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hackhub.calendario;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import java.time.LocalDate;
+
+/**
+ * Classe che rappresenta l'intervallo di date a cui un'iscrizione CONFERMATA impegna il team.
+ *
+ * Le date sono copiate al momento dell'indicizzazione, cosi' l'impegno puo'
+ * essere tolto dall'indice anche dopo che l'hackathon ha cambiato date.
+ */
+public class Impegno {
+
+    /** Iscrizione che genera l'impegno */
+    private final Iscrizione iscrizione;
+
+    /** Primo giorno dell'impegno (dataInizio dell'hackathon) */
+    private final LocalDate inizio;
+
+    /** Ultimo giorno dell'impegno (dataFine dell'hackathon) */
+    private final LocalDate fine;
+
+    private Impegno(Iscrizione iscrizione, LocalDate inizio, LocalDate fine) {
+        this.iscrizione = iscrizione;
+        this.inizio = inizio;
+        this.fine = fine;
+    }
+
+    /**
+     * Crea l'impegno di un'iscrizione dalle date correnti dell'hackathon.
+     *
+     * @param iscrizione L'iscrizione
+     * @return L'impegno, o null se l'hackathon manca o non ha date valide
+     */
+    static Impegno di(Iscrizione iscrizione) {
+        Hackathon hackathon = iscrizione.getHackathon();
+        if (hackathon == null || hackathon.getDataInizio() == null || hackathon.getDataFine() == null
+                || hackathon.getDataFine().isBefore(hackathon.getDataInizio())) {
+            return null;
+        }
+        return new Impegno(iscrizione, hackathon.getDataInizio(), hackathon.getDataFine());
+    }
+
+    // ==================== GETTER ====================
+
+    public Iscrizione getIscrizione() {
+        return iscrizione;
+    }
+
+    public LocalDate getInizio() {
+        return inizio;
+    }
+
+    public LocalDate getFine() {
+        return fine;
+    }
+
+    long getGiornoInizio() {
+        return inizio.toEpochDay();
+    }
+
+    long getGiornoFine() {
+        return fine.toEpochDay();
+    }
+
+    long getChiave() {
+        return iscrizione.getId();
+    }
+
+    @Override
+    public String toString() {
+        Hackathon hackathon = iscrizione.getHackathon();
+        return (hackathon != null ? hackathon.getNome() : "?") + " (" + inizio + " - " + fine + ")";
+    }
+}
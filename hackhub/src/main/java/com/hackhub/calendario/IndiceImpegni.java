@@ -0,0 +1,479 @@
+package com.hackhub.calendario;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoArgomento;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Classe che indicizza le date a cui team e utenti sono impegnati, per impedire
+ * iscrizioni a hackathon che si sovrappongono.
+ *
+ * Ogni iscrizione CONFERMATA impegna il team e i suoi membri nell'intervallo
+ * [dataInizio, dataFine] dell'hackathon. Per ogni team e per ogni utente
+ * c'e' un AlberoIntervalli, protetto dal proprio lock: il controllo di
+ * un'iscrizione costa O(log n) per il team e per ogni membro.
+ *
+ * Il controllo diventa attivo con attiva() e avviene in due passi, nessuno dei
+ * quali fa nulla se l'indice non e' attivo o se il thread sta ricostruendo
+ * entita' con la pubblicazione degli eventi sospesa:
+ * - Team.aggiungiIscrizione() chiama verifica(), che rifiuta l'iscrizione con
+ *   SovrapposizioneDateException senza registrare nulla
+ * - Hackathon.aggiungiIscrizione() chiama impegna() dopo gli ultimi controlli
+ *   che possono fallire: l'impegno viene ricontrollato e registrato solo per
+ *   un'iscrizione che va a buon fine
+ * Gli eventi del modello tengono l'indice allineato:
+ * - Iscrizione.setStato/annulla: l'impegno viene tolto o ripristinato
+ * - Team.addMembro/removeMembro/setLeader: gli impegni del team passano al membro o gli vengono tolti
+ * - Hackathon.setDataInizio/setDataFine: gli impegni dell'hackathon vengono spostati
+ *
+ * Le persone impegnate da un team sono i membri piu' il leader, anche se
+ * quest'ultimo non compare (ancora) tra i membri.
+ *
+ * Gli impegni ripristinati o spostati non vengono controllati: eventuali
+ * sovrapposizioni si trovano con trovaSovrapposizioni(), che esamina tutti
+ * gli alberi in parallelo.
+ *
+ * Ordine dei lock: l'albero del team precede quelli dei membri, presi in
+ * ordine di id; il controllo e la registrazione di un impegno avvengono
+ * tenendo tutti questi lock.
+ */
+public class IndiceImpegni implements AscoltatoreEventi {
+
+    /** Indice usato da Team e Hackathon.aggiungiIscrizione() (null se il controllo e' disattivato) */
+    private static volatile IndiceImpegni attivo;
+
+    /** Impegni per id del team */
+    private final Map<Long, AlberoIntervalli<Impegno>> perTeam;
+
+    /** Impegni per id dell'utente */
+    private final Map<Long, AlberoIntervalli<Impegno>> perUtente;
+
+    /** Impegni indicizzati per id dell'iscrizione */
+    private final Map<Long, Impegno> impegni;
+
+    /** Pool fork-join su cui eseguire le ricerche massive */
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruttore della classe IndiceImpegni che usa il pool comune.
+     */
+    public IndiceImpegni() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe IndiceImpegni.
+     *
+     * @param pool Il pool fork-join per trovaSovrapposizioni()
+     */
+    public IndiceImpegni(ForkJoinPool pool) {
+        this.perTeam = new ConcurrentHashMap<>();
+        this.perUtente = new ConcurrentHashMap<>();
+        this.impegni = new ConcurrentHashMap<>();
+        this.pool = pool;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce gli impegni di un team in ordine di inizio.
+     *
+     * @param idTeam L'id del team
+     * @return Gli impegni del team
+     */
+    public List<Impegno> getImpegniTeam(long idTeam) {
+        return valori(perTeam.get(idTeam));
+    }
+
+    /**
+     * Restituisce gli impegni di un utente in ordine di inizio.
+     *
+     * @param idUtente L'id dell'utente
+     * @return Gli impegni dell'utente
+     */
+    public List<Impegno> getImpegniUtente(long idUtente) {
+        return valori(perUtente.get(idUtente));
+    }
+
+    public int getNumeroImpegni() {
+        return impegni.size();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Attiva il controllo delle iscrizioni e l'aggiornamento dell'indice.
+     * Gli impegni gia' esistenti vanno caricati prima con indicizza().
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+        attivo = this;
+    }
+
+    /**
+     * Disattiva il controllo delle iscrizioni e l'aggiornamento dell'indice.
+     */
+    public void disattiva() {
+        if (attivo == this) {
+            attivo = null;
+        }
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Indicizza le iscrizioni CONFERMATE esistenti dei team, senza controllarle.
+     *
+     * @param team I team esistenti
+     */
+    public void indicizza(Iterable<Team> team) {
+        for (Team t : team) {
+            for (Iscrizione iscrizione : t.getIscrizioni()) {
+                if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                    registra(t, iscrizione, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Controlla l'iscrizione di un team sull'indice attivo, senza registrarne l'impegno.
+     * Chiamato da Team.aggiungiIscrizione().
+     *
+     * @param team       Il team che si iscrive
+     * @param iscrizione L'iscrizione
+     * @throws SovrapposizioneDateException se il team o un membro e' gia' impegnato in quelle date
+     */
+    public static void verifica(Team team, Iscrizione iscrizione) {
+        IndiceImpegni indice = attivo;
+        if (indice != null && !GestoreEventi.isSospeso() && iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+            Impegno impegno = Impegno.di(iscrizione);
+            if (impegno != null && !indice.impegni.containsKey(impegno.getChiave())) {
+                indice.conBloccati(indice.alberi(team), 0, () -> indice.controlla(team, impegno));
+            }
+        }
+    }
+
+    /**
+     * Ricontrolla l'iscrizione di un team sull'indice attivo e ne registra l'impegno.
+     * Chiamato da Hackathon.aggiungiIscrizione() quando l'iscrizione non puo' piu' fallire:
+     * un'iscrizione concorrente puo' aver impegnato le stesse date dopo verifica().
+     *
+     * @param iscrizione L'iscrizione
+     * @throws SovrapposizioneDateException se il team o un membro e' gia' impegnato in quelle date
+     */
+    public static void impegna(Iscrizione iscrizione) {
+        IndiceImpegni indice = attivo;
+        Team team = iscrizione.getTeam();
+        if (indice != null && !GestoreEventi.isSospeso() && team != null
+                && iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+            indice.registra(team, iscrizione, true);
+        }
+    }
+
+    /**
+     * Cerca un impegno del team che si sovrappone alle date indicate, in O(log n).
+     *
+     * @param idTeam L'id del team
+     * @param inizio Il primo giorno
+     * @param fine   L'ultimo giorno
+     * @return Un impegno sovrapposto, o null se il team e' libero
+     */
+    public Impegno conflittoTeam(long idTeam, LocalDate inizio, LocalDate fine) {
+        return primoSovrapposto(perTeam.get(idTeam), inizio, fine);
+    }
+
+    /**
+     * Cerca un impegno dell'utente che si sovrappone alle date indicate, in O(log n).
+     *
+     * @param idUtente L'id dell'utente
+     * @param inizio   Il primo giorno
+     * @param fine     L'ultimo giorno
+     * @return Un impegno sovrapposto, o null se l'utente e' libero
+     */
+    public Impegno conflittoUtente(long idUtente, LocalDate inizio, LocalDate fine) {
+        return primoSovrapposto(perUtente.get(idUtente), inizio, fine);
+    }
+
+    /**
+     * Trova tutte le coppie di impegni sovrapposti di team e utenti, esaminando
+     * gli alberi in parallelo. Per gli utenti vengono riportate solo le coppie
+     * di team diversi: quelle dello stesso team compaiono gia' per il team.
+     *
+     * @return Le sovrapposizioni trovate
+     */
+    public List<Sovrapposizione> trovaSovrapposizioni() {
+        Stream<Map.Entry<Long, AlberoIntervalli<Impegno>>> team = perTeam.entrySet().stream();
+        Stream<Map.Entry<Long, AlberoIntervalli<Impegno>>> utenti = perUtente.entrySet().stream();
+        return pool.submit(() -> Stream.concat(
+                team.map(voce -> Map.entry(TipoArgomento.TEAM, voce)),
+                utenti.map(voce -> Map.entry(TipoArgomento.UTENTE, voce)))
+            .parallel()
+            .flatMap(voce -> sovrapposizioni(voce.getKey(), voce.getValue().getKey(), voce.getValue().getValue()))
+            .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Aggiorna l'indice in base all'evento ricevuto.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        Object sorgente = evento.getSorgente();
+        TipoEvento tipo = evento.getTipo();
+
+        if (sorgente instanceof Iscrizione) {
+            if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())) {
+                Iscrizione iscrizione = (Iscrizione) sorgente;
+                if (evento.getValoreNuovo() == StatoIscrizione.CONFERMATA) {
+                    if (iscrizione.getTeam() != null) {
+                        registra(iscrizione.getTeam(), iscrizione, false);
+                    }
+                } else {
+                    ritira(iscrizione);
+                }
+            }
+        } else if (sorgente instanceof Team) {
+            Team team = (Team) sorgente;
+            if ("membri".equals(evento.getCampo())) {
+                MembroTeam membro = (MembroTeam) evento.getValoreNuovo();
+                if (tipo == TipoEvento.AGGIUNTA || membro != team.getLeader()) {
+                    cambiaMembro(team, membro, tipo == TipoEvento.AGGIUNTA);
+                }
+            } else if (tipo == TipoEvento.MODIFICA && "leader".equals(evento.getCampo())) {
+                cambiaLeader(team, (MembroTeam) evento.getValorePrecedente(), (MembroTeam) evento.getValoreNuovo());
+            }
+        } else if (sorgente instanceof Hackathon) {
+            if (tipo == TipoEvento.MODIFICA
+                    && ("dataInizio".equals(evento.getCampo()) || "dataFine".equals(evento.getCampo()))) {
+                sposta((Hackathon) sorgente);
+            } else if (tipo == TipoEvento.AGGIUNTA && "iscrizioni".equals(evento.getCampo())) {
+                // Iscrizioni aggiunte mentre l'indice ascoltava ma non controllava
+                Iscrizione iscrizione = (Iscrizione) evento.getValoreNuovo();
+                if (iscrizione.getStato() == StatoIscrizione.CONFERMATA && iscrizione.getTeam() != null) {
+                    registra(iscrizione.getTeam(), iscrizione, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra l'impegno di un'iscrizione per il team e i suoi membri.
+     * Con controlla, rifiuta l'iscrizione se il team o un membro e' gia' impegnato.
+     */
+    private void registra(Team team, Iscrizione iscrizione, boolean controlla) {
+        Impegno impegno = Impegno.di(iscrizione);
+        if (impegno == null || impegni.containsKey(impegno.getChiave())) {
+            return;
+        }
+        List<AlberoIntervalli<Impegno>> alberi = alberi(team);
+        conBloccati(alberi, 0, () -> {
+            if (controlla) {
+                controlla(team, impegno);
+            }
+            if (impegni.putIfAbsent(impegno.getChiave(), impegno) != null) {
+                return;
+            }
+            for (AlberoIntervalli<Impegno> albero : alberi) {
+                inserisci(albero, impegno);
+            }
+        });
+    }
+
+    /**
+     * Rifiuta l'impegno se il team o una delle sue persone e' gia' impegnato.
+     * Va chiamato tenendo i lock degli alberi restituiti da alberi(team).
+     */
+    private void controlla(Team team, Impegno impegno) {
+        Impegno conflitto = primoSovrapposto(perTeam.get(team.getId()), impegno);
+        if (conflitto != null) {
+            throw new SovrapposizioneDateException(TipoArgomento.TEAM, team.getId(), impegno, conflitto);
+        }
+        for (MembroTeam persona : persone(team)) {
+            conflitto = primoSovrapposto(perUtente.get(persona.getId()), impegno);
+            if (conflitto != null) {
+                throw new SovrapposizioneDateException(TipoArgomento.UTENTE, persona.getId(), impegno, conflitto);
+            }
+        }
+    }
+
+    /**
+     * Restituisce gli alberi del team e delle sue persone nell'ordine dei lock:
+     * prima il team, poi gli utenti in ordine di id.
+     */
+    private List<AlberoIntervalli<Impegno>> alberi(Team team) {
+        List<AlberoIntervalli<Impegno>> alberi = new ArrayList<>();
+        alberi.add(albero(perTeam, team.getId()));
+        for (MembroTeam persona : persone(team)) {
+            alberi.add(albero(perUtente, persona.getId()));
+        }
+        return alberi;
+    }
+
+    /**
+     * Esegue l'operazione tenendo i lock degli alberi da indice in poi, nell'ordine della lista.
+     */
+    private void conBloccati(List<AlberoIntervalli<Impegno>> alberi, int indice, Runnable operazione) {
+        if (indice == alberi.size()) {
+            operazione.run();
+            return;
+        }
+        synchronized (alberi.get(indice)) {
+            conBloccati(alberi, indice + 1, operazione);
+        }
+    }
+
+    /**
+     * Restituisce i membri del team piu' il leader, senza ripetizioni e in ordine di id.
+     */
+    private static List<MembroTeam> persone(Team team) {
+        Map<Long, MembroTeam> perId = new TreeMap<>();
+        for (MembroTeam membro : team.getMembri()) {
+            perId.putIfAbsent(membro.getId(), membro);
+        }
+        MembroTeam leader = team.getLeader();
+        if (leader != null) {
+            perId.putIfAbsent(leader.getId(), leader);
+        }
+        return new ArrayList<>(perId.values());
+    }
+
+    private void ritira(Iscrizione iscrizione) {
+        Impegno impegno = impegni.get(iscrizione.getId());
+        Team team = iscrizione.getTeam();
+        if (impegno == null || team == null) {
+            return;
+        }
+        AlberoIntervalli<Impegno> alberoTeam = albero(perTeam, team.getId());
+        synchronized (alberoTeam) {
+            if (!impegni.remove(impegno.getChiave(), impegno)) {
+                return;
+            }
+            alberoTeam.rimuovi(impegno.getGiornoInizio(), impegno.getChiave());
+            for (MembroTeam persona : persone(team)) {
+                rimuovi(perUtente.get(persona.getId()), impegno);
+            }
+        }
+    }
+
+    private void cambiaMembro(Team team, MembroTeam membro, boolean aggiunto) {
+        AlberoIntervalli<Impegno> alberoTeam = perTeam.get(team.getId());
+        if (alberoTeam == null || membro == null) {
+            return;
+        }
+        synchronized (alberoTeam) {
+            List<Impegno> impegniTeam = alberoTeam.valori();
+            if (impegniTeam.isEmpty()) {
+                return;
+            }
+            AlberoIntervalli<Impegno> alberoUtente = albero(perUtente, membro.getId());
+            for (Impegno impegno : impegniTeam) {
+                if (aggiunto) {
+                    inserisci(alberoUtente, impegno);
+                } else {
+                    rimuovi(alberoUtente, impegno);
+                }
+            }
+        }
+    }
+
+    private void cambiaLeader(Team team, MembroTeam precedente, MembroTeam nuovo) {
+        if (precedente == nuovo) {
+            return;
+        }
+        List<MembroTeam> membri = team.getMembri();
+        if (nuovo != null && !membri.contains(nuovo)) {
+            cambiaMembro(team, nuovo, true);
+        }
+        if (precedente != null && !membri.contains(precedente)) {
+            cambiaMembro(team, precedente, false);
+        }
+    }
+
+    private void sposta(Hackathon hackathon) {
+        if (hackathon.isArchiviato()) {
+            return;
+        }
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (impegni.containsKey(iscrizione.getId())) {
+                ritira(iscrizione);
+                registra(iscrizione.getTeam(), iscrizione, false);
+            }
+        }
+    }
+
+    private Stream<Sovrapposizione> sovrapposizioni(TipoArgomento tipo, long id, AlberoIntervalli<Impegno> albero) {
+        List<Sovrapposizione> trovate = new ArrayList<>();
+        synchronized (albero) {
+            albero.coppieSovrapposte((primo, secondo) -> {
+                if (tipo == TipoArgomento.TEAM
+                        || primo.getIscrizione().getTeam() != secondo.getIscrizione().getTeam()) {
+                    trovate.add(new Sovrapposizione(tipo, id, primo, secondo));
+                }
+            });
+        }
+        return trovate.stream();
+    }
+
+    private static AlberoIntervalli<Impegno> albero(Map<Long, AlberoIntervalli<Impegno>> alberi, long id) {
+        return alberi.computeIfAbsent(id, chiave -> new AlberoIntervalli<>());
+    }
+
+    private static void inserisci(AlberoIntervalli<Impegno> albero, Impegno impegno) {
+        synchronized (albero) {
+            albero.inserisci(impegno.getGiornoInizio(), impegno.getGiornoFine(), impegno.getChiave(), impegno);
+        }
+    }
+
+    private static void rimuovi(AlberoIntervalli<Impegno> albero, Impegno impegno) {
+        if (albero != null) {
+            synchronized (albero) {
+                albero.rimuovi(impegno.getGiornoInizio(), impegno.getChiave());
+            }
+        }
+    }
+
+    private static Impegno primoSovrapposto(AlberoIntervalli<Impegno> albero, Impegno impegno) {
+        if (albero == null) {
+            return null;
+        }
+        synchronized (albero) {
+            return albero.primoSovrapposto(impegno.getGiornoInizio(), impegno.getGiornoFine());
+        }
+    }
+
+    private static Impegno primoSovrapposto(AlberoIntervalli<Impegno> albero, LocalDate inizio, LocalDate fine) {
+        if (albero == null) {
+            return null;
+        }
+        synchronized (albero) {
+            return albero.primoSovrapposto(inizio.toEpochDay(), fine.toEpochDay());
+        }
+    }
+
+    private static List<Impegno> valori(AlberoIntervalli<Impegno> albero) {
+        if (albero == null) {
+            return Collections.emptyList();
+        }
+        synchronized (albero) {
+            return Collections.unmodifiableList(albero.valori());
+        }
+    }
+}
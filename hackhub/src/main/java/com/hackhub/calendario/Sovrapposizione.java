@@ -0,0 +1,52 @@
+package com.hackhub.calendario;
+
+import com.hackhub.enums.TipoArgomento;
+
+/**
+ * Classe che rappresenta due impegni sovrapposti dello stesso team o utente,
+ * trovati da IndiceImpegni.trovaSovrapposizioni().
+ */
+public class Sovrapposizione {
+
+    /** TEAM o UTENTE */
+    private final TipoArgomento tipo;
+
+    /** Id del team o dell'utente */
+    private final long idProprietario;
+
+    /** L'impegno che inizia prima */
+    private final Impegno primo;
+
+    /** L'impegno che inizia dopo (o lo stesso giorno) */
+    private final Impegno secondo;
+
+    Sovrapposizione(TipoArgomento tipo, long idProprietario, Impegno primo, Impegno secondo) {
+        this.tipo = tipo;
+        this.idProprietario = idProprietario;
+        this.primo = primo;
+        this.secondo = secondo;
+    }
+
+    // ==================== GETTER ====================
+
+    public TipoArgomento getTipo() {
+        return tipo;
+    }
+
+    public long getIdProprietario() {
+        return idProprietario;
+    }
+
+    public Impegno getPrimo() {
+        return primo;
+    }
+
+    public Impegno getSecondo() {
+        return secondo;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "[" + idProprietario + "]: " + primo + " si sovrappone a " + secondo;
+    }
+}
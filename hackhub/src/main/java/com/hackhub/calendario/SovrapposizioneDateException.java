@@ -0,0 +1,51 @@
+package com.hackhub.calendario;
+
+import com.hackhub.enums.TipoArgomento;
+
+/**
+ * Eccezione lanciata quando un team si iscrive a un hackathon le cui date si
+ * sovrappongono a un impegno gia' preso dal team o da uno dei suoi membri.
+ *
+ * Estende IllegalStateException, come le altre violazioni di precondizione del modello.
+ */
+public class SovrapposizioneDateException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** TEAM o UTENTE, a seconda di chi ha l'impegno in conflitto */
+    private final TipoArgomento tipo;
+
+    /** Id del team o dell'utente impegnato */
+    private final long idProprietario;
+
+    /** Impegno gia' presente */
+    private final transient Impegno conflitto;
+
+    /**
+     * Costruttore della classe SovrapposizioneDateException.
+     *
+     * @param tipo           TEAM o UTENTE
+     * @param idProprietario L'id del team o dell'utente impegnato
+     * @param nuovo          L'impegno rifiutato
+     * @param conflitto      L'impegno gia' presente
+     */
+    public SovrapposizioneDateException(TipoArgomento tipo, long idProprietario, Impegno nuovo, Impegno conflitto) {
+        super((tipo == TipoArgomento.TEAM ? "Il team " : "L'utente ") + idProprietario
+            + " e' gia' impegnato in " + conflitto + ": non puo' partecipare a " + nuovo);
+        this.tipo = tipo;
+        this.idProprietario = idProprietario;
+        this.conflitto = conflitto;
+    }
+
+    public TipoArgomento getTipo() {
+        return tipo;
+    }
+
+    public long getIdProprietario() {
+        return idProprietario;
+    }
+
+    public Impegno getConflitto() {
+        return conflitto;
+    }
+}
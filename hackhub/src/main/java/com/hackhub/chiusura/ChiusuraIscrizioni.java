@@ -0,0 +1,379 @@
+package com.hackhub.chiusura;
+
+import com.hackhub.concorrenza.ConflittoVersioneException;
+import com.hackhub.enums.MotivoSqualifica;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.EntitaVersionata;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe che esegue la chiusura delle iscrizioni di un hackathon alla scadenza.
+ *
+ * Le iscrizioni CONFERMATE vengono squalificate se:
+ * - il team supera maxMembriTeam (il Leader conta come membro)
+ * - il team non ha un Leader
+ * - un membro (identificato dall'email) risulta iscritto con due team diversi:
+ *   vengono squalificate tutte le iscrizioni dei team coinvolti
+ *
+ * Algoritmo:
+ * 1. Verifica (parallela, fork-join per blocchi di iscrizioni): controlli sul team,
+ *    versioni lette e chiavi (membro, iscrizione) impacchettate in long; le email
+ *    vengono tradotte in numeri densi con una mappa concorrente
+ * 2. Le chiavi vengono ordinate con Arrays.parallelSort: le iscrizioni di uno stesso
+ *    membro diventano adiacenti e i duplicati si trovano con una scansione lineare
+ * 3. Le squalifiche vengono applicate in un unico lotto atomico con
+ *    EntitaVersionata.aggiornaTutteSeVersione() sull'hackathon (nuove iscrizioni,
+ *    maxMembriTeam) e sulle sole iscrizioni squalificate; dentro il lotto si
+ *    controlla che i team di queste iscrizioni non siano cambiati dalla verifica.
+ *    Se nel frattempo qualcuno ha modificato una di queste entita', la verifica
+ *    viene ripetuta. Un team idoneo modificato dopo la verifica non la invalida:
+ *    la modifica equivale a una successiva alla chiusura
+ * 4. Gli eventi di cambio stato vengono pubblicati dopo il rilascio delle versioni,
+ *    cosi' gli ascoltatori non trovano entita' con un aggiornamento in corso
+ */
+public class ChiusuraIscrizioni {
+
+    /** Numero di tentativi prima di rinunciare per conflitti */
+    public static final int TENTATIVI_MASSIMI = 5;
+
+    /** Numero di iscrizioni per blocco di lavoro */
+    private static final int DIMENSIONE_BLOCCO = 2048;
+
+    private static final MotivoSqualifica[] MOTIVI = MotivoSqualifica.values();
+
+    /** Pool fork-join su cui eseguire la verifica */
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruttore della classe ChiusuraIscrizioni che usa il pool comune.
+     */
+    public ChiusuraIscrizioni() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe ChiusuraIscrizioni.
+     *
+     * @param pool Il pool fork-join da usare
+     */
+    public ChiusuraIscrizioni(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Chiude le iscrizioni di un hackathon la cui scadenza e' passata.
+     *
+     * @param hackathon L'hackathon da chiudere
+     * @return Il rapporto della chiusura
+     * @throws IllegalStateException se la scadenza delle iscrizioni non e' ancora passata
+     * @throws ConflittoVersioneException se le squalifiche non possono essere applicate
+     *                                    per modifiche concorrenti ripetute
+     */
+    public RapportoChiusura chiudi(Hackathon hackathon) {
+        return chiudi(hackathon, LocalDate.now());
+    }
+
+    /**
+     * Chiude le iscrizioni di un hackathon rispetto alla data indicata.
+     *
+     * Precondizioni: la scadenza delle iscrizioni e' precedente alla data indicata
+     * Postcondizioni: le iscrizioni non idonee sono SQUALIFICATE, tutte insieme o nessuna
+     *
+     * @param hackathon L'hackathon da chiudere
+     * @param oggi      La data di riferimento
+     * @return Il rapporto della chiusura
+     * @throws IllegalStateException se la scadenza delle iscrizioni non e' ancora passata
+     * @throws ConflittoVersioneException se le squalifiche non possono essere applicate
+     *                                    per modifiche concorrenti ripetute
+     */
+    public RapportoChiusura chiudi(Hackathon hackathon, LocalDate oggi) {
+        if (!oggi.isAfter(hackathon.getScadenzaIscrizioni())) {
+            throw new IllegalStateException("Le iscrizioni all'hackathon sono ancora aperte");
+        }
+        long inizio = System.nanoTime();
+        Verifica verifica = null;
+        for (int tentativo = 1; tentativo <= TENTATIVI_MASSIMI; tentativo++) {
+            verifica = verifica(hackathon);
+            if (verifica.applica()) {
+                verifica.pubblica();
+                return new RapportoChiusura(hackathon, verifica.iscrizioni.length, verifica.squalifiche,
+                    tentativo, Duration.ofNanos(System.nanoTime() - inizio));
+            }
+        }
+        throw verifica.conflitto(TENTATIVI_MASSIMI);
+    }
+
+    private Verifica verifica(Hackathon hackathon) {
+        // Letta prima di iscrizioni e maxMembriTeam: una nuova iscrizione la cambia
+        long versioneHackathon = hackathon.getVersione();
+        List<Iscrizione> confermate = new ArrayList<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                confermate.add(iscrizione);
+            }
+        }
+        Verifica verifica = new Verifica(hackathon, versioneHackathon, confermate.toArray(new Iscrizione[0]),
+            hackathon.getMaxMembriTeam());
+        int blocchi = (verifica.iscrizioni.length + DIMENSIONE_BLOCCO - 1) / DIMENSIONE_BLOCCO;
+        pool.invoke(new VerificaBlocchi(verifica, 0, blocchi));
+        verifica.trovaMembriInPiuTeam();
+        verifica.raccogliSqualifiche();
+        return verifica;
+    }
+
+    /**
+     * Stato di una verifica: risultati per iscrizione, scritti dai blocchi
+     * in posizioni disgiunte.
+     */
+    private static class Verifica {
+        private final Hackathon hackathon;
+        private final long versioneHackathon;
+        private final Iscrizione[] iscrizioni;
+        private final int maxMembri;
+        private final long[] versioniIscrizioni;
+        private final long[] versioniTeam;
+        private final byte[] motivi;
+        private final long[][] chiaviPerBlocco;
+        private final Map<String, Integer> numeriMembri;
+        private final AtomicInteger prossimoNumero;
+        private List<Squalifica> squalifiche;
+        private List<EntitaVersionata> entitaApplicate;
+        private long[] versioniApplicate;
+        private Team teamCambiato;
+        private long versioneTeamCambiato;
+
+        Verifica(Hackathon hackathon, long versioneHackathon, Iscrizione[] iscrizioni, int maxMembri) {
+            this.hackathon = hackathon;
+            this.versioneHackathon = versioneHackathon;
+            this.iscrizioni = iscrizioni;
+            this.maxMembri = maxMembri;
+            this.versioniIscrizioni = new long[iscrizioni.length];
+            this.versioniTeam = new long[iscrizioni.length];
+            this.motivi = new byte[iscrizioni.length];
+            this.chiaviPerBlocco = new long[(iscrizioni.length + DIMENSIONE_BLOCCO - 1) / DIMENSIONE_BLOCCO][];
+            this.numeriMembri = new ConcurrentHashMap<>();
+            this.prossimoNumero = new AtomicInteger();
+        }
+
+        void verificaBlocco(int blocco) {
+            int da = blocco * DIMENSIONE_BLOCCO;
+            int a = Math.min(iscrizioni.length, da + DIMENSIONE_BLOCCO);
+            long[] chiavi = new long[(a - da) * 4];
+            int numeroChiavi = 0;
+            for (int i = da; i < a; i++) {
+                Iscrizione iscrizione = iscrizioni[i];
+                Team team = iscrizione.getTeam();
+                // Le versioni vanno lette prima del contenuto: una modifica successiva le cambia
+                versioniIscrizioni[i] = iscrizione.getVersione();
+                versioniTeam[i] = team.getVersione();
+
+                Leader leader = team.getLeader();
+                List<MembroTeam> membri = team.getMembri();
+                int dimensione = membri.size() + (leader != null && !membri.contains(leader) ? 1 : 0);
+                if (leader == null) {
+                    motivi[i] |= bit(MotivoSqualifica.TEAM_SENZA_LEADER);
+                }
+                if (dimensione > maxMembri) {
+                    motivi[i] |= bit(MotivoSqualifica.TEAM_TROPPO_NUMEROSO);
+                }
+
+                if (numeroChiavi + dimensione > chiavi.length) {
+                    chiavi = Arrays.copyOf(chiavi, Math.max(chiavi.length * 2, numeroChiavi + dimensione));
+                }
+                for (MembroTeam membro : membri) {
+                    chiavi[numeroChiavi++] = chiave(membro, i);
+                }
+                if (leader != null && !membri.contains(leader)) {
+                    chiavi[numeroChiavi++] = chiave(leader, i);
+                }
+            }
+            chiaviPerBlocco[blocco] = Arrays.copyOf(chiavi, numeroChiavi);
+        }
+
+        /** Chiave ordinabile: numero del membro nei 32 bit alti, indice dell'iscrizione nei bassi */
+        private long chiave(MembroTeam membro, int indice) {
+            String email = membro.getEmail() == null
+                ? "#" + membro.getId()
+                : membro.getEmail().trim().toLowerCase(Locale.ROOT);
+            int numero = numeriMembri.computeIfAbsent(email, e -> prossimoNumero.getAndIncrement());
+            return ((long) numero << 32) | indice;
+        }
+
+        void trovaMembriInPiuTeam() {
+            int totale = 0;
+            for (long[] chiavi : chiaviPerBlocco) {
+                totale += chiavi.length;
+            }
+            long[] tutte = new long[totale];
+            int posizione = 0;
+            for (long[] chiavi : chiaviPerBlocco) {
+                System.arraycopy(chiavi, 0, tutte, posizione, chiavi.length);
+                posizione += chiavi.length;
+            }
+            Arrays.parallelSort(tutte);
+
+            byte duplicato = bit(MotivoSqualifica.MEMBRO_IN_PIU_TEAM);
+            int inizio = 0;
+            while (inizio < tutte.length) {
+                int fine = inizio + 1;
+                long membro = tutte[inizio] >>> 32;
+                boolean teamDiversi = false;
+                Team primo = iscrizioni[(int) tutte[inizio]].getTeam();
+                while (fine < tutte.length && (tutte[fine] >>> 32) == membro) {
+                    teamDiversi |= iscrizioni[(int) tutte[fine]].getTeam() != primo;
+                    fine++;
+                }
+                if (teamDiversi) {
+                    for (int k = inizio; k < fine; k++) {
+                        motivi[(int) tutte[k]] |= duplicato;
+                    }
+                }
+                inizio = fine;
+            }
+        }
+
+        void raccogliSqualifiche() {
+            squalifiche = new ArrayList<>();
+            for (int i = 0; i < iscrizioni.length; i++) {
+                if (motivi[i] != 0) {
+                    Set<MotivoSqualifica> insieme = EnumSet.noneOf(MotivoSqualifica.class);
+                    for (MotivoSqualifica motivo : MOTIVI) {
+                        if ((motivi[i] & bit(motivo)) != 0) {
+                            insieme.add(motivo);
+                        }
+                    }
+                    squalifiche.add(new Squalifica(iscrizioni[i], insieme));
+                }
+            }
+        }
+
+        /**
+         * Applica le squalifiche in un unico lotto, condizionato alle versioni lette
+         * dell'hackathon e delle iscrizioni squalificate. I team di queste iscrizioni
+         * vengono solo controllati: se uno e' cambiato il lotto non modifica nulla.
+         * Gli stati vengono scritti senza eventi, pubblicati poi da pubblica().
+         */
+        boolean applica() {
+            List<EntitaVersionata> entita = new ArrayList<>();
+            long[] versioniAttese = new long[squalifiche.size() + 1];
+            entita.add(hackathon);
+            versioniAttese[0] = versioneHackathon;
+            for (int i = 0; i < iscrizioni.length; i++) {
+                if (motivi[i] != 0) {
+                    versioniAttese[entita.size()] = versioniIscrizioni[i];
+                    entita.add(iscrizioni[i]);
+                }
+            }
+            entitaApplicate = entita;
+            versioniApplicate = versioniAttese;
+            teamCambiato = null;
+            boolean applicato = EntitaVersionata.aggiornaTutteSeVersione(entita, versioniAttese, () -> {
+                if (trovaTeamCambiato()) {
+                    return;
+                }
+                GestoreEventi.eseguiSenzaEventi(() -> {
+                    for (Squalifica squalifica : squalifiche) {
+                        squalifica.getIscrizione().setStato(StatoIscrizione.SQUALIFICATA);
+                    }
+                });
+            });
+            return applicato && teamCambiato == null;
+        }
+
+        private boolean trovaTeamCambiato() {
+            for (int i = 0; i < iscrizioni.length; i++) {
+                if (motivi[i] != 0 && iscrizioni[i].getTeam().getVersione() != versioniTeam[i]) {
+                    teamCambiato = iscrizioni[i].getTeam();
+                    versioneTeamCambiato = versioniTeam[i];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Pubblica i cambi di stato dopo il rilascio delle versioni; ogni evento
+         * incrementa la versione dell'iscrizione come una modifica diretta.
+         */
+        void pubblica() {
+            for (Squalifica squalifica : squalifiche) {
+                GestoreEventi.pubblica(TipoEvento.MODIFICA, squalifica.getIscrizione(), "stato",
+                    StatoIscrizione.CONFERMATA, StatoIscrizione.SQUALIFICATA);
+            }
+        }
+
+        /**
+         * Costruisce l'eccezione per un applica() fallito, riportando la prima entita'
+         * la cui versione non e' piu' quella letta.
+         */
+        ConflittoVersioneException conflitto(int tentativi) {
+            if (teamCambiato != null) {
+                return new ConflittoVersioneException(teamCambiato, versioneTeamCambiato, teamCambiato.getVersione(),
+                    tentativi);
+            }
+            for (int i = 0; i < entitaApplicate.size(); i++) {
+                long corrente = entitaApplicate.get(i).getVersione();
+                if (corrente != versioniApplicate[i]) {
+                    return new ConflittoVersioneException(entitaApplicate.get(i), versioniApplicate[i], corrente,
+                        tentativi);
+                }
+            }
+            // Non dovrebbe accadere: una versione cambiata non torna al valore letto
+            return new ConflittoVersioneException(hackathon, versioneHackathon, hackathon.getVersione(), tentativi);
+        }
+
+        private static byte bit(MotivoSqualifica motivo) {
+            return (byte) (1 << motivo.ordinal());
+        }
+    }
+
+    /**
+     * Task fork-join che verifica un intervallo di blocchi di iscrizioni.
+     */
+    private static class VerificaBlocchi extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Verifica verifica;
+        private final int da;
+        private final int a;
+
+        VerificaBlocchi(Verifica verifica, int da, int a) {
+            this.verifica = verifica;
+            this.da = da;
+            this.a = a;
+        }
+
+        @Override
+        protected void compute() {
+            if (a - da <= 1) {
+                for (int blocco = da; blocco < a; blocco++) {
+                    verifica.verificaBlocco(blocco);
+                }
+                return;
+            }
+            int medio = (da + a) >>> 1;
+            invokeAll(new VerificaBlocchi(verifica, da, medio), new VerificaBlocchi(verifica, medio, a));
+        }
+    }
+}
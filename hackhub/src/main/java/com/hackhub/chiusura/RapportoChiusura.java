@@ -0,0 +1,92 @@
+package com.hackhub.chiusura;
+
+import com.hackhub.enums.MotivoSqualifica;
+import com.hackhub.model.Hackathon;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe che riassume l'esito della chiusura delle iscrizioni di un hackathon.
+ */
+public class RapportoChiusura {
+
+    /** Hackathon chiuso */
+    private final Hackathon hackathon;
+
+    /** Numero di iscrizioni CONFERMATE esaminate */
+    private final int esaminate;
+
+    /** Iscrizioni squalificate, nell'ordine delle iscrizioni dell'hackathon */
+    private final List<Squalifica> squalifiche;
+
+    /** Numero di iscrizioni squalificate per motivo */
+    private final Map<MotivoSqualifica, Integer> conteggi;
+
+    /** Numero di tentativi necessari per applicare le squalifiche senza conflitti */
+    private final int tentativi;
+
+    /** Durata complessiva della chiusura */
+    private final Duration durata;
+
+    RapportoChiusura(Hackathon hackathon, int esaminate, List<Squalifica> squalifiche,
+                     int tentativi, Duration durata) {
+        this.hackathon = hackathon;
+        this.esaminate = esaminate;
+        this.squalifiche = Collections.unmodifiableList(squalifiche);
+        this.tentativi = tentativi;
+        this.durata = durata;
+        Map<MotivoSqualifica, Integer> perMotivo = new EnumMap<>(MotivoSqualifica.class);
+        for (MotivoSqualifica motivo : MotivoSqualifica.values()) {
+            perMotivo.put(motivo, 0);
+        }
+        for (Squalifica squalifica : squalifiche) {
+            for (MotivoSqualifica motivo : squalifica.getMotivi()) {
+                perMotivo.merge(motivo, 1, Integer::sum);
+            }
+        }
+        this.conteggi = Collections.unmodifiableMap(perMotivo);
+    }
+
+    // ==================== GETTER ====================
+
+    public Hackathon getHackathon() {
+        return hackathon;
+    }
+
+    public int getEsaminate() {
+        return esaminate;
+    }
+
+    public List<Squalifica> getSqualifiche() {
+        return squalifiche;
+    }
+
+    /**
+     * Restituisce il numero di iscrizioni squalificate per un motivo.
+     * Un'iscrizione con piu' motivi viene contata per ciascuno.
+     *
+     * @param motivo Il motivo
+     * @return Il numero di iscrizioni squalificate per quel motivo
+     */
+    public int getConteggio(MotivoSqualifica motivo) {
+        return conteggi.get(motivo);
+    }
+
+    public int getTentativi() {
+        return tentativi;
+    }
+
+    public Duration getDurata() {
+        return durata;
+    }
+
+    @Override
+    public String toString() {
+        return "Chiusura iscrizioni " + hackathon.getNome() + ": " + esaminate + " esaminate, "
+            + squalifiche.size() + " squalificate " + conteggi + " in " + durata.toMillis()
+            + " ms (" + tentativi + " tentativi)";
+    }
+}
@@ -0,0 +1,45 @@
+package com.hackhub.chiusura;
+
+import com.hackhub.enums.MotivoSqualifica;
+import com.hackhub.model.Iscrizione;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Classe che rappresenta un'iscrizione squalificata alla chiusura delle iscrizioni,
+ * con i motivi rilevati.
+ */
+public class Squalifica {
+
+    /** Iscrizione squalificata */
+    private final Iscrizione iscrizione;
+
+    /** Motivi della squalifica */
+    private final Set<MotivoSqualifica> motivi;
+
+    /**
+     * Costruttore della classe Squalifica.
+     *
+     * @param iscrizione L'iscrizione squalificata
+     * @param motivi     I motivi della squalifica
+     */
+    Squalifica(Iscrizione iscrizione, Set<MotivoSqualifica> motivi) {
+        this.iscrizione = iscrizione;
+        this.motivi = Collections.unmodifiableSet(motivi);
+    }
+
+    // ==================== GETTER ====================
+
+    public Iscrizione getIscrizione() {
+        return iscrizione;
+    }
+
+    public Set<MotivoSqualifica> getMotivi() {
+        return motivi;
+    }
+
+    @Override
+    public String toString() {
+        return "Squalifica del team " + iscrizione.getTeam().getNome() + ": " + motivi;
+    }
+}
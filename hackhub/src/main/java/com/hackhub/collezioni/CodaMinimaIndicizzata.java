@@ -0,0 +1,196 @@
+package com.hackhub.collezioni;
+
+import java.util.Arrays;
+
+/**
+ * Coda di priorita' minima indicizzata: un heap binario di elementi identificati
+ * da un indice intero denso (0, 1, 2, ...) con una chiave long ciascuno.
+ *
+ * A differenza di PriorityQueue, ogni elemento conosce la propria posizione
+ * nell'heap, quindi si puo' cambiarne la chiave o rimuoverlo in O(log n) senza
+ * cercarlo. A parita' di chiave viene prima l'indice minore.
+ *
+ * Non e' thread-safe: chi la condivide la protegge con un lock.
+ */
+public class CodaMinimaIndicizzata {
+
+    /** Indici degli elementi in ordine di heap */
+    private int[] heap;
+
+    /** Posizione nell'heap per indice, -1 se l'elemento non e' presente */
+    private int[] posizioni;
+
+    /** Chiave per indice */
+    private long[] chiavi;
+
+    /** Numero di elementi nell'heap */
+    private int dimensione;
+
+    public CodaMinimaIndicizzata() {
+        this.heap = new int[8];
+        this.posizioni = new int[8];
+        this.chiavi = new long[8];
+        Arrays.fill(posizioni, -1);
+    }
+
+    // ==================== GETTER ====================
+
+    public int getDimensione() {
+        return dimensione;
+    }
+
+    public boolean isVuota() {
+        return dimensione == 0;
+    }
+
+    /**
+     * Verifica se un elemento e' presente.
+     *
+     * @param indice L'indice dell'elemento
+     * @return true se l'elemento e' nella coda
+     */
+    public boolean contiene(int indice) {
+        return indice >= 0 && indice < posizioni.length && posizioni[indice] >= 0;
+    }
+
+    /**
+     * Restituisce l'elemento con la chiave minima, senza rimuoverlo.
+     *
+     * @return L'indice dell'elemento, o -1 se la coda e' vuota
+     */
+    public int minimo() {
+        return dimensione == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Restituisce la chiave di un elemento presente.
+     *
+     * @param indice L'indice dell'elemento
+     * @return La chiave
+     * @throws IllegalArgumentException se l'elemento non e' presente
+     */
+    public long getChiave(int indice) {
+        verificaPresente(indice);
+        return chiavi[indice];
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inserisce un elemento, in O(log n).
+     *
+     * @param indice L'indice dell'elemento (non negativo)
+     * @param chiave La chiave
+     * @throws IllegalArgumentException se l'indice e' negativo o l'elemento e' gia' presente
+     */
+    public void inserisci(int indice, long chiave) {
+        if (indice < 0) {
+            throw new IllegalArgumentException("Indice negativo: " + indice);
+        }
+        if (contiene(indice)) {
+            throw new IllegalArgumentException("Elemento gia' presente: " + indice);
+        }
+        if (indice >= posizioni.length) {
+            int vecchia = posizioni.length;
+            int nuova = Math.max(vecchia * 2, indice + 1);
+            posizioni = Arrays.copyOf(posizioni, nuova);
+            Arrays.fill(posizioni, vecchia, nuova, -1);
+            chiavi = Arrays.copyOf(chiavi, nuova);
+        }
+        if (dimensione == heap.length) {
+            heap = Arrays.copyOf(heap, dimensione * 2);
+        }
+        chiavi[indice] = chiave;
+        heap[dimensione] = indice;
+        posizioni[indice] = dimensione;
+        dimensione++;
+        risali(dimensione - 1);
+    }
+
+    /**
+     * Cambia la chiave di un elemento presente, in O(log n).
+     *
+     * @param indice L'indice dell'elemento
+     * @param chiave La nuova chiave
+     * @throws IllegalArgumentException se l'elemento non e' presente
+     */
+    public void aggiorna(int indice, long chiave) {
+        verificaPresente(indice);
+        long precedente = chiavi[indice];
+        chiavi[indice] = chiave;
+        if (chiave < precedente) {
+            risali(posizioni[indice]);
+        } else if (chiave > precedente) {
+            scendi(posizioni[indice]);
+        }
+    }
+
+    /**
+     * Rimuove un elemento, in O(log n).
+     *
+     * @param indice L'indice dell'elemento
+     * @return false se l'elemento non era presente
+     */
+    public boolean rimuovi(int indice) {
+        if (!contiene(indice)) {
+            return false;
+        }
+        int posizione = posizioni[indice];
+        dimensione--;
+        if (posizione != dimensione) {
+            sposta(heap[dimensione], posizione);
+            risali(posizione);
+            scendi(posizioni[heap[posizione]]);
+        }
+        posizioni[indice] = -1;
+        return true;
+    }
+
+    private void risali(int posizione) {
+        int elemento = heap[posizione];
+        while (posizione > 0) {
+            int padre = (posizione - 1) >>> 1;
+            if (!precede(elemento, heap[padre])) {
+                break;
+            }
+            sposta(heap[padre], posizione);
+            posizione = padre;
+        }
+        sposta(elemento, posizione);
+    }
+
+    private void scendi(int posizione) {
+        int elemento = heap[posizione];
+        while (true) {
+            int figlio = 2 * posizione + 1;
+            if (figlio >= dimensione) {
+                break;
+            }
+            if (figlio + 1 < dimensione && precede(heap[figlio + 1], heap[figlio])) {
+                figlio++;
+            }
+            if (!precede(heap[figlio], elemento)) {
+                break;
+            }
+            sposta(heap[figlio], posizione);
+            posizione = figlio;
+        }
+        sposta(elemento, posizione);
+    }
+
+    private void sposta(int elemento, int posizione) {
+        heap[posizione] = elemento;
+        posizioni[elemento] = posizione;
+    }
+
+    private boolean precede(int primo, int secondo) {
+        int confronto = Long.compare(chiavi[primo], chiavi[secondo]);
+        return confronto < 0 || (confronto == 0 && primo < secondo);
+    }
+
+    private void verificaPresente(int indice) {
+        if (!contiene(indice)) {
+            throw new IllegalArgumentException("Elemento non presente: " + indice);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hackhub.collezioni;
+
+/**
+ * Classe che rappresenta la posizione da cui riprendere la lettura di una collezione paginata.
+ *
+ * Nelle collezioni in sola aggiunta una posizione identifica sempre lo stesso elemento,
+ * quindi un cursore resta valido anche se nel frattempo vengono aggiunti elementi:
+ * riprendendo dall'ultimo cursore si ottengono esattamente gli elementi nuovi.
+ *
+ * codifica() e decodifica() permettono di passare il cursore come stringa opaca
+ * (ad esempio in un parametro di una richiesta).
+ */
+public final class Cursore {
+
+    /** Cursore che punta all'inizio della collezione */
+    public static final Cursore INIZIO = new Cursore(0);
+
+    /** Posizione del prossimo elemento da leggere */
+    private final int posizione;
+
+    private Cursore(int posizione) {
+        this.posizione = posizione;
+    }
+
+    /**
+     * Crea un cursore su una posizione.
+     *
+     * @param posizione La posizione del prossimo elemento da leggere
+     * @return Il cursore
+     * @throws IllegalArgumentException se la posizione e' negativa
+     */
+    public static Cursore di(int posizione) {
+        if (posizione < 0) {
+            throw new IllegalArgumentException("La posizione non puo' essere negativa");
+        }
+        return posizione == 0 ? INIZIO : new Cursore(posizione);
+    }
+
+    /**
+     * Ricostruisce un cursore dalla sua forma codificata.
+     *
+     * @param codificato Il cursore codificato con codifica(), null per l'inizio
+     * @return Il cursore
+     * @throws IllegalArgumentException se la stringa non e' un cursore valido
+     */
+    public static Cursore decodifica(String codificato) {
+        if (codificato == null || codificato.isEmpty()) {
+            return INIZIO;
+        }
+        try {
+            return di(Integer.parseInt(codificato, Character.MAX_RADIX));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursore non valido: " + codificato, e);
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    public int getPosizione() {
+        return posizione;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Restituisce la forma codificata del cursore.
+     *
+     * @return Il cursore come stringa opaca
+     */
+    public String codifica() {
+        return Integer.toString(posizione, Character.MAX_RADIX);
+    }
+
+    @Override
+    public boolean equals(Object altro) {
+        return altro instanceof Cursore && ((Cursore) altro).posizione == posizione;
+    }
+
+    @Override
+    public int hashCode() {
+        return posizione;
+    }
+
+    @Override
+    public String toString() {
+        return "Cursore " + posizione;
+    }
+}
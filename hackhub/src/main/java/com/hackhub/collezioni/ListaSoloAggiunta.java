@@ -0,0 +1,130 @@
+package com.hackhub.collezioni;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Lista in sola aggiunta usata dal modello per le collezioni che crescono nel tempo
+ * (iscrizioni, inviti, sottomissioni).
+ *
+ * Gli elementi sono memorizzati in blocchi di dimensione crescente (8, 16, 32, ...):
+ * un blocco non viene mai riallocato e una posizione, una volta scritta, non cambia piu'.
+ * Per questo vista() puo' restituire un'istantanea immutabile senza copiare nulla:
+ * la vista condivide i blocchi e ricorda solo quanti elementi c'erano al momento della chiamata.
+ *
+ * Le aggiunte sono serializzate dal lock della lista; le viste si leggono senza lock,
+ * perche' la dimensione viene pubblicata (volatile) dopo aver scritto l'elemento.
+ *
+ * Un elemento puo' essere spostato fuori memoria con scarica(): al suo posto resta
+ * un Segnaposto che le viste risolvono alla lettura, quindi la posizione continua
+ * a identificare lo stesso elemento anche nelle viste gia' restituite.
+ *
+ * @param <E> Il tipo degli elementi
+ */
+public class ListaSoloAggiunta<E> {
+
+    /** Logaritmo in base 2 della dimensione del primo blocco */
+    static final int BIT_PRIMO_BLOCCO = 3;
+
+    /** Blocchi di elementi, null finche' la lista e' vuota */
+    private volatile Object[][] blocchi;
+
+    /** Numero di elementi pubblicati */
+    private volatile int dimensione;
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return Il numero di elementi
+     */
+    public int dimensione() {
+        return dimensione;
+    }
+
+    /**
+     * Restituisce un'istantanea immutabile degli elementi presenti.
+     * Costa O(1) e resta valida anche se la lista continua a crescere.
+     *
+     * @return La vista di sola lettura
+     */
+    public VistaLista<E> vista() {
+        int n = dimensione;
+        return new VistaLista<>(blocchi, n);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Aggiunge un elemento in coda.
+     *
+     * @param elemento L'elemento da aggiungere
+     */
+    public synchronized void aggiungi(E elemento) {
+        int posizione = dimensione;
+        if (posizione == Integer.MAX_VALUE) {
+            throw new IllegalStateException("La lista ha raggiunto la dimensione massima");
+        }
+        int blocco = blocco(posizione);
+        Object[][] correnti = blocchi;
+        if (correnti == null || blocco >= correnti.length) {
+            // Il nuovo array dei blocchi viene pubblicato prima della dimensione:
+            // chi legge la nuova dimensione vede anche il blocco che la contiene
+            correnti = correnti == null ? new Object[2][] : Arrays.copyOf(correnti, correnti.length * 2);
+            blocchi = correnti;
+        }
+        if (correnti[blocco] == null) {
+            correnti[blocco] = new Object[1 << (blocco + BIT_PRIMO_BLOCCO)];
+        }
+        correnti[blocco][offset(posizione, blocco)] = elemento;
+        dimensione = posizione + 1;
+    }
+
+    /**
+     * Sostituisce con un segnaposto gli elementi da spostare fuori memoria.
+     *
+     * Il segnaposto deve avere campi final e restituire un elemento equivalente:
+     * viene letto anche dalle viste gia' restituite, senza sincronizzazione.
+     *
+     * @param segnaposto Restituisce il segnaposto di un elemento, o null per lasciarlo in memoria
+     * @return Il numero di elementi sostituiti
+     */
+    public synchronized int scarica(Function<? super E, ? extends Segnaposto<E>> segnaposto) {
+        Object[][] correnti = blocchi;
+        int sostituiti = 0;
+        for (int posizione = 0; posizione < dimensione; posizione++) {
+            int blocco = blocco(posizione);
+            int offset = offset(posizione, blocco);
+            Object elemento = correnti[blocco][offset];
+            if (elemento instanceof Segnaposto) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Segnaposto<E> sostituto = segnaposto.apply((E) elemento);
+            if (sostituto != null) {
+                correnti[blocco][offset] = sostituto;
+                sostituiti++;
+            }
+        }
+        return sostituiti;
+    }
+
+    /**
+     * Restituisce l'elemento memorizzato, risolvendo un eventuale segnaposto.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> E risolvi(Object memorizzato) {
+        return memorizzato instanceof Segnaposto ? ((Segnaposto<E>) memorizzato).carica() : (E) memorizzato;
+    }
+
+    /** Indice del blocco che contiene una posizione */
+    static int blocco(int posizione) {
+        return 31 - Integer.numberOfLeadingZeros((posizione >>> BIT_PRIMO_BLOCCO) + 1);
+    }
+
+    /** Offset di una posizione all'interno del suo blocco */
+    static int offset(int posizione, int blocco) {
+        return posizione + (1 << BIT_PRIMO_BLOCCO) - (1 << (blocco + BIT_PRIMO_BLOCCO));
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackhub.collezioni;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Classe che rappresenta una pagina di una collezione letta con un cursore.
+ *
+ * @param <E> Il tipo degli elementi
+ */
+public class Pagina<E> {
+
+    /** Elementi della pagina */
+    private final List<E> elementi;
+
+    /** Cursore da cui leggere la pagina successiva */
+    private final Cursore successivo;
+
+    /** true se al momento della lettura c'erano altri elementi dopo la pagina */
+    private final boolean altriElementi;
+
+    private Pagina(List<E> elementi, Cursore successivo, boolean altriElementi) {
+        this.elementi = elementi;
+        this.successivo = successivo;
+        this.altriElementi = altriElementi;
+    }
+
+    /**
+     * Estrae una pagina da un'istantanea di una collezione.
+     *
+     * Senza filtro la pagina e' una sotto-vista dell'istantanea (nessuna copia, costo
+     * O(dimensione della pagina)); con il filtro gli elementi scartati vengono scorsi
+     * e contribuiscono al costo.
+     *
+     * @param istantanea Gli elementi, in un ordine stabile (es. una VistaLista)
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di elementi della pagina
+     * @param filtro     Il filtro sugli elementi, null per nessun filtro
+     * @param <E>        Il tipo degli elementi
+     * @return La pagina
+     * @throws IllegalArgumentException se la dimensione non e' positiva
+     */
+    public static <E> Pagina<E> estrai(List<E> istantanea, Cursore cursore, int dimensione,
+                                       Predicate<? super E> filtro) {
+        if (dimensione <= 0) {
+            throw new IllegalArgumentException("La dimensione della pagina deve essere positiva");
+        }
+        int totale = istantanea.size();
+        int inizio = Math.min(cursore == null ? 0 : cursore.getPosizione(), totale);
+        if (filtro == null) {
+            int fine = (int) Math.min((long) inizio + dimensione, totale);
+            return new Pagina<>(Collections.unmodifiableList(istantanea.subList(inizio, fine)),
+                Cursore.di(fine), fine < totale);
+        }
+        List<E> selezionati = new ArrayList<>(Math.min(dimensione, totale - inizio));
+        int posizione = inizio;
+        while (posizione < totale && selezionati.size() < dimensione) {
+            E elemento = istantanea.get(posizione++);
+            if (filtro.test(elemento)) {
+                selezionati.add(elemento);
+            }
+        }
+        return new Pagina<>(Collections.unmodifiableList(selezionati), Cursore.di(posizione), posizione < totale);
+    }
+
+    // ==================== GETTER ====================
+
+    public List<E> getElementi() {
+        return elementi;
+    }
+
+    /**
+     * Restituisce il cursore da cui leggere la pagina successiva.
+     * E' sempre presente: dopo l'ultima pagina punta alla fine della collezione
+     * e permette di leggere in seguito solo gli elementi aggiunti.
+     *
+     * @return Il cursore successivo
+     */
+    public Cursore getSuccessivo() {
+        return successivo;
+    }
+
+    /**
+     * Indica se al momento della lettura c'erano altri elementi dopo questa pagina.
+     *
+     * @return true se esistono altre pagine
+     */
+    public boolean haSuccessiva() {
+        return altriElementi;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hackhub.collezioni;
+
+/**
+ * Interfaccia per un elemento di una ListaSoloAggiunta spostato fuori memoria
+ * (ad esempio in un archivio su disco).
+ *
+ * Il segnaposto occupa la posizione dell'elemento: le viste lo risolvono
+ * con carica() quando l'elemento viene letto, quindi chi scorre la lista
+ * vede sempre gli elementi e mai il segnaposto.
+ *
+ * @param <E> Il tipo dell'elemento
+ */
+@FunctionalInterface
+public interface Segnaposto<E> {
+
+    /**
+     * Carica l'elemento rappresentato dal segnaposto.
+     *
+     * @return L'elemento
+     */
+    E carica();
+}
@@ -0,0 +1,89 @@
+package com.hackhub.collezioni;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Istantanea immutabile di una ListaSoloAggiunta.
+ *
+ * Condivide i blocchi della lista senza copiarli e contiene sempre gli stessi
+ * elementi: le aggiunte successive non sono visibili e non causano
+ * ConcurrentModificationException. Ogni tentativo di modifica lancia
+ * UnsupportedOperationException. Gli elementi spostati fuori memoria vengono
+ * caricati dal loro Segnaposto quando sono letti.
+ *
+ * @param <E> Il tipo degli elementi
+ */
+public class VistaLista<E> extends AbstractList<E> implements RandomAccess {
+
+    /** Blocchi condivisi con la lista */
+    private final Object[][] blocchi;
+
+    /** Numero di elementi visibili */
+    private final int dimensione;
+
+    VistaLista(Object[][] blocchi, int dimensione) {
+        this.blocchi = blocchi;
+        this.dimensione = dimensione;
+    }
+
+    // ==================== GETTER ====================
+
+    @Override
+    public int size() {
+        return dimensione;
+    }
+
+    @Override
+    public E get(int indice) {
+        if (indice < 0 || indice >= dimensione) {
+            throw new IndexOutOfBoundsException("Indice " + indice + " fuori dalla vista di " + dimensione + " elementi");
+        }
+        int blocco = ListaSoloAggiunta.blocco(indice);
+        return ListaSoloAggiunta.risolvi(blocchi[blocco][ListaSoloAggiunta.offset(indice, blocco)]);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Scorre gli elementi blocco per blocco, senza ricalcolare la posizione di ciascuno.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int posizione;
+            private int blocco;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return posizione < dimensione;
+            }
+
+            @Override
+            public E next() {
+                if (posizione >= dimensione) {
+                    throw new NoSuchElementException();
+                }
+                Object[] corrente = blocchi[blocco];
+                E elemento = ListaSoloAggiunta.risolvi(corrente[offset++]);
+                posizione++;
+                if (offset == corrente.length) {
+                    blocco++;
+                    offset = 0;
+                }
+                return elemento;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> azione) {
+        for (E elemento : this) {
+            azione.accept(elemento);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hackhub.concorrenza;
+
+import com.hackhub.model.EntitaVersionata;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Funzioni di supporto per gli aggiornamenti ottimistici delle entita' versionate.
+ *
+ * Due modalita':
+ * - applica(): la versione arriva dal chiamante (es. il modulo di modifica di un
+ *   organizzatore letto in precedenza); se nel frattempo l'entita' e' cambiata
+ *   viene lanciato un conflitto, senza sovrascrivere la modifica altrui
+ * - aggiorna(): legge l'entita', calcola la modifica e la applica condizionalmente,
+ *   ripetendo su conflitto con attesa esponenziale fino a un numero massimo di tentativi
+ *
+ * Nessuna delle due blocca i lettori o gli altri scrittori: si contende solo
+ * quando due scritture toccano davvero la stessa entita'.
+ *
+ * Esempio: due organizzatori aumentano il premio dello stesso hackathon
+ * <pre>
+ * AggiornamentoOttimistico.aggiorna(hackathon, h -&gt; {
+ *     double nuovo = h.getPremio() + 500;
+ *     return x -&gt; x.setPremio(nuovo);
+ * });
+ * </pre>
+ */
+public final class AggiornamentoOttimistico {
+
+    /** Numero di tentativi usato da aggiorna() se non specificato */
+    public static final int TENTATIVI_PREDEFINITI = 8;
+
+    /** Attesa massima tra due tentativi */
+    private static final long ATTESA_MASSIMA_NANOS = 1_000_000L;
+
+    private AggiornamentoOttimistico() {
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Applica una modifica solo se l'entita' e' ancora alla versione indicata.
+     *
+     * @param entita         L'entita' da modificare
+     * @param versioneAttesa La versione letta dal chiamante
+     * @param modifica       La modifica da applicare
+     * @param <E>            Il tipo dell'entita'
+     * @return La nuova versione dell'entita'
+     * @throws ConflittoVersioneException se la versione e' cambiata
+     */
+    public static <E extends EntitaVersionata> long applica(E entita, long versioneAttesa,
+                                                            Consumer<? super E> modifica) {
+        if (!entita.aggiornaSeVersione(versioneAttesa, () -> modifica.accept(entita))) {
+            throw new ConflittoVersioneException(entita, versioneAttesa, entita.getVersione(), 1);
+        }
+        return versioneAttesa + 2;
+    }
+
+    /**
+     * Legge l'entita', calcola la modifica e la applica, ripetendo su conflitto.
+     *
+     * @param entita    L'entita' da modificare
+     * @param pianifica Funzione che legge l'entita' e restituisce la modifica da applicare,
+     *                  oppure null se non c'e' nulla da modificare; deve essere priva di
+     *                  effetti collaterali, perche' puo' essere invocata piu' volte
+     * @param <E>       Il tipo dell'entita'
+     * @return La versione dell'entita' dopo la modifica
+     * @throws ConflittoVersioneException se tutti i tentativi trovano un conflitto
+     */
+    public static <E extends EntitaVersionata> long aggiorna(E entita,
+                                                             Function<? super E, ? extends Consumer<? super E>> pianifica) {
+        return aggiorna(entita, TENTATIVI_PREDEFINITI, pianifica);
+    }
+
+    /**
+     * Legge l'entita', calcola la modifica e la applica, ripetendo su conflitto.
+     *
+     * @param entita           L'entita' da modificare
+     * @param tentativiMassimi Il numero massimo di tentativi
+     * @param pianifica        Funzione che legge l'entita' e restituisce la modifica da applicare,
+     *                         oppure null se non c'e' nulla da modificare
+     * @param <E>              Il tipo dell'entita'
+     * @return La versione dell'entita' dopo la modifica
+     * @throws IllegalArgumentException se tentativiMassimi non e' positivo
+     * @throws ConflittoVersioneException se tutti i tentativi trovano un conflitto
+     */
+    public static <E extends EntitaVersionata> long aggiorna(E entita, int tentativiMassimi,
+                                                             Function<? super E, ? extends Consumer<? super E>> pianifica) {
+        if (tentativiMassimi <= 0) {
+            throw new IllegalArgumentException("Il numero di tentativi deve essere positivo");
+        }
+        long versione = 0;
+        for (int tentativo = 1; tentativo <= tentativiMassimi; tentativo++) {
+            versione = entita.getVersione();
+            Consumer<? super E> modifica = pianifica.apply(entita);
+            if (modifica == null) {
+                return versione;
+            }
+            if (entita.aggiornaSeVersione(versione, () -> modifica.accept(entita))) {
+                return versione + 2;
+            }
+            attendi(tentativo);
+        }
+        throw new ConflittoVersioneException(entita, versione, entita.getVersione(), tentativiMassimi);
+    }
+
+    /**
+     * Attesa prima del prossimo tentativo: il primo riprova subito,
+     * i successivi attendono un tempo casuale con tetto esponenziale.
+     */
+    private static void attendi(int tentativo) {
+        if (tentativo == 1) {
+            Thread.onSpinWait();
+            return;
+        }
+        long tetto = Math.min(ATTESA_MASSIMA_NANOS, 1_000L << Math.min(tentativo, 20));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(tetto / 2, tetto + 1));
+    }
+}
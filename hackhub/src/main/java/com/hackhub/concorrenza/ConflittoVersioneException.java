@@ -0,0 +1,59 @@
+package com.hackhub.concorrenza;
+
+/**
+ * Eccezione lanciata quando un aggiornamento condizionale trova l'entita'
+ * modificata da qualcun altro.
+ *
+ * Estende IllegalStateException, come le altre violazioni di precondizione
+ * del modello, e riporta la versione trovata: il chiamante puo' rileggere
+ * l'entita' e decidere se riproporre la modifica.
+ */
+public class ConflittoVersioneException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Entita' in conflitto */
+    private final transient Object entita;
+
+    /** Versione su cui si basava la modifica */
+    private final long versioneAttesa;
+
+    /** Versione trovata al momento dell'ultimo tentativo */
+    private final long versioneCorrente;
+
+    /** Numero di tentativi eseguiti */
+    private final int tentativi;
+
+    /**
+     * Costruttore della classe ConflittoVersioneException.
+     *
+     * @param entita           L'entita' in conflitto
+     * @param versioneAttesa   La versione su cui si basava la modifica
+     * @param versioneCorrente La versione trovata
+     * @param tentativi        Il numero di tentativi eseguiti
+     */
+    public ConflittoVersioneException(Object entita, long versioneAttesa, long versioneCorrente, int tentativi) {
+        super("Conflitto di versione su " + entita + ": attesa " + versioneAttesa
+            + ", trovata " + versioneCorrente + " dopo " + tentativi + " tentativi");
+        this.entita = entita;
+        this.versioneAttesa = versioneAttesa;
+        this.versioneCorrente = versioneCorrente;
+        this.tentativi = tentativi;
+    }
+
+    public Object getEntita() {
+        return entita;
+    }
+
+    public long getVersioneAttesa() {
+        return versioneAttesa;
+    }
+
+    public long getVersioneCorrente() {
+        return versioneCorrente;
+    }
+
+    public int getTentativi() {
+        return tentativi;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.model.Invito;
+import com.hackhub.model.Utente;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR dell'accettazione di un invito (Utente.accettaInvito).
+ */
+@Name("com.hackhub.AccettazioneInvito")
+@Label("Accettazione invito")
+@Description("Accettazione di un invito con rifiuto automatico degli altri inviti pendenti")
+public class AccettazioneInvitoEvento extends EventoDominio {
+
+    @Label("Id utente")
+    private long utenteId;
+
+    @Label("Id invito")
+    private long invitoId;
+
+    @Label("Id team")
+    private long teamId;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param utente L'utente che accetta
+     * @param invito L'invito
+     * @param errore L'eccezione lanciata, o null
+     */
+    public void concludi(Utente utente, Invito invito, RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            utenteId = id(utente.getId());
+            invitoId = invito == null ? -1 : id(invito.getId());
+            teamId = invito == null || invito.getTeam() == null ? -1 : id(invito.getTeam().getId());
+            commit();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hackhub.diagnostica;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Analizzatore di una registrazione JFR con gli eventi di dominio di HackHub.
+ *
+ * Per ogni tipo di operazione riassume numero di eventi, esiti e durate, e
+ * ordina le operazioni per tempo complessivo (le piu' calde in alto).
+ * L'allocazione per operazione e' stimata dai campioni jdk.ObjectAllocationSample:
+ * un campione viene attribuito all'operazione piu' interna in corso sullo stesso
+ * thread in quell'istante. Sono attribuiti solo i campioni che cadono dentro
+ * eventi registrati, quindi con il profilo di produzione (soglia 10 ms) la stima
+ * riguarda le sole operazioni lente.
+ *
+ * Uso: AnalizzatoreJfr registrazione.jfr [righe]
+ */
+public class AnalizzatoreJfr {
+
+    /** Prefisso dei nomi degli eventi di dominio */
+    public static final String PREFISSO = "com.hackhub.";
+
+    /** Nome dell'evento JFR dei campioni di allocazione */
+    private static final String CAMPIONE_ALLOCAZIONE = "jdk.ObjectAllocationSample";
+
+    /** Eventi precedenti esaminati per trovare un'operazione che contiene un campione */
+    private static final int ANNIDAMENTO_MASSIMO = 8;
+
+    /** Statistiche per tipo di evento, in ordine di prima occorrenza */
+    private final Map<String, StatisticaOperazione> statistiche;
+
+    /** Byte di tutti i campioni di allocazione */
+    private long byteCampionati;
+
+    /** Byte dei campioni attribuiti a un'operazione */
+    private long byteAttribuiti;
+
+    public AnalizzatoreJfr() {
+        this.statistiche = new LinkedHashMap<>();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Uso: AnalizzatoreJfr registrazione.jfr [righe]");
+            return;
+        }
+        int righe = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        AnalizzatoreJfr analizzatore = new AnalizzatoreJfr();
+        analizzatore.analizza(Path.of(args[0]));
+        System.out.print(analizzatore.riepilogo(righe));
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce le statistiche ordinate per tempo complessivo decrescente.
+     *
+     * @return Le statistiche delle operazioni
+     */
+    public List<StatisticaOperazione> getOperazioniPiuCalde() {
+        List<StatisticaOperazione> ordinate = new ArrayList<>(statistiche.values());
+        ordinate.sort(Comparator.comparingLong(StatisticaOperazione::getDurataTotale).reversed());
+        return ordinate;
+    }
+
+    public long getByteCampionati() {
+        return byteCampionati;
+    }
+
+    public long getByteAttribuiti() {
+        return byteAttribuiti;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Legge una registrazione e aggiunge i suoi eventi alle statistiche.
+     *
+     * @param registrazione Il file .jfr
+     * @throws IOException se il file non puo' essere letto
+     */
+    public void analizza(Path registrazione) throws IOException {
+        Map<Long, List<Intervallo>> operazioniPerThread = new HashMap<>();
+        List<long[]> campioni = new ArrayList<>();
+        try (RecordingFile file = new RecordingFile(registrazione)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent evento = file.readEvent();
+                String nome = evento.getEventType().getName();
+                if (nome.startsWith(PREFISSO)) {
+                    StatisticaOperazione statistica = statistiche.computeIfAbsent(
+                        nome.substring(PREFISSO.length()), StatisticaOperazione::new);
+                    statistica.registra(evento.getDuration().toNanos(),
+                        evento.hasField("esito") ? evento.getString("esito") : null);
+                    RecordedThread thread = evento.getThread();
+                    if (thread != null) {
+                        operazioniPerThread.computeIfAbsent(thread.getJavaThreadId(), t -> new ArrayList<>())
+                            .add(new Intervallo(nanos(evento.getStartTime()), nanos(evento.getEndTime()), statistica));
+                    }
+                } else if (nome.equals(CAMPIONE_ALLOCAZIONE)) {
+                    RecordedThread thread = evento.getThread();
+                    long peso = evento.getLong("weight");
+                    byteCampionati += peso;
+                    if (thread != null) {
+                        campioni.add(new long[] {thread.getJavaThreadId(), nanos(evento.getStartTime()), peso});
+                    }
+                }
+            }
+        }
+        attribuisci(operazioniPerThread, campioni);
+    }
+
+    /**
+     * Restituisce il riepilogo in forma di tabella.
+     *
+     * @param righe Il numero massimo di operazioni da elencare
+     * @return Il riepilogo
+     */
+    public String riepilogo(int righe) {
+        StringBuilder testo = new StringBuilder();
+        testo.append(String.format(Locale.ROOT, "%-24s %8s %8s %8s %6s %10s %8s %8s %8s %10s %9s%n",
+            "operazione", "eventi", "ok", "rifiuti", "errori", "totale ms", "media ms", "p99 ms", "max ms",
+            "alloc KB", "byte/op"));
+        List<StatisticaOperazione> ordinate = getOperazioniPiuCalde();
+        for (StatisticaOperazione statistica : ordinate.subList(0, Math.min(righe, ordinate.size()))) {
+            testo.append(String.format(Locale.ROOT, "%-24s %8d %8d %8d %6d %10.1f %8.3f %8.3f %8.3f %10d %9.0f%n",
+                statistica.getNome(), statistica.getConteggio(), statistica.getCompletate(),
+                statistica.getRifiutate(), statistica.getErrori(), statistica.getDurataTotale() / 1e6,
+                statistica.getDurataTotale() / 1e6 / Math.max(1, statistica.getConteggio()),
+                statistica.getPercentile(99) / 1e6, statistica.getDurataMassima() / 1e6,
+                statistica.getByteAllocati() / 1024, statistica.getBytePerOperazione()));
+        }
+        testo.append(String.format(Locale.ROOT, "Allocazione campionata %d KB, di cui attribuita alle operazioni %d KB%n",
+            byteCampionati / 1024, byteAttribuiti / 1024));
+        return testo.toString();
+    }
+
+    /**
+     * Attribuisce ogni campione all'operazione piu' interna che lo contiene sullo stesso thread.
+     */
+    private void attribuisci(Map<Long, List<Intervallo>> operazioniPerThread, List<long[]> campioni) {
+        Map<Long, Intervallo[]> ordinate = new HashMap<>();
+        Map<Long, long[]> inizi = new HashMap<>();
+        for (Map.Entry<Long, List<Intervallo>> voce : operazioniPerThread.entrySet()) {
+            Intervallo[] intervalli = voce.getValue().toArray(new Intervallo[0]);
+            Arrays.sort(intervalli, Comparator.comparingLong(i -> i.inizio));
+            long[] iniziThread = new long[intervalli.length];
+            for (int i = 0; i < intervalli.length; i++) {
+                iniziThread[i] = intervalli[i].inizio;
+            }
+            ordinate.put(voce.getKey(), intervalli);
+            inizi.put(voce.getKey(), iniziThread);
+        }
+        for (long[] campione : campioni) {
+            Intervallo[] intervalli = ordinate.get(campione[0]);
+            if (intervalli == null) {
+                continue;
+            }
+            int posizione = Arrays.binarySearch(inizi.get(campione[0]), campione[1]);
+            // Ultimo intervallo iniziato non dopo il campione
+            int ultimo = posizione >= 0 ? posizione : -posizione - 2;
+            for (int i = ultimo; i >= 0 && i > ultimo - ANNIDAMENTO_MASSIMO; i--) {
+                if (intervalli[i].fine >= campione[1]) {
+                    intervalli[i].statistica.aggiungiAllocazione(campione[2]);
+                    byteAttribuiti += campione[2];
+                    break;
+                }
+            }
+        }
+    }
+
+    private static long nanos(Instant istante) {
+        return istante.getEpochSecond() * 1_000_000_000L + istante.getNano();
+    }
+
+    /**
+     * Durata di un evento di dominio su un thread.
+     */
+    private static final class Intervallo {
+        private final long inizio;
+        private final long fine;
+        private final StatisticaOperazione statistica;
+
+        private Intervallo(long inizio, long fine, StatisticaOperazione statistica) {
+            this.inizio = inizio;
+            this.fine = fine;
+            this.statistica = statistica;
+        }
+    }
+}
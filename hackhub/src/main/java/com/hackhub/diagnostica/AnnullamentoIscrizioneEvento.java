@@ -0,0 +1,47 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Iscrizione;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR dell'annullamento di un'iscrizione (Iscrizione.annulla).
+ */
+@Name("com.hackhub.AnnullamentoIscrizione")
+@Label("Annullamento iscrizione")
+@Description("Annullamento dell'iscrizione di un team a un hackathon")
+public class AnnullamentoIscrizioneEvento extends EventoDominio {
+
+    @Label("Id iscrizione")
+    private long iscrizioneId;
+
+    @Label("Id team")
+    private long teamId;
+
+    @Label("Id hackathon")
+    private long hackathonId;
+
+    @Label("Stato precedente")
+    private String statoPrecedente;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param iscrizione      L'iscrizione annullata
+     * @param statoPrecedente Lo stato prima dell'annullamento
+     * @param errore          L'eccezione lanciata, o null
+     */
+    public void concludi(Iscrizione iscrizione, StatoIscrizione statoPrecedente, RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            iscrizioneId = id(iscrizione.getId());
+            teamId = iscrizione.getTeam() == null ? -1 : id(iscrizione.getTeam().getId());
+            hackathonId = iscrizione.getHackathon() == null ? -1 : id(iscrizione.getHackathon().getId());
+            this.statoPrecedente = statoPrecedente == null ? null : statoPrecedente.name();
+            commit();
+        }
+    }
+}
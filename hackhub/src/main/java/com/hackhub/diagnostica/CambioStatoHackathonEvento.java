@@ -0,0 +1,46 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.model.Hackathon;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR del cambio di stato di un hackathon (Hackathon.setStato),
+ * comprese le reazioni sincrone degli ascoltatori del modello.
+ */
+@Name("com.hackhub.CambioStatoHackathon")
+@Label("Cambio stato hackathon")
+@Description("Passaggio di un hackathon da uno stato all'altro")
+public class CambioStatoHackathonEvento extends EventoDominio {
+
+    @Label("Id hackathon")
+    private long hackathonId;
+
+    @Label("Stato precedente")
+    private String statoPrecedente;
+
+    @Label("Stato nuovo")
+    private String statoNuovo;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param hackathon       L'hackathon
+     * @param statoPrecedente Lo stato prima del cambio
+     * @param statoNuovo      Lo stato dopo il cambio
+     * @param errore          L'eccezione lanciata, o null
+     */
+    public void concludi(Hackathon hackathon, StatoHackathon statoPrecedente, StatoHackathon statoNuovo,
+                         RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            hackathonId = id(hackathon.getId());
+            this.statoPrecedente = statoPrecedente == null ? null : statoPrecedente.name();
+            this.statoNuovo = statoNuovo == null ? null : statoNuovo.name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR della creazione di un team (Utente.creaTeam).
+ */
+@Name("com.hackhub.CreazioneTeam")
+@Label("Creazione team")
+@Description("Creazione di un team da parte di un utente")
+public class CreazioneTeamEvento extends EventoDominio {
+
+    @Label("Id utente")
+    private long utenteId;
+
+    @Label("Id team")
+    private long teamId;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param utente Il fondatore
+     * @param team   Il team creato, o null se l'operazione e' fallita
+     * @param errore L'eccezione lanciata, o null
+     */
+    public void concludi(Utente utente, Team team, RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            utenteId = id(utente.getId());
+            teamId = team == null ? -1 : id(team.getId());
+            commit();
+        }
+    }
+}
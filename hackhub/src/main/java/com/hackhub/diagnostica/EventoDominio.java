@@ -0,0 +1,97 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.eventi.GestoreEventi;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Classe base degli eventi JFR che registrano le operazioni di dominio.
+ *
+ * Uso tipico in un metodo del modello:
+ * <pre>
+ * InvitoUtenteEvento evento = new InvitoUtenteEvento();
+ * evento.begin();
+ * RuntimeException errore = null;
+ * try {
+ *     ...
+ * } catch (RuntimeException e) {
+ *     errore = e;
+ *     throw e;
+ * } finally {
+ *     evento.concludi(..., errore);
+ * }
+ * </pre>
+ * dove concludi() chiama end() e, solo se shouldCommit(), imposta i campi e chiama commit().
+ * Le chiamate a end(), shouldCommit() e commit() stanno nelle sottoclassi: JFR
+ * strumenta quei metodi nella classe concreta dell'evento e non li accetta nella classe base.
+ *
+ * Se la registrazione non e' attiva begin() e end() non fanno nulla, l'oggetto
+ * non esce dal metodo e il JIT lo elimina: il costo e' nullo. Gli id e l'esito
+ * vengono letti solo se l'evento supera la soglia e viene registrato.
+ *
+ * Le operazioni rieseguite con gli eventi sospesi (caricamento, replica) non
+ * vengono registrate: non sono richieste degli utenti.
+ */
+@Category({"HackHub", "Operazioni di dominio"})
+@StackTrace(false)
+@Threshold("10 ms")
+public abstract class EventoDominio extends Event {
+
+    /** Esito di un'operazione conclusa normalmente */
+    public static final String COMPLETATA = "COMPLETATA";
+
+    /** Esito di un'operazione rifiutata dalle regole del modello */
+    public static final String RIFIUTATA = "RIFIUTATA";
+
+    /** Esito di un'operazione interrotta da un errore inatteso */
+    public static final String ERRORE = "ERRORE";
+
+    // Campi protected: JFR non registra i campi private delle superclassi dell'evento
+
+    @Label("Esito")
+    @Description("COMPLETATA, RIFIUTATA (regola del modello) o ERRORE")
+    protected String esito;
+
+    @Label("Eccezione")
+    @Description("Classe dell'eccezione lanciata, se l'operazione non e' completata")
+    protected String eccezione;
+
+    /**
+     * Indica se l'operazione in corso e' una riesecuzione con gli eventi sospesi
+     * (caricamento, replica), che non va registrata.
+     *
+     * @return true se l'evento non va registrato
+     */
+    protected static boolean inRiesecuzione() {
+        return GestoreEventi.isSospeso();
+    }
+
+    /**
+     * Imposta esito ed eccezione a partire da come si e' conclusa l'operazione.
+     *
+     * @param errore L'eccezione lanciata dall'operazione, o null
+     */
+    protected final void impostaEsito(RuntimeException errore) {
+        if (errore == null) {
+            esito = COMPLETATA;
+        } else {
+            esito = errore instanceof IllegalStateException || errore instanceof IllegalArgumentException
+                ? RIFIUTATA : ERRORE;
+            eccezione = errore.getClass().getName();
+        }
+    }
+
+    /**
+     * Converte un id del modello in un campo dell'evento.
+     *
+     * @param id L'id, eventualmente null
+     * @return L'id, o -1 se assente
+     */
+    protected static long id(Long id) {
+        return id == null ? -1 : id;
+    }
+}
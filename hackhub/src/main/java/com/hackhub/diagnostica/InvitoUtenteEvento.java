@@ -0,0 +1,51 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.model.Invito;
+import com.hackhub.model.Leader;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR dell'invito di un utente in un team (Leader.invitaUtente).
+ */
+@Name("com.hackhub.InvitoUtente")
+@Label("Invito utente")
+@Description("Invito di un utente da parte del leader di un team")
+public class InvitoUtenteEvento extends EventoDominio {
+
+    @Label("Id leader")
+    private long leaderId;
+
+    @Label("Id team")
+    private long teamId;
+
+    @Label("Id destinatario")
+    private long destinatarioId;
+
+    @Label("Id invito")
+    private long invitoId;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param leader       Il leader che invita
+     * @param destinatario L'utente invitato
+     * @param invito       L'invito creato, o null se l'operazione e' fallita
+     * @param errore       L'eccezione lanciata, o null
+     */
+    public void concludi(Leader leader, Utente destinatario, Invito invito, RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            Team team = leader.getTeam();
+            leaderId = id(leader.getId());
+            teamId = team == null ? -1 : id(team.getId());
+            destinatarioId = destinatario == null ? -1 : id(destinatario.getId());
+            invitoId = invito == null ? -1 : id(invito.getId());
+            commit();
+        }
+    }
+}
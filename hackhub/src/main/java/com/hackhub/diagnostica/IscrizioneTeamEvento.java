@@ -0,0 +1,44 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR dell'iscrizione di un team a un hackathon (Team.aggiungiIscrizione),
+ * compreso il controllo delle sovrapposizioni di date se l'indice degli impegni e' attivo.
+ */
+@Name("com.hackhub.IscrizioneTeam")
+@Label("Iscrizione team")
+@Description("Iscrizione di un team a un hackathon")
+public class IscrizioneTeamEvento extends EventoDominio {
+
+    @Label("Id team")
+    private long teamId;
+
+    @Label("Id hackathon")
+    private long hackathonId;
+
+    @Label("Id iscrizione")
+    private long iscrizioneId;
+
+    /**
+     * Conclude la misura e registra l'evento se necessario.
+     *
+     * @param team       Il team
+     * @param iscrizione L'iscrizione
+     * @param errore     L'eccezione lanciata, o null
+     */
+    public void concludi(Team team, Iscrizione iscrizione, RuntimeException errore) {
+        end();
+        if (shouldCommit() && !inRiesecuzione()) {
+            impostaEsito(errore);
+            teamId = id(team.getId());
+            hackathonId = iscrizione.getHackathon() == null ? -1 : id(iscrizione.getHackathon().getId());
+            iscrizioneId = id(iscrizione.getId());
+            commit();
+        }
+    }
+}
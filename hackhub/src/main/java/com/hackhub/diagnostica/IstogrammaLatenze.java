@@ -0,0 +1,130 @@
+package com.hackhub.diagnostica;
+
+/**
+ * Istogramma di latenze in nanosecondi a secchi log-lineari.
+ *
+ * Ogni potenza di due e' divisa in 16 secchi uguali, quindi un percentile e'
+ * restituito con un errore relativo inferiore al 7% qualunque sia l'ordine di
+ * grandezza, in memoria costante (976 contatori). La registrazione costa
+ * qualche operazione sui bit e non alloca.
+ *
+ * Non e' thread-safe: ogni thread registra nel proprio istogramma e gli
+ * istogrammi vengono uniti alla fine.
+ */
+public class IstogrammaLatenze {
+
+    /** Bit della parte lineare di ogni potenza di due */
+    private static final int BIT_SECCHI = 4;
+
+    /** Secchi per potenza di due */
+    private static final int SECCHI = 1 << BIT_SECCHI;
+
+    /** Contatori per secchio */
+    private final long[] conteggi;
+
+    /** Numero di valori registrati */
+    private long conteggio;
+
+    /** Somma dei valori registrati */
+    private long somma;
+
+    /** Valore massimo registrato */
+    private long massimo;
+
+    public IstogrammaLatenze() {
+        this.conteggi = new long[(64 - BIT_SECCHI) * SECCHI + SECCHI];
+    }
+
+    // ==================== GETTER ====================
+
+    public long getConteggio() {
+        return conteggio;
+    }
+
+    public long getMassimo() {
+        return massimo;
+    }
+
+    /**
+     * Restituisce la media dei valori registrati.
+     *
+     * @return La media in nanosecondi, 0 se l'istogramma e' vuoto
+     */
+    public double getMedia() {
+        return conteggio == 0 ? 0 : (double) somma / conteggio;
+    }
+
+    /**
+     * Restituisce un percentile, approssimato per eccesso al limite superiore del secchio.
+     *
+     * @param percentuale Il percentile richiesto, tra 0 e 100
+     * @return Il valore in nanosecondi, 0 se l'istogramma e' vuoto
+     * @throws IllegalArgumentException se la percentuale e' fuori da [0, 100]
+     */
+    public long percentile(double percentuale) {
+        if (percentuale < 0 || percentuale > 100) {
+            throw new IllegalArgumentException("Percentuale fuori intervallo: " + percentuale);
+        }
+        if (conteggio == 0) {
+            return 0;
+        }
+        long soglia = Math.max(1, (long) Math.ceil(percentuale / 100 * conteggio));
+        long cumulato = 0;
+        for (int i = 0; i < conteggi.length; i++) {
+            cumulato += conteggi[i];
+            if (cumulato >= soglia) {
+                return Math.min(limiteSuperiore(i), massimo);
+            }
+        }
+        return massimo;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra un valore.
+     *
+     * @param nanos Il valore in nanosecondi; i valori negativi contano come 0
+     */
+    public void registra(long nanos) {
+        long valore = Math.max(0, nanos);
+        conteggi[secchio(valore)]++;
+        conteggio++;
+        somma += valore;
+        if (valore > massimo) {
+            massimo = valore;
+        }
+    }
+
+    /**
+     * Aggiunge a questo istogramma i valori di un altro.
+     *
+     * @param altro L'istogramma da unire
+     */
+    public void unisci(IstogrammaLatenze altro) {
+        for (int i = 0; i < conteggi.length; i++) {
+            conteggi[i] += altro.conteggi[i];
+        }
+        conteggio += altro.conteggio;
+        somma += altro.somma;
+        massimo = Math.max(massimo, altro.massimo);
+    }
+
+    private static int secchio(long valore) {
+        if (valore < SECCHI) {
+            return (int) valore;
+        }
+        int esponente = 63 - Long.numberOfLeadingZeros(valore);
+        int lineare = (int) (valore >>> (esponente - BIT_SECCHI)) & (SECCHI - 1);
+        return (esponente - BIT_SECCHI + 1) * SECCHI + lineare;
+    }
+
+    private static long limiteSuperiore(int secchio) {
+        if (secchio < SECCHI) {
+            return secchio;
+        }
+        int esponente = secchio / SECCHI + BIT_SECCHI - 1;
+        long passo = 1L << (esponente - BIT_SECCHI);
+        return (SECCHI + secchio % SECCHI) * passo + passo - 1;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hackhub.diagnostica;
+
+import com.hackhub.enums.ProfiloJfr;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Classe di utilita' per avviare una registrazione JFR con un profilo HackHub.
+ *
+ * Le impostazioni del profilo (soglie, stack trace, campionamento delle
+ * allocazioni) si sovrappongono a quelle predefinite della JVM, cosi' la
+ * registrazione contiene anche CPU, GC e lock. Lo stesso risultato si ottiene
+ * dalla riga di comando con
+ * -XX:StartFlightRecording:settings=default,settings=percorso/produzione.jfc
+ */
+public final class RegistrazioneJfr {
+
+    private RegistrazioneJfr() {
+    }
+
+    /**
+     * Restituisce le impostazioni di un profilo, sovrapposte a quelle predefinite.
+     *
+     * @param profilo Il profilo
+     * @return Le impostazioni nel formato evento#impostazione = valore
+     * @throws IOException    se il profilo non puo' essere letto
+     * @throws ParseException se il profilo non e' un file .jfc valido
+     */
+    public static Map<String, String> impostazioni(ProfiloJfr profilo) throws IOException, ParseException {
+        Map<String, String> impostazioni = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        String risorsa = profilo.name().toLowerCase(Locale.ROOT) + ".jfc";
+        try (InputStream ingresso = RegistrazioneJfr.class.getResourceAsStream(risorsa)) {
+            if (ingresso == null) {
+                throw new IOException("Profilo JFR non trovato: " + risorsa);
+            }
+            try (Reader lettore = new InputStreamReader(ingresso, StandardCharsets.UTF_8)) {
+                impostazioni.putAll(Configuration.create(lettore).getSettings());
+            }
+        }
+        return impostazioni;
+    }
+
+    /**
+     * Avvia una registrazione su disco con un profilo. La registrazione viene
+     * salvata alla chiusura della JVM, o prima con Recording.dump() o stop().
+     *
+     * @param profilo      Il profilo
+     * @param destinazione Il file .jfr di destinazione
+     * @return La registrazione avviata
+     * @throws IOException    se il profilo non puo' essere letto o la destinazione non e' scrivibile
+     * @throws ParseException se il profilo non e' un file .jfc valido
+     */
+    public static Recording avvia(ProfiloJfr profilo, Path destinazione) throws IOException, ParseException {
+        Recording registrazione = new Recording(impostazioni(profilo));
+        registrazione.setName("hackhub-" + profilo.name().toLowerCase(Locale.ROOT));
+        registrazione.setToDisk(true);
+        registrazione.setDestination(destinazione);
+        registrazione.setDumpOnExit(true);
+        registrazione.start();
+        return registrazione;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hackhub.diagnostica;
+
+/**
+ * Classe che riassume le occorrenze di un tipo di evento di dominio in una registrazione JFR.
+ */
+public class StatisticaOperazione {
+
+    /** Nome dell'evento, senza il prefisso com.hackhub. */
+    private final String nome;
+
+    /** Durate degli eventi */
+    private final IstogrammaLatenze durate;
+
+    /** Eventi completati */
+    private long completate;
+
+    /** Eventi rifiutati dal modello */
+    private long rifiutate;
+
+    /** Eventi conclusi con un errore inatteso */
+    private long errori;
+
+    /** Byte stimati dai campioni di allocazione caduti dentro gli eventi */
+    private long byteAllocati;
+
+    /**
+     * Costruttore della statistica.
+     *
+     * @param nome Il nome dell'evento
+     */
+    public StatisticaOperazione(String nome) {
+        this.nome = nome;
+        this.durate = new IstogrammaLatenze();
+    }
+
+    // ==================== GETTER ====================
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getConteggio() {
+        return durate.getConteggio();
+    }
+
+    public long getCompletate() {
+        return completate;
+    }
+
+    public long getRifiutate() {
+        return rifiutate;
+    }
+
+    public long getErrori() {
+        return errori;
+    }
+
+    public long getByteAllocati() {
+        return byteAllocati;
+    }
+
+    /**
+     * Restituisce il tempo complessivo speso nell'operazione.
+     *
+     * @return La somma delle durate in nanosecondi
+     */
+    public long getDurataTotale() {
+        return Math.round(durate.getMedia() * durate.getConteggio());
+    }
+
+    public long getDurataMassima() {
+        return durate.getMassimo();
+    }
+
+    /**
+     * Restituisce un percentile delle durate.
+     *
+     * @param percentuale Il percentile, tra 0 e 100
+     * @return La durata in nanosecondi
+     */
+    public long getPercentile(double percentuale) {
+        return durate.percentile(percentuale);
+    }
+
+    /**
+     * Restituisce i byte stimati per evento.
+     *
+     * @return I byte per evento, 0 se non ci sono eventi
+     */
+    public double getBytePerOperazione() {
+        return getConteggio() == 0 ? 0 : (double) byteAllocati / getConteggio();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra un evento.
+     *
+     * @param durataNanos La durata dell'evento
+     * @param esito       L'esito registrato nell'evento
+     */
+    void registra(long durataNanos, String esito) {
+        durate.registra(durataNanos);
+        if (EventoDominio.RIFIUTATA.equals(esito)) {
+            rifiutate++;
+        } else if (EventoDominio.ERRORE.equals(esito)) {
+            errori++;
+        } else {
+            completate++;
+        }
+    }
+
+    /**
+     * Attribuisce all'operazione il peso di un campione di allocazione.
+     *
+     * @param byteCampione I byte rappresentati dal campione
+     */
+    void aggiungiAllocazione(long byteCampione) {
+        byteAllocati += byteCampione;
+    }
+}
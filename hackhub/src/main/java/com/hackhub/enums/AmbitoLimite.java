@@ -0,0 +1,20 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta l'ambito a cui si applica una quota di operazioni.
+ *
+ * Per ogni operazione si possono configurare quote indipendenti per utente,
+ * per team e globali: l'operazione e' consentita solo se tutte le quote
+ * configurate hanno gettoni disponibili.
+ */
+public enum AmbitoLimite {
+
+    /** Quota per singolo utente */
+    UTENTE,
+
+    /** Quota per singolo team */
+    TEAM,
+
+    /** Quota condivisa da tutto il sistema */
+    GLOBALE
+}
@@ -0,0 +1,14 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta cosa fa MotoreRegole con le iscrizioni che violano il regolamento.
+ *
+ * - SEGNALA: la violazione viene registrata e tolta quando la regola torna rispettata
+ * - SQUALIFICA: l'iscrizione passa a SQUALIFICATA
+ */
+public enum AzioneRegole {
+
+    SEGNALA,
+
+    SQUALIFICA
+}
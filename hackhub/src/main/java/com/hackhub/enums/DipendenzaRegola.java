@@ -0,0 +1,24 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta i dati da cui dipende una regola del regolamento,
+ * per rivalutarla solo quando cambiano.
+ *
+ * - TEAM: membri e leader del team iscritto
+ * - SOTTOMISSIONI: le sottomissioni del team per l'hackathon
+ * - HACKATHON: date e limiti dell'hackathon
+ * - REGISTRAZIONI: le email registrate sulla piattaforma
+ * - ALTRE_ISCRIZIONI: i membri dei team delle altre iscrizioni all'hackathon
+ */
+public enum DipendenzaRegola {
+
+    TEAM,
+
+    SOTTOMISSIONI,
+
+    HACKATHON,
+
+    REGISTRAZIONI,
+
+    ALTRE_ISCRIZIONI
+}
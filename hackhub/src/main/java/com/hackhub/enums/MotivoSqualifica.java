@@ -0,0 +1,21 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta i motivi per cui un'iscrizione viene squalificata
+ * alla chiusura delle iscrizioni.
+ *
+ * - TEAM_TROPPO_NUMEROSO: il team supera maxMembriTeam dell'hackathon
+ * - TEAM_SENZA_LEADER: il team non ha un Leader
+ * - MEMBRO_IN_PIU_TEAM: un membro risulta iscritto all'hackathon con due team diversi
+ */
+public enum MotivoSqualifica {
+
+    /** Il team ha piu' membri di quelli consentiti */
+    TEAM_TROPPO_NUMEROSO,
+
+    /** Il team non ha un Leader */
+    TEAM_SENZA_LEADER,
+
+    /** Un membro del team e' iscritto anche con un altro team */
+    MEMBRO_IN_PIU_TEAM
+}
@@ -0,0 +1,17 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta i profili di impostazioni per la registrazione JFR
+ * degli eventi di dominio.
+ *
+ * Ogni profilo corrisponde a un file .jfc distribuito con l'applicazione, che
+ * si aggiunge alle impostazioni predefinite della JVM.
+ */
+public enum ProfiloJfr {
+
+    /** Solo le operazioni oltre 10 ms, senza stack trace: adatto a restare sempre attivo */
+    PRODUZIONE,
+
+    /** Tutte le operazioni, con stack trace e campionamento fitto delle allocazioni */
+    DIAGNOSI
+}
@@ -4,12 +4,15 @@ package com.hackhub.enums;
  * Enum che rappresenta i possibili stati di una call con un mentore.
  *
  * Il ciclo di vita di una call segue questo flusso tipico:
- * PROPOSTA -> CONFERMATA -> PRENOTATA -> COMPLETATA
+ * RICHIESTA -> PROPOSTA -> CONFERMATA -> PRENOTATA -> COMPLETATA
  *
  * Una call puo' essere ANNULLATA in qualsiasi momento prima del completamento.
  */
 public enum StatoCall {
 
+    /** Call richiesta dal team, in attesa dell'assegnazione di un mentore */
+    RICHIESTA,
+
     /** Call proposta dal mentore, in attesa di conferma dal team */
     PROPOSTA,
 
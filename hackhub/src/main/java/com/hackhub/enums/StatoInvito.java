@@ -7,6 +7,7 @@ package com.hackhub.enums;
  * - IN_ATTESA: l'invito e' stato inviato ma non ancora gestito dal destinatario
  * - ACCETTATO: il destinatario ha accettato l'invito e ora fa parte del team
  * - RIFIUTATO: il destinatario ha rifiutato l'invito
+ * - SCADUTO: il destinatario non ha risposto entro la validita' dell'invito
  */
 public enum StatoInvito {
 
@@ -17,5 +18,8 @@ public enum StatoInvito {
     ACCETTATO,
 
     /** Invito rifiutato dall'utente */
-    RIFIUTATO
+    RIFIUTATO,
+
+    /** Invito rimasto senza risposta oltre la validita' */
+    SCADUTO
 }
@@ -0,0 +1,29 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta i possibili stati di una sottomissione.
+ *
+ * Prima della valutazione dei giudici, ogni sottomissione passa dalle
+ * verifiche automatiche (build, test, lint, limiti di dimensione):
+ * INVIATA -> IN_CODA -> IN_VERIFICA -> VERIFICATA / NON_CONFORME / ERRORE_VERIFICA
+ */
+public enum StatoSottomissione {
+
+    /** Progetto consegnato dal team, verifiche non ancora richieste */
+    INVIATA,
+
+    /** In coda per le verifiche automatiche */
+    IN_CODA,
+
+    /** Verifiche automatiche in corso */
+    IN_VERIFICA,
+
+    /** Tutte le verifiche automatiche superate, pronta per i giudici */
+    VERIFICATA,
+
+    /** Almeno una verifica automatica non superata */
+    NON_CONFORME,
+
+    /** Verifiche interrotte (tempo scaduto o errore del verificatore) */
+    ERRORE_VERIFICA
+}
@@ -0,0 +1,20 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta il tipo di entita' che un client puo' osservare.
+ *
+ * - HACKATHON: stato, iscrizioni e sottomissioni dell'hackathon
+ * - TEAM: membri, inviti, iscrizioni e sottomissioni del team
+ * - UTENTE: profilo e inviti ricevuti dall'utente
+ */
+public enum TipoArgomento {
+
+    /** Un hackathon */
+    HACKATHON,
+
+    /** Un team */
+    TEAM,
+
+    /** Un utente */
+    UTENTE
+}
@@ -0,0 +1,26 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta i tipi di evento pubblicati dal modello di dominio.
+ *
+ * Ogni modifica al grafo del modello (hackathon, team, inviti, iscrizioni,
+ * utenti) viene notificata con uno di questi tipi:
+ * - CREAZIONE: una nuova entita' e' stata costruita
+ * - MODIFICA: un attributo di un'entita' ha cambiato valore
+ * - AGGIUNTA: un elemento e' stato aggiunto a una collezione dell'entita'
+ * - RIMOZIONE: un elemento e' stato rimosso da una collezione dell'entita'
+ */
+public enum TipoEvento {
+
+    /** Nuova entita' creata */
+    CREAZIONE,
+
+    /** Attributo di un'entita' modificato */
+    MODIFICA,
+
+    /** Elemento aggiunto a una collezione */
+    AGGIUNTA,
+
+    /** Elemento rimosso da una collezione */
+    RIMOZIONE
+}
@@ -0,0 +1,16 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta le operazioni soggette a limitazione di frequenza.
+ *
+ * - INVITO: Leader.invitaUtente()
+ * - ISCRIZIONE: Hackathon.aggiungiIscrizione()
+ */
+public enum TipoOperazione {
+
+    /** Invio di un invito a unirsi a un team */
+    INVITO,
+
+    /** Iscrizione di un team a un hackathon */
+    ISCRIZIONE
+}
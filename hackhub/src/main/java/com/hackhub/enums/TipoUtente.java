@@ -0,0 +1,24 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta la classe concreta di un utente memorizzato fuori heap.
+ *
+ * - UTENTE: Utente senza team
+ * - MEMBRO_TEAM: MembroTeam
+ * - LEADER: Leader di un team
+ * - MEMBRO_STAFF: membro dello staff (Organizzatore, Mentore, Giudice)
+ */
+public enum TipoUtente {
+
+    /** Utente registrato senza team */
+    UTENTE,
+
+    /** Membro di un team */
+    MEMBRO_TEAM,
+
+    /** Leader di un team */
+    LEADER,
+
+    /** Membro dello staff */
+    MEMBRO_STAFF
+}
@@ -0,0 +1,18 @@
+package com.hackhub.eventi;
+
+/**
+ * Interfaccia per i componenti che reagiscono alle modifiche del modello.
+ *
+ * Gli ascoltatori vengono registrati presso il GestoreEventi e ricevono
+ * ogni evento nello stesso thread che ha eseguito la modifica: l'implementazione
+ * deve quindi essere rapida e non bloccante.
+ */
+public interface AscoltatoreEventi {
+
+    /**
+     * Gestisce un evento pubblicato dal modello.
+     *
+     * @param evento L'evento da gestire
+     */
+    void gestisciEvento(EventoModello evento);
+}
@@ -0,0 +1,83 @@
+package com.hackhub.eventi;
+
+import com.hackhub.enums.TipoEvento;
+
+/**
+ * Classe che rappresenta una modifica avvenuta nel modello di dominio.
+ *
+ * Un evento descrive cosa e' cambiato e su quale entita':
+ * - CREAZIONE: sorgente e' l'entita' appena creata, campo e valori sono null
+ * - MODIFICA: campo e' il nome dell'attributo, con valore precedente e nuovo
+ * - AGGIUNTA/RIMOZIONE: campo e' il nome della collezione, valoreNuovo l'elemento
+ *
+ * Gli eventi sono immutabili e vengono consegnati in modo sincrono,
+ * nello stesso thread che ha eseguito la modifica.
+ */
+public class EventoModello {
+
+    /** Tipo dell'evento */
+    private final TipoEvento tipo;
+
+    /** Entita' su cui e' avvenuta la modifica */
+    private final Object sorgente;
+
+    /** Nome dell'attributo o della collezione modificata (null per CREAZIONE) */
+    private final String campo;
+
+    /** Valore dell'attributo prima della modifica (solo per MODIFICA) */
+    private final Object valorePrecedente;
+
+    /** Nuovo valore dell'attributo, oppure elemento aggiunto/rimosso */
+    private final Object valoreNuovo;
+
+    /**
+     * Costruttore della classe EventoModello.
+     *
+     * @param tipo             Il tipo dell'evento
+     * @param sorgente         L'entita' modificata
+     * @param campo            Il nome dell'attributo o della collezione
+     * @param valorePrecedente Il valore precedente
+     * @param valoreNuovo      Il nuovo valore o l'elemento coinvolto
+     */
+    public EventoModello(TipoEvento tipo, Object sorgente, String campo,
+                         Object valorePrecedente, Object valoreNuovo) {
+        this.tipo = tipo;
+        this.sorgente = sorgente;
+        this.campo = campo;
+        this.valorePrecedente = valorePrecedente;
+        this.valoreNuovo = valoreNuovo;
+    }
+
+    // ==================== GETTER ====================
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public Object getSorgente() {
+        return sorgente;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public Object getValorePrecedente() {
+        return valorePrecedente;
+    }
+
+    public Object getValoreNuovo() {
+        return valoreNuovo;
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale dell'evento.
+     *
+     * @return Stringa con tipo, entita' e campo
+     */
+    @Override
+    public String toString() {
+        return tipo + " " + sorgente.getClass().getSimpleName()
+            + (campo != null ? "." + campo : "") + " -> " + valoreNuovo;
+    }
+}
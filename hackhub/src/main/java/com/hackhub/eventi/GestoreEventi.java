@@ -0,0 +1,185 @@
+package com.hackhub.eventi;
+
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.model.EntitaVersionata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe che distribuisce gli eventi del modello agli ascoltatori registrati.
+ *
+ * Le classi del package model chiamano pubblica() ad ogni modifica.
+ * Se non ci sono ascoltatori registrati, la pubblicazione si riduce a un
+ * controllo su una lista vuota e non crea alcun oggetto.
+ *
+ * La pubblicazione puo' essere sospesa per il thread corrente con
+ * eseguiSenzaEventi(), ad esempio quando si applicano modifiche
+ * ricevute da un'altra istanza (replica) che non devono essere ripubblicate.
+ * Con eseguiRimandandoEventi() gli eventi sospesi vengono invece conservati
+ * e possono essere consegnati in seguito con consegna(), ad esempio solo se
+ * un'operazione composta da piu' modifiche va a buon fine.
+ *
+ * Ogni modifica incrementa la versione dell'entita' sorgente (EntitaVersionata),
+ * anche quando la pubblicazione e' sospesa o non ci sono ascoltatori.
+ */
+public final class GestoreEventi {
+
+    private static final Logger LOG = Logger.getLogger(GestoreEventi.class.getName());
+
+    /** Ascoltatori registrati (lista copy-on-write: letture senza lock) */
+    private static final List<AscoltatoreEventi> ascoltatori = new CopyOnWriteArrayList<>();
+
+    /**
+     * Livello di sospensione della pubblicazione per il thread corrente [0] e livello
+     * a cui gli eventi sospesi vengono conservati in rimandati [1] (0 se nessuno)
+     */
+    private static final ThreadLocal<int[]> sospensione = ThreadLocal.withInitial(() -> new int[2]);
+
+    /** Eventi sospesi conservati da eseguiRimandandoEventi() nel thread corrente */
+    private static final ThreadLocal<List<EventoModello>> rimandati = new ThreadLocal<>();
+
+    private GestoreEventi() {
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra un ascoltatore.
+     *
+     * @param ascoltatore L'ascoltatore da registrare
+     */
+    public static void registra(AscoltatoreEventi ascoltatore) {
+        ascoltatori.add(ascoltatore);
+    }
+
+    /**
+     * Rimuove un ascoltatore registrato.
+     *
+     * @param ascoltatore L'ascoltatore da rimuovere
+     */
+    public static void rimuovi(AscoltatoreEventi ascoltatore) {
+        ascoltatori.remove(ascoltatore);
+    }
+
+    /**
+     * Verifica se ci sono ascoltatori registrati.
+     *
+     * @return true se almeno un ascoltatore e' registrato
+     */
+    public static boolean isAttivo() {
+        return !ascoltatori.isEmpty();
+    }
+
+    /**
+     * Verifica se la pubblicazione e' sospesa per il thread corrente, cioe' se
+     * il thread sta ricostruendo entita' (replica, archivio, decodifica)
+     * invece di eseguire operazioni richieste dagli utenti.
+     *
+     * @return true se il thread e' dentro eseguiSenzaEventi()
+     */
+    public static boolean isSospeso() {
+        return sospensione.get()[0] > 0;
+    }
+
+    /**
+     * Pubblica un evento a tutti gli ascoltatori registrati.
+     *
+     * Un ascoltatore che lancia un'eccezione non interrompe l'operazione
+     * del modello ne' la consegna agli altri ascoltatori.
+     * Prima della consegna, la versione della sorgente viene incrementata
+     * per ogni evento diverso dalla creazione.
+     *
+     * @param tipo             Il tipo dell'evento
+     * @param sorgente         L'entita' modificata
+     * @param campo            Il nome dell'attributo o della collezione
+     * @param valorePrecedente Il valore precedente
+     * @param valoreNuovo      Il nuovo valore o l'elemento coinvolto
+     */
+    public static void pubblica(TipoEvento tipo, Object sorgente, String campo,
+                                Object valorePrecedente, Object valoreNuovo) {
+        if (tipo != TipoEvento.CREAZIONE && sorgente instanceof EntitaVersionata) {
+            ((EntitaVersionata) sorgente).incrementaVersione();
+        }
+        if (ascoltatori.isEmpty()) {
+            return;
+        }
+        int[] livello = sospensione.get();
+        if (livello[0] > 0) {
+            if (livello[1] == livello[0]) {
+                rimandati.get().add(new EventoModello(tipo, sorgente, campo, valorePrecedente, valoreNuovo));
+            }
+            return;
+        }
+        distribuisci(new EventoModello(tipo, sorgente, campo, valorePrecedente, valoreNuovo));
+    }
+
+    /**
+     * Consegna agli ascoltatori eventi conservati da eseguiRimandandoEventi(), nell'ordine
+     * in cui sono avvenuti. Le versioni delle sorgenti non vengono incrementate di nuovo.
+     * Non fa nulla se la pubblicazione e' sospesa per il thread corrente.
+     *
+     * @param eventi Gli eventi da consegnare
+     */
+    public static void consegna(List<EventoModello> eventi) {
+        if (sospensione.get()[0] > 0) {
+            return;
+        }
+        for (EventoModello evento : eventi) {
+            distribuisci(evento);
+        }
+    }
+
+    private static void distribuisci(EventoModello evento) {
+        for (AscoltatoreEventi ascoltatore : ascoltatori) {
+            try {
+                ascoltatore.gestisciEvento(evento);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Errore nell'ascoltatore " + ascoltatore, e);
+            }
+        }
+    }
+
+    /**
+     * Esegue un'operazione senza pubblicare eventi nel thread corrente.
+     *
+     * @param operazione L'operazione da eseguire
+     */
+    public static void eseguiSenzaEventi(Runnable operazione) {
+        int[] livello = sospensione.get();
+        livello[0]++;
+        try {
+            operazione.run();
+        } finally {
+            livello[0]--;
+        }
+    }
+
+    /**
+     * Esegue un'operazione senza pubblicare eventi nel thread corrente, conservando
+     * quelli che avrebbe pubblicato. Gli eventi delle operazioni annidate in
+     * eseguiSenzaEventi() non vengono conservati.
+     *
+     * @param operazione L'operazione da eseguire
+     * @return Gli eventi sospesi, da consegnare con consegna() o da scartare
+     */
+    public static List<EventoModello> eseguiRimandandoEventi(Runnable operazione) {
+        int[] livello = sospensione.get();
+        int conservatoPrecedente = livello[1];
+        List<EventoModello> precedenti = rimandati.get();
+        List<EventoModello> eventi = new ArrayList<>();
+        livello[0]++;
+        livello[1] = livello[0];
+        rimandati.set(eventi);
+        try {
+            operazione.run();
+        } finally {
+            livello[0]--;
+            livello[1] = conservatoPrecedente;
+            rimandati.set(precedenti);
+        }
+        return eventi;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hackhub.importazione;
+
+/**
+ * Classe che rappresenta un errore di validazione su una riga del file importato.
+ */
+public class ErroreRiga implements Comparable<ErroreRiga> {
+
+    /** Numero della riga nel file (a partire da 1) */
+    private final int riga;
+
+    /** Descrizione dell'errore */
+    private final String messaggio;
+
+    /**
+     * Costruttore della classe ErroreRiga.
+     *
+     * @param riga      Il numero della riga
+     * @param messaggio La descrizione dell'errore
+     */
+    public ErroreRiga(int riga, String messaggio) {
+        this.riga = riga;
+        this.messaggio = messaggio;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getRiga() {
+        return riga;
+    }
+
+    public String getMessaggio() {
+        return messaggio;
+    }
+
+    @Override
+    public int compareTo(ErroreRiga altro) {
+        return Integer.compare(riga, altro.riga);
+    }
+
+    @Override
+    public String toString() {
+        return "Riga " + riga + ": " + messaggio;
+    }
+}
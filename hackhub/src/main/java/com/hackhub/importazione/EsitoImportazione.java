@@ -0,0 +1,75 @@
+package com.hackhub.importazione;
+
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.List;
+
+/**
+ * Classe che rappresenta l'esito di un'importazione massiva.
+ *
+ * L'importazione e' atomica: se ci sono errori nessuna entita' viene creata
+ * e le liste di utenti e team sono vuote.
+ */
+public class EsitoImportazione {
+
+    /** Utenti creati (inclusi Leader e membri dei team) */
+    private final List<Utente> utenti;
+
+    /** Team creati */
+    private final List<Team> team;
+
+    /** Errori per riga, ordinati per numero di riga */
+    private final List<ErroreRiga> errori;
+
+    /** Numero di righe di dati lette */
+    private final int righeLette;
+
+    /**
+     * Costruttore della classe EsitoImportazione.
+     *
+     * @param utenti     Gli utenti creati
+     * @param team       I team creati
+     * @param errori     Gli errori riscontrati
+     * @param righeLette Il numero di righe di dati lette
+     */
+    public EsitoImportazione(List<Utente> utenti, List<Team> team, List<ErroreRiga> errori, int righeLette) {
+        this.utenti = utenti;
+        this.team = team;
+        this.errori = errori;
+        this.righeLette = righeLette;
+    }
+
+    // ==================== GETTER ====================
+
+    public List<Utente> getUtenti() {
+        return utenti;
+    }
+
+    public List<Team> getTeam() {
+        return team;
+    }
+
+    public List<ErroreRiga> getErrori() {
+        return errori;
+    }
+
+    public int getRigheLette() {
+        return righeLette;
+    }
+
+    /**
+     * Verifica se l'importazione e' stata applicata.
+     *
+     * @return true se non ci sono errori e le entita' sono state create
+     */
+    public boolean isCompletata() {
+        return errori.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return isCompletata()
+            ? "Importazione completata: " + utenti.size() + " utenti, " + team.size() + " team"
+            : "Importazione annullata: " + errori.size() + " errori su " + righeLette + " righe";
+    }
+}
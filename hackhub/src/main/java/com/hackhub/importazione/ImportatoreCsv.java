@@ -0,0 +1,487 @@
+package com.hackhub.importazione;
+
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.limiti.LimitatoreRichieste;
+import com.hackhub.limiti.LimiteSuperatoException;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Classe che importa in blocco utenti e team pre-formati da un file CSV.
+ *
+ * Formato del file (separatore virgola, senza virgolette, UTF-8):
+ * nome,cognome,email,password[,team[,ruolo[,competenze]]]
+ * - team: nome del team pre-formato (vuoto per utenti senza team)
+ * - ruolo: "leader" o "membro" (ogni team deve avere esattamente un leader)
+ * - competenze: elenco separato da punto e virgola
+ * Una prima riga che inizia con "nome," viene considerata intestazione.
+ *
+ * Fasi:
+ * 1. Il file viene mappato in memoria e diviso in blocchi a fine riga,
+ *    analizzati in parallelo
+ * 2. Validazione in blocco: formato, unicita' delle email (nel file e rispetto
+ *    agli utenti esistenti), unicita' dei nomi dei team (senza distinguere
+ *    maiuscole e minuscole), un leader per team, numero di membri entro
+ *    maxMembriTeam, hackathon non archiviato se i team vanno iscritti
+ * 3. Prenotazione: email e nomi dei team vengono aggiunti agli insiemi degli
+ *    esistenti, cosi' un'importazione o una verifica concorrente non li accetta
+ *    una seconda volta; se nel frattempo qualcuno li ha occupati l'importazione
+ *    fallisce e le prenotazioni vengono tolte
+ * 4. Solo se non ci sono errori, tutte le entita' vengono create; altrimenti
+ *    non viene creato nulla e si restituisce l'elenco degli errori per riga
+ *
+ * La creazione avviene con gli eventi rimandati (GestoreEventi.eseguiRimandandoEventi),
+ * che vengono consegnati agli ascoltatori solo quando l'importazione va a buon fine:
+ * fino ad allora nessun ascoltatore vede le entita' create. L'iscrizione dei team
+ * puo' ancora essere rifiutata durante la creazione:
+ * - quota esaurita: la quota di ogni team viene consumata prima di aggiungere le
+ *   iscrizioni all'hackathon, e restituita se un team viene rifiutato
+ * - hackathon archiviato nel frattempo: le iscrizioni gia' aggiunte passano ad
+ *   ANNULLATA senza eventi, perche' le collezioni del modello sono in sola aggiunta,
+ *   e la quota di tutti i team viene restituita
+ * In entrambi i casi gli eventi vengono scartati e le prenotazioni di nomi ed email
+ * tolte. Le date sovrapposte non vanno controllate: team e utenti importati sono
+ * nuovi e non hanno altri impegni; l'indice degli impegni li registra alla consegna
+ * degli eventi. Gli insiemi passati al costruttore devono essere modificabili e,
+ * con importazioni concorrenti, thread-safe (ad esempio RegistroUnicita.comeInsieme()).
+ *
+ * La creazione delle entita' e' sequenziale perche' i contatori degli id
+ * del modello non sono thread-safe. I file oltre i 2 GB non sono supportati.
+ */
+public class ImportatoreCsv {
+
+    /** Dimensione minima di un blocco analizzato da un singolo task */
+    private static final int DIMENSIONE_MINIMA_BLOCCO = 1 << 20;
+
+    /** Numero massimo di campi per riga */
+    private static final int MASSIMO_CAMPI = 7;
+
+    /** Hackathon di riferimento per il limite di membri */
+    private final Hackathon hackathon;
+
+    /** Email gia' registrate nel sistema (in minuscolo), a cui si aggiungono le prenotazioni */
+    private final Set<String> emailEsistenti;
+
+    /** Nomi di team gia' esistenti nel sistema (in minuscolo), a cui si aggiungono le prenotazioni */
+    private final Set<String> nomiTeamEsistenti;
+
+    /** Se true, i team importati vengono iscritti all'hackathon */
+    private boolean iscriviTeam;
+
+    /**
+     * Costruttore della classe ImportatoreCsv.
+     *
+     * @param hackathon         L'hackathon di riferimento
+     * @param emailEsistenti    Le email gia' registrate (in minuscolo), modificabile
+     * @param nomiTeamEsistenti I nomi dei team gia' esistenti (in minuscolo), modificabile
+     */
+    public ImportatoreCsv(Hackathon hackathon, Set<String> emailEsistenti, Set<String> nomiTeamEsistenti) {
+        this.hackathon = hackathon;
+        this.emailEsistenti = emailEsistenti;
+        this.nomiTeamEsistenti = nomiTeamEsistenti;
+        this.iscriviTeam = false;
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Imposta se iscrivere all'hackathon i team importati.
+     *
+     * @param iscriviTeam true per creare un'Iscrizione per ogni team
+     */
+    public void setIscriviTeam(boolean iscriviTeam) {
+        this.iscriviTeam = iscriviTeam;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Importa il file indicato.
+     *
+     * @param file Il file CSV da importare
+     * @return L'esito dell'importazione
+     * @throws IOException se il file non puo' essere letto
+     * @throws IllegalArgumentException se il file supera i 2 GB
+     */
+    public EsitoImportazione importa(Path file) throws IOException {
+        List<RigaCsv> righe = leggi(file);
+        Map<String, List<RigaCsv>> perTeam = raggruppaPerTeam(righe);
+        List<ErroreRiga> errori = valida(righe, perTeam);
+        if (errori.isEmpty()) {
+            errori = prenota(righe, perTeam);
+        }
+        if (!errori.isEmpty()) {
+            return new EsitoImportazione(List.of(), List.of(), errori, righe.size());
+        }
+        return crea(righe, perTeam);
+    }
+
+    // ==================== LETTURA ====================
+
+    private List<RigaCsv> leggi(Path file) throws IOException {
+        try (FileChannel canale = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dimensione = canale.size();
+            if (dimensione > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File troppo grande per l'importazione: " + dimensione);
+            }
+            if (dimensione == 0) {
+                return List.of();
+            }
+            MappedByteBuffer mappa = canale.map(FileChannel.MapMode.READ_ONLY, 0, dimensione);
+            int[] confini = confini(mappa, (int) dimensione);
+
+            List<List<RigaCsv>> blocchi = IntStream.range(0, confini.length - 1)
+                .parallel()
+                .mapToObj(i -> analizza(mappa, confini[i], confini[i + 1]))
+                .collect(Collectors.toList());
+
+            // Numerazione globale delle righe: ogni blocco sa quante righe ha letto
+            List<RigaCsv> righe = new ArrayList<>();
+            int base = 0;
+            for (int i = 0; i < blocchi.size(); i++) {
+                for (RigaCsv riga : blocchi.get(i)) {
+                    riga.numero += base;
+                    if (!(riga.numero == 1 && riga.nome.equals("nome") && riga.cognome.equals("cognome"))) {
+                        righe.add(riga);
+                    }
+                }
+                base += contaRighe(mappa, confini[i], confini[i + 1]);
+            }
+            return righe;
+        }
+    }
+
+    /**
+     * Divide il file in blocchi che iniziano sempre all'inizio di una riga.
+     */
+    private static int[] confini(MappedByteBuffer mappa, int dimensione) {
+        int parallelismo = ForkJoinPool.commonPool().getParallelism() * 4;
+        int numero = Math.max(1, Math.min(parallelismo, dimensione / DIMENSIONE_MINIMA_BLOCCO));
+        int[] confini = new int[numero + 1];
+        confini[numero] = dimensione;
+        for (int i = 1; i < numero; i++) {
+            int posizione = Math.max((int) ((long) dimensione * i / numero), confini[i - 1]);
+            while (posizione < dimensione && mappa.get(posizione - 1) != '\n') {
+                posizione++;
+            }
+            confini[i] = posizione;
+        }
+        return confini;
+    }
+
+    private static int contaRighe(MappedByteBuffer mappa, int da, int a) {
+        int righe = 0;
+        for (int i = da; i < a; i++) {
+            if (mappa.get(i) == '\n') {
+                righe++;
+            }
+        }
+        return a > da && mappa.get(a - 1) != '\n' ? righe + 1 : righe;
+    }
+
+    /**
+     * Analizza le righe di un blocco. Il numero assegnato a ogni riga e' relativo al blocco.
+     */
+    private static List<RigaCsv> analizza(MappedByteBuffer mappa, int da, int a) {
+        List<RigaCsv> righe = new ArrayList<>();
+        String[] campi = new String[MASSIMO_CAMPI];
+        byte[] buffer = new byte[256];
+        int numero = 0;
+        int inizio = da;
+
+        while (inizio < a) {
+            int fine = inizio;
+            while (fine < a && mappa.get(fine) != '\n') {
+                fine++;
+            }
+            numero++;
+            int fineContenuto = fine > inizio && mappa.get(fine - 1) == '\r' ? fine - 1 : fine;
+
+            if (fineContenuto > inizio) {
+                int numeroCampi = 0;
+                int inizioCampo = inizio;
+                for (int i = inizio; i <= fineContenuto; i++) {
+                    if (i == fineContenuto || mappa.get(i) == ',') {
+                        if (numeroCampi < MASSIMO_CAMPI) {
+                            int lunghezza = i - inizioCampo;
+                            if (lunghezza > buffer.length) {
+                                buffer = new byte[lunghezza];
+                            }
+                            mappa.get(inizioCampo, buffer, 0, lunghezza);
+                            campi[numeroCampi] = new String(buffer, 0, lunghezza, StandardCharsets.UTF_8);
+                        }
+                        numeroCampi++;
+                        inizioCampo = i + 1;
+                    }
+                }
+                RigaCsv riga = new RigaCsv(campi, Math.min(numeroCampi, MASSIMO_CAMPI));
+                riga.numero = numero;
+                righe.add(riga);
+            }
+            inizio = fine + 1;
+        }
+        return righe;
+    }
+
+    // ==================== VALIDAZIONE ====================
+
+    private List<ErroreRiga> valida(List<RigaCsv> righe, Map<String, List<RigaCsv>> perTeam) {
+        Queue<ErroreRiga> errori = new ConcurrentLinkedQueue<>();
+
+        // Prima occorrenza di ogni email nel file
+        Map<String, Integer> primaRiga = new ConcurrentHashMap<>();
+        righe.parallelStream().forEach(riga -> primaRiga.merge(riga.email, riga.numero, Math::min));
+
+        righe.parallelStream().forEach(riga -> {
+            if (riga.errore != null) {
+                errori.add(new ErroreRiga(riga.numero, riga.errore));
+                return;
+            }
+            if (riga.nome.isEmpty() || riga.cognome.isEmpty()) {
+                errori.add(new ErroreRiga(riga.numero, "Nome e cognome sono obbligatori"));
+            }
+            if (riga.email.indexOf('@') <= 0) {
+                errori.add(new ErroreRiga(riga.numero, "Email non valida: " + riga.email));
+            } else if (emailEsistenti.contains(riga.email)) {
+                errori.add(new ErroreRiga(riga.numero, "Email gia' registrata: " + riga.email));
+            } else if (primaRiga.get(riga.email) != riga.numero) {
+                errori.add(new ErroreRiga(riga.numero,
+                    "Email duplicata, gia' presente alla riga " + primaRiga.get(riga.email)));
+            }
+            if (!riga.ruolo.isEmpty() && !riga.isLeader() && !riga.ruolo.equals("membro")) {
+                errori.add(new ErroreRiga(riga.numero, "Ruolo non valido: " + riga.ruolo));
+            } else if (riga.team.isEmpty() && !riga.ruolo.isEmpty()) {
+                errori.add(new ErroreRiga(riga.numero, "Ruolo indicato senza team"));
+            }
+        });
+
+        int massimo = hackathon.getMaxMembriTeam();
+        perTeam.entrySet().parallelStream().forEach(voce -> {
+            List<RigaCsv> membri = voce.getValue();
+            int primaRigaTeam = membri.get(0).numero;
+            String nome = membri.get(0).team;
+            if (nomiTeamEsistenti.contains(voce.getKey())) {
+                errori.add(new ErroreRiga(primaRigaTeam, "Nome del team gia' in uso: " + nome));
+            }
+            if (membri.size() > massimo) {
+                errori.add(new ErroreRiga(primaRigaTeam, "Il team " + nome + " ha "
+                    + membri.size() + " membri, massimo consentito " + massimo));
+            }
+            long leader = membri.stream().filter(RigaCsv::isLeader).count();
+            if (leader != 1) {
+                errori.add(new ErroreRiga(primaRigaTeam, "Il team " + nome
+                    + " deve avere esattamente un leader, trovati " + leader));
+            }
+        });
+        if (iscriviTeam && !perTeam.isEmpty() && hackathon.isArchiviato()) {
+            errori.add(new ErroreRiga(perTeam.values().iterator().next().get(0).numero,
+                "L'hackathon e' archiviato: i team non possono essere iscritti"));
+        }
+
+        List<ErroreRiga> ordinati = new ArrayList<>(errori);
+        Collections.sort(ordinati);
+        return ordinati;
+    }
+
+    /**
+     * Raggruppa le righe per team, mantenendo l'ordine del file.
+     * La chiave e' il nome in minuscolo, come nel confronto con i team esistenti:
+     * "Alfa" e "alfa" sono lo stesso team, con il nome scritto nella sua prima riga.
+     */
+    private static Map<String, List<RigaCsv>> raggruppaPerTeam(List<RigaCsv> righe) {
+        Map<String, List<RigaCsv>> perTeam = new LinkedHashMap<>();
+        for (RigaCsv riga : righe) {
+            if (!riga.team.isEmpty()) {
+                perTeam.computeIfAbsent(riga.team.toLowerCase(), nome -> new ArrayList<>()).add(riga);
+            }
+        }
+        return perTeam;
+    }
+
+    // ==================== PRENOTAZIONE ====================
+
+    /**
+     * Aggiunge email e nomi dei team agli insiemi degli esistenti.
+     * Se una chiave e' stata occupata dopo la validazione, toglie le prenotazioni fatte.
+     */
+    private List<ErroreRiga> prenota(List<RigaCsv> righe, Map<String, List<RigaCsv>> perTeam) {
+        List<String> email = new ArrayList<>(righe.size());
+        List<String> nomi = new ArrayList<>(perTeam.size());
+        List<ErroreRiga> errori = new ArrayList<>();
+        for (RigaCsv riga : righe) {
+            if (emailEsistenti.add(riga.email)) {
+                email.add(riga.email);
+            } else {
+                errori.add(new ErroreRiga(riga.numero, "Email gia' registrata: " + riga.email));
+            }
+        }
+        for (Map.Entry<String, List<RigaCsv>> voce : perTeam.entrySet()) {
+            if (nomiTeamEsistenti.add(voce.getKey())) {
+                nomi.add(voce.getKey());
+            } else {
+                RigaCsv prima = voce.getValue().get(0);
+                errori.add(new ErroreRiga(prima.numero, "Nome del team gia' in uso: " + prima.team));
+            }
+        }
+        if (!errori.isEmpty()) {
+            email.forEach(emailEsistenti::remove);
+            nomi.forEach(nomiTeamEsistenti::remove);
+            Collections.sort(errori);
+        }
+        return errori;
+    }
+
+    // ==================== CREAZIONE ====================
+
+    private EsitoImportazione crea(List<RigaCsv> righe, Map<String, List<RigaCsv>> perTeam) {
+        List<Utente> utenti = new ArrayList<>(righe.size());
+        List<Team> teamCreati = new ArrayList<>();
+        List<Iscrizione> iscrizioni = new ArrayList<>();
+        List<EventoModello> eventi = new ArrayList<>(GestoreEventi.eseguiRimandandoEventi(() -> {
+            for (List<RigaCsv> membri : perTeam.values()) {
+                Team team = creaTeam(membri, utenti);
+                teamCreati.add(team);
+                if (iscriviTeam) {
+                    Iscrizione iscrizione = new Iscrizione(team, hackathon);
+                    team.aggiungiIscrizione(iscrizione);
+                    iscrizioni.add(iscrizione);
+                }
+            }
+            for (RigaCsv riga : righe) {
+                if (riga.team.isEmpty()) {
+                    Utente utente = new Utente(riga.nome, riga.cognome, riga.email, riga.password);
+                    aggiungiCompetenze(utente, riga);
+                    utenti.add(utente);
+                }
+            }
+        }));
+
+        if (iscriviTeam) {
+            ErroreRiga errore = iscrivi(perTeam, iscrizioni, eventi);
+            if (errore != null) {
+                annulla(righe, perTeam);
+                return new EsitoImportazione(List.of(), List.of(), List.of(errore), righe.size());
+            }
+        }
+        GestoreEventi.consegna(eventi);
+        return new EsitoImportazione(utenti, teamCreati, List.of(), righe.size());
+    }
+
+    private static Team creaTeam(List<RigaCsv> righe, List<Utente> utenti) {
+        List<RigaCsv> membri = new ArrayList<>(righe);
+        membri.sort(Comparator.comparing(riga -> !riga.isLeader()));
+        Team team = new Team(righe.get(0).team, null);
+        for (RigaCsv riga : membri) {
+            MembroTeam membro = riga.isLeader()
+                ? new Leader(riga.nome, riga.cognome, riga.email, riga.password)
+                : new MembroTeam(riga.nome, riga.cognome, riga.email, riga.password);
+            aggiungiCompetenze(membro, riga);
+            if (membro instanceof Leader) {
+                team.setLeader((Leader) membro);
+            }
+            team.addMembro(membro);
+            utenti.add(membro);
+        }
+        return team;
+    }
+
+    /**
+     * Consuma la quota di iscrizione di ogni team e aggiunge le iscrizioni all'hackathon,
+     * conservandone gli eventi. Se un team viene rifiutato restituisce la quota consumata
+     * e annulla senza eventi le iscrizioni gia' aggiunte.
+     *
+     * @return L'errore che ha interrotto l'importazione, o null se tutti i team sono iscritti
+     */
+    private ErroreRiga iscrivi(Map<String, List<RigaCsv>> perTeam, List<Iscrizione> iscrizioni,
+                               List<EventoModello> eventi) {
+        List<RigaCsv> primeRighe = new ArrayList<>(perTeam.size());
+        perTeam.values().forEach(membri -> primeRighe.add(membri.get(0)));
+        int addebitate = 0;
+        try {
+            for (Iscrizione iscrizione : iscrizioni) {
+                Team team = iscrizione.getTeam();
+                LimitatoreRichieste.verifica(TipoOperazione.ISCRIZIONE, team.getLeader().getId(), team.getId());
+                addebitate++;
+            }
+        } catch (LimiteSuperatoException e) {
+            restituisci(iscrizioni.subList(0, addebitate));
+            return rifiuto(primeRighe.get(addebitate), e);
+        }
+
+        int[] aggiunte = {0};
+        try {
+            eventi.addAll(GestoreEventi.eseguiRimandandoEventi(() -> {
+                for (Iscrizione iscrizione : iscrizioni) {
+                    hackathon.aggiungiIscrizione(iscrizione);
+                    aggiunte[0]++;
+                }
+            }));
+            return null;
+        } catch (RuntimeException e) {
+            GestoreEventi.eseguiSenzaEventi(() -> iscrizioni.subList(0, aggiunte[0]).forEach(Iscrizione::annulla));
+            restituisci(iscrizioni);
+            return rifiuto(primeRighe.get(aggiunte[0]), e);
+        }
+    }
+
+    private static void restituisci(List<Iscrizione> iscrizioni) {
+        for (Iscrizione iscrizione : iscrizioni) {
+            Team team = iscrizione.getTeam();
+            LimitatoreRichieste.annulla(TipoOperazione.ISCRIZIONE, team.getLeader().getId(), team.getId());
+        }
+    }
+
+    private static ErroreRiga rifiuto(RigaCsv primaRiga, RuntimeException e) {
+        return new ErroreRiga(primaRiga.numero,
+            "Iscrizione del team " + primaRiga.team + " rifiutata, importazione annullata: " + e.getMessage());
+    }
+
+    /**
+     * Annulla un'importazione interrotta da un'iscrizione rifiutata. Le entita' create
+     * non sono mai state pubblicate e non sono raggiungibili dal modello, salvo le
+     * iscrizioni gia' aggiunte all'hackathon, annullate; le prenotazioni di tutto il
+     * file vengono tolte, cosi' il file puo' essere importato di nuovo.
+     */
+    private void annulla(List<RigaCsv> righe, Map<String, List<RigaCsv>> perTeam) {
+        for (RigaCsv riga : righe) {
+            emailEsistenti.remove(riga.email);
+        }
+        perTeam.keySet().forEach(nomiTeamEsistenti::remove);
+    }
+
+    private static void aggiungiCompetenze(Utente utente, RigaCsv riga) {
+        if (riga.competenze.isEmpty()) {
+            return;
+        }
+        for (String competenza : riga.competenze.split(";")) {
+            if (!competenza.isBlank()) {
+                utente.aggiungiCompetenza(competenza);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hackhub.importazione;
+
+/**
+ * Classe che rappresenta una riga del file CSV di importazione gia' suddivisa in campi.
+ */
+class RigaCsv {
+
+    /** Numero della riga nel file (a partire da 1, intestazione inclusa) */
+    int numero;
+
+    final String nome;
+    final String cognome;
+    final String email;
+    final String password;
+    final String team;
+    final String ruolo;
+    final String competenze;
+
+    /** Messaggio di errore di formato (null se la riga e' ben formata) */
+    final String errore;
+
+    RigaCsv(String[] campi, int numeroCampi) {
+        this.nome = campo(campi, numeroCampi, 0);
+        this.cognome = campo(campi, numeroCampi, 1);
+        this.email = campo(campi, numeroCampi, 2).toLowerCase();
+        this.password = campo(campi, numeroCampi, 3);
+        this.team = campo(campi, numeroCampi, 4);
+        this.ruolo = campo(campi, numeroCampi, 5).toLowerCase();
+        this.competenze = campo(campi, numeroCampi, 6);
+        this.errore = numeroCampi < 4 ? "Numero di campi insufficiente: " + numeroCampi : null;
+    }
+
+    private static String campo(String[] campi, int numeroCampi, int indice) {
+        return indice < numeroCampi ? campi[indice].trim() : "";
+    }
+
+    boolean isLeader() {
+        return "leader".equals(ruolo);
+    }
+}
@@ -0,0 +1,394 @@
+package com.hackhub.inviti;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Invito;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe che fa scadere gli inviti rimasti IN_ATTESA oltre la validita' e
+ * tiene il numero di inviti pendenti per utente e per team.
+ *
+ * Un invito inviato il giorno d scade il giorno d + giorniValidita.
+ * Gli inviti pendenti sono ordinati per giorno di scadenza: una mappa ordinata
+ * di secchi, ognuno una lista doppiamente collegata degli inviti che scadono
+ * quel giorno. Inserire un invito costa O(log giorni), toglierlo quando riceve
+ * risposta O(1), e scadi() stacca i secchi scaduti dalla testa della mappa:
+ * costa O(inviti scaduti), indipendentemente da quanti restano pendenti.
+ *
+ * Con attiva() gli eventi del modello tengono l'indice allineato:
+ * - creazione di un Invito: viene programmata la scadenza
+ * - Invito.setStato/accetta/rifiuta/scadi: l'invito esce dai pendenti (o vi rientra)
+ * - Invito.setDataInvio: la scadenza viene riprogrammata
+ * Inoltre Utente.accettaInvito() e Leader.invitaUtente() chiamano scadeSeDovuto():
+ * un invito scaduto ma non ancora spazzato non si accetta e non blocca un
+ * nuovo invito allo stesso utente.
+ */
+public class ScadenzaInviti implements AscoltatoreEventi {
+
+    private static final Logger LOG = Logger.getLogger(ScadenzaInviti.class.getName());
+
+    /** Indice usato dal modello (null se la scadenza e' disattivata) */
+    private static volatile ScadenzaInviti attivo;
+
+    /** Giorni di validita' di un invito */
+    private int giorniValidita;
+
+    /** Secchi degli inviti pendenti per giorno epoch di scadenza */
+    private final TreeMap<Long, Secchio> perGiorno;
+
+    /** Voce di ogni invito pendente */
+    private final Map<Invito, Voce> voci;
+
+    /** Inviti pendenti per id del destinatario */
+    private final Map<Long, int[]> pendentiUtente;
+
+    /** Inviti pendenti per id del team */
+    private final Map<Long, int[]> pendentiTeam;
+
+    /** Numero di inviti fatti scadere */
+    private long scaduti;
+
+    /**
+     * Costruttore della classe ScadenzaInviti.
+     *
+     * @param giorniValidita I giorni di validita' di un invito
+     * @throws IllegalArgumentException se i giorni non sono positivi
+     */
+    public ScadenzaInviti(int giorniValidita) {
+        verificaGiorni(giorniValidita);
+        this.giorniValidita = giorniValidita;
+        this.perGiorno = new TreeMap<>();
+        this.voci = new IdentityHashMap<>();
+        this.pendentiUtente = new HashMap<>();
+        this.pendentiTeam = new HashMap<>();
+    }
+
+    // ==================== GETTER/SETTER ====================
+
+    public synchronized int getGiorniValidita() {
+        return giorniValidita;
+    }
+
+    /**
+     * Cambia la validita' degli inviti e riprogramma tutti quelli pendenti, in O(n log giorni).
+     *
+     * @param giorniValidita I nuovi giorni di validita'
+     * @throws IllegalArgumentException se i giorni non sono positivi
+     */
+    public synchronized void setGiorniValidita(int giorniValidita) {
+        verificaGiorni(giorniValidita);
+        this.giorniValidita = giorniValidita;
+        List<Voce> tutte = new ArrayList<>(voci.values());
+        perGiorno.clear();
+        for (Voce voce : tutte) {
+            voce.giorno = voce.invito.getDataInvio().toEpochDay() + giorniValidita;
+            secchio(voce.giorno).aggiungi(voce);
+        }
+    }
+
+    public synchronized int getNumeroPendenti() {
+        return voci.size();
+    }
+
+    public synchronized int getPendentiUtente(long idUtente) {
+        int[] numero = pendentiUtente.get(idUtente);
+        return numero != null ? numero[0] : 0;
+    }
+
+    public synchronized int getPendentiTeam(long idTeam) {
+        int[] numero = pendentiTeam.get(idTeam);
+        return numero != null ? numero[0] : 0;
+    }
+
+    public synchronized long getScaduti() {
+        return scaduti;
+    }
+
+    /**
+     * Restituisce la data di scadenza di un invito pendente.
+     *
+     * @param invito L'invito
+     * @return La data di scadenza, o null se l'invito non e' pendente nell'indice
+     */
+    public synchronized LocalDate getScadenza(Invito invito) {
+        Voce voce = voci.get(invito);
+        return voce != null ? LocalDate.ofEpochDay(voce.giorno) : null;
+    }
+
+    /**
+     * Restituisce la prima data in cui scade almeno un invito.
+     *
+     * @return La data, o null se non ci sono inviti pendenti
+     */
+    public synchronized LocalDate getProssimaScadenza() {
+        return perGiorno.isEmpty() ? null : LocalDate.ofEpochDay(perGiorno.firstKey());
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Attiva la scadenza degli inviti per il modello.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+        attivo = this;
+    }
+
+    /**
+     * Disattiva la scadenza degli inviti.
+     */
+    public void disattiva() {
+        if (attivo == this) {
+            attivo = null;
+        }
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Aggiunge all'indice gli inviti pendenti, ad esempio al caricamento del modello.
+     *
+     * @param inviti Gli inviti esistenti
+     */
+    public synchronized void indicizza(Iterable<Invito> inviti) {
+        for (Invito invito : inviti) {
+            programma(invito);
+        }
+    }
+
+    /**
+     * Fa scadere gli inviti la cui scadenza e' arrivata.
+     *
+     * Postcondizioni: gli inviti con scadenza non successiva a oggi sono SCADUTI
+     * e non contano piu' tra i pendenti
+     *
+     * @param oggi La data di riferimento
+     * @return Il numero di inviti scaduti
+     */
+    public int scadi(LocalDate oggi) {
+        List<Invito> daScadere = new ArrayList<>();
+        synchronized (this) {
+            long giorno = oggi.toEpochDay();
+            while (!perGiorno.isEmpty() && perGiorno.firstKey() <= giorno) {
+                for (Voce voce = perGiorno.pollFirstEntry().getValue().testa; voce != null; voce = voce.successiva) {
+                    voci.remove(voce.invito);
+                    conta(voce.invito, -1);
+                    daScadere.add(voce.invito);
+                }
+            }
+        }
+        // Gli eventi delle scadenze vengono pubblicati senza tenere il lock:
+        // gli inviti sono gia' fuori dall'indice e l'ascoltatore li ignora.
+        // Un invito accettato o rifiutato nel frattempo non scade (scadi() restituisce false)
+        int numero = 0;
+        for (Invito invito : daScadere) {
+            try {
+                if (invito.scadi(oggi)) {
+                    numero++;
+                }
+            } catch (RuntimeException e) {
+                // Un invito non deve fermare il passaggio: torna nell'indice e viene ritentato
+                LOG.log(Level.WARNING, "Scadenza non riuscita per l'invito " + invito.getId(), e);
+                synchronized (this) {
+                    programma(invito);
+                }
+            }
+        }
+        synchronized (this) {
+            scaduti += numero;
+        }
+        return numero;
+    }
+
+    /**
+     * Avvia la scadenza periodica degli inviti in un thread daemon.
+     * Un passaggio fallito viene registrato e non interrompe quelli successivi.
+     *
+     * @param periodo L'intervallo tra due passaggi
+     * @return L'esecutore dei passaggi, da chiudere con shutdown()
+     */
+    public ScheduledExecutorService avviaScadenzaPeriodica(Duration periodo) {
+        ScheduledExecutorService esecutore = Executors.newSingleThreadScheduledExecutor(operazione -> {
+            Thread thread = new Thread(operazione, "hackhub-scadenza-inviti");
+            thread.setDaemon(true);
+            return thread;
+        });
+        esecutore.scheduleAtFixedRate(() -> {
+            try {
+                scadi(LocalDate.now());
+            } catch (RuntimeException e) {
+                // Un'eccezione cancellerebbe silenziosamente tutti i passaggi successivi
+                LOG.log(Level.WARNING, "Passaggio di scadenza degli inviti non riuscito", e);
+            }
+        }, 0, periodo.toMillis(), TimeUnit.MILLISECONDS);
+        return esecutore;
+    }
+
+    /**
+     * Fa scadere subito l'invito, se l'indice attivo lo ritiene scaduto.
+     * Chiamato dal modello prima di usare un invito pendente; non fa nulla se
+     * l'indice non e' attivo o se il thread sta ricostruendo entita' con la
+     * pubblicazione degli eventi sospesa.
+     *
+     * @param invito L'invito
+     * @return true se l'invito e' SCADUTO
+     */
+    public static boolean scadeSeDovuto(Invito invito) {
+        ScadenzaInviti indice = attivo;
+        if (indice != null && !GestoreEventi.isSospeso() && invito.getStato() == StatoInvito.IN_ATTESA) {
+            LocalDate oggi = LocalDate.now();
+            if (indice.togliSeScaduto(invito, oggi.toEpochDay()) && invito.scadi(oggi)) {
+                indice.contaScaduto();
+            }
+        }
+        return invito.getStato() == StatoInvito.SCADUTO;
+    }
+
+    private synchronized boolean togliSeScaduto(Invito invito, long oggi) {
+        Voce voce = voci.get(invito);
+        if (voce == null || voce.giorno > oggi) {
+            return false;
+        }
+        togli(invito);
+        return true;
+    }
+
+    private synchronized void contaScaduto() {
+        scaduti++;
+    }
+
+    /**
+     * Aggiorna l'indice in base all'evento ricevuto.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public synchronized void gestisciEvento(EventoModello evento) {
+        if (!(evento.getSorgente() instanceof Invito)) {
+            return;
+        }
+        Invito invito = (Invito) evento.getSorgente();
+        if (evento.getTipo() == TipoEvento.CREAZIONE) {
+            programma(invito);
+        } else if (evento.getTipo() == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())) {
+            if (invito.getStato() == StatoInvito.IN_ATTESA) {
+                programma(invito);
+            } else {
+                togli(invito);
+            }
+        } else if (evento.getTipo() == TipoEvento.MODIFICA && "dataInvio".equals(evento.getCampo())
+                && togli(invito)) {
+            programma(invito);
+        }
+    }
+
+    // ==================== INDICE ====================
+
+    private void programma(Invito invito) {
+        if (invito.getStato() != StatoInvito.IN_ATTESA || invito.getDataInvio() == null || voci.containsKey(invito)) {
+            return;
+        }
+        Voce voce = new Voce(invito, invito.getDataInvio().toEpochDay() + giorniValidita);
+        secchio(voce.giorno).aggiungi(voce);
+        voci.put(invito, voce);
+        conta(invito, 1);
+    }
+
+    private boolean togli(Invito invito) {
+        Voce voce = voci.remove(invito);
+        if (voce == null) {
+            return false;
+        }
+        Secchio secchio = perGiorno.get(voce.giorno);
+        secchio.togli(voce);
+        if (secchio.testa == null) {
+            perGiorno.remove(voce.giorno);
+        }
+        conta(invito, -1);
+        return true;
+    }
+
+    private Secchio secchio(long giorno) {
+        return perGiorno.computeIfAbsent(giorno, g -> new Secchio());
+    }
+
+    private void conta(Invito invito, int delta) {
+        if (invito.getDestinatario() != null) {
+            aggiorna(pendentiUtente, invito.getDestinatario().getId(), delta);
+        }
+        if (invito.getTeam() != null) {
+            aggiorna(pendentiTeam, invito.getTeam().getId(), delta);
+        }
+    }
+
+    private static void aggiorna(Map<Long, int[]> contatori, Long id, int delta) {
+        int[] numero = contatori.computeIfAbsent(id, k -> new int[1]);
+        numero[0] += delta;
+        if (numero[0] == 0) {
+            contatori.remove(id);
+        }
+    }
+
+    private static void verificaGiorni(int giorniValidita) {
+        if (giorniValidita <= 0) {
+            throw new IllegalArgumentException("I giorni di validita' devono essere positivi");
+        }
+    }
+
+    /**
+     * Invito pendente, collegato agli altri che scadono lo stesso giorno.
+     */
+    private static final class Voce {
+        private final Invito invito;
+        private long giorno;
+        private Voce precedente;
+        private Voce successiva;
+
+        private Voce(Invito invito, long giorno) {
+            this.invito = invito;
+            this.giorno = giorno;
+        }
+    }
+
+    /**
+     * Lista doppiamente collegata degli inviti che scadono in un giorno.
+     */
+    private static final class Secchio {
+        private Voce testa;
+
+        private void aggiungi(Voce voce) {
+            voce.precedente = null;
+            voce.successiva = testa;
+            if (testa != null) {
+                testa.precedente = voce;
+            }
+            testa = voce;
+        }
+
+        private void togli(Voce voce) {
+            if (voce.precedente != null) {
+                voce.precedente.successiva = voce.successiva;
+            } else {
+                testa = voce.successiva;
+            }
+            if (voce.successiva != null) {
+                voce.successiva.precedente = voce.precedente;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hackhub.json;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe che contiene i nomi dei campi di un oggetto JSON gia' codificati.
+ *
+ * In scrittura ogni nome viene copiato come sequenza di byte "nome": senza
+ * codifica; in lettura il nome nel documento viene confrontato byte per byte,
+ * senza creare stringhe. Ogni codifica dichiara i propri campi una sola volta.
+ */
+public final class CampiJson {
+
+    /** Nomi in UTF-8 */
+    private final byte[][] nomi;
+
+    /** Nomi pronti per la scrittura: virgolette, nome, virgolette, due punti */
+    private final byte[][] codificati;
+
+    /**
+     * Costruttore della classe CampiJson.
+     *
+     * @param nomi I nomi dei campi, senza caratteri da sostituire con sequenze di escape
+     * @throws IllegalArgumentException se un nome contiene virgolette, backslash o caratteri di controllo
+     */
+    public CampiJson(String... nomi) {
+        this.nomi = new byte[nomi.length][];
+        this.codificati = new byte[nomi.length][];
+        for (int i = 0; i < nomi.length; i++) {
+            for (int c = 0; c < nomi[i].length(); c++) {
+                char carattere = nomi[i].charAt(c);
+                if (carattere == '"' || carattere == '\\' || carattere < 0x20) {
+                    throw new IllegalArgumentException("Nome di campo non valido: " + nomi[i]);
+                }
+            }
+            this.nomi[i] = nomi[i].getBytes(StandardCharsets.UTF_8);
+            this.codificati[i] = ("\"" + nomi[i] + "\":").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Restituisce la forma pronta per la scrittura del campo.
+     */
+    byte[] codificato(int indice) {
+        return codificati[indice];
+    }
+
+    /**
+     * Cerca il campo il cui nome coincide con i byte indicati.
+     *
+     * @return L'indice del campo, o -1 se non e' tra quelli dichiarati
+     */
+    int trova(byte[] dati, int da, int lunghezza) {
+        for (int i = 0; i < nomi.length; i++) {
+            byte[] nome = nomi[i];
+            if (nome.length != lunghezza) {
+                continue;
+            }
+            int c = 0;
+            while (c < lunghezza && nome[c] == dati[da + c]) {
+                c++;
+            }
+            if (c == lunghezza) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
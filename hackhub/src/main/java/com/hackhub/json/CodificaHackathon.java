@@ -0,0 +1,114 @@
+package com.hackhub.json;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Team;
+
+/**
+ * Codifica JSON di Hackathon. Le iscrizioni e il vincitore sono relazioni.
+ */
+final class CodificaHackathon implements CodificaJson<Hackathon> {
+
+    private static final CampiJson CAMPI = new CampiJson("id", "nome", "stato", "dataInizio", "dataFine",
+        "scadenzaIscrizioni", "luogo", "regolamento", "premio", "maxMembriTeam", "iscrizioni", "vincitore");
+    private static final int ID = 0;
+    private static final int NOME = 1;
+    private static final int STATO = 2;
+    private static final int DATA_INIZIO = 3;
+    private static final int DATA_FINE = 4;
+    private static final int SCADENZA_ISCRIZIONI = 5;
+    private static final int LUOGO = 6;
+    private static final int REGOLAMENTO = 7;
+    private static final int PREMIO = 8;
+    private static final int MAX_MEMBRI_TEAM = 9;
+    private static final int ISCRIZIONI = 10;
+    private static final int VINCITORE = 11;
+
+    private static final StatoHackathon[] STATI = StatoHackathon.values();
+
+    @Override
+    public Class<Hackathon> getCategoria() {
+        return Hackathon.class;
+    }
+
+    @Override
+    public long getId(Hackathon hackathon) {
+        return hackathon.getId();
+    }
+
+    @Override
+    public void scrivi(Hackathon hackathon, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, ID).valore(hackathon.getId());
+        scrittore.campo(CAMPI, NOME).valore(hackathon.getNome());
+        scrittore.campo(CAMPI, STATO).valore(hackathon.getStato());
+        scrittore.campo(CAMPI, DATA_INIZIO).valore(hackathon.getDataInizio());
+        scrittore.campo(CAMPI, DATA_FINE).valore(hackathon.getDataFine());
+        scrittore.campo(CAMPI, SCADENZA_ISCRIZIONI).valore(hackathon.getScadenzaIscrizioni());
+        scrittore.campo(CAMPI, LUOGO).valore(hackathon.getLuogo());
+        scrittore.campo(CAMPI, REGOLAMENTO).valore(hackathon.getRegolamento());
+        scrittore.campo(CAMPI, PREMIO).valore(hackathon.getPremio());
+        scrittore.campo(CAMPI, MAX_MEMBRI_TEAM).valore(hackathon.getMaxMembriTeam());
+        scrittore.campo(CAMPI, ISCRIZIONI);
+        contesto.riferimenti(scrittore, hackathon.getIscrizioni(), CodificheJson.ISCRIZIONE);
+        scrittore.campo(CAMPI, VINCITORE);
+        contesto.riferimento(scrittore, hackathon.getVincitore(), CodificheJson.TEAM);
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        Hackathon hackathon = new Hackathon(null, null, null, null);
+        long id = ContestoDecodifica.NESSUNO;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    hackathon.setId(id);
+                    contesto.registra(Hackathon.class, id, hackathon);
+                    break;
+                case NOME:
+                    hackathon.setNome(lettore.stringa());
+                    break;
+                case STATO:
+                    hackathon.setStato(lettore.enumerato(STATI));
+                    break;
+                case DATA_INIZIO:
+                    hackathon.setDataInizio(lettore.data());
+                    break;
+                case DATA_FINE:
+                    hackathon.setDataFine(lettore.data());
+                    break;
+                case SCADENZA_ISCRIZIONI:
+                    hackathon.setScadenzaIscrizioni(lettore.data());
+                    break;
+                case LUOGO:
+                    hackathon.setLuogo(lettore.stringa());
+                    break;
+                case REGOLAMENTO:
+                    hackathon.setRegolamento(lettore.stringa());
+                    break;
+                case PREMIO:
+                    hackathon.setPremio(lettore.decimale());
+                    break;
+                case MAX_MEMBRI_TEAM:
+                    hackathon.setMaxMembriTeam((int) lettore.intero());
+                    break;
+                case ISCRIZIONI:
+                    contesto.collezione(lettore, CodificheJson.ISCRIZIONE, hackathon, hackathon::aggiungiIscrizione);
+                    break;
+                case VINCITORE:
+                    contesto.seDisponibile(Team.class, contesto.riferimento(lettore, CodificheJson.TEAM),
+                        hackathon::setVincitore);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per Hackathon");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,107 @@
+package com.hackhub.json;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import java.time.LocalDate;
+
+/**
+ * Codifica JSON di Invito. L'invito viene costruito quando team e destinatario
+ * sono disponibili, perche' il costruttore li richiede.
+ */
+final class CodificaInvito implements CodificaJson<Invito> {
+
+    private static final CampiJson CAMPI = new CampiJson("id", "stato", "dataInvio", "dataRisposta",
+        "team", "destinatario");
+    private static final int ID = 0;
+    private static final int STATO = 1;
+    private static final int DATA_INVIO = 2;
+    private static final int DATA_RISPOSTA = 3;
+    private static final int TEAM = 4;
+    private static final int DESTINATARIO = 5;
+
+    private static final StatoInvito[] STATI = StatoInvito.values();
+
+    @Override
+    public Class<Invito> getCategoria() {
+        return Invito.class;
+    }
+
+    @Override
+    public long getId(Invito invito) {
+        return invito.getId();
+    }
+
+    @Override
+    public void scrivi(Invito invito, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, ID).valore(invito.getId());
+        scrittore.campo(CAMPI, STATO).valore(invito.getStato());
+        scrittore.campo(CAMPI, DATA_INVIO).valore(invito.getDataInvio());
+        scrittore.campo(CAMPI, DATA_RISPOSTA).valore(invito.getDataRisposta());
+        scrittore.campo(CAMPI, TEAM);
+        contesto.riferimento(scrittore, invito.getTeam(), CodificheJson.TEAM);
+        scrittore.campo(CAMPI, DESTINATARIO);
+        contesto.riferimento(scrittore, invito.getDestinatario(), CodificheJson.UTENTE);
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        long id = ContestoDecodifica.NESSUNO;
+        long idTeam = ContestoDecodifica.NESSUNO;
+        long idDestinatario = ContestoDecodifica.NESSUNO;
+        StatoInvito stato = null;
+        LocalDate dataInvio = null;
+        LocalDate dataRisposta = null;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    break;
+                case STATO:
+                    stato = lettore.enumerato(STATI);
+                    break;
+                case DATA_INVIO:
+                    dataInvio = lettore.data();
+                    break;
+                case DATA_RISPOSTA:
+                    dataRisposta = lettore.data();
+                    break;
+                case TEAM:
+                    idTeam = contesto.riferimento(lettore, CodificheJson.TEAM);
+                    break;
+                case DESTINATARIO:
+                    idDestinatario = contesto.riferimento(lettore, CodificheJson.UTENTE);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per Invito");
+        }
+
+        long idInvito = id;
+        long idUtente = idDestinatario;
+        StatoInvito statoLetto = stato;
+        LocalDate invio = dataInvio;
+        LocalDate risposta = dataRisposta;
+        contesto.quandoDisponibile(Team.class, idTeam, team ->
+            contesto.quandoDisponibile(UtenteAstratto.class, idUtente, destinatario -> {
+                Invito invito = new Invito(team, CodificaUtente.comeUtente(destinatario));
+                invito.setId(idInvito);
+                if (statoLetto != null) {
+                    invito.setStato(statoLetto);
+                }
+                if (invio != null) {
+                    invito.setDataInvio(invio);
+                }
+                invito.setDataRisposta(risposta);
+                contesto.registra(Invito.class, idInvito, invito);
+            }));
+        return id;
+    }
+}
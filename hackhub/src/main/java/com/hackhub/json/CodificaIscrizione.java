@@ -0,0 +1,98 @@
+package com.hackhub.json;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import java.time.LocalDate;
+
+/**
+ * Codifica JSON di Iscrizione. L'iscrizione viene costruita quando team e
+ * hackathon sono disponibili, perche' il costruttore li richiede.
+ */
+final class CodificaIscrizione implements CodificaJson<Iscrizione> {
+
+    private static final CampiJson CAMPI = new CampiJson("id", "dataIscrizione", "stato", "team", "hackathon");
+    private static final int ID = 0;
+    private static final int DATA_ISCRIZIONE = 1;
+    private static final int STATO = 2;
+    private static final int TEAM = 3;
+    private static final int HACKATHON = 4;
+
+    private static final StatoIscrizione[] STATI = StatoIscrizione.values();
+
+    @Override
+    public Class<Iscrizione> getCategoria() {
+        return Iscrizione.class;
+    }
+
+    @Override
+    public long getId(Iscrizione iscrizione) {
+        return iscrizione.getId();
+    }
+
+    @Override
+    public void scrivi(Iscrizione iscrizione, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, ID).valore(iscrizione.getId());
+        scrittore.campo(CAMPI, DATA_ISCRIZIONE).valore(iscrizione.getDataIscrizione());
+        scrittore.campo(CAMPI, STATO).valore(iscrizione.getStato());
+        scrittore.campo(CAMPI, TEAM);
+        contesto.riferimento(scrittore, iscrizione.getTeam(), CodificheJson.TEAM);
+        scrittore.campo(CAMPI, HACKATHON);
+        contesto.riferimento(scrittore, iscrizione.getHackathon(), CodificheJson.HACKATHON);
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        long id = ContestoDecodifica.NESSUNO;
+        long idTeam = ContestoDecodifica.NESSUNO;
+        long idHackathon = ContestoDecodifica.NESSUNO;
+        StatoIscrizione stato = null;
+        LocalDate dataIscrizione = null;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    break;
+                case DATA_ISCRIZIONE:
+                    dataIscrizione = lettore.data();
+                    break;
+                case STATO:
+                    stato = lettore.enumerato(STATI);
+                    break;
+                case TEAM:
+                    idTeam = contesto.riferimento(lettore, CodificheJson.TEAM);
+                    break;
+                case HACKATHON:
+                    idHackathon = contesto.riferimento(lettore, CodificheJson.HACKATHON);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per Iscrizione");
+        }
+
+        long idIscrizione = id;
+        long idEvento = idHackathon;
+        StatoIscrizione statoLetto = stato;
+        LocalDate data = dataIscrizione;
+        contesto.quandoDisponibile(Team.class, idTeam, team ->
+            contesto.quandoDisponibile(Hackathon.class, idEvento, hackathon -> {
+                Iscrizione iscrizione = new Iscrizione(team, hackathon);
+                iscrizione.setId(idIscrizione);
+                if (statoLetto != null) {
+                    iscrizione.setStato(statoLetto);
+                }
+                if (data != null) {
+                    iscrizione.setDataIscrizione(data);
+                }
+                contesto.registra(Iscrizione.class, idIscrizione, iscrizione);
+            }));
+        return id;
+    }
+}
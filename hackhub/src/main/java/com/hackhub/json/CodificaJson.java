@@ -0,0 +1,50 @@
+package com.hackhub.json;
+
+/**
+ * Interfaccia delle codifiche JSON di un'entita' del modello.
+ *
+ * Ogni implementazione conosce i campi della propria entita' e li scrive e
+ * legge direttamente, senza riflessione. Le relazioni verso altre entita'
+ * passano per il contesto, che decide se incorporarle o scriverne solo l'id.
+ *
+ * @param <T> Il tipo dell'entita'
+ */
+public interface CodificaJson<T> {
+
+    /**
+     * Restituisce la classe con cui le entita' vengono indicizzate per id
+     * durante la decodifica (per gli utenti: UtenteAstratto).
+     *
+     * @return La categoria dell'entita'
+     */
+    Class<T> getCategoria();
+
+    /**
+     * Restituisce l'id dell'entita', usato quando viene scritta per riferimento.
+     *
+     * @param entita L'entita'
+     * @return L'id
+     */
+    long getId(T entita);
+
+    /**
+     * Scrive l'entita' come oggetto JSON.
+     *
+     * @param entita     L'entita' da scrivere
+     * @param scrittore  Lo scrittore di destinazione
+     * @param contesto   Il contesto della codifica in corso
+     */
+    void scrivi(T entita, ScrittoreJson scrittore, ContestoCodifica contesto);
+
+    /**
+     * Legge un oggetto JSON e registra nel contesto l'entita' ricostruita.
+     * Un'entita' che dipende da riferimenti non ancora letti viene costruita
+     * appena questi diventano disponibili.
+     *
+     * @param lettore  Il lettore, posizionato sull'oggetto
+     * @param contesto Il contesto della decodifica in corso
+     * @return L'id dell'entita' letta
+     * @throws JsonNonValidoException se l'oggetto non descrive un'entita' valida
+     */
+    long leggi(LettoreJson lettore, ContestoDecodifica contesto);
+}
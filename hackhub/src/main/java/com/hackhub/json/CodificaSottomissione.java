@@ -0,0 +1,129 @@
+package com.hackhub.json;
+
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.time.LocalDate;
+
+/**
+ * Codifica JSON di Sottomissione. La sottomissione viene costruita quando
+ * team e hackathon sono disponibili, perche' il costruttore li richiede.
+ */
+final class CodificaSottomissione implements CodificaJson<Sottomissione> {
+
+    private static final CampiJson CAMPI = new CampiJson("id", "titolo", "descrizione", "urlRepository",
+        "contenuto", "dataInvio", "stato", "team", "hackathon");
+    private static final int ID = 0;
+    private static final int TITOLO = 1;
+    private static final int DESCRIZIONE = 2;
+    private static final int URL_REPOSITORY = 3;
+    private static final int CONTENUTO = 4;
+    private static final int DATA_INVIO = 5;
+    private static final int STATO = 6;
+    private static final int TEAM = 7;
+    private static final int HACKATHON = 8;
+
+    private static final StatoSottomissione[] STATI = StatoSottomissione.values();
+
+    @Override
+    public Class<Sottomissione> getCategoria() {
+        return Sottomissione.class;
+    }
+
+    @Override
+    public long getId(Sottomissione sottomissione) {
+        return sottomissione.getId();
+    }
+
+    @Override
+    public void scrivi(Sottomissione sottomissione, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, ID).valore(sottomissione.getId());
+        scrittore.campo(CAMPI, TITOLO).valore(sottomissione.getTitolo());
+        scrittore.campo(CAMPI, DESCRIZIONE).valore(sottomissione.getDescrizione());
+        scrittore.campo(CAMPI, URL_REPOSITORY).valore(sottomissione.getUrlRepository());
+        scrittore.campo(CAMPI, CONTENUTO).valore(sottomissione.getContenuto());
+        scrittore.campo(CAMPI, DATA_INVIO).valore(sottomissione.getDataInvio());
+        scrittore.campo(CAMPI, STATO).valore(sottomissione.getStato());
+        scrittore.campo(CAMPI, TEAM);
+        contesto.riferimento(scrittore, sottomissione.getTeam(), CodificheJson.TEAM);
+        scrittore.campo(CAMPI, HACKATHON);
+        contesto.riferimento(scrittore, sottomissione.getHackathon(), CodificheJson.HACKATHON);
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        long id = ContestoDecodifica.NESSUNO;
+        long idTeam = ContestoDecodifica.NESSUNO;
+        long idHackathon = ContestoDecodifica.NESSUNO;
+        String titolo = null;
+        String descrizione = null;
+        String urlRepository = null;
+        String contenuto = null;
+        LocalDate dataInvio = null;
+        StatoSottomissione stato = null;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    break;
+                case TITOLO:
+                    titolo = lettore.stringa();
+                    break;
+                case DESCRIZIONE:
+                    descrizione = lettore.stringa();
+                    break;
+                case URL_REPOSITORY:
+                    urlRepository = lettore.stringa();
+                    break;
+                case CONTENUTO:
+                    contenuto = lettore.stringa();
+                    break;
+                case DATA_INVIO:
+                    dataInvio = lettore.data();
+                    break;
+                case STATO:
+                    stato = lettore.enumerato(STATI);
+                    break;
+                case TEAM:
+                    idTeam = contesto.riferimento(lettore, CodificheJson.TEAM);
+                    break;
+                case HACKATHON:
+                    idHackathon = contesto.riferimento(lettore, CodificheJson.HACKATHON);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per Sottomissione");
+        }
+
+        long idSottomissione = id;
+        long idEvento = idHackathon;
+        String titoloLetto = titolo;
+        String url = urlRepository;
+        String descrizioneLetta = descrizione;
+        String contenutoLetto = contenuto;
+        LocalDate invio = dataInvio;
+        StatoSottomissione statoLetto = stato;
+        contesto.quandoDisponibile(Team.class, idTeam, team ->
+            contesto.quandoDisponibile(Hackathon.class, idEvento, hackathon -> {
+                Sottomissione sottomissione = new Sottomissione(team, hackathon, titoloLetto, url);
+                sottomissione.setId(idSottomissione);
+                sottomissione.setDescrizione(descrizioneLetta);
+                sottomissione.setContenuto(contenutoLetto);
+                if (invio != null) {
+                    sottomissione.setDataInvio(invio);
+                }
+                if (statoLetto != null) {
+                    sottomissione.setStato(statoLetto);
+                }
+                contesto.registra(Sottomissione.class, idSottomissione, sottomissione);
+            }));
+        return id;
+    }
+}
@@ -0,0 +1,100 @@
+package com.hackhub.json;
+
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+
+/**
+ * Codifica JSON di Team. Leader, membri, inviti, iscrizioni e sottomissioni sono relazioni.
+ */
+final class CodificaTeam implements CodificaJson<Team> {
+
+    private static final CampiJson CAMPI = new CampiJson("id", "nome", "descrizione", "dataCreazione",
+        "leader", "membri", "inviti", "iscrizioni", "sottomissioni");
+    private static final int ID = 0;
+    private static final int NOME = 1;
+    private static final int DESCRIZIONE = 2;
+    private static final int DATA_CREAZIONE = 3;
+    private static final int LEADER = 4;
+    private static final int MEMBRI = 5;
+    private static final int INVITI = 6;
+    private static final int ISCRIZIONI = 7;
+    private static final int SOTTOMISSIONI = 8;
+
+    @Override
+    public Class<Team> getCategoria() {
+        return Team.class;
+    }
+
+    @Override
+    public long getId(Team team) {
+        return team.getId();
+    }
+
+    @Override
+    public void scrivi(Team team, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, ID).valore(team.getId());
+        scrittore.campo(CAMPI, NOME).valore(team.getNome());
+        scrittore.campo(CAMPI, DESCRIZIONE).valore(team.getDescrizione());
+        scrittore.campo(CAMPI, DATA_CREAZIONE).valore(team.getDataCreazione());
+        scrittore.campo(CAMPI, LEADER);
+        contesto.riferimento(scrittore, team.getLeader(), CodificheJson.UTENTE);
+        scrittore.campo(CAMPI, MEMBRI);
+        contesto.riferimenti(scrittore, team.getMembri(), CodificheJson.UTENTE);
+        scrittore.campo(CAMPI, INVITI);
+        contesto.riferimenti(scrittore, team.getInviti(), CodificheJson.INVITO);
+        scrittore.campo(CAMPI, ISCRIZIONI);
+        contesto.riferimenti(scrittore, team.getIscrizioni(), CodificheJson.ISCRIZIONE);
+        scrittore.campo(CAMPI, SOTTOMISSIONI);
+        contesto.riferimenti(scrittore, team.getSottomissioni(), CodificheJson.SOTTOMISSIONE);
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        Team team = new Team(null, null);
+        long id = ContestoDecodifica.NESSUNO;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    team.setId(id);
+                    contesto.registra(Team.class, id, team);
+                    break;
+                case NOME:
+                    team.setNome(lettore.stringa());
+                    break;
+                case DESCRIZIONE:
+                    team.setDescrizione(lettore.stringa());
+                    break;
+                case DATA_CREAZIONE:
+                    team.setDataCreazione(lettore.data());
+                    break;
+                case LEADER:
+                    contesto.seDisponibile(UtenteAstratto.class, contesto.riferimento(lettore, CodificheJson.UTENTE),
+                        utente -> team.setLeader(CodificaUtente.comeLeader(utente)));
+                    break;
+                case MEMBRI:
+                    contesto.riferimenti(lettore, CodificheJson.UTENTE,
+                        utente -> team.addMembro(CodificaUtente.comeMembro(utente)));
+                    break;
+                case INVITI:
+                    contesto.collezione(lettore, CodificheJson.INVITO, team, team::aggiungiInvito);
+                    break;
+                case ISCRIZIONI:
+                    contesto.collezione(lettore, CodificheJson.ISCRIZIONE, team, team::aggiungiIscrizione);
+                    break;
+                case SOTTOMISSIONI:
+                    contesto.collezione(lettore, CodificheJson.SOTTOMISSIONE, team, team::aggiungiSottomissione);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per Team");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,195 @@
+package com.hackhub.json;
+
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.model.UtenteAstratto;
+import java.time.LocalDate;
+
+/**
+ * Codifica JSON della gerarchia degli utenti.
+ *
+ * Il campo tipo, sempre il primo, indica la classe concreta; i campi presenti
+ * dipendono da essa. La password non viene mai scritta. I membri dello staff
+ * vengono scritti ma non ricostruiti, perche' MembroStaff e' astratta.
+ */
+final class CodificaUtente implements CodificaJson<UtenteAstratto> {
+
+    private static final CampiJson CAMPI = new CampiJson("tipo", "id", "nome", "cognome", "email", "ruolo",
+        "team", "viceLeader", "dataIngresso", "competenze", "preferenze", "invitiRicevuti");
+    private static final int TIPO = 0;
+    private static final int ID = 1;
+    private static final int NOME = 2;
+    private static final int COGNOME = 3;
+    private static final int EMAIL = 4;
+    private static final int RUOLO = 5;
+    private static final int TEAM = 6;
+    private static final int VICE_LEADER = 7;
+    private static final int DATA_INGRESSO = 8;
+    private static final int COMPETENZE = 9;
+    private static final int PREFERENZE = 10;
+    private static final int INVITI_RICEVUTI = 11;
+
+    private static final TipoUtente[] TIPI = TipoUtente.values();
+
+    @Override
+    public Class<UtenteAstratto> getCategoria() {
+        return UtenteAstratto.class;
+    }
+
+    @Override
+    public long getId(UtenteAstratto utente) {
+        return utente.getId();
+    }
+
+    @Override
+    public void scrivi(UtenteAstratto utente, ScrittoreJson scrittore, ContestoCodifica contesto) {
+        scrittore.inizioOggetto();
+        scrittore.campo(CAMPI, TIPO).valore(tipo(utente));
+        scrittore.campo(CAMPI, ID).valore(utente.getId());
+        scrittore.campo(CAMPI, NOME).valore(utente.getNome());
+        scrittore.campo(CAMPI, COGNOME).valore(utente.getCognome());
+        scrittore.campo(CAMPI, EMAIL).valore(utente.getEmail());
+        if (utente instanceof MembroStaff) {
+            scrittore.campo(CAMPI, RUOLO).valore(((MembroStaff) utente).getRuolo());
+        }
+        if (utente instanceof Utente) {
+            Utente iscritto = (Utente) utente;
+            scrittore.campo(CAMPI, TEAM);
+            contesto.riferimento(scrittore, iscritto.getTeam(), CodificheJson.TEAM);
+            if (iscritto instanceof MembroTeam) {
+                MembroTeam membro = (MembroTeam) iscritto;
+                scrittore.campo(CAMPI, VICE_LEADER).valore(membro.isViceLeader());
+                scrittore.campo(CAMPI, DATA_INGRESSO).valore(membro.getDataIngresso());
+            }
+            scrittore.campo(CAMPI, COMPETENZE).inizioArray();
+            for (String competenza : iscritto.getCompetenze()) {
+                scrittore.valore(competenza);
+            }
+            scrittore.fineArray();
+            scrittore.campo(CAMPI, PREFERENZE).inizioArray();
+            for (String preferenza : iscritto.getPreferenze()) {
+                scrittore.valore(preferenza);
+            }
+            scrittore.fineArray();
+            scrittore.campo(CAMPI, INVITI_RICEVUTI);
+            contesto.riferimenti(scrittore, iscritto.getInvitiRicevuti(), CodificheJson.INVITO);
+        }
+        scrittore.fineOggetto();
+    }
+
+    @Override
+    public long leggi(LettoreJson lettore, ContestoDecodifica contesto) {
+        lettore.inizioOggetto();
+        if (lettore.campo(CAMPI) != TIPO) {
+            throw lettore.errore("Il campo tipo deve precedere gli altri campi dell'utente");
+        }
+        TipoUtente tipo = lettore.enumerato(TIPI);
+        Utente utente;
+        if (tipo == TipoUtente.LEADER) {
+            utente = new Leader(null, null, null, null);
+        } else if (tipo == TipoUtente.MEMBRO_TEAM) {
+            utente = new MembroTeam(null, null, null, null);
+        } else if (tipo == TipoUtente.UTENTE) {
+            utente = new Utente(null, null, null, null);
+        } else {
+            throw lettore.errore("Tipo di utente non ricostruibile: " + tipo);
+        }
+
+        long id = ContestoDecodifica.NESSUNO;
+        for (int campo = lettore.campo(CAMPI); campo != LettoreJson.FINE_OGGETTO; campo = lettore.campo(CAMPI)) {
+            switch (campo) {
+                case ID:
+                    id = lettore.intero();
+                    utente.setId(id);
+                    contesto.registra(UtenteAstratto.class, id, utente);
+                    break;
+                case NOME:
+                    utente.setNome(lettore.stringa());
+                    break;
+                case COGNOME:
+                    utente.setCognome(lettore.stringa());
+                    break;
+                case EMAIL:
+                    utente.setEmail(lettore.stringa());
+                    break;
+                case TEAM:
+                    contesto.seDisponibile(Team.class, contesto.riferimento(lettore, CodificheJson.TEAM),
+                        utente::setTeam);
+                    break;
+                case VICE_LEADER:
+                    boolean viceLeader = lettore.booleano();
+                    if (utente instanceof MembroTeam) {
+                        ((MembroTeam) utente).setViceLeader(viceLeader);
+                    }
+                    break;
+                case DATA_INGRESSO:
+                    LocalDate dataIngresso = lettore.data();
+                    if (utente instanceof MembroTeam) {
+                        ((MembroTeam) utente).setDataIngresso(dataIngresso);
+                    }
+                    break;
+                case COMPETENZE:
+                    lettore.inizioArray();
+                    while (lettore.prossimoElemento()) {
+                        utente.aggiungiCompetenza(lettore.stringa());
+                    }
+                    break;
+                case PREFERENZE:
+                    lettore.inizioArray();
+                    while (lettore.prossimoElemento()) {
+                        utente.aggiungiPreferenza(lettore.stringa());
+                    }
+                    break;
+                case INVITI_RICEVUTI:
+                    contesto.collezione(lettore, CodificheJson.INVITO, utente, utente::aggiungiInvito);
+                    break;
+                default:
+                    lettore.salta();
+            }
+        }
+        if (id == ContestoDecodifica.NESSUNO) {
+            throw lettore.errore("Campo id mancante per l'utente");
+        }
+        return id;
+    }
+
+    // ==================== CONVERSIONI ====================
+
+    static Utente comeUtente(UtenteAstratto utente) {
+        if (utente != null && !(utente instanceof Utente)) {
+            throw new JsonNonValidoException("L'utente " + utente.getId() + " non e' un Utente", -1);
+        }
+        return (Utente) utente;
+    }
+
+    static MembroTeam comeMembro(UtenteAstratto utente) {
+        if (utente != null && !(utente instanceof MembroTeam)) {
+            throw new JsonNonValidoException("L'utente " + utente.getId() + " non e' un MembroTeam", -1);
+        }
+        return (MembroTeam) utente;
+    }
+
+    static Leader comeLeader(UtenteAstratto utente) {
+        if (utente != null && !(utente instanceof Leader)) {
+            throw new JsonNonValidoException("L'utente " + utente.getId() + " non e' un Leader", -1);
+        }
+        return (Leader) utente;
+    }
+
+    private static TipoUtente tipo(UtenteAstratto utente) {
+        if (utente instanceof Leader) {
+            return TipoUtente.LEADER;
+        }
+        if (utente instanceof MembroTeam) {
+            return TipoUtente.MEMBRO_TEAM;
+        }
+        if (utente instanceof Utente) {
+            return TipoUtente.UTENTE;
+        }
+        return TipoUtente.MEMBRO_STAFF;
+    }
+}
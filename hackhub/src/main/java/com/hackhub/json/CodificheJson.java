@@ -0,0 +1,154 @@
+package com.hackhub.json;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe che raccoglie le codifiche JSON del modello e le operazioni per
+ * codificare e decodificare documenti interi.
+ *
+ * Le codifiche sono scritte a mano, una per entita', e non usano riflessione:
+ * in scrittura copiano i nomi dei campi gia' codificati in un buffer riusato,
+ * in lettura confrontano i nomi byte per byte e impostano i campi con i setter.
+ *
+ * La decodifica avviene con la pubblicazione degli eventi sospesa, come ogni
+ * ricostruzione di entita' (replica, archivio): le entita' decodificate sono
+ * copie, non operazioni degli utenti.
+ */
+public final class CodificheJson {
+
+    public static final CodificaJson<Hackathon> HACKATHON = new CodificaHackathon();
+
+    public static final CodificaJson<Team> TEAM = new CodificaTeam();
+
+    public static final CodificaJson<UtenteAstratto> UTENTE = new CodificaUtente();
+
+    public static final CodificaJson<Invito> INVITO = new CodificaInvito();
+
+    public static final CodificaJson<Iscrizione> ISCRIZIONE = new CodificaIscrizione();
+
+    public static final CodificaJson<Sottomissione> SOTTOMISSIONE = new CodificaSottomissione();
+
+    private CodificheJson() {
+    }
+
+    // ==================== CODIFICA ====================
+
+    /**
+     * Codifica un'entita' con lo scrittore del thread corrente.
+     *
+     * @param entita     L'entita' da codificare
+     * @param codifica   La codifica dell'entita'
+     * @param profondita Livelli di relazioni da incorporare (ContestoCodifica.SOLO_ID, 1, ...)
+     * @return Il documento JSON in UTF-8
+     */
+    public static <T> byte[] codifica(T entita, CodificaJson<T> codifica, int profondita) {
+        ScrittoreJson scrittore = ScrittoreJson.perThread();
+        codifica(entita, codifica, new ContestoCodifica(profondita), scrittore);
+        return scrittore.toByteArray();
+    }
+
+    /**
+     * Codifica un'entita' in coda allo scrittore, riusando contesto e buffer del chiamante.
+     *
+     * @param entita    L'entita' da codificare
+     * @param codifica  La codifica dell'entita'
+     * @param contesto  Il contesto, reimpostato prima della codifica
+     * @param scrittore Lo scrittore di destinazione
+     */
+    public static <T> void codifica(T entita, CodificaJson<T> codifica, ContestoCodifica contesto,
+                                    ScrittoreJson scrittore) {
+        contesto.reimposta();
+        contesto.scrivi(scrittore, entita, codifica);
+    }
+
+    /**
+     * Codifica piu' entita' come array JSON. Ogni entita' condivisa compare
+     * una sola volta nel documento.
+     *
+     * @param entita    Le entita' da codificare
+     * @param codifica  La codifica delle entita'
+     * @param contesto  Il contesto, reimpostato prima della codifica
+     * @param scrittore Lo scrittore di destinazione
+     */
+    public static <T> void codificaTutte(List<? extends T> entita, CodificaJson<T> codifica,
+                                         ContestoCodifica contesto, ScrittoreJson scrittore) {
+        contesto.reimposta();
+        scrittore.inizioArray();
+        for (T elemento : entita) {
+            contesto.riferimento(scrittore, elemento, codifica);
+        }
+        scrittore.fineArray();
+    }
+
+    // ==================== DECODIFICA ====================
+
+    /**
+     * Decodifica un documento che contiene una sola entita'.
+     *
+     * @param dati       Il documento JSON in UTF-8
+     * @param codifica   La codifica dell'entita'
+     * @param risolutore Il risolutore dei riferimenti esterni al documento (null per nessuno)
+     * @return L'entita' ricostruita, con le relazioni incluse nel documento o risolte
+     * @throws JsonNonValidoException se il documento non e' valido
+     */
+    public static <T> T decodifica(byte[] dati, CodificaJson<T> codifica, RisolutoreRiferimenti risolutore) {
+        List<T> risultato = new ArrayList<>(1);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            LettoreJson lettore = new LettoreJson(dati);
+            ContestoDecodifica contesto = new ContestoDecodifica(risolutore);
+            long id = codifica.leggi(lettore, contesto);
+            if (!lettore.isFinito()) {
+                throw lettore.errore("Contenuto dopo la fine del documento");
+            }
+            contesto.completa();
+            risultato.add(contesto.trova(codifica.getCategoria(), id));
+        });
+        return risultato.get(0);
+    }
+
+    /**
+     * Decodifica un array di entita' scritto da codificaTutte(). I riferimenti
+     * tra elementi dell'array vengono risolti tra loro.
+     *
+     * @param dati       Il documento JSON in UTF-8
+     * @param codifica   La codifica delle entita'
+     * @param risolutore Il risolutore dei riferimenti esterni al documento (null per nessuno)
+     * @return Le entita' ricostruite, nell'ordine del documento
+     * @throws JsonNonValidoException se il documento non e' valido
+     */
+    public static <T> List<T> decodificaTutte(byte[] dati, CodificaJson<T> codifica,
+                                              RisolutoreRiferimenti risolutore) {
+        List<T> risultato = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            LettoreJson lettore = new LettoreJson(dati);
+            ContestoDecodifica contesto = new ContestoDecodifica(risolutore);
+            List<Long> id = new ArrayList<>();
+            lettore.inizioArray();
+            while (lettore.prossimoElemento()) {
+                id.add(contesto.riferimento(lettore, codifica));
+            }
+            if (!lettore.isFinito()) {
+                throw lettore.errore("Contenuto dopo la fine del documento");
+            }
+            contesto.completa();
+            for (long elemento : id) {
+                T entita = contesto.trova(codifica.getCategoria(), elemento);
+                if (entita == null) {
+                    throw new JsonNonValidoException("Riferimento non risolto: "
+                        + codifica.getCategoria().getSimpleName() + "[" + elemento + "]", -1);
+                }
+                risultato.add(entita);
+            }
+        });
+        return Collections.unmodifiableList(risultato);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hackhub.json;
+
+import com.hackhub.model.Idratabile;
+import java.util.function.Consumer;
+
+/**
+ * Interfaccia per rinviare il caricamento delle collezioni durante la decodifica.
+ *
+ * Con un ContestoDecodifica costruito con questa interfaccia, gli array di
+ * riferimenti delle collezioni (iscrizioni, inviti, sottomissioni) non vengono
+ * risolti subito: gli id vengono passati a rinvia(), che ne pianifica il
+ * caricamento al primo accesso alla collezione.
+ */
+@FunctionalInterface
+public interface CollezioniPigre {
+
+    /**
+     * Pianifica il caricamento di una collezione.
+     *
+     * @param proprietario L'entita' a cui appartiene la collezione
+     * @param codifica     La codifica degli elementi
+     * @param id           Gli id degli elementi, nell'ordine del documento
+     * @param azione       L'azione che aggiunge un elemento alla collezione
+     */
+    <T> void rinvia(Idratabile proprietario, CodificaJson<T> codifica, long[] id, Consumer<? super T> azione);
+}
@@ -0,0 +1,116 @@
+package com.hackhub.json;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe che tiene lo stato di una codifica JSON: profondita' e entita' gia' scritte.
+ *
+ * Una relazione viene incorporata come oggetto se non si supera la profondita'
+ * configurata e l'entita' non e' gia' stata scritta nel documento; altrimenti
+ * viene scritto solo il suo id. In questo modo i cicli del modello
+ * (Team - Leader - Team) terminano sempre.
+ *
+ * - SOLO_ID: le relazioni sono sempre id
+ * - 1: le relazioni dirette vengono incorporate, quelle successive sono id
+ * - GRAFO_COMPLETO: ogni entita' raggiungibile viene incorporata una volta
+ *
+ * Il contesto puo' essere riusato tra documenti chiamando reimposta().
+ */
+public class ContestoCodifica {
+
+    /** Profondita' che scrive ogni relazione come id */
+    public static final int SOLO_ID = 0;
+
+    /** Profondita' che incorpora tutte le entita' raggiungibili */
+    public static final int GRAFO_COMPLETO = Integer.MAX_VALUE;
+
+    /** Livelli di relazioni da incorporare */
+    private final int profondita;
+
+    /** Livello corrente di annidamento */
+    private int livello;
+
+    /** Entita' gia' scritte nel documento corrente */
+    private final Set<Object> scritte = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Costruttore della classe ContestoCodifica.
+     *
+     * @param profondita Livelli di relazioni da incorporare (>= 0)
+     * @throws IllegalArgumentException se la profondita' e' negativa
+     */
+    public ContestoCodifica(int profondita) {
+        if (profondita < 0) {
+            throw new IllegalArgumentException("La profondita' non puo' essere negativa");
+        }
+        this.profondita = profondita;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getProfondita() {
+        return profondita;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Prepara il contesto per un nuovo documento.
+     */
+    public void reimposta() {
+        scritte.clear();
+        livello = 0;
+    }
+
+    /**
+     * Scrive un'entita' come oggetto completo.
+     *
+     * @param scrittore Lo scrittore
+     * @param entita    L'entita' da scrivere
+     * @param codifica  La codifica dell'entita'
+     */
+    public <T> void scrivi(ScrittoreJson scrittore, T entita, CodificaJson<T> codifica) {
+        scritte.add(entita);
+        livello++;
+        try {
+            codifica.scrivi(entita, scrittore, this);
+        } finally {
+            livello--;
+        }
+    }
+
+    /**
+     * Scrive una relazione: oggetto incorporato, id oppure null.
+     *
+     * @param scrittore Lo scrittore
+     * @param entita    L'entita' collegata (null ammesso)
+     * @param codifica  La codifica dell'entita'
+     */
+    public <T> void riferimento(ScrittoreJson scrittore, T entita, CodificaJson<T> codifica) {
+        if (entita == null) {
+            scrittore.nullo();
+        } else if (livello > profondita || scritte.contains(entita)) {
+            scrittore.valore(codifica.getId(entita));
+        } else {
+            scrivi(scrittore, entita, codifica);
+        }
+    }
+
+    /**
+     * Scrive una collezione di relazioni come array.
+     *
+     * @param scrittore Lo scrittore
+     * @param entita    Le entita' collegate
+     * @param codifica  La codifica delle entita'
+     */
+    public <T> void riferimenti(ScrittoreJson scrittore, List<? extends T> entita, CodificaJson<T> codifica) {
+        scrittore.inizioArray();
+        for (int i = 0; i < entita.size(); i++) {
+            riferimento(scrittore, entita.get(i), codifica);
+        }
+        scrittore.fineArray();
+    }
+}
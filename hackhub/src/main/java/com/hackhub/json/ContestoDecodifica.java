@@ -0,0 +1,305 @@
+package com.hackhub.json;
+
+import com.hackhub.model.Idratabile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Classe che tiene lo stato di una decodifica JSON: entita' ricostruite per id
+ * e azioni in attesa di un riferimento non ancora letto.
+ *
+ * Un riferimento nel documento puo' essere un oggetto incorporato o un id. Se
+ * l'entita' non e' ancora stata ricostruita, l'azione che la usa (impostare una
+ * relazione, costruire un Invito che ne ha bisogno) viene eseguita appena
+ * l'entita' viene registrata. Alla fine, completa() chiede al risolutore le
+ * entita' mancanti; per quelle che nemmeno il risolutore conosce:
+ * - le azioni registrate con quandoDisponibile() ricevono null (la relazione resta vuota)
+ * - le azioni registrate con seDisponibile() vengono scartate
+ *
+ * Il risolutore puo' decodificare l'entita' richiesta nello stesso contesto:
+ * i riferimenti del nuovo documento si risolvono con le entita' gia' presenti.
+ * Con CollezioniPigre gli elementi delle collezioni non vengono risolti ma
+ * rinviati al primo accesso.
+ */
+public class ContestoDecodifica {
+
+    /** Id che indica un riferimento null */
+    public static final long NESSUNO = Long.MIN_VALUE;
+
+    /** Risolutore delle entita' non incluse nel documento */
+    private final RisolutoreRiferimenti risolutore;
+
+    /** Entita' ricostruite per categoria e id */
+    private final Map<Class<?>, Map<Long, Object>> entita = new HashMap<>();
+
+    /** Azioni in attesa per categoria e id */
+    private final Map<Class<?>, Map<Long, List<Attesa>>> inAttesa = new HashMap<>();
+
+    /** Caricamento rinviato delle collezioni (null per risolverle subito) */
+    private final CollezioniPigre pigre;
+
+    /** Numero di azioni in attesa */
+    private int numeroInAttesa;
+
+    /**
+     * Costruttore della classe ContestoDecodifica.
+     *
+     * @param risolutore Il risolutore dei riferimenti esterni al documento
+     */
+    public ContestoDecodifica(RisolutoreRiferimenti risolutore) {
+        this(risolutore, null);
+    }
+
+    /**
+     * Costruttore con caricamento rinviato delle collezioni.
+     *
+     * @param risolutore Il risolutore dei riferimenti esterni al documento
+     * @param pigre      Chi pianifica il caricamento delle collezioni (null per risolverle subito)
+     */
+    public ContestoDecodifica(RisolutoreRiferimenti risolutore, CollezioniPigre pigre) {
+        this.risolutore = risolutore != null ? risolutore : RisolutoreRiferimenti.NESSUNO;
+        this.pigre = pigre;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce un'entita' gia' ricostruita.
+     *
+     * @param categoria La categoria dell'entita'
+     * @param id        L'id dell'entita'
+     * @return L'entita', o null se non e' (ancora) disponibile
+     */
+    public <T> T trova(Class<T> categoria, long id) {
+        Map<Long, Object> perId = entita.get(categoria);
+        return perId != null ? categoria.cast(perId.get(id)) : null;
+    }
+
+    public int getNumeroInAttesa() {
+        return numeroInAttesa;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra un'entita' ricostruita ed esegue le azioni che la attendevano.
+     *
+     * @param categoria La categoria dell'entita'
+     * @param id        L'id dell'entita'
+     * @param valore    L'entita'
+     * @throws JsonNonValidoException se il documento contiene due entita' con lo stesso id
+     */
+    public <T> void registra(Class<T> categoria, long id, T valore) {
+        if (entita.computeIfAbsent(categoria, c -> new HashMap<>()).putIfAbsent(id, valore) != null) {
+            throw new JsonNonValidoException("Entita' duplicata: " + categoria.getSimpleName() + "[" + id + "]", -1);
+        }
+        Map<Long, List<Attesa>> attese = inAttesa.get(categoria);
+        List<Attesa> azioni = attese != null ? attese.remove(id) : null;
+        if (azioni != null) {
+            numeroInAttesa -= azioni.size();
+            for (Attesa attesa : azioni) {
+                attesa.azione.accept(valore);
+            }
+        }
+    }
+
+    /**
+     * Esegue l'azione con l'entita' indicata appena e' disponibile.
+     * Con id NESSUNO l'azione riceve subito null; se l'entita' non viene
+     * trovata riceve null in completa().
+     *
+     * @param categoria La categoria dell'entita'
+     * @param id        L'id dell'entita' o NESSUNO
+     * @param azione    L'azione da eseguire
+     */
+    public <T> void quandoDisponibile(Class<T> categoria, long id, Consumer<? super T> azione) {
+        if (id == NESSUNO) {
+            azione.accept(null);
+        } else {
+            attendi(categoria, id, azione, true);
+        }
+    }
+
+    /**
+     * Come quandoDisponibile(), ma l'azione viene scartata se l'entita' non
+     * si trova ne' nel documento ne' nel risolutore, o se l'id e' NESSUNO.
+     * Usato per aggiungere elementi a una collezione.
+     *
+     * @param categoria La categoria dell'entita'
+     * @param id        L'id dell'entita' o NESSUNO
+     * @param azione    L'azione da eseguire
+     */
+    public <T> void seDisponibile(Class<T> categoria, long id, Consumer<? super T> azione) {
+        if (id != NESSUNO) {
+            attendi(categoria, id, azione, false);
+        }
+    }
+
+    /**
+     * Legge un riferimento: null, id oppure oggetto incorporato (che viene decodificato).
+     *
+     * @param lettore  Il lettore posizionato sul valore
+     * @param codifica La codifica dell'entita' riferita
+     * @return L'id dell'entita', o NESSUNO per null
+     */
+    public long riferimento(LettoreJson lettore, CodificaJson<?> codifica) {
+        if (lettore.nullo()) {
+            return NESSUNO;
+        }
+        if (lettore.isOggetto()) {
+            return codifica.leggi(lettore, this);
+        }
+        return lettore.intero();
+    }
+
+    /**
+     * Legge un array di riferimenti ed esegue l'azione per ogni entita' disponibile.
+     *
+     * @param lettore  Il lettore posizionato sull'array
+     * @param codifica La codifica delle entita' riferite
+     * @param azione   L'azione da eseguire per ogni entita'
+     */
+    public <T> void riferimenti(LettoreJson lettore, CodificaJson<T> codifica, Consumer<? super T> azione) {
+        if (lettore.nullo()) {
+            return;
+        }
+        lettore.inizioArray();
+        while (lettore.prossimoElemento()) {
+            seDisponibile(codifica.getCategoria(), riferimento(lettore, codifica), azione);
+        }
+    }
+
+    /**
+     * Legge l'array di una collezione dell'entita' proprietaria. Senza
+     * CollezioniPigre equivale a riferimenti(); altrimenti gli oggetti
+     * incorporati vengono decodificati e il collegamento di tutti gli elementi
+     * viene rinviato.
+     *
+     * @param lettore      Il lettore posizionato sull'array
+     * @param codifica     La codifica degli elementi
+     * @param proprietario L'entita' a cui appartiene la collezione
+     * @param azione       L'azione che aggiunge un elemento alla collezione
+     */
+    public <T> void collezione(LettoreJson lettore, CodificaJson<T> codifica, Idratabile proprietario,
+                               Consumer<? super T> azione) {
+        if (pigre == null) {
+            riferimenti(lettore, codifica, azione);
+            return;
+        }
+        if (lettore.nullo()) {
+            return;
+        }
+        long[] id = new long[8];
+        int numero = 0;
+        lettore.inizioArray();
+        while (lettore.prossimoElemento()) {
+            long elemento = riferimento(lettore, codifica);
+            if (elemento != NESSUNO) {
+                if (numero == id.length) {
+                    id = Arrays.copyOf(id, numero * 2);
+                }
+                id[numero++] = elemento;
+            }
+        }
+        if (numero > 0) {
+            pigre.rinvia(proprietario, codifica, Arrays.copyOf(id, numero), azione);
+        }
+    }
+
+    /**
+     * Risolve con il risolutore i riferimenti rimasti in attesa.
+     */
+    public void completa() {
+        while (numeroInAttesa > 0) {
+            // Prima le entita' attese da quandoDisponibile(): le loro azioni possono registrare
+            // entita' incorporate che una collezione sta aspettando (es. un'iscrizione che
+            // attende il suo hackathon). Chieste prima al risolutore, verrebbero scartate
+            if (!risolviAttese(true)) {
+                risolviAttese(false);
+            }
+        }
+    }
+
+    /**
+     * Risolve le entita' in attesa al momento della chiamata.
+     *
+     * @param soloNecessarie true per risolvere solo quelle con un'azione da eseguire anche se assenti
+     * @return true se almeno un'entita' e' stata risolta
+     */
+    private boolean risolviAttese(boolean soloNecessarie) {
+        List<Map.Entry<Class<?>, Long>> daRisolvere = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<Long, List<Attesa>>> voce : inAttesa.entrySet()) {
+            for (Map.Entry<Long, List<Attesa>> attese : voce.getValue().entrySet()) {
+                if (!soloNecessarie || necessaria(attese.getValue())) {
+                    daRisolvere.add(Map.entry(voce.getKey(), attese.getKey()));
+                }
+            }
+        }
+        for (Map.Entry<Class<?>, Long> entita : daRisolvere) {
+            // Nel frattempo l'entita' puo' essere stata registrata da un'altra azione
+            if (inAttesa.get(entita.getKey()).containsKey(entita.getValue())) {
+                risolvi(entita.getKey(), entita.getValue());
+            }
+        }
+        return !daRisolvere.isEmpty();
+    }
+
+    private static boolean necessaria(List<Attesa> attese) {
+        for (Attesa attesa : attese) {
+            if (attesa.ancheSeAssente) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> void risolvi(Class<T> categoria, long id) {
+        // Le azioni vengono tolte prima: il risolutore puo' decodificare l'entita' in questo contesto
+        List<Attesa> azioni = inAttesa.get(categoria).remove(id);
+        numeroInAttesa -= azioni.size();
+        Object trovata = risolutore.risolvi(categoria, id);
+        T entitaRisolta = trova(categoria, id);
+        if (entitaRisolta == null && categoria.isInstance(trovata)) {
+            entitaRisolta = categoria.cast(trovata);
+            registra(categoria, id, entitaRisolta);
+        }
+        for (Attesa attesa : azioni) {
+            if (entitaRisolta != null || attesa.ancheSeAssente) {
+                attesa.azione.accept(entitaRisolta);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void attendi(Class<T> categoria, long id, Consumer<? super T> azione, boolean ancheSeAssente) {
+        T trovata = trova(categoria, id);
+        if (trovata != null) {
+            azione.accept(trovata);
+            return;
+        }
+        inAttesa.computeIfAbsent(categoria, c -> new HashMap<>())
+            .computeIfAbsent(id, i -> new ArrayList<>(2))
+            .add(new Attesa((Consumer<Object>) azione, ancheSeAssente));
+        numeroInAttesa++;
+    }
+
+    /**
+     * Azione in attesa di un'entita'.
+     */
+    private static final class Attesa {
+
+        private final Consumer<Object> azione;
+
+        /** true se l'azione va eseguita con null quando l'entita' non si trova */
+        private final boolean ancheSeAssente;
+
+        private Attesa(Consumer<Object> azione, boolean ancheSeAssente) {
+            this.azione = azione;
+            this.ancheSeAssente = ancheSeAssente;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hackhub.json;
+
+/**
+ * Eccezione lanciata quando un documento JSON non e' valido o non descrive
+ * un'entita' del modello ricostruibile.
+ */
+public class JsonNonValidoException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Posizione in byte dell'errore nel documento (-1 se non applicabile) */
+    private final int posizione;
+
+    /**
+     * Costruttore della classe JsonNonValidoException.
+     *
+     * @param messaggio Descrizione dell'errore
+     * @param posizione Posizione in byte dell'errore, -1 se non applicabile
+     */
+    public JsonNonValidoException(String messaggio, int posizione) {
+        super(posizione >= 0 ? messaggio + " (posizione " + posizione + ")" : messaggio);
+        this.posizione = posizione;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getPosizione() {
+        return posizione;
+    }
+}
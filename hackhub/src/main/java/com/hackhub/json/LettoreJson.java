@@ -0,0 +1,495 @@
+package com.hackhub.json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Classe che legge JSON in UTF-8 da un array di byte, un token alla volta.
+ *
+ * Il chiamante guida la lettura secondo la struttura attesa (inizioOggetto,
+ * campo, valore...), quindi non viene costruito alcun albero intermedio. I nomi
+ * dei campi vengono confrontati con CampiJson senza creare stringhe e i campi
+ * sconosciuti possono essere saltati con salta().
+ *
+ * Le violazioni della sintassi lanciano JsonNonValidoException con la posizione.
+ */
+public class LettoreJson {
+
+    /** Valore restituito da campo() alla fine dell'oggetto */
+    public static final int FINE_OGGETTO = -1;
+
+    /** Valore restituito da campo() per un campo non dichiarato */
+    public static final int CAMPO_SCONOSCIUTO = -2;
+
+    /** Documento da leggere */
+    private final byte[] dati;
+
+    /** Posizione del prossimo byte da leggere */
+    private int posizione;
+
+    /** Posizione successiva all'ultimo byte del documento */
+    private final int fine;
+
+    /**
+     * Costruttore per leggere un intero array.
+     *
+     * @param dati Il documento in UTF-8
+     */
+    public LettoreJson(byte[] dati) {
+        this(dati, 0, dati.length);
+    }
+
+    /**
+     * Costruttore della classe LettoreJson.
+     *
+     * @param dati Il buffer che contiene il documento in UTF-8
+     * @param da   La posizione del primo byte
+     * @param a    La posizione successiva all'ultimo byte
+     */
+    public LettoreJson(byte[] dati, int da, int a) {
+        if (da < 0 || a > dati.length || da > a) {
+            throw new IllegalArgumentException("Intervallo non valido nel buffer");
+        }
+        this.dati = dati;
+        this.posizione = da;
+        this.fine = a;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getPosizione() {
+        return posizione;
+    }
+
+    /**
+     * Verifica se restano solo spazi fino alla fine del documento.
+     *
+     * @return true se il documento e' terminato
+     */
+    public boolean isFinito() {
+        spazi();
+        return posizione == fine;
+    }
+
+    /**
+     * Verifica se il prossimo valore e' un oggetto, senza consumarlo.
+     */
+    public boolean isOggetto() {
+        spazi();
+        return posizione < fine && dati[posizione] == '{';
+    }
+
+    /**
+     * Verifica se il prossimo valore e' un numero, senza consumarlo.
+     */
+    public boolean isNumero() {
+        spazi();
+        return posizione < fine && (dati[posizione] == '-' || dati[posizione] >= '0' && dati[posizione] <= '9');
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    public void inizioOggetto() {
+        atteso('{');
+    }
+
+    public void inizioArray() {
+        atteso('[');
+    }
+
+    /**
+     * Legge il nome del prossimo campo dell'oggetto corrente, compresi i due punti.
+     *
+     * @param campi I campi dichiarati dall'oggetto
+     * @return L'indice del campo, FINE_OGGETTO se l'oggetto e' terminato
+     *         (la parentesi viene consumata) o CAMPO_SCONOSCIUTO
+     */
+    public int campo(CampiJson campi) {
+        spazi();
+        if (posizione < fine && dati[posizione] == ',') {
+            posizione++;
+            spazi();
+        }
+        if (posizione < fine && dati[posizione] == '}') {
+            posizione++;
+            return FINE_OGGETTO;
+        }
+        atteso('"');
+        int inizio = posizione;
+        while (posizione < fine && dati[posizione] != '"') {
+            if (dati[posizione] == '\\') {
+                posizione = inizio - 1;
+                String nome = stringa();
+                atteso(':');
+                byte[] byteNome = nome.getBytes(StandardCharsets.UTF_8);
+                int indice = campi.trova(byteNome, 0, byteNome.length);
+                return indice >= 0 ? indice : CAMPO_SCONOSCIUTO;
+            }
+            posizione++;
+        }
+        if (posizione >= fine) {
+            throw errore("Nome di campo non terminato");
+        }
+        int indice = campi.trova(dati, inizio, posizione - inizio);
+        posizione++;
+        atteso(':');
+        return indice >= 0 ? indice : CAMPO_SCONOSCIUTO;
+    }
+
+    /**
+     * Avanza al prossimo elemento dell'array corrente.
+     *
+     * @return true se c'e' un elemento da leggere, false se l'array e' terminato
+     *         (la parentesi viene consumata)
+     */
+    public boolean prossimoElemento() {
+        spazi();
+        if (posizione < fine && dati[posizione] == ',') {
+            posizione++;
+            spazi();
+        }
+        if (posizione < fine && dati[posizione] == ']') {
+            posizione++;
+            return false;
+        }
+        if (posizione >= fine) {
+            throw errore("Array non terminato");
+        }
+        return true;
+    }
+
+    /**
+     * Consuma null se e' il prossimo valore.
+     *
+     * @return true se il valore era null
+     */
+    public boolean nullo() {
+        spazi();
+        if (fine - posizione >= 4 && dati[posizione] == 'n' && dati[posizione + 1] == 'u'
+                && dati[posizione + 2] == 'l' && dati[posizione + 3] == 'l') {
+            posizione += 4;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean booleano() {
+        spazi();
+        if (fine - posizione >= 4 && dati[posizione] == 't' && dati[posizione + 1] == 'r'
+                && dati[posizione + 2] == 'u' && dati[posizione + 3] == 'e') {
+            posizione += 4;
+            return true;
+        }
+        if (fine - posizione >= 5 && dati[posizione] == 'f' && dati[posizione + 1] == 'a'
+                && dati[posizione + 2] == 'l' && dati[posizione + 3] == 's' && dati[posizione + 4] == 'e') {
+            posizione += 5;
+            return false;
+        }
+        throw errore("Atteso un booleano");
+    }
+
+    public long intero() {
+        spazi();
+        boolean negativo = posizione < fine && dati[posizione] == '-';
+        if (negativo) {
+            posizione++;
+        }
+        int inizio = posizione;
+        long valore = 0;
+        while (posizione < fine && dati[posizione] >= '0' && dati[posizione] <= '9') {
+            if (posizione - inizio >= 18) {
+                posizione = negativo ? inizio - 1 : inizio;
+                try {
+                    return Long.parseLong(testoNumero());
+                } catch (NumberFormatException e) {
+                    throw errore("Atteso un numero intero");
+                }
+            }
+            valore = valore * 10 + (dati[posizione++] - '0');
+        }
+        if (posizione == inizio) {
+            throw errore("Atteso un numero intero");
+        }
+        if (posizione < fine && (dati[posizione] == '.' || dati[posizione] == 'e' || dati[posizione] == 'E')) {
+            throw errore("Atteso un numero intero");
+        }
+        return negativo ? -valore : valore;
+    }
+
+    public double decimale() {
+        spazi();
+        try {
+            return Double.parseDouble(testoNumero());
+        } catch (NumberFormatException e) {
+            throw errore("Atteso un numero");
+        }
+    }
+
+    /**
+     * Legge una stringa; null e' ammesso.
+     *
+     * @return La stringa letta, o null
+     */
+    public String stringa() {
+        if (nullo()) {
+            return null;
+        }
+        atteso('"');
+        int inizio = posizione;
+        boolean ascii = true;
+        while (posizione < fine) {
+            byte b = dati[posizione];
+            if (b == '"') {
+                String valore = ascii
+                    ? new String(dati, inizio, posizione - inizio, StandardCharsets.ISO_8859_1)
+                    : new String(dati, inizio, posizione - inizio, StandardCharsets.UTF_8);
+                posizione++;
+                return valore;
+            }
+            if (b == '\\') {
+                return stringaConEscape(inizio);
+            }
+            ascii &= b >= 0;
+            posizione++;
+        }
+        throw errore("Stringa non terminata");
+    }
+
+    /**
+     * Legge una data ISO yyyy-MM-dd; null e' ammesso.
+     *
+     * @return La data letta, o null
+     */
+    public LocalDate data() {
+        if (nullo()) {
+            return null;
+        }
+        spazi();
+        if (fine - posizione >= 12 && dati[posizione] == '"' && dati[posizione + 5] == '-'
+                && dati[posizione + 8] == '-' && dati[posizione + 11] == '"') {
+            int anno = cifre(posizione + 1, 4);
+            int mese = cifre(posizione + 6, 2);
+            int giorno = cifre(posizione + 9, 2);
+            if (anno >= 0 && mese >= 0 && giorno >= 0) {
+                posizione += 12;
+                try {
+                    return LocalDate.of(anno, mese, giorno);
+                } catch (RuntimeException e) {
+                    throw errore("Data non valida");
+                }
+            }
+        }
+        int inizio = posizione;
+        try {
+            return LocalDate.parse(stringa());
+        } catch (RuntimeException e) {
+            posizione = inizio;
+            throw errore("Data non valida");
+        }
+    }
+
+    /**
+     * Legge il nome di una costante enum confrontandolo con i byte del documento; null e' ammesso.
+     *
+     * @param valori Le costanti ammesse (Enum.values())
+     * @return La costante letta, o null
+     */
+    public <E extends Enum<E>> E enumerato(E[] valori) {
+        if (nullo()) {
+            return null;
+        }
+        int inizio = posizione;
+        atteso('"');
+        int da = posizione;
+        while (posizione < fine && dati[posizione] != '"') {
+            posizione++;
+        }
+        int lunghezza = posizione - da;
+        for (E valore : valori) {
+            String nome = valore.name();
+            if (nome.length() != lunghezza) {
+                continue;
+            }
+            int c = 0;
+            while (c < lunghezza && nome.charAt(c) == dati[da + c]) {
+                c++;
+            }
+            if (c == lunghezza) {
+                posizione++;
+                return valore;
+            }
+        }
+        posizione = inizio;
+        throw errore("Valore non ammesso per " + valori.getClass().getComponentType().getSimpleName());
+    }
+
+    /**
+     * Salta il prossimo valore, qualunque sia il suo tipo.
+     */
+    public void salta() {
+        spazi();
+        if (posizione >= fine) {
+            throw errore("Atteso un valore");
+        }
+        byte b = dati[posizione];
+        if (b == '{' || b == '[') {
+            posizione++;
+            saltaContenitore(1);
+        } else if (b == '"') {
+            stringa();
+        } else if (b == 't' || b == 'f') {
+            booleano();
+        } else if (b == 'n') {
+            if (!nullo()) {
+                throw errore("Atteso un valore");
+            }
+        } else {
+            decimale();
+        }
+    }
+
+    /**
+     * Crea l'eccezione per un errore alla posizione corrente.
+     *
+     * @param messaggio La descrizione dell'errore
+     * @return L'eccezione da lanciare
+     */
+    public JsonNonValidoException errore(String messaggio) {
+        return new JsonNonValidoException(messaggio, posizione);
+    }
+
+    private void saltaContenitore(int profondita) {
+        while (profondita > 0) {
+            if (posizione >= fine) {
+                throw errore("Contenitore non terminato");
+            }
+            byte b = dati[posizione];
+            if (b == '"') {
+                stringa();
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                profondita++;
+            } else if (b == '}' || b == ']') {
+                profondita--;
+            }
+            posizione++;
+        }
+    }
+
+    private String stringaConEscape(int inizio) {
+        StringBuilder valore = new StringBuilder(posizione - inizio + 16);
+        valore.append(new String(dati, inizio, posizione - inizio, StandardCharsets.UTF_8));
+        int daCopiare = posizione;
+        while (posizione < fine) {
+            byte b = dati[posizione];
+            if (b == '"') {
+                valore.append(new String(dati, daCopiare, posizione - daCopiare, StandardCharsets.UTF_8));
+                posizione++;
+                return valore.toString();
+            }
+            if (b != '\\') {
+                posizione++;
+                continue;
+            }
+            valore.append(new String(dati, daCopiare, posizione - daCopiare, StandardCharsets.UTF_8));
+            if (posizione + 1 >= fine) {
+                break;
+            }
+            byte escape = dati[posizione + 1];
+            posizione += 2;
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    valore.append((char) escape);
+                    break;
+                case 'n':
+                    valore.append('\n');
+                    break;
+                case 'r':
+                    valore.append('\r');
+                    break;
+                case 't':
+                    valore.append('\t');
+                    break;
+                case 'b':
+                    valore.append('\b');
+                    break;
+                case 'f':
+                    valore.append('\f');
+                    break;
+                case 'u':
+                    int codice = fine - posizione >= 4 ? esadecimale(posizione) : -1;
+                    if (codice < 0) {
+                        throw errore("Sequenza \\u non valida");
+                    }
+                    valore.append((char) codice);
+                    posizione += 4;
+                    break;
+                default:
+                    throw errore("Sequenza di escape non valida");
+            }
+            daCopiare = posizione;
+        }
+        throw errore("Stringa non terminata");
+    }
+
+    private String testoNumero() {
+        int inizio = posizione;
+        while (posizione < fine) {
+            byte b = dati[posizione];
+            if (b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                posizione++;
+            } else {
+                break;
+            }
+        }
+        if (posizione == inizio) {
+            throw errore("Atteso un numero");
+        }
+        return new String(dati, inizio, posizione - inizio, StandardCharsets.ISO_8859_1);
+    }
+
+    private int cifre(int da, int quante) {
+        int valore = 0;
+        for (int i = da; i < da + quante; i++) {
+            int cifra = dati[i] - '0';
+            if (cifra < 0 || cifra > 9) {
+                return -1;
+            }
+            valore = valore * 10 + cifra;
+        }
+        return valore;
+    }
+
+    private int esadecimale(int da) {
+        int valore = 0;
+        for (int i = da; i < da + 4; i++) {
+            int cifra = Character.digit(dati[i], 16);
+            if (cifra < 0) {
+                return -1;
+            }
+            valore = valore << 4 | cifra;
+        }
+        return valore;
+    }
+
+    private void atteso(char carattere) {
+        spazi();
+        if (posizione >= fine || dati[posizione] != carattere) {
+            throw errore("Atteso '" + carattere + "'");
+        }
+        posizione++;
+    }
+
+    private void spazi() {
+        while (posizione < fine) {
+            byte b = dati[posizione];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            posizione++;
+        }
+    }
+}
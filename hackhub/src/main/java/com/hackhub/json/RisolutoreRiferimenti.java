@@ -0,0 +1,21 @@
+package com.hackhub.json;
+
+/**
+ * Interfaccia per risolvere i riferimenti per id a entita' non incluse nel
+ * documento decodificato, ad esempio cercandole nel modello in memoria.
+ */
+@FunctionalInterface
+public interface RisolutoreRiferimenti {
+
+    /** Risolutore che non conosce alcuna entita' */
+    RisolutoreRiferimenti NESSUNO = (categoria, id) -> null;
+
+    /**
+     * Cerca un'entita' esistente.
+     *
+     * @param categoria La categoria dell'entita' (es. Team.class, UtenteAstratto.class)
+     * @param id        L'id dell'entita'
+     * @return L'entita', o null se non e' nota
+     */
+    Object risolvi(Class<?> categoria, long id);
+}
@@ -0,0 +1,362 @@
+package com.hackhub.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Classe che scrive JSON in UTF-8 direttamente in un buffer di byte riutilizzabile.
+ *
+ * Le virgole tra elementi vengono inserite automaticamente guardando l'ultimo
+ * byte scritto, quindi lo scrittore non tiene uno stack di stati. Interi e date
+ * vengono convertiti in cifre senza creare stringhe intermedie.
+ *
+ * Dopo reimposta() il buffer viene riusato per il documento successivo; con
+ * perThread() ogni thread ha il proprio scrittore e in regime stazionario la
+ * codifica non alloca.
+ */
+public class ScrittoreJson {
+
+    /** Capacita' iniziale del buffer */
+    public static final int CAPACITA_PREDEFINITA = 8192;
+
+    /** Oltre questa capacita' reimposta() torna al buffer iniziale, per non trattenere memoria */
+    private static final int CAPACITA_TRATTENUTA = 1 << 20;
+
+    private static final byte[] NULLO = {'n', 'u', 'l', 'l'};
+    private static final byte[] VERO = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSO = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] ESADECIMALI = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<ScrittoreJson> PER_THREAD = ThreadLocal.withInitial(ScrittoreJson::new);
+
+    /** Buffer di scrittura */
+    private byte[] buffer;
+
+    /** Numero di byte scritti */
+    private int posizione;
+
+    /**
+     * Costruttore con la capacita' predefinita.
+     */
+    public ScrittoreJson() {
+        this(CAPACITA_PREDEFINITA);
+    }
+
+    /**
+     * Costruttore della classe ScrittoreJson.
+     *
+     * @param capacita La capacita' iniziale del buffer in byte
+     */
+    public ScrittoreJson(int capacita) {
+        this.buffer = new byte[Math.max(16, capacita)];
+    }
+
+    /**
+     * Restituisce lo scrittore del thread corrente, gia' reimpostato.
+     *
+     * @return Lo scrittore del thread
+     */
+    public static ScrittoreJson perThread() {
+        ScrittoreJson scrittore = PER_THREAD.get();
+        scrittore.reimposta();
+        return scrittore;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getLunghezza() {
+        return posizione;
+    }
+
+    /**
+     * Restituisce il buffer interno: i byte validi sono [0, getLunghezza()).
+     * Il contenuto e' valido fino alla prossima scrittura o reimposta().
+     *
+     * @return Il buffer interno
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Svuota lo scrittore per un nuovo documento.
+     */
+    public void reimposta() {
+        posizione = 0;
+        if (buffer.length > CAPACITA_TRATTENUTA) {
+            buffer = new byte[CAPACITA_PREDEFINITA];
+        }
+    }
+
+    public ScrittoreJson inizioOggetto() {
+        separatore();
+        scriviByte('{');
+        return this;
+    }
+
+    public ScrittoreJson fineOggetto() {
+        scriviByte('}');
+        return this;
+    }
+
+    public ScrittoreJson inizioArray() {
+        separatore();
+        scriviByte('[');
+        return this;
+    }
+
+    public ScrittoreJson fineArray() {
+        scriviByte(']');
+        return this;
+    }
+
+    /**
+     * Termina un documento in un flusso di documenti separati da a capo (NDJSON).
+     */
+    public ScrittoreJson nuovaRiga() {
+        scriviByte('\n');
+        return this;
+    }
+
+    /**
+     * Scrive il nome di un campo; deve seguire il valore.
+     *
+     * @param campi  I campi dell'oggetto
+     * @param indice L'indice del campo
+     * @return Lo scrittore
+     */
+    public ScrittoreJson campo(CampiJson campi, int indice) {
+        separatore();
+        byte[] nome = campi.codificato(indice);
+        assicura(nome.length);
+        System.arraycopy(nome, 0, buffer, posizione, nome.length);
+        posizione += nome.length;
+        return this;
+    }
+
+    public ScrittoreJson nullo() {
+        separatore();
+        scriviByte(NULLO);
+        return this;
+    }
+
+    public ScrittoreJson valore(boolean valore) {
+        separatore();
+        scriviByte(valore ? VERO : FALSO);
+        return this;
+    }
+
+    public ScrittoreJson valore(long valore) {
+        separatore();
+        if (valore == Long.MIN_VALUE) {
+            scriviAscii(Long.toString(valore));
+            return this;
+        }
+        assicura(20);
+        if (valore < 0) {
+            buffer[posizione++] = '-';
+            valore = -valore;
+        }
+        int cifre = 1;
+        for (long resto = valore / 10; resto != 0; resto /= 10) {
+            cifre++;
+        }
+        int fine = posizione + cifre;
+        for (int i = fine - 1; i >= posizione; i--) {
+            buffer[i] = (byte) ('0' + valore % 10);
+            valore /= 10;
+        }
+        posizione = fine;
+        return this;
+    }
+
+    /**
+     * Scrive un numero decimale. NaN e infiniti, non rappresentabili in JSON, diventano null.
+     */
+    public ScrittoreJson valore(double valore) {
+        if (Double.isNaN(valore) || Double.isInfinite(valore)) {
+            return nullo();
+        }
+        if (valore == (long) valore && Math.abs(valore) < 1e15) {
+            return valore((long) valore);
+        }
+        separatore();
+        scriviAscii(Double.toString(valore));
+        return this;
+    }
+
+    public ScrittoreJson valore(Enum<?> valore) {
+        if (valore == null) {
+            return nullo();
+        }
+        separatore();
+        scriviByte('"');
+        scriviAscii(valore.name());
+        scriviByte('"');
+        return this;
+    }
+
+    /**
+     * Scrive una data nel formato ISO yyyy-MM-dd.
+     */
+    public ScrittoreJson valore(LocalDate data) {
+        if (data == null) {
+            return nullo();
+        }
+        int anno = data.getYear();
+        if (anno < 0 || anno > 9999) {
+            return valore(data.toString());
+        }
+        separatore();
+        assicura(12);
+        byte[] b = buffer;
+        int p = posizione;
+        b[p] = '"';
+        b[p + 1] = (byte) ('0' + anno / 1000);
+        b[p + 2] = (byte) ('0' + anno / 100 % 10);
+        b[p + 3] = (byte) ('0' + anno / 10 % 10);
+        b[p + 4] = (byte) ('0' + anno % 10);
+        b[p + 5] = '-';
+        b[p + 6] = (byte) ('0' + data.getMonthValue() / 10);
+        b[p + 7] = (byte) ('0' + data.getMonthValue() % 10);
+        b[p + 8] = '-';
+        b[p + 9] = (byte) ('0' + data.getDayOfMonth() / 10);
+        b[p + 10] = (byte) ('0' + data.getDayOfMonth() % 10);
+        b[p + 11] = '"';
+        posizione = p + 12;
+        return this;
+    }
+
+    /**
+     * Scrive una stringa con le sequenze di escape richieste da JSON, codificandola in UTF-8.
+     */
+    public ScrittoreJson valore(String valore) {
+        if (valore == null) {
+            return nullo();
+        }
+        separatore();
+        int lunghezza = valore.length();
+        assicura(lunghezza * 6 + 2);
+        byte[] b = buffer;
+        int p = posizione;
+        b[p++] = '"';
+        for (int i = 0; i < lunghezza; i++) {
+            char c = valore.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    b[p++] = (byte) c;
+                } else {
+                    b[p++] = '\\';
+                    switch (c) {
+                        case '"':
+                            b[p++] = '"';
+                            break;
+                        case '\\':
+                            b[p++] = '\\';
+                            break;
+                        case '\n':
+                            b[p++] = 'n';
+                            break;
+                        case '\r':
+                            b[p++] = 'r';
+                            break;
+                        case '\t':
+                            b[p++] = 't';
+                            break;
+                        default:
+                            b[p++] = 'u';
+                            b[p++] = '0';
+                            b[p++] = '0';
+                            b[p++] = ESADECIMALI[c >> 4];
+                            b[p++] = ESADECIMALI[c & 0xF];
+                    }
+                }
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | c >> 6);
+                b[p++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < lunghezza
+                    && Character.isLowSurrogate(valore.charAt(i + 1))) {
+                int punto = Character.toCodePoint(c, valore.charAt(++i));
+                b[p++] = (byte) (0xF0 | punto >> 18);
+                b[p++] = (byte) (0x80 | punto >> 12 & 0x3F);
+                b[p++] = (byte) (0x80 | punto >> 6 & 0x3F);
+                b[p++] = (byte) (0x80 | punto & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';
+            } else {
+                b[p++] = (byte) (0xE0 | c >> 12);
+                b[p++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[p++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        b[p++] = '"';
+        posizione = p;
+        return this;
+    }
+
+    /**
+     * Copia i byte scritti sullo stream.
+     *
+     * @param uscita Lo stream di destinazione
+     * @throws IOException se la scrittura fallisce
+     */
+    public void scriviSu(OutputStream uscita) throws IOException {
+        uscita.write(buffer, 0, posizione);
+    }
+
+    /**
+     * Restituisce una copia dei byte scritti.
+     *
+     * @return I byte del documento
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, posizione);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, posizione, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inserisce la virgola se il valore non e' il primo del contenitore.
+     */
+    private void separatore() {
+        if (posizione == 0) {
+            return;
+        }
+        byte ultimo = buffer[posizione - 1];
+        if (ultimo != '{' && ultimo != '[' && ultimo != ':' && ultimo != ',' && ultimo != '\n') {
+            scriviByte(',');
+        }
+    }
+
+    private void scriviByte(char c) {
+        assicura(1);
+        buffer[posizione++] = (byte) c;
+    }
+
+    private void scriviByte(byte[] byteDaScrivere) {
+        assicura(byteDaScrivere.length);
+        System.arraycopy(byteDaScrivere, 0, buffer, posizione, byteDaScrivere.length);
+        posizione += byteDaScrivere.length;
+    }
+
+    private void scriviAscii(String testo) {
+        assicura(testo.length());
+        for (int i = 0; i < testo.length(); i++) {
+            buffer[posizione++] = (byte) testo.charAt(i);
+        }
+    }
+
+    private void assicura(int necessari) {
+        if (buffer.length - posizione < necessari) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posizione + necessari));
+        }
+    }
+}
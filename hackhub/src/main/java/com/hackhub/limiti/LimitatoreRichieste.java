@@ -0,0 +1,327 @@
+package com.hackhub.limiti;
+
+import com.hackhub.enums.AmbitoLimite;
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.eventi.GestoreEventi;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Classe che limita la frequenza delle operazioni del modello con quote
+ * token bucket per utente, per team e globali.
+ *
+ * Struttura:
+ * - Le quote sono configurabili per ogni coppia (operazione, ambito);
+ *   un ambito senza quota non e' limitato
+ * - I secchi per utente e per team sono distribuiti su NUMERO_STRISCE
+ *   mappe concorrenti indicizzate dall'hash dell'id, cosi' le scritture
+ *   su chiavi diverse non si contendono la stessa mappa
+ * - Il consumo di un gettone e' una compare-and-set, senza lock
+ * - pulisci() rimuove i secchi pieni (inattivi), che non hanno memoria
+ *   di operazioni recenti e possono essere ricreati senza differenze; un
+ *   secchio rimosso rifiuta i consumi successivi, che lo cercano di nuovo,
+ *   cosi' nessun gettone viene consumato su un secchio uscito dalla mappa
+ *
+ * Il limitatore diventa attivo per il modello con installa(): Leader.invitaUtente()
+ * e Hackathon.aggiungiIscrizione() chiamano verifica(), che non fa nulla se
+ * nessun limitatore e' installato. Se l'operazione fallisce dopo la verifica,
+ * annulla() restituisce i gettoni consumati.
+ */
+public class LimitatoreRichieste {
+
+    /** Numero di strisce per ogni tabella di secchi (potenza di 2) */
+    private static final int NUMERO_STRISCE = 16;
+
+    private static final int NUMERO_AMBITI = AmbitoLimite.values().length;
+
+    /** Limitatore usato dal modello (null se la limitazione e' disattivata) */
+    private static volatile LimitatoreRichieste installato;
+
+    /** Quote per (operazione, ambito), indice = operazione * NUMERO_AMBITI + ambito */
+    private final AtomicReferenceArray<Quota> quote;
+
+    /** Strisce di secchi per (operazione, ambito) per utente e team */
+    private final Map<Long, SecchioGettoni>[][] strisce;
+
+    /** Secchio globale per ogni operazione */
+    private final SecchioGettoni[] globali;
+
+    /**
+     * Costruttore della classe LimitatoreRichieste, senza quote configurate.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LimitatoreRichieste() {
+        int operazioni = TipoOperazione.values().length;
+        long adesso = System.nanoTime();
+        this.quote = new AtomicReferenceArray<>(operazioni * NUMERO_AMBITI);
+        this.strisce = new Map[operazioni * NUMERO_AMBITI][];
+        for (int i = 0; i < strisce.length; i++) {
+            strisce[i] = new Map[NUMERO_STRISCE];
+            for (int s = 0; s < NUMERO_STRISCE; s++) {
+                strisce[i][s] = new ConcurrentHashMap<>();
+            }
+        }
+        this.globali = new SecchioGettoni[operazioni];
+        for (int i = 0; i < operazioni; i++) {
+            globali[i] = new SecchioGettoni(adesso);
+        }
+    }
+
+    // ==================== CONFIGURAZIONE ====================
+
+    /**
+     * Imposta la quota per un'operazione e un ambito.
+     *
+     * @param operazione L'operazione da limitare
+     * @param ambito     L'ambito della quota
+     * @param quota      La quota, o null per rimuovere il limite
+     */
+    public void setQuota(TipoOperazione operazione, AmbitoLimite ambito, Quota quota) {
+        quote.set(indice(operazione, ambito), quota);
+    }
+
+    /**
+     * Restituisce la quota configurata per un'operazione e un ambito.
+     *
+     * @param operazione L'operazione
+     * @param ambito     L'ambito
+     * @return La quota, o null se l'ambito non e' limitato
+     */
+    public Quota getQuota(TipoOperazione operazione, AmbitoLimite ambito) {
+        return quote.get(indice(operazione, ambito));
+    }
+
+    /**
+     * Installa un limitatore per le operazioni del modello.
+     *
+     * @param limitatore Il limitatore da usare, o null per disattivare la limitazione
+     */
+    public static void installa(LimitatoreRichieste limitatore) {
+        installato = limitatore;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Verifica la quota dell'operazione sul limitatore installato e consuma i gettoni.
+     * Chiamato dal modello; non fa nulla se nessun limitatore e' installato o se
+     * il thread sta ricostruendo entita' con la pubblicazione degli eventi sospesa.
+     *
+     * @param operazione L'operazione richiesta
+     * @param idUtente   L'id dell'utente che la richiede (null se non applicabile)
+     * @param idTeam     L'id del team coinvolto (null se non applicabile)
+     * @throws LimiteSuperatoException se una delle quote e' esaurita
+     */
+    public static void verifica(TipoOperazione operazione, Long idUtente, Long idTeam) {
+        LimitatoreRichieste limitatore = installato;
+        if (limitatore != null && !GestoreEventi.isSospeso()) {
+            limitatore.consuma(operazione, idUtente, idTeam);
+        }
+    }
+
+    /**
+     * Restituisce al limitatore installato i gettoni consumati da verifica() per
+     * un'operazione poi fallita. Non fa nulla nei casi in cui verifica() non consuma.
+     *
+     * @param operazione L'operazione fallita
+     * @param idUtente   L'id dell'utente passato a verifica()
+     * @param idTeam     L'id del team passato a verifica()
+     */
+    public static void annulla(TipoOperazione operazione, Long idUtente, Long idTeam) {
+        LimitatoreRichieste limitatore = installato;
+        if (limitatore != null && !GestoreEventi.isSospeso()) {
+            limitatore.restituisci(operazione, idUtente, idTeam);
+        }
+    }
+
+    /**
+     * Prova a consumare un gettone per ogni quota configurata dell'operazione.
+     * Se una quota rifiuta, i gettoni gia' consumati vengono restituiti.
+     *
+     * @param operazione L'operazione richiesta
+     * @param idUtente   L'id dell'utente (null se non applicabile)
+     * @param idTeam     L'id del team (null se non applicabile)
+     * @return true se l'operazione e' consentita
+     */
+    public boolean prova(TipoOperazione operazione, Long idUtente, Long idTeam) {
+        return tenta(operazione, idUtente, idTeam, false);
+    }
+
+    /**
+     * Consuma un gettone per ogni quota configurata dell'operazione.
+     *
+     * @param operazione L'operazione richiesta
+     * @param idUtente   L'id dell'utente (null se non applicabile)
+     * @param idTeam     L'id del team (null se non applicabile)
+     * @throws LimiteSuperatoException se una delle quote e' esaurita
+     */
+    public void consuma(TipoOperazione operazione, Long idUtente, Long idTeam) {
+        tenta(operazione, idUtente, idTeam, true);
+    }
+
+    /**
+     * Restituisce un gettone per ogni quota configurata dell'operazione, dopo un
+     * consumo riuscito. I secchi per utente e per team gia' rimossi dalla pulizia
+     * erano pieni e non vengono ricreati.
+     *
+     * @param operazione L'operazione
+     * @param idUtente   L'id dell'utente (null se non applicabile)
+     * @param idTeam     L'id del team (null se non applicabile)
+     */
+    public void restituisci(TipoOperazione operazione, Long idUtente, Long idTeam) {
+        int base = operazione.ordinal() * NUMERO_AMBITI;
+        Quota quotaUtente = quote.get(base + AmbitoLimite.UTENTE.ordinal());
+        if (quotaUtente != null && idUtente != null) {
+            restituisci(striscia(base + AmbitoLimite.UTENTE.ordinal(), idUtente).get(idUtente), quotaUtente);
+        }
+        Quota quotaTeam = quote.get(base + AmbitoLimite.TEAM.ordinal());
+        if (quotaTeam != null && idTeam != null) {
+            restituisci(striscia(base + AmbitoLimite.TEAM.ordinal(), idTeam).get(idTeam), quotaTeam);
+        }
+        Quota quotaGlobale = quote.get(base + AmbitoLimite.GLOBALE.ordinal());
+        if (quotaGlobale != null) {
+            globali[operazione.ordinal()].restituisci(quotaGlobale);
+        }
+    }
+
+    private boolean tenta(TipoOperazione operazione, Long idUtente, Long idTeam, boolean lancia) {
+        long adesso = System.nanoTime();
+        int base = operazione.ordinal() * NUMERO_AMBITI;
+
+        Quota quotaUtente = quote.get(base + AmbitoLimite.UTENTE.ordinal());
+        SecchioGettoni utente = null;
+        if (quotaUtente != null && idUtente != null) {
+            long attesa;
+            do {
+                utente = secchio(base + AmbitoLimite.UTENTE.ordinal(), idUtente, adesso);
+                attesa = utente.consuma(quotaUtente, adesso);
+            } while (attesa < 0);
+            if (attesa > 0) {
+                return rifiuta(operazione, AmbitoLimite.UTENTE, attesa, lancia);
+            }
+        }
+
+        Quota quotaTeam = quote.get(base + AmbitoLimite.TEAM.ordinal());
+        SecchioGettoni team = null;
+        if (quotaTeam != null && idTeam != null) {
+            long attesa;
+            do {
+                team = secchio(base + AmbitoLimite.TEAM.ordinal(), idTeam, adesso);
+                attesa = team.consuma(quotaTeam, adesso);
+            } while (attesa < 0);
+            if (attesa > 0) {
+                restituisci(utente, quotaUtente);
+                return rifiuta(operazione, AmbitoLimite.TEAM, attesa, lancia);
+            }
+        }
+
+        Quota quotaGlobale = quote.get(base + AmbitoLimite.GLOBALE.ordinal());
+        if (quotaGlobale != null) {
+            long attesa = globali[operazione.ordinal()].consuma(quotaGlobale, adesso);
+            if (attesa > 0) {
+                restituisci(utente, quotaUtente);
+                restituisci(team, quotaTeam);
+                return rifiuta(operazione, AmbitoLimite.GLOBALE, attesa, lancia);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rimuove i secchi inattivi (pieni) da tutte le strisce.
+     *
+     * @return Il numero di secchi rimossi
+     */
+    public int pulisci() {
+        int rimossi = 0;
+        for (Map<Long, SecchioGettoni>[] tabella : strisce) {
+            for (Map<Long, SecchioGettoni> striscia : tabella) {
+                for (Map.Entry<Long, SecchioGettoni> voce : striscia.entrySet()) {
+                    SecchioGettoni secchio = voce.getValue();
+                    // Segnato come rimosso prima di toglierlo: un consumo concorrente lo cerca di nuovo
+                    if (secchio.rimuoviSePieno(System.nanoTime()) && striscia.remove(voce.getKey(), secchio)) {
+                        rimossi++;
+                    }
+                }
+            }
+        }
+        return rimossi;
+    }
+
+    /**
+     * Avvia la pulizia periodica dei secchi inattivi in un thread daemon.
+     *
+     * @param periodo L'intervallo tra due pulizie
+     * @return L'esecutore della pulizia, da chiudere con shutdown()
+     */
+    public ScheduledExecutorService avviaPuliziaPeriodica(Duration periodo) {
+        ScheduledExecutorService esecutore = Executors.newSingleThreadScheduledExecutor(operazione -> {
+            Thread thread = new Thread(operazione, "limitatore-pulizia");
+            thread.setDaemon(true);
+            return thread;
+        });
+        esecutore.scheduleAtFixedRate(this::pulisci, periodo.toMillis(), periodo.toMillis(), TimeUnit.MILLISECONDS);
+        return esecutore;
+    }
+
+    /**
+     * Restituisce il numero di secchi per utente e per team attualmente in memoria.
+     *
+     * @return Il numero di secchi
+     */
+    public int getNumeroSecchi() {
+        int numero = 0;
+        for (Map<Long, SecchioGettoni>[] tabella : strisce) {
+            for (Map<Long, SecchioGettoni> striscia : tabella) {
+                numero += striscia.size();
+            }
+        }
+        return numero;
+    }
+
+    private Map<Long, SecchioGettoni> striscia(int tabella, Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return strisce[tabella][(int) (h >>> 60) & (NUMERO_STRISCE - 1)];
+    }
+
+    private SecchioGettoni secchio(int tabella, Long id, long adesso) {
+        Map<Long, SecchioGettoni> striscia = striscia(tabella, id);
+        SecchioGettoni secchio = striscia.get(id);
+        while (secchio == null || secchio.isRimosso()) {
+            if (secchio != null) {
+                // Rimosso dalla pulizia ma non ancora tolto dalla mappa: il nuovo secchio
+                // parte da adesso, non da un istante letto prima della rimozione
+                striscia.remove(id, secchio);
+                adesso = System.nanoTime();
+            }
+            SecchioGettoni nuovo = new SecchioGettoni(adesso);
+            secchio = striscia.putIfAbsent(id, nuovo);
+            if (secchio == null) {
+                secchio = nuovo;
+            }
+        }
+        return secchio;
+    }
+
+    private static void restituisci(SecchioGettoni secchio, Quota quota) {
+        if (secchio != null) {
+            secchio.restituisci(quota);
+        }
+    }
+
+    private static boolean rifiuta(TipoOperazione operazione, AmbitoLimite ambito, long attesa, boolean lancia) {
+        if (lancia) {
+            throw new LimiteSuperatoException(operazione, ambito, Duration.ofNanos(attesa));
+        }
+        return false;
+    }
+
+    private static int indice(TipoOperazione operazione, AmbitoLimite ambito) {
+        return operazione.ordinal() * NUMERO_AMBITI + ambito.ordinal();
+    }
+}
@@ -0,0 +1,52 @@
+package com.hackhub.limiti;
+
+import com.hackhub.enums.AmbitoLimite;
+import com.hackhub.enums.TipoOperazione;
+import java.time.Duration;
+
+/**
+ * Eccezione lanciata quando un'operazione supera la quota configurata.
+ *
+ * Estende IllegalStateException, come le altre violazioni di precondizione
+ * del modello, e indica dopo quanto tempo l'operazione puo' essere ritentata.
+ */
+public class LimiteSuperatoException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Operazione rifiutata */
+    private final TipoOperazione operazione;
+
+    /** Ambito della quota esaurita */
+    private final AmbitoLimite ambito;
+
+    /** Attesa minima prima di ritentare */
+    private final Duration attesa;
+
+    /**
+     * Costruttore della classe LimiteSuperatoException.
+     *
+     * @param operazione L'operazione rifiutata
+     * @param ambito     L'ambito della quota esaurita
+     * @param attesa     L'attesa minima prima di ritentare
+     */
+    public LimiteSuperatoException(TipoOperazione operazione, AmbitoLimite ambito, Duration attesa) {
+        super("Troppe richieste di " + operazione + " (limite " + ambito + "), riprova tra "
+            + Math.max(1, attesa.toMillis()) + " ms");
+        this.operazione = operazione;
+        this.ambito = ambito;
+        this.attesa = attesa;
+    }
+
+    public TipoOperazione getOperazione() {
+        return operazione;
+    }
+
+    public AmbitoLimite getAmbito() {
+        return ambito;
+    }
+
+    public Duration getAttesa() {
+        return attesa;
+    }
+}
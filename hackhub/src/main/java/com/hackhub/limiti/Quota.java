@@ -0,0 +1,73 @@
+package com.hackhub.limiti;
+
+/**
+ * Classe che rappresenta una quota di tipo token bucket.
+ *
+ * Una quota consente al massimo "capacita" operazioni consecutive (raffica),
+ * dopodiche' i gettoni si ricaricano al ritmo di "gettoniPerSecondo".
+ */
+public class Quota {
+
+    /** Numero massimo di gettoni accumulabili */
+    private final int capacita;
+
+    /** Gettoni ricaricati ogni secondo */
+    private final double gettoniPerSecondo;
+
+    /** Intervallo tra due gettoni in nanosecondi */
+    private final long intervalloNanos;
+
+    /** Anticipo massimo consentito rispetto al ritmo regolare, in nanosecondi */
+    private final long tolleranzaNanos;
+
+    /**
+     * Costruttore della classe Quota.
+     *
+     * @param capacita          Il numero massimo di gettoni (almeno 1)
+     * @param gettoniPerSecondo I gettoni ricaricati ogni secondo (maggiore di 0)
+     * @throws IllegalArgumentException se i parametri non sono validi
+     */
+    public Quota(int capacita, double gettoniPerSecondo) {
+        if (capacita < 1 || gettoniPerSecondo <= 0) {
+            throw new IllegalArgumentException("Quota non valida: " + capacita + " / " + gettoniPerSecondo);
+        }
+        this.capacita = capacita;
+        this.gettoniPerSecondo = gettoniPerSecondo;
+        this.intervalloNanos = Math.max(1, (long) (1_000_000_000L / gettoniPerSecondo));
+        this.tolleranzaNanos = intervalloNanos * (capacita - 1);
+    }
+
+    /**
+     * Crea una quota espressa come numero di operazioni per minuto.
+     *
+     * @param capacita   Il numero massimo di operazioni consecutive
+     * @param alMinuto   Le operazioni consentite al minuto a regime
+     * @return La quota
+     */
+    public static Quota alMinuto(int capacita, double alMinuto) {
+        return new Quota(capacita, alMinuto / 60.0);
+    }
+
+    // ==================== GETTER ====================
+
+    public int getCapacita() {
+        return capacita;
+    }
+
+    public double getGettoniPerSecondo() {
+        return gettoniPerSecondo;
+    }
+
+    long getIntervalloNanos() {
+        return intervalloNanos;
+    }
+
+    long getTolleranzaNanos() {
+        return tolleranzaNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Quota " + capacita + " (+" + gettoniPerSecondo + "/s)";
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackhub.limiti;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe che rappresenta un singolo secchio di gettoni, senza lock.
+ *
+ * Invece di memorizzare il numero di gettoni e l'istante dell'ultima ricarica,
+ * il secchio memorizza un solo valore: l'istante teorico in cui il prossimo
+ * gettone sara' disponibile a ritmo regolare (algoritmo GCRA, equivalente al
+ * token bucket). Un'operazione e' consentita se l'istante teorico non anticipa
+ * l'istante corrente di piu' della tolleranza della quota; il consumo e' una
+ * singola compare-and-set.
+ *
+ * Quando l'istante teorico e' nel passato il secchio e' pieno e puo' essere
+ * rimosso senza perdere informazione. La rimozione sostituisce l'istante con
+ * RIMOSSO tramite compare-and-set: un consumo che arriva dopo su un riferimento
+ * gia' letto dalla mappa lo vede e cerca di nuovo il secchio, invece di
+ * consumare un gettone su un secchio che non e' piu' nella mappa.
+ */
+class SecchioGettoni {
+
+    /** Valore dell'istante teorico di un secchio rimosso dalla mappa */
+    private static final long RIMOSSO = Long.MIN_VALUE;
+
+    /** Istante teorico del prossimo gettone (System.nanoTime), o RIMOSSO */
+    private final AtomicLong istanteTeorico;
+
+    SecchioGettoni(long adesso) {
+        this.istanteTeorico = new AtomicLong(adesso);
+    }
+
+    /**
+     * Prova a consumare un gettone.
+     *
+     * @param quota  La quota del secchio
+     * @param adesso L'istante corrente
+     * @return 0 se il gettone e' stato consumato, -1 se il secchio e' stato rimosso
+     *         (va cercato di nuovo), altrimenti i nanosecondi da attendere
+     */
+    long consuma(Quota quota, long adesso) {
+        while (true) {
+            long corrente = istanteTeorico.get();
+            if (corrente == RIMOSSO) {
+                return -1;
+            }
+            long base = Math.max(corrente, adesso);
+            long anticipo = base - adesso;
+            if (anticipo > quota.getTolleranzaNanos()) {
+                return anticipo - quota.getTolleranzaNanos();
+            }
+            if (istanteTeorico.compareAndSet(corrente, base + quota.getIntervalloNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Restituisce un gettone consumato (quando un'altra quota ha rifiutato l'operazione
+     * o l'operazione e' fallita). Non fa nulla su un secchio rimosso, che era gia' pieno.
+     *
+     * @param quota La quota del secchio
+     */
+    void restituisci(Quota quota) {
+        while (true) {
+            long corrente = istanteTeorico.get();
+            if (corrente == RIMOSSO
+                    || istanteTeorico.compareAndSet(corrente, corrente - quota.getIntervalloNanos())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Segna il secchio come rimosso se e' pieno, cioe' se non ha memoria di operazioni recenti.
+     * Dopo il ritorno con true nessun consumo puo' piu' avere effetto sul secchio.
+     *
+     * @param adesso L'istante corrente
+     * @return true se il secchio e' rimosso e va tolto dalla mappa
+     */
+    boolean rimuoviSePieno(long adesso) {
+        while (true) {
+            long corrente = istanteTeorico.get();
+            if (corrente == RIMOSSO) {
+                return true;
+            }
+            if (corrente > adesso) {
+                return false;
+            }
+            if (istanteTeorico.compareAndSet(corrente, RIMOSSO)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Verifica se il secchio e' stato rimosso dalla pulizia.
+     *
+     * @return true se il secchio va sostituito con uno nuovo
+     */
+    boolean isRimosso() {
+        return istanteTeorico.get() == RIMOSSO;
+    }
+}
@@ -0,0 +1,277 @@
+package com.hackhub.luoghi;
+
+import java.util.function.Consumer;
+
+/**
+ * Albero k-d statico sui punti della sfera unitaria (tre dimensioni).
+ *
+ * L'albero e' implicito: per ogni intervallo [da, a) dell'array il nodo e'
+ * l'elemento centrale, con a sinistra i punti minori sull'asse del nodo e a
+ * destra i maggiori. L'asse e' quello con l'estensione maggiore nell'intervallo,
+ * cosi' anche punti molto raggruppati (tutti in Italia) vengono divisi bene.
+ *
+ * Ogni nodo conosce gli stati presenti nel proprio sottoalbero, il primo inizio
+ * e l'ultima fine: i sottoalberi che non possono rispettare i criteri vengono
+ * saltati senza visitarli, come in AlberoIntervalli.
+ *
+ * Costruzione O(n log n); immutabile dopo la costruzione, quindi leggibile
+ * da piu' thread senza lock.
+ */
+final class AlberoKd {
+
+    private final Punto[] punti;
+    private final byte[] assi;
+    private final int[] statiSotto;
+    private final long[] inizioMinimo;
+    private final long[] fineMassima;
+
+    AlberoKd(Punto[] sorgente) {
+        this.punti = sorgente.clone();
+        this.assi = new byte[punti.length];
+        this.statiSotto = new int[punti.length];
+        this.inizioMinimo = new long[punti.length];
+        this.fineMassima = new long[punti.length];
+        costruisci(0, punti.length);
+    }
+
+    // ==================== GETTER ====================
+
+    int getDimensione() {
+        return punti.length;
+    }
+
+    /**
+     * Passa all'azione tutti i punti, compresi quelli rimossi.
+     */
+    void perOgni(Consumer<Punto> azione) {
+        for (Punto punto : punti) {
+            azione.accept(punto);
+        }
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Passa all'azione i punti non rimossi entro la corda indicata che rispettano i criteri.
+     */
+    void entroCorda(double qx, double qy, double qz, double corda, CriteriRicerca criteri, Consumer<Punto> azione) {
+        entroCorda(0, punti.length, qx, qy, qz, corda * corda, criteri, azione);
+    }
+
+    /**
+     * Aggiunge ai vicini i punti non rimossi piu' vicini che rispettano i criteri.
+     */
+    void piuVicini(double qx, double qy, double qz, CriteriRicerca criteri, Vicini vicini) {
+        piuVicini(0, punti.length, qx, qy, qz, criteri, vicini);
+    }
+
+    private void entroCorda(int da, int a, double qx, double qy, double qz, double cordaQuadrata,
+                            CriteriRicerca criteri, Consumer<Punto> azione) {
+        while (da < a) {
+            int nodo = (da + a) >>> 1;
+            if (!ammissibile(nodo, criteri)) {
+                return;
+            }
+            Punto punto = punti[nodo];
+            if (!punto.rimosso && criteri.ammette(punto.stato, punto.inizio, punto.fine)
+                    && punto.distanzaQuadrata(qx, qy, qz) <= cordaQuadrata) {
+                azione.accept(punto);
+            }
+            double differenza = coordinata(qx, qy, qz, assi[nodo]) - punto.coordinata(assi[nodo]);
+            if (differenza * differenza <= cordaQuadrata) {
+                entroCorda(da, nodo, qx, qy, qz, cordaQuadrata, criteri, azione);
+                da = nodo + 1;
+            } else if (differenza < 0) {
+                a = nodo;
+            } else {
+                da = nodo + 1;
+            }
+        }
+    }
+
+    private void piuVicini(int da, int a, double qx, double qy, double qz, CriteriRicerca criteri, Vicini vicini) {
+        if (da >= a) {
+            return;
+        }
+        int nodo = (da + a) >>> 1;
+        if (!ammissibile(nodo, criteri)) {
+            return;
+        }
+        Punto punto = punti[nodo];
+        if (!punto.rimosso && criteri.ammette(punto.stato, punto.inizio, punto.fine)) {
+            vicini.offri(punto, punto.distanzaQuadrata(qx, qy, qz));
+        }
+        double differenza = coordinata(qx, qy, qz, assi[nodo]) - punto.coordinata(assi[nodo]);
+        // Prima il lato del punto cercato, poi l'altro se puo' ancora contenere un punto piu' vicino
+        if (differenza < 0) {
+            piuVicini(da, nodo, qx, qy, qz, criteri, vicini);
+            if (differenza * differenza < vicini.getLimite()) {
+                piuVicini(nodo + 1, a, qx, qy, qz, criteri, vicini);
+            }
+        } else {
+            piuVicini(nodo + 1, a, qx, qy, qz, criteri, vicini);
+            if (differenza * differenza < vicini.getLimite()) {
+                piuVicini(da, nodo, qx, qy, qz, criteri, vicini);
+            }
+        }
+    }
+
+    private boolean ammissibile(int nodo, CriteriRicerca criteri) {
+        return (statiSotto[nodo] & criteri.getStati()) != 0
+            && inizioMinimo[nodo] <= criteri.getA() && fineMassima[nodo] >= criteri.getDa();
+    }
+
+    private void costruisci(int da, int a) {
+        if (da >= a) {
+            return;
+        }
+        int asse = asseMaggiore(da, a);
+        int nodo = (da + a) >>> 1;
+        seleziona(da, a - 1, nodo, asse);
+        assi[nodo] = (byte) asse;
+        costruisci(da, nodo);
+        costruisci(nodo + 1, a);
+
+        int stati = punti[nodo].stato;
+        long inizio = punti[nodo].inizio;
+        long fine = punti[nodo].fine;
+        if (da < nodo) {
+            int sinistro = (da + nodo) >>> 1;
+            stati |= statiSotto[sinistro];
+            inizio = Math.min(inizio, inizioMinimo[sinistro]);
+            fine = Math.max(fine, fineMassima[sinistro]);
+        }
+        if (nodo + 1 < a) {
+            int destro = (nodo + 1 + a) >>> 1;
+            stati |= statiSotto[destro];
+            inizio = Math.min(inizio, inizioMinimo[destro]);
+            fine = Math.max(fine, fineMassima[destro]);
+        }
+        statiSotto[nodo] = stati;
+        inizioMinimo[nodo] = inizio;
+        fineMassima[nodo] = fine;
+    }
+
+    private int asseMaggiore(int da, int a) {
+        double[] minimi = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] massimi = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = da; i < a; i++) {
+            for (int asse = 0; asse < 3; asse++) {
+                double valore = punti[i].coordinata(asse);
+                minimi[asse] = Math.min(minimi[asse], valore);
+                massimi[asse] = Math.max(massimi[asse], valore);
+            }
+        }
+        int migliore = 0;
+        for (int asse = 1; asse < 3; asse++) {
+            if (massimi[asse] - minimi[asse] > massimi[migliore] - minimi[migliore]) {
+                migliore = asse;
+            }
+        }
+        return migliore;
+    }
+
+    /**
+     * Porta in posizione k l'elemento che vi starebbe ordinando [sinistra, destra]
+     * sull'asse, con i minori prima e i maggiori dopo (quickselect).
+     */
+    private void seleziona(int sinistra, int destra, int k, int asse) {
+        while (destra > sinistra) {
+            double pivot = punti[(sinistra + destra) >>> 1].coordinata(asse);
+            int i = sinistra;
+            int j = destra;
+            while (i <= j) {
+                while (punti[i].coordinata(asse) < pivot) {
+                    i++;
+                }
+                while (punti[j].coordinata(asse) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    Punto scambio = punti[i];
+                    punti[i] = punti[j];
+                    punti[j] = scambio;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                destra = j;
+            } else if (k >= i) {
+                sinistra = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double coordinata(double x, double y, double z, int asse) {
+        return asse == 0 ? x : asse == 1 ? y : z;
+    }
+
+    /**
+     * I k punti piu' vicini trovati finora, in un heap con in cima il piu' lontano.
+     */
+    static final class Vicini {
+
+        private final Punto[] punti;
+        private final double[] distanze;
+        private int numero;
+
+        Vicini(int k) {
+            this.punti = new Punto[k];
+            this.distanze = new double[k];
+        }
+
+        /**
+         * Distanza quadrata oltre la quale un punto non entra piu' tra i vicini.
+         */
+        double getLimite() {
+            return numero < punti.length ? Double.MAX_VALUE : distanze[0];
+        }
+
+        int getNumero() {
+            return numero;
+        }
+
+        Punto getPunto(int i) {
+            return punti[i];
+        }
+
+        double getDistanza(int i) {
+            return distanze[i];
+        }
+
+        void offri(Punto punto, double distanza) {
+            if (numero < punti.length) {
+                int i = numero++;
+                while (i > 0 && distanze[(i - 1) / 2] < distanza) {
+                    punti[i] = punti[(i - 1) / 2];
+                    distanze[i] = distanze[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                punti[i] = punto;
+                distanze[i] = distanza;
+            } else if (distanza < distanze[0]) {
+                int i = 0;
+                while (true) {
+                    int figlio = 2 * i + 1;
+                    if (figlio >= numero) {
+                        break;
+                    }
+                    if (figlio + 1 < numero && distanze[figlio + 1] > distanze[figlio]) {
+                        figlio++;
+                    }
+                    if (distanze[figlio] <= distanza) {
+                        break;
+                    }
+                    punti[i] = punti[figlio];
+                    distanze[i] = distanze[figlio];
+                    i = figlio;
+                }
+                punti[i] = punto;
+                distanze[i] = distanza;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.hackhub.luoghi;
+
+import java.util.Locale;
+
+/**
+ * Classe che rappresenta una posizione sulla superficie terrestre in gradi decimali.
+ *
+ * Per l'indice geografico la posizione viene convertita nel punto corrispondente
+ * della sfera unitaria: la distanza in linea retta tra due punti (corda) cresce
+ * con la distanza lungo la superficie, senza casi particolari per poli e antimeridiano.
+ */
+public final class Coordinate {
+
+    /** Raggio medio terrestre in chilometri */
+    public static final double RAGGIO_TERRESTRE_KM = 6371.0088;
+
+    private final double latitudine;
+    private final double longitudine;
+
+    /**
+     * Costruttore della classe Coordinate.
+     *
+     * @param latitudine  La latitudine, tra -90 e 90
+     * @param longitudine La longitudine, tra -180 e 180
+     * @throws IllegalArgumentException se le coordinate sono fuori intervallo
+     */
+    public Coordinate(double latitudine, double longitudine) {
+        if (!(latitudine >= -90 && latitudine <= 90)) {
+            throw new IllegalArgumentException("Latitudine non valida: " + latitudine);
+        }
+        if (!(longitudine >= -180 && longitudine <= 180)) {
+            throw new IllegalArgumentException("Longitudine non valida: " + longitudine);
+        }
+        this.latitudine = latitudine;
+        this.longitudine = longitudine;
+    }
+
+    // ==================== GETTER ====================
+
+    public double getLatitudine() {
+        return latitudine;
+    }
+
+    public double getLongitudine() {
+        return longitudine;
+    }
+
+    double getX() {
+        return Math.cos(Math.toRadians(latitudine)) * Math.cos(Math.toRadians(longitudine));
+    }
+
+    double getY() {
+        return Math.cos(Math.toRadians(latitudine)) * Math.sin(Math.toRadians(longitudine));
+    }
+
+    double getZ() {
+        return Math.sin(Math.toRadians(latitudine));
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Calcola la distanza lungo la superficie terrestre.
+     *
+     * @param altra L'altra posizione
+     * @return La distanza in chilometri
+     */
+    public double distanzaKm(Coordinate altra) {
+        double dx = getX() - altra.getX();
+        double dy = getY() - altra.getY();
+        double dz = getZ() - altra.getZ();
+        return daCorda(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    /**
+     * Converte una distanza in chilometri nella corda corrispondente sulla sfera unitaria.
+     */
+    static double corda(double km) {
+        return 2 * Math.sin(Math.min(Math.PI, km / RAGGIO_TERRESTRE_KM) / 2);
+    }
+
+    /**
+     * Converte una corda sulla sfera unitaria nella distanza in chilometri.
+     */
+    static double daCorda(double corda) {
+        return 2 * RAGGIO_TERRESTRE_KM * Math.asin(Math.min(1, corda / 2));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Coordinate)) {
+            return false;
+        }
+        Coordinate altra = (Coordinate) o;
+        return Double.compare(latitudine, altra.latitudine) == 0
+            && Double.compare(longitudine, altra.longitudine) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(latitudine) + Double.hashCode(longitudine);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.5f,%.5f", latitudine, longitudine);
+    }
+}
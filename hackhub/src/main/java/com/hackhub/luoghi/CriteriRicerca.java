@@ -0,0 +1,98 @@
+package com.hackhub.luoghi;
+
+import com.hackhub.enums.StatoHackathon;
+import java.time.LocalDate;
+
+/**
+ * Classe che rappresenta i filtri di una ricerca geografica di hackathon:
+ * gli stati ammessi e un periodo con cui l'hackathon deve sovrapporsi.
+ *
+ * I metodi con* modificano i criteri e li restituiscono, per comporli:
+ * new CriteriRicerca().conStati(StatoHackathon.IN_ISCRIZIONE).traDate(oggi, oggi.plusMonths(1))
+ */
+public class CriteriRicerca {
+
+    /** Maschera con tutti gli stati */
+    static final int TUTTI_GLI_STATI = (1 << StatoHackathon.values().length) - 1;
+
+    /** Bit degli stati ammessi, per ordinale */
+    private int stati;
+
+    /** Primo giorno del periodo (epoch day) */
+    private long da;
+
+    /** Ultimo giorno del periodo (epoch day) */
+    private long a;
+
+    /**
+     * Costruttore della classe CriteriRicerca, senza filtri.
+     */
+    public CriteriRicerca() {
+        this.stati = TUTTI_GLI_STATI;
+        this.da = Long.MIN_VALUE;
+        this.a = Long.MAX_VALUE;
+    }
+
+    // ==================== GETTER ====================
+
+    int getStati() {
+        return stati;
+    }
+
+    long getDa() {
+        return da;
+    }
+
+    long getA() {
+        return a;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Ammette solo gli hackathon negli stati indicati.
+     *
+     * @param ammessi Gli stati ammessi
+     * @return Questi criteri
+     * @throws IllegalArgumentException se non e' indicato alcuno stato
+     */
+    public CriteriRicerca conStati(StatoHackathon... ammessi) {
+        if (ammessi.length == 0) {
+            throw new IllegalArgumentException("Indicare almeno uno stato");
+        }
+        int maschera = 0;
+        for (StatoHackathon stato : ammessi) {
+            maschera |= maschera(stato);
+        }
+        this.stati = maschera;
+        return this;
+    }
+
+    /**
+     * Ammette solo gli hackathon che si svolgono, almeno in parte, nel periodo indicato.
+     *
+     * @param primo  Il primo giorno (null per nessun limite)
+     * @param ultimo L'ultimo giorno (null per nessun limite)
+     * @return Questi criteri
+     * @throws IllegalArgumentException se l'ultimo giorno precede il primo
+     */
+    public CriteriRicerca traDate(LocalDate primo, LocalDate ultimo) {
+        if (primo != null && ultimo != null && ultimo.isBefore(primo)) {
+            throw new IllegalArgumentException("L'ultimo giorno precede il primo");
+        }
+        this.da = primo == null ? Long.MIN_VALUE : primo.toEpochDay();
+        this.a = ultimo == null ? Long.MAX_VALUE : ultimo.toEpochDay();
+        return this;
+    }
+
+    /**
+     * Verifica se un hackathon indicizzato rispetta i criteri.
+     */
+    boolean ammette(int stato, long inizio, long fine) {
+        return (stati & stato) != 0 && inizio <= a && fine >= da;
+    }
+
+    static int maschera(StatoHackathon stato) {
+        return stato == null ? 0 : 1 << stato.ordinal();
+    }
+}
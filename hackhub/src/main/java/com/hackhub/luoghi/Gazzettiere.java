@@ -0,0 +1,168 @@
+package com.hackhub.luoghi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Classe che associa i nomi dei luoghi alle coordinate, senza servizi esterni.
+ *
+ * Il gazzettiere si legge da un file di testo con una riga per nome,
+ * "nome;latitudine;longitudine"; le righe vuote e quelle che iniziano con #
+ * vengono ignorate. Quello predefinito (gazzettiere.csv tra le risorse del
+ * pacchetto) contiene i capoluoghi di provincia italiani e alcune citta' europee.
+ *
+ * Un luogo (Hackathon.luogo) viene risolto in quest'ordine:
+ * 1. coordinate scritte direttamente, "43.1355, 13.0683"
+ * 2. il luogo intero
+ * 3. le parti separate da virgole, dall'ultima alla prima ("Via Madonna delle Carceri, Camerino")
+ * I nomi vengono confrontati senza maiuscole, accenti, parentesi ("Camerino (MC)")
+ * e spazi ripetuti.
+ */
+public class Gazzettiere {
+
+    /** Risorsa del gazzettiere predefinito */
+    private static final String RISORSA_PREDEFINITA = "gazzettiere.csv";
+
+    private static final Pattern COORDINATE = Pattern.compile(
+        "\\s*([-+]?\\d{1,2}(?:\\.\\d+)?)\\s*[,;]\\s*([-+]?\\d{1,3}(?:\\.\\d+)?)\\s*");
+
+    private static final Pattern PARENTESI = Pattern.compile("\\([^)]*\\)");
+
+    private static final Pattern SEGNI = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPAZI = Pattern.compile("\\s+");
+
+    /** Coordinate per nome normalizzato */
+    private final Map<String, Coordinate> luoghi;
+
+    /**
+     * Costruttore della classe Gazzettiere, vuoto.
+     */
+    public Gazzettiere() {
+        this.luoghi = new HashMap<>();
+    }
+
+    /**
+     * Legge il gazzettiere predefinito.
+     *
+     * @return Il gazzettiere
+     * @throws UncheckedIOException se la risorsa non e' leggibile
+     */
+    public static Gazzettiere predefinito() {
+        try (InputStream risorsa = Gazzettiere.class.getResourceAsStream(RISORSA_PREDEFINITA)) {
+            if (risorsa == null) {
+                throw new IOException("Risorsa non trovata: " + RISORSA_PREDEFINITA);
+            }
+            Gazzettiere gazzettiere = new Gazzettiere();
+            gazzettiere.leggi(new BufferedReader(new InputStreamReader(risorsa, StandardCharsets.UTF_8)),
+                RISORSA_PREDEFINITA);
+            return gazzettiere;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Legge un gazzettiere da file.
+     *
+     * @param file Il file, in UTF-8
+     * @return Il gazzettiere
+     * @throws IOException se il file non e' leggibile o contiene righe non valide
+     */
+    public static Gazzettiere carica(Path file) throws IOException {
+        Gazzettiere gazzettiere = new Gazzettiere();
+        try (BufferedReader lettore = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            gazzettiere.leggi(lettore, file.toString());
+        }
+        return gazzettiere;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getNumeroNomi() {
+        return luoghi.size();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Aggiunge o sostituisce un nome.
+     *
+     * @param nome        Il nome del luogo
+     * @param coordinate  Le coordinate
+     */
+    public void aggiungi(String nome, Coordinate coordinate) {
+        luoghi.put(normalizza(nome), coordinate);
+    }
+
+    /**
+     * Risolve un luogo nelle sue coordinate.
+     *
+     * @param luogo Il luogo, come scritto in Hackathon.luogo
+     * @return Le coordinate, o null se il luogo e' vuoto o sconosciuto
+     */
+    public Coordinate risolvi(String luogo) {
+        if (luogo == null || luogo.isBlank()) {
+            return null;
+        }
+        Matcher coordinate = COORDINATE.matcher(luogo);
+        if (coordinate.matches()) {
+            double latitudine = Double.parseDouble(coordinate.group(1));
+            double longitudine = Double.parseDouble(coordinate.group(2));
+            if (Math.abs(latitudine) <= 90 && Math.abs(longitudine) <= 180) {
+                return new Coordinate(latitudine, longitudine);
+            }
+        }
+        Coordinate trovate = luoghi.get(normalizza(luogo));
+        if (trovate != null) {
+            return trovate;
+        }
+        String[] parti = luogo.split(",");
+        for (int i = parti.length - 1; i >= 0 && parti.length > 1; i--) {
+            trovate = luoghi.get(normalizza(parti[i]));
+            if (trovate != null) {
+                return trovate;
+            }
+        }
+        return null;
+    }
+
+    private void leggi(BufferedReader lettore, String origine) throws IOException {
+        String riga;
+        int numero = 0;
+        while ((riga = lettore.readLine()) != null) {
+            numero++;
+            if (riga.isBlank() || riga.startsWith("#")) {
+                continue;
+            }
+            String[] campi = riga.split(";");
+            try {
+                if (campi.length != 3) {
+                    throw new IllegalArgumentException("attesi 3 campi, trovati " + campi.length);
+                }
+                aggiungi(campi[0], new Coordinate(Double.parseDouble(campi[1].trim()),
+                    Double.parseDouble(campi[2].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(origine + ", riga " + numero + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    static String normalizza(String nome) {
+        String senzaParentesi = PARENTESI.matcher(nome).replaceAll(" ");
+        String senzaAccenti = SEGNI.matcher(Normalizer.normalize(senzaParentesi, Normalizer.Form.NFD)).replaceAll("");
+        return SPAZI.matcher(senzaAccenti.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,40 @@
+package com.hackhub.luoghi;
+
+import com.hackhub.model.Hackathon;
+import java.util.Locale;
+
+/**
+ * Classe che rappresenta un hackathon trovato da una ricerca geografica,
+ * con la sua distanza dal punto di ricerca.
+ */
+public class HackathonVicino {
+
+    private final Hackathon hackathon;
+    private final Coordinate coordinate;
+    private final double distanzaKm;
+
+    HackathonVicino(Hackathon hackathon, Coordinate coordinate, double distanzaKm) {
+        this.hackathon = hackathon;
+        this.coordinate = coordinate;
+        this.distanzaKm = distanzaKm;
+    }
+
+    // ==================== GETTER ====================
+
+    public Hackathon getHackathon() {
+        return hackathon;
+    }
+
+    public Coordinate getCoordinate() {
+        return coordinate;
+    }
+
+    public double getDistanzaKm() {
+        return distanzaKm;
+    }
+
+    @Override
+    public String toString() {
+        return hackathon.getNome() + " a " + String.format(Locale.ROOT, "%.1f", distanzaKm) + " km";
+    }
+}
@@ -0,0 +1,297 @@
+package com.hackhub.luoghi;
+
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che indicizza gli hackathon per posizione, per trovare quelli vicini
+ * a un punto con i filtri di CriteriRicerca.
+ *
+ * Il luogo di ogni hackathon viene risolto con un Gazzettiere; gli hackathon
+ * senza luogo o con un luogo sconosciuto non vengono indicizzati e sono contati
+ * da getNonRisolti(). Le ricerche sono due:
+ * - entroRaggio(): tutti gli hackathon entro una distanza, dal piu' vicino
+ * - piuVicini(): i k hackathon piu' vicini
+ *
+ * Le ricerche leggono un'istantanea immutabile (un AlberoKd piu' i punti aggiunti
+ * dopo la sua costruzione) senza lock. Le modifiche sono sincronizzate: un
+ * hackathon modificato viene segnato come rimosso nell'albero e aggiunto tra i
+ * recenti; quando recenti e rimossi superano SOGLIA_RICOSTRUZIONE o un
+ * trentaduesimo dei punti l'albero viene ricostruito.
+ *
+ * Con attiva() l'indice segue gli eventi degli hackathon (creazione, luogo,
+ * stato, date); gli hackathon esistenti vanno caricati prima con indicizza().
+ */
+public class IndiceGeografico implements AscoltatoreEventi {
+
+    /** Numero minimo di modifiche che fa ricostruire l'albero */
+    static final int SOGLIA_RICOSTRUZIONE = 256;
+
+    /** Campi di Hackathon che cambiano la posizione nell'indice */
+    private static final Set<String> CAMPI_INDICIZZATI = Set.of("luogo", "stato", "dataInizio", "dataFine");
+
+    private final Gazzettiere gazzettiere;
+
+    /** Istantanea letta dalle ricerche */
+    private volatile Istantanea istantanea;
+
+    /** Punto attuale per id dell'hackathon, modificato solo con il lock */
+    private final Map<Long, Punto> perId;
+
+    /** Id degli hackathon con un luogo non risolto */
+    private final Set<Long> nonRisolti;
+
+    /** Punti rimossi ancora presenti nell'albero */
+    private int rimossiNellAlbero;
+
+    private int ricostruzioni;
+
+    /**
+     * Costruttore della classe IndiceGeografico.
+     *
+     * @param gazzettiere Il gazzettiere con cui risolvere i luoghi
+     */
+    public IndiceGeografico(Gazzettiere gazzettiere) {
+        this.gazzettiere = gazzettiere;
+        this.istantanea = new Istantanea(new AlberoKd(new Punto[0]), new Punto[0]);
+        this.perId = new HashMap<>();
+        this.nonRisolti = new HashSet<>();
+    }
+
+    // ==================== GETTER ====================
+
+    public synchronized int getNumeroIndicizzati() {
+        return perId.size();
+    }
+
+    /**
+     * Restituisce il numero di hackathon con un luogo che il gazzettiere non conosce.
+     *
+     * @return Il numero di hackathon non indicizzati per luogo sconosciuto
+     */
+    public synchronized int getNonRisolti() {
+        return nonRisolti.size();
+    }
+
+    public synchronized int getRicostruzioni() {
+        return ricostruzioni;
+    }
+
+    /**
+     * Restituisce le coordinate con cui un hackathon e' indicizzato.
+     *
+     * @param hackathon L'hackathon
+     * @return Le coordinate, o null se l'hackathon non e' indicizzato
+     */
+    public synchronized Coordinate getCoordinate(Hackathon hackathon) {
+        Punto punto = perId.get(hackathon.getId());
+        return punto == null ? null : punto.coordinate;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Attiva l'aggiornamento dell'indice con gli eventi degli hackathon.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Disattiva l'aggiornamento dell'indice.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Indicizza gli hackathon esistenti e ricostruisce l'albero una volta sola.
+     *
+     * @param hackathon Gli hackathon
+     */
+    public synchronized void indicizza(Iterable<Hackathon> hackathon) {
+        for (Hackathon h : hackathon) {
+            sostituisci(h);
+        }
+        ricostruisci();
+    }
+
+    /**
+     * Aggiorna la posizione di un hackathon dopo una modifica.
+     *
+     * @param hackathon L'hackathon
+     */
+    public synchronized void aggiorna(Hackathon hackathon) {
+        Punto nuovo = sostituisci(hackathon);
+        Istantanea corrente = istantanea;
+        if (corrente.recenti.length + rimossiNellAlbero >= Math.max(SOGLIA_RICOSTRUZIONE, perId.size() / 32)) {
+            ricostruisci();
+        } else if (nuovo != null) {
+            Punto[] recenti = Arrays.copyOf(corrente.recenti, corrente.recenti.length + 1);
+            recenti[corrente.recenti.length] = nuovo;
+            istantanea = new Istantanea(corrente.albero, recenti);
+        }
+    }
+
+    /**
+     * Toglie un hackathon dall'indice.
+     *
+     * @param hackathon L'hackathon
+     */
+    public synchronized void rimuovi(Hackathon hackathon) {
+        nonRisolti.remove(hackathon.getId());
+        Punto vecchio = perId.remove(hackathon.getId());
+        if (vecchio != null) {
+            segnaRimosso(vecchio);
+        }
+    }
+
+    /**
+     * Trova gli hackathon entro una distanza, dal piu' vicino.
+     *
+     * @param centro   Il punto di ricerca
+     * @param raggioKm La distanza massima in chilometri
+     * @param criteri  I filtri su stato e date
+     * @return Gli hackathon trovati, ordinati per distanza
+     * @throws IllegalArgumentException se il raggio e' negativo
+     */
+    public List<HackathonVicino> entroRaggio(Coordinate centro, double raggioKm, CriteriRicerca criteri) {
+        if (!(raggioKm >= 0)) {
+            throw new IllegalArgumentException("Il raggio non puo' essere negativo");
+        }
+        double qx = centro.getX();
+        double qy = centro.getY();
+        double qz = centro.getZ();
+        double corda = Coordinate.corda(raggioKm);
+        Istantanea corrente = istantanea;
+        List<Punto> trovati = new ArrayList<>();
+        corrente.albero.entroCorda(qx, qy, qz, corda, criteri, trovati::add);
+        for (Punto punto : corrente.recenti) {
+            if (!punto.rimosso && criteri.ammette(punto.stato, punto.inizio, punto.fine)
+                    && punto.distanzaQuadrata(qx, qy, qz) <= corda * corda) {
+                trovati.add(punto);
+            }
+        }
+        List<HackathonVicino> risultato = new ArrayList<>(trovati.size());
+        for (Punto punto : trovati) {
+            risultato.add(new HackathonVicino(punto.hackathon, punto.coordinate,
+                Coordinate.daCorda(Math.sqrt(punto.distanzaQuadrata(qx, qy, qz)))));
+        }
+        risultato.sort(Comparator.comparingDouble(HackathonVicino::getDistanzaKm));
+        return risultato;
+    }
+
+    /**
+     * Trova i k hackathon piu' vicini.
+     *
+     * @param centro  Il punto di ricerca
+     * @param k       Il numero di hackathon
+     * @param criteri I filtri su stato e date
+     * @return Al piu' k hackathon, ordinati per distanza
+     * @throws IllegalArgumentException se k non e' positivo
+     */
+    public List<HackathonVicino> piuVicini(Coordinate centro, int k, CriteriRicerca criteri) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Il numero di hackathon deve essere positivo");
+        }
+        double qx = centro.getX();
+        double qy = centro.getY();
+        double qz = centro.getZ();
+        Istantanea corrente = istantanea;
+        AlberoKd.Vicini vicini = new AlberoKd.Vicini(Math.min(k, corrente.albero.getDimensione()
+            + corrente.recenti.length + 1));
+        corrente.albero.piuVicini(qx, qy, qz, criteri, vicini);
+        for (Punto punto : corrente.recenti) {
+            if (!punto.rimosso && criteri.ammette(punto.stato, punto.inizio, punto.fine)) {
+                vicini.offri(punto, punto.distanzaQuadrata(qx, qy, qz));
+            }
+        }
+        List<HackathonVicino> risultato = new ArrayList<>(vicini.getNumero());
+        for (int i = 0; i < vicini.getNumero(); i++) {
+            Punto punto = vicini.getPunto(i);
+            risultato.add(new HackathonVicino(punto.hackathon, punto.coordinate,
+                Coordinate.daCorda(Math.sqrt(vicini.getDistanza(i)))));
+        }
+        risultato.sort(Comparator.comparingDouble(HackathonVicino::getDistanzaKm));
+        return risultato;
+    }
+
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        if (!(evento.getSorgente() instanceof Hackathon)) {
+            return;
+        }
+        if (evento.getTipo() == TipoEvento.CREAZIONE
+                || evento.getTipo() == TipoEvento.MODIFICA && CAMPI_INDICIZZATI.contains(evento.getCampo())) {
+            aggiorna((Hackathon) evento.getSorgente());
+        }
+    }
+
+    /**
+     * Sostituisce il punto di un hackathon senza pubblicare l'istantanea.
+     *
+     * @return Il nuovo punto, o null se il luogo non e' risolto
+     */
+    private Punto sostituisci(Hackathon hackathon) {
+        Long id = hackathon.getId();
+        Punto vecchio = perId.remove(id);
+        if (vecchio != null) {
+            segnaRimosso(vecchio);
+        }
+        Coordinate coordinate = gazzettiere.risolvi(hackathon.getLuogo());
+        if (coordinate == null) {
+            if (hackathon.getLuogo() != null && !hackathon.getLuogo().isBlank()) {
+                nonRisolti.add(id);
+            } else {
+                nonRisolti.remove(id);
+            }
+            return null;
+        }
+        nonRisolti.remove(id);
+        Punto nuovo = new Punto(hackathon, coordinate);
+        perId.put(id, nuovo);
+        return nuovo;
+    }
+
+    private void segnaRimosso(Punto punto) {
+        punto.rimosso = true;
+        // I punti recenti spariscono alla ricostruzione; quelli nell'albero la avvicinano
+        if (punto.nellAlbero) {
+            rimossiNellAlbero++;
+        }
+    }
+
+    private void ricostruisci() {
+        Punto[] punti = perId.values().toArray(new Punto[0]);
+        for (Punto punto : punti) {
+            punto.nellAlbero = true;
+        }
+        istantanea = new Istantanea(new AlberoKd(punti), new Punto[0]);
+        rimossiNellAlbero = 0;
+        ricostruzioni++;
+    }
+
+    /**
+     * Albero e punti aggiunti dopo la sua costruzione, mai modificati dopo la pubblicazione.
+     */
+    private static final class Istantanea {
+        private final AlberoKd albero;
+        private final Punto[] recenti;
+
+        private Istantanea(AlberoKd albero, Punto[] recenti) {
+            this.albero = albero;
+            this.recenti = recenti;
+        }
+    }
+}
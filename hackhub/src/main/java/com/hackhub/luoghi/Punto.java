@@ -0,0 +1,53 @@
+package com.hackhub.luoghi;
+
+import com.hackhub.model.Hackathon;
+
+/**
+ * Hackathon indicizzato: posizione sulla sfera unitaria, stato e date
+ * fotografati al momento dell'indicizzazione.
+ *
+ * Quando l'hackathon cambia, IndiceGeografico crea un nuovo punto e segna
+ * rimosso quello vecchio, che le ricerche saltano fino alla ricostruzione.
+ */
+final class Punto {
+
+    final Hackathon hackathon;
+    final Coordinate coordinate;
+    final double x;
+    final double y;
+    final double z;
+
+    /** Bit dello stato, come in CriteriRicerca */
+    final int stato;
+
+    /** Primo e ultimo giorno (epoch day) */
+    final long inizio;
+    final long fine;
+
+    volatile boolean rimosso;
+
+    /** Se il punto e' nell'albero dell'istantanea; letto e scritto solo con il lock dell'indice */
+    boolean nellAlbero;
+
+    Punto(Hackathon hackathon, Coordinate coordinate) {
+        this.hackathon = hackathon;
+        this.coordinate = coordinate;
+        this.x = coordinate.getX();
+        this.y = coordinate.getY();
+        this.z = coordinate.getZ();
+        this.stato = CriteriRicerca.maschera(hackathon.getStato());
+        this.inizio = hackathon.getDataInizio() == null ? Long.MIN_VALUE : hackathon.getDataInizio().toEpochDay();
+        this.fine = hackathon.getDataFine() == null ? Long.MAX_VALUE : hackathon.getDataFine().toEpochDay();
+    }
+
+    double coordinata(int asse) {
+        return asse == 0 ? x : asse == 1 ? y : z;
+    }
+
+    double distanzaQuadrata(double qx, double qy, double qz) {
+        double dx = x - qx;
+        double dy = y - qy;
+        double dz = z - qz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,108 @@
+package com.hackhub.memoria;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Arena di stringhe in sola aggiunta su buffer diretti.
+ *
+ * Ogni stringa e' memorizzata come lunghezza (int) seguita dai byte UTF-8
+ * e identificata da un riferimento long: indice del blocco nei 32 bit alti,
+ * offset nel blocco nei 32 bit bassi. Le stringhe sostituite restano nell'arena
+ * e vengono contate come byte inutilizzati.
+ */
+class ArenaStringhe {
+
+    /** Riferimento che rappresenta una stringa null */
+    static final long NESSUNA = -1L;
+
+    private final int dimensioneBlocco;
+    private ByteBuffer[] blocchi;
+    private int bloccoCorrente;
+    private long byteInutilizzati;
+
+    ArenaStringhe(int dimensioneBlocco) {
+        this.dimensioneBlocco = dimensioneBlocco;
+        this.blocchi = new ByteBuffer[] { nuovoBlocco() };
+        this.bloccoCorrente = 0;
+    }
+
+    long aggiungi(String valore) {
+        if (valore == null) {
+            return NESSUNA;
+        }
+        byte[] byteValore = valore.getBytes(StandardCharsets.UTF_8);
+        int necessari = Integer.BYTES + byteValore.length;
+        if (necessari > dimensioneBlocco) {
+            throw new IllegalArgumentException("Stringa troppo lunga per l'arena: " + byteValore.length + " byte");
+        }
+        ByteBuffer blocco = blocchi[bloccoCorrente];
+        if (blocco.remaining() < necessari) {
+            if (++bloccoCorrente == blocchi.length) {
+                blocchi = Arrays.copyOf(blocchi, blocchi.length * 2);
+            }
+            blocco = nuovoBlocco();
+            blocchi[bloccoCorrente] = blocco;
+        }
+        int offset = blocco.position();
+        blocco.putInt(byteValore.length).put(byteValore);
+        return ((long) bloccoCorrente << 32) | offset;
+    }
+
+    String leggi(long riferimento) {
+        if (riferimento == NESSUNA) {
+            return null;
+        }
+        ByteBuffer blocco = blocchi[(int) (riferimento >>> 32)];
+        int offset = (int) riferimento;
+        int lunghezza = blocco.getInt(offset);
+        byte[] byteValore = new byte[lunghezza];
+        blocco.get(offset + Integer.BYTES, byteValore);
+        return new String(byteValore, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Confronta la stringa memorizzata con i byte UTF-8 dati senza allocare.
+     */
+    boolean uguale(long riferimento, byte[] atteso) {
+        if (riferimento == NESSUNA) {
+            return atteso == null;
+        }
+        if (atteso == null) {
+            return false;
+        }
+        ByteBuffer blocco = blocchi[(int) (riferimento >>> 32)];
+        int offset = (int) riferimento;
+        if (blocco.getInt(offset) != atteso.length) {
+            return false;
+        }
+        int inizio = offset + Integer.BYTES;
+        for (int i = 0; i < atteso.length; i++) {
+            if (blocco.get(inizio + i) != atteso[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void libera(long riferimento) {
+        if (riferimento != NESSUNA) {
+            ByteBuffer blocco = blocchi[(int) (riferimento >>> 32)];
+            byteInutilizzati += Integer.BYTES + blocco.getInt((int) riferimento);
+        }
+    }
+
+    private ByteBuffer nuovoBlocco() {
+        return ByteBuffer.allocateDirect(dimensioneBlocco).order(ByteOrder.nativeOrder());
+    }
+
+    long getByteAllocati() {
+        return (long) (bloccoCorrente + 1) * dimensioneBlocco;
+    }
+
+    long getByteInutilizzati() {
+        return byteInutilizzati;
+    }
+}
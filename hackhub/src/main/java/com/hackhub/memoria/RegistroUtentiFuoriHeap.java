@@ -0,0 +1,539 @@
+package com.hackhub.memoria;
+
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Utente;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Classe che memorizza gli utenti fuori heap, per milioni di account.
+ *
+ * Ogni utente occupa un record a larghezza fissa di 80 byte in pagine di buffer diretti:
+ * <pre>
+ *  0 id (long)            8 id team (long, -1 se assente)
+ * 16 nome                24 cognome
+ * 32 email               40 password
+ * 48 ruolo               56 competenze
+ * 64 preferenze          (riferimenti long nell'arena delle stringhe)
+ * 72 data ingresso (int, giorno epoch)   76 tipo (byte)   77 flag (byte)
+ * </pre>
+ * Stringhe e insiemi di stringhe vivono in un'arena di buffer diretti; gli indici
+ * per id e per email sono tabelle hash anch'esse fuori heap. Le email vengono
+ * memorizzate normalizzate (minuscole e senza spazi ai bordi), quindi ricerche
+ * e confronti per email non distinguono maiuscole e minuscole. Sull'heap restano
+ * solo gli array delle pagine, la cui dimensione cresce di un elemento ogni 65536 utenti:
+ * il lavoro del garbage collector non dipende dal numero di utenti.
+ *
+ * La memoria diretta e' limitata da -XX:MaxDirectMemorySize (per default pari a -Xmx).
+ * Le scritture acquisiscono il lock in scrittura, le letture quello in lettura.
+ */
+public class RegistroUtentiFuoriHeap {
+
+    static final int ID = 0;
+    static final int ID_TEAM = 8;
+    static final int NOME = 16;
+    static final int COGNOME = 24;
+    static final int EMAIL = 32;
+    static final int PASSWORD = 40;
+    static final int RUOLO = 48;
+    static final int COMPETENZE = 56;
+    static final int PREFERENZE = 64;
+    static final int DATA_INGRESSO = 72;
+    static final int TIPO = 76;
+    static final int FLAG = 77;
+
+    /** Dimensione di un record in byte */
+    public static final int DIMENSIONE_RECORD = 80;
+
+    private static final int BIT_PAGINA = 16;
+    private static final int RECORD_PER_PAGINA = 1 << BIT_PAGINA;
+    private static final int DIMENSIONE_BLOCCO_STRINGHE = 16 * 1024 * 1024;
+    private static final int DATA_ASSENTE = Integer.MIN_VALUE;
+    private static final byte FLAG_VICE_LEADER = 1;
+    private static final char SEPARATORE_INSIEME = '\n';
+    private static final TipoUtente[] TIPI = TipoUtente.values();
+
+    private final ReadWriteLock lock;
+    private final ArenaStringhe stringhe;
+    private final TabellaIndici perId;
+    private final TabellaIndici perEmail;
+    private ByteBuffer[] pagine;
+    private int numeroUtenti;
+
+    /**
+     * Costruttore della classe RegistroUtentiFuoriHeap.
+     *
+     * @param capacitaIniziale Il numero di utenti previsto, usato per dimensionare gli indici
+     */
+    public RegistroUtentiFuoriHeap(int capacitaIniziale) {
+        this.lock = new ReentrantReadWriteLock();
+        this.stringhe = new ArenaStringhe(DIMENSIONE_BLOCCO_STRINGHE);
+        this.perId = new TabellaIndici(capacitaIniziale * 2);
+        this.perEmail = new TabellaIndici(capacitaIniziale * 2);
+        this.pagine = new ByteBuffer[8];
+        this.numeroUtenti = 0;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di utenti memorizzati.
+     *
+     * @return Il numero di utenti
+     */
+    public int getNumeroUtenti() {
+        lock.readLock().lock();
+        try {
+            return numeroUtenti;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce la memoria diretta allocata da record, arena e indici.
+     *
+     * @return I byte allocati fuori heap
+     */
+    public long getByteFuoriHeap() {
+        lock.readLock().lock();
+        try {
+            long pagineAllocate = (numeroUtenti + RECORD_PER_PAGINA - 1) >>> BIT_PAGINA;
+            return pagineAllocate * RECORD_PER_PAGINA * DIMENSIONE_RECORD
+                + stringhe.getByteAllocati() + perId.getByteAllocati() + perEmail.getByteAllocati();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce i byte dell'arena occupati da stringhe sostituite da un setter.
+     *
+     * @return I byte non piu' raggiungibili
+     */
+    public long getByteInutilizzati() {
+        lock.readLock().lock();
+        try {
+            return stringhe.getByteInutilizzati();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce un nuovo flyweight posizionato su uno slot.
+     *
+     * @param slot Lo slot del record
+     * @return Il flyweight
+     * @throws IndexOutOfBoundsException se lo slot non esiste
+     */
+    public UtenteFuoriHeap get(int slot) {
+        verificaSlot(slot);
+        return new UtenteFuoriHeap(this, slot);
+    }
+
+    /**
+     * Cerca lo slot di un utente per id.
+     *
+     * @param id L'id dell'utente
+     * @return Lo slot, -1 se assente
+     */
+    public int trovaPerId(long id) {
+        lock.readLock().lock();
+        try {
+            return perId.trova(id, slot -> true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cerca lo slot di un utente per email.
+     *
+     * @param email L'email dell'utente
+     * @return Lo slot, -1 se assente
+     */
+    public int trovaPerEmail(String email) {
+        if (email == null) {
+            return -1;
+        }
+        String normalizzata = normalizza(email);
+        byte[] attesa = normalizzata.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            return perEmail.trova(hashEmail(normalizzata),
+                slot -> stringhe.uguale(leggiRiferimento(slot, EMAIL), attesa));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Imposta il nome dell'utente in uno slot.
+     *
+     * @param slot Lo slot del record
+     * @param nome Il nuovo nome
+     */
+    public void setNome(int slot, String nome) {
+        scriviStringa(slot, NOME, nome);
+    }
+
+    /**
+     * Imposta il cognome dell'utente in uno slot.
+     *
+     * @param slot    Lo slot del record
+     * @param cognome Il nuovo cognome
+     */
+    public void setCognome(int slot, String cognome) {
+        scriviStringa(slot, COGNOME, cognome);
+    }
+
+    /**
+     * Imposta la password dell'utente in uno slot.
+     *
+     * @param slot     Lo slot del record
+     * @param password La nuova password
+     */
+    public void setPassword(int slot, String password) {
+        scriviStringa(slot, PASSWORD, password);
+    }
+
+    /**
+     * Imposta l'email dell'utente in uno slot, sostituendo la voce dell'indice.
+     *
+     * @param slot  Lo slot del record
+     * @param email La nuova email
+     * @throws IllegalArgumentException se l'email e' null
+     * @throws IllegalStateException se l'email appartiene gia' a un altro utente
+     */
+    public void setEmail(int slot, String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("L'email non puo' essere null");
+        }
+        lock.writeLock().lock();
+        try {
+            verificaSlot(slot);
+            int esistente = trovaPerEmail(email);
+            if (esistente == slot) {
+                return;
+            }
+            if (esistente >= 0) {
+                throw new IllegalStateException("Email gia' registrata: " + email);
+            }
+            String normalizzata = normalizza(email);
+            String precedente = stringhe.leggi(leggiRiferimento(slot, EMAIL));
+            perEmail.rimuovi(hashEmail(precedente), slot);
+            scriviStringa(slot, EMAIL, normalizzata);
+            perEmail.inserisci(hashEmail(normalizzata), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Imposta il team dell'utente in uno slot.
+     *
+     * @param slot   Lo slot del record
+     * @param idTeam L'id del team, null per nessun team
+     */
+    public void setIdTeam(int slot, Long idTeam) {
+        lock.writeLock().lock();
+        try {
+            verificaSlot(slot);
+            pagina(slot).putLong(offset(slot) + ID_TEAM, idTeam != null ? idTeam : -1L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Imposta il tipo dell'utente in uno slot (es. promozione a Leader).
+     *
+     * @param slot Lo slot del record
+     * @param tipo Il nuovo tipo
+     */
+    public void setTipo(int slot, TipoUtente tipo) {
+        lock.writeLock().lock();
+        try {
+            verificaSlot(slot);
+            pagina(slot).put(offset(slot) + TIPO, (byte) tipo.ordinal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Imposta il flag di vice leader dell'utente in uno slot.
+     *
+     * @param slot         Lo slot del record
+     * @param isViceLeader true se l'utente e' vice leader
+     */
+    public void setViceLeader(int slot, boolean isViceLeader) {
+        lock.writeLock().lock();
+        try {
+            verificaSlot(slot);
+            ByteBuffer pagina = pagina(slot);
+            int posizione = offset(slot) + FLAG;
+            byte flag = pagina.get(posizione);
+            pagina.put(posizione, (byte) (isViceLeader ? flag | FLAG_VICE_LEADER : flag & ~FLAG_VICE_LEADER));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Copia un utente in un nuovo record fuori heap.
+     * Gli utenti del modello implementano VistaUtente, come i record di un altro registro.
+     *
+     * Precondizioni: nessun utente con lo stesso id o la stessa email e' gia' presente
+     * Postcondizioni: l'utente e' ricercabile per id e per email
+     *
+     * @param utente L'utente da copiare
+     * @return Lo slot del nuovo record
+     * @throws IllegalArgumentException se l'utente o la sua email sono null
+     * @throws IllegalStateException se l'id o l'email sono gia' presenti
+     */
+    public int aggiungi(VistaUtente utente) {
+        if (utente == null || utente.getEmail() == null) {
+            throw new IllegalArgumentException("L'utente e la sua email non possono essere null");
+        }
+        String email = normalizza(utente.getEmail());
+        TipoUtente tipo = utente.getTipo();
+        Long idTeam = utente.getIdTeam();
+        Set<String> competenze = utente.getCompetenze();
+        Set<String> preferenze = utente.getPreferenze();
+        LocalDate dataIngresso = utente.getDataIngresso();
+
+        lock.writeLock().lock();
+        try {
+            if (perId.trova(utente.getId(), slot -> true) >= 0) {
+                throw new IllegalStateException("Utente gia' presente: " + utente.getId());
+            }
+            if (trovaPerEmail(utente.getEmail()) >= 0) {
+                throw new IllegalStateException("Email gia' registrata: " + utente.getEmail());
+            }
+            int slot = nuovoSlot();
+            ByteBuffer pagina = pagina(slot);
+            int base = offset(slot);
+            pagina.putLong(base + ID, utente.getId());
+            pagina.putLong(base + ID_TEAM, idTeam != null ? idTeam : -1L);
+            pagina.putLong(base + NOME, stringhe.aggiungi(utente.getNome()));
+            pagina.putLong(base + COGNOME, stringhe.aggiungi(utente.getCognome()));
+            pagina.putLong(base + EMAIL, stringhe.aggiungi(email));
+            pagina.putLong(base + PASSWORD, stringhe.aggiungi(utente.getPassword()));
+            pagina.putLong(base + RUOLO, stringhe.aggiungi(utente.getRuolo()));
+            pagina.putLong(base + COMPETENZE, stringhe.aggiungi(unisci(competenze)));
+            pagina.putLong(base + PREFERENZE, stringhe.aggiungi(unisci(preferenze)));
+            pagina.putInt(base + DATA_INGRESSO, dataIngresso != null ? (int) dataIngresso.toEpochDay() : DATA_ASSENTE);
+            pagina.put(base + TIPO, (byte) tipo.ordinal());
+            pagina.put(base + FLAG, utente.isViceLeader() ? FLAG_VICE_LEADER : 0);
+            perId.inserisci(utente.getId(), slot);
+            perEmail.inserisci(hashEmail(email), slot);
+            return slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scorre tutti gli utenti con un unico flyweight riposizionato a ogni record.
+     * Il flyweight non va conservato oltre la chiamata all'azione.
+     *
+     * @param azione L'azione da eseguire per ogni utente
+     */
+    public void scorri(Consumer<UtenteFuoriHeap> azione) {
+        UtenteFuoriHeap cursore = new UtenteFuoriHeap(this, 0);
+        int totale = getNumeroUtenti();
+        for (int slot = 0; slot < totale; slot++) {
+            azione.accept(cursore.posiziona(slot));
+        }
+    }
+
+    /**
+     * Ricostruisce sull'heap l'oggetto del modello corrispondente a un record.
+     * Il riferimento al team non viene ripristinato: e' disponibile come id.
+     *
+     * @param slot Lo slot del record
+     * @return L'utente ricostruito, con l'id originale
+     * @throws IllegalStateException se il record e' di un membro dello staff,
+     *                               la cui classe concreta non e' nota al registro
+     */
+    public Utente materializza(int slot) {
+        UtenteFuoriHeap record = get(slot);
+        TipoUtente tipo = record.getTipo();
+        if (tipo == TipoUtente.MEMBRO_STAFF) {
+            throw new IllegalStateException("Un membro dello staff non puo' essere ricostruito dal registro");
+        }
+        Utente[] risultato = new Utente[1];
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            String nome = record.getNome();
+            String cognome = record.getCognome();
+            String email = record.getEmail();
+            String password = record.getPassword();
+            Utente utente;
+            if (tipo == TipoUtente.UTENTE) {
+                utente = new Utente(nome, cognome, email, password);
+            } else {
+                MembroTeam membro = tipo == TipoUtente.LEADER
+                    ? new Leader(nome, cognome, email, password)
+                    : new MembroTeam(nome, cognome, email, password);
+                membro.setViceLeader(record.isViceLeader());
+                membro.setDataIngresso(record.getDataIngresso());
+                utente = membro;
+            }
+            utente.setId(record.getId());
+            record.getCompetenze().forEach(utente::aggiungiCompetenza);
+            record.getPreferenze().forEach(utente::aggiungiPreferenza);
+            risultato[0] = utente;
+        });
+        return risultato[0];
+    }
+
+    // ==================== ACCESSO AI RECORD ====================
+
+    long leggiLong(int slot, int campo) {
+        lock.readLock().lock();
+        try {
+            return pagina(slot).getLong(offset(slot) + campo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String leggiStringa(int slot, int campo) {
+        lock.readLock().lock();
+        try {
+            return stringhe.leggi(leggiRiferimento(slot, campo));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Set<String> leggiInsieme(int slot, int campo) {
+        String unito = leggiStringa(slot, campo);
+        if (unito == null || unito.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> valori = new LinkedHashSet<>();
+        int inizio = 0;
+        for (int i = 0; i <= unito.length(); i++) {
+            if (i == unito.length() || unito.charAt(i) == SEPARATORE_INSIEME) {
+                valori.add(unito.substring(inizio, i));
+                inizio = i + 1;
+            }
+        }
+        return Collections.unmodifiableSet(valori);
+    }
+
+    TipoUtente leggiTipo(int slot) {
+        lock.readLock().lock();
+        try {
+            return TIPI[pagina(slot).get(offset(slot) + TIPO)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean isViceLeader(int slot) {
+        lock.readLock().lock();
+        try {
+            return (pagina(slot).get(offset(slot) + FLAG) & FLAG_VICE_LEADER) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    LocalDate leggiData(int slot) {
+        lock.readLock().lock();
+        try {
+            int giorno = pagina(slot).getInt(offset(slot) + DATA_INGRESSO);
+            return giorno == DATA_ASSENTE ? null : LocalDate.ofEpochDay(giorno);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean haEmail(int slot, String email) {
+        byte[] attesa = email != null ? normalizza(email).getBytes(StandardCharsets.UTF_8) : null;
+        lock.readLock().lock();
+        try {
+            return stringhe.uguale(leggiRiferimento(slot, EMAIL), attesa);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void verificaSlot(int slot) {
+        if (slot < 0 || slot >= getNumeroUtenti()) {
+            throw new IndexOutOfBoundsException("Slot inesistente: " + slot);
+        }
+    }
+
+    private long leggiRiferimento(int slot, int campo) {
+        return pagina(slot).getLong(offset(slot) + campo);
+    }
+
+    private void scriviStringa(int slot, int campo, String valore) {
+        lock.writeLock().lock();
+        try {
+            verificaSlot(slot);
+            ByteBuffer pagina = pagina(slot);
+            int posizione = offset(slot) + campo;
+            stringhe.libera(pagina.getLong(posizione));
+            pagina.putLong(posizione, stringhe.aggiungi(valore));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int nuovoSlot() {
+        int slot = numeroUtenti;
+        int indicePagina = slot >>> BIT_PAGINA;
+        if (indicePagina == pagine.length) {
+            pagine = Arrays.copyOf(pagine, pagine.length * 2);
+        }
+        if (pagine[indicePagina] == null) {
+            pagine[indicePagina] = ByteBuffer.allocateDirect(RECORD_PER_PAGINA * DIMENSIONE_RECORD)
+                .order(ByteOrder.nativeOrder());
+        }
+        numeroUtenti++;
+        return slot;
+    }
+
+    private ByteBuffer pagina(int slot) {
+        return pagine[slot >>> BIT_PAGINA];
+    }
+
+    private static int offset(int slot) {
+        return (slot & (RECORD_PER_PAGINA - 1)) * DIMENSIONE_RECORD;
+    }
+
+    private static long hashEmail(String email) {
+        return email.hashCode();
+    }
+
+    private static String normalizza(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String unisci(Set<String> valori) {
+        return valori.isEmpty() ? null : String.join(String.valueOf(SEPARATORE_INSIEME), valori);
+    }
+}
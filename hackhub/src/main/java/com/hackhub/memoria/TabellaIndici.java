@@ -0,0 +1,125 @@
+package com.hackhub.memoria;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntPredicate;
+
+/**
+ * Tabella hash a indirizzamento aperto fuori heap da chiave long a slot int.
+ *
+ * Ogni voce occupa 12 byte (chiave long, slot + 1 come int: 0 indica una voce vuota,
+ * cosi' un buffer diretto appena allocato e' gia' una tabella vuota).
+ * Chiavi uguali sono ammesse: trova() scorre le voci con la stessa chiave
+ * e restituisce la prima accettata dal predicato di verifica, il che permette
+ * di indicizzare per hash e di confrontare il valore completo nel record.
+ */
+class TabellaIndici {
+
+    private static final int DIMENSIONE_VOCE = Long.BYTES + Integer.BYTES;
+
+    private ByteBuffer voci;
+    private int capacita;
+    private int occupate;
+
+    TabellaIndici(int capacitaIniziale) {
+        this.capacita = Integer.highestOneBit(Math.max(16, capacitaIniziale - 1) << 1);
+        this.voci = ByteBuffer.allocateDirect(capacita * DIMENSIONE_VOCE).order(ByteOrder.nativeOrder());
+    }
+
+    void inserisci(long chiave, int slot) {
+        if ((occupate + 1) * 2 > capacita) {
+            raddoppia();
+        }
+        inserisciSenzaControlli(voci, capacita, chiave, slot);
+        occupate++;
+    }
+
+    /**
+     * Rimuove la voce di uno slot con la chiave indicata, se presente.
+     * Le voci successive dello stesso gruppo vengono spostate indietro,
+     * cosi' nessuna ricerca si ferma sul buco lasciato dalla voce rimossa.
+     */
+    void rimuovi(long chiave, int slot) {
+        int maschera = capacita - 1;
+        int libera = indice(chiave, maschera);
+        while (true) {
+            int valore = voci.getInt(libera * DIMENSIONE_VOCE + Long.BYTES);
+            if (valore == 0) {
+                return;
+            }
+            if (valore == slot + 1 && voci.getLong(libera * DIMENSIONE_VOCE) == chiave) {
+                break;
+            }
+            libera = (libera + 1) & maschera;
+        }
+        for (int i = (libera + 1) & maschera; ; i = (i + 1) & maschera) {
+            int posizione = i * DIMENSIONE_VOCE;
+            int valore = voci.getInt(posizione + Long.BYTES);
+            if (valore == 0) {
+                break;
+            }
+            long chiaveVoce = voci.getLong(posizione);
+            int ideale = indice(chiaveVoce, maschera);
+            // La voce puo' occupare il buco solo se la sua posizione ideale non cade tra il buco e la voce
+            if (((i - ideale) & maschera) >= ((i - libera) & maschera)) {
+                voci.putLong(libera * DIMENSIONE_VOCE, chiaveVoce);
+                voci.putInt(libera * DIMENSIONE_VOCE + Long.BYTES, valore);
+                libera = i;
+            }
+        }
+        voci.putLong(libera * DIMENSIONE_VOCE, 0L);
+        voci.putInt(libera * DIMENSIONE_VOCE + Long.BYTES, 0);
+        occupate--;
+    }
+
+    int trova(long chiave, IntPredicate verifica) {
+        int maschera = capacita - 1;
+        for (int i = indice(chiave, maschera); ; i = (i + 1) & maschera) {
+            int posizione = i * DIMENSIONE_VOCE;
+            int valore = voci.getInt(posizione + Long.BYTES);
+            if (valore == 0) {
+                return -1;
+            }
+            if (voci.getLong(posizione) == chiave && verifica.test(valore - 1)) {
+                return valore - 1;
+            }
+        }
+    }
+
+    long getByteAllocati() {
+        return (long) capacita * DIMENSIONE_VOCE;
+    }
+
+    private void raddoppia() {
+        int nuovaCapacita = capacita * 2;
+        if (nuovaCapacita > Integer.MAX_VALUE / DIMENSIONE_VOCE) {
+            throw new IllegalStateException("Tabella degli indici piena");
+        }
+        ByteBuffer nuoveVoci = ByteBuffer.allocateDirect(nuovaCapacita * DIMENSIONE_VOCE)
+            .order(ByteOrder.nativeOrder());
+        for (int i = 0; i < capacita; i++) {
+            int posizione = i * DIMENSIONE_VOCE;
+            int valore = voci.getInt(posizione + Long.BYTES);
+            if (valore != 0) {
+                inserisciSenzaControlli(nuoveVoci, nuovaCapacita, voci.getLong(posizione), valore - 1);
+            }
+        }
+        voci = nuoveVoci;
+        capacita = nuovaCapacita;
+    }
+
+    private static void inserisciSenzaControlli(ByteBuffer voci, int capacita, long chiave, int slot) {
+        int maschera = capacita - 1;
+        int i = indice(chiave, maschera);
+        while (voci.getInt(i * DIMENSIONE_VOCE + Long.BYTES) != 0) {
+            i = (i + 1) & maschera;
+        }
+        voci.putLong(i * DIMENSIONE_VOCE, chiave);
+        voci.putInt(i * DIMENSIONE_VOCE + Long.BYTES, slot + 1);
+    }
+
+    private static int indice(long chiave, int maschera) {
+        long h = chiave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & maschera;
+    }
+}
@@ -0,0 +1,128 @@
+package com.hackhub.memoria;
+
+import com.hackhub.enums.TipoUtente;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Flyweight che legge un utente dal record fuori heap in cui e' posizionato.
+ *
+ * Un solo oggetto puo' essere riposizionato su slot diversi con posiziona(),
+ * per scorrere milioni di utenti senza allocare un oggetto per utente.
+ * Solo i getter che restituiscono stringhe o insiemi allocano il risultato.
+ */
+public class UtenteFuoriHeap implements VistaUtente {
+
+    /** Registro che contiene i record */
+    private final RegistroUtentiFuoriHeap registro;
+
+    /** Slot del record corrente */
+    private int slot;
+
+    UtenteFuoriHeap(RegistroUtentiFuoriHeap registro, int slot) {
+        this.registro = registro;
+        this.slot = slot;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce lo slot del record su cui e' posizionato il flyweight.
+     *
+     * @return Lo slot corrente
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public Long getId() {
+        return registro.leggiLong(slot, RegistroUtentiFuoriHeap.ID);
+    }
+
+    @Override
+    public String getNome() {
+        return registro.leggiStringa(slot, RegistroUtentiFuoriHeap.NOME);
+    }
+
+    @Override
+    public String getCognome() {
+        return registro.leggiStringa(slot, RegistroUtentiFuoriHeap.COGNOME);
+    }
+
+    @Override
+    public String getEmail() {
+        return registro.leggiStringa(slot, RegistroUtentiFuoriHeap.EMAIL);
+    }
+
+    @Override
+    public String getPassword() {
+        return registro.leggiStringa(slot, RegistroUtentiFuoriHeap.PASSWORD);
+    }
+
+    @Override
+    public TipoUtente getTipo() {
+        return registro.leggiTipo(slot);
+    }
+
+    @Override
+    public Long getIdTeam() {
+        long idTeam = registro.leggiLong(slot, RegistroUtentiFuoriHeap.ID_TEAM);
+        return idTeam < 0 ? null : idTeam;
+    }
+
+    @Override
+    public Set<String> getCompetenze() {
+        return registro.leggiInsieme(slot, RegistroUtentiFuoriHeap.COMPETENZE);
+    }
+
+    @Override
+    public Set<String> getPreferenze() {
+        return registro.leggiInsieme(slot, RegistroUtentiFuoriHeap.PREFERENZE);
+    }
+
+    @Override
+    public boolean isViceLeader() {
+        return registro.isViceLeader(slot);
+    }
+
+    @Override
+    public LocalDate getDataIngresso() {
+        return registro.leggiData(slot);
+    }
+
+    @Override
+    public String getRuolo() {
+        return registro.leggiStringa(slot, RegistroUtentiFuoriHeap.RUOLO);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Sposta il flyweight su un altro record.
+     *
+     * @param slot Lo slot del record
+     * @return Questo flyweight, per concatenare le chiamate
+     * @throws IndexOutOfBoundsException se lo slot non esiste
+     */
+    public UtenteFuoriHeap posiziona(int slot) {
+        registro.verificaSlot(slot);
+        this.slot = slot;
+        return this;
+    }
+
+    /**
+     * Confronta l'email del record con quella data senza decodificare il record.
+     *
+     * @param email L'email da confrontare
+     * @return true se le email coincidono
+     */
+    public boolean haEmail(String email) {
+        return registro.haEmail(slot, email);
+    }
+
+    @Override
+    public String toString() {
+        return getNome() + " " + getCognome() + " (" + getEmail() + ")";
+    }
+}
@@ -0,0 +1,58 @@
+package com.hackhub.memoria;
+
+import com.hackhub.enums.TipoUtente;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Interfaccia di sola lettura con i getter che il modello espone per gli utenti.
+ *
+ * I riferimenti ad altre entita' (team) sono esposti come id, perche' i record
+ * fuori heap non contengono puntatori a oggetti Java.
+ */
+public interface VistaUtente {
+
+    /** Vedi UtenteAstratto.getId() */
+    Long getId();
+
+    /** Vedi UtenteAstratto.getNome() */
+    String getNome();
+
+    /** Vedi UtenteAstratto.getCognome() */
+    String getCognome();
+
+    /** Vedi UtenteAstratto.getEmail() */
+    String getEmail();
+
+    /** Vedi UtenteAstratto.getPassword() */
+    String getPassword();
+
+    /**
+     * Restituisce la classe concreta dell'utente.
+     *
+     * @return Il tipo dell'utente
+     */
+    TipoUtente getTipo();
+
+    /**
+     * Restituisce l'id del team dell'utente (vedi Utente.getTeam()).
+     *
+     * @return L'id del team, null se l'utente non ha un team
+     */
+    Long getIdTeam();
+
+    /** Vedi Utente.getCompetenze() */
+    Set<String> getCompetenze();
+
+    /** Vedi Utente.getPreferenze() */
+    Set<String> getPreferenze();
+
+    /** Vedi MembroTeam.isViceLeader() */
+    boolean isViceLeader();
+
+    /** Vedi MembroTeam.getDataIngresso() */
+    LocalDate getDataIngresso();
+
+    /** Vedi MembroStaff.getRuolo() */
+    String getRuolo();
+}
@@ -0,0 +1,169 @@
+package com.hackhub.model;
+
+import com.hackhub.enums.StatoCall;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import java.time.LocalDateTime;
+
+/**
+ * Classe che rappresenta una call di mentoring richiesta da un team.
+ *
+ * Il team indica l'argomento (una competenza, es. "java" o "cloud"); il mentore
+ * viene assegnato in seguito, di norma da AssegnatoreMentori.
+ *
+ * Ciclo di vita:
+ * 1. Richiesta: stato RICHIESTA, nessun mentore
+ * 2. Assegnazione: il mentore propone la call, stato PROPOSTA
+ * 3. CONFERMATA, PRENOTATA e infine COMPLETATA, oppure ANNULLATA in qualsiasi momento
+ *
+ * Relazioni:
+ * - Associazione con Team (richiedente)
+ * - Associazione con MembroStaff (mentore)
+ */
+public class Call extends EntitaVersionata {
+
+    /** Identificativo univoco della call */
+    private Long id;
+
+    /** Contatore statico per generare ID univoci */
+    private static Long contatoreId = 1L;
+
+    /** Team che ha richiesto la call */
+    private Team team;
+
+    /** Argomento della call, confrontato con le competenze dei mentori */
+    private String argomento;
+
+    /** Mentore assegnato (null finche' la call e' RICHIESTA) */
+    private MembroStaff mentore;
+
+    /** Stato corrente della call */
+    private StatoCall stato;
+
+    /** Istante della richiesta */
+    private LocalDateTime dataRichiesta;
+
+    /**
+     * Costruttore della classe Call.
+     *
+     * @param team      Il team che richiede la call
+     * @param argomento L'argomento della call
+     * @throws IllegalArgumentException se l'argomento e' null o vuoto
+     */
+    public Call(Team team, String argomento) {
+        if (argomento == null || argomento.isBlank()) {
+            throw new IllegalArgumentException("L'argomento della call non puo' essere vuoto");
+        }
+        this.id = contatoreId++;
+        this.team = team;
+        this.argomento = argomento;
+        this.stato = StatoCall.RICHIESTA;
+        this.dataRichiesta = LocalDateTime.now();
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
+    }
+
+    // ==================== GETTER ====================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public String getArgomento() {
+        return argomento;
+    }
+
+    public MembroStaff getMentore() {
+        return mentore;
+    }
+
+    public StatoCall getStato() {
+        return stato;
+    }
+
+    public LocalDateTime getDataRichiesta() {
+        return dataRichiesta;
+    }
+
+    /**
+     * Verifica se la call e' ancora in corso (non completata ne' annullata).
+     *
+     * @return true se la call e' in corso
+     */
+    public boolean isAttiva() {
+        return stato != StatoCall.COMPLETATA && stato != StatoCall.ANNULLATA;
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Ripristina l'identificativo della call.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
+    /**
+     * Imposta lo stato della call.
+     *
+     * @param stato Il nuovo stato
+     */
+    public void setStato(StatoCall stato) {
+        StatoCall precedente = this.stato;
+        this.stato = stato;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Assegna la call a un mentore, che la propone al team.
+     *
+     * Precondizioni:
+     * - Lo stato deve essere RICHIESTA
+     *
+     * Postcondizioni:
+     * - Il mentore e' impostato e lo stato passa a PROPOSTA
+     *
+     * @param mentore Il mentore assegnato
+     * @throws IllegalStateException se la call non e' in stato RICHIESTA
+     */
+    public void assegna(MembroStaff mentore) {
+        if (stato != StatoCall.RICHIESTA) {
+            throw new IllegalStateException("La call non e' in attesa di un mentore");
+        }
+        MembroStaff mentorePrecedente = this.mentore;
+        this.mentore = mentore;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "mentore", mentorePrecedente, mentore);
+        setStato(StatoCall.PROPOSTA);
+    }
+
+    /**
+     * Annulla la call.
+     *
+     * Postcondizioni:
+     * - Lo stato passa ad ANNULLATA
+     */
+    public void annulla() {
+        setStato(StatoCall.ANNULLATA);
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della call.
+     *
+     * @return Stringa con info sulla call
+     */
+    @Override
+    public String toString() {
+        return "Call " + id + " su " + argomento + " [" + stato + "]"
+            + (mentore != null ? " con " + mentore.getEmail() : "");
+    }
+}
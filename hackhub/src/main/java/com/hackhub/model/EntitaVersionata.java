@@ -0,0 +1,200 @@
+package com.hackhub.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Classe base delle entita' del modello con un numero di versione.
+ *
+ * La versione cresce ad ogni modifica: GestoreEventi.pubblica() la incrementa di 2
+ * per ogni evento di modifica, anche quando la pubblicazione e' sospesa.
+ * Una versione pari e' stabile, una versione dispari indica un aggiornamento
+ * condizionale in corso (schema seqlock): l'aggiornamento la rende dispari
+ * aggiungendo 1 e la rilascia aggiungendo ancora 1.
+ *
+ * aggiornaSeVersione() applica una modifica solo se la versione e' ancora quella
+ * letta dal chiamante: in caso contrario restituisce false senza attendere.
+ * Le letture non acquisiscono lock; leggiCoerente() ripete la lettura finche'
+ * non osserva la stessa versione stabile prima e dopo. Chi attende una versione
+ * stabile gira per poco, poi cede il processore e infine si sospende con attese
+ * crescenti fino a ATTESA_MASSIMA_NANOS.
+ *
+ * Le modifiche fatte con i setter senza passare da aggiornaSeVersione() non sono
+ * coordinate tra loro, ma cambiando la versione fanno fallire gli aggiornamenti
+ * condizionali basati su una lettura precedente. incrementaVersione() non attende
+ * mai: durante un aggiornamento condizionale aggiunge 2 senza cambiare la parita',
+ * quindi la modifica diretta non viene serializzata con quella condizionale ma
+ * resta visibile a chi legge la versione rilasciata, e le letture precedenti
+ * vanno comunque in conflitto.
+ */
+public abstract class EntitaVersionata {
+
+    private static final VarHandle VERSIONE;
+
+    static {
+        try {
+            VERSIONE = MethodHandles.lookup().findVarHandle(EntitaVersionata.class, "versione", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Numero di attese attive prima di cedere il processore */
+    private static final int GIRI_ATTIVI = 64;
+
+    /** Numero di cessioni del processore prima di sospendere il thread */
+    private static final int CESSIONI = 16;
+
+    /** Attesa massima tra due controlli della versione */
+    private static final long ATTESA_MASSIMA_NANOS = 1_000_000L;
+
+    /** Versione corrente (pari se stabile, dispari durante un aggiornamento condizionale) */
+    @SuppressWarnings("unused")
+    private volatile long versione;
+
+    /** Thread che sta eseguendo un aggiornamento condizionale (null se la versione e' pari) */
+    private volatile Thread aggiornante;
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce la versione stabile corrente, attendendo la fine
+     * di un eventuale aggiornamento condizionale in corso.
+     *
+     * @return La versione corrente (sempre pari)
+     */
+    public long getVersione() {
+        long corrente = versione;
+        for (int attesa = 0; (corrente & 1) != 0; attesa++) {
+            attendi(attesa);
+            corrente = versione;
+        }
+        return corrente;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Applica una modifica solo se la versione non e' cambiata dalla lettura.
+     *
+     * Precondizioni: versioneAttesa e' stata ottenuta con getVersione()
+     * Postcondizioni: se restituisce true la modifica e' stata applicata e la versione
+     *                 vale versioneAttesa + 2 (di piu' se nel frattempo ci sono state
+     *                 modifiche dirette); altrimenti l'entita' non e' stata toccata
+     *
+     * @param versioneAttesa La versione letta prima di calcolare la modifica
+     * @param modifica       La modifica da applicare (es. chiamate ai setter)
+     * @return true se la modifica e' stata applicata, false in caso di conflitto
+     */
+    public boolean aggiornaSeVersione(long versioneAttesa, Runnable modifica) {
+        if ((versioneAttesa & 1) != 0 || !VERSIONE.compareAndSet(this, versioneAttesa, versioneAttesa + 1)) {
+            return false;
+        }
+        aggiornante = Thread.currentThread();
+        try {
+            modifica.run();
+        } finally {
+            aggiornante = null;
+            VERSIONE.getAndAdd(this, 1L);
+        }
+        return true;
+    }
+
+    /**
+     * Applica una modifica che coinvolge piu' entita' solo se nessuna e' cambiata
+     * rispetto alle versioni lette.
+     *
+     * Le entita' vengono portate una alla volta a versione dispari; al primo conflitto
+     * quelle gia' prese tornano pari e nulla viene modificato.
+     * Al termine della modifica ogni entita' passa alla versione letta + 2, piu' 2 per
+     * ogni modifica diretta arrivata nel frattempo.
+     *
+     * Precondizioni: le entita' sono distinte e versioniAttese ha la stessa lunghezza
+     *
+     * @param entita         Le entita' coinvolte
+     * @param versioniAttese Le versioni lette, nello stesso ordine delle entita'
+     * @param modifica       La modifica da applicare
+     * @return true se la modifica e' stata applicata, false in caso di conflitto
+     * @throws IllegalArgumentException se le lunghezze non coincidono
+     */
+    public static boolean aggiornaTutteSeVersione(List<? extends EntitaVersionata> entita,
+                                                  long[] versioniAttese, Runnable modifica) {
+        if (entita.size() != versioniAttese.length) {
+            throw new IllegalArgumentException("Servono tante versioni quante entita'");
+        }
+        int prese = 0;
+        while (prese < versioniAttese.length) {
+            long attesa = versioniAttese[prese];
+            if ((attesa & 1) != 0 || !VERSIONE.compareAndSet(entita.get(prese), attesa, attesa + 1)) {
+                for (int i = 0; i < prese; i++) {
+                    VERSIONE.getAndAdd(entita.get(i), -1L);
+                }
+                return false;
+            }
+            prese++;
+        }
+        for (EntitaVersionata presa : entita) {
+            presa.aggiornante = Thread.currentThread();
+        }
+        try {
+            modifica.run();
+        } finally {
+            for (EntitaVersionata presa : entita) {
+                presa.aggiornante = null;
+                VERSIONE.getAndAdd(presa, 1L);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Legge uno o piu' attributi ottenendo un'istantanea coerente, senza lock.
+     *
+     * @param lettura La lettura da eseguire
+     * @param <T>     Il tipo del risultato
+     * @return Il risultato di una lettura non attraversata da modifiche
+     */
+    public <T> T leggiCoerente(Supplier<T> lettura) {
+        while (true) {
+            long prima = getVersione();
+            T risultato = lettura.get();
+            // Le letture dei campi non possono essere riordinate dopo la rilettura della versione
+            VarHandle.acquireFence();
+            if (versione == prima) {
+                return risultato;
+            }
+        }
+    }
+
+    /**
+     * Registra una modifica diretta dell'entita'.
+     * Chiamato da GestoreEventi.pubblica(). Se la modifica fa parte di un aggiornamento
+     * condizionale dello stesso thread non fa nulla, perche' la versione verra' avanzata
+     * al suo termine; altrimenti aggiunge 2 senza attendere: se e' in corso un
+     * aggiornamento condizionale di un altro thread la versione resta dispari e il
+     * rilascio la porta oltre la versione letta + 2.
+     */
+    public void incrementaVersione() {
+        if (aggiornante != Thread.currentThread()) {
+            VERSIONE.getAndAdd(this, 2L);
+        }
+    }
+
+    /**
+     * Attende prima di rileggere una versione dispari: prima gira, poi cede il
+     * processore, poi si sospende con un'attesa che raddoppia fino al massimo.
+     */
+    private static void attendi(int attesa) {
+        if (attesa < GIRI_ATTIVI) {
+            Thread.onSpinWait();
+        } else if (attesa < GIRI_ATTIVI + CESSIONI) {
+            Thread.yield();
+        } else {
+            int raddoppi = Math.min(attesa - GIRI_ATTIVI - CESSIONI, 10);
+            LockSupport.parkNanos(Math.min(ATTESA_MASSIMA_NANOS, 1_000L << raddoppi));
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.hackhub.model;
 
+import com.hackhub.archivio.ArchivioHackathon;
+import com.hackhub.calendario.IndiceImpegni;
+import com.hackhub.collezioni.Cursore;
+import com.hackhub.collezioni.ListaSoloAggiunta;
+import com.hackhub.collezioni.Pagina;
+import com.hackhub.diagnostica.CambioStatoHackathonEvento;
 import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.limiti.LimitatoreRichieste;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +28,7 @@ import java.util.List;
  * Ciclo di vita:
  * IN_ISCRIZIONE -> IN_CORSO -> IN_VALUTAZIONE -> CONCLUSO
  */
-public class Hackathon {
+public class Hackathon extends EntitaVersionata implements Idratabile {
 
     /** Identificativo univoco dell'hackathon */
     private Long id;
@@ -53,12 +63,24 @@ public class Hackathon {
     /** Numero massimo di membri per team */
     private int maxMembriTeam;
 
-    /** Lista delle iscrizioni */
-    private List<Iscrizione> iscrizioni;
+    /** Lista delle iscrizioni (null dopo l'archiviazione) */
+    private volatile ListaSoloAggiunta<Iscrizione> iscrizioni;
 
     /** Team vincitore (null se non ancora proclamato) */
     private Team vincitore;
 
+    /** Archivio che conserva iscrizioni e sottomissioni (null se residenti in memoria) */
+    private volatile ArchivioHackathon archivio;
+
+    /** Caricamento delle collezioni in sospeso */
+    private final Idratazione idratazione = new Idratazione();
+
+    /** Lock delle aggiunte di iscrizioni e sottomissioni, escluse durante l'archiviazione */
+    private final Object aggiunte = new Object();
+
+    /** true mentre un archivio scrive il sottografo (protetto da aggiunte) */
+    private boolean sospeso;
+
     /**
      * Costruttore della classe Hackathon.
      *
@@ -74,8 +96,9 @@ public class Hackathon {
         this.dataFine = dataFine;
         this.scadenzaIscrizioni = scadenzaIscrizioni;
         this.stato = StatoHackathon.IN_ISCRIZIONE;
-        this.iscrizioni = new ArrayList<>();
+        this.iscrizioni = new ListaSoloAggiunta<>();
         this.maxMembriTeam = 5; // Default
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
     }
 
     // ==================== GETTER ====================
@@ -121,54 +144,143 @@ public class Hackathon {
         return maxMembriTeam;
     }
 
+    /**
+     * Restituisce le iscrizioni dell'hackathon.
+     * Se l'hackathon e' archiviato, le iscrizioni vengono ricaricate dall'archivio.
+     *
+     * @return Istantanea immutabile delle iscrizioni
+     */
     public List<Iscrizione> getIscrizioni() {
-        return iscrizioni;
+        idrata();
+        // L'archivio viene pubblicato prima di togliere la lista: chi trova la lista
+        // gia' tolta trova anche l'archivio
+        ListaSoloAggiunta<Iscrizione> residenti = iscrizioni;
+        if (residenti == null) {
+            return archivio.reidrata(this).getIscrizioni();
+        }
+        return residenti.vista();
     }
 
+    /**
+     * Restituisce una pagina delle iscrizioni, eventualmente filtrate per stato.
+     *
+     * Le iscrizioni sono in sola aggiunta: un cursore resta valido anche se
+     * nel frattempo arrivano nuove iscrizioni, che compaiono nelle pagine successive.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di iscrizioni
+     * @param stato      Lo stato delle iscrizioni da restituire, null per tutte
+     * @return La pagina di iscrizioni
+     */
+    public Pagina<Iscrizione> paginaIscrizioni(Cursore cursore, int dimensione, StatoIscrizione stato) {
+        return Pagina.estrai(getIscrizioni(), cursore, dimensione,
+            stato == null ? null : iscrizione -> iscrizione.getStato() == stato);
+    }
+
+    /**
+     * Restituisce il team vincitore.
+     * Il vincitore resta in memoria anche dopo l'archiviazione: e' un team vivo.
+     *
+     * @return Il team vincitore, null se non ancora proclamato
+     */
     public Team getVincitore() {
         return vincitore;
     }
 
+    /**
+     * Verifica se iscrizioni e sottomissioni sono state spostate nell'archivio.
+     *
+     * @return true se l'hackathon e' archiviato
+     */
+    public boolean isArchiviato() {
+        return archivio != null;
+    }
+
     // ==================== SETTER ====================
 
+    /**
+     * Ripristina l'identificativo dell'hackathon.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
     public void setNome(String nome) {
+        String precedente = this.nome;
         this.nome = nome;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "nome", precedente, nome);
     }
 
     public void setStato(StatoHackathon stato) {
-        this.stato = stato;
+        CambioStatoHackathonEvento evento = new CambioStatoHackathonEvento();
+        evento.begin();
+        StatoHackathon precedente = this.stato;
+        RuntimeException errore = null;
+        try {
+            this.stato = stato;
+            GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, precedente, stato, errore);
+        }
     }
 
     public void setDataInizio(LocalDate dataInizio) {
+        LocalDate precedente = this.dataInizio;
         this.dataInizio = dataInizio;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataInizio", precedente, dataInizio);
     }
 
     public void setDataFine(LocalDate dataFine) {
+        LocalDate precedente = this.dataFine;
         this.dataFine = dataFine;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataFine", precedente, dataFine);
     }
 
     public void setScadenzaIscrizioni(LocalDate scadenzaIscrizioni) {
+        LocalDate precedente = this.scadenzaIscrizioni;
         this.scadenzaIscrizioni = scadenzaIscrizioni;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "scadenzaIscrizioni", precedente, scadenzaIscrizioni);
     }
 
     public void setLuogo(String luogo) {
+        String precedente = this.luogo;
         this.luogo = luogo;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "luogo", precedente, luogo);
     }
 
     public void setRegolamento(String regolamento) {
+        String precedente = this.regolamento;
         this.regolamento = regolamento;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "regolamento", precedente, regolamento);
     }
 
     public void setPremio(double premio) {
+        double precedente = this.premio;
         this.premio = premio;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "premio", precedente, premio);
     }
 
     public void setMaxMembriTeam(int maxMembriTeam) {
+        int precedente = this.maxMembriTeam;
         this.maxMembriTeam = maxMembriTeam;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "maxMembriTeam", precedente, maxMembriTeam);
     }
 
     public void setVincitore(Team vincitore) {
+        verificaNonArchiviato();
+        Team precedente = this.vincitore;
         this.vincitore = vincitore;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "vincitore", precedente, vincitore);
     }
 
     // ==================== OPERAZIONI ====================
@@ -177,9 +289,105 @@ public class Hackathon {
      * Aggiunge un'iscrizione all'hackathon.
      *
      * @param iscrizione L'iscrizione da aggiungere
+     * @throws com.hackhub.limiti.LimiteSuperatoException se la quota di iscrizioni e' esaurita
+     * @throws IllegalStateException se l'hackathon e' archiviato
+     * @throws com.hackhub.calendario.SovrapposizioneDateException se l'indice degli impegni e' attivo e il team
+     *         o un membro e' gia' impegnato nelle date dell'hackathon
      */
     public void aggiungiIscrizione(Iscrizione iscrizione) {
-        this.iscrizioni.add(iscrizione);
+        idrata();
+        aggiungiSeAperto(() -> {
+            Team team = iscrizione.getTeam();
+            Leader leader = team != null ? team.getLeader() : null;
+            Long idLeader = leader != null ? leader.getId() : null;
+            Long idTeam = team != null ? team.getId() : null;
+            LimitatoreRichieste.verifica(TipoOperazione.ISCRIZIONE, idLeader, idTeam);
+            // Ultimo controllo: da qui l'iscrizione va a buon fine e l'impegno resta registrato
+            try {
+                IndiceImpegni.impegna(iscrizione);
+            } catch (RuntimeException e) {
+                // L'iscrizione rifiutata non consuma la quota
+                LimitatoreRichieste.annulla(TipoOperazione.ISCRIZIONE, idLeader, idTeam);
+                throw e;
+            }
+
+            iscrizioni.aggiungi(iscrizione);
+        });
+        GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "iscrizioni", null, iscrizione);
+    }
+
+    /**
+     * Esegue un'aggiunta al sottografo dell'hackathon (un'iscrizione o una sottomissione
+     * di un team) solo se l'hackathon non e' archiviato ne' in archiviazione.
+     * Usato anche da Team per le sottomissioni.
+     *
+     * @param aggiunta L'aggiunta da eseguire
+     * @throws IllegalStateException se l'hackathon e' archiviato o in archiviazione
+     */
+    void aggiungiSeAperto(Runnable aggiunta) {
+        synchronized (aggiunte) {
+            verificaNonArchiviato();
+            if (sospeso) {
+                throw new IllegalStateException("L'hackathon e' in archiviazione e non puo' essere modificato");
+            }
+            aggiunta.run();
+        }
+    }
+
+    /**
+     * Blocca le aggiunte di iscrizioni e sottomissioni finche' l'archiviazione non termina.
+     * Usato da ArchivioHackathon prima di leggere il sottografo da scrivere: le aggiunte
+     * gia' iniziate terminano prima del ritorno, quelle successive vengono rifiutate.
+     *
+     * @throws IllegalStateException se l'hackathon e' archiviato o gia' in archiviazione
+     */
+    public void sospendiAggiunte() {
+        synchronized (aggiunte) {
+            verificaNonArchiviato();
+            if (sospeso) {
+                throw new IllegalStateException("L'hackathon e' gia' in archiviazione");
+            }
+            sospeso = true;
+        }
+    }
+
+    /**
+     * Riapre le aggiunte dopo un'archiviazione non riuscita.
+     * Usato da ArchivioHackathon; dopo archivia() l'hackathon resta chiuso alle aggiunte.
+     */
+    public void riprendiAggiunte() {
+        synchronized (aggiunte) {
+            sospeso = false;
+        }
+    }
+
+    /**
+     * Sposta le iscrizioni nell'archivio, lasciando in memoria i dati anagrafici e il vincitore.
+     * Usato da ArchivioHackathon dopo aver scritto il sottografo su disco.
+     *
+     * Precondizioni: l'hackathon e' CONCLUSO e non ancora archiviato
+     * Postcondizioni: getIscrizioni() legge dall'archivio
+     *
+     * @param archivio L'archivio che conserva il sottografo
+     * @throws IllegalStateException se l'hackathon non e' concluso o e' gia' archiviato
+     */
+    public void archivia(ArchivioHackathon archivio) {
+        if (stato != StatoHackathon.CONCLUSO) {
+            throw new IllegalStateException("Solo un hackathon concluso puo' essere archiviato");
+        }
+        synchronized (aggiunte) {
+            verificaNonArchiviato();
+            idrata();
+            this.archivio = archivio;
+            this.iscrizioni = null;
+            this.sospeso = false;
+        }
+    }
+
+    private void verificaNonArchiviato() {
+        if (archivio != null) {
+            throw new IllegalStateException("L'hackathon e' archiviato e non puo' essere modificato");
+        }
     }
 
     /**
@@ -201,4 +409,18 @@ public class Hackathon {
     public String toString() {
         return "Hackathon: " + nome + " [" + stato + "] (" + dataInizio + " - " + dataFine + ")";
     }
+
+    @Override
+    public void aggiungiIdratazione(Runnable caricamento) {
+        idratazione.aggiungi(caricamento);
+    }
+
+    @Override
+    public boolean isIdratata() {
+        return idratazione.isCompleta();
+    }
+
+    private void idrata() {
+        idratazione.esegui();
+    }
 }
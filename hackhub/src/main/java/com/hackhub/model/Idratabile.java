@@ -0,0 +1,26 @@
+package com.hackhub.model;
+
+/**
+ * Interfaccia delle entita' che possono essere caricate in modo pigro.
+ *
+ * Un'entita' idratabile puo' avere un'idratazione in sospeso che riempie le sue
+ * collezioni: viene eseguita una sola volta, al primo accesso a una collezione.
+ * Implementata da Hackathon, Team e Utente.
+ */
+public interface Idratabile {
+
+    /**
+     * Aggiunge un caricamento da eseguire al primo accesso alle collezioni.
+     * Usato da chi ricostruisce l'entita' senza le sue collezioni, prima di renderla visibile.
+     *
+     * @param caricamento Il caricamento che riempie le collezioni
+     */
+    void aggiungiIdratazione(Runnable caricamento);
+
+    /**
+     * Verifica se le collezioni dell'entita' sono state caricate.
+     *
+     * @return true se non c'e' un'idratazione in sospeso
+     */
+    boolean isIdratata();
+}
@@ -0,0 +1,53 @@
+package com.hackhub.model;
+
+/**
+ * Classe che conserva l'idratazione in sospeso di un'entita' Idratabile.
+ *
+ * I caricamenti aggiunti vengono eseguiti in ordine, una sola volta, dalla prima
+ * chiamata a esegui(). Gli altri thread attendono che sia terminata; le chiamate
+ * dal caricamento stesso (es. aggiungiInvito) ritornano subito. Se il caricamento
+ * fallisce viene ritentato all'accesso successivo.
+ */
+final class Idratazione {
+
+    /** Caricamento delle collezioni in sospeso (null se l'entita' e' completa) */
+    private volatile Runnable caricamento;
+
+    /** Thread che sta eseguendo il caricamento, per le chiamate rientranti */
+    private Thread idratante;
+
+    // ==================== GETTER ====================
+
+    boolean isCompleta() {
+        return caricamento == null;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    synchronized void aggiungi(Runnable successivo) {
+        Runnable precedente = caricamento;
+        caricamento = precedente == null ? successivo : () -> {
+            precedente.run();
+            successivo.run();
+        };
+    }
+
+    void esegui() {
+        if (caricamento == null) {
+            return;
+        }
+        synchronized (this) {
+            Runnable inSospeso = caricamento;
+            if (inSospeso == null || idratante == Thread.currentThread()) {
+                return;
+            }
+            idratante = Thread.currentThread();
+            try {
+                inSospeso.run();
+                caricamento = null;
+            } finally {
+                idratante = null;
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.hackhub.model;
 
 import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDate;
 
 /**
@@ -11,13 +15,24 @@ import java.time.LocalDate;
  *
  * Ciclo di vita:
  * 1. Creazione: stato IN_ATTESA
- * 2. Risposta: stato ACCETTATO o RIFIUTATO
+ * 2. Risposta: stato ACCETTATO o RIFIUTATO, oppure SCADUTO se nessuno
+ *    risponde entro la validita' (vedi inviti.ScadenzaInviti)
  *
  * Relazioni:
  * - Composizione con Team (l'invito non esiste senza team)
  * - Associazione con Utente (destinatario)
  */
-public class Invito {
+public class Invito extends EntitaVersionata {
+
+    private static final VarHandle STATO;
+
+    static {
+        try {
+            STATO = MethodHandles.lookup().findVarHandle(Invito.class, "stato", StatoInvito.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     /** Identificativo univoco dell'invito */
     private Long id;
@@ -25,8 +40,8 @@ public class Invito {
     /** Contatore statico per generare ID univoci */
     private static Long contatoreId = 1L;
 
-    /** Stato corrente dell'invito */
-    private StatoInvito stato;
+    /** Stato corrente dell'invito (la scadenza lo cambia da un altro thread) */
+    private volatile StatoInvito stato;
 
     /** Data di invio dell'invito */
     private LocalDate dataInvio;
@@ -53,6 +68,7 @@ public class Invito {
         this.stato = StatoInvito.IN_ATTESA;
         this.dataInvio = LocalDate.now();
         this.dataRisposta = null;
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
     }
 
     // ==================== GETTER ====================
@@ -113,13 +129,40 @@ public class Invito {
 
     // ==================== SETTER ====================
 
+    /**
+     * Ripristina l'identificativo dell'invito.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
     /**
      * Imposta lo stato dell'invito.
      *
      * @param stato Il nuovo stato
      */
     public void setStato(StatoInvito stato) {
-        this.stato = stato;
+        StatoInvito precedente = (StatoInvito) STATO.getAndSet(this, stato);
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
+    }
+
+    /**
+     * Imposta la data di invio.
+     * Usato quando l'invito viene ricostruito a partire da una copia archiviata.
+     *
+     * @param dataInvio La data di invio originale
+     */
+    public void setDataInvio(LocalDate dataInvio) {
+        LocalDate precedente = this.dataInvio;
+        this.dataInvio = dataInvio;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataInvio", precedente, dataInvio);
     }
 
     /**
@@ -128,7 +171,9 @@ public class Invito {
      * @param dataRisposta La data di risposta
      */
     public void setDataRisposta(LocalDate dataRisposta) {
+        LocalDate precedente = this.dataRisposta;
         this.dataRisposta = dataRisposta;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataRisposta", precedente, dataRisposta);
     }
 
     // ==================== OPERAZIONI ====================
@@ -142,10 +187,12 @@ public class Invito {
      * Postcondizioni:
      * - Lo stato passa ad ACCETTATO
      * - La data di risposta viene impostata a oggi
+     *
+     * @return true se l'invito e' stato accettato, false se nel frattempo
+     *         aveva gia' ricevuto risposta o era scaduto
      */
-    public void accetta() {
-        this.stato = StatoInvito.ACCETTATO;
-        this.dataRisposta = LocalDate.now();
+    public boolean accetta() {
+        return rispondi(StatoInvito.ACCETTATO, LocalDate.now());
     }
 
     /**
@@ -157,10 +204,44 @@ public class Invito {
      * Postcondizioni:
      * - Lo stato passa a RIFIUTATO
      * - La data di risposta viene impostata a oggi
+     *
+     * @return true se l'invito e' stato rifiutato, false se nel frattempo
+     *         aveva gia' ricevuto risposta o era scaduto
+     */
+    public boolean rifiuta() {
+        return rispondi(StatoInvito.RIFIUTATO, LocalDate.now());
+    }
+
+    /**
+     * Fa scadere l'invito rimasto senza risposta.
+     *
+     * Precondizioni:
+     * - Lo stato deve essere IN_ATTESA
+     *
+     * Postcondizioni:
+     * - Lo stato passa a SCADUTO
+     * - La data di risposta viene impostata alla data di scadenza
+     *
+     * @param dataScadenza La data in cui l'invito e' scaduto
+     * @return true se l'invito e' scaduto, false se nel frattempo aveva gia' ricevuto risposta
+     */
+    public boolean scadi(LocalDate dataScadenza) {
+        return rispondi(StatoInvito.SCADUTO, dataScadenza);
+    }
+
+    /**
+     * Porta l'invito da IN_ATTESA allo stato finale con un confronto atomico:
+     * una risposta dell'utente e la scadenza concorrenti non si sovrascrivono.
      */
-    public void rifiuta() {
-        this.stato = StatoInvito.RIFIUTATO;
-        this.dataRisposta = LocalDate.now();
+    private boolean rispondi(StatoInvito esito, LocalDate data) {
+        if (!STATO.compareAndSet(this, StatoInvito.IN_ATTESA, esito)) {
+            return false;
+        }
+        LocalDate rispostaPrecedente = this.dataRisposta;
+        this.dataRisposta = data;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataRisposta", rispostaPrecedente, data);
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", StatoInvito.IN_ATTESA, esito);
+        return true;
     }
 
     /**
@@ -1,6 +1,9 @@
 package com.hackhub.model;
 
+import com.hackhub.diagnostica.AnnullamentoIscrizioneEvento;
 import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
 import java.time.LocalDate;
 
 /**
@@ -13,7 +16,7 @@ import java.time.LocalDate;
  * - Composizione con Team (l'iscrizione non esiste senza team)
  * - Associazione con Hackathon
  */
-public class Iscrizione {
+public class Iscrizione extends EntitaVersionata {
 
     /** Identificativo univoco dell'iscrizione */
     private Long id;
@@ -45,6 +48,31 @@ public class Iscrizione {
         this.hackathon = hackathon;
         this.dataIscrizione = LocalDate.now();
         this.stato = StatoIscrizione.CONFERMATA;
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
+    }
+
+    private Iscrizione(Long id, Team team, Hackathon hackathon, LocalDate dataIscrizione, StatoIscrizione stato) {
+        this.id = id;
+        this.team = team;
+        this.hackathon = hackathon;
+        this.dataIscrizione = dataIscrizione;
+        this.stato = stato;
+    }
+
+    /**
+     * Ricostruisce un'iscrizione spostata in un archivio, con il suo id originale.
+     * Non consuma id dal contatore e non pubblica eventi: l'iscrizione esisteva gia'.
+     *
+     * @param id             L'id originale
+     * @param team           Il team iscritto
+     * @param hackathon      L'hackathon
+     * @param dataIscrizione La data di iscrizione
+     * @param stato          Lo stato
+     * @return L'iscrizione ricostruita
+     */
+    public static Iscrizione ripristina(Long id, Team team, Hackathon hackathon, LocalDate dataIscrizione,
+                                        StatoIscrizione stato) {
+        return new Iscrizione(id, team, hackathon, dataIscrizione, stato);
     }
 
     // ==================== GETTER ====================
@@ -96,13 +124,41 @@ public class Iscrizione {
 
     // ==================== SETTER ====================
 
+    /**
+     * Ripristina l'identificativo dell'iscrizione.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
+    /**
+     * Imposta la data di iscrizione.
+     * Usato quando l'iscrizione viene ricostruita a partire da una copia archiviata.
+     *
+     * @param dataIscrizione La data di iscrizione originale
+     */
+    public void setDataIscrizione(LocalDate dataIscrizione) {
+        LocalDate precedente = this.dataIscrizione;
+        this.dataIscrizione = dataIscrizione;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataIscrizione", precedente, dataIscrizione);
+    }
+
     /**
      * Imposta lo stato dell'iscrizione.
      *
      * @param stato Il nuovo stato
      */
     public void setStato(StatoIscrizione stato) {
+        StatoIscrizione precedente = this.stato;
         this.stato = stato;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
     }
 
     // ==================== OPERAZIONI ====================
@@ -114,7 +170,19 @@ public class Iscrizione {
      * - Lo stato passa ad ANNULLATA
      */
     public void annulla() {
-        this.stato = StatoIscrizione.ANNULLATA;
+        AnnullamentoIscrizioneEvento evento = new AnnullamentoIscrizioneEvento();
+        evento.begin();
+        StatoIscrizione precedente = this.stato;
+        RuntimeException errore = null;
+        try {
+            this.stato = StatoIscrizione.ANNULLATA;
+            GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, precedente, errore);
+        }
     }
 
     /**
@@ -1,6 +1,11 @@
 package com.hackhub.model;
 
+import com.hackhub.diagnostica.InvitoUtenteEvento;
 import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.inviti.ScadenzaInviti;
+import com.hackhub.limiti.LimitatoreRichieste;
 
 /**
  * Classe che rappresenta il Leader di un team in HackHub.
@@ -26,6 +31,14 @@ public class Leader extends MembroTeam {
      */
     public Leader(String nome, String cognome, String email, String password) {
         super(nome, cognome, email, password);
+        pubblicaCreazione(Leader.class);
+    }
+
+    // ==================== GETTER ====================
+
+    @Override
+    public TipoUtente getTipo() {
+        return TipoUtente.LEADER;
     }
 
     // ==================== OPERAZIONI ====================
@@ -48,8 +61,25 @@ public class Leader extends MembroTeam {
      * @throws IllegalStateException    se il Leader non ha un team
      * @throws IllegalArgumentException se l'utente appartiene gia' a un team
      * @throws IllegalArgumentException se esiste gia' un invito pendente
+     * @throws com.hackhub.limiti.LimiteSuperatoException se la quota di inviti e' esaurita
      */
     public Invito invitaUtente(Utente destinatario) {
+        InvitoUtenteEvento evento = new InvitoUtenteEvento();
+        evento.begin();
+        Invito invito = null;
+        RuntimeException errore = null;
+        try {
+            invito = invita(destinatario);
+            return invito;
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, destinatario, invito, errore);
+        }
+    }
+
+    private Invito invita(Utente destinatario) {
         Team teamCorrente = this.getTeam();
 
         if (teamCorrente == null) {
@@ -63,11 +93,14 @@ public class Leader extends MembroTeam {
         // Verifica che non esista gia' un invito pendente
         for (Invito invito : teamCorrente.getInviti()) {
             if (invito.getDestinatario().equals(destinatario)
-                    && invito.getStato() == StatoInvito.IN_ATTESA) {
+                    && invito.getStato() == StatoInvito.IN_ATTESA && !ScadenzaInviti.scadeSeDovuto(invito)) {
                 throw new IllegalArgumentException("Hai gia' inviato un invito a questo utente");
             }
         }
 
+        // La quota si consuma solo per un invito valido
+        LimitatoreRichieste.verifica(TipoOperazione.INVITO, this.getId(), teamCorrente.getId());
+
         // Crea il nuovo invito
         Invito nuovoInvito = new Invito(teamCorrente, destinatario);
 
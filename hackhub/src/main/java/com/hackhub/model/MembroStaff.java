@@ -1,5 +1,9 @@
 package com.hackhub.model;
 
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.eventi.GestoreEventi;
+
 /**
  * Classe astratta che rappresenta un membro dello staff in HackHub.
  *
@@ -29,15 +33,22 @@ public abstract class MembroStaff extends UtenteAstratto {
      */
     public MembroStaff(String nome, String cognome, String email, String password) {
         super(nome, cognome, email, password);
+        pubblicaCreazione(MembroStaff.class);
     }
 
     // ==================== GETTER ====================
 
+    @Override
+    public TipoUtente getTipo() {
+        return TipoUtente.MEMBRO_STAFF;
+    }
+
     /**
      * Restituisce il ruolo del membro dello staff.
      *
      * @return Il ruolo (es: "Organizzatore", "Mentore", "Giudice")
      */
+    @Override
     public String getRuolo() {
         return ruolo;
     }
@@ -50,6 +61,8 @@ public abstract class MembroStaff extends UtenteAstratto {
      * @param ruolo Il ruolo da assegnare
      */
     public void setRuolo(String ruolo) {
+        String precedente = this.ruolo;
         this.ruolo = ruolo;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "ruolo", precedente, ruolo);
     }
 }
@@ -1,5 +1,8 @@
 package com.hackhub.model;
 
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.eventi.GestoreEventi;
 import java.time.LocalDate;
 
 /**
@@ -32,15 +35,22 @@ public class MembroTeam extends Utente {
         super(nome, cognome, email, password);
         this.isViceLeader = false;
         this.dataIngresso = LocalDate.now();
+        pubblicaCreazione(MembroTeam.class);
     }
 
     // ==================== GETTER ====================
 
+    @Override
+    public TipoUtente getTipo() {
+        return TipoUtente.MEMBRO_TEAM;
+    }
+
     /**
      * Verifica se il membro e' il Viceleader del team.
      *
      * @return true se e' Viceleader, false altrimenti
      */
+    @Override
     public boolean isViceLeader() {
         return isViceLeader;
     }
@@ -50,6 +60,7 @@ public class MembroTeam extends Utente {
      *
      * @return La data di ingresso
      */
+    @Override
     public LocalDate getDataIngresso() {
         return dataIngresso;
     }
@@ -62,7 +73,9 @@ public class MembroTeam extends Utente {
      * @param isViceLeader true per nominare Viceleader, false per revocare
      */
     public void setViceLeader(boolean isViceLeader) {
+        boolean precedente = this.isViceLeader;
         this.isViceLeader = isViceLeader;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "isViceLeader", precedente, isViceLeader);
     }
 
     /**
@@ -71,7 +84,9 @@ public class MembroTeam extends Utente {
      * @param dataIngresso La data di ingresso
      */
     public void setDataIngresso(LocalDate dataIngresso) {
+        LocalDate precedente = this.dataIngresso;
         this.dataIngresso = dataIngresso;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataIngresso", precedente, dataIngresso);
     }
 
     // ==================== OPERAZIONI ====================
@@ -105,7 +120,7 @@ public class MembroTeam extends Utente {
 
         // Se e' Viceleader, revoca il ruolo
         if (this.isViceLeader) {
-            this.isViceLeader = false;
+            setViceLeader(false);
         }
 
         // Rimuove il membro dal team
@@ -0,0 +1,308 @@
+package com.hackhub.model;
+
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+
+/**
+ * Classe che rappresenta la Sottomissione di un progetto da parte di un Team.
+ *
+ * Una Sottomissione viene consegnata dal team entro la dataFine dell'hackathon
+ * e passa dalle verifiche automatiche prima della valutazione dei giudici.
+ *
+ * Ciclo di vita:
+ * INVIATA -> IN_CODA -> IN_VERIFICA -> VERIFICATA / NON_CONFORME / ERRORE_VERIFICA
+ *
+ * Relazioni:
+ * - Composizione con Team (la sottomissione non esiste senza team)
+ * - Associazione con Hackathon
+ */
+public class Sottomissione extends EntitaVersionata {
+
+    private static final VarHandle STATO;
+
+    static {
+        try {
+            STATO = MethodHandles.lookup().findVarHandle(Sottomissione.class, "stato", StatoSottomissione.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Identificativo univoco della sottomissione */
+    private Long id;
+
+    /** Contatore statico per generare ID univoci */
+    private static Long contatoreId = 1L;
+
+    /** Titolo del progetto */
+    private String titolo;
+
+    /** Descrizione del progetto */
+    private String descrizione;
+
+    /** URL del repository del progetto */
+    private String urlRepository;
+
+    /** Contenuto testuale consegnato (sorgenti o documentazione) */
+    private String contenuto;
+
+    /** Data di consegna */
+    private LocalDate dataInvio;
+
+    /** Stato corrente della sottomissione (aggiornato anche dai thread di verifica) */
+    private volatile StatoSottomissione stato;
+
+    /** Team che ha consegnato il progetto */
+    private Team team;
+
+    /** Hackathon per cui il progetto e' stato consegnato */
+    private Hackathon hackathon;
+
+    /**
+     * Costruttore della classe Sottomissione.
+     *
+     * @param team          Il team che consegna il progetto
+     * @param hackathon     L'hackathon di riferimento
+     * @param titolo        Il titolo del progetto
+     * @param urlRepository L'URL del repository
+     */
+    public Sottomissione(Team team, Hackathon hackathon, String titolo, String urlRepository) {
+        this.id = contatoreId++;
+        this.team = team;
+        this.hackathon = hackathon;
+        this.titolo = titolo;
+        this.urlRepository = urlRepository;
+        this.dataInvio = LocalDate.now();
+        this.stato = StatoSottomissione.INVIATA;
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
+    }
+
+    private Sottomissione(Long id, Team team, Hackathon hackathon, String titolo, String urlRepository,
+                          LocalDate dataInvio, StatoSottomissione stato) {
+        this.id = id;
+        this.team = team;
+        this.hackathon = hackathon;
+        this.titolo = titolo;
+        this.urlRepository = urlRepository;
+        this.dataInvio = dataInvio;
+        this.stato = stato;
+    }
+
+    /**
+     * Ricostruisce una sottomissione spostata in un archivio, con il suo id originale.
+     * Non consuma id dal contatore e non pubblica eventi: la sottomissione esisteva gia'.
+     *
+     * @param id            L'id originale
+     * @param team          Il team che ha consegnato il progetto
+     * @param hackathon     L'hackathon
+     * @param titolo        Il titolo
+     * @param urlRepository L'URL del repository
+     * @param descrizione   La descrizione
+     * @param contenuto     Il contenuto consegnato
+     * @param dataInvio     La data di invio
+     * @param stato         Lo stato
+     * @return La sottomissione ricostruita
+     */
+    public static Sottomissione ripristina(Long id, Team team, Hackathon hackathon, String titolo,
+                                           String urlRepository, String descrizione, String contenuto,
+                                           LocalDate dataInvio, StatoSottomissione stato) {
+        Sottomissione sottomissione = new Sottomissione(id, team, hackathon, titolo, urlRepository, dataInvio, stato);
+        sottomissione.descrizione = descrizione;
+        sottomissione.contenuto = contenuto;
+        return sottomissione;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce l'ID della sottomissione.
+     *
+     * @return L'ID della sottomissione
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Restituisce il titolo del progetto.
+     *
+     * @return Il titolo
+     */
+    public String getTitolo() {
+        return titolo;
+    }
+
+    /**
+     * Restituisce la descrizione del progetto.
+     *
+     * @return La descrizione
+     */
+    public String getDescrizione() {
+        return descrizione;
+    }
+
+    /**
+     * Restituisce l'URL del repository.
+     *
+     * @return L'URL del repository
+     */
+    public String getUrlRepository() {
+        return urlRepository;
+    }
+
+    /**
+     * Restituisce il contenuto testuale consegnato.
+     *
+     * @return Il contenuto, o null se non presente
+     */
+    public String getContenuto() {
+        return contenuto;
+    }
+
+    /**
+     * Restituisce la data di consegna.
+     *
+     * @return La data di consegna
+     */
+    public LocalDate getDataInvio() {
+        return dataInvio;
+    }
+
+    /**
+     * Restituisce lo stato della sottomissione.
+     *
+     * @return Lo stato corrente
+     */
+    public StatoSottomissione getStato() {
+        return stato;
+    }
+
+    /**
+     * Restituisce il team che ha consegnato il progetto.
+     *
+     * @return Il team
+     */
+    public Team getTeam() {
+        return team;
+    }
+
+    /**
+     * Restituisce l'hackathon di riferimento.
+     *
+     * @return L'hackathon
+     */
+    public Hackathon getHackathon() {
+        return hackathon;
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Ripristina l'identificativo della sottomissione.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
+    /**
+     * Imposta la data di invio.
+     * Usato quando la sottomissione viene ricostruita a partire da una copia archiviata.
+     *
+     * @param dataInvio La data di invio originale
+     */
+    public void setDataInvio(LocalDate dataInvio) {
+        LocalDate precedente = this.dataInvio;
+        this.dataInvio = dataInvio;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataInvio", precedente, dataInvio);
+    }
+
+    /**
+     * Imposta la descrizione del progetto.
+     *
+     * @param descrizione La nuova descrizione
+     */
+    public void setDescrizione(String descrizione) {
+        String precedente = this.descrizione;
+        this.descrizione = descrizione;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "descrizione", precedente, descrizione);
+    }
+
+    /**
+     * Imposta il contenuto testuale consegnato.
+     *
+     * @param contenuto Il contenuto
+     */
+    public void setContenuto(String contenuto) {
+        String precedente = this.contenuto;
+        this.contenuto = contenuto;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "contenuto", precedente, contenuto);
+    }
+
+    /**
+     * Imposta lo stato della sottomissione.
+     *
+     * @param stato Il nuovo stato
+     */
+    public void setStato(StatoSottomissione stato) {
+        StatoSottomissione precedente = (StatoSottomissione) STATO.getAndSet(this, stato);
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", precedente, stato);
+    }
+
+    /**
+     * Cambia lo stato solo se quello corrente e' ancora quello atteso.
+     * Usato dai thread che si contendono la stessa sottomissione (es. due
+     * richieste di verifica concorrenti).
+     *
+     * @param atteso Lo stato letto dal chiamante
+     * @param nuovo  Il nuovo stato
+     * @return true se lo stato e' stato cambiato, false se nel frattempo era diverso
+     */
+    public boolean cambiaStato(StatoSottomissione atteso, StatoSottomissione nuovo) {
+        if (!STATO.compareAndSet(this, atteso, nuovo)) {
+            return false;
+        }
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "stato", atteso, nuovo);
+        return true;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Restituisce la dimensione del contenuto consegnato in caratteri.
+     *
+     * @return La dimensione, 0 se il contenuto non e' presente
+     */
+    public int getDimensione() {
+        return contenuto != null ? contenuto.length() : 0;
+    }
+
+    /**
+     * Verifica se la sottomissione e' stata consegnata entro la fine dell'hackathon.
+     *
+     * @return true se la data di invio non supera la dataFine
+     */
+    public boolean isInTempo() {
+        return hackathon.getDataFine() == null || !dataInvio.isAfter(hackathon.getDataFine());
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della sottomissione.
+     *
+     * @return Stringa con titolo, team e stato
+     */
+    @Override
+    public String toString() {
+        return "Sottomissione " + titolo + " di " + team.getNome() + " [" + stato + "]";
+    }
+}
@@ -1,8 +1,21 @@
 package com.hackhub.model;
 
+import com.hackhub.calendario.IndiceImpegni;
+import com.hackhub.collezioni.Cursore;
+import com.hackhub.collezioni.ListaSoloAggiunta;
+import com.hackhub.collezioni.Pagina;
+import com.hackhub.collezioni.Segnaposto;
+import com.hackhub.diagnostica.IscrizioneTeamEvento;
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Classe che rappresenta un Team in HackHub.
@@ -21,7 +34,7 @@ import java.util.List;
  * - Composizione con Sottomissione (le sottomissioni non esistono senza team)
  * - Composizione con Iscrizione (le iscrizioni non esistono senza team)
  */
-public class Team {
+public class Team extends EntitaVersionata implements Idratabile {
 
     /** Identificativo univoco del team */
     private Long id;
@@ -41,17 +54,20 @@ public class Team {
     /** Leader del team */
     private Leader leader;
 
-    /** Lista dei membri del team (include il Leader) */
-    private List<MembroTeam> membri;
+    /** Membri del team (include il Leader): istantanea immutabile sostituita a ogni modifica, perche' breve */
+    private volatile List<MembroTeam> membri;
 
     /** Lista degli inviti inviati dal team */
-    private List<Invito> inviti;
+    private ListaSoloAggiunta<Invito> inviti;
 
     /** Lista delle iscrizioni del team agli hackathon */
-    private List<Iscrizione> iscrizioni;
+    private ListaSoloAggiunta<Iscrizione> iscrizioni;
 
     /** Lista delle sottomissioni del team */
-    private List<Sottomissione> sottomissioni;
+    private ListaSoloAggiunta<Sottomissione> sottomissioni;
+
+    /** Caricamento delle collezioni in sospeso */
+    private final Idratazione idratazione = new Idratazione();
 
     /**
      * Costruttore della classe Team.
@@ -64,10 +80,38 @@ public class Team {
         this.nome = nome;
         this.descrizione = descrizione;
         this.dataCreazione = LocalDate.now();
-        this.membri = new ArrayList<>();
-        this.inviti = new ArrayList<>();
-        this.iscrizioni = new ArrayList<>();
-        this.sottomissioni = new ArrayList<>();
+        this.membri = Collections.emptyList();
+        this.inviti = new ListaSoloAggiunta<>();
+        this.iscrizioni = new ListaSoloAggiunta<>();
+        this.sottomissioni = new ListaSoloAggiunta<>();
+        GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
+    }
+
+    private Team(Long id, String nome, String descrizione, LocalDate dataCreazione) {
+        this.id = id;
+        this.nome = nome;
+        this.descrizione = descrizione;
+        this.dataCreazione = dataCreazione;
+        this.membri = Collections.emptyList();
+        this.inviti = new ListaSoloAggiunta<>();
+        this.iscrizioni = new ListaSoloAggiunta<>();
+        this.sottomissioni = new ListaSoloAggiunta<>();
+    }
+
+    /**
+     * Ricostruisce un team che compare in un archivio ma non e' piu' presente in memoria.
+     * Il team ricostruito ha solo i dati anagrafici (niente leader, membri o collezioni):
+     * serve a collegare iscrizioni e sottomissioni archiviate.
+     * Non consuma id dal contatore e non pubblica eventi: il team esisteva gia'.
+     *
+     * @param id            L'id originale
+     * @param nome          Il nome del team
+     * @param descrizione   La descrizione del team
+     * @param dataCreazione La data di creazione
+     * @return Il team ricostruito
+     */
+    public static Team ripristina(Long id, String nome, String descrizione, LocalDate dataCreazione) {
+        return new Team(id, nome, descrizione, dataCreazione);
     }
 
     // ==================== GETTER ====================
@@ -119,8 +163,10 @@ public class Team {
 
     /**
      * Restituisce la lista dei membri del team.
+     * La lista e' un'istantanea non modificabile; la si puo' scorrere mentre altri
+     * thread aggiungono o rimuovono membri.
      *
-     * @return Lista dei membri
+     * @return Istantanea immutabile dei membri
      */
     public List<MembroTeam> getMembri() {
         return membri;
@@ -129,39 +175,113 @@ public class Team {
     /**
      * Restituisce la lista degli inviti inviati.
      *
-     * @return Lista degli inviti
+     * @return Istantanea immutabile degli inviti
      */
     public List<Invito> getInviti() {
-        return inviti;
+        idrata();
+        return inviti.vista();
     }
 
     /**
      * Restituisce la lista delle iscrizioni agli hackathon.
      *
-     * @return Lista delle iscrizioni
+     * @return Istantanea immutabile delle iscrizioni
      */
     public List<Iscrizione> getIscrizioni() {
-        return iscrizioni;
+        idrata();
+        return iscrizioni.vista();
     }
 
     /**
      * Restituisce la lista delle sottomissioni.
      *
-     * @return Lista delle sottomissioni
+     * @return Istantanea immutabile delle sottomissioni
      */
     public List<Sottomissione> getSottomissioni() {
-        return sottomissioni;
+        idrata();
+        return sottomissioni.vista();
+    }
+
+    /**
+     * Restituisce una pagina dei membri del team.
+     * La pagina viene letta da un'istantanea dei membri: se nel frattempo un membro
+     * viene rimosso, le posizioni successive scorrono di uno.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di membri
+     * @return La pagina di membri
+     */
+    public Pagina<MembroTeam> paginaMembri(Cursore cursore, int dimensione) {
+        return Pagina.estrai(membri, cursore, dimensione, null);
+    }
+
+    /**
+     * Restituisce una pagina degli inviti inviati, eventualmente filtrati per stato.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di inviti
+     * @param stato      Lo stato degli inviti da restituire, null per tutti
+     * @return La pagina di inviti
+     */
+    public Pagina<Invito> paginaInviti(Cursore cursore, int dimensione, StatoInvito stato) {
+        idrata();
+        return Pagina.estrai(inviti.vista(), cursore, dimensione,
+            stato == null ? null : invito -> invito.getStato() == stato);
+    }
+
+    /**
+     * Restituisce una pagina delle iscrizioni, eventualmente filtrate per stato.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di iscrizioni
+     * @param stato      Lo stato delle iscrizioni da restituire, null per tutte
+     * @return La pagina di iscrizioni
+     */
+    public Pagina<Iscrizione> paginaIscrizioni(Cursore cursore, int dimensione, StatoIscrizione stato) {
+        idrata();
+        return Pagina.estrai(iscrizioni.vista(), cursore, dimensione,
+            stato == null ? null : iscrizione -> iscrizione.getStato() == stato);
+    }
+
+    /**
+     * Restituisce una pagina delle sottomissioni, eventualmente filtrate per stato.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di sottomissioni
+     * @param stato      Lo stato delle sottomissioni da restituire, null per tutte
+     * @return La pagina di sottomissioni
+     */
+    public Pagina<Sottomissione> paginaSottomissioni(Cursore cursore, int dimensione, StatoSottomissione stato) {
+        idrata();
+        return Pagina.estrai(sottomissioni.vista(), cursore, dimensione,
+            stato == null ? null : sottomissione -> sottomissione.getStato() == stato);
     }
 
     // ==================== SETTER ====================
 
+    /**
+     * Ripristina l'identificativo del team.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
     /**
      * Imposta il nome del team.
      *
      * @param nome Il nuovo nome
      */
     public void setNome(String nome) {
+        String precedente = this.nome;
         this.nome = nome;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "nome", precedente, nome);
     }
 
     /**
@@ -170,7 +290,21 @@ public class Team {
      * @param descrizione La nuova descrizione
      */
     public void setDescrizione(String descrizione) {
+        String precedente = this.descrizione;
         this.descrizione = descrizione;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "descrizione", precedente, descrizione);
+    }
+
+    /**
+     * Imposta la data di creazione del team.
+     * Usato quando il team viene ricostruito a partire da una copia archiviata.
+     *
+     * @param dataCreazione La data di creazione originale
+     */
+    public void setDataCreazione(LocalDate dataCreazione) {
+        LocalDate precedente = this.dataCreazione;
+        this.dataCreazione = dataCreazione;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "dataCreazione", precedente, dataCreazione);
     }
 
     /**
@@ -179,7 +313,9 @@ public class Team {
      * @param leader Il Leader da impostare
      */
     public void setLeader(Leader leader) {
+        Leader precedente = this.leader;
         this.leader = leader;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "leader", precedente, leader);
     }
 
     // ==================== OPERAZIONI ====================
@@ -190,8 +326,14 @@ public class Team {
      * @param membro Il membro da aggiungere
      */
     public void addMembro(MembroTeam membro) {
-        this.membri.add(membro);
+        synchronized (this) {
+            List<MembroTeam> nuovi = new ArrayList<>(membri.size() + 1);
+            nuovi.addAll(membri);
+            nuovi.add(membro);
+            this.membri = Collections.unmodifiableList(nuovi);
+        }
         membro.setTeam(this);
+        GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "membri", null, membro);
     }
 
     /**
@@ -200,7 +342,14 @@ public class Team {
      * @param membro Il membro da rimuovere
      */
     public void removeMembro(MembroTeam membro) {
-        this.membri.remove(membro);
+        synchronized (this) {
+            List<MembroTeam> nuovi = new ArrayList<>(membri);
+            if (!nuovi.remove(membro)) {
+                return;
+            }
+            this.membri = Collections.unmodifiableList(nuovi);
+        }
+        GestoreEventi.pubblica(TipoEvento.RIMOZIONE, this, "membri", null, membro);
     }
 
     /**
@@ -241,25 +390,66 @@ public class Team {
      * @param invito L'invito da aggiungere
      */
     public void aggiungiInvito(Invito invito) {
-        this.inviti.add(invito);
+        idrata();
+        this.inviti.aggiungi(invito);
+        GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "inviti", null, invito);
     }
 
     /**
      * Aggiunge un'iscrizione alla lista delle iscrizioni del team.
      *
      * @param iscrizione L'iscrizione da aggiungere
+     * @throws com.hackhub.calendario.SovrapposizioneDateException se l'indice degli impegni e' attivo e il team
+     *         o un membro e' gia' impegnato nelle date dell'hackathon
      */
     public void aggiungiIscrizione(Iscrizione iscrizione) {
-        this.iscrizioni.add(iscrizione);
+        IscrizioneTeamEvento evento = new IscrizioneTeamEvento();
+        evento.begin();
+        RuntimeException errore = null;
+        try {
+            idrata();
+            IndiceImpegni.verifica(this, iscrizione);
+            this.iscrizioni.aggiungi(iscrizione);
+            GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "iscrizioni", null, iscrizione);
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, iscrizione, errore);
+        }
     }
 
     /**
      * Aggiunge una sottomissione alla lista delle sottomissioni del team.
+     * L'aggiunta e' esclusa con l'archiviazione dell'hackathon della sottomissione.
      *
      * @param sottomissione La sottomissione da aggiungere
+     * @throws IllegalStateException se l'hackathon della sottomissione e' archiviato o in archiviazione
      */
     public void aggiungiSottomissione(Sottomissione sottomissione) {
-        this.sottomissioni.add(sottomissione);
+        idrata();
+        Hackathon hackathon = sottomissione.getHackathon();
+        if (hackathon != null) {
+            hackathon.aggiungiSeAperto(() -> this.sottomissioni.aggiungi(sottomissione));
+        } else {
+            this.sottomissioni.aggiungi(sottomissione);
+        }
+        GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "sottomissioni", null, sottomissione);
+    }
+
+    /**
+     * Sostituisce con segnaposto le iscrizioni e le sottomissioni spostate in un archivio.
+     * Usato da ArchivioHackathon: le posizioni non cambiano e i getter ricaricano
+     * gli elementi dall'archivio quando vengono letti.
+     *
+     * @param iscrizioni    Il segnaposto di un'iscrizione archiviata, null per quelle da tenere
+     * @param sottomissioni Il segnaposto di una sottomissione archiviata, null per quelle da tenere
+     */
+    public void scaricaArchiviate(Function<Iscrizione, Segnaposto<Iscrizione>> iscrizioni,
+                                  Function<Sottomissione, Segnaposto<Sottomissione>> sottomissioni) {
+        idrata();
+        this.iscrizioni.scarica(iscrizioni);
+        this.sottomissioni.scarica(sottomissioni);
     }
 
     /**
@@ -271,4 +461,18 @@ public class Team {
     public String toString() {
         return "Team: " + nome + " (" + countMembri() + " membri)";
     }
+
+    @Override
+    public void aggiungiIdratazione(Runnable caricamento) {
+        idratazione.aggiungi(caricamento);
+    }
+
+    @Override
+    public boolean isIdratata() {
+        return idratazione.isCompleta();
+    }
+
+    private void idrata() {
+        idratazione.esegui();
+    }
 }
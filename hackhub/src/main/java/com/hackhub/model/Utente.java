@@ -1,8 +1,20 @@
 package com.hackhub.model;
 
+import com.hackhub.collezioni.Cursore;
+import com.hackhub.collezioni.ListaSoloAggiunta;
+import com.hackhub.collezioni.Pagina;
+import com.hackhub.diagnostica.AccettazioneInvitoEvento;
+import com.hackhub.diagnostica.CreazioneTeamEvento;
 import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.inviti.ScadenzaInviti;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Classe che rappresenta un utente registrato nel sistema HackHub.
@@ -18,14 +30,23 @@ import java.util.List;
  * Estende: UtenteAstratto
  * Esteso da: MembroTeam
  */
-public class Utente extends UtenteAstratto {
+public class Utente extends UtenteAstratto implements Idratabile {
 
     /** Lista degli inviti ricevuti dall'utente */
-    private List<Invito> invitiRicevuti;
+    private ListaSoloAggiunta<Invito> invitiRicevuti;
 
     /** Riferimento al team a cui appartiene (null se non appartiene a nessun team) */
     private Team team;
 
+    /** Competenze dichiarate dall'utente (es: "java", "frontend", "design") */
+    private Set<String> competenze;
+
+    /** Preferenze dell'utente su temi e ambiti (es: "ai", "mobile", "sostenibilita'") */
+    private Set<String> preferenze;
+
+    /** Caricamento delle collezioni in sospeso */
+    private final Idratazione idratazione = new Idratazione();
+
     /**
      * Costruttore della classe Utente.
      *
@@ -36,8 +57,12 @@ public class Utente extends UtenteAstratto {
      */
     public Utente(String nome, String cognome, String email, String password) {
         super(nome, cognome, email, password);
-        this.invitiRicevuti = new ArrayList<>();
+        this.invitiRicevuti = new ListaSoloAggiunta<>();
         this.team = null;
+        // Allocati al primo inserimento: la maggior parte degli utenti non li compila
+        this.competenze = Collections.emptySet();
+        this.preferenze = Collections.emptySet();
+        pubblicaCreazione(Utente.class);
     }
 
     // ==================== GETTER ====================
@@ -45,10 +70,25 @@ public class Utente extends UtenteAstratto {
     /**
      * Restituisce la lista degli inviti ricevuti dall'utente.
      *
-     * @return Lista degli inviti ricevuti
+     * @return Istantanea immutabile degli inviti ricevuti
      */
     public List<Invito> getInvitiRicevuti() {
-        return invitiRicevuti;
+        idrata();
+        return invitiRicevuti.vista();
+    }
+
+    /**
+     * Restituisce una pagina degli inviti ricevuti, eventualmente filtrati per stato.
+     *
+     * @param cursore    Il cursore da cui partire
+     * @param dimensione Il numero massimo di inviti
+     * @param stato      Lo stato degli inviti da restituire, null per tutti
+     * @return La pagina di inviti
+     */
+    public Pagina<Invito> paginaInvitiRicevuti(Cursore cursore, int dimensione, StatoInvito stato) {
+        idrata();
+        return Pagina.estrai(invitiRicevuti.vista(), cursore, dimensione,
+            stato == null ? null : invito -> invito.getStato() == stato);
     }
 
     /**
@@ -60,6 +100,42 @@ public class Utente extends UtenteAstratto {
         return team;
     }
 
+    @Override
+    public TipoUtente getTipo() {
+        return TipoUtente.UTENTE;
+    }
+
+    /**
+     * Restituisce l'id del team a cui appartiene l'utente.
+     *
+     * @return L'id del team, o null se non appartiene a nessun team
+     */
+    @Override
+    public Long getIdTeam() {
+        Team corrente = team;
+        return corrente != null ? corrente.getId() : null;
+    }
+
+    /**
+     * Restituisce le competenze dichiarate dall'utente.
+     *
+     * @return Insieme non modificabile delle competenze
+     */
+    @Override
+    public Set<String> getCompetenze() {
+        return Collections.unmodifiableSet(competenze);
+    }
+
+    /**
+     * Restituisce le preferenze dichiarate dall'utente.
+     *
+     * @return Insieme non modificabile delle preferenze
+     */
+    @Override
+    public Set<String> getPreferenze() {
+        return Collections.unmodifiableSet(preferenze);
+    }
+
     // ==================== SETTER ====================
 
     /**
@@ -68,7 +144,9 @@ public class Utente extends UtenteAstratto {
      * @param team Il team a cui associare l'utente
      */
     public void setTeam(Team team) {
+        Team precedente = this.team;
         this.team = team;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "team", precedente, team);
     }
 
     // ==================== OPERAZIONI ====================
@@ -89,6 +167,22 @@ public class Utente extends UtenteAstratto {
      * @throws IllegalStateException se l'utente appartiene gia' a un team
      */
     public Team creaTeam(String nome, String descrizione) {
+        CreazioneTeamEvento evento = new CreazioneTeamEvento();
+        evento.begin();
+        Team nuovoTeam = null;
+        RuntimeException errore = null;
+        try {
+            nuovoTeam = fondaTeam(nome, descrizione);
+            return nuovoTeam;
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, nuovoTeam, errore);
+        }
+    }
+
+    private Team fondaTeam(String nome, String descrizione) {
         if (this.team != null) {
             throw new IllegalStateException("Appartieni gia' a un team");
         }
@@ -99,6 +193,12 @@ public class Utente extends UtenteAstratto {
         // Crea il leader basandosi sui dati di questo utente
         Leader leader = new Leader(this.getNome(), this.getCognome(), this.getEmail(), this.getPassword());
         leader.setTeam(nuovoTeam);
+        for (String competenza : competenze) {
+            leader.aggiungiCompetenza(competenza);
+        }
+        for (String preferenza : preferenze) {
+            leader.aggiungiPreferenza(preferenza);
+        }
 
         // Aggiunge il leader al team
         nuovoTeam.setLeader(leader);
@@ -121,25 +221,46 @@ public class Utente extends UtenteAstratto {
      *
      * @param invito L'invito da accettare
      * @throws IllegalStateException se l'utente appartiene gia' a un team
-     * @throws IllegalArgumentException se l'invito non e' in stato IN_ATTESA
+     * @throws IllegalArgumentException se l'invito non e' in stato IN_ATTESA o e' scaduto
      */
     public void accettaInvito(Invito invito) {
+        AccettazioneInvitoEvento evento = new AccettazioneInvitoEvento();
+        evento.begin();
+        RuntimeException errore = null;
+        try {
+            accetta(invito);
+        } catch (RuntimeException e) {
+            errore = e;
+            throw e;
+        } finally {
+            evento.concludi(this, invito, errore);
+        }
+    }
+
+    private void accetta(Invito invito) {
         if (this.team != null) {
             throw new IllegalStateException("Appartieni gia' a un team");
         }
 
+        if (ScadenzaInviti.scadeSeDovuto(invito)) {
+            throw new IllegalArgumentException("L'invito e' scaduto");
+        }
+
         if (invito.getStato() != StatoInvito.IN_ATTESA) {
             throw new IllegalArgumentException("L'invito non e' in attesa");
         }
 
-        // Accetta l'invito
-        invito.accetta();
+        // Accetta l'invito (fallisce se nel frattempo e' scaduto)
+        if (!invito.accetta()) {
+            throw new IllegalArgumentException("L'invito non e' in attesa");
+        }
 
         // Associa l'utente al team
-        this.team = invito.getTeam();
+        setTeam(invito.getTeam());
 
         // Rifiuta automaticamente tutti gli altri inviti pendenti
-        for (Invito altroInvito : invitiRicevuti) {
+        idrata();
+        for (Invito altroInvito : invitiRicevuti.vista()) {
             if (altroInvito != invito && altroInvito.getStato() == StatoInvito.IN_ATTESA) {
                 altroInvito.rifiuta();
             }
@@ -159,11 +280,9 @@ public class Utente extends UtenteAstratto {
      * @throws IllegalArgumentException se l'invito non e' in stato IN_ATTESA
      */
     public void rifiutaInvito(Invito invito) {
-        if (invito.getStato() != StatoInvito.IN_ATTESA) {
+        if (!invito.rifiuta()) {
             throw new IllegalArgumentException("L'invito non e' in attesa");
         }
-
-        invito.rifiuta();
     }
 
     /**
@@ -173,7 +292,41 @@ public class Utente extends UtenteAstratto {
      * @param invito L'invito da aggiungere
      */
     public void aggiungiInvito(Invito invito) {
-        this.invitiRicevuti.add(invito);
+        idrata();
+        this.invitiRicevuti.aggiungi(invito);
+        GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "invitiRicevuti", null, invito);
+    }
+
+    /**
+     * Aggiunge una competenza al profilo dell'utente.
+     * Le competenze vengono normalizzate in minuscolo.
+     *
+     * @param competenza La competenza da aggiungere
+     */
+    public void aggiungiCompetenza(String competenza) {
+        String normalizzata = competenza.trim().toLowerCase();
+        if (this.competenze.isEmpty()) {
+            this.competenze = new LinkedHashSet<>();
+        }
+        if (this.competenze.add(normalizzata)) {
+            GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "competenze", null, normalizzata);
+        }
+    }
+
+    /**
+     * Aggiunge una preferenza al profilo dell'utente.
+     * Le preferenze vengono normalizzate in minuscolo.
+     *
+     * @param preferenza La preferenza da aggiungere
+     */
+    public void aggiungiPreferenza(String preferenza) {
+        String normalizzata = preferenza.trim().toLowerCase();
+        if (this.preferenze.isEmpty()) {
+            this.preferenze = new LinkedHashSet<>();
+        }
+        if (this.preferenze.add(normalizzata)) {
+            GestoreEventi.pubblica(TipoEvento.AGGIUNTA, this, "preferenze", null, normalizzata);
+        }
     }
 
     /**
@@ -192,11 +345,26 @@ public class Utente extends UtenteAstratto {
      */
     public List<Invito> getInvitiPendenti() {
         List<Invito> pendenti = new ArrayList<>();
-        for (Invito invito : invitiRicevuti) {
+        idrata();
+        for (Invito invito : invitiRicevuti.vista()) {
             if (invito.getStato() == StatoInvito.IN_ATTESA) {
                 pendenti.add(invito);
             }
         }
         return pendenti;
     }
+
+    @Override
+    public void aggiungiIdratazione(Runnable caricamento) {
+        idratazione.aggiungi(caricamento);
+    }
+
+    @Override
+    public boolean isIdratata() {
+        return idratazione.isCompleta();
+    }
+
+    private void idrata() {
+        idratazione.esegui();
+    }
 }
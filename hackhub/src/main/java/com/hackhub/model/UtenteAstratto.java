@@ -1,5 +1,12 @@
 package com.hackhub.model;
 
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.memoria.VistaUtente;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Classe astratta base per tutti gli utenti del sistema HackHub.
  *
@@ -15,8 +22,11 @@ package com.hackhub.model;
  *            MembroTeam    Organizzatore Mentore Giudice
  *                 |
  *              Leader
+ *
+ * Implementa VistaUtente: gli attributi che una sottoclasse non ha (team,
+ * competenze, ruolo...) valgono null o vuoto, come nei record fuori heap.
  */
-public abstract class UtenteAstratto {
+public abstract class UtenteAstratto extends EntitaVersionata implements VistaUtente {
 
     /** Identificativo univoco dell'utente */
     private Long id;
@@ -52,6 +62,27 @@ public abstract class UtenteAstratto {
         this.password = password;
     }
 
+    /**
+     * Pubblica la creazione dell'utente al termine del costruttore della classe indicata.
+     *
+     * Ogni costruttore della gerarchia la chiama come ultima istruzione, ma l'evento
+     * parte solo da quello della classe piu' derivata del package model: cosi' gli
+     * ascoltatori ricevono l'utente con tutti gli attributi del modello gia' inizializzati.
+     * Una sottoclasse esterna al package (es. un membro dello staff concreto) viene
+     * pubblicata dal costruttore della classe del modello che estende.
+     *
+     * @param classe La classe il cui costruttore sta terminando
+     */
+    protected final void pubblicaCreazione(Class<? extends UtenteAstratto> classe) {
+        Class<?> classeModello = getClass();
+        while (!classeModello.getPackageName().equals(UtenteAstratto.class.getPackageName())) {
+            classeModello = classeModello.getSuperclass();
+        }
+        if (classeModello == classe) {
+            GestoreEventi.pubblica(TipoEvento.CREAZIONE, this, null, null, null);
+        }
+    }
+
     // ==================== GETTER ====================
 
     /**
@@ -99,15 +130,91 @@ public abstract class UtenteAstratto {
         return password;
     }
 
+    /**
+     * Restituisce l'id del team dell'utente.
+     *
+     * @return null: solo un Utente puo' appartenere a un team
+     */
+    @Override
+    public Long getIdTeam() {
+        return null;
+    }
+
+    /**
+     * Restituisce le competenze dichiarate dall'utente.
+     *
+     * @return Un insieme vuoto: solo un Utente dichiara competenze
+     */
+    @Override
+    public Set<String> getCompetenze() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Restituisce le preferenze dichiarate dall'utente.
+     *
+     * @return Un insieme vuoto: solo un Utente dichiara preferenze
+     */
+    @Override
+    public Set<String> getPreferenze() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Verifica se l'utente e' il Viceleader di un team.
+     *
+     * @return false: solo un MembroTeam puo' essere Viceleader
+     */
+    @Override
+    public boolean isViceLeader() {
+        return false;
+    }
+
+    /**
+     * Restituisce la data di ingresso nel team.
+     *
+     * @return null: solo un MembroTeam entra in un team
+     */
+    @Override
+    public LocalDate getDataIngresso() {
+        return null;
+    }
+
+    /**
+     * Restituisce il ruolo dell'utente nello staff.
+     *
+     * @return null: solo un MembroStaff ha un ruolo
+     */
+    @Override
+    public String getRuolo() {
+        return null;
+    }
+
     // ==================== SETTER ====================
 
+    /**
+     * Ripristina l'identificativo dell'utente.
+     * Usato quando l'entita' viene ricostruita a partire da un'altra istanza
+     * (ad esempio una replica): il contatore viene portato oltre l'id ripristinato.
+     *
+     * @param id L'identificativo originale
+     */
+    public void setId(Long id) {
+        this.id = id;
+        if (id >= contatoreId) {
+            contatoreId = id + 1;
+        }
+    }
+
     /**
      * Imposta il nome dell'utente.
      *
      * @param nome Il nuovo nome
      */
     public void setNome(String nome) {
+        String precedente = this.nome;
         this.nome = nome;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "nome", precedente, nome);
     }
 
     /**
@@ -116,7 +223,9 @@ public abstract class UtenteAstratto {
      * @param cognome Il nuovo cognome
      */
     public void setCognome(String cognome) {
+        String precedente = this.cognome;
         this.cognome = cognome;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "cognome", precedente, cognome);
     }
 
     /**
@@ -125,7 +234,9 @@ public abstract class UtenteAstratto {
      * @param email La nuova email
      */
     public void setEmail(String email) {
+        String precedente = this.email;
         this.email = email;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "email", precedente, email);
     }
 
     /**
@@ -134,7 +245,9 @@ public abstract class UtenteAstratto {
      * @param password La nuova password
      */
     public void setPassword(String password) {
+        String precedente = this.password;
         this.password = password;
+        GestoreEventi.pubblica(TipoEvento.MODIFICA, this, "password", precedente, password);
     }
 
     // ==================== OPERAZIONI ====================
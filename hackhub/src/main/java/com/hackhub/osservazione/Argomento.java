@@ -0,0 +1,59 @@
+package com.hackhub.osservazione;
+
+import com.hackhub.enums.TipoArgomento;
+
+/**
+ * Classe che identifica un'entita' osservabile: tipo e id.
+ */
+public final class Argomento {
+
+    /** Tipo dell'entita' osservata */
+    private final TipoArgomento tipo;
+
+    /** Id dell'entita' osservata */
+    private final long id;
+
+    /**
+     * Costruttore della classe Argomento.
+     *
+     * @param tipo Il tipo dell'entita'
+     * @param id   L'id dell'entita'
+     * @throws IllegalArgumentException se il tipo e' null
+     */
+    public Argomento(TipoArgomento tipo, long id) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Il tipo dell'argomento non puo' essere null");
+        }
+        this.tipo = tipo;
+        this.id = id;
+    }
+
+    // ==================== GETTER ====================
+
+    public TipoArgomento getTipo() {
+        return tipo;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object altro) {
+        if (!(altro instanceof Argomento)) {
+            return false;
+        }
+        Argomento argomento = (Argomento) altro;
+        return tipo == argomento.tipo && id == argomento.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return tipo.hashCode() * 31 + Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "[" + id + "]";
+    }
+}
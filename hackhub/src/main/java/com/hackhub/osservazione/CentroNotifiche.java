@@ -0,0 +1,364 @@
+package com.hackhub.osservazione;
+
+import com.hackhub.enums.TipoArgomento;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import com.hackhub.replica.RecordMutazione.Riferimento;
+import com.hackhub.replica.RegistroMutazioni;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe che consegna le modifiche del modello ai client che osservano un
+ * hackathon, un team o un utente.
+ *
+ * Il thread che modifica il modello converte l'evento in Notifica e la mette
+ * nella coda centrale con offer, senza mai attendere: se la coda e' piena la
+ * notifica viene scartata e tutti gli osservatori ricevono risincronizza. Un
+ * thread dispatcher svuota la coda e copia ogni notifica nei buffer delle
+ * sottoscrizioni interessate; un osservatore lento perde solo le proprie
+ * notifiche piu' vecchie.
+ *
+ * Una modifica interessa le entita' a cui appartiene:
+ * - Invito: il team mittente e l'utente destinatario
+ * - Iscrizione: il team e l'hackathon
+ * - Sottomissione: il team e l'hackathon
+ * - Hackathon, Team, Utente: se stessi
+ */
+public class CentroNotifiche implements AscoltatoreEventi, AutoCloseable {
+
+    /** Capacita' predefinita della coda centrale */
+    public static final int CAPACITA_CODA_PREDEFINITA = 65536;
+
+    /** Capacita' predefinita del buffer di ogni sottoscrizione */
+    public static final int CAPACITA_BUFFER_PREDEFINITA = 256;
+
+    /** Notifica fittizia che sveglia il dispatcher alla chiusura */
+    private static final Notifica FINE = new Notifica(-1, 0, TipoEvento.MODIFICA, null, 0, null, null);
+
+    /** Sottoscrizioni per entita' osservata */
+    private final Map<Argomento, CopyOnWriteArrayList<Sottoscrizione>> perArgomento = new ConcurrentHashMap<>();
+
+    /** Sottoscrizioni per id */
+    private final Map<Long, Sottoscrizione> perId = new ConcurrentHashMap<>();
+
+    /** Coda tra i thread del modello e il dispatcher */
+    private final BlockingQueue<Consegna> coda;
+
+    /** Capacita' del buffer delle nuove sottoscrizioni */
+    private final int capacitaBuffer;
+
+    /** Numero progressivo delle notifiche */
+    private final AtomicLong sequenza = new AtomicLong();
+
+    /** Notifiche scartate perche' la coda centrale era piena */
+    private final AtomicLong scartate = new AtomicLong();
+
+    /** Notifiche copiate nei buffer delle sottoscrizioni */
+    private final AtomicLong consegnate = new AtomicLong();
+
+    /** Thread che smista le notifiche */
+    private final Thread dispatcher;
+
+    /** true dopo la chiusura */
+    private volatile boolean chiuso;
+
+    /**
+     * Costruttore con le capacita' predefinite.
+     */
+    public CentroNotifiche() {
+        this(CAPACITA_CODA_PREDEFINITA, CAPACITA_BUFFER_PREDEFINITA);
+    }
+
+    /**
+     * Costruttore della classe CentroNotifiche. Avvia il dispatcher.
+     *
+     * @param capacitaCoda   Numero massimo di notifiche in attesa di smistamento
+     * @param capacitaBuffer Numero di notifiche trattenute per ogni sottoscrizione
+     * @throws IllegalArgumentException se una capacita' non e' positiva
+     */
+    public CentroNotifiche(int capacitaCoda, int capacitaBuffer) {
+        if (capacitaCoda <= 0 || capacitaBuffer <= 0) {
+            throw new IllegalArgumentException("Le capacita' devono essere positive");
+        }
+        this.coda = new ArrayBlockingQueue<>(capacitaCoda);
+        this.capacitaBuffer = capacitaBuffer;
+        this.dispatcher = new Thread(this::smista, "hackhub-notifiche");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // ==================== GETTER ====================
+
+    public int getNumeroSottoscrizioni() {
+        return perId.size();
+    }
+
+    public long getScartate() {
+        return scartate.get();
+    }
+
+    public long getConsegnate() {
+        return consegnate.get();
+    }
+
+    public int getInCoda() {
+        return coda.size();
+    }
+
+    /**
+     * Restituisce una sottoscrizione attiva dato il suo id.
+     *
+     * @param id L'id della sottoscrizione
+     * @return La sottoscrizione, o null se non esiste o e' stata annullata
+     */
+    public Sottoscrizione getSottoscrizione(long id) {
+        return perId.get(id);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inizia a ricevere le modifiche del modello.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Smette di ricevere le modifiche del modello.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Registra un nuovo osservatore su un'entita'.
+     *
+     * Precondizioni: il centro non e' chiuso
+     * Postcondizioni: le modifiche successive all'entita' vengono accodate nella sottoscrizione
+     *
+     * @param tipo Il tipo dell'entita' osservata
+     * @param id   L'id dell'entita' osservata
+     * @return La nuova sottoscrizione
+     * @throws IllegalStateException se il centro e' chiuso
+     */
+    public Sottoscrizione sottoscrivi(TipoArgomento tipo, long id) {
+        if (chiuso) {
+            throw new IllegalStateException("Il centro notifiche e' chiuso");
+        }
+        Argomento argomento = new Argomento(tipo, id);
+        Sottoscrizione sottoscrizione = new Sottoscrizione(argomento, capacitaBuffer);
+        perArgomento.computeIfAbsent(argomento, a -> new CopyOnWriteArrayList<>()).add(sottoscrizione);
+        perId.put(sottoscrizione.getId(), sottoscrizione);
+        return sottoscrizione;
+    }
+
+    /**
+     * Annulla una sottoscrizione. Non fa nulla se e' gia' stata annullata.
+     *
+     * @param sottoscrizione La sottoscrizione da annullare
+     */
+    public void annulla(Sottoscrizione sottoscrizione) {
+        if (perId.remove(sottoscrizione.getId()) == null) {
+            return;
+        }
+        perArgomento.computeIfPresent(sottoscrizione.getArgomento(), (argomento, lista) -> {
+            lista.remove(sottoscrizione);
+            return lista.isEmpty() ? null : lista;
+        });
+        sottoscrizione.chiudi();
+    }
+
+    /**
+     * Annulla le sottoscrizioni non lette da piu' di inattivitaMillis, tipicamente
+     * quelle dei client long-poll che si sono disconnessi.
+     *
+     * @param inattivitaMillis Tempo massimo senza letture
+     * @return Il numero di sottoscrizioni annullate
+     */
+    public int annullaInattive(long inattivitaMillis) {
+        long limite = System.currentTimeMillis() - inattivitaMillis;
+        int annullate = 0;
+        for (Sottoscrizione sottoscrizione : perId.values()) {
+            if (sottoscrizione.getUltimoAccesso() < limite) {
+                annulla(sottoscrizione);
+                annullate++;
+            }
+        }
+        return annullate;
+    }
+
+    /**
+     * Converte l'evento in notifica e la passa al dispatcher senza bloccare.
+     * Gli eventi che non interessano nessun osservatore vengono ignorati subito.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        if (chiuso || perArgomento.isEmpty() || "password".equals(evento.getCampo())) {
+            return;
+        }
+        List<Argomento> argomenti = argomenti(evento.getSorgente());
+        boolean osservato = false;
+        for (Argomento argomento : argomenti) {
+            osservato |= perArgomento.containsKey(argomento);
+        }
+        if (!osservato) {
+            return;
+        }
+        Riferimento sorgente = RegistroMutazioni.riferimento(evento.getSorgente());
+        Notifica notifica = new Notifica(sequenza.incrementAndGet(), System.currentTimeMillis(),
+            evento.getTipo(), sorgente.getEntita(), sorgente.getId(), evento.getCampo(),
+            testo(evento.getValoreNuovo()));
+        if (!coda.offer(new Consegna(notifica, argomenti))) {
+            scartate.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ferma il dispatcher e annulla tutte le sottoscrizioni.
+     */
+    @Override
+    public void close() {
+        if (chiuso) {
+            return;
+        }
+        chiuso = true;
+        disattiva();
+        coda.clear();
+        coda.offer(new Consegna(FINE, List.of()));
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Sottoscrizione sottoscrizione : perId.values()) {
+            annulla(sottoscrizione);
+        }
+    }
+
+    /**
+     * Ciclo del dispatcher: copia ogni notifica nei buffer delle sottoscrizioni
+     * interessate e propaga a tutti le perdite della coda centrale.
+     */
+    private void smista() {
+        long perditeSegnalate = 0;
+        while (true) {
+            Consegna consegna;
+            try {
+                consegna = coda.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (consegna.notifica == FINE) {
+                return;
+            }
+            long perdite = scartate.get();
+            if (perdite != perditeSegnalate) {
+                perditeSegnalate = perdite;
+                for (Sottoscrizione sottoscrizione : perId.values()) {
+                    sottoscrizione.segnalaPerdita();
+                }
+            }
+            for (Argomento argomento : consegna.argomenti) {
+                Collection<Sottoscrizione> destinatari = perArgomento.get(argomento);
+                if (destinatari == null) {
+                    continue;
+                }
+                for (Sottoscrizione sottoscrizione : destinatari) {
+                    sottoscrizione.consegna(consegna.notifica);
+                }
+                consegnate.addAndGet(destinatari.size());
+            }
+        }
+    }
+
+    /**
+     * Restituisce le entita' osservabili interessate da una modifica della sorgente.
+     */
+    private static List<Argomento> argomenti(Object sorgente) {
+        List<Argomento> argomenti = new ArrayList<>(2);
+        if (sorgente instanceof Hackathon) {
+            aggiungi(argomenti, TipoArgomento.HACKATHON, ((Hackathon) sorgente).getId());
+        } else if (sorgente instanceof Team) {
+            aggiungi(argomenti, TipoArgomento.TEAM, ((Team) sorgente).getId());
+        } else if (sorgente instanceof UtenteAstratto) {
+            aggiungi(argomenti, TipoArgomento.UTENTE, ((UtenteAstratto) sorgente).getId());
+        } else if (sorgente instanceof Invito) {
+            Invito invito = (Invito) sorgente;
+            if (invito.getTeam() != null) {
+                aggiungi(argomenti, TipoArgomento.TEAM, invito.getTeam().getId());
+            }
+            if (invito.getDestinatario() != null) {
+                aggiungi(argomenti, TipoArgomento.UTENTE, invito.getDestinatario().getId());
+            }
+        } else if (sorgente instanceof Iscrizione) {
+            Iscrizione iscrizione = (Iscrizione) sorgente;
+            if (iscrizione.getTeam() != null) {
+                aggiungi(argomenti, TipoArgomento.TEAM, iscrizione.getTeam().getId());
+            }
+            if (iscrizione.getHackathon() != null) {
+                aggiungi(argomenti, TipoArgomento.HACKATHON, iscrizione.getHackathon().getId());
+            }
+        } else if (sorgente instanceof Sottomissione) {
+            Sottomissione sottomissione = (Sottomissione) sorgente;
+            if (sottomissione.getTeam() != null) {
+                aggiungi(argomenti, TipoArgomento.TEAM, sottomissione.getTeam().getId());
+            }
+            if (sottomissione.getHackathon() != null) {
+                aggiungi(argomenti, TipoArgomento.HACKATHON, sottomissione.getHackathon().getId());
+            }
+        }
+        return argomenti;
+    }
+
+    private static void aggiungi(List<Argomento> argomenti, TipoArgomento tipo, Long id) {
+        if (id != null) {
+            argomenti.add(new Argomento(tipo, id));
+        }
+    }
+
+    /**
+     * Converte un valore in testo: le entita' diventano "Categoria[id]".
+     */
+    private static String testo(Object valore) {
+        if (valore == null) {
+            return null;
+        }
+        Riferimento riferimento = RegistroMutazioni.riferimento(valore);
+        return riferimento != null ? riferimento.toString() : String.valueOf(valore);
+    }
+
+    /**
+     * Notifica in coda con le entita' che interessa.
+     */
+    private static final class Consegna {
+
+        private final Notifica notifica;
+
+        private final List<Argomento> argomenti;
+
+        private Consegna(Notifica notifica, List<Argomento> argomenti) {
+            this.notifica = notifica;
+            this.argomenti = argomenti;
+        }
+    }
+}
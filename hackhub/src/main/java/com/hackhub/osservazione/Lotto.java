@@ -0,0 +1,51 @@
+package com.hackhub.osservazione;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe che rappresenta le notifiche consegnate a un osservatore in una lettura.
+ *
+ * Se risincronizza e' true l'osservatore ha perso delle notifiche (buffer pieno
+ * o coda centrale satura): deve rileggere lo stato dell'entita' osservata e poi
+ * continuare con le notifiche del lotto, successive alla perdita.
+ */
+public class Lotto {
+
+    /** Notifiche in ordine di arrivo */
+    private final List<Notifica> notifiche;
+
+    /** true se prima di queste notifiche ne sono andate perse altre */
+    private final boolean risincronizza;
+
+    Lotto(List<Notifica> notifiche, boolean risincronizza) {
+        this.notifiche = Collections.unmodifiableList(notifiche);
+        this.risincronizza = risincronizza;
+    }
+
+    // ==================== GETTER ====================
+
+    public List<Notifica> getNotifiche() {
+        return notifiche;
+    }
+
+    public boolean isRisincronizza() {
+        return risincronizza;
+    }
+
+    /**
+     * Restituisce il lotto come oggetto JSON.
+     *
+     * @return La rappresentazione JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"risincronizza\":").append(risincronizza).append(",\"notifiche\":[");
+        for (int i = 0; i < notifiche.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(notifiche.get(i).toJson());
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.hackhub.osservazione;
+
+import com.hackhub.enums.TipoEvento;
+
+/**
+ * Classe che rappresenta una modifica del modello inviata agli osservatori.
+ *
+ * A differenza di EventoModello non contiene riferimenti agli oggetti del modello:
+ * entita' e valori sono gia' convertiti in testo, cosi' la notifica puo' restare
+ * nei buffer degli osservatori senza trattenere il grafo in memoria.
+ */
+public final class Notifica {
+
+    /** Numero progressivo globale della notifica */
+    private final long sequenza;
+
+    /** Istante della modifica in millisecondi */
+    private final long istante;
+
+    /** Tipo della modifica */
+    private final TipoEvento tipo;
+
+    /** Categoria dell'entita' modificata (es. "Team") */
+    private final String entita;
+
+    /** Id dell'entita' modificata */
+    private final long idEntita;
+
+    /** Attributo o collezione modificata (null per la creazione) */
+    private final String campo;
+
+    /** Nuovo valore o elemento coinvolto, in forma testuale */
+    private final String valore;
+
+    Notifica(long sequenza, long istante, TipoEvento tipo, String entita, long idEntita,
+             String campo, String valore) {
+        this.sequenza = sequenza;
+        this.istante = istante;
+        this.tipo = tipo;
+        this.entita = entita;
+        this.idEntita = idEntita;
+        this.campo = campo;
+        this.valore = valore;
+    }
+
+    // ==================== GETTER ====================
+
+    public long getSequenza() {
+        return sequenza;
+    }
+
+    public long getIstante() {
+        return istante;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public String getEntita() {
+        return entita;
+    }
+
+    public long getIdEntita() {
+        return idEntita;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public String getValore() {
+        return valore;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Restituisce la notifica come oggetto JSON.
+     *
+     * @return La rappresentazione JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"sequenza\":").append(sequenza)
+            .append(",\"istante\":").append(istante)
+            .append(",\"tipo\":\"").append(tipo).append('"')
+            .append(",\"entita\":");
+        stringa(json, entita);
+        json.append(",\"id\":").append(idEntita).append(",\"campo\":");
+        stringa(json, campo);
+        json.append(",\"valore\":");
+        stringa(json, valore);
+        return json.append('}').toString();
+    }
+
+    static void stringa(StringBuilder json, String valore) {
+        if (valore == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < valore.length(); i++) {
+            char c = valore.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequenza + " " + tipo + " " + entita + "[" + idEntita + "]"
+            + (campo != null ? "." + campo : "") + " = " + valore;
+    }
+}
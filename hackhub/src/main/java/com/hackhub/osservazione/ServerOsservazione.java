@@ -0,0 +1,362 @@
+package com.hackhub.osservazione;
+
+import com.hackhub.enums.TipoArgomento;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe che espone un CentroNotifiche via HTTP con l'HttpServer del JDK.
+ *
+ * Endpoint (tutti GET):
+ * - /flusso?tipo=TEAM&id=3: stream Server-Sent Events; ogni notifica e' un evento
+ *   con id la sequenza, event il TipoEvento e data il JSON; una perdita produce
+ *   "event: risincronizza"
+ * - /sottoscrivi?tipo=TEAM&id=3: crea una sottoscrizione long-poll e ne restituisce l'id
+ * - /attendi?sottoscrizione=7&attesa=25000: restituisce il Lotto successivo in JSON,
+ *   attendendo al massimo attesa millisecondi
+ * - /annulla?sottoscrizione=7: annulla una sottoscrizione long-poll
+ *
+ * Le sottoscrizioni long-poll non lette per piu' di INATTIVITA_MASSIMA_MILLIS
+ * vengono annullate automaticamente.
+ *
+ * Il server ascolta solo sull'interfaccia di loopback e ogni richiesta deve
+ * presentare il token del server, nell'header "Authorization: Bearer <token>"
+ * oppure nel parametro token (gli EventSource dei browser non possono impostare
+ * header); senza token risponde 401. Ogni client (indirizzo remoto) puo' tenere
+ * aperte al massimo SOTTOSCRIZIONI_PER_CLIENTE sottoscrizioni, oltre risponde 429,
+ * e puo' leggere o annullare solo le proprie.
+ */
+public class ServerOsservazione implements Closeable {
+
+    /** Attesa massima di una lettura long-poll o tra due heartbeat SSE */
+    public static final long ATTESA_MASSIMA_MILLIS = 25_000;
+
+    /** Inattivita' dopo la quale una sottoscrizione long-poll viene annullata */
+    public static final long INATTIVITA_MASSIMA_MILLIS = 120_000;
+
+    /** Sottoscrizioni aperte al massimo da un client */
+    public static final int SOTTOSCRIZIONI_PER_CLIENTE = 32;
+
+    /** Notifiche massime per lotto */
+    private static final int NOTIFICHE_PER_LOTTO = 256;
+
+    /** Byte casuali di un token generato dal server */
+    private static final int BYTE_TOKEN = 32;
+
+    /** Centro da cui leggere le notifiche */
+    private final CentroNotifiche centro;
+
+    /** Server HTTP */
+    private final HttpServer server;
+
+    /** Thread che servono le richieste, anche quelle in attesa */
+    private final ExecutorService esecutore;
+
+    /** Thread che annulla le sottoscrizioni abbandonate */
+    private final ScheduledExecutorService pulizia;
+
+    /** Token che i client devono presentare */
+    private final String token;
+
+    /** Sottoscrizioni aperte da ogni client, per indirizzo remoto */
+    private final Map<String, Set<Sottoscrizione>> perCliente;
+
+    /**
+     * Costruttore della classe ServerOsservazione con un token casuale,
+     * da leggere con getToken(). Avvia il server.
+     *
+     * @param centro Il centro notifiche da esporre
+     * @param porta  La porta TCP (0 per una porta libera)
+     * @throws IOException se la porta non e' disponibile
+     */
+    public ServerOsservazione(CentroNotifiche centro, int porta) throws IOException {
+        this(centro, porta, generaToken());
+    }
+
+    /**
+     * Costruttore della classe ServerOsservazione. Avvia il server sull'interfaccia di loopback.
+     *
+     * @param centro Il centro notifiche da esporre
+     * @param porta  La porta TCP (0 per una porta libera)
+     * @param token  Il token che i client devono presentare
+     * @throws IOException se la porta non e' disponibile
+     * @throws IllegalArgumentException se il token e' vuoto
+     */
+    public ServerOsservazione(CentroNotifiche centro, int porta, String token) throws IOException {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Il token non puo' essere vuoto");
+        }
+        this.centro = centro;
+        this.token = token;
+        this.perCliente = new HashMap<>();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 0);
+        this.esecutore = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "hackhub-osservazione");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pulizia = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hackhub-osservazione-pulizia");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/flusso", protetto(this::flusso));
+        server.createContext("/sottoscrivi", protetto(this::sottoscrivi));
+        server.createContext("/attendi", protetto(this::attendi));
+        server.createContext("/annulla", protetto(this::annulla));
+        server.setExecutor(esecutore);
+        server.start();
+        pulizia.scheduleWithFixedDelay(() -> centro.annullaInattive(INATTIVITA_MASSIMA_MILLIS),
+            INATTIVITA_MASSIMA_MILLIS, INATTIVITA_MASSIMA_MILLIS / 4, TimeUnit.MILLISECONDS);
+    }
+
+    // ==================== GETTER ====================
+
+    public int getPorta() {
+        return server.getAddress().getPort();
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    @Override
+    public void close() {
+        pulizia.shutdownNow();
+        server.stop(0);
+        esecutore.shutdownNow();
+    }
+
+    private void flusso(HttpExchange scambio) throws IOException {
+        Sottoscrizione sottoscrizione;
+        try {
+            sottoscrizione = nuovaSottoscrizione(scambio);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rispondi(scambio, 400, errore(e.getMessage()));
+            return;
+        }
+        if (sottoscrizione == null) {
+            rispondi(scambio, 429, errore("Troppe sottoscrizioni aperte"));
+            return;
+        }
+        scambio.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        scambio.getResponseHeaders().set("Cache-Control", "no-cache");
+        scambio.sendResponseHeaders(200, 0);
+        try (OutputStream uscita = scambio.getResponseBody()) {
+            scrivi(uscita, "event: sottoscrizione\ndata: {\"sottoscrizione\":" + sottoscrizione.getId() + "}\n\n");
+            while (true) {
+                Lotto lotto = sottoscrizione.attendi(ATTESA_MASSIMA_MILLIS, NOTIFICHE_PER_LOTTO);
+                StringBuilder eventi = new StringBuilder();
+                if (lotto.isRisincronizza()) {
+                    eventi.append("event: risincronizza\ndata: {}\n\n");
+                }
+                for (Notifica notifica : lotto.getNotifiche()) {
+                    eventi.append("id: ").append(notifica.getSequenza())
+                        .append("\nevent: ").append(notifica.getTipo())
+                        .append("\ndata: ").append(notifica.toJson()).append("\n\n");
+                }
+                if (eventi.length() == 0) {
+                    eventi.append(": attesa\n\n");
+                }
+                scrivi(uscita, eventi.toString());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client disconnesso o sottoscrizione annullata
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            centro.annulla(sottoscrizione);
+        }
+    }
+
+    private void sottoscrivi(HttpExchange scambio) throws IOException {
+        try {
+            Sottoscrizione sottoscrizione = nuovaSottoscrizione(scambio);
+            if (sottoscrizione == null) {
+                rispondi(scambio, 429, errore("Troppe sottoscrizioni aperte"));
+                return;
+            }
+            rispondi(scambio, 200, "{\"sottoscrizione\":" + sottoscrizione.getId() + "}");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rispondi(scambio, 400, errore(e.getMessage()));
+        }
+    }
+
+    private void attendi(HttpExchange scambio) throws IOException {
+        try {
+            Map<String, String> parametri = parametri(scambio);
+            Sottoscrizione sottoscrizione = propria(scambio, numero(parametri, "sottoscrizione"));
+            if (sottoscrizione == null) {
+                rispondi(scambio, 404, errore("Sottoscrizione inesistente"));
+                return;
+            }
+            long attesa = parametri.containsKey("attesa")
+                ? Math.min(numero(parametri, "attesa"), ATTESA_MASSIMA_MILLIS) : ATTESA_MASSIMA_MILLIS;
+            rispondi(scambio, 200, sottoscrizione.attendi(Math.max(0, attesa), NOTIFICHE_PER_LOTTO).toJson());
+        } catch (IllegalArgumentException e) {
+            rispondi(scambio, 400, errore(e.getMessage()));
+        } catch (IllegalStateException e) {
+            rispondi(scambio, 404, errore(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rispondi(scambio, 503, errore("Server in chiusura"));
+        }
+    }
+
+    private void annulla(HttpExchange scambio) throws IOException {
+        try {
+            Sottoscrizione sottoscrizione = propria(scambio, numero(parametri(scambio), "sottoscrizione"));
+            if (sottoscrizione == null) {
+                rispondi(scambio, 404, errore("Sottoscrizione inesistente"));
+                return;
+            }
+            centro.annulla(sottoscrizione);
+            rispondi(scambio, 200, "{}");
+        } catch (IllegalArgumentException e) {
+            rispondi(scambio, 400, errore(e.getMessage()));
+        }
+    }
+
+    /**
+     * Apre una sottoscrizione per il client della richiesta.
+     *
+     * @return La sottoscrizione, o null se il client ha gia' troppe sottoscrizioni aperte
+     */
+    private Sottoscrizione nuovaSottoscrizione(HttpExchange scambio) {
+        Map<String, String> parametri = parametri(scambio);
+        TipoArgomento tipo = tipo(parametri);
+        long id = numero(parametri, "id");
+        String cliente = cliente(scambio);
+        synchronized (perCliente) {
+            Set<Sottoscrizione> aperte = perCliente.computeIfAbsent(cliente, chiave -> new HashSet<>());
+            // Le sottoscrizioni chiuse altrove (annullaInattive, fine del flusso) liberano il posto
+            aperte.removeIf(Sottoscrizione::isChiusa);
+            if (aperte.size() >= SOTTOSCRIZIONI_PER_CLIENTE) {
+                return null;
+            }
+            Sottoscrizione sottoscrizione = centro.sottoscrivi(tipo, id);
+            aperte.add(sottoscrizione);
+            return sottoscrizione;
+        }
+    }
+
+    /**
+     * Restituisce una sottoscrizione aperta dal client della richiesta.
+     *
+     * @return La sottoscrizione, o null se non esiste o appartiene a un altro client
+     */
+    private Sottoscrizione propria(HttpExchange scambio, long id) {
+        Sottoscrizione sottoscrizione = centro.getSottoscrizione(id);
+        if (sottoscrizione == null) {
+            return null;
+        }
+        synchronized (perCliente) {
+            Set<Sottoscrizione> aperte = perCliente.get(cliente(scambio));
+            return aperte != null && aperte.contains(sottoscrizione) ? sottoscrizione : null;
+        }
+    }
+
+    /**
+     * Avvolge un gestore in modo che risponda 401 alle richieste senza il token del server.
+     */
+    private HttpHandler protetto(HttpHandler gestore) {
+        byte[] atteso = token.getBytes(StandardCharsets.UTF_8);
+        return scambio -> {
+            String presentato = scambio.getRequestHeaders().getFirst("Authorization");
+            if (presentato != null && presentato.startsWith("Bearer ")) {
+                presentato = presentato.substring("Bearer ".length()).trim();
+            } else {
+                presentato = parametri(scambio).get("token");
+            }
+            if (presentato == null || !MessageDigest.isEqual(atteso, presentato.getBytes(StandardCharsets.UTF_8))) {
+                scambio.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                rispondi(scambio, 401, errore("Token mancante o non valido"));
+                return;
+            }
+            gestore.handle(scambio);
+        };
+    }
+
+    private static String cliente(HttpExchange scambio) {
+        return scambio.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    private static String generaToken() {
+        byte[] casuali = new byte[BYTE_TOKEN];
+        new SecureRandom().nextBytes(casuali);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(casuali);
+    }
+
+    private static Map<String, String> parametri(HttpExchange scambio) {
+        Map<String, String> parametri = new HashMap<>();
+        String query = scambio.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parametri;
+        }
+        for (String coppia : query.split("&")) {
+            int uguale = coppia.indexOf('=');
+            if (uguale > 0) {
+                parametri.put(URLDecoder.decode(coppia.substring(0, uguale), StandardCharsets.UTF_8),
+                    URLDecoder.decode(coppia.substring(uguale + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametri;
+    }
+
+    private static TipoArgomento tipo(Map<String, String> parametri) {
+        String tipo = parametri.get("tipo");
+        if (tipo == null) {
+            throw new IllegalArgumentException("Parametro tipo mancante");
+        }
+        return TipoArgomento.valueOf(tipo.toUpperCase());
+    }
+
+    private static long numero(Map<String, String> parametri, String nome) {
+        String valore = parametri.get(nome);
+        if (valore == null) {
+            throw new IllegalArgumentException("Parametro " + nome + " mancante");
+        }
+        return Long.parseLong(valore);
+    }
+
+    private static String errore(String messaggio) {
+        StringBuilder json = new StringBuilder("{\"errore\":");
+        Notifica.stringa(json, messaggio);
+        return json.append('}').toString();
+    }
+
+    private static void rispondi(HttpExchange scambio, int codice, String json) throws IOException {
+        byte[] corpo = json.getBytes(StandardCharsets.UTF_8);
+        scambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        scambio.sendResponseHeaders(codice, corpo.length);
+        try (OutputStream uscita = scambio.getResponseBody()) {
+            uscita.write(corpo);
+        }
+    }
+
+    private static void scrivi(OutputStream uscita, String testo) throws IOException {
+        uscita.write(testo.getBytes(StandardCharsets.UTF_8));
+        uscita.flush();
+    }
+}
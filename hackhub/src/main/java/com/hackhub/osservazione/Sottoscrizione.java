@@ -0,0 +1,185 @@
+package com.hackhub.osservazione;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe che rappresenta un osservatore registrato su un Argomento.
+ *
+ * Le notifiche vengono accodate in un buffer circolare di capacita' fissa: se
+ * l'osservatore non legge abbastanza in fretta le piu' vecchie vengono
+ * sovrascritte e la lettura successiva segnala la perdita con risincronizza,
+ * invece di far crescere la memoria o rallentare la consegna agli altri.
+ *
+ * Scrive solo il dispatcher del CentroNotifiche; il monitor della sottoscrizione
+ * e' conteso al piu' dal suo lettore, mai dai thread che modificano il modello.
+ */
+public class Sottoscrizione {
+
+    /** Contatore per generare ID univoci */
+    private static long contatoreId = 1;
+
+    /** Identificativo univoco */
+    private final long id;
+
+    /** Entita' osservata */
+    private final Argomento argomento;
+
+    /** Buffer circolare, di dimensione potenza di 2 */
+    private final Notifica[] anello;
+
+    /** Maschera per l'indice nel buffer */
+    private final int maschera;
+
+    /** Numero di notifiche scritte dall'inizio */
+    private long scritte;
+
+    /** Numero di notifiche lette (o scartate) dall'inizio */
+    private long lette;
+
+    /** true se dall'ultima lettura sono andate perse notifiche */
+    private boolean perdita;
+
+    /** Numero totale di notifiche perse */
+    private long perse;
+
+    /** Istante dell'ultima lettura, per la scadenza delle sottoscrizioni abbandonate */
+    private volatile long ultimoAccesso;
+
+    /** true dopo l'annullamento */
+    private volatile boolean chiusa;
+
+    /**
+     * Costruttore della classe Sottoscrizione.
+     *
+     * @param argomento L'entita' osservata
+     * @param capacita  Il numero minimo di notifiche trattenute (arrotondato a potenza di 2)
+     */
+    Sottoscrizione(Argomento argomento, int capacita) {
+        synchronized (Sottoscrizione.class) {
+            this.id = contatoreId++;
+        }
+        int dimensione = Integer.highestOneBit(Math.max(1, capacita - 1)) << 1;
+        this.argomento = argomento;
+        this.anello = new Notifica[dimensione];
+        this.maschera = dimensione - 1;
+        this.ultimoAccesso = System.currentTimeMillis();
+    }
+
+    // ==================== GETTER ====================
+
+    public long getId() {
+        return id;
+    }
+
+    public Argomento getArgomento() {
+        return argomento;
+    }
+
+    public int getCapacita() {
+        return anello.length;
+    }
+
+    public synchronized long getPerse() {
+        return perse;
+    }
+
+    public synchronized int getInAttesa() {
+        return (int) (scritte - lette);
+    }
+
+    public boolean isChiusa() {
+        return chiusa;
+    }
+
+    long getUltimoAccesso() {
+        return ultimoAccesso;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Accoda una notifica, sovrascrivendo la piu' vecchia se il buffer e' pieno.
+     *
+     * @param notifica La notifica da consegnare
+     */
+    synchronized void consegna(Notifica notifica) {
+        if (chiusa) {
+            return;
+        }
+        if (scritte - lette == anello.length) {
+            lette++;
+            perse++;
+            perdita = true;
+        }
+        anello[(int) (scritte & maschera)] = notifica;
+        scritte++;
+        notifyAll();
+    }
+
+    /**
+     * Segnala che l'osservatore ha perso notifiche a monte del buffer.
+     */
+    synchronized void segnalaPerdita() {
+        perdita = true;
+        notifyAll();
+    }
+
+    /**
+     * Legge le notifiche disponibili, attendendo fino al timeout se non ce ne sono.
+     *
+     * Precondizioni: timeoutMillis >= 0, massimo > 0
+     * Postcondizioni: le notifiche restituite sono rimosse dal buffer
+     *
+     * @param timeoutMillis Attesa massima in millisecondi (0 per non attendere)
+     * @param massimo       Numero massimo di notifiche da restituire
+     * @return Il lotto letto, eventualmente vuoto
+     * @throws IllegalArgumentException se i parametri non sono validi
+     * @throws IllegalStateException    se la sottoscrizione e' stata annullata
+     * @throws InterruptedException     se il thread viene interrotto durante l'attesa
+     */
+    public synchronized Lotto attendi(long timeoutMillis, int massimo) throws InterruptedException {
+        if (timeoutMillis < 0 || massimo <= 0) {
+            throw new IllegalArgumentException("Timeout e numero massimo di notifiche non validi");
+        }
+        ultimoAccesso = System.currentTimeMillis();
+        long scadenza = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (!chiusa && scritte == lette && !perdita) {
+            long resto = scadenza - System.nanoTime();
+            if (resto <= 0) {
+                break;
+            }
+            wait(Math.max(1, resto / 1_000_000L));
+        }
+        if (chiusa) {
+            throw new IllegalStateException("La sottoscrizione e' stata annullata");
+        }
+        int quante = (int) Math.min(massimo, scritte - lette);
+        List<Notifica> notifiche = new ArrayList<>(quante);
+        for (int i = 0; i < quante; i++) {
+            int posizione = (int) (lette & maschera);
+            notifiche.add(anello[posizione]);
+            anello[posizione] = null;
+            lette++;
+        }
+        boolean risincronizza = perdita;
+        perdita = false;
+        ultimoAccesso = System.currentTimeMillis();
+        return new Lotto(notifiche, risincronizza);
+    }
+
+    /**
+     * Annulla la sottoscrizione risvegliando l'eventuale lettore in attesa.
+     */
+    synchronized void chiudi() {
+        chiusa = true;
+        Arrays.fill(anello, null);
+        notifyAll();
+    }
+
+    @Override
+    public String toString() {
+        return "Sottoscrizione #" + id + " su " + argomento;
+    }
+}
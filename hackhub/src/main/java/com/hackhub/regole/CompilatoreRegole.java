@@ -0,0 +1,327 @@
+package com.hackhub.regole;
+
+import com.hackhub.enums.DipendenzaRegola;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compilatore di una riga della sezione [regole] in una Regola.
+ *
+ * Grammatica (parole chiave e nomi non distinguono maiuscole e minuscole,
+ * '#' inizia un commento fino a fine riga):
+ *
+ *   regola    := [nome ':'] espr
+ *   espr      := termine ('o' termine)*
+ *   termine   := fattore ('e' fattore)*
+ *   fattore   := 'non' fattore | '(' espr ')' | condizione | numerico confronto numerico
+ *   numerico  := primario (('+' | '-') primario)*
+ *   primario  := intero | variabile
+ *   confronto := '<' | '<=' | '>' | '>=' | '==' | '!='
+ *
+ * Condizioni: leader, membri_registrati, membro_unico, consegna_in_tempo.
+ * Variabili: membri, max_membri, sottomissioni, giorni_ritardo.
+ *
+ * Ogni nodo dell'espressione diventa una closure che richiama direttamente
+ * i figli gia' compilati: la valutazione non interpreta piu' il testo.
+ */
+final class CompilatoreRegole {
+
+    /** Condizioni disponibili con le relative dipendenze */
+    private static final Map<String, Condizione> CONDIZIONI = new HashMap<>();
+
+    /** Variabili numeriche disponibili con le relative dipendenze */
+    private static final Map<String, Variabile> VARIABILI = new HashMap<>();
+
+    static {
+        CONDIZIONI.put("leader", new Condizione(ContestoRegola::haLeader, DipendenzaRegola.TEAM));
+        CONDIZIONI.put("membri_registrati", new Condizione(ContestoRegola::membriRegistrati,
+            DipendenzaRegola.TEAM, DipendenzaRegola.REGISTRAZIONI));
+        CONDIZIONI.put("membro_unico", new Condizione(ContestoRegola::membroUnico,
+            DipendenzaRegola.TEAM, DipendenzaRegola.ALTRE_ISCRIZIONI));
+        CONDIZIONI.put("consegna_in_tempo", new Condizione(ContestoRegola::consegnaInTempo,
+            DipendenzaRegola.SOTTOMISSIONI, DipendenzaRegola.HACKATHON));
+        VARIABILI.put("membri", new Variabile(ContestoRegola::numeroMembri, DipendenzaRegola.TEAM));
+        VARIABILI.put("max_membri", new Variabile(ContestoRegola::maxMembri, DipendenzaRegola.HACKATHON));
+        VARIABILI.put("sottomissioni", new Variabile(ContestoRegola::numeroSottomissioni,
+            DipendenzaRegola.SOTTOMISSIONI));
+        VARIABILI.put("giorni_ritardo", new Variabile(ContestoRegola::giorniRitardo,
+            DipendenzaRegola.SOTTOMISSIONI, DipendenzaRegola.HACKATHON));
+    }
+
+    private final String riga;
+    private final int numeroRiga;
+    private final List<Simbolo> simboli;
+    private final EnumSet<DipendenzaRegola> dipendenze;
+    private int posizione;
+
+    private CompilatoreRegole(String riga, int numeroRiga) {
+        this.riga = riga;
+        this.numeroRiga = numeroRiga;
+        this.simboli = new ArrayList<>();
+        this.dipendenze = EnumSet.noneOf(DipendenzaRegola.class);
+    }
+
+    /**
+     * Compila una riga della sezione [regole].
+     *
+     * @param riga        Il testo della riga
+     * @param numeroRiga  Il numero della riga nel regolamento, per i messaggi di errore
+     * @param nomeVuoto   Il nome da dare alla regola se la riga non ne indica uno
+     * @return La regola compilata
+     * @throws RegolaNonValidaException se la riga non rispetta la grammatica
+     */
+    static Regola compila(String riga, int numeroRiga, String nomeVuoto) {
+        CompilatoreRegole compilatore = new CompilatoreRegole(riga, numeroRiga);
+        compilatore.leggiSimboli();
+        String nome = nomeVuoto;
+        if (compilatore.simboli.size() > 2 && compilatore.simboli.get(0).tipo == TipoSimbolo.NOME
+                && compilatore.simboli.get(1).testo.equals(":")) {
+            nome = compilatore.simboli.get(0).testo;
+            compilatore.posizione = 2;
+        }
+        int inizioTesto = compilatore.simboli.get(compilatore.posizione).colonna - 1;
+        Predicate<ContestoRegola> predicato = compilatore.espressione();
+        Simbolo fine = compilatore.corrente();
+        if (fine.tipo != TipoSimbolo.FINE) {
+            throw compilatore.errore("Simbolo inatteso '" + fine.testo + "'", fine);
+        }
+        String testo = riga.substring(inizioTesto, fine.colonna - 1).trim();
+        return new Regola(nome, testo, predicato, compilatore.dipendenze);
+    }
+
+    // ==================== ANALISI ====================
+
+    private Predicate<ContestoRegola> espressione() {
+        Predicate<ContestoRegola> predicato = termine();
+        while (accetta("o")) {
+            Predicate<ContestoRegola> sinistro = predicato;
+            Predicate<ContestoRegola> destro = termine();
+            predicato = contesto -> sinistro.test(contesto) || destro.test(contesto);
+        }
+        return predicato;
+    }
+
+    private Predicate<ContestoRegola> termine() {
+        Predicate<ContestoRegola> predicato = fattore();
+        while (accetta("e")) {
+            Predicate<ContestoRegola> sinistro = predicato;
+            Predicate<ContestoRegola> destro = fattore();
+            predicato = contesto -> sinistro.test(contesto) && destro.test(contesto);
+        }
+        return predicato;
+    }
+
+    private Predicate<ContestoRegola> fattore() {
+        if (accetta("non")) {
+            Predicate<ContestoRegola> negato = fattore();
+            return contesto -> !negato.test(contesto);
+        }
+        if (accetta("(")) {
+            Predicate<ContestoRegola> predicato = espressione();
+            atteso(")");
+            return predicato;
+        }
+        Simbolo simbolo = corrente();
+        Condizione condizione = simbolo.tipo == TipoSimbolo.NOME ? CONDIZIONI.get(simbolo.testo) : null;
+        if (condizione != null) {
+            posizione++;
+            dipendenze.addAll(condizione.dipendenze);
+            return condizione.predicato;
+        }
+        ToLongFunction<ContestoRegola> sinistro = numerico();
+        Simbolo operatore = corrente();
+        posizione++;
+        ToLongFunction<ContestoRegola> destro;
+        switch (operatore.testo) {
+            case "<":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) < destro.applyAsLong(contesto);
+            case "<=":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) <= destro.applyAsLong(contesto);
+            case ">":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) > destro.applyAsLong(contesto);
+            case ">=":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) >= destro.applyAsLong(contesto);
+            case "==":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) == destro.applyAsLong(contesto);
+            case "!=":
+                destro = numerico();
+                return contesto -> sinistro.applyAsLong(contesto) != destro.applyAsLong(contesto);
+            default:
+                throw errore("Atteso un confronto dopo un valore numerico", operatore);
+        }
+    }
+
+    private ToLongFunction<ContestoRegola> numerico() {
+        ToLongFunction<ContestoRegola> valore = primario();
+        while (true) {
+            ToLongFunction<ContestoRegola> sinistro = valore;
+            if (accetta("+")) {
+                ToLongFunction<ContestoRegola> destro = primario();
+                valore = contesto -> sinistro.applyAsLong(contesto) + destro.applyAsLong(contesto);
+            } else if (accetta("-")) {
+                ToLongFunction<ContestoRegola> destro = primario();
+                valore = contesto -> sinistro.applyAsLong(contesto) - destro.applyAsLong(contesto);
+            } else {
+                return valore;
+            }
+        }
+    }
+
+    private ToLongFunction<ContestoRegola> primario() {
+        Simbolo simbolo = corrente();
+        if (simbolo.tipo == TipoSimbolo.INTERO) {
+            posizione++;
+            long costante;
+            try {
+                costante = Long.parseLong(simbolo.testo);
+            } catch (NumberFormatException e) {
+                throw errore("Intero troppo grande '" + simbolo.testo + "'", simbolo);
+            }
+            return contesto -> costante;
+        }
+        if (simbolo.tipo == TipoSimbolo.NOME) {
+            Variabile variabile = VARIABILI.get(simbolo.testo);
+            if (variabile == null) {
+                throw errore("Nome sconosciuto '" + simbolo.testo + "'", simbolo);
+            }
+            posizione++;
+            dipendenze.addAll(variabile.dipendenze);
+            return variabile.valore;
+        }
+        throw errore(simbolo.tipo == TipoSimbolo.FINE ? "Regola incompleta" : "Simbolo inatteso '" + simbolo.testo + "'",
+            simbolo);
+    }
+
+    private boolean accetta(String testo) {
+        Simbolo simbolo = corrente();
+        if (simbolo.tipo != TipoSimbolo.FINE && simbolo.testo.equals(testo)) {
+            posizione++;
+            return true;
+        }
+        return false;
+    }
+
+    private void atteso(String testo) {
+        if (!accetta(testo)) {
+            throw errore("Atteso '" + testo + "'", corrente());
+        }
+    }
+
+    private Simbolo corrente() {
+        return simboli.get(posizione);
+    }
+
+    private RegolaNonValidaException errore(String messaggio, Simbolo simbolo) {
+        return new RegolaNonValidaException(messaggio, numeroRiga, simbolo.colonna);
+    }
+
+    // ==================== LETTURA DEI SIMBOLI ====================
+
+    private void leggiSimboli() {
+        int i = 0;
+        while (i < riga.length()) {
+            char c = riga.charAt(i);
+            if (c == '#') {
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int inizio = i;
+            if (isLettera(c)) {
+                while (i < riga.length() && (isLettera(riga.charAt(i)) || isCifra(riga.charAt(i)))) {
+                    i++;
+                }
+                simboli.add(new Simbolo(TipoSimbolo.NOME, riga.substring(inizio, i).toLowerCase(Locale.ROOT),
+                    inizio + 1));
+            } else if (isCifra(c)) {
+                while (i < riga.length() && isCifra(riga.charAt(i))) {
+                    i++;
+                }
+                simboli.add(new Simbolo(TipoSimbolo.INTERO, riga.substring(inizio, i), inizio + 1));
+            } else if ("<>=!".indexOf(c) >= 0) {
+                i++;
+                if (i < riga.length() && riga.charAt(i) == '=') {
+                    i++;
+                }
+                String operatore = riga.substring(inizio, i);
+                if (operatore.equals("=") || operatore.equals("!")) {
+                    throw new RegolaNonValidaException("Operatore non valido '" + operatore + "'", numeroRiga,
+                        inizio + 1);
+                }
+                simboli.add(new Simbolo(TipoSimbolo.OPERATORE, operatore, inizio + 1));
+            } else if ("()+-:".indexOf(c) >= 0) {
+                i++;
+                simboli.add(new Simbolo(TipoSimbolo.OPERATORE, String.valueOf(c), inizio + 1));
+            } else {
+                throw new RegolaNonValidaException("Carattere non valido '" + c + "'", numeroRiga, inizio + 1);
+            }
+        }
+        simboli.add(new Simbolo(TipoSimbolo.FINE, "", i + 1));
+    }
+
+    private static boolean isLettera(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isCifra(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private enum TipoSimbolo {
+        NOME, INTERO, OPERATORE, FINE
+    }
+
+    /**
+     * Simbolo della riga con la colonna (a partire da 1) in cui inizia.
+     */
+    private static final class Simbolo {
+        private final TipoSimbolo tipo;
+        private final String testo;
+        private final int colonna;
+
+        private Simbolo(TipoSimbolo tipo, String testo, int colonna) {
+            this.tipo = tipo;
+            this.testo = testo;
+            this.colonna = colonna;
+        }
+    }
+
+    /**
+     * Condizione predefinita del linguaggio.
+     */
+    private static final class Condizione {
+        private final Predicate<ContestoRegola> predicato;
+        private final EnumSet<DipendenzaRegola> dipendenze;
+
+        private Condizione(Predicate<ContestoRegola> predicato, DipendenzaRegola prima, DipendenzaRegola... altre) {
+            this.predicato = predicato;
+            this.dipendenze = EnumSet.of(prima, altre);
+        }
+    }
+
+    /**
+     * Variabile numerica predefinita del linguaggio.
+     */
+    private static final class Variabile {
+        private final ToLongFunction<ContestoRegola> valore;
+        private final EnumSet<DipendenzaRegola> dipendenze;
+
+        private Variabile(ToLongFunction<ContestoRegola> valore, DipendenzaRegola prima, DipendenzaRegola... altre) {
+            this.valore = valore;
+            this.dipendenze = EnumSet.of(prima, altre);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hackhub.regole;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Dati su cui si valutano le regole per una iscrizione.
+ *
+ * Le email dei membri e l'indice dei membri delle iscrizioni confermate
+ * all'hackathon sono quelli tenuti da MotoreRegole; il contesto li legge
+ * soltanto, quindi piu' contesti si valutano in parallelo.
+ */
+final class ContestoRegola {
+
+    private final Iscrizione iscrizione;
+
+    /** Email normalizzate dei membri del team, Leader compreso */
+    private final Set<String> membri;
+
+    /** Iscrizioni confermate all'hackathon per email dei membri */
+    private final Map<String, List<Iscrizione>> perMembro;
+
+    /** Verifica se un'email e' registrata sulla piattaforma */
+    private final Predicate<String> emailRegistrata;
+
+    ContestoRegola(Iscrizione iscrizione, Set<String> membri, Map<String, List<Iscrizione>> perMembro,
+                   Predicate<String> emailRegistrata) {
+        this.iscrizione = iscrizione;
+        this.membri = membri;
+        this.perMembro = perMembro;
+        this.emailRegistrata = emailRegistrata;
+    }
+
+    // ==================== VALORI ====================
+
+    Iscrizione getIscrizione() {
+        return iscrizione;
+    }
+
+    boolean haLeader() {
+        return iscrizione.getTeam().getLeader() != null;
+    }
+
+    long numeroMembri() {
+        return membri.size();
+    }
+
+    long maxMembri() {
+        return iscrizione.getHackathon().getMaxMembriTeam();
+    }
+
+    boolean membriRegistrati() {
+        for (String email : membri) {
+            if (!emailRegistrata.test(email)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica che nessun membro compaia nelle iscrizioni confermate di un altro team.
+     */
+    boolean membroUnico() {
+        Team team = iscrizione.getTeam();
+        for (String email : membri) {
+            for (Iscrizione altra : perMembro.getOrDefault(email, List.of())) {
+                if (altra.getTeam() != team) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    long numeroSottomissioni() {
+        Hackathon hackathon = iscrizione.getHackathon();
+        long numero = 0;
+        for (Sottomissione sottomissione : iscrizione.getTeam().getSottomissioni()) {
+            if (sottomissione.getHackathon() == hackathon) {
+                numero++;
+            }
+        }
+        return numero;
+    }
+
+    boolean consegnaInTempo() {
+        Hackathon hackathon = iscrizione.getHackathon();
+        for (Sottomissione sottomissione : iscrizione.getTeam().getSottomissioni()) {
+            if (sottomissione.getHackathon() == hackathon && !sottomissione.isInTempo()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Giorni di ritardo della consegna piu' tarda rispetto alla fine dell'hackathon (0 se in tempo).
+     */
+    long giorniRitardo() {
+        Hackathon hackathon = iscrizione.getHackathon();
+        LocalDate fine = hackathon.getDataFine();
+        long ritardo = 0;
+        if (fine == null) {
+            return ritardo;
+        }
+        for (Sottomissione sottomissione : iscrizione.getTeam().getSottomissioni()) {
+            if (sottomissione.getHackathon() == hackathon && sottomissione.getDataInvio() != null) {
+                ritardo = Math.max(ritardo, ChronoUnit.DAYS.between(fine, sottomissione.getDataInvio()));
+            }
+        }
+        return ritardo;
+    }
+}
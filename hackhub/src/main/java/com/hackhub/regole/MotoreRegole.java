@@ -0,0 +1,536 @@
+package com.hackhub.regole;
+
+import com.hackhub.enums.AzioneRegole;
+import com.hackhub.enums.DipendenzaRegola;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import com.hackhub.unicita.RegistroUnicita;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Classe che applica il regolamento compilato degli hackathon seguiti alle
+ * loro iscrizioni CONFERMATE e lo tiene verificato mentre il modello cambia.
+ *
+ * segui() compila la sezione [regole] del regolamento e valuta tutte le
+ * iscrizioni in parallelo sul pool fork-join. Poi gli eventi del modello
+ * fanno rivalutare solo le iscrizioni toccate, e solo se il regolamento
+ * dipende dal dato cambiato (DipendenzaRegola):
+ * - Team.addMembro/removeMembro/setLeader: le iscrizioni del team e quelle che
+ *   condividono un membro con lui
+ * - Team.aggiungiSottomissione, Sottomissione.setDataInvio: le iscrizioni del team
+ * - Hackathon.aggiungiIscrizione, Iscrizione.setStato/annulla: l'iscrizione e
+ *   quelle che condividono un membro con lei
+ * - Hackathon.setRegolamento: il regolamento viene ricompilato e rivalutato
+ *   (se il nuovo testo non e' valido resta in vigore il precedente)
+ * - Hackathon.setMaxMembriTeam/setDataFine: tutte le iscrizioni dell'hackathon
+ * - creazione di un utente o cambio di email: le iscrizioni con quell'email
+ *
+ * Con AzioneRegole.SEGNALA le violazioni vengono registrate e tolte quando
+ * la regola torna rispettata; con AzioneRegole.SQUALIFICA l'iscrizione passa
+ * anche a SQUALIFICATA. Le violazioni delle iscrizioni squalificate restano
+ * registrate; quelle delle iscrizioni annullate vengono tolte.
+ *
+ * La verifica delle email registrate (es. IndiceUnicita::isEmailRegistrata)
+ * deve essere gia' aggiornata quando arriva l'evento: il suo ascoltatore va
+ * registrato prima di chiamare attiva().
+ *
+ * Gli ascoltatori vengono chiamati nel thread che modifica il modello: i metodi
+ * sono sincronizzati e le squalifiche applicate da un evento rimandano le
+ * rivalutazioni che provocano a dopo il lotto corrente.
+ */
+public class MotoreRegole implements AscoltatoreEventi {
+
+    /** Sotto questo numero di iscrizioni la valutazione resta nel thread chiamante */
+    private static final int SOGLIA_PARALLELA = 256;
+
+    private final AzioneRegole azione;
+
+    /** Verifica se un'email normalizzata e' registrata sulla piattaforma */
+    private final Predicate<String> emailRegistrata;
+
+    /** Pool fork-join su cui valutare le iscrizioni */
+    private final ForkJoinPool pool;
+
+    /** Stato degli hackathon seguiti */
+    private final Map<Hackathon, Seguito> seguiti;
+
+    /** Iscrizioni da rivalutare per hackathon seguito */
+    private final Map<Seguito, Set<Iscrizione>> inSospeso;
+
+    /** true mentre si valutano le iscrizioni in sospeso */
+    private boolean applicando;
+
+    /** Numero di valutazioni di iscrizioni eseguite */
+    private long valutazioni;
+
+    /**
+     * Costruttore della classe MotoreRegole che usa il pool comune.
+     *
+     * @param azione          Cosa fare delle iscrizioni che violano il regolamento
+     * @param emailRegistrata Verifica se un'email e' registrata sulla piattaforma
+     */
+    public MotoreRegole(AzioneRegole azione, Predicate<String> emailRegistrata) {
+        this(azione, emailRegistrata, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe MotoreRegole.
+     *
+     * @param azione          Cosa fare delle iscrizioni che violano il regolamento
+     * @param emailRegistrata Verifica se un'email e' registrata sulla piattaforma
+     * @param pool            Il pool fork-join da usare
+     */
+    public MotoreRegole(AzioneRegole azione, Predicate<String> emailRegistrata, ForkJoinPool pool) {
+        this.azione = azione;
+        this.emailRegistrata = emailRegistrata;
+        this.pool = pool;
+        this.seguiti = new IdentityHashMap<>();
+        this.inSospeso = new LinkedHashMap<>();
+    }
+
+    // ==================== GETTER ====================
+
+    public AzioneRegole getAzione() {
+        return azione;
+    }
+
+    /**
+     * Restituisce il regolamento compilato di un hackathon seguito.
+     *
+     * @param hackathon L'hackathon
+     * @return Il regolamento, o null se l'hackathon non e' seguito
+     */
+    public synchronized Regolamento getRegolamento(Hackathon hackathon) {
+        Seguito seguito = seguiti.get(hackathon);
+        return seguito != null ? seguito.regolamento : null;
+    }
+
+    /**
+     * Restituisce le violazioni correnti di un hackathon seguito.
+     *
+     * @param hackathon L'hackathon
+     * @return Le violazioni (vuota se l'hackathon non e' seguito)
+     */
+    public synchronized List<Violazione> getViolazioni(Hackathon hackathon) {
+        Seguito seguito = seguiti.get(hackathon);
+        return seguito != null ? new ArrayList<>(seguito.violazioni.values()) : List.of();
+    }
+
+    /**
+     * Restituisce la violazione corrente di un'iscrizione.
+     *
+     * @param iscrizione L'iscrizione
+     * @return La violazione, o null se l'iscrizione rispetta il regolamento o l'hackathon non e' seguito
+     */
+    public synchronized Violazione getViolazione(Iscrizione iscrizione) {
+        Seguito seguito = seguiti.get(iscrizione.getHackathon());
+        return seguito != null ? seguito.violazioni.get(iscrizione) : null;
+    }
+
+    public synchronized long getValutazioni() {
+        return valutazioni;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Attiva l'aggiornamento delle violazioni con gli eventi del modello.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Disattiva l'aggiornamento delle violazioni.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Inizia a seguire un hackathon: compila il regolamento e valuta tutte le iscrizioni confermate.
+     *
+     * Postcondizioni: le violazioni dell'hackathon sono aggiornate e, con AzioneRegole.SQUALIFICA,
+     * le iscrizioni che violano il regolamento sono SQUALIFICATE
+     *
+     * @param hackathon L'hackathon da seguire
+     * @return Le violazioni trovate
+     * @throws RegolaNonValidaException se la sezione [regole] del regolamento non e' valida
+     */
+    public synchronized List<Violazione> segui(Hackathon hackathon) {
+        Regolamento regolamento = Regolamento.compila(hackathon.getRegolamento());
+        Seguito seguito = new Seguito(regolamento);
+        Seguito precedente = seguiti.put(hackathon, seguito);
+        if (precedente != null) {
+            inSospeso.remove(precedente);
+        }
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                indicizza(seguito, iscrizione);
+            }
+        }
+        rivaluta(seguito, seguito.membri.keySet());
+        return new ArrayList<>(seguito.violazioni.values());
+    }
+
+    /**
+     * Smette di seguire un hackathon e ne dimentica le violazioni.
+     *
+     * @param hackathon L'hackathon
+     */
+    public synchronized void smettiDiSeguire(Hackathon hackathon) {
+        Seguito seguito = seguiti.remove(hackathon);
+        if (seguito != null) {
+            inSospeso.remove(seguito);
+        }
+    }
+
+    /**
+     * Rivaluta tutte le iscrizioni confermate di un hackathon seguito.
+     *
+     * @param hackathon L'hackathon
+     * @return Le violazioni correnti
+     * @throws IllegalStateException se l'hackathon non e' seguito
+     */
+    public synchronized List<Violazione> rivaluta(Hackathon hackathon) {
+        Seguito seguito = seguiti.get(hackathon);
+        if (seguito == null) {
+            throw new IllegalStateException("L'hackathon non e' seguito dal motore delle regole");
+        }
+        rivaluta(seguito, seguito.membri.keySet());
+        return new ArrayList<>(seguito.violazioni.values());
+    }
+
+    /**
+     * Aggiorna indice e violazioni in base all'evento ricevuto.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public synchronized void gestisciEvento(EventoModello evento) {
+        Object sorgente = evento.getSorgente();
+        if (sorgente instanceof Iscrizione) {
+            if ("stato".equals(evento.getCampo())) {
+                cambiaStato((Iscrizione) sorgente);
+            }
+        } else if (sorgente instanceof Hackathon) {
+            gestisciHackathon((Hackathon) sorgente, evento);
+        } else if (sorgente instanceof Team) {
+            gestisciTeam((Team) sorgente, evento);
+        } else if (sorgente instanceof Sottomissione) {
+            if ("dataInvio".equals(evento.getCampo())) {
+                Sottomissione sottomissione = (Sottomissione) sorgente;
+                cambiaSottomissioni(sottomissione.getTeam(), sottomissione.getHackathon());
+            }
+        } else if (sorgente instanceof UtenteAstratto) {
+            gestisciUtente((UtenteAstratto) sorgente, evento);
+        }
+    }
+
+    private void cambiaStato(Iscrizione iscrizione) {
+        Seguito seguito = seguiti.get(iscrizione.getHackathon());
+        if (seguito == null) {
+            return;
+        }
+        boolean indicizzata = seguito.membri.containsKey(iscrizione);
+        if (iscrizione.getStato() == StatoIscrizione.CONFERMATA && !indicizzata) {
+            Set<Iscrizione> coinvolte = condivise(seguito, indicizza(seguito, iscrizione));
+            coinvolte.add(iscrizione);
+            rivaluta(seguito, coinvolte);
+        } else if (iscrizione.getStato() != StatoIscrizione.CONFERMATA && indicizzata) {
+            Set<Iscrizione> coinvolte = condivise(seguito, deindicizza(seguito, iscrizione));
+            if (iscrizione.getStato() == StatoIscrizione.ANNULLATA) {
+                seguito.violazioni.remove(iscrizione);
+            }
+            rivaluta(seguito, coinvolte);
+        }
+    }
+
+    private void gestisciHackathon(Hackathon hackathon, EventoModello evento) {
+        Seguito seguito = seguiti.get(hackathon);
+        if (seguito == null) {
+            return;
+        }
+        String campo = evento.getCampo();
+        if (evento.getTipo() == TipoEvento.AGGIUNTA && "iscrizioni".equals(campo)) {
+            cambiaStato((Iscrizione) evento.getValoreNuovo());
+        } else if ("regolamento".equals(campo)) {
+            seguito.regolamento = Regolamento.compila(hackathon.getRegolamento());
+            rivaluta(seguito, seguito.membri.keySet());
+        } else if (("maxMembriTeam".equals(campo) || "dataFine".equals(campo))
+                && seguito.regolamento.dipendeDa(DipendenzaRegola.HACKATHON)) {
+            rivaluta(seguito, seguito.membri.keySet());
+        }
+    }
+
+    private void gestisciTeam(Team team, EventoModello evento) {
+        String campo = evento.getCampo();
+        if ("membri".equals(campo) || "leader".equals(campo)) {
+            cambiaMembri(team);
+        } else if (evento.getTipo() == TipoEvento.AGGIUNTA && "sottomissioni".equals(campo)) {
+            cambiaSottomissioni(team, ((Sottomissione) evento.getValoreNuovo()).getHackathon());
+        }
+    }
+
+    private void gestisciUtente(UtenteAstratto utente, EventoModello evento) {
+        boolean creazione = evento.getTipo() == TipoEvento.CREAZIONE;
+        if (!creazione && !"email".equals(evento.getCampo())) {
+            return;
+        }
+        if (!creazione && utente instanceof MembroTeam && ((MembroTeam) utente).getTeam() != null) {
+            cambiaMembri(((MembroTeam) utente).getTeam());
+        }
+        List<String> indirizzi = new ArrayList<>(2);
+        if (utente.getEmail() != null) {
+            indirizzi.add(RegistroUnicita.normalizza(utente.getEmail()));
+        }
+        if (evento.getValorePrecedente() != null) {
+            indirizzi.add(RegistroUnicita.normalizza((String) evento.getValorePrecedente()));
+        }
+        for (Seguito seguito : seguiti.values()) {
+            if (!seguito.regolamento.dipendeDa(DipendenzaRegola.REGISTRAZIONI)) {
+                continue;
+            }
+            Set<Iscrizione> coinvolte = nuovoInsieme();
+            for (String indirizzo : indirizzi) {
+                coinvolte.addAll(seguito.perMembro.getOrDefault(indirizzo, List.of()));
+            }
+            rivaluta(seguito, coinvolte);
+        }
+    }
+
+    private void cambiaMembri(Team team) {
+        for (Seguito seguito : seguiti.values()) {
+            if (!seguito.perTeam.containsKey(team)) {
+                continue;
+            }
+            List<Iscrizione> delTeam = new ArrayList<>(seguito.perTeam.get(team));
+            Set<Iscrizione> coinvolte = nuovoInsieme();
+            for (Iscrizione iscrizione : delTeam) {
+                coinvolte.addAll(deindicizza(seguito, iscrizione));
+                coinvolte.addAll(indicizza(seguito, iscrizione));
+            }
+            coinvolte = condivise(seguito, coinvolte);
+            if (seguito.regolamento.dipendeDa(DipendenzaRegola.TEAM)) {
+                coinvolte.addAll(delTeam);
+            }
+            rivaluta(seguito, coinvolte);
+        }
+    }
+
+    private void cambiaSottomissioni(Team team, Hackathon hackathon) {
+        Seguito seguito = seguiti.get(hackathon);
+        if (seguito == null || team == null || !seguito.regolamento.dipendeDa(DipendenzaRegola.SOTTOMISSIONI)) {
+            return;
+        }
+        rivaluta(seguito, seguito.perTeam.getOrDefault(team, List.of()));
+    }
+
+    /**
+     * Restituisce le iscrizioni che condividono un membro, da rivalutare solo se
+     * il regolamento dipende dalle altre iscrizioni. Vanno rivalutate nello stesso
+     * lotto dell'iscrizione cambiata: con AzioneRegole.SQUALIFICA la prima squalifica
+     * toglierebbe dall'indice il membro condiviso prima di valutare le altre.
+     */
+    private static Set<Iscrizione> condivise(Seguito seguito, Set<Iscrizione> coinvolte) {
+        if (!seguito.regolamento.dipendeDa(DipendenzaRegola.ALTRE_ISCRIZIONI)) {
+            coinvolte.clear();
+        }
+        return coinvolte;
+    }
+
+    private static Set<Iscrizione> nuovoInsieme() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    // ==================== VALUTAZIONE ====================
+
+    /**
+     * Mette in sospeso le iscrizioni indicate e, se non si sta gia' applicando
+     * un lotto, valuta e applica i lotti finche' non ne restano.
+     */
+    private void rivaluta(Seguito seguito, Collection<Iscrizione> iscrizioni) {
+        if (iscrizioni.isEmpty()) {
+            return;
+        }
+        inSospeso.computeIfAbsent(seguito, s -> nuovoInsieme())
+            .addAll(iscrizioni);
+        if (applicando) {
+            return;
+        }
+        applicando = true;
+        try {
+            while (!inSospeso.isEmpty()) {
+                Iterator<Map.Entry<Seguito, Set<Iscrizione>>> prossimo = inSospeso.entrySet().iterator();
+                Map.Entry<Seguito, Set<Iscrizione>> lotto = prossimo.next();
+                prossimo.remove();
+                List<Iscrizione> daValutare = new ArrayList<>(lotto.getValue().size());
+                for (Iscrizione iscrizione : lotto.getValue()) {
+                    if (lotto.getKey().membri.containsKey(iscrizione)) {
+                        daValutare.add(iscrizione);
+                    }
+                }
+                applica(lotto.getKey(), daValutare, valuta(lotto.getKey(), daValutare));
+            }
+        } finally {
+            applicando = false;
+        }
+    }
+
+    /**
+     * Valuta le iscrizioni, in parallelo se sono abbastanza.
+     *
+     * @return Per ogni iscrizione la violazione, o null se rispetta il regolamento
+     */
+    private Violazione[] valuta(Seguito seguito, List<Iscrizione> iscrizioni) {
+        Violazione[] esiti = new Violazione[iscrizioni.size()];
+        IntConsumer valutaUna = i -> {
+            Iscrizione iscrizione = iscrizioni.get(i);
+            List<Regola> violate = seguito.regolamento.violate(new ContestoRegola(iscrizione,
+                seguito.membri.get(iscrizione), seguito.perMembro, emailRegistrata));
+            esiti[i] = violate.isEmpty() ? null : new Violazione(iscrizione, violate);
+        };
+        if (esiti.length < SOGLIA_PARALLELA) {
+            IntStream.range(0, esiti.length).forEach(valutaUna);
+        } else {
+            pool.submit(() -> IntStream.range(0, esiti.length).parallel().forEach(valutaUna)).join();
+        }
+        valutazioni += esiti.length;
+        return esiti;
+    }
+
+    private void applica(Seguito seguito, List<Iscrizione> iscrizioni, Violazione[] esiti) {
+        List<Iscrizione> daSqualificare = new ArrayList<>();
+        for (int i = 0; i < esiti.length; i++) {
+            Iscrizione iscrizione = iscrizioni.get(i);
+            if (esiti[i] == null) {
+                seguito.violazioni.remove(iscrizione);
+                continue;
+            }
+            seguito.violazioni.put(iscrizione, esiti[i]);
+            if (azione == AzioneRegole.SQUALIFICA) {
+                daSqualificare.add(iscrizione);
+            }
+        }
+        // Ogni squalifica pubblica un evento che toglie l'iscrizione dall'indice
+        // e mette in sospeso quelle che condividevano i suoi membri
+        for (Iscrizione iscrizione : daSqualificare) {
+            iscrizione.setStato(StatoIscrizione.SQUALIFICATA);
+        }
+    }
+
+    // ==================== INDICE DEI MEMBRI ====================
+
+    /**
+     * Aggiunge un'iscrizione all'indice dei membri.
+     *
+     * @return Le altre iscrizioni che condividono un membro con lei
+     */
+    private Set<Iscrizione> indicizza(Seguito seguito, Iscrizione iscrizione) {
+        Set<String> membri = emailMembri(iscrizione.getTeam());
+        Set<Iscrizione> condivise = nuovoInsieme();
+        for (String email : membri) {
+            List<Iscrizione> conEmail = seguito.perMembro.computeIfAbsent(email, e -> new ArrayList<>(1));
+            condivise.addAll(conEmail);
+            conEmail.add(iscrizione);
+        }
+        seguito.membri.put(iscrizione, membri);
+        seguito.perTeam.computeIfAbsent(iscrizione.getTeam(), t -> new ArrayList<>(1)).add(iscrizione);
+        return condivise;
+    }
+
+    /**
+     * Toglie un'iscrizione dall'indice dei membri.
+     *
+     * @return Le altre iscrizioni che condividevano un membro con lei
+     */
+    private Set<Iscrizione> deindicizza(Seguito seguito, Iscrizione iscrizione) {
+        Set<Iscrizione> condivise = nuovoInsieme();
+        Set<String> membri = seguito.membri.remove(iscrizione);
+        if (membri == null) {
+            return condivise;
+        }
+        for (String email : membri) {
+            List<Iscrizione> conEmail = seguito.perMembro.get(email);
+            conEmail.remove(iscrizione);
+            if (conEmail.isEmpty()) {
+                seguito.perMembro.remove(email);
+            } else {
+                condivise.addAll(conEmail);
+            }
+        }
+        List<Iscrizione> delTeam = seguito.perTeam.get(iscrizione.getTeam());
+        delTeam.remove(iscrizione);
+        if (delTeam.isEmpty()) {
+            seguito.perTeam.remove(iscrizione.getTeam());
+        }
+        return condivise;
+    }
+
+    /**
+     * Email normalizzate dei membri di un team, Leader compreso; un membro senza email
+     * viene identificato dall'id e non risulta registrato.
+     */
+    private static Set<String> emailMembri(Team team) {
+        Set<String> email = new HashSet<>();
+        for (MembroTeam membro : team.getMembri()) {
+            email.add(chiave(membro));
+        }
+        Leader leader = team.getLeader();
+        if (leader != null) {
+            email.add(chiave(leader));
+        }
+        return email;
+    }
+
+    private static String chiave(MembroTeam membro) {
+        return membro.getEmail() == null ? "#" + membro.getId() : RegistroUnicita.normalizza(membro.getEmail());
+    }
+
+    /**
+     * Stato di un hackathon seguito.
+     */
+    private static final class Seguito {
+        private Regolamento regolamento;
+
+        /** Iscrizioni confermate per email normalizzata dei membri */
+        private final Map<String, List<Iscrizione>> perMembro = new HashMap<>();
+
+        /** Email dei membri per iscrizione confermata, come indicizzate */
+        private final Map<Iscrizione, Set<String>> membri = new IdentityHashMap<>();
+
+        /** Iscrizioni confermate per team */
+        private final Map<Team, List<Iscrizione>> perTeam = new IdentityHashMap<>();
+
+        /** Violazioni correnti per iscrizione */
+        private final Map<Iscrizione, Violazione> violazioni = new IdentityHashMap<>();
+
+        private Seguito(Regolamento regolamento) {
+            this.regolamento = regolamento;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hackhub.regole;
+
+import com.hackhub.enums.DipendenzaRegola;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Regola compilata del regolamento di un hackathon.
+ *
+ * Il testo della regola viene tradotto una volta sola in un predicato
+ * composto da closure; la regola conosce i dati da cui dipende, cosi'
+ * MotoreRegole la rivaluta solo quando questi cambiano.
+ */
+public final class Regola {
+
+    private final String nome;
+    private final String testo;
+
+    /** Predicato vero se l'iscrizione rispetta la regola */
+    private final Predicate<ContestoRegola> predicato;
+
+    private final Set<DipendenzaRegola> dipendenze;
+
+    Regola(String nome, String testo, Predicate<ContestoRegola> predicato, EnumSet<DipendenzaRegola> dipendenze) {
+        this.nome = nome;
+        this.testo = testo;
+        this.predicato = predicato;
+        this.dipendenze = Collections.unmodifiableSet(dipendenze);
+    }
+
+    // ==================== GETTER ====================
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getTesto() {
+        return testo;
+    }
+
+    public Set<DipendenzaRegola> getDipendenze() {
+        return dipendenze;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    boolean rispettataDa(ContestoRegola contesto) {
+        return predicato.test(contesto);
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della regola.
+     *
+     * @return Stringa con nome e testo
+     */
+    @Override
+    public String toString() {
+        return nome + ": " + testo;
+    }
+}
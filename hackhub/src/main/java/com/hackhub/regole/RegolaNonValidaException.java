@@ -0,0 +1,39 @@
+package com.hackhub.regole;
+
+/**
+ * Eccezione lanciata quando la sezione [regole] del regolamento di un hackathon
+ * non rispetta la sintassi delle regole.
+ */
+public class RegolaNonValidaException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Riga dell'errore nel regolamento, a partire da 1 */
+    private final int riga;
+
+    /** Colonna dell'errore nella riga, a partire da 1 */
+    private final int colonna;
+
+    /**
+     * Costruttore della classe RegolaNonValidaException.
+     *
+     * @param messaggio Descrizione dell'errore
+     * @param riga      Riga dell'errore nel regolamento
+     * @param colonna   Colonna dell'errore nella riga
+     */
+    public RegolaNonValidaException(String messaggio, int riga, int colonna) {
+        super(messaggio + " (riga " + riga + ", colonna " + colonna + ")");
+        this.riga = riga;
+        this.colonna = colonna;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getRiga() {
+        return riga;
+    }
+
+    public int getColonna() {
+        return colonna;
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackhub.regole;
+
+import com.hackhub.enums.DipendenzaRegola;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Regole compilate dal regolamento di un hackathon.
+ *
+ * Il regolamento resta testo libero: le regole verificabili si scrivono in una
+ * sezione che inizia con la riga [regole] e finisce alla prossima riga tra
+ * parentesi quadre. Ogni riga non vuota della sezione e' una regola,
+ * eventualmente preceduta da un nome:
+ *
+ *   [regole]
+ *   dimensione: membri <= max_membri
+ *   registrati: membri_registrati e leader
+ *   unicita: membro_unico
+ *   consegna: consegna_in_tempo o giorni_ritardo <= 1   # un giorno di tolleranza
+ *
+ * La grammatica e le condizioni disponibili sono descritte in CompilatoreRegole.
+ * Un regolamento senza sezione [regole] non contiene regole.
+ */
+public final class Regolamento {
+
+    /** Riga che apre la sezione delle regole */
+    public static final String SEZIONE = "[regole]";
+
+    private final List<Regola> regole;
+
+    /** Unione delle dipendenze delle regole */
+    private final Set<DipendenzaRegola> dipendenze;
+
+    private Regolamento(List<Regola> regole) {
+        this.regole = Collections.unmodifiableList(regole);
+        EnumSet<DipendenzaRegola> unione = EnumSet.noneOf(DipendenzaRegola.class);
+        for (Regola regola : regole) {
+            unione.addAll(regola.getDipendenze());
+        }
+        this.dipendenze = Collections.unmodifiableSet(unione);
+    }
+
+    /**
+     * Compila la sezione [regole] del testo di un regolamento.
+     *
+     * @param testo Il testo del regolamento (null equivale a un regolamento senza regole)
+     * @return Il regolamento compilato
+     * @throws RegolaNonValidaException se una regola non e' valida o due regole hanno lo stesso nome
+     */
+    public static Regolamento compila(String testo) {
+        List<Regola> regole = new ArrayList<>();
+        if (testo == null) {
+            return new Regolamento(regole);
+        }
+        String[] righe = testo.split("\\R", -1);
+        Set<String> nomi = new HashSet<>();
+        boolean inSezione = false;
+        for (int i = 0; i < righe.length; i++) {
+            String riga = righe[i];
+            int commento = riga.indexOf('#');
+            String pulita = (commento >= 0 ? riga.substring(0, commento) : riga).trim();
+            if (pulita.startsWith("[") && pulita.endsWith("]")) {
+                inSezione = pulita.equalsIgnoreCase(SEZIONE);
+                continue;
+            }
+            if (!inSezione || pulita.isEmpty()) {
+                continue;
+            }
+            Regola regola = CompilatoreRegole.compila(riga, i + 1, "regola" + (regole.size() + 1));
+            if (!nomi.add(regola.getNome())) {
+                throw new RegolaNonValidaException("Regola duplicata '" + regola.getNome() + "'", i + 1,
+                    riga.indexOf(pulita.charAt(0)) + 1);
+            }
+            regole.add(regola);
+        }
+        return new Regolamento(regole);
+    }
+
+    // ==================== GETTER ====================
+
+    public List<Regola> getRegole() {
+        return regole;
+    }
+
+    public Set<DipendenzaRegola> getDipendenze() {
+        return dipendenze;
+    }
+
+    public boolean isVuoto() {
+        return regole.isEmpty();
+    }
+
+    /**
+     * Verifica se almeno una regola dipende dal dato indicato.
+     *
+     * @param dipendenza Il dato
+     * @return true se una modifica del dato puo' cambiare l'esito di una regola
+     */
+    public boolean dipendeDa(DipendenzaRegola dipendenza) {
+        return dipendenze.contains(dipendenza);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Valuta tutte le regole su un contesto.
+     *
+     * @param contesto Il contesto dell'iscrizione
+     * @return Le regole violate, nell'ordine del regolamento (vuota se sono tutte rispettate)
+     */
+    List<Regola> violate(ContestoRegola contesto) {
+        List<Regola> violate = null;
+        for (Regola regola : regole) {
+            if (!regola.rispettataDa(contesto)) {
+                if (violate == null) {
+                    violate = new ArrayList<>(2);
+                }
+                violate.add(regola);
+            }
+        }
+        return violate == null ? List.of() : violate;
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale del regolamento.
+     *
+     * @return Stringa con le regole, una per riga
+     */
+    @Override
+    public String toString() {
+        StringBuilder testo = new StringBuilder(SEZIONE);
+        for (Regola regola : regole) {
+            testo.append(System.lineSeparator()).append(regola);
+        }
+        return testo.toString();
+    }
+}
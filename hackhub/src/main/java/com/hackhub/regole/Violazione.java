@@ -0,0 +1,52 @@
+package com.hackhub.regole;
+
+import com.hackhub.model.Iscrizione;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regole del regolamento violate da una iscrizione.
+ */
+public final class Violazione {
+
+    private final Iscrizione iscrizione;
+    private final List<Regola> regole;
+
+    Violazione(Iscrizione iscrizione, List<Regola> regole) {
+        this.iscrizione = iscrizione;
+        this.regole = List.copyOf(regole);
+    }
+
+    // ==================== GETTER ====================
+
+    public Iscrizione getIscrizione() {
+        return iscrizione;
+    }
+
+    public List<Regola> getRegole() {
+        return regole;
+    }
+
+    /**
+     * Restituisce i nomi delle regole violate.
+     *
+     * @return I nomi, nell'ordine del regolamento
+     */
+    public List<String> getNomiRegole() {
+        List<String> nomi = new ArrayList<>(regole.size());
+        for (Regola regola : regole) {
+            nomi.add(regola.getNome());
+        }
+        return nomi;
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della violazione.
+     *
+     * @return Stringa con team e regole violate
+     */
+    @Override
+    public String toString() {
+        return "Violazione: " + iscrizione.getTeam().getNome() + " " + getNomiRegole();
+    }
+}
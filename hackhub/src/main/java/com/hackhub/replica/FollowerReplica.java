@@ -0,0 +1,237 @@
+package com.hackhub.replica;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Classe che riceve il registro delle mutazioni dal primario e lo applica
+ * a una copia locale del modello, su cui servire le letture.
+ *
+ * Garanzie offerte:
+ * - Obsolescenza limitata: leggi() rifiuta la lettura se l'ultimo allineamento
+ *   con il primario e' piu' vecchio del limite richiesto
+ * - Lettura delle proprie scritture: leggiDopo() attende che il follower
+ *   abbia applicato il registro fino al token di posizione indicato
+ *
+ * Se la connessione cade, il follower si riconnette automaticamente
+ * riprendendo dall'ultima posizione applicata.
+ */
+public class FollowerReplica implements Closeable {
+
+    /** Attesa tra due tentativi di connessione */
+    private static final long ATTESA_RICONNESSIONE_MILLIS = 500;
+
+    /** Host del primario */
+    private final String host;
+
+    /** Porta del primario */
+    private final int porta;
+
+    /** Copia locale del modello */
+    private final ModelloReplicato modello;
+
+    /** Ultima posizione del registro applicata localmente */
+    private volatile long posizioneApplicata;
+
+    /** Ultima posizione del primario comunicata dall'heartbeat */
+    private volatile long posizionePrimario;
+
+    /** Istante (orologio del primario, sulla stessa macchina) dell'ultimo allineamento completo */
+    private volatile long istanteAllineamento;
+
+    /** Socket corrente verso il primario */
+    private volatile Socket socket;
+
+    /** Indica se il follower e' in esecuzione */
+    private volatile boolean attivo;
+
+    /**
+     * Costruttore della classe FollowerReplica.
+     *
+     * @param host  L'host del primario
+     * @param porta La porta del primario
+     */
+    public FollowerReplica(String host, int porta) {
+        this.host = host;
+        this.porta = porta;
+        this.modello = new ModelloReplicato();
+    }
+
+    // ==================== GETTER ====================
+
+    public long getPosizioneApplicata() {
+        return posizioneApplicata;
+    }
+
+    /**
+     * Restituisce di quante posizioni del registro il follower e' indietro,
+     * secondo l'ultimo heartbeat ricevuto.
+     *
+     * @return Il ritardo in posizioni del registro
+     */
+    public long getRitardo() {
+        return Math.max(0, posizionePrimario - posizioneApplicata);
+    }
+
+    /**
+     * Restituisce da quanto tempo il follower non e' allineato con il primario.
+     *
+     * @return L'obsolescenza dei dati locali
+     */
+    public Duration getObsolescenza() {
+        if (istanteAllineamento == 0) {
+            return Duration.ofMillis(Long.MAX_VALUE);
+        }
+        return Duration.ofMillis(System.currentTimeMillis() - istanteAllineamento);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Avvia la ricezione del registro in un thread dedicato.
+     */
+    public void avvia() {
+        attivo = true;
+        Thread ricezione = new Thread(this::ricevi, "replica-follower-" + host + ":" + porta);
+        ricezione.setDaemon(true);
+        ricezione.start();
+    }
+
+    /**
+     * Esegue una lettura sulla copia locale con obsolescenza limitata.
+     *
+     * @param lettura          La funzione di lettura
+     * @param maxObsolescenza  L'obsolescenza massima accettata
+     * @param <T>              Il tipo del risultato
+     * @return Il risultato della lettura
+     * @throws IllegalStateException se i dati locali sono troppo vecchi
+     */
+    public <T> T leggi(Function<ModelloReplicato, T> lettura, Duration maxObsolescenza) {
+        if (getObsolescenza().compareTo(maxObsolescenza) > 0) {
+            throw new IllegalStateException("La replica non e' aggiornata entro " + maxObsolescenza);
+        }
+        return modello.leggi(lettura);
+    }
+
+    /**
+     * Esegue una lettura dopo aver applicato il registro fino al token indicato.
+     *
+     * @param token   La posizione del primario restituita dopo la scrittura
+     * @param timeout Il tempo massimo di attesa
+     * @param lettura La funzione di lettura
+     * @param <T>     Il tipo del risultato
+     * @return Il risultato della lettura
+     * @throws IllegalStateException se la posizione non viene raggiunta in tempo
+     */
+    public <T> T leggiDopo(long token, Duration timeout, Function<ModelloReplicato, T> lettura) {
+        if (!attendiPosizione(token, timeout)) {
+            throw new IllegalStateException("La replica non ha raggiunto la posizione " + token);
+        }
+        return modello.leggi(lettura);
+    }
+
+    /**
+     * Attende che il follower abbia applicato il registro fino alla posizione indicata.
+     *
+     * @param token   La posizione da raggiungere
+     * @param timeout Il tempo massimo di attesa
+     * @return true se la posizione e' stata raggiunta, false se il tempo e' scaduto
+     */
+    public synchronized boolean attendiPosizione(long token, Duration timeout) {
+        long scadenza = System.currentTimeMillis() + timeout.toMillis();
+        try {
+            while (posizioneApplicata < token) {
+                long rimanente = scadenza - System.currentTimeMillis();
+                if (rimanente <= 0) {
+                    return false;
+                }
+                wait(rimanente);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void ricevi() {
+        while (attivo) {
+            try (Socket s = new Socket(host, porta)) {
+                socket = s;
+                s.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                out.writeLong(posizioneApplicata);
+                out.flush();
+
+                List<RecordMutazione> blocco = new ArrayList<>();
+                while (attivo) {
+                    byte frame = in.readByte();
+                    if (frame == PrimarioReplica.FRAME_RECORD) {
+                        blocco.add(RecordMutazione.leggi(in));
+                    } else if (frame == PrimarioReplica.FRAME_HEARTBEAT) {
+                        long primario = in.readLong();
+                        long istante = in.readLong();
+                        applicaBlocco(blocco, primario, istante);
+                        blocco.clear();
+                    } else {
+                        throw new IOException("Frame sconosciuto: " + frame);
+                    }
+                }
+            } catch (IOException e) {
+                if (attivo) {
+                    attendiRiconnessione();
+                }
+            }
+        }
+    }
+
+    private void applicaBlocco(List<RecordMutazione> blocco, long primario, long istante) {
+        if (!blocco.isEmpty()) {
+            modello.applica(blocco);
+        }
+        synchronized (this) {
+            if (!blocco.isEmpty()) {
+                posizioneApplicata = blocco.get(blocco.size() - 1).getPosizione();
+            }
+            posizionePrimario = primario;
+            // Il blocco arriva fino alla posizione che il primario aveva quando lo ha estratto
+            if (posizioneApplicata >= primario) {
+                istanteAllineamento = Math.max(istanteAllineamento, istante);
+            }
+            notifyAll();
+        }
+    }
+
+    private void attendiRiconnessione() {
+        try {
+            Thread.sleep(ATTESA_RICONNESSIONE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            attivo = false;
+        }
+    }
+
+    /**
+     * Ferma il follower e chiude la connessione con il primario.
+     *
+     * @throws IOException se la chiusura del socket fallisce
+     */
+    @Override
+    public void close() throws IOException {
+        attivo = false;
+        Socket corrente = socket;
+        if (corrente != null) {
+            corrente.close();
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.hackhub.replica;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Leader;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.model.UtenteAstratto;
+import com.hackhub.replica.RecordMutazione.Riferimento;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Classe che contiene la copia locale del grafo del modello su un follower.
+ *
+ * Le entita' vengono ricostruite con i normali costruttori e setter del
+ * package model, mantenendo gli stessi id del primario; i membri dello staff
+ * diventano istanze di una sottoclasse locale di MembroStaff. L'applicazione dei
+ * record avviene sotto write lock e senza pubblicare eventi; le letture
+ * vanno eseguite tramite leggi() che acquisisce il read lock.
+ */
+public class ModelloReplicato {
+
+    private final Map<Long, Hackathon> hackathons = new HashMap<>();
+    private final Map<Long, Team> teams = new HashMap<>();
+    private final Map<Long, Invito> inviti = new HashMap<>();
+    private final Map<Long, Iscrizione> iscrizioni = new HashMap<>();
+    private final Map<Long, Sottomissione> sottomissioni = new HashMap<>();
+    private final Map<Long, UtenteAstratto> utenti = new HashMap<>();
+
+    /** Lock che separa l'applicazione dei record dalle letture */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ==================== LETTURA ====================
+
+    /**
+     * Esegue una lettura consistente sulla copia locale.
+     *
+     * @param lettura La funzione di lettura
+     * @param <T>     Il tipo del risultato
+     * @return Il risultato della lettura
+     */
+    public <T> T leggi(Function<ModelloReplicato, T> lettura) {
+        lock.readLock().lock();
+        try {
+            return lettura.apply(this);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hackathon getHackathon(Long id) {
+        return hackathons.get(id);
+    }
+
+    public Collection<Hackathon> getHackathons() {
+        return Collections.unmodifiableCollection(hackathons.values());
+    }
+
+    public Team getTeam(Long id) {
+        return teams.get(id);
+    }
+
+    public Collection<Team> getTeams() {
+        return Collections.unmodifiableCollection(teams.values());
+    }
+
+    public Invito getInvito(Long id) {
+        return inviti.get(id);
+    }
+
+    public Iscrizione getIscrizione(Long id) {
+        return iscrizioni.get(id);
+    }
+
+    public Sottomissione getSottomissione(Long id) {
+        return sottomissioni.get(id);
+    }
+
+    public UtenteAstratto getUtente(Long id) {
+        return utenti.get(id);
+    }
+
+    // ==================== APPLICAZIONE ====================
+
+    /**
+     * Applica in ordine un blocco di record ricevuti dal primario.
+     *
+     * @param blocco I record da applicare
+     */
+    void applica(List<RecordMutazione> blocco) {
+        lock.writeLock().lock();
+        try {
+            GestoreEventi.eseguiSenzaEventi(() -> {
+                for (RecordMutazione record : blocco) {
+                    applica(record);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applica(RecordMutazione record) {
+        switch (record.getTipo()) {
+            case CREAZIONE:
+                crea(record);
+                break;
+            case MODIFICA:
+                modifica(record);
+                break;
+            case AGGIUNTA:
+            case RIMOZIONE:
+                aggiornaCollezione(record);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void crea(RecordMutazione record) {
+        List<?> arg = (List<?>) record.getValore();
+        long id = record.getIdEntita();
+        switch (record.getEntita()) {
+            case "Hackathon": {
+                Hackathon h = new Hackathon((String) arg.get(0), (LocalDate) arg.get(1),
+                    (LocalDate) arg.get(2), (LocalDate) arg.get(3));
+                h.setId(id);
+                hackathons.put(id, h);
+                break;
+            }
+            case "Team": {
+                Team t = new Team((String) arg.get(0), (String) arg.get(1));
+                t.setId(id);
+                teams.put(id, t);
+                break;
+            }
+            case "Invito": {
+                Invito i = new Invito(teams.get(rif(arg.get(0))), (Utente) utenti.get(rif(arg.get(1))));
+                i.setId(id);
+                inviti.put(id, i);
+                break;
+            }
+            case "Iscrizione": {
+                Iscrizione i = new Iscrizione(teams.get(rif(arg.get(0))), hackathons.get(rif(arg.get(1))));
+                i.setId(id);
+                iscrizioni.put(id, i);
+                break;
+            }
+            case "Sottomissione": {
+                Sottomissione s = new Sottomissione(teams.get(rif(arg.get(0))), hackathons.get(rif(arg.get(1))),
+                    (String) arg.get(2), (String) arg.get(3));
+                s.setId(id);
+                sottomissioni.put(id, s);
+                break;
+            }
+            case "Utente": {
+                UtenteAstratto u = creaUtente((String) arg.get(0), (String) arg.get(1),
+                    (String) arg.get(2), (String) arg.get(3));
+                if (u != null) {
+                    u.setId(id);
+                    utenti.put(id, u);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static UtenteAstratto creaUtente(String classe, String nome, String cognome, String email) {
+        // La password non viene replicata
+        switch (classe) {
+            case "Leader":
+                return new Leader(nome, cognome, email, null);
+            case "MembroTeam":
+                return new MembroTeam(nome, cognome, email, null);
+            case "Utente":
+                return new Utente(nome, cognome, email, null);
+            case "MembroStaff":
+                return new StaffReplicato(nome, cognome, email);
+            default:
+                return null;
+        }
+    }
+
+    private void modifica(RecordMutazione record) {
+        Object v = record.getValore();
+        long id = record.getIdEntita();
+        switch (record.getEntita()) {
+            case "Hackathon":
+                modificaHackathon(hackathons.get(id), record.getCampo(), v);
+                break;
+            case "Team":
+                modificaTeam(teams.get(id), record.getCampo(), v);
+                break;
+            case "Invito": {
+                Invito i = inviti.get(id);
+                if (i == null) {
+                    break;
+                }
+                if ("stato".equals(record.getCampo())) {
+                    i.setStato(StatoInvito.valueOf((String) v));
+                } else if ("dataRisposta".equals(record.getCampo())) {
+                    i.setDataRisposta((LocalDate) v);
+                }
+                break;
+            }
+            case "Iscrizione": {
+                Iscrizione i = iscrizioni.get(id);
+                if (i != null && "stato".equals(record.getCampo())) {
+                    i.setStato(StatoIscrizione.valueOf((String) v));
+                }
+                break;
+            }
+            case "Sottomissione": {
+                Sottomissione s = sottomissioni.get(id);
+                if (s == null) {
+                    break;
+                }
+                if ("stato".equals(record.getCampo())) {
+                    s.setStato(StatoSottomissione.valueOf((String) v));
+                } else if ("descrizione".equals(record.getCampo())) {
+                    s.setDescrizione((String) v);
+                } else if ("contenuto".equals(record.getCampo())) {
+                    s.setContenuto((String) v);
+                }
+                break;
+            }
+            case "Utente":
+                modificaUtente(utenti.get(id), record.getCampo(), v);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void modificaHackathon(Hackathon h, String campo, Object v) {
+        if (h == null) {
+            return;
+        }
+        switch (campo) {
+            case "nome":
+                h.setNome((String) v);
+                break;
+            case "stato":
+                h.setStato(v == null ? null : StatoHackathon.valueOf((String) v));
+                break;
+            case "dataInizio":
+                h.setDataInizio((LocalDate) v);
+                break;
+            case "dataFine":
+                h.setDataFine((LocalDate) v);
+                break;
+            case "scadenzaIscrizioni":
+                h.setScadenzaIscrizioni((LocalDate) v);
+                break;
+            case "luogo":
+                h.setLuogo((String) v);
+                break;
+            case "regolamento":
+                h.setRegolamento((String) v);
+                break;
+            case "premio":
+                h.setPremio((Double) v);
+                break;
+            case "maxMembriTeam":
+                h.setMaxMembriTeam((Integer) v);
+                break;
+            case "vincitore":
+                h.setVincitore(v == null ? null : teams.get(rif(v)));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void modificaTeam(Team t, String campo, Object v) {
+        if (t == null) {
+            return;
+        }
+        switch (campo) {
+            case "nome":
+                t.setNome((String) v);
+                break;
+            case "descrizione":
+                t.setDescrizione((String) v);
+                break;
+            case "leader":
+                t.setLeader(v == null ? null : (Leader) utenti.get(rif(v)));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void modificaUtente(UtenteAstratto u, String campo, Object v) {
+        if (u == null) {
+            return;
+        }
+        switch (campo) {
+            case "nome":
+                u.setNome((String) v);
+                break;
+            case "cognome":
+                u.setCognome((String) v);
+                break;
+            case "email":
+                u.setEmail((String) v);
+                break;
+            case "team":
+                ((Utente) u).setTeam(v == null ? null : teams.get(rif(v)));
+                break;
+            case "isViceLeader":
+                ((MembroTeam) u).setViceLeader((Boolean) v);
+                break;
+            case "dataIngresso":
+                ((MembroTeam) u).setDataIngresso((LocalDate) v);
+                break;
+            case "ruolo":
+                ((MembroStaff) u).setRuolo((String) v);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void aggiornaCollezione(RecordMutazione record) {
+        long id = record.getIdEntita();
+        long elemento = record.getValore() instanceof Riferimento ? rif(record.getValore()) : 0;
+        boolean aggiunta = record.getTipo() == TipoEvento.AGGIUNTA;
+
+        switch (record.getEntita() + "." + record.getCampo()) {
+            case "Hackathon.iscrizioni":
+                hackathons.get(id).aggiungiIscrizione(iscrizioni.get(elemento));
+                break;
+            case "Team.membri":
+                // Il registro conserva solo l'ultima aggiunta o rimozione di un membro:
+                // applicarla deve portare allo stesso stato anche se era gia' stata applicata
+                MembroTeam membro = (MembroTeam) utenti.get(elemento);
+                Team team = teams.get(id);
+                boolean presente = team.getMembri().contains(membro);
+                if (aggiunta && !presente) {
+                    team.addMembro(membro);
+                } else if (!aggiunta && presente) {
+                    team.removeMembro(membro);
+                }
+                break;
+            case "Team.inviti":
+                teams.get(id).aggiungiInvito(inviti.get(elemento));
+                break;
+            case "Team.iscrizioni":
+                teams.get(id).aggiungiIscrizione(iscrizioni.get(elemento));
+                break;
+            case "Team.sottomissioni":
+                teams.get(id).aggiungiSottomissione(sottomissioni.get(elemento));
+                break;
+            case "Utente.invitiRicevuti":
+                ((Utente) utenti.get(id)).aggiungiInvito(inviti.get(elemento));
+                break;
+            case "Utente.competenze":
+                ((Utente) utenti.get(id)).aggiungiCompetenza((String) record.getValore());
+                break;
+            case "Utente.preferenze":
+                ((Utente) utenti.get(id)).aggiungiPreferenza((String) record.getValore());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static long rif(Object valore) {
+        return ((Riferimento) valore).getId();
+    }
+
+    /**
+     * Membro dello staff ricostruito sul follower.
+     * Le classi concrete dello staff non fanno parte del modello: il registro le
+     * replica come MembroStaff e il ruolo arriva con la relativa modifica.
+     */
+    private static final class StaffReplicato extends MembroStaff {
+        private StaffReplicato(String nome, String cognome, String email) {
+            super(nome, cognome, email, null);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hackhub.replica;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe che invia il registro delle mutazioni ai follower tramite socket.
+ *
+ * Protocollo (un thread per follower):
+ * 1. Il follower si connette e invia l'ultima posizione gia' applicata
+ * 2. Il primario invia i record successivi in ordine, a blocchi
+ * 3. Dopo ogni blocco, o quando non ci sono novita' entro l'intervallo di
+ *    heartbeat, il primario invia un heartbeat con la posizione del registro
+ *    e l'istante in cui il blocco e' stato estratto
+ *
+ * L'heartbeat permette al follower di sapere fino a quando e' allineato
+ * e quindi di stimare la propria obsolescenza: se il blocco arriva fino alla
+ * posizione dell'heartbeat, il follower rispecchia il primario a quell'istante.
+ * La posizione e' letta insieme al blocco, non al momento dell'invio, altrimenti
+ * con scritture continue risulterebbe sempre oltre l'ultimo record inviato.
+ *
+ * Il registro non e' autenticato: il primario ascolta solo sull'interfaccia
+ * di loopback, quindi i follower devono girare sulla stessa macchina.
+ */
+public class PrimarioReplica implements Closeable {
+
+    /** Frame contenente un record di mutazione */
+    static final byte FRAME_RECORD = 1;
+
+    /** Frame di heartbeat con la posizione del registro e l'istante del blocco */
+    static final byte FRAME_HEARTBEAT = 2;
+
+    private static final Logger LOG = Logger.getLogger(PrimarioReplica.class.getName());
+
+    /** Numero massimo di record inviati in un blocco */
+    private static final int DIMENSIONE_BLOCCO = 512;
+
+    /** Registro da cui leggere le mutazioni */
+    private final RegistroMutazioni registro;
+
+    /** Socket in ascolto per i follower */
+    private final ServerSocket server;
+
+    /** Intervallo massimo tra due heartbeat */
+    private final long intervalloHeartbeatMillis;
+
+    /** Connessioni attive con i follower */
+    private final List<Socket> connessioni;
+
+    /** Indica se il primario e' in esecuzione */
+    private volatile boolean attivo;
+
+    /**
+     * Costruttore della classe PrimarioReplica.
+     *
+     * @param registro                  Il registro delle mutazioni
+     * @param porta                     La porta su cui ascoltare (0 per una porta libera)
+     * @param intervalloHeartbeatMillis Intervallo massimo tra due heartbeat
+     * @throws IOException se la porta non e' disponibile
+     */
+    public PrimarioReplica(RegistroMutazioni registro, int porta, long intervalloHeartbeatMillis) throws IOException {
+        this.registro = registro;
+        this.server = new ServerSocket(porta, 50, InetAddress.getLoopbackAddress());
+        this.intervalloHeartbeatMillis = intervalloHeartbeatMillis;
+        this.connessioni = new CopyOnWriteArrayList<>();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce la porta effettiva su cui il primario e' in ascolto.
+     *
+     * @return La porta
+     */
+    public int getPorta() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Restituisce il numero di follower connessi.
+     *
+     * @return Il numero di follower
+     */
+    public int getNumeroFollower() {
+        return connessioni.size();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Avvia l'accettazione dei follower in un thread dedicato.
+     * I thread del primario sono daemon e non tengono vivo il processo: chi lo
+     * avvia deve restare in esecuzione finche' il primario serve i follower.
+     */
+    public void avvia() {
+        attivo = true;
+        Thread accettazione = new Thread(this::accetta, "replica-primario-" + getPorta());
+        accettazione.setDaemon(true);
+        accettazione.start();
+    }
+
+    private void accetta() {
+        while (attivo) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connessioni.add(socket);
+                Thread invio = new Thread(() -> servi(socket), "replica-invio-" + socket.getPort());
+                invio.setDaemon(true);
+                invio.start();
+            } catch (IOException e) {
+                if (attivo) {
+                    LOG.log(Level.WARNING, "Errore di accettazione follower", e);
+                }
+            }
+        }
+    }
+
+    private void servi(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            long posizione = in.readLong();
+
+            while (attivo) {
+                RegistroMutazioni.Blocco blocco =
+                    registro.attendiSuccessivi(posizione, intervalloHeartbeatMillis, DIMENSIONE_BLOCCO);
+                for (RecordMutazione record : blocco.getRecords()) {
+                    out.writeByte(FRAME_RECORD);
+                    record.scrivi(out);
+                    posizione = record.getPosizione();
+                }
+                out.writeByte(FRAME_HEARTBEAT);
+                out.writeLong(blocco.getPosizioneRegistro());
+                out.writeLong(blocco.getIstante());
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Follower disconnesso: si riconnettera' dalla propria posizione
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connessioni.remove(socket);
+        }
+    }
+
+    /**
+     * Ferma il primario e chiude tutte le connessioni.
+     *
+     * @throws IOException se la chiusura del socket fallisce
+     */
+    @Override
+    public void close() throws IOException {
+        attivo = false;
+        server.close();
+        for (Socket socket : connessioni) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.hackhub.replica;
+
+import com.hackhub.enums.TipoEvento;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe che rappresenta una mutazione del modello nel registro di replica.
+ *
+ * Ogni record ha una posizione progressiva assegnata dal primario: i follower
+ * applicano i record esattamente in quest'ordine. Il record contiene solo
+ * valori serializzabili; le entita' sono rappresentate da un Riferimento
+ * (categoria + id) e i valori enum dal loro nome.
+ *
+ * Categorie di entita': Hackathon, Team, Invito, Iscrizione, Sottomissione, Utente.
+ */
+public class RecordMutazione {
+
+    /** Posizione del record nel registro (a partire da 1) */
+    private final long posizione;
+
+    /** Istante di creazione del record sul primario (millisecondi) */
+    private final long istante;
+
+    /** Tipo della mutazione */
+    private final TipoEvento tipo;
+
+    /** Categoria dell'entita' modificata */
+    private final String entita;
+
+    /** Identificativo dell'entita' modificata */
+    private final long idEntita;
+
+    /** Attributo o collezione modificata (null per CREAZIONE) */
+    private final String campo;
+
+    /** Nuovo valore, elemento coinvolto o argomenti di creazione */
+    private final Object valore;
+
+    /**
+     * Costruttore della classe RecordMutazione.
+     *
+     * @param posizione Posizione nel registro
+     * @param istante   Istante di creazione sul primario
+     * @param tipo      Tipo della mutazione
+     * @param entita    Categoria dell'entita'
+     * @param idEntita  Identificativo dell'entita'
+     * @param campo     Attributo o collezione modificata
+     * @param valore    Valore codificato
+     */
+    public RecordMutazione(long posizione, long istante, TipoEvento tipo, String entita,
+                           long idEntita, String campo, Object valore) {
+        this.posizione = posizione;
+        this.istante = istante;
+        this.tipo = tipo;
+        this.entita = entita;
+        this.idEntita = idEntita;
+        this.campo = campo;
+        this.valore = valore;
+    }
+
+    // ==================== GETTER ====================
+
+    public long getPosizione() {
+        return posizione;
+    }
+
+    public long getIstante() {
+        return istante;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public String getEntita() {
+        return entita;
+    }
+
+    public long getIdEntita() {
+        return idEntita;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public Object getValore() {
+        return valore;
+    }
+
+    // ==================== SERIALIZZAZIONE ====================
+
+    /** Tag dei valori codificati */
+    private static final byte NULLO = 0;
+    private static final byte STRINGA = 1;
+    private static final byte LONG = 2;
+    private static final byte INTERO = 3;
+    private static final byte DECIMALE = 4;
+    private static final byte BOOLEANO = 5;
+    private static final byte DATA = 6;
+    private static final byte RIFERIMENTO = 7;
+    private static final byte LISTA = 8;
+
+    /**
+     * Scrive il record sullo stream.
+     *
+     * @param out Lo stream di destinazione
+     * @throws IOException se la scrittura fallisce
+     */
+    public void scrivi(DataOutputStream out) throws IOException {
+        out.writeLong(posizione);
+        out.writeLong(istante);
+        out.writeByte(tipo.ordinal());
+        out.writeUTF(entita);
+        out.writeLong(idEntita);
+        scriviValore(out, campo);
+        scriviValore(out, valore);
+    }
+
+    /**
+     * Legge un record dallo stream.
+     *
+     * @param in Lo stream di origine
+     * @return Il record letto
+     * @throws IOException se la lettura fallisce
+     */
+    public static RecordMutazione leggi(DataInputStream in) throws IOException {
+        long posizione = in.readLong();
+        long istante = in.readLong();
+        TipoEvento tipo = TipoEvento.values()[in.readByte()];
+        String entita = in.readUTF();
+        long idEntita = in.readLong();
+        String campo = (String) leggiValore(in);
+        Object valore = leggiValore(in);
+        return new RecordMutazione(posizione, istante, tipo, entita, idEntita, campo, valore);
+    }
+
+    private static void scriviValore(DataOutputStream out, Object valore) throws IOException {
+        if (valore == null) {
+            out.writeByte(NULLO);
+        } else if (valore instanceof String) {
+            // Lunghezza + byte UTF-8: writeUTF e' limitato a 64 KB
+            byte[] byteStringa = ((String) valore).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRINGA);
+            out.writeInt(byteStringa.length);
+            out.write(byteStringa);
+        } else if (valore instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) valore);
+        } else if (valore instanceof Integer) {
+            out.writeByte(INTERO);
+            out.writeInt((Integer) valore);
+        } else if (valore instanceof Double) {
+            out.writeByte(DECIMALE);
+            out.writeDouble((Double) valore);
+        } else if (valore instanceof Boolean) {
+            out.writeByte(BOOLEANO);
+            out.writeBoolean((Boolean) valore);
+        } else if (valore instanceof LocalDate) {
+            out.writeByte(DATA);
+            out.writeLong(((LocalDate) valore).toEpochDay());
+        } else if (valore instanceof Riferimento) {
+            Riferimento riferimento = (Riferimento) valore;
+            out.writeByte(RIFERIMENTO);
+            out.writeUTF(riferimento.getEntita());
+            out.writeLong(riferimento.getId());
+        } else if (valore instanceof List) {
+            List<?> lista = (List<?>) valore;
+            out.writeByte(LISTA);
+            out.writeInt(lista.size());
+            for (Object elemento : lista) {
+                scriviValore(out, elemento);
+            }
+        } else {
+            throw new IllegalArgumentException("Valore non serializzabile: " + valore.getClass());
+        }
+    }
+
+    private static Object leggiValore(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULLO:
+                return null;
+            case STRINGA:
+                byte[] byteStringa = new byte[in.readInt()];
+                in.readFully(byteStringa);
+                return new String(byteStringa, StandardCharsets.UTF_8);
+            case LONG:
+                return in.readLong();
+            case INTERO:
+                return in.readInt();
+            case DECIMALE:
+                return in.readDouble();
+            case BOOLEANO:
+                return in.readBoolean();
+            case DATA:
+                return LocalDate.ofEpochDay(in.readLong());
+            case RIFERIMENTO:
+                return new Riferimento(in.readUTF(), in.readLong());
+            case LISTA:
+                int dimensione = in.readInt();
+                List<Object> lista = new ArrayList<>(dimensione);
+                for (int i = 0; i < dimensione; i++) {
+                    lista.add(leggiValore(in));
+                }
+                return lista;
+            default:
+                throw new IOException("Tag di valore sconosciuto: " + tag);
+        }
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale del record.
+     *
+     * @return Stringa con posizione, tipo ed entita'
+     */
+    @Override
+    public String toString() {
+        return "#" + posizione + " " + tipo + " " + entita + "[" + idEntita + "]"
+            + (campo != null ? "." + campo : "") + " = " + valore;
+    }
+
+    /**
+     * Riferimento serializzabile a un'entita' del modello.
+     */
+    public static class Riferimento {
+
+        /** Categoria dell'entita' referenziata */
+        private final String entita;
+
+        /** Identificativo dell'entita' referenziata */
+        private final long id;
+
+        public Riferimento(String entita, long id) {
+            this.entita = entita;
+            this.id = id;
+        }
+
+        public String getEntita() {
+            return entita;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return entita + "[" + id + "]";
+        }
+    }
+}
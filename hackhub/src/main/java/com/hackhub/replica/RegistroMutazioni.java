@@ -0,0 +1,380 @@
+package com.hackhub.replica;
+
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.model.UtenteAstratto;
+import com.hackhub.replica.RecordMutazione.Riferimento;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Classe che registra in ordine tutte le mutazioni del modello sul primario.
+ *
+ * Il registro ascolta gli eventi del GestoreEventi e li converte in
+ * RecordMutazione con posizione progressiva. La posizione corrente funge da
+ * token per la lettura delle proprie scritture: un client che ha appena
+ * scritto sul primario legge getPosizioneCorrente() e la passa al follower,
+ * che risponde solo dopo aver applicato il registro fino a quella posizione.
+ *
+ * GestoreEventi.pubblica() viene chiamato dopo la scrittura del campo e fuori da
+ * ogni lock, quindi due modifiche concorrenti dello stesso campo possono arrivare
+ * in ordine inverso. Per questo una modifica non registra il valore dell'evento
+ * ma quello letto dall'entita' sotto il lock del registro: l'ultimo record di un
+ * campo riporta sempre il valore finale. Allo stesso modo l'aggiunta o la rimozione
+ * di un membro registra se il membro fa parte del team al momento della registrazione.
+ *
+ * Il registro conserva, per ogni campo di ogni entita', solo la modifica piu'
+ * recente, e per ogni coppia team-membro solo l'ultima aggiunta o rimozione:
+ * le posizioni sostituite restano vuote. La sua dimensione dipende quindi dallo
+ * stato del modello e non dal numero di modifiche, e un nuovo follower puo'
+ * ancora ricostruire il grafo partendo dalla posizione 0.
+ * Le password non vengono replicate.
+ */
+public class RegistroMutazioni implements AscoltatoreEventi {
+
+    /** Record conservati, per posizione */
+    private final NavigableMap<Long, RecordMutazione> records;
+
+    /** Posizione dell'ultimo record di ogni campo sostituibile ("Entita#id#campo") */
+    private final Map<String, Long> ultimaModifica;
+
+    /** Posizione dell'ultimo record registrato */
+    private long posizioneCorrente;
+
+    /**
+     * Costruttore della classe RegistroMutazioni.
+     */
+    public RegistroMutazioni() {
+        this.records = new TreeMap<>();
+        this.ultimaModifica = new HashMap<>();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce la posizione dell'ultimo record registrato.
+     *
+     * @return La posizione corrente (0 se il registro e' vuoto)
+     */
+    public synchronized long getPosizioneCorrente() {
+        return posizioneCorrente;
+    }
+
+    /**
+     * Restituisce il numero di record conservati, esclusi quelli sostituiti.
+     *
+     * @return Il numero di record
+     */
+    public synchronized int getNumeroRecord() {
+        return records.size();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inizia a registrare le mutazioni del modello.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Smette di registrare le mutazioni del modello.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Converte un evento del modello in record e lo accoda al registro.
+     *
+     * @param evento L'evento da registrare
+     */
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        Object entita = evento.getSorgente();
+        Riferimento sorgente = riferimento(entita);
+        if (sorgente == null || "password".equals(evento.getCampo())) {
+            return;
+        }
+
+        synchronized (this) {
+            TipoEvento tipo = evento.getTipo();
+            Object valore;
+            String chiave = null;
+            if (tipo == TipoEvento.CREAZIONE) {
+                valore = argomentiCreazione(entita);
+            } else {
+                Object nuovo = evento.getValoreNuovo();
+                if (tipo == TipoEvento.MODIFICA) {
+                    nuovo = valoreCorrente(entita, evento.getCampo(), nuovo);
+                    chiave = sorgente.getEntita() + "#" + sorgente.getId() + "#" + evento.getCampo();
+                } else if (entita instanceof Team && "membri".equals(evento.getCampo())
+                        && nuovo instanceof MembroTeam) {
+                    tipo = ((Team) entita).getMembri().contains(nuovo) ? TipoEvento.AGGIUNTA : TipoEvento.RIMOZIONE;
+                    chiave = "Team#" + sorgente.getId() + "#membri#" + ((MembroTeam) nuovo).getId();
+                }
+                valore = codifica(nuovo);
+                if (valore == null && nuovo != null) {
+                    // Elemento di un tipo non replicato
+                    return;
+                }
+            }
+
+            posizioneCorrente++;
+            records.put(posizioneCorrente, new RecordMutazione(posizioneCorrente, System.currentTimeMillis(),
+                tipo, sorgente.getEntita(), sorgente.getId(), evento.getCampo(), valore));
+            if (chiave != null) {
+                Long sostituita = ultimaModifica.put(chiave, posizioneCorrente);
+                if (sostituita != null) {
+                    records.remove(sostituita);
+                }
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Restituisce i record successivi alla posizione indicata, attendendo
+     * al massimo il tempo indicato se non ce ne sono ancora.
+     *
+     * @param posizione    Ultima posizione gia' ricevuta
+     * @param attesaMillis Tempo massimo di attesa
+     * @param massimo      Numero massimo di record da restituire
+     * @return I record successivi (vuoti se l'attesa e' scaduta) con la posizione del registro
+     * @throws InterruptedException se il thread viene interrotto
+     */
+    public synchronized Blocco attendiSuccessivi(long posizione, long attesaMillis, int massimo)
+            throws InterruptedException {
+        long scadenza = System.currentTimeMillis() + attesaMillis;
+        while (posizioneCorrente <= posizione) {
+            long rimanente = scadenza - System.currentTimeMillis();
+            if (rimanente <= 0) {
+                return new Blocco(List.of(), posizioneCorrente, System.currentTimeMillis());
+            }
+            wait(rimanente);
+        }
+        List<RecordMutazione> successivi = new ArrayList<>();
+        for (RecordMutazione record : records.tailMap(posizione, false).values()) {
+            if (successivi.size() == massimo) {
+                break;
+            }
+            successivi.add(record);
+        }
+        return new Blocco(successivi, posizioneCorrente, System.currentTimeMillis());
+    }
+
+    /**
+     * Restituisce il riferimento serializzabile di un'entita' del modello.
+     *
+     * @param entita L'entita'
+     * @return Il riferimento, o null se l'entita' non e' replicata
+     */
+    public static Riferimento riferimento(Object entita) {
+        if (entita instanceof Hackathon) {
+            return new Riferimento("Hackathon", ((Hackathon) entita).getId());
+        }
+        if (entita instanceof Team) {
+            return new Riferimento("Team", ((Team) entita).getId());
+        }
+        if (entita instanceof Invito) {
+            return new Riferimento("Invito", ((Invito) entita).getId());
+        }
+        if (entita instanceof Iscrizione) {
+            return new Riferimento("Iscrizione", ((Iscrizione) entita).getId());
+        }
+        if (entita instanceof Sottomissione) {
+            return new Riferimento("Sottomissione", ((Sottomissione) entita).getId());
+        }
+        if (entita instanceof UtenteAstratto) {
+            return new Riferimento("Utente", ((UtenteAstratto) entita).getId());
+        }
+        return null;
+    }
+
+    private static Object codifica(Object valore) {
+        if (valore instanceof Enum) {
+            return ((Enum<?>) valore).name();
+        }
+        Riferimento riferimento = riferimento(valore);
+        if (riferimento != null) {
+            return riferimento;
+        }
+        if (valore instanceof Float) {
+            return ((Float) valore).doubleValue();
+        }
+        return valore instanceof String || valore instanceof Number || valore instanceof Boolean
+            || valore instanceof LocalDate ? valore : null;
+    }
+
+    /**
+     * Legge il valore attuale di un campo replicato; per i campi che il follower
+     * non applica restituisce il valore dell'evento.
+     */
+    private static Object valoreCorrente(Object entita, String campo, Object valoreEvento) {
+        if (entita instanceof Hackathon) {
+            Hackathon h = (Hackathon) entita;
+            switch (campo) {
+                case "nome":
+                    return h.getNome();
+                case "stato":
+                    return h.getStato();
+                case "dataInizio":
+                    return h.getDataInizio();
+                case "dataFine":
+                    return h.getDataFine();
+                case "scadenzaIscrizioni":
+                    return h.getScadenzaIscrizioni();
+                case "luogo":
+                    return h.getLuogo();
+                case "regolamento":
+                    return h.getRegolamento();
+                case "premio":
+                    return h.getPremio();
+                case "maxMembriTeam":
+                    return h.getMaxMembriTeam();
+                case "vincitore":
+                    return h.getVincitore();
+                default:
+                    return valoreEvento;
+            }
+        }
+        if (entita instanceof Team) {
+            Team t = (Team) entita;
+            switch (campo) {
+                case "nome":
+                    return t.getNome();
+                case "descrizione":
+                    return t.getDescrizione();
+                case "leader":
+                    return t.getLeader();
+                default:
+                    return valoreEvento;
+            }
+        }
+        if (entita instanceof Invito) {
+            Invito i = (Invito) entita;
+            switch (campo) {
+                case "stato":
+                    return i.getStato();
+                case "dataRisposta":
+                    return i.getDataRisposta();
+                default:
+                    return valoreEvento;
+            }
+        }
+        if (entita instanceof Iscrizione) {
+            return "stato".equals(campo) ? ((Iscrizione) entita).getStato() : valoreEvento;
+        }
+        if (entita instanceof Sottomissione) {
+            Sottomissione s = (Sottomissione) entita;
+            switch (campo) {
+                case "stato":
+                    return s.getStato();
+                case "descrizione":
+                    return s.getDescrizione();
+                case "contenuto":
+                    return s.getContenuto();
+                default:
+                    return valoreEvento;
+            }
+        }
+        UtenteAstratto u = (UtenteAstratto) entita;
+        switch (campo) {
+            case "nome":
+                return u.getNome();
+            case "cognome":
+                return u.getCognome();
+            case "email":
+                return u.getEmail();
+            case "team":
+                return u instanceof Utente ? ((Utente) u).getTeam() : valoreEvento;
+            case "isViceLeader":
+                return u instanceof MembroTeam ? ((MembroTeam) u).isViceLeader() : valoreEvento;
+            case "dataIngresso":
+                return u instanceof MembroTeam ? ((MembroTeam) u).getDataIngresso() : valoreEvento;
+            case "ruolo":
+                return u instanceof MembroStaff ? ((MembroStaff) u).getRuolo() : valoreEvento;
+            default:
+                return valoreEvento;
+        }
+    }
+
+    private static List<Object> argomentiCreazione(Object entita) {
+        if (entita instanceof Hackathon) {
+            Hackathon h = (Hackathon) entita;
+            return Arrays.asList(h.getNome(), h.getDataInizio(), h.getDataFine(), h.getScadenzaIscrizioni());
+        }
+        if (entita instanceof Team) {
+            Team t = (Team) entita;
+            return Arrays.asList(t.getNome(), t.getDescrizione());
+        }
+        if (entita instanceof Invito) {
+            Invito i = (Invito) entita;
+            return Arrays.asList(riferimento(i.getTeam()), riferimento(i.getDestinatario()));
+        }
+        if (entita instanceof Iscrizione) {
+            Iscrizione i = (Iscrizione) entita;
+            return Arrays.asList(riferimento(i.getTeam()), riferimento(i.getHackathon()));
+        }
+        if (entita instanceof Sottomissione) {
+            Sottomissione s = (Sottomissione) entita;
+            return Arrays.asList(riferimento(s.getTeam()), riferimento(s.getHackathon()),
+                s.getTitolo(), s.getUrlRepository());
+        }
+        UtenteAstratto u = (UtenteAstratto) entita;
+        // Le sottoclassi esterne al modello (es. staff concreto) si replicano come la classe che estendono
+        Class<?> classe = u.getClass();
+        while (!classe.getPackageName().equals(UtenteAstratto.class.getPackageName())) {
+            classe = classe.getSuperclass();
+        }
+        return Arrays.asList(classe.getSimpleName(), u.getNome(), u.getCognome(), u.getEmail());
+    }
+
+    /**
+     * Record restituiti da attendiSuccessivi(), con la posizione del registro e
+     * l'istante in cui sono stati estratti.
+     *
+     * Se i record arrivano fino alla posizione del registro, chi li applica e'
+     * allineato con il primario a quell'istante.
+     */
+    public static class Blocco {
+        private final List<RecordMutazione> records;
+        private final long posizioneRegistro;
+        private final long istante;
+
+        Blocco(List<RecordMutazione> records, long posizioneRegistro, long istante) {
+            this.records = records;
+            this.posizioneRegistro = posizioneRegistro;
+            this.istante = istante;
+        }
+
+        public List<RecordMutazione> getRecords() {
+            return records;
+        }
+
+        public long getPosizioneRegistro() {
+            return posizioneRegistro;
+        }
+
+        public long getIstante() {
+            return istante;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.hackhub.similarita;
+
+import com.hackhub.model.Sottomissione;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Archivio delle firme MinHash delle sottomissioni, con un indice LSH per
+ * trovare i progetti copiati o riciclati senza confrontare tutte le coppie.
+ *
+ * Le firme sono divise in bande di righePerBanda valori consecutivi; due
+ * sottomissioni diventano candidate se coincidono in almeno una banda, e la
+ * coppia viene segnalata se la similarita' stimata dalle firme raggiunge la
+ * soglia. Due contenuti con similarita' di Jaccard s diventano candidati con
+ * probabilita' 1 - (1 - s^righe)^bande: con 128 valori in 32 bande da 4 righe
+ * e' il 87% a s = 0.5 e oltre il 99% da s = 0.65, mentre contenuti diversi
+ * (s sotto 0.2) collidono di rado.
+ *
+ * Per ogni banda una tabella ad indirizzamento aperto associa la chiave della
+ * banda all'ultima firma inserita; le firme con la stessa chiave sono collegate
+ * da un array di successivi. Aggiungere una firma costa O(bande), trovarne i
+ * candidati O(bande + candidati): confrontare n sottomissioni con un archivio
+ * costa O(n) invece di O(n * archivio).
+ *
+ * confronta() calcola le firme delle nuove sottomissioni in parallelo, le
+ * aggiunge e cerca in parallelo i candidati di ognuna tra quelle gia' presenti.
+ * L'archivio si salva nella cartella del modello (FILE_SIMILARITA) e si riapre
+ * con apri(): le sottomissioni delle edizioni successive si confrontano con
+ * tutto l'archivio senza ricalcolare le firme passate.
+ */
+public class ArchivioSimilarita {
+
+    /** Nome del file dell'archivio nella cartella del modello */
+    public static final String FILE_SIMILARITA = "similarita.dat";
+
+    /** Righe per banda predefinite */
+    public static final int RIGHE_PREDEFINITE = 4;
+
+    /** Soglia di similarita' predefinita */
+    public static final double SOGLIA_PREDEFINITA = 0.5;
+
+    static final int MAGIA = 0x48485349;
+    static final int VERSIONE = 1;
+
+    private final CalcolatoreFirme calcolatore;
+    private final int righePerBanda;
+    private final int bande;
+    private final double soglia;
+
+    /** Pool fork-join su cui cercare i candidati */
+    private final ForkJoinPool pool;
+
+    /** Firme per posizione di inserimento (null se sostituite) */
+    private final List<FirmaMinHash> firme;
+
+    /** Posizione corrente per id della sottomissione */
+    private final Map<Long, Integer> posizioni;
+
+    /** Indice di ogni banda */
+    private final TabellaBanda[] tabelle;
+
+    /**
+     * Costruttore della classe ArchivioSimilarita con i parametri predefiniti e il pool comune.
+     */
+    public ArchivioSimilarita() {
+        this(new CalcolatoreFirme(), RIGHE_PREDEFINITE, SOGLIA_PREDEFINITA, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe ArchivioSimilarita.
+     *
+     * @param calcolatore   Il calcolatore delle firme
+     * @param righePerBanda Il numero di valori della firma per banda
+     * @param soglia        La similarita' minima di una coppia segnalata
+     * @param pool          Il pool fork-join da usare
+     * @throws IllegalArgumentException se le righe non dividono il numero di valori o la soglia non e' in (0, 1]
+     */
+    public ArchivioSimilarita(CalcolatoreFirme calcolatore, int righePerBanda, double soglia, ForkJoinPool pool) {
+        if (righePerBanda <= 0 || calcolatore.getNumeroValori() % righePerBanda != 0) {
+            throw new IllegalArgumentException("Le righe per banda devono dividere il numero di valori della firma");
+        }
+        if (!(soglia > 0 && soglia <= 1)) {
+            throw new IllegalArgumentException("La soglia deve essere compresa tra 0 (escluso) e 1");
+        }
+        this.calcolatore = calcolatore;
+        this.righePerBanda = righePerBanda;
+        this.bande = calcolatore.getNumeroValori() / righePerBanda;
+        this.soglia = soglia;
+        this.pool = pool;
+        this.firme = new ArrayList<>();
+        this.posizioni = new HashMap<>();
+        this.tabelle = new TabellaBanda[bande];
+        for (int b = 0; b < bande; b++) {
+            tabelle[b] = new TabellaBanda();
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    public CalcolatoreFirme getCalcolatore() {
+        return calcolatore;
+    }
+
+    public int getRighePerBanda() {
+        return righePerBanda;
+    }
+
+    public int getBande() {
+        return bande;
+    }
+
+    public double getSoglia() {
+        return soglia;
+    }
+
+    public synchronized int getDimensione() {
+        return posizioni.size();
+    }
+
+    /**
+     * Restituisce la firma archiviata di una sottomissione.
+     *
+     * @param idSottomissione L'id della sottomissione
+     * @return La firma, o null se la sottomissione non e' archiviata
+     */
+    public synchronized FirmaMinHash getFirma(long idSottomissione) {
+        Integer posizione = posizioni.get(idSottomissione);
+        return posizione != null ? firme.get(posizione) : null;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Archivia le sottomissioni e restituisce quelle simili a sottomissioni gia'
+     * archiviate o ad altre dello stesso lotto. Una sottomissione gia' archiviata
+     * viene sostituita con la firma del contenuto attuale.
+     *
+     * Postcondizioni: le sottomissioni sono archiviate
+     *
+     * @param sottomissioni Le nuove sottomissioni
+     * @return Le coppie simili, dalla piu' simile; in ogni coppia la seconda firma e' quella nuova
+     */
+    public List<CoppiaSimile> confronta(List<Sottomissione> sottomissioni) {
+        return archivia(calcolatore.firme(sottomissioni));
+    }
+
+    /**
+     * Archivia firme gia' calcolate e restituisce le coppie simili, come confronta().
+     *
+     * @param nuove Le firme da archiviare
+     * @return Le coppie simili, dalla piu' simile
+     * @throws IllegalArgumentException se una firma ha un numero di valori diverso da quello dell'archivio
+     */
+    public synchronized List<CoppiaSimile> archivia(List<FirmaMinHash> nuove) {
+        int[] posizioniNuove = new int[nuove.size()];
+        for (int i = 0; i < posizioniNuove.length; i++) {
+            posizioniNuove[i] = aggiungi(nuove.get(i));
+        }
+        // Ogni firma cerca solo tra quelle inserite prima: ogni coppia viene trovata una volta
+        return cercaInParallelo(posizioniNuove.length,
+            i -> simili(nuove.get(i), posizioniNuove[i], Long.MIN_VALUE));
+    }
+
+    /**
+     * Cerca le sottomissioni archiviate simili a una sottomissione, senza archiviarla.
+     *
+     * @param sottomissione La sottomissione
+     * @return Le coppie simili, dalla piu' simile
+     */
+    public List<CoppiaSimile> cerca(Sottomissione sottomissione) {
+        FirmaMinHash firma = calcolatore.firma(sottomissione);
+        synchronized (this) {
+            List<CoppiaSimile> coppie = simili(firma, firme.size(), Long.MIN_VALUE);
+            coppie.removeIf(coppia -> coppia.getPrima().getIdSottomissione() == firma.getIdSottomissione());
+            coppie.sort(Comparator.comparingDouble(CoppiaSimile::getSimilarita).reversed());
+            return coppie;
+        }
+    }
+
+    /**
+     * Restituisce le coppie simili tra le sottomissioni archiviate di un hackathon.
+     *
+     * @param idHackathon L'id dell'hackathon
+     * @return Le coppie simili, dalla piu' simile
+     */
+    public synchronized List<CoppiaSimile> coppieSimili(long idHackathon) {
+        int[] dellHackathon = IntStream.range(0, firme.size())
+            .filter(p -> firme.get(p) != null && firme.get(p).getIdHackathon() == idHackathon)
+            .toArray();
+        return cercaInParallelo(dellHackathon.length,
+            i -> simili(firme.get(dellHackathon[i]), dellHackathon[i], idHackathon));
+    }
+
+    private List<CoppiaSimile> cercaInParallelo(int numero, IntFunction<List<CoppiaSimile>> ricerca) {
+        List<CoppiaSimile> coppie = pool.submit(() -> IntStream.range(0, numero).parallel()
+            .mapToObj(ricerca).flatMap(List::stream).collect(Collectors.toList())).join();
+        coppie.sort(Comparator.comparingDouble(CoppiaSimile::getSimilarita).reversed());
+        return coppie;
+    }
+
+    /**
+     * Trova le firme simili tra quelle in posizione precedente al limite.
+     *
+     * @param idHackathon Se diverso da Long.MIN_VALUE, considera solo le firme di quell'hackathon
+     */
+    private List<CoppiaSimile> simili(FirmaMinHash firma, int limite, long idHackathon) {
+        List<CoppiaSimile> coppie = new ArrayList<>();
+        if (firma.isVuota()) {
+            return coppie;
+        }
+        long[] chiavi = chiaviBande(firma.getValori());
+        Set<Integer> visti = new HashSet<>();
+        for (int b = 0; b < bande; b++) {
+            for (int p = tabelle[b].testa(chiavi[b]); p >= 0; p = tabelle[b].successivo(p)) {
+                if (p >= limite || !visti.add(p)) {
+                    continue;
+                }
+                FirmaMinHash altra = firme.get(p);
+                if (idHackathon != Long.MIN_VALUE && altra.getIdHackathon() != idHackathon) {
+                    continue;
+                }
+                double similarita = firma.similarita(altra);
+                if (similarita >= soglia) {
+                    coppie.add(new CoppiaSimile(altra, firma, similarita));
+                }
+            }
+        }
+        return coppie;
+    }
+
+    private int aggiungi(FirmaMinHash firma) {
+        if (firma.getValori() != null && firma.getValori().length != calcolatore.getNumeroValori()) {
+            throw new IllegalArgumentException("La firma ha " + firma.getValori().length + " valori invece di "
+                + calcolatore.getNumeroValori());
+        }
+        Integer precedente = posizioni.get(firma.getIdSottomissione());
+        if (precedente != null) {
+            FirmaMinHash vecchia = firme.set(precedente, null);
+            if (!vecchia.isVuota()) {
+                long[] chiavi = chiaviBande(vecchia.getValori());
+                for (int b = 0; b < bande; b++) {
+                    tabelle[b].togli(chiavi[b], precedente);
+                }
+            }
+        }
+        int posizione = firme.size();
+        firme.add(firma);
+        posizioni.put(firma.getIdSottomissione(), posizione);
+        if (!firma.isVuota()) {
+            long[] chiavi = chiaviBande(firma.getValori());
+            for (int b = 0; b < bande; b++) {
+                tabelle[b].aggiungi(chiavi[b], posizione);
+            }
+        }
+        return posizione;
+    }
+
+    private long[] chiaviBande(int[] valori) {
+        long[] chiavi = new long[bande];
+        for (int b = 0; b < bande; b++) {
+            long h = b * 0x9E3779B97F4A7C15L;
+            for (int r = b * righePerBanda; r < (b + 1) * righePerBanda; r++) {
+                h = (h ^ (valori[r] & 0xFFFFFFFFL)) * 0x100000001B3L;
+            }
+            chiavi[b] = h ^ (h >>> 29);
+        }
+        return chiavi;
+    }
+
+    // ==================== PERSISTENZA ====================
+
+    /**
+     * Salva l'archivio nella cartella del modello.
+     * Il file viene scritto accanto a quello esistente e poi sostituito.
+     *
+     * @param cartella La cartella del modello
+     * @throws IOException se il file non puo' essere scritto
+     */
+    public synchronized void salva(Path cartella) throws IOException {
+        Files.createDirectories(cartella);
+        Path temporaneo = cartella.resolve(FILE_SIMILARITA + ".tmp");
+        try (DataOutputStream uscita = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaneo), 1 << 16))) {
+            uscita.writeInt(MAGIA);
+            uscita.writeInt(VERSIONE);
+            uscita.writeInt(calcolatore.getNumeroValori());
+            uscita.writeInt(calcolatore.getParolePerShingle());
+            uscita.writeInt(righePerBanda);
+            uscita.writeDouble(soglia);
+            uscita.writeInt(posizioni.size());
+            for (FirmaMinHash firma : firme) {
+                if (firma == null) {
+                    continue;
+                }
+                uscita.writeLong(firma.getIdSottomissione());
+                uscita.writeLong(firma.getIdHackathon());
+                uscita.writeLong(firma.getIdTeam());
+                uscita.writeBoolean(firma.isVuota());
+                if (!firma.isVuota()) {
+                    for (int valore : firma.getValori()) {
+                        uscita.writeInt(valore);
+                    }
+                }
+            }
+        }
+        Files.move(temporaneo, cartella.resolve(FILE_SIMILARITA),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Apre l'archivio salvato, con i parametri con cui e' stato creato e il pool comune.
+     *
+     * @param cartella La cartella del modello
+     * @return L'archivio, con l'indice LSH ricostruito dalle firme
+     * @throws IOException se il file non puo' essere letto o non e' un archivio valido
+     */
+    public static ArchivioSimilarita apri(Path cartella) throws IOException {
+        Path file = cartella.resolve(FILE_SIMILARITA);
+        try (DataInputStream ingresso = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (ingresso.readInt() != MAGIA || ingresso.readInt() != VERSIONE) {
+                throw new IOException("Archivio di similarita' non valido: " + file);
+            }
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            CalcolatoreFirme calcolatore;
+            ArchivioSimilarita archivio;
+            try {
+                calcolatore = new CalcolatoreFirme(ingresso.readInt(), ingresso.readInt(), pool);
+                archivio = new ArchivioSimilarita(calcolatore, ingresso.readInt(), ingresso.readDouble(), pool);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Parametri dell'archivio di similarita' non validi: " + file, e);
+            }
+            int numero = ingresso.readInt();
+            for (int i = 0; i < numero; i++) {
+                long idSottomissione = ingresso.readLong();
+                long idHackathon = ingresso.readLong();
+                long idTeam = ingresso.readLong();
+                int[] valori = null;
+                if (!ingresso.readBoolean()) {
+                    valori = new int[calcolatore.getNumeroValori()];
+                    for (int v = 0; v < valori.length; v++) {
+                        valori[v] = ingresso.readInt();
+                    }
+                }
+                archivio.aggiungi(new FirmaMinHash(idSottomissione, idHackathon, idTeam, valori));
+            }
+            return archivio;
+        }
+    }
+
+    /**
+     * Indice di una banda: tabella ad indirizzamento aperto dalla chiave della
+     * banda all'ultima posizione inserita, e catena delle posizioni precedenti
+     * con la stessa chiave.
+     */
+    private static final class TabellaBanda {
+
+        /** Testa vuota: la chiave non e' mai stata inserita */
+        private static final int LIBERA = 0;
+
+        private long[] chiavi = new long[16];
+
+        /** Posizione + 1 della testa della catena, LIBERA o -1 se la catena si e' svuotata */
+        private int[] teste = new int[16];
+
+        /** Posizione successiva nella catena di ogni posizione (-1 a fine catena) */
+        private int[] successivi = new int[16];
+
+        private int occupate;
+
+        int testa(long chiave) {
+            int slot = cerca(chiave);
+            return teste[slot] > 0 ? teste[slot] - 1 : -1;
+        }
+
+        int successivo(int posizione) {
+            return successivi[posizione];
+        }
+
+        void aggiungi(long chiave, int posizione) {
+            if (posizione >= successivi.length) {
+                successivi = Arrays.copyOf(successivi, Math.max(posizione + 1, successivi.length * 2));
+            }
+            if ((occupate + 1) * 2 > chiavi.length) {
+                ingrandisci();
+            }
+            int slot = cerca(chiave);
+            if (teste[slot] == LIBERA) {
+                chiavi[slot] = chiave;
+                occupate++;
+            }
+            successivi[posizione] = teste[slot] > 0 ? teste[slot] - 1 : -1;
+            teste[slot] = posizione + 1;
+        }
+
+        void togli(long chiave, int posizione) {
+            int slot = cerca(chiave);
+            if (teste[slot] <= 0) {
+                return;
+            }
+            int precedente = -1;
+            for (int p = teste[slot] - 1; p >= 0; precedente = p, p = successivi[p]) {
+                if (p == posizione) {
+                    if (precedente < 0) {
+                        teste[slot] = successivi[p] >= 0 ? successivi[p] + 1 : -1;
+                    } else {
+                        successivi[precedente] = successivi[p];
+                    }
+                    return;
+                }
+            }
+        }
+
+        /** Restituisce lo slot della chiave, o lo slot libero in cui inserirla */
+        private int cerca(long chiave) {
+            int maschera = chiavi.length - 1;
+            int slot = (int) (chiave * 0x9E3779B97F4A7C15L >>> 32) & maschera;
+            while (teste[slot] != LIBERA && chiavi[slot] != chiave) {
+                slot = (slot + 1) & maschera;
+            }
+            return slot;
+        }
+
+        private void ingrandisci() {
+            long[] vecchieChiavi = chiavi;
+            int[] vecchieTeste = teste;
+            chiavi = new long[vecchieChiavi.length * 2];
+            teste = new int[vecchieTeste.length * 2];
+            occupate = 0;
+            for (int i = 0; i < vecchieChiavi.length; i++) {
+                // Le catene svuotate non vengono ricopiate
+                if (vecchieTeste[i] > 0) {
+                    int slot = cerca(vecchieChiavi[i]);
+                    chiavi[slot] = vecchieChiavi[i];
+                    teste[slot] = vecchieTeste[i];
+                    occupate++;
+                }
+            }
+        }
+    }
+}
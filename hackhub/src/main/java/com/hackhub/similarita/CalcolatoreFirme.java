@@ -0,0 +1,186 @@
+package com.hackhub.similarita;
+
+import com.hackhub.model.Sottomissione;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Classe che calcola le firme MinHash del contenuto delle sottomissioni.
+ *
+ * Il testo (descrizione e contenuto) viene diviso in parole, sequenze di
+ * lettere e cifre in minuscolo; ogni sequenza di parolePerShingle parole
+ * consecutive e' uno shingle, rappresentato da un hash a 64 bit. Spazi,
+ * punteggiatura e maiuscole non contano, cosi' una copia riformattata resta
+ * simile all'originale.
+ *
+ * Le numeroValori funzioni hash sono h1(x) + i * h2(x), con h1 e h2 hash
+ * indipendenti dello shingle: ogni funzione costa una moltiplicazione e una
+ * somma, e la firma di un testo di n parole costa O(n * numeroValori).
+ * Le firme di piu' sottomissioni si calcolano in parallelo sul pool fork-join.
+ */
+public class CalcolatoreFirme {
+
+    /** Numero predefinito di valori della firma */
+    public static final int VALORI_PREDEFINITI = 128;
+
+    /** Numero predefinito di parole per shingle */
+    public static final int PAROLE_PREDEFINITE = 3;
+
+    private final int numeroValori;
+    private final int parolePerShingle;
+
+    /** Pool fork-join su cui calcolare le firme */
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruttore della classe CalcolatoreFirme con i parametri predefiniti e il pool comune.
+     */
+    public CalcolatoreFirme() {
+        this(VALORI_PREDEFINITI, PAROLE_PREDEFINITE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruttore della classe CalcolatoreFirme.
+     *
+     * @param numeroValori     Il numero di valori della firma
+     * @param parolePerShingle Il numero di parole consecutive di uno shingle
+     * @param pool             Il pool fork-join da usare
+     * @throws IllegalArgumentException se un parametro non e' positivo
+     */
+    public CalcolatoreFirme(int numeroValori, int parolePerShingle, ForkJoinPool pool) {
+        if (numeroValori <= 0 || parolePerShingle <= 0) {
+            throw new IllegalArgumentException("Valori e parole per shingle devono essere positivi");
+        }
+        this.numeroValori = numeroValori;
+        this.parolePerShingle = parolePerShingle;
+        this.pool = pool;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getNumeroValori() {
+        return numeroValori;
+    }
+
+    public int getParolePerShingle() {
+        return parolePerShingle;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Calcola la firma di una sottomissione.
+     *
+     * @param sottomissione La sottomissione
+     * @return La firma del contenuto attuale
+     */
+    public FirmaMinHash firma(Sottomissione sottomissione) {
+        return new FirmaMinHash(sottomissione.getId(),
+            sottomissione.getHackathon() != null ? sottomissione.getHackathon().getId() : -1L,
+            sottomissione.getTeam() != null ? sottomissione.getTeam().getId() : -1L,
+            valori(testo(sottomissione)));
+    }
+
+    /**
+     * Calcola in parallelo le firme di piu' sottomissioni.
+     *
+     * @param sottomissioni Le sottomissioni
+     * @return Le firme, nello stesso ordine
+     */
+    public List<FirmaMinHash> firme(List<Sottomissione> sottomissioni) {
+        return pool.submit(() -> sottomissioni.parallelStream().map(this::firma).collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Calcola i valori MinHash di un testo.
+     *
+     * @return I valori, o null se il testo non ha parole
+     */
+    int[] valori(String testo) {
+        long[] shingle = shingle(testo, parolePerShingle);
+        if (shingle.length == 0) {
+            return null;
+        }
+        long[] minimi = new long[numeroValori];
+        Arrays.fill(minimi, Long.MAX_VALUE);
+        for (long s : shingle) {
+            long h1 = mescola(s);
+            long h2 = mescola(s ^ 0x5851F42D4C957F2DL) | 1;
+            long h = h1;
+            for (int i = 0; i < numeroValori; i++) {
+                // Confronto senza segno: il bit piu' alto viene invertito
+                long chiave = h ^ Long.MIN_VALUE;
+                if (chiave < minimi[i]) {
+                    minimi[i] = chiave;
+                }
+                h += h2;
+            }
+        }
+        int[] valori = new int[numeroValori];
+        for (int i = 0; i < numeroValori; i++) {
+            valori[i] = (int) (minimi[i] >>> 32);
+        }
+        return valori;
+    }
+
+    /**
+     * Restituisce gli hash degli shingle di un testo, con ripetizioni.
+     * Un testo con meno parole di uno shingle produce un solo shingle.
+     */
+    static long[] shingle(String testo, int parolePerShingle) {
+        long[] parole = parole(testo);
+        if (parole.length == 0) {
+            return parole;
+        }
+        int numero = Math.max(1, parole.length - parolePerShingle + 1);
+        long[] shingle = new long[numero];
+        for (int i = 0; i < numero; i++) {
+            long h = parolePerShingle;
+            for (int j = i; j < Math.min(parole.length, i + parolePerShingle); j++) {
+                h = (h ^ parole[j]) * 0x100000001B3L;
+            }
+            shingle[i] = h;
+        }
+        return shingle;
+    }
+
+    /**
+     * Restituisce l'hash FNV-1a a 64 bit di ogni parola del testo, in minuscolo.
+     */
+    private static long[] parole(String testo) {
+        long[] parole = new long[Math.max(16, testo.length() / 6)];
+        int numero = 0;
+        int i = 0;
+        while (i < testo.length()) {
+            char c = testo.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            long h = 0xCBF29CE484222325L;
+            while (i < testo.length() && Character.isLetterOrDigit(c = testo.charAt(i))) {
+                h = (h ^ Character.toLowerCase(c)) * 0x100000001B3L;
+                i++;
+            }
+            if (numero == parole.length) {
+                parole = Arrays.copyOf(parole, parole.length * 2);
+            }
+            parole[numero++] = h;
+        }
+        return Arrays.copyOf(parole, numero);
+    }
+
+    private static String testo(Sottomissione sottomissione) {
+        String descrizione = sottomissione.getDescrizione() != null ? sottomissione.getDescrizione() : "";
+        String contenuto = sottomissione.getContenuto() != null ? sottomissione.getContenuto() : "";
+        return descrizione + "\n" + contenuto;
+    }
+
+    private static long mescola(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hackhub.similarita;
+
+/**
+ * Coppia di sottomissioni con contenuto simile.
+ */
+public final class CoppiaSimile {
+
+    /** Firma gia' presente nell'archivio */
+    private final FirmaMinHash prima;
+
+    /** Firma confrontata con l'archivio */
+    private final FirmaMinHash seconda;
+
+    /** Similarita' di Jaccard stimata dalle firme */
+    private final double similarita;
+
+    CoppiaSimile(FirmaMinHash prima, FirmaMinHash seconda, double similarita) {
+        this.prima = prima;
+        this.seconda = seconda;
+        this.similarita = similarita;
+    }
+
+    // ==================== GETTER ====================
+
+    public FirmaMinHash getPrima() {
+        return prima;
+    }
+
+    public FirmaMinHash getSeconda() {
+        return seconda;
+    }
+
+    public double getSimilarita() {
+        return similarita;
+    }
+
+    /**
+     * Verifica se le due sottomissioni sono dello stesso team (es. un progetto riciclato).
+     *
+     * @return true se il team e' lo stesso
+     */
+    public boolean isStessoTeam() {
+        return prima.getIdTeam() >= 0 && prima.getIdTeam() == seconda.getIdTeam();
+    }
+
+    /**
+     * Verifica se le due sottomissioni sono per lo stesso hackathon.
+     *
+     * @return true se l'hackathon e' lo stesso
+     */
+    public boolean isStessoHackathon() {
+        return prima.getIdHackathon() >= 0 && prima.getIdHackathon() == seconda.getIdHackathon();
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della coppia.
+     *
+     * @return Stringa con gli id delle sottomissioni e la similarita'
+     */
+    @Override
+    public String toString() {
+        return String.format("Sottomissioni %d e %d simili al %.0f%%", prima.getIdSottomissione(),
+            seconda.getIdSottomissione(), similarita * 100);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hackhub.similarita;
+
+/**
+ * Firma MinHash del contenuto di una sottomissione.
+ *
+ * Ogni valore e' il minimo di una funzione hash diversa sugli shingle del
+ * contenuto: la frazione di valori uguali tra due firme stima la similarita'
+ * di Jaccard tra i due insiemi di shingle, con errore standard circa
+ * 1 / sqrt(numero di valori).
+ */
+public final class FirmaMinHash {
+
+    private final long idSottomissione;
+
+    /** Id dell'hackathon della sottomissione (-1 se assente) */
+    private final long idHackathon;
+
+    /** Id del team della sottomissione (-1 se assente) */
+    private final long idTeam;
+
+    /** Minimi delle funzioni hash, null se il contenuto non ha shingle */
+    private final int[] valori;
+
+    FirmaMinHash(long idSottomissione, long idHackathon, long idTeam, int[] valori) {
+        this.idSottomissione = idSottomissione;
+        this.idHackathon = idHackathon;
+        this.idTeam = idTeam;
+        this.valori = valori;
+    }
+
+    // ==================== GETTER ====================
+
+    public long getIdSottomissione() {
+        return idSottomissione;
+    }
+
+    public long getIdHackathon() {
+        return idHackathon;
+    }
+
+    public long getIdTeam() {
+        return idTeam;
+    }
+
+    /**
+     * Verifica se la sottomissione non ha contenuto confrontabile.
+     *
+     * @return true se il contenuto non ha shingle: la firma non e' simile a nessun'altra
+     */
+    public boolean isVuota() {
+        return valori == null;
+    }
+
+    int[] getValori() {
+        return valori;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Stima la similarita' di Jaccard con un'altra firma dello stesso calcolatore.
+     *
+     * @param altra L'altra firma
+     * @return La frazione di valori uguali, 0 se una delle due firme e' vuota
+     * @throws IllegalArgumentException se le firme hanno un numero diverso di valori
+     */
+    public double similarita(FirmaMinHash altra) {
+        if (valori == null || altra.valori == null) {
+            return 0;
+        }
+        if (valori.length != altra.valori.length) {
+            throw new IllegalArgumentException("Le firme hanno un numero diverso di valori");
+        }
+        int uguali = 0;
+        for (int i = 0; i < valori.length; i++) {
+            if (valori[i] == altra.valori[i]) {
+                uguali++;
+            }
+        }
+        return (double) uguali / valori.length;
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della firma.
+     *
+     * @return Stringa con gli id della sottomissione
+     */
+    @Override
+    public String toString() {
+        return "Firma della sottomissione " + idSottomissione + " (hackathon " + idHackathon + ", team " + idTeam + ")";
+    }
+}
@@ -0,0 +1,88 @@
+package com.hackhub.storico;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Colonna di date codificate a delta rispetto alla base del blocco.
+ *
+ * Ogni blocco memorizza la prima data come giorno epoch (base) e per ogni riga
+ * lo scarto in giorni come short: 2 byte per data invece dei 24 di un LocalDate.
+ * Se uno scarto non entra in uno short, il blocco passa a int (4 byte).
+ * Le date assenti (es. dataRisposta di un invito senza risposta) usano un valore sentinella.
+ *
+ * La decodifica di un blocco e' un ciclo base + delta[i] senza dipendenze
+ * tra iterazioni, che la JIT puo' vettorizzare.
+ */
+class ColonnaDate {
+
+    /** Valore che rappresenta una data assente */
+    static final int ASSENTE = Integer.MIN_VALUE;
+
+    private static final short ASSENTE_CORTO = Short.MIN_VALUE;
+
+    private int[] basi = new int[8];
+    private short[][] delta = new short[8][];
+    private int[][] esteso = new int[8][];
+
+    void aggiungi(int riga, LocalDate data) {
+        int blocco = riga >>> StoricoColonnare.BIT_BLOCCO;
+        int posizione = riga & StoricoColonnare.MASCHERA_BLOCCO;
+        if (blocco >= basi.length) {
+            basi = Arrays.copyOf(basi, basi.length * 2);
+            delta = Arrays.copyOf(delta, delta.length * 2);
+            esteso = Arrays.copyOf(esteso, esteso.length * 2);
+        }
+        int giorno = data == null ? ASSENTE : (int) data.toEpochDay();
+        if (delta[blocco] == null && esteso[blocco] == null) {
+            basi[blocco] = giorno == ASSENTE ? 0 : giorno;
+            delta[blocco] = new short[StoricoColonnare.DIMENSIONE_BLOCCO];
+        }
+
+        if (esteso[blocco] != null) {
+            esteso[blocco][posizione] = giorno;
+            return;
+        }
+        if (giorno == ASSENTE) {
+            delta[blocco][posizione] = ASSENTE_CORTO;
+            return;
+        }
+        int scarto = giorno - basi[blocco];
+        if (scarto > Short.MIN_VALUE && scarto <= Short.MAX_VALUE) {
+            delta[blocco][posizione] = (short) scarto;
+        } else {
+            // Scarto troppo grande: il blocco passa alla codifica estesa
+            int[] valori = new int[StoricoColonnare.DIMENSIONE_BLOCCO];
+            for (int i = 0; i < posizione; i++) {
+                valori[i] = delta[blocco][i] == ASSENTE_CORTO ? ASSENTE : basi[blocco] + delta[blocco][i];
+            }
+            valori[posizione] = giorno;
+            esteso[blocco] = valori;
+            delta[blocco] = null;
+        }
+    }
+
+    /**
+     * Decodifica un intervallo di righe di un blocco come giorni epoch.
+     *
+     * @param blocco       L'indice del blocco
+     * @param lunghezza    Il numero di righe da decodificare
+     * @param destinazione L'array di destinazione (almeno lunghezza elementi)
+     */
+    void decodifica(int blocco, int lunghezza, int[] destinazione) {
+        if (esteso[blocco] != null) {
+            System.arraycopy(esteso[blocco], 0, destinazione, 0, lunghezza);
+            return;
+        }
+        short[] valori = delta[blocco];
+        int base = basi[blocco];
+        for (int i = 0; i < lunghezza; i++) {
+            destinazione[i] = base + valori[i];
+        }
+        for (int i = 0; i < lunghezza; i++) {
+            if (valori[i] == ASSENTE_CORTO) {
+                destinazione[i] = ASSENTE;
+            }
+        }
+    }
+}
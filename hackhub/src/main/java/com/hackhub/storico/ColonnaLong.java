@@ -0,0 +1,34 @@
+package com.hackhub.storico;
+
+import java.util.Arrays;
+
+/**
+ * Colonna di valori long memorizzata in blocchi di array primitivi.
+ *
+ * I blocchi non vengono mai riallocati: un lettore che ha letto il numero
+ * di righe pubblicato dallo storico puo' scorrere i blocchi senza lock
+ * mentre lo scrittore continua ad accodare.
+ */
+class ColonnaLong {
+
+    private long[][] blocchi = new long[8][];
+
+    void aggiungi(int riga, long valore) {
+        int blocco = riga >>> StoricoColonnare.BIT_BLOCCO;
+        if (blocco >= blocchi.length) {
+            blocchi = Arrays.copyOf(blocchi, blocchi.length * 2);
+        }
+        if (blocchi[blocco] == null) {
+            blocchi[blocco] = new long[StoricoColonnare.DIMENSIONE_BLOCCO];
+        }
+        blocchi[blocco][riga & StoricoColonnare.MASCHERA_BLOCCO] = valore;
+    }
+
+    long[] blocco(int indice) {
+        return blocchi[indice];
+    }
+
+    long get(int riga) {
+        return blocchi[riga >>> StoricoColonnare.BIT_BLOCCO][riga & StoricoColonnare.MASCHERA_BLOCCO];
+    }
+}
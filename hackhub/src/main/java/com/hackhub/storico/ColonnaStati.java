@@ -0,0 +1,58 @@
+package com.hackhub.storico;
+
+import java.util.Arrays;
+
+/**
+ * Colonna di stati (ordinal di un enum) memorizzata in blocchi di byte.
+ *
+ * Un byte per riga, senza codifica: gli stati di inviti e iscrizioni si
+ * alternano spesso tra righe consecutive, e una codifica run-length (un byte
+ * di stato piu' un int di fine per run) occuperebbe fino a cinque volte lo
+ * spazio. I blocchi sono restituiti direttamente alle aggregazioni, senza copia.
+ * I conteggi per stato di tutte le righe sono mantenuti durante le aggiunte.
+ */
+class ColonnaStati {
+
+    private byte[][] blocchi = new byte[8][];
+    private long[] conteggi = new long[8];
+    private int righe;
+
+    void aggiungi(int riga, int stato) {
+        int blocco = riga >>> StoricoColonnare.BIT_BLOCCO;
+        if (blocco >= blocchi.length) {
+            blocchi = Arrays.copyOf(blocchi, blocchi.length * 2);
+        }
+        if (blocchi[blocco] == null) {
+            blocchi[blocco] = new byte[StoricoColonnare.DIMENSIONE_BLOCCO];
+        }
+        blocchi[blocco][riga & StoricoColonnare.MASCHERA_BLOCCO] = (byte) stato;
+        if (stato >= conteggi.length) {
+            conteggi = Arrays.copyOf(conteggi, stato + 1);
+        }
+        conteggi[stato]++;
+        righe = riga + 1;
+    }
+
+    byte[] blocco(int indice) {
+        return blocchi[indice];
+    }
+
+    /**
+     * Conta le righe per stato tra le prime "righe" righe: O(1) per tutte le
+     * righe, altrimenti una scansione dei blocchi.
+     *
+     * @param righe       Il numero di righe da considerare
+     * @param numeroStati Il numero di stati possibili
+     * @return Il conteggio per ordinal dello stato
+     */
+    long[] conta(int righe, int numeroStati) {
+        if (righe == this.righe) {
+            return Arrays.copyOf(conteggi, numeroStati);
+        }
+        long[] parziali = new long[numeroStati];
+        for (int riga = 0; riga < righe; riga++) {
+            parziali[blocchi[riga >>> StoricoColonnare.BIT_BLOCCO][riga & StoricoColonnare.MASCHERA_BLOCCO]]++;
+        }
+        return parziali;
+    }
+}
@@ -0,0 +1,99 @@
+package com.hackhub.storico;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import java.time.LocalDate;
+
+/**
+ * Classe che alimenta gli storici colonnari ascoltando gli eventi del modello.
+ *
+ * - Invito.accetta/rifiuta/scadi/setStato verso uno stato finale (ACCETTATO, RIFIUTATO
+ *   o SCADUTO): una riga in StoricoInviti
+ * - creazione di un'Iscrizione: una riga in StoricoIscrizioni con la data di iscrizione
+ * - Iscrizione.setStato/annulla: una riga in StoricoIscrizioni con la data corrente
+ */
+public class RegistratoreStorico implements AscoltatoreEventi {
+
+    /** Storico degli inviti */
+    private final StoricoInviti inviti;
+
+    /** Storico delle iscrizioni */
+    private final StoricoIscrizioni iscrizioni;
+
+    /**
+     * Costruttore della classe RegistratoreStorico.
+     *
+     * @param inviti     Lo storico degli inviti da alimentare
+     * @param iscrizioni Lo storico delle iscrizioni da alimentare
+     */
+    public RegistratoreStorico(StoricoInviti inviti, StoricoIscrizioni iscrizioni) {
+        this.inviti = inviti;
+        this.iscrizioni = iscrizioni;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce lo storico degli inviti.
+     *
+     * @return Lo storico degli inviti
+     */
+    public StoricoInviti getInviti() {
+        return inviti;
+    }
+
+    /**
+     * Restituisce lo storico delle iscrizioni.
+     *
+     * @return Lo storico delle iscrizioni
+     */
+    public StoricoIscrizioni getIscrizioni() {
+        return iscrizioni;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inizia a registrare le modifiche del modello negli storici.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Smette di registrare le modifiche del modello.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Registra negli storici l'evento ricevuto, se rilevante.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        Object sorgente = evento.getSorgente();
+        TipoEvento tipo = evento.getTipo();
+
+        if (sorgente instanceof Invito) {
+            if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())
+                    && evento.getValoreNuovo() != StatoInvito.IN_ATTESA) {
+                inviti.registra((Invito) sorgente);
+            }
+        } else if (sorgente instanceof Iscrizione) {
+            Iscrizione iscrizione = (Iscrizione) sorgente;
+            if (tipo == TipoEvento.CREAZIONE) {
+                iscrizioni.registra(iscrizione, iscrizione.getDataIscrizione());
+            } else if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())) {
+                iscrizioni.registra(iscrizione, LocalDate.now());
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackhub.storico;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Classe base degli storici colonnari in sola aggiunta.
+ *
+ * Le righe sono suddivise in blocchi di DIMENSIONE_BLOCCO elementi; ogni colonna
+ * memorizza i propri blocchi come array primitivi, senza un oggetto per riga.
+ * Le aggregazioni elaborano i blocchi in parallelo e combinano i risultati parziali.
+ *
+ * Le aggiunte acquisiscono il lock in scrittura, le aggregazioni quello in lettura:
+ * un'aggregazione vede sempre uno stato coerente delle colonne.
+ */
+public abstract class StoricoColonnare {
+
+    /** Logaritmo in base 2 della dimensione di un blocco */
+    static final int BIT_BLOCCO = 16;
+
+    /** Numero di righe per blocco */
+    static final int DIMENSIONE_BLOCCO = 1 << BIT_BLOCCO;
+
+    /** Maschera per la posizione di una riga nel suo blocco */
+    static final int MASCHERA_BLOCCO = DIMENSIONE_BLOCCO - 1;
+
+    /** Lock che separa le aggiunte dalle aggregazioni */
+    protected final ReadWriteLock lock;
+
+    /** Numero di righe memorizzate */
+    protected int numeroRighe;
+
+    /**
+     * Costruttore della classe StoricoColonnare.
+     */
+    protected StoricoColonnare() {
+        this.lock = new ReentrantReadWriteLock();
+        this.numeroRighe = 0;
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di righe memorizzate.
+     *
+     * @return Il numero di righe
+     */
+    public int getNumeroRighe() {
+        lock.readLock().lock();
+        try {
+            return numeroRighe;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Riserva la prossima riga; va invocato con il lock in scrittura acquisito.
+     *
+     * @return L'indice della nuova riga
+     * @throws IllegalStateException se lo storico ha raggiunto la capacita' massima
+     */
+    protected int nuovaRiga() {
+        if (numeroRighe == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Lo storico ha raggiunto il numero massimo di righe");
+        }
+        return numeroRighe++;
+    }
+
+    /**
+     * Applica una funzione a ogni blocco in parallelo e combina i risultati;
+     * va invocato con il lock in lettura acquisito.
+     *
+     * @param righe       Il numero di righe da elaborare
+     * @param perBlocco   Funzione che riceve l'indice del blocco e produce il risultato parziale
+     * @param combina     Funzione associativa che combina due risultati parziali
+     * @param vuoto       Il risultato quando non ci sono righe
+     * @param <T>         Il tipo del risultato
+     * @return Il risultato combinato
+     */
+    protected static <T> T perBlocchi(int righe, IntFunction<T> perBlocco, BinaryOperator<T> combina, T vuoto) {
+        int blocchi = (righe + MASCHERA_BLOCCO) >>> BIT_BLOCCO;
+        return IntStream.range(0, blocchi).parallel()
+                .mapToObj(perBlocco)
+                .reduce(combina)
+                .orElse(vuoto);
+    }
+
+    /**
+     * Restituisce il numero di righe di un blocco tra le prime "righe".
+     *
+     * @param blocco L'indice del blocco
+     * @param righe  Il numero di righe totali
+     * @return Il numero di righe occupate nel blocco
+     */
+    protected static int lunghezzaBlocco(int blocco, int righe) {
+        return Math.min(DIMENSIONE_BLOCCO, righe - (blocco << BIT_BLOCCO));
+    }
+}
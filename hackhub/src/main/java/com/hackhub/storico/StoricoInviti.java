@@ -0,0 +1,185 @@
+package com.hackhub.storico;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.model.Invito;
+
+/**
+ * Classe che conserva lo storico degli inviti in formato colonnare.
+ *
+ * Ogni riga registra un invito quando si conclude, con una risposta o con la
+ * scadenza, anche dopo che l'oggetto Invito e' uscito dal grafo del modello. Colonne:
+ * - idInvito, idTeam, idDestinatario: long
+ * - dataInvio, dataRisposta: giorni epoch a delta rispetto alla base del blocco
+ *   (per un invito scaduto dataRisposta e' la data di scadenza)
+ * - stato: un byte per riga
+ *
+ * Aggregazioni disponibili: conteggi per stato, tasso di accettazione
+ * e mediana dei giorni tra invio e accettazione. Gli inviti scaduti non sono
+ * risposte: restano fuori dal tasso di accettazione, come nella dashboard, e
+ * compaiono nel conteggio di SCADUTO.
+ */
+public class StoricoInviti extends StoricoColonnare {
+
+    /** Giorni oltre i quali i tempi di accettazione vengono accorpati nell'istogramma */
+    private static final int MASSIMO_GIORNI = 3660;
+
+    private static final int NUMERO_STATI = StatoInvito.values().length;
+
+    private final ColonnaLong idInviti;
+    private final ColonnaLong idTeam;
+    private final ColonnaLong idDestinatari;
+    private final ColonnaDate dateInvio;
+    private final ColonnaDate dateRisposta;
+    private final ColonnaStati stati;
+
+    /**
+     * Costruttore della classe StoricoInviti.
+     */
+    public StoricoInviti() {
+        this.idInviti = new ColonnaLong();
+        this.idTeam = new ColonnaLong();
+        this.idDestinatari = new ColonnaLong();
+        this.dateInvio = new ColonnaDate();
+        this.dateRisposta = new ColonnaDate();
+        this.stati = new ColonnaStati();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di inviti registrati in un certo stato.
+     *
+     * @param stato Lo stato
+     * @return Il numero di righe con quello stato
+     */
+    public long getConteggio(StatoInvito stato) {
+        lock.readLock().lock();
+        try {
+            return stati.conta(numeroRighe, NUMERO_STATI)[stato.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce la frazione degli inviti con risposta che sono stati accettati.
+     * Gli inviti scaduti non hanno ricevuto risposta e non entrano nel tasso.
+     *
+     * @return Il tasso di accettazione tra 0 e 1, 0 se nessun invito ha ricevuto risposta
+     */
+    public double getTassoAccettazione() {
+        lock.readLock().lock();
+        try {
+            long[] conteggi = stati.conta(numeroRighe, NUMERO_STATI);
+            long accettati = conteggi[StatoInvito.ACCETTATO.ordinal()];
+            long risposte = accettati + conteggi[StatoInvito.RIFIUTATO.ordinal()];
+            return risposte == 0 ? 0.0 : (double) accettati / risposte;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce la mediana dei giorni trascorsi tra invio e accettazione.
+     *
+     * I blocchi vengono elaborati in parallelo costruendo istogrammi locali dei giorni,
+     * poi sommati: la mediana si legge dall'istogramma senza ordinare le righe.
+     *
+     * @return La mediana in giorni, NaN se nessun invito e' stato accettato
+     */
+    public double getMedianaGiorniAccettazione() {
+        lock.readLock().lock();
+        try {
+            int righe = numeroRighe;
+            long[] istogramma = perBlocchi(righe, blocco -> istogrammaBlocco(blocco, righe),
+                    StoricoInviti::somma, new long[MASSIMO_GIORNI + 1]);
+            return mediana(istogramma);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra un invito nello storico.
+     *
+     * Precondizioni: l'invito ha ricevuto risposta o e' scaduto
+     * Postcondizioni: viene aggiunta una riga con lo stato e le date correnti dell'invito
+     *
+     * @param invito L'invito da registrare
+     * @throws IllegalArgumentException se l'invito e' null
+     * @throws IllegalStateException se l'invito e' ancora in attesa
+     */
+    public void registra(Invito invito) {
+        if (invito == null) {
+            throw new IllegalArgumentException("L'invito non puo' essere null");
+        }
+        if (invito.getStato() == StatoInvito.IN_ATTESA) {
+            throw new IllegalStateException("L'invito non ha ancora ricevuto risposta");
+        }
+        lock.writeLock().lock();
+        try {
+            int riga = nuovaRiga();
+            idInviti.aggiungi(riga, invito.getId());
+            idTeam.aggiungi(riga, invito.getTeam() != null ? invito.getTeam().getId() : -1L);
+            idDestinatari.aggiungi(riga, invito.getDestinatario() != null ? invito.getDestinatario().getId() : -1L);
+            dateInvio.aggiungi(riga, invito.getDataInvio());
+            dateRisposta.aggiungi(riga, invito.getDataRisposta());
+            stati.aggiungi(riga, invito.getStato().ordinal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] istogrammaBlocco(int blocco, int righe) {
+        int lunghezza = lunghezzaBlocco(blocco, righe);
+        int[] invio = new int[lunghezza];
+        int[] risposta = new int[lunghezza];
+        dateInvio.decodifica(blocco, lunghezza, invio);
+        dateRisposta.decodifica(blocco, lunghezza, risposta);
+        byte[] statiBlocco = stati.blocco(blocco);
+
+        long[] istogramma = new long[MASSIMO_GIORNI + 1];
+        byte accettato = (byte) StatoInvito.ACCETTATO.ordinal();
+        for (int i = 0; i < lunghezza; i++) {
+            if (statiBlocco[i] == accettato && risposta[i] != ColonnaDate.ASSENTE && invio[i] != ColonnaDate.ASSENTE) {
+                int giorni = Math.max(0, Math.min(MASSIMO_GIORNI, risposta[i] - invio[i]));
+                istogramma[giorni]++;
+            }
+        }
+        return istogramma;
+    }
+
+    private static long[] somma(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static double mediana(long[] istogramma) {
+        long totale = 0;
+        for (long conteggio : istogramma) {
+            totale += conteggio;
+        }
+        if (totale == 0) {
+            return Double.NaN;
+        }
+        // Posizioni (base 0) dei due elementi centrali; coincidono se il totale e' dispari
+        long basso = (totale - 1) / 2;
+        long alto = totale / 2;
+        int giornoBasso = -1;
+        long cumulato = 0;
+        for (int giorni = 0; giorni < istogramma.length; giorni++) {
+            cumulato += istogramma[giorni];
+            if (giornoBasso < 0 && cumulato > basso) {
+                giornoBasso = giorni;
+            }
+            if (cumulato > alto) {
+                return (giornoBasso + giorni) / 2.0;
+            }
+        }
+        return giornoBasso;
+    }
+}
@@ -0,0 +1,136 @@
+package com.hackhub.storico;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Iscrizione;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe che conserva lo storico delle iscrizioni in formato colonnare.
+ *
+ * Ogni riga registra un passaggio di stato di un'iscrizione: la creazione
+ * (CONFERMATA) e i cambi successivi (ANNULLATA, SQUALIFICATA). Colonne:
+ * - idIscrizione, idTeam, idHackathon: long
+ * - dataEvento: giorni epoch a delta rispetto alla base del blocco
+ * - stato: un byte per riga
+ *
+ * Aggregazioni disponibili: conteggi per stato, globali o per hackathon.
+ */
+public class StoricoIscrizioni extends StoricoColonnare {
+
+    private static final int NUMERO_STATI = StatoIscrizione.values().length;
+
+    private final ColonnaLong idIscrizioni;
+    private final ColonnaLong idTeam;
+    private final ColonnaLong idHackathon;
+    private final ColonnaDate dateEvento;
+    private final ColonnaStati stati;
+
+    /**
+     * Costruttore della classe StoricoIscrizioni.
+     */
+    public StoricoIscrizioni() {
+        this.idIscrizioni = new ColonnaLong();
+        this.idTeam = new ColonnaLong();
+        this.idHackathon = new ColonnaLong();
+        this.dateEvento = new ColonnaDate();
+        this.stati = new ColonnaStati();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di passaggi registrati verso un certo stato.
+     *
+     * @param stato Lo stato
+     * @return Il numero di righe con quello stato
+     */
+    public long getConteggio(StatoIscrizione stato) {
+        lock.readLock().lock();
+        try {
+            return stati.conta(numeroRighe, NUMERO_STATI)[stato.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di passaggi verso uno stato per ogni hackathon.
+     *
+     * I blocchi vengono elaborati in parallelo: ogni blocco decodifica i propri stati
+     * e conta gli id degli hackathon in una mappa locale, poi le mappe vengono unite.
+     *
+     * @param stato Lo stato da contare
+     * @return Mappa non modificabile id hackathon -> numero di righe
+     */
+    public Map<Long, Long> getConteggioPerHackathon(StatoIscrizione stato) {
+        lock.readLock().lock();
+        try {
+            int righe = numeroRighe;
+            byte cercato = (byte) stato.ordinal();
+            Map<Long, Long> conteggi = perBlocchi(righe, blocco -> contaBlocco(blocco, righe, cercato),
+                    StoricoIscrizioni::unisci, new HashMap<>());
+            return Collections.unmodifiableMap(conteggi);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di iscrizioni annullate per ogni hackathon.
+     *
+     * @return Mappa non modificabile id hackathon -> numero di annullamenti
+     */
+    public Map<Long, Long> getAnnullamentiPerHackathon() {
+        return getConteggioPerHackathon(StatoIscrizione.ANNULLATA);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra lo stato corrente di un'iscrizione nello storico.
+     *
+     * Postcondizioni: viene aggiunta una riga con lo stato corrente dell'iscrizione
+     *
+     * @param iscrizione L'iscrizione da registrare
+     * @param dataEvento La data del passaggio di stato
+     * @throws IllegalArgumentException se l'iscrizione o la data sono null
+     */
+    public void registra(Iscrizione iscrizione, LocalDate dataEvento) {
+        if (iscrizione == null || dataEvento == null) {
+            throw new IllegalArgumentException("L'iscrizione e la data non possono essere null");
+        }
+        lock.writeLock().lock();
+        try {
+            int riga = nuovaRiga();
+            idIscrizioni.aggiungi(riga, iscrizione.getId());
+            idTeam.aggiungi(riga, iscrizione.getTeam() != null ? iscrizione.getTeam().getId() : -1L);
+            idHackathon.aggiungi(riga, iscrizione.getHackathon() != null ? iscrizione.getHackathon().getId() : -1L);
+            dateEvento.aggiungi(riga, dataEvento);
+            stati.aggiungi(riga, iscrizione.getStato().ordinal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Long> contaBlocco(int blocco, int righe, byte cercato) {
+        int lunghezza = lunghezzaBlocco(blocco, righe);
+        byte[] statiBlocco = stati.blocco(blocco);
+        long[] hackathon = idHackathon.blocco(blocco);
+
+        Map<Long, Long> conteggi = new HashMap<>();
+        for (int i = 0; i < lunghezza; i++) {
+            if (statiBlocco[i] == cercato) {
+                conteggi.merge(hackathon[i], 1L, Long::sum);
+            }
+        }
+        return conteggi;
+    }
+
+    private static Map<Long, Long> unisci(Map<Long, Long> a, Map<Long, Long> b) {
+        b.forEach((id, conteggio) -> a.merge(id, conteggio, Long::sum));
+        return a;
+    }
+}
@@ -0,0 +1,294 @@
+package com.hackhub.unicita;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro di Bloom scalabile: risponde "sicuramente assente" o "forse presente"
+ * per un insieme di chiavi che cresce senza un limite noto in anticipo.
+ *
+ * Il filtro e' una serie di livelli. Quando l'ultimo livello raggiunge la
+ * propria capacita' ne viene aggiunto uno di capacita' doppia e con probabilita'
+ * di falso positivo dimezzata, quindi la probabilita' complessiva resta sotto
+ * il doppio di quella del primo livello. Le chiavi vengono aggiunte all'ultimo
+ * livello e cercate in tutti.
+ *
+ * Ogni livello e' diviso in blocchi di 8 long (una linea di cache): una chiave
+ * sceglie un blocco e imposta un bit in ciascuno degli 8 long, quindi una
+ * verifica legge una sola linea di cache invece di k posizioni sparse.
+ * L'hash parte da String.hashCode(), definito dalla specifica e quindi stabile
+ * tra esecuzioni, e gia' in cache quando la stessa stringa viene poi cercata
+ * nell'indice esatto. I bit stanno in un AtomicLongArray: aggiunte e ricerche
+ * concorrenti non richiedono lock; solo l'aggiunta di un livello e' sincronizzata.
+ *
+ * Le chiavi non si possono togliere: dopo molte rimozioni il filtro va ricostruito.
+ */
+public class FiltroBloomScalabile {
+
+    /** Rapporto tra le probabilita' di falso positivo di due livelli consecutivi */
+    private static final double RAPPORTO_ERRORE = 0.5;
+
+    /** Rapporto tra le capacita' di due livelli consecutivi */
+    private static final int CRESCITA = 2;
+
+    /** Livelli del filtro, sostituito a ogni aggiunta di livello */
+    private volatile Livello[] livelli;
+
+    /** Probabilita' di falso positivo del primo livello */
+    private final double errore;
+
+    /**
+     * Costruttore della classe FiltroBloomScalabile.
+     *
+     * @param capacitaIniziale Il numero di chiavi del primo livello
+     * @param errore           La probabilita' di falso positivo del primo livello (tra 0 e 1 esclusi)
+     * @throws IllegalArgumentException se la capacita' non e' positiva o l'errore non e' valido
+     */
+    public FiltroBloomScalabile(int capacitaIniziale, double errore) {
+        if (capacitaIniziale <= 0) {
+            throw new IllegalArgumentException("La capacita' iniziale deve essere positiva");
+        }
+        if (!(errore > 0 && errore < 1)) {
+            throw new IllegalArgumentException("La probabilita' di falso positivo deve essere tra 0 e 1");
+        }
+        this.errore = errore;
+        this.livelli = new Livello[] {new Livello(capacitaIniziale, errore)};
+    }
+
+    private FiltroBloomScalabile(double errore, Livello[] livelli) {
+        this.errore = errore;
+        this.livelli = livelli;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getNumeroLivelli() {
+        return livelli.length;
+    }
+
+    /**
+     * Restituisce il numero di chiavi aggiunte, contando piu' volte quelle ripetute.
+     *
+     * @return Il numero di aggiunte
+     */
+    public long getNumeroChiavi() {
+        long totale = 0;
+        for (Livello livello : livelli) {
+            totale += livello.elementi.get();
+        }
+        return totale;
+    }
+
+    /**
+     * Restituisce la memoria occupata dai bit di tutti i livelli.
+     *
+     * @return I byte occupati
+     */
+    public long getByte() {
+        long totale = 0;
+        for (Livello livello : livelli) {
+            totale += (long) livello.bit.length() * Long.BYTES;
+        }
+        return totale;
+    }
+
+    /**
+     * Stima la probabilita' di falso positivo attuale dal riempimento dei livelli.
+     *
+     * @return La probabilita' stimata
+     */
+    public double getProbabilitaFalsoPositivo() {
+        double nessunFalso = 1;
+        for (Livello livello : livelli) {
+            nessunFalso *= 1 - livello.probabilitaFalsoPositivo();
+        }
+        return 1 - nessunFalso;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Aggiunge una chiave.
+     *
+     * @param chiave La chiave (gia' normalizzata)
+     */
+    public void aggiungi(String chiave) {
+        long h = hash(chiave);
+        Livello[] correnti = livelli;
+        Livello ultimo = correnti[correnti.length - 1];
+        if (ultimo.elementi.get() >= ultimo.capacita) {
+            ultimo = nuovoLivello(correnti);
+        }
+        ultimo.aggiungi(h);
+        ultimo.elementi.incrementAndGet();
+    }
+
+    /**
+     * Verifica se una chiave puo' essere stata aggiunta.
+     *
+     * @param chiave La chiave (gia' normalizzata)
+     * @return false se la chiave non e' mai stata aggiunta; true se lo e' stata o per un falso positivo
+     */
+    public boolean forseContiene(String chiave) {
+        long h = hash(chiave);
+        for (Livello livello : livelli) {
+            if (livello.contiene(h)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scrive il filtro.
+     *
+     * @param uscita Lo stream di destinazione
+     * @throws IOException se la scrittura fallisce
+     */
+    public void scrivi(DataOutputStream uscita) throws IOException {
+        Livello[] correnti = livelli;
+        uscita.writeDouble(errore);
+        uscita.writeInt(correnti.length);
+        for (Livello livello : correnti) {
+            uscita.writeInt(livello.capacita);
+            uscita.writeInt(livello.elementi.get());
+            uscita.writeInt(livello.bit.length());
+            for (int i = 0; i < livello.bit.length(); i++) {
+                uscita.writeLong(livello.bit.get(i));
+            }
+        }
+    }
+
+    /**
+     * Legge un filtro scritto da scrivi().
+     *
+     * @param ingresso Lo stream di origine
+     * @return Il filtro
+     * @throws IOException se la lettura fallisce o il filtro non e' valido
+     */
+    public static FiltroBloomScalabile leggi(DataInputStream ingresso) throws IOException {
+        double errore = ingresso.readDouble();
+        int numeroLivelli = ingresso.readInt();
+        if (!(errore > 0 && errore < 1) || numeroLivelli <= 0 || numeroLivelli > 64) {
+            throw new IOException("Filtro non valido: " + numeroLivelli + " livelli, errore " + errore);
+        }
+        Livello[] livelli = new Livello[numeroLivelli];
+        for (int l = 0; l < numeroLivelli; l++) {
+            int capacita = ingresso.readInt();
+            int elementi = ingresso.readInt();
+            int parole = ingresso.readInt();
+            if (capacita <= 0 || elementi < 0 || parole <= 0 || parole % Livello.PAROLE_BLOCCO != 0) {
+                throw new IOException("Livello " + l + " del filtro non valido");
+            }
+            long[] bit = new long[parole];
+            for (int i = 0; i < parole; i++) {
+                bit[i] = ingresso.readLong();
+            }
+            livelli[l] = new Livello(capacita, elementi, bit);
+        }
+        return new FiltroBloomScalabile(errore, livelli);
+    }
+
+    private synchronized Livello nuovoLivello(Livello[] visti) {
+        Livello[] correnti = livelli;
+        if (correnti != visti) {
+            // Un altro thread ha gia' aggiunto il livello
+            return correnti[correnti.length - 1];
+        }
+        Livello ultimo = correnti[correnti.length - 1];
+        int capacita = (int) Math.min(Integer.MAX_VALUE / 64, (long) ultimo.capacita * CRESCITA);
+        double erroreLivello = errore * Math.pow(RAPPORTO_ERRORE, correnti.length);
+        Livello nuovo = new Livello(capacita, erroreLivello);
+        Livello[] aggiornati = Arrays.copyOf(correnti, correnti.length + 1);
+        aggiornati[correnti.length] = nuovo;
+        livelli = aggiornati;
+        return nuovo;
+    }
+
+    /**
+     * Hash a 64 bit di una stringa, ottenuto mescolando String.hashCode().
+     */
+    static long hash(String chiave) {
+        return mescola(chiave.hashCode() * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Funzione di mescolamento di SplitMix64.
+     */
+    private static long mescola(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Livello del filtro: un filtro di Bloom a blocchi di capacita' fissa.
+     */
+    private static final class Livello {
+
+        /** Long per blocco: un bit impostato in ciascuno */
+        private static final int PAROLE_BLOCCO = 8;
+
+        /** Costanti dispari che ricavano dall'hash il bit di ciascun long del blocco */
+        private static final long[] SALI = {
+            0x47B6137B44974D91L, 0x8824AD5BA2B7289DL, 0x705495C72DF1424BL, 0x9EFC49475C6BFB31L,
+            0xD6E8FEB86659FD93L, 0xA0761D6478BD642FL, 0xE7037ED1A0B428DBL, 0x8EBC6AF09C88C6E3L
+        };
+
+        private final int capacita;
+        private final int numeroBlocchi;
+        private final AtomicLongArray bit;
+        private final AtomicInteger elementi;
+
+        private Livello(int capacita, double errore) {
+            // Bit di un filtro classico, m = -n ln p / (ln 2)^2, piu' un quarto per
+            // compensare il riempimento non uniforme dei blocchi
+            this(capacita, 0, new long[PAROLE_BLOCCO * (int) Math.max(1, Math.ceil(
+                -capacita * Math.log(errore) / (Math.log(2) * Math.log(2)) * 1.25 / (64 * PAROLE_BLOCCO)))]);
+        }
+
+        private Livello(int capacita, int elementi, long[] bit) {
+            this.capacita = capacita;
+            this.numeroBlocchi = bit.length / PAROLE_BLOCCO;
+            this.bit = new AtomicLongArray(bit);
+            this.elementi = new AtomicInteger(elementi);
+        }
+
+        private void aggiungi(long h) {
+            int base = blocco(h);
+            for (int i = 0; i < PAROLE_BLOCCO; i++) {
+                long maschera = 1L << ((h * SALI[i]) >>> 58);
+                if ((bit.get(base + i) & maschera) == 0) {
+                    bit.accumulateAndGet(base + i, maschera, (a, b) -> a | b);
+                }
+            }
+        }
+
+        private boolean contiene(long h) {
+            int base = blocco(h);
+            for (int i = 0; i < PAROLE_BLOCCO; i++) {
+                if ((bit.get(base + i) & (1L << ((h * SALI[i]) >>> 58))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Primo long del blocco della chiave, dai 32 bit alti dell'hash (moltiplicazione invece del modulo).
+         */
+        private int blocco(long h) {
+            return (int) (((h >>> 32) * numeroBlocchi) >>> 32) * PAROLE_BLOCCO;
+        }
+
+        private double probabilitaFalsoPositivo() {
+            // Ogni long del blocco riceve in media n / blocchi bit; un falso positivo li trova tutti e 8 gia' impostati
+            double pieno = 1 - Math.pow(1 - 1.0 / 64, (double) elementi.get() / numeroBlocchi);
+            return Math.pow(pieno, PAROLE_BLOCCO);
+        }
+    }
+}
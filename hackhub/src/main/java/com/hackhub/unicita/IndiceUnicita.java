@@ -0,0 +1,216 @@
+package com.hackhub.unicita;
+
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Team;
+import com.hackhub.model.UtenteAstratto;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Classe che tiene i registri di unicita' dei nomi dei team e delle email.
+ *
+ * Con attiva() i registri seguono gli eventi del modello:
+ * - creazione di un Team o di un utente: il nome o l'email vengono registrati,
+ *   se liberi (le copie di un utente create da creaTeam hanno la stessa email
+ *   e non la registrano di nuovo)
+ * - Team.setNome / UtenteAstratto.setEmail: la chiave precedente viene
+ *   rilasciata e quella nuova registrata
+ * Chi deve rifiutare un nome gia' usato lo verifica prima con isNomeTeamUsato()
+ * o isEmailRegistrata(), oppure passa comeInsieme() a ImportatoreCsv.
+ *
+ * I registri si salvano nella cartella del modello (FILE_UNICITA): prima i
+ * filtri, poi le chiavi. apri() legge subito i filtri e carica le chiavi in
+ * background, quindi le verifiche negative sono disponibili appena aperto il file.
+ */
+public class IndiceUnicita implements AscoltatoreEventi {
+
+    /** Nome del file dei registri nella cartella del modello */
+    public static final String FILE_UNICITA = "unicita.dat";
+
+    static final int MAGIA = 0x48485543;
+    static final int VERSIONE = 1;
+
+    private final RegistroUnicita nomiTeam;
+    private final RegistroUnicita email;
+
+    /**
+     * Costruttore della classe IndiceUnicita, con registri vuoti.
+     */
+    public IndiceUnicita() {
+        this(new RegistroUnicita(), new RegistroUnicita());
+    }
+
+    private IndiceUnicita(RegistroUnicita nomiTeam, RegistroUnicita email) {
+        this.nomiTeam = nomiTeam;
+        this.email = email;
+    }
+
+    // ==================== GETTER ====================
+
+    public RegistroUnicita getNomiTeam() {
+        return nomiTeam;
+    }
+
+    public RegistroUnicita getEmail() {
+        return email;
+    }
+
+    /**
+     * Verifica se un nome di team e' gia' usato.
+     *
+     * @param nome Il nome del team
+     * @return true se un team ha gia' questo nome (senza distinguere maiuscole e minuscole)
+     */
+    public boolean isNomeTeamUsato(String nome) {
+        return nomiTeam.isPresente(nome);
+    }
+
+    /**
+     * Verifica se un'email e' gia' registrata.
+     *
+     * @param indirizzo L'email
+     * @return true se un utente ha gia' questa email (senza distinguere maiuscole e minuscole)
+     */
+    public boolean isEmailRegistrata(String indirizzo) {
+        return email.isPresente(indirizzo);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Attiva l'aggiornamento dei registri con gli eventi del modello.
+     * Le entita' gia' esistenti vanno caricate prima con indicizza().
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Disattiva l'aggiornamento dei registri.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Registra i nomi dei team e le email degli utenti esistenti.
+     * A parita' di chiave la mantiene la prima entita' incontrata.
+     *
+     * @param team   I team esistenti
+     * @param utenti Gli utenti esistenti
+     */
+    public void indicizza(Iterable<Team> team, Iterable<? extends UtenteAstratto> utenti) {
+        for (Team t : team) {
+            if (t.getNome() != null) {
+                nomiTeam.riserva(t.getNome(), t.getId());
+            }
+        }
+        for (UtenteAstratto utente : utenti) {
+            if (utente.getEmail() != null) {
+                email.riserva(utente.getEmail(), utente.getId());
+            }
+        }
+    }
+
+    @Override
+    public void gestisciEvento(EventoModello evento) {
+        Object sorgente = evento.getSorgente();
+        if (sorgente instanceof Team) {
+            Team team = (Team) sorgente;
+            aggiorna(nomiTeam, evento, "nome", team.getNome(), team.getId());
+        } else if (sorgente instanceof UtenteAstratto) {
+            UtenteAstratto utente = (UtenteAstratto) sorgente;
+            aggiorna(email, evento, "email", utente.getEmail(), utente.getId());
+        }
+    }
+
+    private static void aggiorna(RegistroUnicita registro, EventoModello evento, String campo, String attuale,
+                                 long id) {
+        if (evento.getTipo() == TipoEvento.CREAZIONE) {
+            if (attuale != null) {
+                registro.riserva(attuale, id);
+            }
+        } else if (evento.getTipo() == TipoEvento.MODIFICA && campo.equals(evento.getCampo())) {
+            Object precedente = evento.getValorePrecedente();
+            if (precedente != null) {
+                registro.rilascia((String) precedente, id);
+            }
+            if (evento.getValoreNuovo() != null) {
+                registro.riserva((String) evento.getValoreNuovo(), id);
+            }
+        }
+    }
+
+    // ==================== PERSISTENZA ====================
+
+    /**
+     * Salva i registri nella cartella del modello, ricostruendo prima i filtri.
+     * Il file viene scritto accanto a quello esistente e poi sostituito.
+     *
+     * @param cartella La cartella del modello
+     * @throws IOException se il file non puo' essere scritto
+     */
+    public void salva(Path cartella) throws IOException {
+        nomiTeam.ricostruisci();
+        email.ricostruisci();
+        Files.createDirectories(cartella);
+        Path temporaneo = cartella.resolve(FILE_UNICITA + ".tmp");
+        try (DataOutputStream uscita = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaneo), 1 << 16))) {
+            uscita.writeInt(MAGIA);
+            uscita.writeInt(VERSIONE);
+            nomiTeam.scriviFiltro(uscita);
+            email.scriviFiltro(uscita);
+            nomiTeam.scriviChiavi(uscita);
+            email.scriviChiavi(uscita);
+        }
+        Files.move(temporaneo, cartella.resolve(FILE_UNICITA),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Apre i registri salvati: i filtri vengono letti subito, le chiavi in background.
+     *
+     * @param cartella La cartella del modello
+     * @return L'indice, con le verifiche negative gia' disponibili
+     * @throws IOException se il file non puo' essere letto o i filtri non sono validi
+     */
+    public static IndiceUnicita apri(Path cartella) throws IOException {
+        Path file = cartella.resolve(FILE_UNICITA);
+        DataInputStream ingresso = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        IndiceUnicita indice;
+        try {
+            if (ingresso.readInt() != MAGIA || ingresso.readInt() != VERSIONE) {
+                throw new IOException("Registro di unicita' non valido: " + file);
+            }
+            indice = new IndiceUnicita(RegistroUnicita.conFiltro(ingresso), RegistroUnicita.conFiltro(ingresso));
+        } catch (IOException | RuntimeException e) {
+            ingresso.close();
+            throw e;
+        }
+        Thread caricamento = new Thread(() -> indice.caricaChiavi(ingresso, file), "hackhub-unicita");
+        caricamento.setDaemon(true);
+        caricamento.start();
+        return indice;
+    }
+
+    private void caricaChiavi(DataInputStream ingresso, Path file) {
+        try (ingresso) {
+            nomiTeam.leggiChiavi(ingresso);
+            email.leggiChiavi(ingresso);
+        } catch (IOException e) {
+            IOException errore = new IOException("Chiavi non leggibili da " + file, e);
+            nomiTeam.caricamentoFallito(errore);
+            email.caricamentoFallito(errore);
+        }
+    }
+}
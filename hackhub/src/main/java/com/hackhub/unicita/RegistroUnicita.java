@@ -0,0 +1,378 @@
+package com.hackhub.unicita;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classe che garantisce l'unicita' di un insieme di chiavi (nomi di team o email),
+ * ciascuna associata all'id dell'entita' che la possiede.
+ *
+ * Davanti all'indice esatto, una ConcurrentHashMap, c'e' un FiltroBloomScalabile:
+ * la maggior parte delle verifiche riguarda chiavi libere e riceve la risposta
+ * dal filtro senza toccare l'indice. Solo le chiavi "forse presenti" vengono
+ * cercate nell'indice; quelle che non ci sono sono falsi positivi.
+ *
+ * Una chiave viene aggiunta al filtro prima che all'indice, quindi una chiave
+ * presente nell'indice e' sempre anche nel filtro. Le chiavi rilasciate restano
+ * nel filtro e ne aumentano i falsi positivi finche' non si chiama ricostruisci(),
+ * che e' l'unica operazione a escludere le altre scritture.
+ *
+ * Un registro aperto da file ha subito il filtro, mentre l'indice esatto viene
+ * caricato in background: le risposte negative non lo attendono, quelle che
+ * passano dal filtro si.
+ *
+ * Una chiave puo' anche essere prenotata da chi creera' l'entita' in seguito
+ * (es. ImportatoreCsv dopo la validazione): la prenotazione occupa la chiave con
+ * l'id PRENOTAZIONE e passa all'entita' quando questa la riserva.
+ *
+ * Le chiavi vengono normalizzate eliminando gli spazi ai lati e passando in minuscolo.
+ */
+public class RegistroUnicita {
+
+    /** Id delle chiavi prenotate (gli id delle entita' partono da 1) */
+    public static final long PRENOTAZIONE = 0L;
+
+    /** Capacita' del primo livello di un filtro nuovo */
+    private static final int CAPACITA_INIZIALE = 1 << 16;
+
+    /** Probabilita' di falso positivo del primo livello */
+    private static final double ERRORE = 0.01;
+
+    /** Filtro davanti all'indice, sostituito da ricostruisci() */
+    private volatile FiltroBloomScalabile filtro;
+
+    /** Indice esatto: chiave normalizzata e id del proprietario */
+    private final Map<String, Long> indice;
+
+    /** Aperto quando l'indice esatto e' completo */
+    private final CountDownLatch caricato;
+
+    /** Errore del caricamento in background, se fallito */
+    private volatile IOException erroreCaricamento;
+
+    /** Letto da riserva e rilascia, scritto da ricostruisci */
+    private final ReadWriteLock ricostruzione;
+
+    private final LongAdder verifiche;
+    private final LongAdder negativeDalFiltro;
+    private final LongAdder falsiPositivi;
+    private final AtomicInteger rilasciate;
+
+    /**
+     * Costruttore della classe RegistroUnicita, con un registro vuoto.
+     */
+    public RegistroUnicita() {
+        this(new FiltroBloomScalabile(CAPACITA_INIZIALE, ERRORE));
+        caricato.countDown();
+    }
+
+    private RegistroUnicita(FiltroBloomScalabile filtro) {
+        this.filtro = filtro;
+        this.indice = new ConcurrentHashMap<>();
+        this.caricato = new CountDownLatch(1);
+        this.ricostruzione = new ReentrantReadWriteLock();
+        this.verifiche = new LongAdder();
+        this.negativeDalFiltro = new LongAdder();
+        this.falsiPositivi = new LongAdder();
+        this.rilasciate = new AtomicInteger();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce il numero di chiavi registrate.
+     *
+     * @return Il numero di chiavi, attendendo il caricamento dell'indice
+     */
+    public int getDimensione() {
+        attendi();
+        return indice.size();
+    }
+
+    /**
+     * Verifica se l'indice esatto e' stato caricato.
+     *
+     * @return true se le verifiche positive non devono piu' attendere
+     */
+    public boolean isCaricato() {
+        return caricato.getCount() == 0;
+    }
+
+    public FiltroBloomScalabile getFiltro() {
+        return filtro;
+    }
+
+    public long getVerifiche() {
+        return verifiche.sum();
+    }
+
+    /**
+     * Restituisce il numero di verifiche a cui ha risposto il solo filtro.
+     *
+     * @return Le verifiche con risposta negativa dal filtro
+     */
+    public long getNegativeDalFiltro() {
+        return negativeDalFiltro.sum();
+    }
+
+    /**
+     * Restituisce il numero di verifiche passate dal filtro per chiavi non registrate.
+     *
+     * @return I falsi positivi del filtro
+     */
+    public long getFalsiPositivi() {
+        return falsiPositivi.sum();
+    }
+
+    /**
+     * Restituisce il numero di chiavi rilasciate dall'ultima ricostruzione del filtro.
+     *
+     * @return Le chiavi rilasciate ancora presenti nel filtro
+     */
+    public int getRilasciate() {
+        return rilasciate.get();
+    }
+
+    /**
+     * Restituisce l'id del proprietario di una chiave.
+     *
+     * @param chiave La chiave
+     * @return L'id, o null se la chiave e' libera
+     */
+    public Long getId(String chiave) {
+        String normalizzata = normalizza(chiave);
+        if (!filtro.forseContiene(normalizzata)) {
+            return null;
+        }
+        attendi();
+        return indice.get(normalizzata);
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Verifica se una chiave e' gia' registrata.
+     *
+     * @param chiave La chiave
+     * @return true se la chiave appartiene a un'entita'
+     */
+    public boolean isPresente(String chiave) {
+        String normalizzata = normalizza(chiave);
+        verifiche.increment();
+        if (!filtro.forseContiene(normalizzata)) {
+            negativeDalFiltro.increment();
+            return false;
+        }
+        attendi();
+        if (indice.containsKey(normalizzata)) {
+            return true;
+        }
+        falsiPositivi.increment();
+        return false;
+    }
+
+    /**
+     * Registra una chiave per un'entita', se e' libera.
+     *
+     * @param chiave La chiave
+     * @param id     L'id dell'entita' proprietaria
+     * @return true se la chiave e' ora dell'entita' (anche se lo era gia' o era prenotata),
+     *         false se e' di un'altra
+     */
+    public boolean riserva(String chiave, long id) {
+        String normalizzata = normalizza(chiave);
+        attendi();
+        ricostruzione.readLock().lock();
+        try {
+            filtro.aggiungi(normalizzata);
+            Long precedente = indice.putIfAbsent(normalizzata, id);
+            if (precedente != null && precedente == PRENOTAZIONE && id != PRENOTAZIONE) {
+                // La prenotazione passa all'entita' creata
+                indice.replace(normalizzata, PRENOTAZIONE, id);
+                return Long.valueOf(id).equals(indice.get(normalizzata));
+            }
+            return precedente == null || precedente == id;
+        } finally {
+            ricostruzione.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prenota una chiave libera per un'entita' non ancora creata.
+     *
+     * @param chiave La chiave
+     * @return true se la chiave era libera ed e' ora prenotata, false se e' gia' occupata o prenotata
+     */
+    public boolean prenota(String chiave) {
+        String normalizzata = normalizza(chiave);
+        attendi();
+        ricostruzione.readLock().lock();
+        try {
+            filtro.aggiungi(normalizzata);
+            return indice.putIfAbsent(normalizzata, PRENOTAZIONE) == null;
+        } finally {
+            ricostruzione.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libera una chiave, se appartiene all'entita' indicata.
+     *
+     * @param chiave La chiave
+     * @param id     L'id dell'entita' proprietaria
+     * @return true se la chiave e' stata liberata
+     */
+    public boolean rilascia(String chiave, long id) {
+        String normalizzata = normalizza(chiave);
+        attendi();
+        ricostruzione.readLock().lock();
+        try {
+            if (indice.remove(normalizzata, id)) {
+                rilasciate.incrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            ricostruzione.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ricostruisce il filtro dalle chiavi registrate, dimensionandolo sul loro numero.
+     * Elimina i falsi positivi dovuti alle chiavi rilasciate; le verifiche continuano
+     * sul filtro precedente, le registrazioni attendono la fine.
+     */
+    public void ricostruisci() {
+        attendi();
+        ricostruzione.writeLock().lock();
+        try {
+            FiltroBloomScalabile nuovo = new FiltroBloomScalabile(
+                Math.max(CAPACITA_INIZIALE, indice.size() + indice.size() / 4), ERRORE);
+            for (String chiave : indice.keySet()) {
+                nuovo.aggiungi(chiave);
+            }
+            filtro = nuovo;
+            rilasciate.set(0);
+        } finally {
+            ricostruzione.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce una vista delle chiavi registrate, la cui contains() passa dal filtro.
+     * Serve a chi si aspetta un insieme di chiavi gia' normalizzate, come ImportatoreCsv.
+     * add() prenota una chiave libera e remove() annulla solo una prenotazione:
+     * le chiavi delle entita' esistenti non si tolgono dalla vista.
+     *
+     * @return La vista
+     */
+    public Set<String> comeInsieme() {
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(Object chiave) {
+                return chiave instanceof String && isPresente((String) chiave);
+            }
+
+            @Override
+            public boolean add(String chiave) {
+                return prenota(chiave);
+            }
+
+            @Override
+            public boolean remove(Object chiave) {
+                return chiave instanceof String && rilascia((String) chiave, PRENOTAZIONE);
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                attendi();
+                return Collections.unmodifiableSet(indice.keySet()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return getDimensione();
+            }
+        };
+    }
+
+    /**
+     * Normalizza una chiave come fa il registro.
+     *
+     * @param chiave La chiave
+     * @return La chiave senza spazi ai lati e in minuscolo
+     * @throws IllegalArgumentException se la chiave e' null
+     */
+    public static String normalizza(String chiave) {
+        if (chiave == null) {
+            throw new IllegalArgumentException("La chiave non puo' essere null");
+        }
+        return chiave.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== PERSISTENZA ====================
+
+    void scriviFiltro(DataOutputStream uscita) throws IOException {
+        filtro.scrivi(uscita);
+    }
+
+    void scriviChiavi(DataOutputStream uscita) throws IOException {
+        attendi();
+        Map<String, Long> copia = Map.copyOf(indice);
+        uscita.writeInt(copia.size());
+        for (Map.Entry<String, Long> voce : copia.entrySet()) {
+            uscita.writeUTF(voce.getKey());
+            uscita.writeLong(voce.getValue());
+        }
+    }
+
+    /**
+     * Crea un registro con il filtro salvato e l'indice ancora da caricare con leggiChiavi().
+     */
+    static RegistroUnicita conFiltro(DataInputStream ingresso) throws IOException {
+        return new RegistroUnicita(FiltroBloomScalabile.leggi(ingresso));
+    }
+
+    void leggiChiavi(DataInputStream ingresso) throws IOException {
+        int numero = ingresso.readInt();
+        if (numero < 0) {
+            throw new IOException("Numero di chiavi non valido: " + numero);
+        }
+        for (int i = 0; i < numero; i++) {
+            indice.put(ingresso.readUTF(), ingresso.readLong());
+        }
+        caricato.countDown();
+    }
+
+    void caricamentoFallito(IOException errore) {
+        erroreCaricamento = errore;
+        caricato.countDown();
+    }
+
+    private void attendi() {
+        if (caricato.getCount() > 0) {
+            try {
+                caricato.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Attesa dell'indice delle chiavi interrotta", e);
+            }
+        }
+        if (erroreCaricamento != null) {
+            throw new IllegalStateException("Indice delle chiavi non disponibile", erroreCaricamento);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackhub.valutazione;
+
+/**
+ * Classe che rappresenta l'esito di una singola verifica automatica.
+ */
+public class EsitoVerifica {
+
+    /** Nome della verifica */
+    private final String verifica;
+
+    /** Indica se la verifica e' stata superata */
+    private final boolean superata;
+
+    /** Messaggio descrittivo (motivo del fallimento o note) */
+    private final String messaggio;
+
+    /**
+     * Costruttore della classe EsitoVerifica.
+     *
+     * @param verifica  Il nome della verifica
+     * @param superata  true se la verifica e' superata
+     * @param messaggio Il messaggio descrittivo
+     */
+    public EsitoVerifica(String verifica, boolean superata, String messaggio) {
+        this.verifica = verifica;
+        this.superata = superata;
+        this.messaggio = messaggio;
+    }
+
+    // ==================== GETTER ====================
+
+    public String getVerifica() {
+        return verifica;
+    }
+
+    public boolean isSuperata() {
+        return superata;
+    }
+
+    public String getMessaggio() {
+        return messaggio;
+    }
+
+    @Override
+    public String toString() {
+        return verifica + ": " + (superata ? "OK" : "KO") + (messaggio != null ? " - " + messaggio : "");
+    }
+}
@@ -0,0 +1,149 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.model.Sottomissione;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classe che traccia l'avanzamento delle verifiche automatiche di una sottomissione.
+ *
+ * Lo stato della sottomissione viene aggiornato dal PoolValutazione; il lavoro
+ * espone in piu' il numero di verifiche completate, i loro esiti e l'eventuale
+ * motivo di interruzione.
+ */
+public class LavoroValutazione {
+
+    /** Sottomissione da verificare */
+    private final Sottomissione sottomissione;
+
+    /** Numero totale di verifiche previste */
+    private final int verificheTotali;
+
+    /** Esiti delle verifiche completate, in ordine di esecuzione */
+    private final List<EsitoVerifica> esiti;
+
+    /** Motivo dell'interruzione (null se il lavoro non e' stato interrotto) */
+    private volatile String motivoInterruzione;
+
+    /** Indica se il lavoro e' stato interrotto per timeout */
+    private volatile boolean scaduto;
+
+    /** Esecuzione del lavoro nel pool */
+    private volatile Future<?> esecuzione;
+
+    /** Indica se il lavoro e' stato preso dal suo thread o chiuso prima dell'avvio */
+    private final AtomicBoolean preso;
+
+    /** Indica se lo stato finale della sottomissione e' stato impostato */
+    private boolean terminato;
+
+    /**
+     * Costruttore della classe LavoroValutazione.
+     *
+     * @param sottomissione   La sottomissione da verificare
+     * @param verificheTotali Il numero di verifiche previste
+     */
+    LavoroValutazione(Sottomissione sottomissione, int verificheTotali) {
+        this.sottomissione = sottomissione;
+        this.verificheTotali = verificheTotali;
+        this.esiti = new CopyOnWriteArrayList<>();
+        this.preso = new AtomicBoolean();
+    }
+
+    // ==================== GETTER ====================
+
+    public Sottomissione getSottomissione() {
+        return sottomissione;
+    }
+
+    public List<EsitoVerifica> getEsiti() {
+        return List.copyOf(esiti);
+    }
+
+    public String getMotivoInterruzione() {
+        return motivoInterruzione;
+    }
+
+    public boolean isScaduto() {
+        return scaduto;
+    }
+
+    /**
+     * Restituisce la frazione di verifiche completate.
+     *
+     * @return L'avanzamento (0 - 1)
+     */
+    public double getAvanzamento() {
+        return verificheTotali == 0 ? 1 : (double) esiti.size() / verificheTotali;
+    }
+
+    /**
+     * Verifica se il lavoro e' terminato (completato, interrotto o annullato).
+     * Un lavoro annullato mentre una verifica e' in corso termina solo quando
+     * la verifica restituisce il controllo al pool.
+     *
+     * @return true se il lavoro e' terminato
+     */
+    public synchronized boolean isTerminato() {
+        return terminato;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Annulla il lavoro: se e' in coda non verra' eseguito, se e' in corso
+     * il thread che lo esegue viene interrotto.
+     *
+     * @return true se il lavoro e' stato annullato
+     */
+    public boolean annulla() {
+        return interrompi("Annullato", false);
+    }
+
+    synchronized boolean interrompi(String motivo, boolean perTimeout) {
+        Future<?> corrente = esecuzione;
+        if (terminato || corrente == null || corrente.isDone()) {
+            return false;
+        }
+        motivoInterruzione = motivo;
+        scaduto = perTimeout;
+        return corrente.cancel(true);
+    }
+
+    /**
+     * Prende in carico la chiusura del lavoro: la chiamano sia il thread che
+     * avvia le verifiche sia l'annullamento di un lavoro ancora in coda,
+     * e solo il primo dei due imposta lo stato finale e libera il posto.
+     *
+     * @return true se il chiamante e' il primo
+     */
+    boolean prendi() {
+        return preso.compareAndSet(false, true);
+    }
+
+    /**
+     * Segna il lavoro come terminato.
+     *
+     * @return true se nel frattempo il lavoro era stato interrotto o annullato
+     */
+    synchronized boolean chiudi() {
+        terminato = true;
+        return motivoInterruzione != null;
+    }
+
+    void setEsecuzione(Future<?> esecuzione) {
+        this.esecuzione = esecuzione;
+    }
+
+    void registra(EsitoVerifica esito) {
+        esiti.add(esito);
+    }
+
+    @Override
+    public String toString() {
+        return sottomissione.getTitolo() + " [" + sottomissione.getStato() + "] "
+            + esiti.size() + "/" + verificheTotali + " verifiche";
+    }
+}
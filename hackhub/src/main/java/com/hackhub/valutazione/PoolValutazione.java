@@ -0,0 +1,257 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Sottomissione;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe che esegue le verifiche automatiche delle sottomissioni su un pool
+ * di thread con coda limitata.
+ *
+ * Caratteristiche:
+ * - Un thread per core; la coda accetta al massimo "capacitaCoda" lavori in attesa
+ * - Contropressione: quando pool e coda sono pieni, sottometti() blocca chi
+ *   carica la sottomissione fino all'attesa massima indicata, poi la rifiuta.
+ *   Il carico in eccesso resta cosi' sui client invece di accumularsi in memoria
+ * - Timeout per lavoro: allo scadere il thread viene interrotto e la
+ *   sottomissione passa in ERRORE_VERIFICA
+ * - Annullamento: LavoroValutazione.annulla() riporta la sottomissione in INVIATA
+ * - Un lavoro interrotto durante una verifica che ignora l'interruzione tiene
+ *   occupati il thread e il posto finche' la verifica non termina: lo stato
+ *   finale viene impostato solo allora, cosi' thread e coda restano nel limite
+ *
+ * Transizioni della sottomissione:
+ * INVIATA -> IN_CODA -> IN_VERIFICA -> VERIFICATA / NON_CONFORME / ERRORE_VERIFICA
+ */
+public class PoolValutazione implements AutoCloseable {
+
+    /** Verifiche eseguite in ordine su ogni sottomissione */
+    private final List<Verificatore> verificatori;
+
+    /** Pool dei thread di verifica */
+    private final ThreadPoolExecutor esecutore;
+
+    /** Thread che interrompe i lavori oltre il timeout */
+    private final ScheduledExecutorService sorveglianza;
+
+    /** Posti disponibili (thread + coda): regolano la contropressione */
+    private final Semaphore posti;
+
+    /** Tempo massimo per le verifiche di una sottomissione */
+    private final Duration timeoutLavoro;
+
+    /** Numero di lavori terminati */
+    private final AtomicLong completati;
+
+    /** Numero di sottomissioni rifiutate per coda piena */
+    private final AtomicLong rifiutati;
+
+    /**
+     * Costruttore della classe PoolValutazione con un thread per core.
+     *
+     * @param verificatori  Le verifiche da eseguire
+     * @param capacitaCoda  Il numero massimo di lavori in attesa
+     * @param timeoutLavoro Il tempo massimo per ogni lavoro
+     */
+    public PoolValutazione(List<Verificatore> verificatori, int capacitaCoda, Duration timeoutLavoro) {
+        this(verificatori, Runtime.getRuntime().availableProcessors(), capacitaCoda, timeoutLavoro);
+    }
+
+    /**
+     * Costruttore della classe PoolValutazione.
+     *
+     * @param verificatori  Le verifiche da eseguire
+     * @param thread        Il numero di thread di verifica
+     * @param capacitaCoda  Il numero massimo di lavori in attesa
+     * @param timeoutLavoro Il tempo massimo per ogni lavoro
+     */
+    public PoolValutazione(List<Verificatore> verificatori, int thread, int capacitaCoda, Duration timeoutLavoro) {
+        this.verificatori = List.copyOf(verificatori);
+        this.timeoutLavoro = timeoutLavoro;
+        this.posti = new Semaphore(thread + capacitaCoda);
+        this.completati = new AtomicLong();
+        this.rifiutati = new AtomicLong();
+
+        // La coda interna ha spazio per tutti i posti: un lavoro appena terminato
+        // libera il posto prima che il suo thread prelevi il successivo
+        AtomicInteger numero = new AtomicInteger();
+        this.esecutore = new ThreadPoolExecutor(thread, thread, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(thread + capacitaCoda), operazione -> {
+                Thread t = new Thread(operazione, "valutazione-" + numero.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        this.sorveglianza = Executors.newSingleThreadScheduledExecutor(operazione -> {
+            Thread t = new Thread(operazione, "valutazione-timeout");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ==================== GETTER ====================
+
+    public long getCompletati() {
+        return completati.get();
+    }
+
+    public long getRifiutati() {
+        return rifiutati.get();
+    }
+
+    /**
+     * Restituisce il numero di lavori in coda o in esecuzione.
+     *
+     * @return Il numero di lavori in carico
+     */
+    public int getInCarico() {
+        return esecutore.getQueue().size() + esecutore.getActiveCount();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Mette in coda le verifiche di una sottomissione.
+     *
+     * Precondizioni:
+     * - La sottomissione non deve essere gia' in coda o in verifica
+     *
+     * Postcondizioni:
+     * - La sottomissione passa allo stato IN_CODA
+     *
+     * @param sottomissione  La sottomissione da verificare
+     * @param attesaMassima  Quanto attendere un posto libero se la coda e' piena
+     * @return Il lavoro che traccia le verifiche
+     * @throws IllegalArgumentException se la sottomissione e' gia' in coda o in verifica
+     * @throws IllegalStateException    se la coda resta piena per tutta l'attesa
+     * @throws InterruptedException     se il thread viene interrotto durante l'attesa
+     */
+    public LavoroValutazione sottometti(Sottomissione sottomissione, Duration attesaMassima)
+            throws InterruptedException {
+        // Lo stato viene preso con un confronto atomico: due richieste concorrenti
+        // per la stessa sottomissione non possono entrambe metterla in coda
+        StatoSottomissione stato;
+        do {
+            stato = sottomissione.getStato();
+            if (stato == StatoSottomissione.IN_CODA || stato == StatoSottomissione.IN_VERIFICA) {
+                throw new IllegalArgumentException("La sottomissione e' gia' in verifica");
+            }
+        } while (!sottomissione.cambiaStato(stato, StatoSottomissione.IN_CODA));
+
+        boolean posto = false;
+        try {
+            posto = posti.tryAcquire(attesaMassima.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            if (!posto) {
+                sottomissione.cambiaStato(StatoSottomissione.IN_CODA, stato);
+            }
+        }
+        if (!posto) {
+            rifiutati.incrementAndGet();
+            throw new IllegalStateException("Coda di valutazione piena, riprova piu' tardi");
+        }
+
+        LavoroValutazione lavoro = new LavoroValutazione(sottomissione, verificatori.size());
+        FutureTask<Void> esecuzione = new FutureTask<>(() -> esegui(lavoro), null) {
+            @Override
+            protected void done() {
+                // Un lavoro annullato prima dell'avvio non verra' mai eseguito:
+                // lo chiude l'annullamento. Se e' gia' avviato lo chiude esegui()
+                if (isCancelled() && lavoro.prendi()) {
+                    esecutore.remove(this);
+                    termina(lavoro, StatoSottomissione.INVIATA);
+                }
+            }
+        };
+        lavoro.setEsecuzione(esecuzione);
+        try {
+            esecutore.execute(esecuzione);
+        } catch (RejectedExecutionException e) {
+            posti.release();
+            sottomissione.cambiaStato(StatoSottomissione.IN_CODA, stato);
+            throw new IllegalStateException(esecutore.isShutdown()
+                ? "Il pool di valutazione e' stato chiuso" : "Coda di valutazione piena, riprova piu' tardi");
+        }
+        return lavoro;
+    }
+
+    private void esegui(LavoroValutazione lavoro) {
+        if (!lavoro.prendi()) {
+            return;
+        }
+        Sottomissione sottomissione = lavoro.getSottomissione();
+        sottomissione.setStato(StatoSottomissione.IN_VERIFICA);
+        ScheduledFuture<?> timeout = null;
+
+        // Senza un esito (interruzione o chiusura del pool) la sottomissione torna INVIATA
+        StatoSottomissione esito = StatoSottomissione.INVIATA;
+        try {
+            try {
+                timeout = sorveglianza.schedule(
+                    () -> lavoro.interrompi("Tempo scaduto dopo " + timeoutLavoro.toMillis() + " ms", true),
+                    timeoutLavoro.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Pool in chiusura: il thread e' gia' stato interrotto
+                return;
+            }
+            boolean superate = true;
+            for (Verificatore verificatore : verificatori) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                EsitoVerifica risultato = verificatore.verifica(sottomissione);
+                lavoro.registra(risultato);
+                superate &= risultato.isSuperata();
+            }
+            if (!Thread.currentThread().isInterrupted()) {
+                esito = superate ? StatoSottomissione.VERIFICATA : StatoSottomissione.NON_CONFORME;
+            }
+        } catch (InterruptedException e) {
+            // Timeout, annullamento o chiusura del pool
+        } catch (RuntimeException e) {
+            lavoro.registra(new EsitoVerifica("errore", false, e.toString()));
+            esito = StatoSottomissione.ERRORE_VERIFICA;
+        } finally {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            termina(lavoro, esito);
+        }
+    }
+
+    /**
+     * Imposta lo stato finale della sottomissione e libera il posto.
+     * Chiamato una sola volta per lavoro, quando nessun thread lo sta piu' eseguendo.
+     */
+    private void termina(LavoroValutazione lavoro, StatoSottomissione esito) {
+        StatoSottomissione finale = esito;
+        if (lavoro.chiudi()) {
+            finale = lavoro.isScaduto() ? StatoSottomissione.ERRORE_VERIFICA : StatoSottomissione.INVIATA;
+        }
+        lavoro.getSottomissione().setStato(finale);
+        completati.incrementAndGet();
+        posti.release();
+    }
+
+    /**
+     * Ferma il pool: i lavori in coda vengono annullati, quelli in corso interrotti.
+     */
+    @Override
+    public void close() {
+        for (Runnable inCoda : esecutore.shutdownNow()) {
+            ((FutureTask<?>) inCoda).cancel(false);
+        }
+        sorveglianza.shutdownNow();
+    }
+}
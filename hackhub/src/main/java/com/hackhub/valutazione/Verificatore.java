@@ -0,0 +1,30 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.model.Sottomissione;
+
+/**
+ * Interfaccia per le verifiche automatiche eseguite sulle sottomissioni
+ * (build, test, lint, limiti di dimensione, ...).
+ *
+ * Le implementazioni vengono eseguite dai thread del PoolValutazione e devono
+ * rispondere all'interruzione: quando un lavoro supera il timeout o viene
+ * annullato, il thread viene interrotto.
+ */
+public interface Verificatore {
+
+    /**
+     * Restituisce il nome della verifica, riportato negli esiti.
+     *
+     * @return Il nome della verifica
+     */
+    String getNome();
+
+    /**
+     * Esegue la verifica su una sottomissione.
+     *
+     * @param sottomissione La sottomissione da verificare
+     * @return L'esito della verifica
+     * @throws InterruptedException se il lavoro viene interrotto
+     */
+    EsitoVerifica verifica(Sottomissione sottomissione) throws InterruptedException;
+}
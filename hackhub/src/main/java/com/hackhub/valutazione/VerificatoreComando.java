@@ -0,0 +1,65 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.model.Sottomissione;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Verifica che esegue un comando esterno (build, test, lint) nella cartella
+ * in cui e' stato scaricato il progetto della sottomissione.
+ *
+ * La verifica e' superata se il comando termina con codice 0. Se il lavoro
+ * viene interrotto, il processo viene terminato.
+ */
+public class VerificatoreComando implements Verificatore {
+
+    /** Nome della verifica (es: "build", "test", "lint") */
+    private final String nome;
+
+    /** Comando da eseguire con i suoi argomenti */
+    private final List<String> comando;
+
+    /** Funzione che restituisce la cartella di lavoro di una sottomissione */
+    private final Function<Sottomissione, Path> cartella;
+
+    /**
+     * Costruttore della classe VerificatoreComando.
+     *
+     * @param nome     Il nome della verifica
+     * @param comando  Il comando da eseguire
+     * @param cartella La cartella di lavoro per ogni sottomissione
+     */
+    public VerificatoreComando(String nome, List<String> comando, Function<Sottomissione, Path> cartella) {
+        this.nome = nome;
+        this.comando = List.copyOf(comando);
+        this.cartella = cartella;
+    }
+
+    @Override
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public EsitoVerifica verifica(Sottomissione sottomissione) throws InterruptedException {
+        Process processo;
+        try {
+            processo = new ProcessBuilder(comando)
+                .directory(cartella.apply(sottomissione).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        } catch (IOException e) {
+            return new EsitoVerifica(nome, false, "Impossibile avviare il comando: " + e.getMessage());
+        }
+
+        try {
+            int codice = processo.waitFor();
+            return new EsitoVerifica(nome, codice == 0, codice == 0 ? null : "Codice di uscita " + codice);
+        } finally {
+            processo.destroyForcibly();
+        }
+    }
+}
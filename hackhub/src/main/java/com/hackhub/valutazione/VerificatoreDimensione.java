@@ -0,0 +1,36 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.model.Sottomissione;
+
+/**
+ * Verifica che il contenuto consegnato non superi la dimensione massima consentita.
+ */
+public class VerificatoreDimensione implements Verificatore {
+
+    /** Dimensione massima del contenuto in caratteri */
+    private final int dimensioneMassima;
+
+    /**
+     * Costruttore della classe VerificatoreDimensione.
+     *
+     * @param dimensioneMassima La dimensione massima in caratteri
+     */
+    public VerificatoreDimensione(int dimensioneMassima) {
+        this.dimensioneMassima = dimensioneMassima;
+    }
+
+    @Override
+    public String getNome() {
+        return "dimensione";
+    }
+
+    @Override
+    public EsitoVerifica verifica(Sottomissione sottomissione) {
+        int dimensione = sottomissione.getDimensione();
+        if (dimensione > dimensioneMassima) {
+            return new EsitoVerifica(getNome(), false,
+                "Contenuto di " + dimensione + " caratteri, massimo " + dimensioneMassima);
+        }
+        return new EsitoVerifica(getNome(), true, null);
+    }
+}
@@ -0,0 +1,152 @@
+package com.hackhub.vista;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.model.Hackathon;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Classe che rappresenta la vista materializzata della dashboard di un hackathon.
+ *
+ * I contatori vengono aggiornati in modo incrementale da VisteDashboard
+ * ad ogni modifica rilevante del modello; la lettura di qualsiasi
+ * indicatore costa O(1) e non acquisisce lock.
+ *
+ * Indicatori disponibili:
+ * - Numero di iscrizioni per StatoIscrizione
+ * - Team attivi (iscrizioni CONFERMATA) e loro dimensione media
+ * - Inviti inviati, accettati e rifiutati dai team attivi
+ */
+public class VistaHackathon {
+
+    /** Hackathon a cui si riferisce la vista */
+    private final Hackathon hackathon;
+
+    /** Numero di iscrizioni per stato, indicizzato per ordinal() */
+    private final AtomicLongArray iscrizioniPerStato;
+
+    /** Somma dei membri dei team attivi */
+    private final AtomicLong membriTeamAttivi;
+
+    /** Inviti inviati dai team attivi */
+    private final AtomicLong invitiInviati;
+
+    /** Inviti accettati dei team attivi */
+    private final AtomicLong invitiAccettati;
+
+    /** Inviti rifiutati dei team attivi */
+    private final AtomicLong invitiRifiutati;
+
+    /**
+     * Costruttore della classe VistaHackathon.
+     *
+     * @param hackathon L'hackathon a cui si riferisce la vista
+     */
+    VistaHackathon(Hackathon hackathon) {
+        this.hackathon = hackathon;
+        this.iscrizioniPerStato = new AtomicLongArray(StatoIscrizione.values().length);
+        this.membriTeamAttivi = new AtomicLong();
+        this.invitiInviati = new AtomicLong();
+        this.invitiAccettati = new AtomicLong();
+        this.invitiRifiutati = new AtomicLong();
+    }
+
+    // ==================== GETTER ====================
+
+    public Hackathon getHackathon() {
+        return hackathon;
+    }
+
+    /**
+     * Restituisce il numero di iscrizioni in un dato stato.
+     *
+     * @param stato Lo stato dell'iscrizione
+     * @return Il numero di iscrizioni
+     */
+    public long getIscrizioni(StatoIscrizione stato) {
+        return iscrizioniPerStato.get(stato.ordinal());
+    }
+
+    /**
+     * Restituisce il numero di team attivi (con iscrizione CONFERMATA).
+     *
+     * @return Il numero di team attivi
+     */
+    public long getTeamAttivi() {
+        return getIscrizioni(StatoIscrizione.CONFERMATA);
+    }
+
+    /**
+     * Restituisce la dimensione media dei team attivi.
+     *
+     * @return La media dei membri, 0 se non ci sono team attivi
+     */
+    public double getMediaMembriTeam() {
+        long team = getTeamAttivi();
+        return team == 0 ? 0 : (double) membriTeamAttivi.get() / team;
+    }
+
+    /**
+     * Restituisce il rapporto tra la dimensione media dei team attivi
+     * e il numero massimo di membri ammesso dall'hackathon.
+     *
+     * @return Il rapporto di riempimento dei team (0 - 1)
+     */
+    public double getRiempimentoTeam() {
+        int massimo = hackathon.getMaxMembriTeam();
+        return massimo == 0 ? 0 : getMediaMembriTeam() / massimo;
+    }
+
+    public long getInvitiInviati() {
+        return invitiInviati.get();
+    }
+
+    public long getInvitiAccettati() {
+        return invitiAccettati.get();
+    }
+
+    public long getInvitiRifiutati() {
+        return invitiRifiutati.get();
+    }
+
+    /**
+     * Restituisce la percentuale di inviti accettati tra quelli con risposta.
+     *
+     * @return Il tasso di accettazione (0 - 1), 0 se nessun invito ha risposta
+     */
+    public double getTassoAccettazione() {
+        long accettati = invitiAccettati.get();
+        long risposte = accettati + invitiRifiutati.get();
+        return risposte == 0 ? 0 : (double) accettati / risposte;
+    }
+
+    // ==================== AGGIORNAMENTO ====================
+
+    void aggiornaIscrizioni(StatoIscrizione stato, int delta) {
+        if (stato != null) {
+            iscrizioniPerStato.addAndGet(stato.ordinal(), delta);
+        }
+    }
+
+    void aggiornaMembri(long delta) {
+        membriTeamAttivi.addAndGet(delta);
+    }
+
+    void aggiornaInviti(long inviati, long accettati, long rifiutati) {
+        invitiInviati.addAndGet(inviati);
+        invitiAccettati.addAndGet(accettati);
+        invitiRifiutati.addAndGet(rifiutati);
+    }
+
+    /**
+     * Restituisce una rappresentazione testuale della vista.
+     *
+     * @return Stringa con i principali indicatori
+     */
+    @Override
+    public String toString() {
+        return "Dashboard " + hackathon.getNome() + ": " + getTeamAttivi() + " team attivi, media "
+            + String.format("%.2f", getMediaMembriTeam()) + "/" + hackathon.getMaxMembriTeam()
+            + " membri, accettazione inviti " + String.format("%.0f%%", getTassoAccettazione() * 100);
+    }
+}
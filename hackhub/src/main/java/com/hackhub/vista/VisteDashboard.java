@@ -0,0 +1,330 @@
+package com.hackhub.vista;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe che mantiene le viste materializzate della dashboard degli organizzatori.
+ *
+ * Le viste vengono aggiornate in modo incrementale ascoltando gli eventi del modello:
+ * - Hackathon.aggiungiIscrizione, Iscrizione.setStato/annulla: contatori per stato
+ *   e attivazione/disattivazione del team
+ * - Team.addMembro/removeMembro: dimensione dei team attivi
+ * - Team.aggiungiInvito, Invito.accetta/rifiuta: contatori degli inviti
+ *
+ * Un team e' attivo in un hackathon finche' la sua iscrizione e' CONFERMATA;
+ * quando si attiva o si disattiva, la vista somma o sottrae i suoi membri
+ * e i contatori dei suoi inviti.
+ *
+ * Gli eventi vengono consegnati dopo la modifica, quindi un evento puo' essere
+ * ancora in viaggio quando la vista legge lo stato di un'entita'. Per questo la
+ * vista conta solo valori che ha registrato: lo stato di ogni iscrizione e il
+ * numero di membri di ogni team tracciato. Un evento non applica la variazione
+ * che trasporta ma confronta il valore registrato con quello attuale, come fa
+ * RegistroMutazioni: un evento arrivato dopo la lettura non conta due volte.
+ *
+ * Le iscrizioni ANNULLATE smettono di essere tracciate, come tutte quelle di un
+ * hackathon CONCLUSO, la cui vista resta ferma: cosi' la vista non trattiene
+ * le iscrizioni che l'archiviazione toglie dalla memoria.
+ *
+ * Gli aggiornamenti sono serializzati dal lock dell'oggetto, le letture
+ * delle viste non acquisiscono alcun lock.
+ */
+public class VisteDashboard implements AscoltatoreEventi {
+
+    /** Viste per id dell'hackathon */
+    private final Map<Long, VistaHackathon> viste;
+
+    /** Iscrizioni tracciate per id del team, indicizzate per id dell'iscrizione */
+    private final Map<Long, Map<Long, Tracciata>> iscrizioniPerTeam;
+
+    /** Membri registrati per id dei team con iscrizioni tracciate */
+    private final Map<Long, Integer> membriPerTeam;
+
+    /** Contatori degli inviti per id del team: inviati, accettati, rifiutati */
+    private final Map<Long, long[]> invitiPerTeam;
+
+    /**
+     * Costruttore della classe VisteDashboard.
+     */
+    public VisteDashboard() {
+        this.viste = new ConcurrentHashMap<>();
+        this.iscrizioniPerTeam = new HashMap<>();
+        this.membriPerTeam = new HashMap<>();
+        this.invitiPerTeam = new HashMap<>();
+    }
+
+    // ==================== GETTER ====================
+
+    /**
+     * Restituisce la vista di un hackathon.
+     *
+     * @param hackathon L'hackathon
+     * @return La vista materializzata, creata vuota se non ancora presente
+     */
+    public VistaHackathon getVista(Hackathon hackathon) {
+        return viste.computeIfAbsent(hackathon.getId(), id -> new VistaHackathon(hackathon));
+    }
+
+    /**
+     * Restituisce il numero di iscrizioni tracciate, cioe' non annullate e di
+     * hackathon non conclusi.
+     *
+     * @return Il numero di iscrizioni tracciate
+     */
+    public synchronized int getIscrizioniTracciate() {
+        int totale = 0;
+        for (Map<Long, Tracciata> tracciate : iscrizioniPerTeam.values()) {
+            totale += tracciate.size();
+        }
+        return totale;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Inizia ad aggiornare le viste ad ogni modifica del modello.
+     */
+    public void attiva() {
+        GestoreEventi.registra(this);
+    }
+
+    /**
+     * Smette di aggiornare le viste.
+     */
+    public void disattiva() {
+        GestoreEventi.rimuovi(this);
+    }
+
+    /**
+     * Costruisce le viste a partire dallo stato attuale degli hackathon.
+     * Da chiamare una sola volta, prima di attiva(), per i dati gia' esistenti.
+     *
+     * @param hackathons Gli hackathon esistenti
+     */
+    public synchronized void inizializza(Iterable<Hackathon> hackathons) {
+        for (Hackathon hackathon : hackathons) {
+            getVista(hackathon);
+            for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+                Team team = iscrizione.getTeam();
+                if (!invitiPerTeam.containsKey(team.getId())) {
+                    long[] contatori = contatoriInviti(team);
+                    for (Invito invito : team.getInviti()) {
+                        contatori[0]++;
+                        aggiornaContatore(contatori, invito.getStato(), 1);
+                    }
+                }
+                tracciaIscrizione(iscrizione);
+            }
+        }
+    }
+
+    /**
+     * Aggiorna le viste in base all'evento ricevuto.
+     *
+     * @param evento L'evento del modello
+     */
+    @Override
+    public synchronized void gestisciEvento(EventoModello evento) {
+        Object sorgente = evento.getSorgente();
+        TipoEvento tipo = evento.getTipo();
+
+        if (sorgente instanceof Hackathon) {
+            if (tipo == TipoEvento.AGGIUNTA && "iscrizioni".equals(evento.getCampo())) {
+                tracciaIscrizione((Iscrizione) evento.getValoreNuovo());
+            } else if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())
+                    && evento.getValoreNuovo() == StatoHackathon.CONCLUSO) {
+                dimenticaHackathon((Hackathon) sorgente);
+            }
+        } else if (sorgente instanceof Iscrizione) {
+            if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())) {
+                cambiaStatoIscrizione((Iscrizione) sorgente, (StatoIscrizione) evento.getValorePrecedente());
+            }
+        } else if (sorgente instanceof Team) {
+            Team team = (Team) sorgente;
+            if ("membri".equals(evento.getCampo())) {
+                contaMembri(team);
+            } else if (tipo == TipoEvento.AGGIUNTA && "inviti".equals(evento.getCampo())) {
+                long[] contatori = contatoriInviti(team);
+                contatori[0]++;
+                aggiornaContatore(contatori, ((Invito) evento.getValoreNuovo()).getStato(), 1);
+                propaga(team, 0, 1, 0, 0);
+            }
+        } else if (sorgente instanceof Invito) {
+            if (tipo == TipoEvento.MODIFICA && "stato".equals(evento.getCampo())) {
+                cambiaStatoInvito((Invito) sorgente,
+                    (StatoInvito) evento.getValorePrecedente(), (StatoInvito) evento.getValoreNuovo());
+            }
+        }
+    }
+
+    private void tracciaIscrizione(Iscrizione iscrizione) {
+        Hackathon hackathon = iscrizione.getHackathon();
+        StatoIscrizione stato = iscrizione.getStato();
+        if (hackathon.getStato() == StatoHackathon.CONCLUSO) {
+            return;
+        }
+        Team team = iscrizione.getTeam();
+        Map<Long, Tracciata> tracciate = iscrizioniPerTeam.computeIfAbsent(team.getId(), id -> new HashMap<>());
+        if (tracciate.containsKey(iscrizione.getId())) {
+            return;
+        }
+        VistaHackathon vista = getVista(hackathon);
+        vista.aggiornaIscrizioni(stato, 1);
+        if (stato == StatoIscrizione.ANNULLATA) {
+            dimentica(team, iscrizione);
+            return;
+        }
+        tracciate.put(iscrizione.getId(), new Tracciata(iscrizione, stato));
+        membriPerTeam.computeIfAbsent(team.getId(), id -> team.countMembri());
+        if (stato == StatoIscrizione.CONFERMATA) {
+            attivaTeam(vista, team, 1);
+        }
+    }
+
+    private void cambiaStatoIscrizione(Iscrizione iscrizione, StatoIscrizione precedenteEvento) {
+        Map<Long, Tracciata> tracciate = iscrizioniPerTeam.get(iscrizione.getTeam().getId());
+        Tracciata tracciata = tracciate != null ? tracciate.get(iscrizione.getId()) : null;
+        if (tracciata == null) {
+            // Un'iscrizione annullata che torna attiva viene tracciata di nuovo
+            if (precedenteEvento == StatoIscrizione.ANNULLATA && iscrizione.getStato() != StatoIscrizione.ANNULLATA
+                    && viste.containsKey(iscrizione.getHackathon().getId())
+                    && iscrizione.getHackathon().getStato() != StatoHackathon.CONCLUSO) {
+                getVista(iscrizione.getHackathon()).aggiornaIscrizioni(StatoIscrizione.ANNULLATA, -1);
+                tracciaIscrizione(iscrizione);
+            }
+            return;
+        }
+
+        // Lo stato registrato, non quello dell'evento, e' quello gia' contato
+        StatoIscrizione precedente = tracciata.stato;
+        StatoIscrizione nuovo = iscrizione.getStato();
+        if (precedente == nuovo) {
+            return;
+        }
+        VistaHackathon vista = getVista(iscrizione.getHackathon());
+        vista.aggiornaIscrizioni(precedente, -1);
+        vista.aggiornaIscrizioni(nuovo, 1);
+        if (precedente == StatoIscrizione.CONFERMATA) {
+            attivaTeam(vista, iscrizione.getTeam(), -1);
+        } else if (nuovo == StatoIscrizione.CONFERMATA) {
+            attivaTeam(vista, iscrizione.getTeam(), 1);
+        }
+        tracciata.stato = nuovo;
+        if (nuovo == StatoIscrizione.ANNULLATA) {
+            dimentica(iscrizione.getTeam(), iscrizione);
+        }
+    }
+
+    private void cambiaStatoInvito(Invito invito, StatoInvito precedente, StatoInvito nuovo) {
+        long[] contatori = invitiPerTeam.get(invito.getTeam().getId());
+        if (contatori == null || precedente == nuovo) {
+            return;
+        }
+
+        long[] prima = contatori.clone();
+        aggiornaContatore(contatori, precedente, -1);
+        aggiornaContatore(contatori, nuovo, 1);
+        propaga(invito.getTeam(), 0, 0, contatori[1] - prima[1], contatori[2] - prima[2]);
+    }
+
+    /**
+     * Allinea il numero di membri registrato di un team a quello attuale e
+     * propaga la differenza: l'evento puo' essere gia' stato contato.
+     */
+    private void contaMembri(Team team) {
+        Integer registrati = membriPerTeam.get(team.getId());
+        if (registrati == null) {
+            return;
+        }
+        int attuali = team.countMembri();
+        if (attuali != registrati) {
+            membriPerTeam.put(team.getId(), attuali);
+            propaga(team, attuali - registrati, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Smette di tracciare le iscrizioni di un hackathon concluso: la sua vista resta ferma.
+     */
+    private void dimenticaHackathon(Hackathon hackathon) {
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            dimentica(iscrizione.getTeam(), iscrizione);
+        }
+    }
+
+    private void dimentica(Team team, Iscrizione iscrizione) {
+        Map<Long, Tracciata> tracciate = iscrizioniPerTeam.get(team.getId());
+        if (tracciate == null) {
+            return;
+        }
+        tracciate.remove(iscrizione.getId());
+        if (tracciate.isEmpty()) {
+            iscrizioniPerTeam.remove(team.getId());
+            membriPerTeam.remove(team.getId());
+        }
+    }
+
+    /**
+     * Somma (segno 1) o sottrae (segno -1) il contributo di un team a una vista.
+     */
+    private void attivaTeam(VistaHackathon vista, Team team, int segno) {
+        long[] contatori = contatoriInviti(team);
+        vista.aggiornaMembri(segno * (long) membriPerTeam.get(team.getId()));
+        vista.aggiornaInviti(segno * contatori[0], segno * contatori[1], segno * contatori[2]);
+    }
+
+    /**
+     * Applica una variazione a tutte le viste in cui il team e' attivo.
+     */
+    private void propaga(Team team, long membri, long inviati, long accettati, long rifiutati) {
+        Map<Long, Tracciata> tracciate = iscrizioniPerTeam.get(team.getId());
+        if (tracciate == null) {
+            return;
+        }
+        for (Tracciata tracciata : tracciate.values()) {
+            if (tracciata.stato == StatoIscrizione.CONFERMATA) {
+                VistaHackathon vista = getVista(tracciata.iscrizione.getHackathon());
+                vista.aggiornaMembri(membri);
+                vista.aggiornaInviti(inviati, accettati, rifiutati);
+            }
+        }
+    }
+
+    private long[] contatoriInviti(Team team) {
+        return invitiPerTeam.computeIfAbsent(team.getId(), id -> new long[3]);
+    }
+
+    private static void aggiornaContatore(long[] contatori, StatoInvito stato, int delta) {
+        if (stato == StatoInvito.ACCETTATO) {
+            contatori[1] += delta;
+        } else if (stato == StatoInvito.RIFIUTATO) {
+            contatori[2] += delta;
+        }
+    }
+
+    /**
+     * Iscrizione tracciata con lo stato gia' contato nella vista.
+     */
+    private static final class Tracciata {
+        private final Iscrizione iscrizione;
+        private StatoIscrizione stato;
+
+        Tracciata(Iscrizione iscrizione, StatoIscrizione stato) {
+            this.iscrizione = iscrizione;
+            this.stato = stato;
+        }
+    }
+}
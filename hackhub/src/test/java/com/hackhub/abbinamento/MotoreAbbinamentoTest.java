@@ -0,0 +1,225 @@
+package com.hackhub.abbinamento;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del motore di abbinamento: punteggio di competenze e preferenze,
+ * candidature con indici oltre i primi bit, assegnazione entro i posti liberi,
+ * coppie gia' invitate e raggruppamento degli utenti rimasti.
+ */
+class MotoreAbbinamentoTest {
+
+    private static final String[] COMPETENZE = {"java", "python", "frontend", "dati", "design", "cloud", "mobile"};
+
+    private static final String[] PREFERENZE = {"ai", "salute", "ambiente", "giochi", "finanza"};
+
+    private int progressivo;
+
+    private static Hackathon hackathon(int maxMembri) {
+        LocalDate inizio = LocalDate.of(2026, 12, 1);
+        Hackathon hackathon = new Hackathon("Abbinamento", inizio, inizio.plusDays(2), inizio.minusDays(7));
+        hackathon.setMaxMembriTeam(maxMembri);
+        return hackathon;
+    }
+
+    private Utente utente(List<String> competenze, List<String> preferenze) {
+        Utente utente = new Utente("Nome", "Cognome", "utente" + progressivo++ + "@hackhub.it", "pw");
+        competenze.forEach(utente::aggiungiCompetenza);
+        preferenze.forEach(utente::aggiungiPreferenza);
+        return utente;
+    }
+
+    /** Crea un team iscritto all'hackathon con il leader e i membri aggiuntivi indicati. */
+    private Team iscritto(Hackathon hackathon, Utente fondatore, int membri) {
+        Team team = fondatore.creaTeam("Team " + progressivo++, null);
+        for (int m = 0; m < membri; m++) {
+            team.addMembro(new MembroTeam("Membro", "Team", "membro" + progressivo++ + "@hackhub.it", "pw"));
+        }
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        team.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        return team;
+    }
+
+    /** Punteggio atteso: 2 per ogni competenza nuova per il team, 1 per ogni preferenza in comune. */
+    private static int punteggio(Utente utente, Team team) {
+        Set<String> competenze = new HashSet<>();
+        Set<String> preferenze = new HashSet<>();
+        for (MembroTeam membro : team.getMembri()) {
+            competenze.addAll(membro.getCompetenze());
+            preferenze.addAll(membro.getPreferenze());
+        }
+        int punteggio = 0;
+        for (String competenza : utente.getCompetenze()) {
+            punteggio += competenze.contains(competenza) ? 0 : 2;
+        }
+        for (String preferenza : utente.getPreferenze()) {
+            punteggio += preferenze.contains(preferenza) ? 1 : 0;
+        }
+        return punteggio;
+    }
+
+    private static List<String> sottoinsieme(Random casuale, String[] valori) {
+        List<String> scelti = new ArrayList<>();
+        for (String valore : valori) {
+            if (casuale.nextInt(3) == 0) {
+                scelti.add(valore);
+            }
+        }
+        return scelti;
+    }
+
+    @Test
+    void punteggioContaCompetenzeNuoveEPreferenzeComuni() {
+        Hackathon hackathon = hackathon(5);
+        Team team = iscritto(hackathon, utente(List.of("java"), List.of("ai")), 0);
+        Utente complementare = utente(List.of("python", "design"), List.of("ai", "giochi"));
+        Utente affine = utente(List.of("java"), List.of("ai"));
+        Utente estraneo = utente(List.of("java"), List.of("finanza"));
+
+        SuggerimentiAbbinamento suggerimenti = new MotoreAbbinamento()
+            .calcola(hackathon, List.of(estraneo, affine, complementare));
+
+        List<SuggerimentoInvito> inviti = suggerimenti.getInviti();
+        assertEquals(2, inviti.size());
+        assertSame(complementare, inviti.get(0).getUtente());
+        assertEquals(5, inviti.get(0).getPunteggio());
+        assertSame(affine, inviti.get(1).getUtente());
+        assertEquals(1, inviti.get(1).getPunteggio());
+        assertSame(team, inviti.get(0).getTeam());
+        // Nessun punto con l'unico team: l'utente finisce tra i nuovi team
+        assertEquals(List.of(List.of(estraneo)), suggerimenti.getNuoviTeam());
+    }
+
+    @Test
+    void candidatureConMoltiIndiciDecodificanoUtenteTeamEPunteggio() {
+        Random casuale = new Random(42);
+        Hackathon hackathon = hackathon(4);
+        List<Team> team = new ArrayList<>();
+        List<Utente> candidati = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < 300; t++) {
+                team.add(iscritto(hackathon, utente(sottoinsieme(casuale, COMPETENZE),
+                    sottoinsieme(casuale, PREFERENZE)), casuale.nextInt(3)));
+            }
+            for (int u = 0; u < 3000; u++) {
+                candidati.add(utente(sottoinsieme(casuale, COMPETENZE), sottoinsieme(casuale, PREFERENZE)));
+            }
+        });
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        try {
+            SuggerimentiAbbinamento parallelo = new MotoreAbbinamento().calcola(hackathon, candidati);
+            SuggerimentiAbbinamento sequenziale = new MotoreAbbinamento(unThread).calcola(hackathon, candidati);
+
+            List<SuggerimentoInvito> inviti = parallelo.getInviti();
+            assertFalse(inviti.isEmpty());
+            Map<Team, Integer> assegnati = new IdentityHashMap<>();
+            Set<Utente> invitati = new HashSet<>();
+            for (int i = 0; i < inviti.size(); i++) {
+                SuggerimentoInvito invito = inviti.get(i);
+                assertEquals(punteggio(invito.getUtente(), invito.getTeam()), invito.getPunteggio());
+                if (i > 0) {
+                    assertTrue(inviti.get(i - 1).getPunteggio() >= invito.getPunteggio());
+                }
+                assertTrue(invitati.add(invito.getUtente()));
+                assegnati.merge(invito.getTeam(), 1, Integer::sum);
+
+                SuggerimentoInvito atteso = sequenziale.getInviti().get(i);
+                assertSame(atteso.getUtente(), invito.getUtente());
+                assertSame(atteso.getTeam(), invito.getTeam());
+            }
+            assertEquals(sequenziale.getInviti().size(), inviti.size());
+            for (Map.Entry<Team, Integer> voce : assegnati.entrySet()) {
+                assertTrue(voce.getKey().countMembri() + voce.getValue() <= hackathon.getMaxMembriTeam());
+            }
+            // Gli indici oltre i primi 8 bit si decodificano correttamente
+            assertTrue(inviti.stream().anyMatch(i -> candidati.indexOf(i.getUtente()) > 0xFF));
+            assertTrue(inviti.stream().anyMatch(i -> team.indexOf(i.getTeam()) > 0xFF));
+        } finally {
+            unThread.shutdown();
+        }
+    }
+
+    @Test
+    void assegnazioneNonSuperaIPostiLiberi() {
+        Hackathon hackathon = hackathon(3);
+        Team quasiPieno = iscritto(hackathon, utente(List.of("java"), List.of()), 1);
+        Team pieno = iscritto(hackathon, utente(List.of(), List.of()), 2);
+        Utente migliore = utente(List.of("python", "design", "dati"), List.of());
+        Utente secondo = utente(List.of("python", "design"), List.of());
+        Utente terzo = utente(List.of("python"), List.of());
+
+        SuggerimentiAbbinamento suggerimenti = new MotoreAbbinamento()
+            .calcola(hackathon, List.of(terzo, secondo, migliore));
+
+        assertEquals(1, suggerimenti.getInviti().size());
+        SuggerimentoInvito invito = suggerimenti.getInviti().get(0);
+        assertSame(quasiPieno, invito.getTeam());
+        assertSame(migliore, invito.getUtente());
+        assertEquals(6, invito.getPunteggio());
+        assertFalse(suggerimenti.getInviti().stream().anyMatch(i -> i.getTeam() == pieno));
+        assertEquals(List.of(List.of(terzo, secondo)), suggerimenti.getNuoviTeam());
+    }
+
+    @Test
+    void coppieGiaInvitateVengonoEscluse() {
+        Hackathon hackathon = hackathon(5);
+        Team preferito = iscritto(hackathon, utente(List.of(), List.of("ai", "salute")), 0);
+        Team alternativo = iscritto(hackathon, utente(List.of(), List.of()), 0);
+        Utente invitato = utente(List.of("java"), List.of("ai", "salute"));
+        Utente libero = utente(List.of("java"), List.of("ai", "salute"));
+        preferito.getLeader().invitaUtente(invitato);
+
+        SuggerimentiAbbinamento suggerimenti = new MotoreAbbinamento().calcola(hackathon, List.of(invitato, libero));
+
+        Map<Utente, Team> assegnazioni = new HashMap<>();
+        for (SuggerimentoInvito invito : suggerimenti.getInviti()) {
+            assegnazioni.put(invito.getUtente(), invito.getTeam());
+        }
+        assertSame(alternativo, assegnazioni.get(invitato));
+        assertSame(preferito, assegnazioni.get(libero));
+    }
+
+    @Test
+    void utentiRimastiRaggruppatiPerCompetenzeComplementari() {
+        Hackathon hackathon = hackathon(3);
+        Team pieno = iscritto(hackathon, utente(List.of(), List.of()), 2);
+        Utente fondatore = utente(List.of("java"), List.of("ai"));
+        Utente doppione = utente(List.of("java"), List.of());
+        Utente designer = utente(List.of("design"), List.of());
+        Utente affine = utente(List.of("java"), List.of("ai"));
+        Utente completo = utente(List.of("python", "cloud"), List.of("ai"));
+        Utente ultimo = utente(List.of("dati"), List.of());
+
+        // Il leader del team pieno appartiene gia' a un team e non viene raggruppato
+        List<Utente> candidati = List.of(fondatore, doppione, designer, affine, completo, ultimo, pieno.getLeader());
+        SuggerimentiAbbinamento suggerimenti = new MotoreAbbinamento().calcola(hackathon, candidati);
+
+        assertTrue(suggerimenti.getInviti().isEmpty());
+        List<List<Utente>> gruppi = suggerimenti.getNuoviTeam();
+        assertEquals(List.of(fondatore, completo, designer), gruppi.get(0));
+        assertEquals(List.of(doppione, ultimo, affine), gruppi.get(1));
+        assertEquals(2, gruppi.size());
+    }
+}
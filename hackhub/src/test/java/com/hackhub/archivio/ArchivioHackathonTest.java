@@ -0,0 +1,253 @@
+package com.hackhub.archivio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test dell'archivio degli hackathon: scrittura e reidratazione tramite i
+ * segnaposto, cache, riapertura dei segmenti, team ricostruiti dal record e
+ * aggiunte concorrenti all'archiviazione.
+ */
+class ArchivioHackathonTest {
+
+    @TempDir
+    Path cartella;
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2025, 6, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    /** Iscrive un nuovo team con una sottomissione. */
+    private static Team iscrivi(Hackathon hackathon, String nome) {
+        Team team = new Team(nome, "Descrizione di " + nome);
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        team.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        Sottomissione sottomissione = new Sottomissione(team, hackathon, "Progetto " + nome, "https://example.org/");
+        sottomissione.setContenuto("Contenuto di " + nome);
+        team.aggiungiSottomissione(sottomissione);
+        return team;
+    }
+
+    private static Hackathon concluso(String nome, int team) {
+        Hackathon hackathon = hackathon(nome);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < team; t++) {
+                iscrivi(hackathon, nome + " team " + t);
+            }
+            hackathon.setStato(StatoHackathon.CONCLUSO);
+        });
+        return hackathon;
+    }
+
+    @Test
+    void archiviazioneSostituisceConSegnapostoERicarica() throws IOException {
+        Hackathon hackathon = concluso("Estate", 5);
+        List<Long> idIscrizioni = new ArrayList<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            idIscrizioni.add(iscrizione.getId());
+        }
+        Team primo = hackathon.getIscrizioni().get(0).getTeam();
+        Sottomissione sottomissione = primo.getSottomissioni().get(0);
+        String contenuto = sottomissione.getContenuto();
+        long idSottomissione = sottomissione.getId();
+        sottomissione = null;
+
+        try (ArchivioHackathon archivio = new ArchivioHackathon(cartella, 4)) {
+            archivio.archivia(hackathon);
+
+            assertTrue(hackathon.isArchiviato());
+            assertTrue(archivio.contiene(hackathon.getId()));
+            List<Iscrizione> ricaricate = hackathon.getIscrizioni();
+            assertEquals(idIscrizioni.size(), ricaricate.size());
+            for (int i = 0; i < ricaricate.size(); i++) {
+                assertEquals(idIscrizioni.get(i), ricaricate.get(i).getId());
+                assertSame(hackathon, ricaricate.get(i).getHackathon());
+                assertEquals(StatoIscrizione.CONFERMATA, ricaricate.get(i).getStato());
+            }
+            // Il segnaposto nel team restituisce la stessa istanza della reidratazione
+            assertSame(primo, ricaricate.get(0).getTeam());
+            assertSame(ricaricate.get(0), primo.getIscrizioni().get(0));
+            Sottomissione ricaricata = primo.getSottomissioni().get(0);
+            assertEquals(idSottomissione, ricaricata.getId());
+            assertEquals(contenuto, ricaricata.getContenuto());
+            assertSame(primo, ricaricata.getTeam());
+
+            assertThrows(IllegalStateException.class, () -> archivio.archivia(hackathon));
+            assertThrows(IllegalStateException.class, () -> iscrivi(hackathon, "Ritardatario"));
+        }
+    }
+
+    @Test
+    void secondaReidratazioneServitaDallaCache() throws IOException {
+        Hackathon hackathon = concluso("Autunno", 3);
+
+        try (ArchivioHackathon archivio = new ArchivioHackathon(cartella, 2)) {
+            archivio.archivia(hackathon);
+            archivio.reidrata(hackathon);
+            archivio.reidrata(hackathon);
+
+            assertEquals(1, archivio.getLettureDisco());
+            assertEquals(1, archivio.getAccessiCache());
+            archivio.svuotaCache();
+            assertEquals(3, archivio.reidrata(hackathon).getIscrizioni().size());
+            assertEquals(2, archivio.getLettureDisco());
+        }
+    }
+
+    @Test
+    void riaperturaRicostruisceLIndiceEScartaIlRecordIncompleto() throws IOException {
+        Hackathon primo = concluso("Primo", 2);
+        Hackathon secondo = concluso("Secondo", 2);
+        try (ArchivioHackathon archivio = new ArchivioHackathon(cartella, 2, 1)) {
+            archivio.archivia(primo);
+            archivio.archivia(secondo);
+        }
+        List<Path> segmenti;
+        try (var files = Files.list(cartella)) {
+            segmenti = files.sorted().toList();
+        }
+        // Con segmenti di un byte ogni record apre un nuovo segmento
+        assertEquals(2, segmenti.size());
+        Path ultimo = segmenti.get(segmenti.size() - 1);
+        long dimensione = Files.size(ultimo);
+        Files.write(ultimo, new byte[] {1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        try (ArchivioHackathon riaperto = new ArchivioHackathon(cartella, 2, 1)) {
+            assertEquals(2, riaperto.getNumeroArchiviati());
+            assertTrue(riaperto.contiene(primo.getId()));
+            assertTrue(riaperto.contiene(secondo.getId()));
+            assertEquals(dimensione, Files.size(ultimo));
+            assertEquals(2, riaperto.reidrata(secondo).getIscrizioni().size());
+        }
+    }
+
+    @Test
+    void teamNonPiuInMemoriaVieneRicostruitoDalRecord() throws IOException {
+        Hackathon hackathon = hackathon("Inverno");
+        Team team = iscrivi(hackathon, "Effimero");
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodificaSottografo.scrivi(hackathon.getIscrizioni(), team.getSottomissioni(), new DataOutputStream(buffer));
+        byte[] record = buffer.toByteArray();
+
+        // Registro senza il team vivo: il team viene ricostruito dai dati anagrafici
+        ContenutoArchiviato senzaTeam = CodificaSottografo.leggi(hackathon, new IstanzeCanoniche(),
+            new DataInputStream(new ByteArrayInputStream(record)));
+        Team ricostruito = senzaTeam.getIscrizioni().get(0).getTeam();
+        assertNotSame(team, ricostruito);
+        assertEquals(team.getId(), ricostruito.getId());
+        assertEquals(team.getNome(), ricostruito.getNome());
+        assertEquals(team.getDescrizione(), ricostruito.getDescrizione());
+        assertEquals(team.getDataCreazione(), ricostruito.getDataCreazione());
+        assertSame(ricostruito, senzaTeam.getSottomissioni().get(0).getTeam());
+
+        // Registro con il team vivo: iscrizioni e sottomissioni vi vengono ricollegate
+        IstanzeCanoniche canoniche = new IstanzeCanoniche();
+        canoniche.team(team.getId(), () -> team);
+        ContenutoArchiviato conTeam = CodificaSottografo.leggi(hackathon, canoniche,
+            new DataInputStream(new ByteArrayInputStream(record)));
+        assertSame(team, conTeam.getIscrizioni().get(0).getTeam());
+    }
+
+    @Test
+    void scritturaNonRiuscitaRiapreLeAggiunte() throws IOException {
+        Hackathon primo = concluso("Primo", 1);
+        Hackathon secondo = concluso("Secondo", 1);
+        ArchivioHackathon archivio = new ArchivioHackathon(cartella, 2);
+        archivio.archivia(primo);
+        archivio.close();
+
+        assertThrows(IOException.class, () -> archivio.archivia(secondo));
+
+        assertFalse(secondo.isArchiviato());
+        GestoreEventi.eseguiSenzaEventi(() -> iscrivi(secondo, "Dopo l'errore"));
+        assertEquals(2, secondo.getIscrizioni().size());
+    }
+
+    @Test
+    void aggiunteDuranteLArchiviazioneFinisconoNelRecordOVengonoRifiutate() throws Exception {
+        Hackathon hackathon = hackathon("Concorrente");
+        Set<Long> accettate = new HashSet<>();
+        CountDownLatch avviato = new CountDownLatch(1);
+        ExecutorService esecutore = Executors.newSingleThreadExecutor();
+        try (ArchivioHackathon archivio = new ArchivioHackathon(cartella, 2)) {
+            Future<Integer> rifiutate = esecutore.submit(() -> {
+                int rifiuti = 0;
+                for (int t = 0; !hackathon.isArchiviato(); t++) {
+                    try {
+                        Team team = iscrivi(hackathon, "Team " + t);
+                        synchronized (accettate) {
+                            accettate.add(team.getIscrizioni().get(0).getId());
+                        }
+                    } catch (IllegalStateException e) {
+                        rifiuti++;
+                    }
+                    avviato.countDown();
+                }
+                return rifiuti;
+            });
+            assertTrue(avviato.await(5, TimeUnit.SECONDS));
+            hackathon.setStato(StatoHackathon.CONCLUSO);
+
+            archivio.archivia(hackathon);
+            // Le aggiunte respinte, durante o dopo la scrittura, non compaiono nel record
+            rifiutate.get(5, TimeUnit.SECONDS);
+
+            Set<Long> archiviate = new HashSet<>();
+            for (Iscrizione iscrizione : archivio.reidrata(hackathon).getIscrizioni()) {
+                archiviate.add(iscrizione.getId());
+            }
+            synchronized (accettate) {
+                assertEquals(accettate, archiviate);
+            }
+        } finally {
+            esecutore.shutdownNow();
+        }
+    }
+
+    @Test
+    void aggiunteSospeseVengonoRifiutate() {
+        Hackathon hackathon = hackathon("Sospeso");
+        hackathon.sospendiAggiunte();
+
+        assertThrows(IllegalStateException.class, hackathon::sospendiAggiunte);
+        assertThrows(IllegalStateException.class,
+            () -> GestoreEventi.eseguiSenzaEventi(() -> iscrivi(hackathon, "Respinto")));
+        hackathon.riprendiAggiunte();
+        GestoreEventi.eseguiSenzaEventi(() -> iscrivi(hackathon, "Accolto"));
+        assertEquals(1, hackathon.getIscrizioni().size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.hackhub.assegnazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dell'assegnazione dei giudici su un hackathon con uno storico di team:
+ * nessun conflitto, giudici distinti e posti coerenti. La versione su larga
+ * scala e' BenchmarkGiudici.
+ */
+class AssegnatoreGiudiciTest {
+
+    private static final int SOTTOMISSIONI = 200;
+    private static final int GIUDICI = 30;
+    private static final int PER_SOTTOMISSIONE = 3;
+    private static final int PERSONE = 1000;
+
+    private final Hackathon hackathon = new Hackathon("Finale", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3),
+        LocalDate.of(2026, 2, 20));
+    private final List<Team> storia = new ArrayList<>();
+    private final List<MembroStaff> giudici = new ArrayList<>();
+
+    @BeforeEach
+    void popola() {
+        Random casuale = new Random(42);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < 500; t++) {
+                Team team = team("Storico " + t, casuale);
+                // Un giudice su cinque e' molto collegato: compare in un team storico su dieci
+                if (t % 10 == 0) {
+                    Utente giudice = new Utente("Ex", "Partecipante", email(casuale.nextInt(GIUDICI / 5) * 5), "pw");
+                    giudice.accettaInvito(team.getLeader().invitaUtente(giudice));
+                }
+                storia.add(team);
+            }
+            for (int i = 0; i < SOTTOMISSIONI; i++) {
+                Team team = team("Team " + i, casuale);
+                Iscrizione iscrizione = new Iscrizione(team, hackathon);
+                team.aggiungiIscrizione(iscrizione);
+                hackathon.aggiungiIscrizione(iscrizione);
+                team.aggiungiSottomissione(new Sottomissione(team, hackathon, "Progetto " + i, null));
+            }
+            for (int g = 0; g < GIUDICI; g++) {
+                giudici.add(new MembroStaff("Giudice", "G" + g, email(g), "pw") { });
+            }
+        });
+    }
+
+    /**
+     * Crea un team con un leader e tre invitati: due accettano, uno no.
+     */
+    private static Team team(String nome, Random casuale) {
+        Team team = new Utente("Nome", "Cognome", email(casuale.nextInt(PERSONE)), "pw").creaTeam(nome, null);
+        for (int m = 0; m < 3; m++) {
+            Utente invitato = new Utente("Nome", "Cognome", email(casuale.nextInt(PERSONE)), "pw");
+            if (m < 2) {
+                invitato.accettaInvito(team.getLeader().invitaUtente(invitato));
+            } else {
+                team.getLeader().invitaUtente(invitato);
+            }
+        }
+        return team;
+    }
+
+    private static String email(int persona) {
+        return "p" + persona + "@hackhub.it";
+    }
+
+    @Test
+    void assegnazioneEscludeIConflitti() {
+        GestoreEventi.eseguiSenzaEventi(() -> hackathon.setStato(StatoHackathon.IN_VALUTAZIONE));
+        AssegnazioneGiudici assegnazione = new AssegnatoreGiudici().assegna(hackathon, giudici, storia,
+            PER_SOTTOMISSIONE);
+
+        List<Team> completa = new ArrayList<>(storia);
+        hackathon.getIscrizioni().forEach(iscrizione -> completa.add(iscrizione.getTeam()));
+        GrafoConflitti grafo = new GrafoConflitti(completa);
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            Team team = iscrizione.getTeam();
+            for (Sottomissione sottomissione : team.getSottomissioni()) {
+                List<MembroStaff> assegnati = assegnazione.getGiudici(sottomissione);
+                assertEquals(assegnati.size(), new HashSet<>(assegnati).size(), "Giudice ripetuto");
+                for (MembroStaff giudice : assegnati) {
+                    assertFalse(grafo.isInConflitto(giudice, team), giudice.getEmail() + " con " + team.getNome());
+                }
+            }
+        }
+        int totale = 0;
+        for (MembroStaff giudice : giudici) {
+            totale += assegnazione.getSottomissioni(giudice).size();
+            assertEquals(assegnazione.getSottomissioni(giudice).size(), assegnazione.getCarico(giudice));
+        }
+        assertEquals(SOTTOMISSIONI * PER_SOTTOMISSIONE, totale + assegnazione.getPostiScoperti());
+    }
+
+    @Test
+    void risultatoNonDipendeDalNumeroDiThread() {
+        GestoreEventi.eseguiSenzaEventi(() -> hackathon.setStato(StatoHackathon.IN_VALUTAZIONE));
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        try {
+            AssegnazioneGiudici parallela = new AssegnatoreGiudici().assegna(hackathon, giudici, storia,
+                PER_SOTTOMISSIONE);
+            AssegnazioneGiudici sequenziale = new AssegnatoreGiudici(unThread).assegna(hackathon, giudici, storia,
+                PER_SOTTOMISSIONE);
+
+            assertEquals(sequenziale.getCaricoMassimo(), parallela.getCaricoMassimo());
+            assertEquals(sequenziale.getCaricoMinimo(), parallela.getCaricoMinimo());
+            assertEquals(sequenziale.getPostiScoperti(), parallela.getPostiScoperti());
+        } finally {
+            unThread.shutdown();
+        }
+    }
+
+    @Test
+    void hackathonNonInValutazioneVieneRifiutato() {
+        AssegnatoreGiudici assegnatore = new AssegnatoreGiudici();
+
+        assertThrows(IllegalStateException.class, () -> assegnatore.assegna(hackathon, giudici, storia, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> assegnatore.assegna(List.of(), giudici, storia, 0));
+    }
+}
@@ -0,0 +1,173 @@
+package com.hackhub.assegnazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoCall;
+import com.hackhub.model.Call;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dell'assegnazione delle call ai mentori: scelta del meno carico, attesa
+ * e rilascio dei posti, richieste concorrenti. Il confronto con una scansione
+ * sotto lock globale e' BenchmarkMentori.
+ */
+class AssegnatoreMentoriTest {
+
+    private static final String[] COMPETENZE = {"java", "python", "frontend", "dati", "design", "cloud"};
+
+    private Team team;
+
+    @BeforeEach
+    void creaTeam() {
+        team = new Utente("Nome", "Cognome", "team@hackhub.it", "pw").creaTeam("Team", null);
+    }
+
+    private static MembroStaff mentore(int i) {
+        return new MembroStaff("Mentore", "N" + i, "mentore" + i + "@hackhub.it", "pw") { };
+    }
+
+    @Test
+    void callVaAlMentoreMenoCaricoEPoiInAttesa() {
+        AssegnatoreMentori assegnatore = new AssegnatoreMentori();
+        MembroStaff primo = mentore(1);
+        MembroStaff secondo = mentore(2);
+        assegnatore.registraMentore(primo, 1, List.of("Java"));
+        assegnatore.registraMentore(secondo, 1, List.of("java", "python"));
+
+        Call a = new Call(team, "java");
+        Call b = new Call(team, "JAVA");
+        Call c = new Call(team, "java");
+        MembroStaff assegnatoA = assegnatore.richiedi(a);
+        MembroStaff assegnatoB = assegnatore.richiedi(b);
+
+        assertNotSame(assegnatoA, assegnatoB);
+        assertNull(assegnatore.richiedi(c));
+        assertEquals(StatoCall.RICHIESTA, c.getStato());
+        assertEquals(1, assegnatore.getInAttesa("java"));
+
+        // Il posto liberato va alla richiesta in attesa
+        a.annulla();
+        assertTrue(assegnatore.rilascia(a));
+        assertFalse(assegnatore.rilascia(a));
+        assertEquals(StatoCall.PROPOSTA, c.getStato());
+        assertSame(assegnatoA, c.getMentore());
+        assertEquals(0, assegnatore.getInAttesa("java"));
+        assertEquals(2, assegnatore.getNumeroAssegnate());
+    }
+
+    @Test
+    void assegnatoreAttivoRilasciaLeCallAnnullate() {
+        AssegnatoreMentori assegnatore = new AssegnatoreMentori();
+        MembroStaff mentore = mentore(1);
+        assegnatore.registraMentore(mentore, 1, List.of("java"));
+        assegnatore.attiva();
+        try {
+            Call call = new Call(team, "java");
+            assegnatore.richiedi(call);
+            assertEquals(1, assegnatore.getCarico(mentore));
+
+            call.annulla();
+
+            assertEquals(0, assegnatore.getCarico(mentore));
+        } finally {
+            assegnatore.disattiva();
+        }
+    }
+
+    @Test
+    void richiesteNonValideVengonoRifiutate() {
+        AssegnatoreMentori assegnatore = new AssegnatoreMentori();
+        MembroStaff mentore = mentore(1);
+        assegnatore.registraMentore(mentore, 1, List.of("java"));
+        Call annullata = new Call(team, "java");
+        annullata.annulla();
+
+        assertThrows(IllegalArgumentException.class, () -> assegnatore.richiedi(new Call(team, "cobol")));
+        assertThrows(IllegalStateException.class, () -> assegnatore.richiedi(annullata));
+        assertThrows(IllegalArgumentException.class, () -> assegnatore.registraMentore(mentore, 1, List.of("java")));
+        assertThrows(IllegalArgumentException.class, () -> assegnatore.registraMentore(mentore(2), 0, List.of("java")));
+        assertThrows(IllegalArgumentException.class, () -> assegnatore.registraMentore(mentore(3), 1, List.of()));
+    }
+
+    @Test
+    void richiesteConcorrentiRispettanoLeCapacita() throws InterruptedException {
+        Random casuale = new Random(42);
+        AssegnatoreMentori assegnatore = new AssegnatoreMentori();
+        for (int i = 0; i < 100; i++) {
+            List<String> competenze = new ArrayList<>();
+            for (int c = 0; c < 1 + casuale.nextInt(3); c++) {
+                competenze.add(COMPETENZE[casuale.nextInt(COMPETENZE.length)]);
+            }
+            assegnatore.registraMentore(mentore(i), 5 + casuale.nextInt(20), competenze);
+        }
+        List<Call> call = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            call.add(new Call(team, COMPETENZE[casuale.nextInt(COMPETENZE.length)]));
+        }
+
+        int numeroThread = 4;
+        CountDownLatch via = new CountDownLatch(1);
+        List<Thread> thread = new ArrayList<>();
+        for (int t = 0; t < numeroThread; t++) {
+            int primo = t;
+            Thread esecutore = new Thread(() -> {
+                try {
+                    via.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = primo; i < call.size(); i += numeroThread) {
+                    Call c = call.get(i);
+                    assegnatore.richiedi(c);
+                    // Una call su cinque viene annullata subito dal team
+                    if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                        c.annulla();
+                        assegnatore.rilascia(c);
+                    }
+                }
+            });
+            esecutore.start();
+            thread.add(esecutore);
+        }
+        via.countDown();
+        for (Thread esecutore : thread) {
+            esecutore.join();
+        }
+
+        int attive = 0;
+        for (Call c : call) {
+            attive += c.getStato() == StatoCall.PROPOSTA ? 1 : 0;
+        }
+        int carichi = 0;
+        for (ProfiloMentore profilo : assegnatore.getProfili()) {
+            assertTrue(profilo.getCarico() >= 0 && profilo.getCarico() <= profilo.getCapacita(), profilo::toString);
+            carichi += profilo.getCarico();
+        }
+        assertEquals(attive, carichi);
+        assertEquals(attive, assegnatore.getNumeroAssegnate());
+        // Nessuna richiesta resta in attesa mentre un mentore qualificato ha posto
+        for (String competenza : COMPETENZE) {
+            if (assegnatore.getInAttesa(competenza) > 0) {
+                for (ProfiloMentore profilo : assegnatore.getProfili()) {
+                    assertFalse(profilo.getCompetenze().contains(competenza)
+                        && profilo.getCarico() < profilo.getCapacita(), profilo::toString);
+                }
+            }
+        }
+    }
+}
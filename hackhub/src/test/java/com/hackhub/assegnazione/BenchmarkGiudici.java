@@ -0,0 +1,157 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Simulazione della fase di valutazione di un grande hackathon: molte
+ * sottomissioni, qualche centinaio di giudici e uno storico di team passati in
+ * cui parte dei giudici ha partecipato o ha ricevuto inviti.
+ *
+ * Le persone sono identificate dall'email: un ex partecipante diventato giudice
+ * ha un account di staff con la stessa email. Alcuni giudici sono molto
+ * collegati (hanno fatto da membri in molti team) per rendere i conflitti densi.
+ *
+ * Verifica che nessun giudice sia in conflitto con le proprie sottomissioni,
+ * che ogni sottomissione abbia giudici distinti e stampa tempi e carichi,
+ * con il pool comune e con un pool a un solo thread.
+ *
+ * Uso: BenchmarkGiudici [sottomissioni] [giudici] [giudiciPerSottomissione] [teamStorici]
+ */
+public class BenchmarkGiudici {
+
+    public static void main(String[] args) {
+        int numeroSottomissioni = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int numeroGiudici = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int perSottomissione = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int numeroStorici = args.length > 3 ? Integer.parseInt(args[3]) : 50_000;
+        int numeroPersone = Math.max(1000, (numeroSottomissioni + numeroStorici) * 2);
+        Random casuale = new Random(42);
+
+        Hackathon hackathon = new Hackathon("Finale", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3),
+            LocalDate.of(2026, 2, 20));
+        List<Team> storia = new ArrayList<>();
+        List<MembroStaff> giudici = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < numeroStorici; t++) {
+                Team team = popola("Storico " + t, numeroPersone, casuale);
+                // Un giudice su quindici e' molto collegato: compare in un team storico su cinquanta
+                if (t % 50 == 0) {
+                    int collegato = casuale.nextInt(numeroGiudici / 15 + 1) * 15;
+                    Utente giudice = new Utente("Ex", "Partecipante", email(persona(collegato, numeroPersone)), "pw");
+                    giudice.accettaInvito(team.getLeader().invitaUtente(giudice));
+                }
+                storia.add(team);
+            }
+            for (int i = 0; i < numeroSottomissioni; i++) {
+                Team team = popola("Team " + i, numeroPersone, casuale);
+                Iscrizione iscrizione = new Iscrizione(team, hackathon);
+                team.aggiungiIscrizione(iscrizione);
+                hackathon.aggiungiIscrizione(iscrizione);
+                team.aggiungiSottomissione(new Sottomissione(team, hackathon, "Progetto " + i, "https://example.org/" + i));
+            }
+            hackathon.setStato(StatoHackathon.IN_VALUTAZIONE);
+            for (int g = 0; g < numeroGiudici; g++) {
+                giudici.add(new MembroStaff("Giudice", "G" + g, email(persona(g, numeroPersone)), "pw") { });
+            }
+        });
+
+        GrafoConflitti grafo = new GrafoConflitti(storia);
+        System.out.printf("Storico: %d team, %d persone%n", grafo.getNumeroTeam(), grafo.getNumeroPersone());
+
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        AssegnatoreGiudici parallelo = new AssegnatoreGiudici();
+        AssegnatoreGiudici sequenziale = new AssegnatoreGiudici(unThread);
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            long inizio = System.nanoTime();
+            AssegnazioneGiudici assegnazione = parallelo.assegna(hackathon, giudici, storia, perSottomissione);
+            long durataParallela = System.nanoTime() - inizio;
+            inizio = System.nanoTime();
+            AssegnazioneGiudici controllo = sequenziale.assegna(hackathon, giudici, storia, perSottomissione);
+            long durataSequenziale = System.nanoTime() - inizio;
+            if (controllo.getCaricoMassimo() != assegnazione.getCaricoMassimo()
+                    || controllo.getPostiScoperti() != assegnazione.getPostiScoperti()) {
+                throw new IllegalStateException("Risultati diversi: " + assegnazione + " e " + controllo);
+            }
+            System.out.printf("%s in %d ms con %d thread, %d ms con 1 thread%n", assegnazione,
+                durataParallela / 1_000_000, ForkJoinPool.getCommonPoolParallelism(), durataSequenziale / 1_000_000);
+            if (ripetizione == 0) {
+                verifica(assegnazione, hackathon, giudici, grafo);
+            }
+        }
+        unThread.shutdown();
+    }
+
+    private static void verifica(AssegnazioneGiudici assegnazione, Hackathon hackathon, List<MembroStaff> giudici,
+                                 GrafoConflitti grafo) {
+        int conflittiEsclusi = 0;
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            Team team = iscrizione.getTeam();
+            for (Sottomissione sottomissione : team.getSottomissioni()) {
+                List<MembroStaff> assegnati = assegnazione.getGiudici(sottomissione);
+                Set<MembroStaff> distinti = new HashSet<>(assegnati);
+                if (distinti.size() != assegnati.size()) {
+                    throw new IllegalStateException("Giudice ripetuto su " + sottomissione);
+                }
+                for (MembroStaff giudice : assegnati) {
+                    if (grafo.isInConflitto(giudice, team)) {
+                        throw new IllegalStateException(giudice.getEmail() + " in conflitto con " + team.getNome());
+                    }
+                }
+                for (MembroStaff giudice : giudici) {
+                    conflittiEsclusi += grafo.isInConflitto(giudice, team) ? 1 : 0;
+                }
+            }
+        }
+        int totale = 0;
+        for (MembroStaff giudice : giudici) {
+            totale += assegnazione.getSottomissioni(giudice).size();
+        }
+        if (totale + assegnazione.getPostiScoperti()
+                != hackathon.getIscrizioni().size() * assegnazione.getGiudiciPerSottomissione()) {
+            throw new IllegalStateException("Posti non coerenti: " + totale);
+        }
+        System.out.printf("Verifica superata: %d coppie giudice-sottomissione in conflitto escluse%n", conflittiEsclusi);
+    }
+
+    /**
+     * Crea un team con un leader e tre invitati: due accettano, uno no.
+     */
+    private static Team popola(String nome, int numeroPersone, Random casuale) {
+        Utente fondatore = new Utente("Nome", "Cognome", email(casuale.nextInt(numeroPersone)), "pw");
+        Team team = fondatore.creaTeam(nome, null);
+        for (int m = 0; m < 3; m++) {
+            Utente invitato = new Utente("Nome", "Cognome", email(casuale.nextInt(numeroPersone)), "pw");
+            if (m < 2) {
+                invitato.accettaInvito(team.getLeader().invitaUtente(invitato));
+            } else {
+                team.getLeader().invitaUtente(invitato);
+            }
+        }
+        return team;
+    }
+
+    /**
+     * Persona corrispondente a un giudice: i giudici sono ex partecipanti sparsi tra le persone.
+     */
+    private static int persona(int giudice, int numeroPersone) {
+        return (int) ((giudice * 7919L) % numeroPersone);
+    }
+
+    private static String email(int persona) {
+        return "p" + persona + "@hackhub.it";
+    }
+}
@@ -0,0 +1,192 @@
+package com.hackhub.assegnazione;
+
+import com.hackhub.enums.StatoCall;
+import com.hackhub.model.Call;
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulazione dell'apertura di un hackathon: molti team chiedono una call nello
+ * stesso momento, da piu' thread, e una parte delle call viene annullata subito.
+ *
+ * Confronta AssegnatoreMentori con una scansione lineare dei mentori sotto un
+ * lock globale, poi verifica che nessun mentore superi la capacita', che i
+ * carichi corrispondano alle call attive e che nessuna richiesta resti in
+ * attesa mentre un mentore qualificato ha posto.
+ *
+ * Uso: BenchmarkMentori [mentori] [richieste] [thread]
+ */
+public class BenchmarkMentori {
+
+    private static final String[] COMPETENZE = {
+        "java", "python", "frontend", "dati", "design", "cloud", "sicurezza", "mobile", "ml", "devops", "iot", "pitch"
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        int numeroMentori = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int numeroRichieste = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int numeroThread = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Random casuale = new Random(42);
+
+        List<MembroStaff> mentori = new ArrayList<>();
+        List<List<String>> competenzeMentori = new ArrayList<>();
+        List<Integer> capacita = new ArrayList<>();
+        for (int i = 0; i < numeroMentori; i++) {
+            mentori.add(new MembroStaff("Mentore", "N" + i, "mentore" + i + "@hackhub.it", "pw") { });
+            List<String> competenze = new ArrayList<>();
+            for (int c = 0; c < 1 + casuale.nextInt(3); c++) {
+                competenze.add(COMPETENZE[casuale.nextInt(COMPETENZE.length)]);
+            }
+            competenzeMentori.add(competenze);
+            capacita.add(20 + casuale.nextInt(60));
+        }
+        Team team = new Utente("Nome", "Cognome", "team@hackhub.it", "pw").creaTeam("Team", null);
+
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            AssegnatoreMentori assegnatore = new AssegnatoreMentori();
+            ScansioneGlobale scansione = new ScansioneGlobale();
+            for (int i = 0; i < numeroMentori; i++) {
+                assegnatore.registraMentore(mentori.get(i), capacita.get(i), competenzeMentori.get(i));
+                scansione.registra(mentori.get(i), capacita.get(i), competenzeMentori.get(i));
+            }
+
+            List<Call> call = richieste(team, numeroRichieste);
+            long durataIndice = esegui(call, numeroThread, c -> {
+                assegnatore.richiedi(c);
+                // Una call su cinque viene annullata subito dal team
+                if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                    c.annulla();
+                    assegnatore.rilascia(c);
+                }
+            });
+            verifica(assegnatore, call);
+
+            List<Call> altre = richieste(team, numeroRichieste);
+            long durataScansione = esegui(altre, numeroThread, c -> {
+                scansione.richiedi(c);
+                if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                    c.annulla();
+                    scansione.rilascia(c);
+                }
+            });
+
+            System.out.printf("%d richieste su %d mentori con %d thread: indice %.0f ms, lock globale %.0f ms%n",
+                numeroRichieste, numeroMentori, numeroThread, durataIndice / 1e6, durataScansione / 1e6);
+        }
+    }
+
+    private static List<Call> richieste(Team team, int numero) {
+        List<Call> call = new ArrayList<>(numero);
+        Random casuale = new Random(7);
+        for (int i = 0; i < numero; i++) {
+            call.add(new Call(team, COMPETENZE[casuale.nextInt(COMPETENZE.length)]));
+        }
+        return call;
+    }
+
+    private static long esegui(List<Call> call, int numeroThread, java.util.function.Consumer<Call> azione)
+            throws InterruptedException {
+        CountDownLatch via = new CountDownLatch(1);
+        List<Thread> thread = new ArrayList<>();
+        for (int t = 0; t < numeroThread; t++) {
+            int primo = t;
+            Thread esecutore = new Thread(() -> {
+                try {
+                    via.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = primo; i < call.size(); i += numeroThread) {
+                    azione.accept(call.get(i));
+                }
+            });
+            esecutore.start();
+            thread.add(esecutore);
+        }
+        long inizio = System.nanoTime();
+        via.countDown();
+        for (Thread esecutore : thread) {
+            esecutore.join();
+        }
+        return System.nanoTime() - inizio;
+    }
+
+    private static void verifica(AssegnatoreMentori assegnatore, List<Call> call) {
+        int attive = 0;
+        int inAttesa = 0;
+        for (Call c : call) {
+            if (c.getStato() == StatoCall.PROPOSTA) {
+                attive++;
+            } else if (c.getStato() == StatoCall.RICHIESTA) {
+                inAttesa++;
+            }
+        }
+        int carichi = 0;
+        for (ProfiloMentore profilo : assegnatore.getProfili()) {
+            if (profilo.getCarico() > profilo.getCapacita() || profilo.getCarico() < 0) {
+                throw new IllegalStateException("Capacita' violata: " + profilo);
+            }
+            carichi += profilo.getCarico();
+        }
+        if (carichi != attive || assegnatore.getNumeroAssegnate() != attive) {
+            throw new IllegalStateException("Carichi " + carichi + ", assegnate " + assegnatore.getNumeroAssegnate()
+                + ", call attive " + attive);
+        }
+        for (String competenza : COMPETENZE) {
+            if (assegnatore.getInAttesa(competenza) > 0) {
+                for (ProfiloMentore profilo : assegnatore.getProfili()) {
+                    if (profilo.getCompetenze().contains(competenza) && profilo.getCarico() < profilo.getCapacita()) {
+                        throw new IllegalStateException("Richieste in attesa su " + competenza
+                            + " con un mentore libero: " + profilo);
+                    }
+                }
+            }
+        }
+        System.out.printf("Verifica: %d call attive, %d in attesa, capacita' rispettate%n", attive, inAttesa);
+    }
+
+    /**
+     * Assegnazione di riferimento: scansione lineare dei mentori sotto un unico lock.
+     */
+    private static final class ScansioneGlobale {
+        private final List<MembroStaff> mentori = new ArrayList<>();
+        private final List<List<String>> competenze = new ArrayList<>();
+        private final List<int[]> carichi = new ArrayList<>();
+        private final java.util.Map<Call, int[]> assegnate = new java.util.HashMap<>();
+
+        private synchronized void registra(MembroStaff mentore, int capacita, List<String> competenzeMentore) {
+            mentori.add(mentore);
+            competenze.add(competenzeMentore);
+            carichi.add(new int[] {0, capacita});
+        }
+
+        private synchronized void richiedi(Call call) {
+            int migliore = -1;
+            for (int i = 0; i < mentori.size(); i++) {
+                int[] carico = carichi.get(i);
+                if (competenze.get(i).contains(call.getArgomento()) && carico[0] < carico[1]
+                        && (migliore < 0 || carico[0] < carichi.get(migliore)[0])) {
+                    migliore = i;
+                }
+            }
+            if (migliore >= 0) {
+                carichi.get(migliore)[0]++;
+                assegnate.put(call, carichi.get(migliore));
+                call.assegna(mentori.get(migliore));
+            }
+        }
+
+        private synchronized void rilascia(Call call) {
+            int[] carico = assegnate.remove(call);
+            if (carico != null) {
+                carico[0]--;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hackhub.assegnazione;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.model.MembroStaff;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dei legami ricavati dallo storico di team e inviti.
+ */
+class GrafoConflittiTest {
+
+    private Team primo;
+    private Team secondo;
+    private Team terzo;
+    private GrafoConflitti grafo;
+
+    private static MembroStaff giudice(String email) {
+        return new MembroStaff("Giudice", "G", email, "pw") { };
+    }
+
+    @BeforeEach
+    void creaStorico() {
+        // primo: leader a, b ha accettato l'invito, c l'ha solo ricevuto
+        primo = new Utente("A", "A", "a@hackhub.it", "pw").creaTeam("Primo", null);
+        Utente b = new Utente("B", "B", "b@hackhub.it", "pw");
+        b.accettaInvito(primo.getLeader().invitaUtente(b));
+        primo.getLeader().invitaUtente(new Utente("C", "C", "c@hackhub.it", "pw"));
+        // secondo: leader d, senza legami con primo
+        secondo = new Utente("D", "D", "d@hackhub.it", "pw").creaTeam("Secondo", null);
+        // terzo: un nuovo account di b, che in primo ha fatto squadra con a
+        terzo = new Utente("B", "B", "B@HackHub.it", "pw").creaTeam("Terzo", null);
+        grafo = new GrafoConflitti(List.of(primo, secondo, terzo));
+    }
+
+    @Test
+    void componentiEInvitatiSonoInConflitto() {
+        assertTrue(grafo.isInConflitto(giudice("a@hackhub.it"), primo));
+        assertTrue(grafo.isInConflitto(giudice("c@hackhub.it"), primo));
+        assertTrue(grafo.isInConflitto(giudice("d@hackhub.it"), secondo));
+        assertFalse(grafo.isInConflitto(giudice("d@hackhub.it"), primo));
+    }
+
+    @Test
+    void legameSeguePersonaNonAccount() {
+        // a e b hanno condiviso primo: a e' in conflitto con il team che b ha fondato poi
+        assertTrue(grafo.isInConflitto(giudice(" A@hackhub.it"), terzo));
+        assertFalse(grafo.isInConflitto(giudice("d@hackhub.it"), terzo));
+    }
+
+    @Test
+    void giudiceSconosciutoOSenzaEmailNonEInConflitto() {
+        assertFalse(grafo.isInConflitto(giudice("z@hackhub.it"), primo));
+        assertFalse(grafo.isInConflitto(giudice(null), primo));
+    }
+}
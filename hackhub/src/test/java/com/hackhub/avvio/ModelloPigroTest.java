@@ -0,0 +1,129 @@
+package com.hackhub.avvio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Idratabile;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test del modello caricato su richiesta: salvataggio, caricamento pigro delle
+ * collezioni e riscaldamento degli hackathon attivi. I tempi di avvio su una
+ * stagione intera sono misurati da SimulazioneAvvio.
+ */
+class ModelloPigroTest {
+
+    private static final int HACKATHON = 8;
+    private static final int TEAM_PER_HACKATHON = 3;
+
+    @TempDir
+    Path cartella;
+
+    private final List<Hackathon> hackathon = new ArrayList<>();
+
+    @BeforeEach
+    void salvaStagione() throws IOException {
+        List<Utente> utenti = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            LocalDate oggi = LocalDate.now();
+            for (int h = 0; h < HACKATHON; h++) {
+                Hackathon evento = new Hackathon("Hackathon " + h, oggi.plusDays(h), oggi.plusDays(h + 2),
+                    oggi.plusDays(h - 5));
+                // Due hackathon attivi, gli altri conclusi
+                evento.setStato(h % 4 == 0 ? StatoHackathon.IN_CORSO : StatoHackathon.CONCLUSO);
+                hackathon.add(evento);
+                for (int t = 0; t < TEAM_PER_HACKATHON; t++) {
+                    Utente fondatore = new Utente("Nome", "Cognome", "l" + h + "." + t + "@hackhub.it", "pw");
+                    Team team = fondatore.creaTeam("Team " + h + "." + t, "Descrizione");
+                    Utente invitato = new Utente("Membro", "Team", "m" + h + "." + t + "@hackhub.it", "pw");
+                    invitato.accettaInvito(team.getLeader().invitaUtente(invitato));
+                    Iscrizione iscrizione = new Iscrizione(team, evento);
+                    team.aggiungiIscrizione(iscrizione);
+                    evento.aggiungiIscrizione(iscrizione);
+                    team.aggiungiSottomissione(new Sottomissione(team, evento, "Progetto " + t, null));
+                    utenti.add(fondatore);
+                    utenti.add(invitato);
+                }
+            }
+        });
+        MagazzinoModello.salva(cartella, hackathon, utenti);
+    }
+
+    @Test
+    void collezioniVengonoCaricateAlPrimoAccesso() throws IOException {
+        Hackathon originale = hackathon.get(HACKATHON - 1);
+        try (ModelloPigro modello = ModelloPigro.apri(cartella, new MetricheAvvio(System.nanoTime()))) {
+            Hackathon caricato = modello.getHackathon(originale.getId());
+
+            assertFalse(caricato.isIdratata());
+            assertEquals(originale.getNome(), caricato.getNome());
+            assertEquals(TEAM_PER_HACKATHON, caricato.getIscrizioni().size());
+            assertTrue(caricato.isIdratata());
+            for (Iscrizione iscrizione : caricato.getIscrizioni()) {
+                Team team = iscrizione.getTeam();
+                assertFalse(team.getMembri().isEmpty());
+                assertEquals(1, team.getSottomissioni().size());
+                assertSame(team, modello.getTeam(team.getId()));
+            }
+            assertSame(caricato, modello.getHackathon(originale.getId()));
+            assertNull(modello.getHackathon(Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void caricamentoCompletoIdrataOgniEntita() throws IOException {
+        try (ModelloPigro modello = ModelloPigro.apri(cartella, new MetricheAvvio(System.nanoTime()))) {
+            IndiceEntita indice = modello.getIndice();
+            assertEquals(HACKATHON, indice.getNumero(IndiceEntita.HACKATHON));
+            for (byte categoria = 0; categoria < IndiceEntita.CODIFICHE.length; categoria++) {
+                for (long id : indice.getId(categoria)) {
+                    Object entita = modello.carica(IndiceEntita.CODIFICHE[categoria], id);
+                    assertNotNull(entita);
+                    if (entita instanceof Hackathon) {
+                        ((Hackathon) entita).getIscrizioni();
+                    } else if (entita instanceof Team) {
+                        ((Team) entita).getIscrizioni();
+                    } else if (entita instanceof Utente) {
+                        ((Utente) entita).getInvitiRicevuti();
+                    }
+                    if (entita instanceof Idratabile) {
+                        assertTrue(((Idratabile) entita).isIdratata(), "Entita' non idratata: " + entita);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void riscaldamentoCaricaSoloGliHackathonAttivi() throws IOException, InterruptedException {
+        MetricheAvvio metriche = new MetricheAvvio(System.nanoTime());
+        try (ModelloPigro modello = ModelloPigro.apri(cartella, metriche)) {
+            RiscaldatoreModello riscaldatore = new RiscaldatoreModello(modello);
+            riscaldatore.avvia();
+
+            assertTrue(riscaldatore.attendi(Duration.ofSeconds(30)));
+            assertEquals(2, riscaldatore.getRiscaldati());
+            assertNotNull(metriche.getTempoRiscaldamento());
+            assertTrue(metriche.getEntitaCaricate() < modello.getIndice().getNumeroTotale());
+        }
+    }
+}
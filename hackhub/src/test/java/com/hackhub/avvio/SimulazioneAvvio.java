@@ -0,0 +1,138 @@
+package com.hackhub.avvio;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.json.CodificaJson;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Idratabile;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulazione del riavvio con un modello salvato di una stagione di hackathon.
+ *
+ * Il modello viene salvato una volta, poi aperto due volte:
+ * - caricamento completo: tutte le entita' e tutte le collezioni prima di servire
+ * - avvio rapido: solo l'indice, una richiesta subito e il riscaldamento in background
+ *
+ * Per entrambi vengono stampati il tempo alla prima richiesta e il tempo al
+ * modello caldo. Un hackathon su quattro e' attivo (IN_ISCRIZIONE o IN_CORSO).
+ *
+ * Uso: SimulazioneAvvio [hackathon] [teamPerHackathon]
+ */
+public class SimulazioneAvvio {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numeroHackathon = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int teamPerHackathon = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        Path cartella = Files.createTempDirectory("hackhub-avvio");
+        List<Hackathon> hackathon = new ArrayList<>();
+        List<Utente> utenti = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> popola(hackathon, utenti, numeroHackathon, teamPerHackathon));
+        long inizioSalvataggio = System.nanoTime();
+        int salvate = MagazzinoModello.salva(cartella, hackathon, utenti);
+        System.out.printf("Salvate %d entita' in %d ms (%d KB)%n", salvate,
+            (System.nanoTime() - inizioSalvataggio) / 1_000_000,
+            Files.size(cartella.resolve(IndiceEntita.FILE_ENTITA)) / 1024);
+        long idRichiesta = hackathon.get(hackathon.size() - 1).getId();
+        hackathon.clear();
+        utenti.clear();
+        System.gc();
+
+        // Caricamento completo: la prima richiesta arriva dopo aver caricato tutto
+        long inizio = System.nanoTime();
+        MetricheAvvio completo = new MetricheAvvio(inizio);
+        try (ModelloPigro modello = ModelloPigro.apri(cartella, completo)) {
+            caricaTutto(modello);
+            completo.segnaRiscaldamento();
+            richiesta(modello, idRichiesta);
+        }
+        System.out.println("Caricamento completo: " + completo);
+        System.gc();
+
+        // Avvio rapido: la prima richiesta arriva appena aperto l'indice
+        inizio = System.nanoTime();
+        MetricheAvvio rapido = new MetricheAvvio(inizio);
+        try (ModelloPigro modello = ModelloPigro.apri(cartella, rapido)) {
+            RiscaldatoreModello riscaldatore = new RiscaldatoreModello(modello);
+            riscaldatore.avvia();
+            richiesta(modello, idRichiesta);
+            riscaldatore.attendi(Duration.ofMinutes(5));
+            System.out.println("Avvio rapido:         " + rapido);
+            System.out.printf("Hackathon attivi riscaldati: %d, entita' caricate: %d su %d%n",
+                riscaldatore.getRiscaldati(), rapido.getEntitaCaricate(), modello.getIndice().getNumeroTotale());
+        }
+    }
+
+    private static void richiesta(ModelloPigro modello, long idHackathon) {
+        Hackathon hackathon = modello.getHackathon(idHackathon);
+        int membri = 0;
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            membri += iscrizione.getTeam().getMembri().size();
+        }
+        if (membri == 0) {
+            throw new IllegalStateException("Hackathon " + idHackathon + " senza partecipanti");
+        }
+    }
+
+    private static void caricaTutto(ModelloPigro modello) {
+        for (byte categoria = 0; categoria < IndiceEntita.CODIFICHE.length; categoria++) {
+            CodificaJson<?> codifica = IndiceEntita.CODIFICHE[categoria];
+            for (long id : modello.getIndice().getId(categoria)) {
+                Object entita = modello.carica(codifica, id);
+                if (entita instanceof Hackathon) {
+                    ((Hackathon) entita).getIscrizioni();
+                } else if (entita instanceof Team) {
+                    Team team = (Team) entita;
+                    team.getInviti();
+                    team.getIscrizioni();
+                    team.getSottomissioni();
+                } else if (entita instanceof Utente) {
+                    ((Utente) entita).getInvitiRicevuti();
+                }
+                if (entita instanceof Idratabile && !((Idratabile) entita).isIdratata()) {
+                    throw new IllegalStateException("Entita' non idratata: " + entita);
+                }
+            }
+        }
+    }
+
+    private static void popola(List<Hackathon> hackathon, List<Utente> utenti, int numeroHackathon,
+                               int teamPerHackathon) {
+        StatoHackathon[] stati = StatoHackathon.values();
+        LocalDate oggi = LocalDate.now();
+        for (int h = 0; h < numeroHackathon; h++) {
+            Hackathon evento = new Hackathon("Hackathon " + h, oggi.plusDays(h % 60), oggi.plusDays(h % 60 + 2),
+                oggi.plusDays(h % 60 - 5));
+            evento.setLuogo("Sede " + h % 20);
+            evento.setRegolamento("Regolamento dell'edizione " + h);
+            // Un hackathon su quattro attivo, gli altri in valutazione o conclusi
+            evento.setStato(h % 4 == 0 ? stati[h % 8 == 0 ? 0 : 1] : stati[2 + h % 2]);
+            hackathon.add(evento);
+            for (int t = 0; t < teamPerHackathon; t++) {
+                Utente fondatore = new Utente("Nome", "Cognome", "l" + h + "." + t + "@hackhub.it", "pw");
+                Team team = fondatore.creaTeam("Team " + h + "." + t, "Descrizione");
+                for (int m = 0; m < 3; m++) {
+                    Utente invitato = new Utente("Membro", "Team", "m" + m + "." + h + "." + t + "@hackhub.it", "pw");
+                    invitato.accettaInvito(team.getLeader().invitaUtente(invitato));
+                    utenti.add(invitato);
+                }
+                Iscrizione iscrizione = new Iscrizione(team, evento);
+                team.aggiungiIscrizione(iscrizione);
+                evento.aggiungiIscrizione(iscrizione);
+                team.aggiungiSottomissione(new Sottomissione(team, evento, "Progetto " + t, "https://example.org/" + t));
+                utenti.add(fondatore);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hackhub.calendario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dell'albero di intervalli confrontato con una scansione lineare.
+ */
+class AlberoIntervalliTest {
+
+    private static boolean sovrapposti(long[] intervallo, long inizio, long fine) {
+        return intervallo[0] <= fine && inizio <= intervallo[1];
+    }
+
+    @Test
+    void ricercheCoincidonoConLaScansione() {
+        Random casuale = new Random(42);
+        AlberoIntervalli<long[]> albero = new AlberoIntervalli<>();
+        List<long[]> intervalli = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long inizio = i * 4L + casuale.nextInt(2);
+            long[] intervallo = {inizio, inizio + casuale.nextInt(5), i};
+            assertTrue(albero.inserisci(intervallo[0], intervallo[1], i, intervallo));
+            intervalli.add(intervallo);
+        }
+        // Meta' degli intervalli viene rimossa: l'albero deve restare bilanciato e coerente
+        for (int i = 0; i < intervalli.size(); i += 2) {
+            long[] intervallo = intervalli.get(i);
+            assertTrue(albero.rimuovi(intervallo[0], intervallo[2]));
+            intervalli.set(i, null);
+        }
+        intervalli.removeIf(intervallo -> intervallo == null);
+        assertEquals(intervalli.size(), albero.getDimensione());
+
+        for (int q = 0; q < 2000; q++) {
+            long inizio = casuale.nextInt(8200);
+            long fine = inizio + casuale.nextInt(3);
+            long attesi = intervalli.stream().filter(x -> sovrapposti(x, inizio, fine)).count();
+            AtomicInteger trovati = new AtomicInteger();
+            albero.sovrapposti(inizio, fine, x -> trovati.incrementAndGet());
+            assertEquals(attesi, trovati.get());
+            long[] primo = albero.primoSovrapposto(inizio, fine);
+            assertEquals(attesi == 0, primo == null);
+            if (primo != null) {
+                assertTrue(sovrapposti(primo, inizio, fine));
+            }
+        }
+
+        long coppie = 0;
+        for (int i = 0; i < intervalli.size(); i++) {
+            for (int j = i + 1; j < intervalli.size(); j++) {
+                coppie += sovrapposti(intervalli.get(i), intervalli.get(j)[0], intervalli.get(j)[1]) ? 1 : 0;
+            }
+        }
+        AtomicInteger trovate = new AtomicInteger();
+        albero.coppieSovrapposte((primo, secondo) -> trovate.incrementAndGet());
+        assertEquals(coppie, trovate.get());
+    }
+
+    @Test
+    void chiaveDistingueIntervalliConLoStessoInizio() {
+        AlberoIntervalli<String> albero = new AlberoIntervalli<>();
+        assertTrue(albero.inserisci(10, 12, 1, "a"));
+        assertTrue(albero.inserisci(10, 11, 2, "b"));
+        assertFalse(albero.inserisci(10, 12, 1, "a"));
+
+        assertTrue(albero.rimuovi(10, 1));
+        assertFalse(albero.rimuovi(10, 1));
+        assertEquals(List.of("b"), albero.valori());
+        assertNull(albero.primoSovrapposto(12, 20));
+        assertThrows(IllegalArgumentException.class, () -> albero.inserisci(5, 4, 3, "c"));
+    }
+}
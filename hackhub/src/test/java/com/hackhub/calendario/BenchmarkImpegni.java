@@ -0,0 +1,115 @@
+package com.hackhub.calendario;
+
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Confronto tra il controllo delle sovrapposizioni per scansione delle
+ * iscrizioni del team e quello con IndiceImpegni.
+ *
+ * 1. Un team molto attivo con molte iscrizioni riceve una serie di richieste
+ *    di controllo su date casuali: scansione lineare contro albero di intervalli.
+ * 2. Ricerca di tutte le sovrapposizioni su molti team con il pool comune
+ *    e con un pool a un solo thread.
+ *
+ * Uso: BenchmarkImpegni [iscrizioniTeamAttivo] [team]
+ */
+public class BenchmarkImpegni {
+
+    public static void main(String[] args) {
+        int numeroIscrizioni = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int numeroTeam = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        Random casuale = new Random(42);
+        LocalDate origine = LocalDate.of(2020, 1, 1);
+
+        List<Team> team = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            team.add(popola("Team attivo", numeroIscrizioni, origine, casuale));
+            for (int i = 1; i < numeroTeam; i++) {
+                team.add(popola("Team " + i, 8, origine, casuale));
+            }
+        });
+
+        IndiceImpegni indice = new IndiceImpegni();
+        long inizio = System.nanoTime();
+        indice.indicizza(team);
+        System.out.printf("Indicizzati %d impegni in %d ms%n", indice.getNumeroImpegni(),
+            (System.nanoTime() - inizio) / 1_000_000);
+
+        Team attivo = team.get(0);
+        int controlli = 20000;
+        long[] inizi = new long[controlli];
+        for (int i = 0; i < controlli; i++) {
+            inizi[i] = origine.toEpochDay() + casuale.nextInt(numeroIscrizioni * 4);
+        }
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            long liberiScansione = 0;
+            long liberiIndice = 0;
+            inizio = System.nanoTime();
+            for (long giorno : inizi) {
+                liberiScansione += scansione(attivo, LocalDate.ofEpochDay(giorno),
+                    LocalDate.ofEpochDay(giorno + 2)) ? 0 : 1;
+            }
+            long durataScansione = System.nanoTime() - inizio;
+            inizio = System.nanoTime();
+            for (long giorno : inizi) {
+                liberiIndice += indice.conflittoTeam(attivo.getId(), LocalDate.ofEpochDay(giorno),
+                    LocalDate.ofEpochDay(giorno + 2)) != null ? 0 : 1;
+            }
+            long durataIndice = System.nanoTime() - inizio;
+            if (liberiScansione != liberiIndice) {
+                throw new IllegalStateException("Risultati diversi: " + liberiScansione + " e " + liberiIndice);
+            }
+            System.out.printf("controllo su %d iscrizioni: scansione %.2f us, indice %.3f us per controllo%n",
+                numeroIscrizioni, durataScansione / 1e3 / controlli, durataIndice / 1e3 / controlli);
+        }
+
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        IndiceImpegni sequenziale = new IndiceImpegni(unThread);
+        sequenziale.indicizza(team);
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            inizio = System.nanoTime();
+            int parallele = indice.trovaSovrapposizioni().size();
+            long durataParallela = System.nanoTime() - inizio;
+            inizio = System.nanoTime();
+            int sequenziali = sequenziale.trovaSovrapposizioni().size();
+            long durataSequenziale = System.nanoTime() - inizio;
+            System.out.printf("sovrapposizioni: %d in %d ms con %d thread, %d in %d ms con 1 thread%n",
+                parallele, durataParallela / 1_000_000, ForkJoinPool.getCommonPoolParallelism(),
+                sequenziali, durataSequenziale / 1_000_000);
+        }
+        unThread.shutdown();
+    }
+
+    private static boolean scansione(Team team, LocalDate inizio, LocalDate fine) {
+        for (Iscrizione iscrizione : team.getIscrizioni()) {
+            Hackathon hackathon = iscrizione.getHackathon();
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA
+                    && !hackathon.getDataInizio().isAfter(fine) && !inizio.isAfter(hackathon.getDataFine())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Team popola(String nome, int iscrizioni, LocalDate origine, Random casuale) {
+        Team team = new Utente("Nome", "Cognome", nome + "@hackhub.it", "pw").creaTeam(nome, null);
+        for (int i = 0; i < iscrizioni; i++) {
+            // Un hackathon ogni quattro giorni, con qualche sovrapposizione
+            LocalDate inizio = origine.plusDays(i * 4L + casuale.nextInt(2));
+            Hackathon hackathon = new Hackathon("H", inizio, inizio.plusDays(casuale.nextInt(5)), inizio.minusDays(7));
+            Iscrizione iscrizione = new Iscrizione(team, hackathon);
+            team.aggiungiIscrizione(iscrizione);
+        }
+        return team;
+    }
+}
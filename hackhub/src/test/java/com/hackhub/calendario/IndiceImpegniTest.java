@@ -0,0 +1,117 @@
+package com.hackhub.calendario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hackhub.enums.TipoArgomento;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dell'indice degli impegni: rifiuto delle iscrizioni sovrapposte e
+ * allineamento con gli eventi del modello. Il confronto con la scansione
+ * delle iscrizioni su molti team e' BenchmarkImpegni.
+ */
+class IndiceImpegniTest {
+
+    private static final LocalDate INIZIO = LocalDate.of(2026, 3, 1);
+
+    private IndiceImpegni indice;
+
+    private Team team;
+
+    @BeforeEach
+    void creaTeam() {
+        team = new Utente("Nome", "Cognome", "leader@hackhub.it", "pw").creaTeam("Team", null);
+    }
+
+    @AfterEach
+    void disattiva() {
+        if (indice != null) {
+            indice.disattiva();
+        }
+    }
+
+    private static Hackathon hackathon(int giorno, int durata) {
+        LocalDate inizio = INIZIO.plusDays(giorno);
+        return new Hackathon("H" + giorno, inizio, inizio.plusDays(durata), inizio.minusDays(7));
+    }
+
+    private static Iscrizione iscrivi(Team team, Hackathon hackathon) {
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        team.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        return iscrizione;
+    }
+
+    @Test
+    void iscrizioneSovrappostaVieneRifiutata() {
+        indice = new IndiceImpegni();
+        indice.attiva();
+        Iscrizione prima = iscrivi(team, hackathon(0, 2));
+
+        Hackathon sovrapposto = hackathon(1, 2);
+        SovrapposizioneDateException errore = assertThrows(SovrapposizioneDateException.class,
+            () -> iscrivi(team, sovrapposto));
+
+        assertSame(prima, errore.getConflitto().getIscrizione());
+        assertEquals(1, team.getIscrizioni().size());
+        assertEquals(1, indice.getImpegniTeam(team.getId()).size());
+        // Il leader e' impegnato anche se non e' ancora tra i membri
+        assertEquals(1, indice.getImpegniUtente(team.getLeader().getId()).size());
+        iscrivi(team, hackathon(5, 1));
+        assertEquals(2, indice.getNumeroImpegni());
+    }
+
+    @Test
+    void verificaNonRegistraImpegni() {
+        indice = new IndiceImpegni();
+        indice.attiva();
+        Hackathon hackathon = hackathon(0, 2);
+
+        // Solo il passo del team: l'iscrizione non e' ancora andata a buon fine
+        team.aggiungiIscrizione(new Iscrizione(team, hackathon));
+
+        assertEquals(0, indice.getNumeroImpegni());
+        assertNull(indice.conflittoTeam(team.getId(), INIZIO, INIZIO.plusDays(2)));
+    }
+
+    @Test
+    void annullamentoLiberaLeDate() {
+        indice = new IndiceImpegni();
+        indice.attiva();
+        Iscrizione prima = iscrivi(team, hackathon(0, 2));
+
+        prima.annulla();
+
+        assertNull(indice.conflittoTeam(team.getId(), INIZIO, INIZIO.plusDays(2)));
+        iscrivi(team, hackathon(1, 2));
+        assertEquals(1, indice.getNumeroImpegni());
+    }
+
+    @Test
+    void sovrapposizioniEsistentiVengonoTrovate() {
+        // Indice non attivo: le iscrizioni sovrapposte vengono accettate e poi indicizzate
+        iscrivi(team, hackathon(0, 2));
+        iscrivi(team, hackathon(2, 1));
+        iscrivi(team, hackathon(10, 1));
+        indice = new IndiceImpegni();
+        indice.indicizza(List.of(team));
+
+        List<Sovrapposizione> sovrapposizioni = indice.trovaSovrapposizioni();
+
+        assertEquals(1, sovrapposizioni.size());
+        assertEquals(TipoArgomento.TEAM, sovrapposizioni.get(0).getTipo());
+        assertEquals(team.getId().longValue(), sovrapposizioni.get(0).getIdProprietario());
+        assertEquals(INIZIO, sovrapposizioni.get(0).getPrimo().getInizio());
+    }
+}
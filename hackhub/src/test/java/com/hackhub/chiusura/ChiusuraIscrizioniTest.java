@@ -0,0 +1,238 @@
+package com.hackhub.chiusura;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.concorrenza.ConflittoVersioneException;
+import com.hackhub.enums.MotivoSqualifica;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della chiusura delle iscrizioni: motivi di squalifica, verifica parallela
+ * su piu' blocchi, ripetizione dopo un conflitto e pubblicazione degli eventi.
+ */
+class ChiusuraIscrizioniTest {
+
+    private static final LocalDate SCADENZA = LocalDate.of(2026, 4, 1);
+
+    private static final LocalDate DOPO = SCADENZA.plusDays(1);
+
+    private static Hackathon hackathon(int maxMembri) {
+        Hackathon hackathon = new Hackathon("Chiusura", SCADENZA.plusDays(7), SCADENZA.plusDays(9), SCADENZA);
+        hackathon.setMaxMembriTeam(maxMembri);
+        return hackathon;
+    }
+
+    private static Iscrizione iscrivi(Hackathon hackathon, Team team) {
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        team.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        return iscrizione;
+    }
+
+    private static Team team(String leader, int membri) {
+        Team team = new Utente("Nome", "Cognome", leader + "@hackhub.it", "pw").creaTeam("Team " + leader, null);
+        for (int m = 0; m < membri; m++) {
+            team.addMembro(new MembroTeam("Membro", "Team", leader + ".m" + m + "@hackhub.it", "pw"));
+        }
+        return team;
+    }
+
+    /**
+     * Membro la cui email viene letta dalla verifica: alla prima lettura dopo
+     * l'armamento esegue una modifica concorrente.
+     */
+    private static MembroTeam membroCheModifica(String email, AtomicBoolean armato, Runnable modifica) {
+        return new MembroTeam("Membro", "Concorrente", email, "pw") {
+            @Override
+            public String getEmail() {
+                if (armato.getAndSet(false)) {
+                    modifica.run();
+                }
+                return super.getEmail();
+            }
+        };
+    }
+
+    @Test
+    void squalificaPerOgniMotivo() {
+        Hackathon hackathon = hackathon(3);
+        Iscrizione idonea = iscrivi(hackathon, team("idoneo", 2));
+        Iscrizione numerosa = iscrivi(hackathon, team("numeroso", 3));
+        Iscrizione senzaLeader = iscrivi(hackathon, new Team("Senza leader", null));
+        Team primo = team("primo", 1);
+        Team secondo = team("secondo", 0);
+        secondo.addMembro(new MembroTeam("Doppio", "Membro", " PRIMO.m0@hackhub.it", "pw"));
+        Iscrizione doppiaPrima = iscrivi(hackathon, primo);
+        Iscrizione doppiaSeconda = iscrivi(hackathon, secondo);
+        Iscrizione annullata = iscrivi(hackathon, team("annullato", 5));
+        annullata.annulla();
+
+        RapportoChiusura rapporto = new ChiusuraIscrizioni().chiudi(hackathon, DOPO);
+
+        assertEquals(5, rapporto.getEsaminate());
+        assertEquals(1, rapporto.getTentativi());
+        Map<Iscrizione, Set<MotivoSqualifica>> motivi = new HashMap<>();
+        for (Squalifica squalifica : rapporto.getSqualifiche()) {
+            motivi.put(squalifica.getIscrizione(), squalifica.getMotivi());
+        }
+        assertEquals(Set.of(MotivoSqualifica.TEAM_TROPPO_NUMEROSO), motivi.get(numerosa));
+        assertEquals(Set.of(MotivoSqualifica.TEAM_SENZA_LEADER), motivi.get(senzaLeader));
+        assertEquals(Set.of(MotivoSqualifica.MEMBRO_IN_PIU_TEAM), motivi.get(doppiaPrima));
+        assertEquals(Set.of(MotivoSqualifica.MEMBRO_IN_PIU_TEAM), motivi.get(doppiaSeconda));
+        assertEquals(4, motivi.size());
+        assertEquals(2, rapporto.getConteggio(MotivoSqualifica.MEMBRO_IN_PIU_TEAM));
+        assertEquals(StatoIscrizione.CONFERMATA, idonea.getStato());
+        assertEquals(StatoIscrizione.ANNULLATA, annullata.getStato());
+        for (Iscrizione iscrizione : motivi.keySet()) {
+            assertEquals(StatoIscrizione.SQUALIFICATA, iscrizione.getStato());
+        }
+    }
+
+    @Test
+    void verificaParallelaSuPiuBlocchiUgualeASequenziale() {
+        Random casuale = new Random(42);
+        List<Hackathon> hackathon = List.of(hackathon(3), hackathon(3));
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < 5000; t++) {
+                Team team = team("t" + t, casuale.nextInt(20) == 0 ? 3 : casuale.nextInt(3));
+                if (casuale.nextInt(100) == 0) {
+                    team.addMembro(new MembroTeam("Doppio", "Membro", "t" + casuale.nextInt(5000) + "@hackhub.it",
+                        "pw"));
+                }
+                // Stesso team iscritto ai due hackathon: le squalifiche devono coincidere
+                iscrivi(hackathon.get(0), team);
+                iscrivi(hackathon.get(1), team);
+            }
+        });
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        try {
+            RapportoChiusura sequenziale = new ChiusuraIscrizioni(unThread).chiudi(hackathon.get(0), DOPO);
+            RapportoChiusura parallelo = new ChiusuraIscrizioni().chiudi(hackathon.get(1), DOPO);
+
+            assertTrue(sequenziale.getSqualifiche().size() > 0);
+            assertEquals(sequenziale.getSqualifiche().size(), parallelo.getSqualifiche().size());
+            for (int i = 0; i < sequenziale.getSqualifiche().size(); i++) {
+                Squalifica attesa = sequenziale.getSqualifiche().get(i);
+                Squalifica trovata = parallelo.getSqualifiche().get(i);
+                assertSame(attesa.getIscrizione().getTeam(), trovata.getIscrizione().getTeam());
+                assertEquals(attesa.getMotivi(), trovata.getMotivi());
+            }
+        } finally {
+            unThread.shutdown();
+        }
+    }
+
+    @Test
+    void conflittoSullHackathonRipeteLaVerifica() {
+        Hackathon hackathon = hackathon(2);
+        Team team = team("conflitto", 1);
+        AtomicBoolean armato = new AtomicBoolean();
+        team.addMembro(membroCheModifica("conflitto.m1@hackhub.it", armato, () -> hackathon.setPremio(100)));
+        Iscrizione iscrizione = iscrivi(hackathon, team);
+        armato.set(true);
+
+        RapportoChiusura rapporto = new ChiusuraIscrizioni().chiudi(hackathon, DOPO);
+
+        assertEquals(2, rapporto.getTentativi());
+        assertEquals(StatoIscrizione.SQUALIFICATA, iscrizione.getStato());
+    }
+
+    @Test
+    void teamSqualificatoModificatoDopoLaVerificaRipeteLaVerifica() {
+        Hackathon hackathon = hackathon(3);
+        Team team = team("rientrato", 1);
+        AtomicBoolean armato = new AtomicBoolean();
+        MembroTeam uscente = new MembroTeam("Membro", "Uscente", "rientrato.uscente@hackhub.it", "pw");
+        team.addMembro(membroCheModifica("rientrato.m1@hackhub.it", armato, () -> team.removeMembro(uscente)));
+        team.addMembro(uscente);
+        Iscrizione iscrizione = iscrivi(hackathon, team);
+        armato.set(true);
+
+        RapportoChiusura rapporto = new ChiusuraIscrizioni().chiudi(hackathon, DOPO);
+
+        // Il team era troppo numeroso alla prima verifica ma non alla seconda
+        assertEquals(2, rapporto.getTentativi());
+        assertTrue(rapporto.getSqualifiche().isEmpty());
+        assertEquals(StatoIscrizione.CONFERMATA, iscrizione.getStato());
+    }
+
+    @Test
+    void conflittiRipetutiLancianoLEccezione() {
+        Hackathon hackathon = hackathon(1);
+        Team team = team("ostinato", 0);
+        AtomicBoolean armato = new AtomicBoolean();
+        team.addMembro(new MembroTeam("Membro", "Ostinato", "ostinato.m0@hackhub.it", "pw") {
+            @Override
+            public String getEmail() {
+                if (armato.get()) {
+                    hackathon.setPremio(hackathon.getPremio() + 1);
+                }
+                return super.getEmail();
+            }
+        });
+        Iscrizione iscrizione = iscrivi(hackathon, team);
+        armato.set(true);
+
+        ConflittoVersioneException conflitto = assertThrows(ConflittoVersioneException.class,
+            () -> new ChiusuraIscrizioni().chiudi(hackathon, DOPO));
+
+        assertSame(hackathon, conflitto.getEntita());
+        assertEquals(ChiusuraIscrizioni.TENTATIVI_MASSIMI, conflitto.getTentativi());
+        assertEquals(StatoIscrizione.CONFERMATA, iscrizione.getStato());
+    }
+
+    @Test
+    void eventiPubblicatiDopoIlRilascioDelleVersioni() {
+        Hackathon hackathon = hackathon(1);
+        Iscrizione iscrizione = iscrivi(hackathon, team("evento", 2));
+        long versione = iscrizione.getVersione();
+        List<Long> versioniViste = new ArrayList<>();
+        List<Object> statiVisti = new ArrayList<>();
+        AscoltatoreEventi ascoltatore = (EventoModello evento) -> {
+            if (evento.getSorgente() == iscrizione && evento.getTipo() == TipoEvento.MODIFICA) {
+                statiVisti.add(evento.getValoreNuovo());
+                versioniViste.add(iscrizione.getVersione());
+            }
+        };
+        GestoreEventi.registra(ascoltatore);
+        try {
+            new ChiusuraIscrizioni().chiudi(hackathon, DOPO);
+        } finally {
+            GestoreEventi.rimuovi(ascoltatore);
+        }
+
+        assertEquals(List.of(StatoIscrizione.SQUALIFICATA), statiVisti);
+        // L'ascoltatore trova la versione gia' rilasciata, non un aggiornamento in corso
+        assertEquals(0, versioniViste.get(0) % 2);
+        assertEquals(versione + 4, iscrizione.getVersione());
+    }
+
+    @Test
+    void scadenzaNonPassataVieneRifiutata() {
+        Hackathon hackathon = hackathon(3);
+
+        assertThrows(IllegalStateException.class, () -> new ChiusuraIscrizioni().chiudi(hackathon, SCADENZA));
+    }
+}
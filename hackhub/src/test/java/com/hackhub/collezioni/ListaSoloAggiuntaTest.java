@@ -0,0 +1,151 @@
+package com.hackhub.collezioni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della lista in sola aggiunta: blocchi di dimensione crescente, viste
+ * isolate dalle aggiunte successive, letture concorrenti e segnaposto.
+ */
+class ListaSoloAggiuntaTest {
+
+    private static ListaSoloAggiunta<Integer> lista(int elementi) {
+        ListaSoloAggiunta<Integer> lista = new ListaSoloAggiunta<>();
+        for (int i = 0; i < elementi; i++) {
+            lista.aggiungi(i);
+        }
+        return lista;
+    }
+
+    @Test
+    void blocchiRaddoppianoECopronoOgniPosizioneUnaVolta() {
+        int posizione = 0;
+        for (int blocco = 0; blocco < 20; blocco++) {
+            int dimensioneBlocco = 1 << (blocco + ListaSoloAggiunta.BIT_PRIMO_BLOCCO);
+            for (int offset = 0; offset < dimensioneBlocco; offset++, posizione++) {
+                assertEquals(blocco, ListaSoloAggiunta.blocco(posizione));
+                assertEquals(offset, ListaSoloAggiunta.offset(posizione, blocco));
+            }
+        }
+    }
+
+    @Test
+    void elementiLettiPerIndiceEPerIteratore() {
+        ListaSoloAggiunta<Integer> lista = lista(10_000);
+
+        VistaLista<Integer> vista = lista.vista();
+
+        assertEquals(10_000, lista.dimensione());
+        assertEquals(10_000, vista.size());
+        int atteso = 0;
+        for (Integer elemento : vista) {
+            assertEquals(atteso, elemento);
+            assertEquals(atteso, vista.get(atteso));
+            atteso++;
+        }
+        assertEquals(10_000, atteso);
+        assertEquals(new ArrayList<>(vista), vista);
+        assertThrows(IndexOutOfBoundsException.class, () -> vista.get(10_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> vista.get(-1));
+        assertTrue(new ListaSoloAggiunta<Integer>().vista().isEmpty());
+    }
+
+    @Test
+    void vistaNonVedeLeAggiunteSuccessive() {
+        ListaSoloAggiunta<Integer> lista = lista(8);
+        VistaLista<Integer> prima = lista.vista();
+        Iterator<Integer> iteratore = prima.iterator();
+        iteratore.next();
+
+        // L'aggiunta apre un nuovo blocco: la vista e l'iteratore restano validi
+        lista.aggiungi(8);
+        lista.aggiungi(9);
+
+        assertEquals(8, prima.size());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), prima);
+        int letti = 1;
+        while (iteratore.hasNext()) {
+            iteratore.next();
+            letti++;
+        }
+        assertEquals(8, letti);
+        assertEquals(10, lista.vista().size());
+        assertThrows(UnsupportedOperationException.class, () -> prima.add(10));
+        assertThrows(UnsupportedOperationException.class, () -> prima.set(0, 10));
+        assertThrows(UnsupportedOperationException.class, () -> prima.remove(0));
+    }
+
+    @Test
+    void lettoriConcorrentiVedonoSempreUnPrefissoCompleto() throws Exception {
+        ListaSoloAggiunta<Integer> lista = new ListaSoloAggiunta<>();
+        int totale = 200_000;
+        ExecutorService esecutore = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> scrittore = esecutore.submit(() -> {
+                for (int i = 0; i < totale; i++) {
+                    lista.aggiungi(i);
+                }
+            });
+            Future<Integer> lettore = esecutore.submit(() -> {
+                int viste = 0;
+                int dimensione = 0;
+                while (dimensione < totale) {
+                    VistaLista<Integer> vista = lista.vista();
+                    assertTrue(vista.size() >= dimensione);
+                    dimensione = vista.size();
+                    if (dimensione > 0) {
+                        assertEquals(dimensione - 1, vista.get(dimensione - 1));
+                        assertEquals(dimensione / 2, vista.get(dimensione / 2));
+                    }
+                    viste++;
+                }
+                return viste;
+            });
+            scrittore.get(30, TimeUnit.SECONDS);
+            assertTrue(lettore.get(30, TimeUnit.SECONDS) > 0);
+        } finally {
+            esecutore.shutdownNow();
+        }
+    }
+
+    @Test
+    void segnapostoRisoltoAncheDalleVisteGiaRestituite() {
+        ListaSoloAggiunta<String> lista = new ListaSoloAggiunta<>();
+        for (int i = 0; i < 20; i++) {
+            lista.aggiungi("elemento " + i);
+        }
+        VistaLista<String> vista = lista.vista();
+        String residente = vista.get(1);
+        AtomicInteger caricamenti = new AtomicInteger();
+
+        int sostituiti = lista.scarica(elemento -> elemento.equals(residente) ? null : () -> {
+            caricamenti.incrementAndGet();
+            return new String(elemento);
+        });
+
+        assertEquals(19, sostituiti);
+        assertSame(residente, vista.get(1));
+        String caricato = vista.get(12);
+        assertEquals("elemento 12", caricato);
+        assertEquals(1, caricamenti.get());
+        List<String> copia = new ArrayList<>(vista);
+        assertEquals(20, copia.size());
+        assertEquals(20, caricamenti.get());
+        assertNotSame(caricato, vista.get(12));
+        // I segnaposto gia' presenti non vengono sostituiti di nuovo
+        assertEquals(0, lista.scarica(elemento -> elemento.equals(residente) ? null : () -> elemento));
+    }
+}
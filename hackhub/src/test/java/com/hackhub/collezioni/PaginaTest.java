@@ -0,0 +1,147 @@
+package com.hackhub.collezioni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della lettura a pagine: cursori stabili mentre la collezione cresce,
+ * pagine filtrate e metodi pagina* del modello.
+ */
+class PaginaTest {
+
+    private static ListaSoloAggiunta<Integer> lista(int elementi) {
+        ListaSoloAggiunta<Integer> lista = new ListaSoloAggiunta<>();
+        for (int i = 0; i < elementi; i++) {
+            lista.aggiungi(i);
+        }
+        return lista;
+    }
+
+    private static List<Integer> intervallo(int da, int a) {
+        List<Integer> valori = new ArrayList<>();
+        for (int i = da; i < a; i++) {
+            valori.add(i);
+        }
+        return valori;
+    }
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2026, 10, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    @Test
+    void cursoreRestaValidoMentreLaListaCresce() {
+        ListaSoloAggiunta<Integer> lista = lista(25);
+
+        Pagina<Integer> prima = Pagina.estrai(lista.vista(), Cursore.INIZIO, 10, null);
+        lista.aggiungi(25);
+        Pagina<Integer> seconda = Pagina.estrai(lista.vista(), prima.getSuccessivo(), 10, null);
+        Pagina<Integer> terza = Pagina.estrai(lista.vista(), seconda.getSuccessivo(), 10, null);
+
+        assertEquals(intervallo(0, 10), prima.getElementi());
+        assertTrue(prima.haSuccessiva());
+        assertEquals(intervallo(10, 20), seconda.getElementi());
+        assertEquals(intervallo(20, 26), terza.getElementi());
+        assertFalse(terza.haSuccessiva());
+        assertEquals(Cursore.di(26), terza.getSuccessivo());
+
+        // Dopo l'ultima pagina il cursore restituisce solo gli elementi aggiunti in seguito
+        lista.aggiungi(26);
+        Cursore ripreso = Cursore.decodifica(terza.getSuccessivo().codifica());
+        assertEquals(List.of(26), Pagina.estrai(lista.vista(), ripreso, 10, null).getElementi());
+        assertTrue(Pagina.estrai(lista.vista(), Cursore.di(1_000), 10, null).getElementi().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> prima.getElementi().add(0));
+    }
+
+    @Test
+    void paginaFiltrataAvanzaOltreGliElementiScartati() {
+        ListaSoloAggiunta<Integer> lista = lista(30);
+
+        Pagina<Integer> prima = Pagina.estrai(lista.vista(), null, 4, i -> i % 3 == 0);
+        Pagina<Integer> seconda = Pagina.estrai(lista.vista(), prima.getSuccessivo(), 4, i -> i % 3 == 0);
+        Pagina<Integer> terza = Pagina.estrai(lista.vista(), seconda.getSuccessivo(), 4, i -> i % 3 == 0);
+
+        assertEquals(List.of(0, 3, 6, 9), prima.getElementi());
+        assertEquals(Cursore.di(10), prima.getSuccessivo());
+        assertEquals(List.of(12, 15, 18, 21), seconda.getElementi());
+        assertEquals(List.of(24, 27), terza.getElementi());
+        assertFalse(terza.haSuccessiva());
+        assertThrows(IllegalArgumentException.class, () -> Pagina.estrai(lista.vista(), null, 0, null));
+    }
+
+    @Test
+    void cursoriNonValidiVengonoRifiutati() {
+        assertSame(Cursore.INIZIO, Cursore.decodifica(null));
+        assertSame(Cursore.INIZIO, Cursore.decodifica(""));
+        assertEquals(Cursore.di(123_456), Cursore.decodifica(Cursore.di(123_456).codifica()));
+        assertThrows(IllegalArgumentException.class, () -> Cursore.decodifica("non valido!"));
+        assertThrows(IllegalArgumentException.class, () -> Cursore.di(-1));
+    }
+
+    @Test
+    void metodiPaginaDelModelloFiltranoPerStato() {
+        Hackathon hackathon = hackathon("Pagine");
+        Utente invitato = new Utente("Invitato", "Utente", "pagine.invitato@hackhub.it", "pw");
+        List<Team> team = new ArrayList<>();
+        List<Invito> inviti = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            Team nuovo = new Utente("Leader", "Team", "pagine" + t + "@hackhub.it", "pw").creaTeam("Pagine " + t, null);
+            Iscrizione iscrizione = new Iscrizione(nuovo, hackathon);
+            nuovo.aggiungiIscrizione(iscrizione);
+            hackathon.aggiungiIscrizione(iscrizione);
+            if (t % 2 == 1) {
+                iscrizione.annulla();
+            }
+            inviti.add(nuovo.getLeader().invitaUtente(invitato));
+            team.add(nuovo);
+        }
+        invitato.rifiutaInvito(inviti.get(0));
+        invitato.rifiutaInvito(inviti.get(3));
+        Team primo = team.get(0);
+        for (int s = 0; s < 3; s++) {
+            Sottomissione sottomissione = new Sottomissione(primo, hackathon, "Progetto " + s, "https://example.org/");
+            primo.aggiungiSottomissione(sottomissione);
+            if (s == 1) {
+                sottomissione.setStato(StatoSottomissione.VERIFICATA);
+            }
+        }
+
+        Pagina<Iscrizione> confermate = hackathon.paginaIscrizioni(Cursore.INIZIO, 2, StatoIscrizione.CONFERMATA);
+        Pagina<Iscrizione> altre = hackathon.paginaIscrizioni(confermate.getSuccessivo(), 2,
+            StatoIscrizione.CONFERMATA);
+        assertEquals(List.of(team.get(0), team.get(2)), List.of(confermate.getElementi().get(0).getTeam(),
+            confermate.getElementi().get(1).getTeam()));
+        assertEquals(1, altre.getElementi().size());
+        assertSame(team.get(4), altre.getElementi().get(0).getTeam());
+        assertEquals(6, hackathon.paginaIscrizioni(null, 10, null).getElementi().size());
+        assertEquals(1, team.get(1).paginaIscrizioni(null, 10, StatoIscrizione.ANNULLATA).getElementi().size());
+
+        Pagina<Invito> rifiutati = invitato.paginaInvitiRicevuti(null, 10, StatoInvito.RIFIUTATO);
+        assertEquals(List.of(inviti.get(0), inviti.get(3)), rifiutati.getElementi());
+        assertEquals(4, invitato.paginaInvitiRicevuti(null, 10, StatoInvito.IN_ATTESA).getElementi().size());
+        assertTrue(team.get(3).paginaInviti(null, 10, StatoInvito.IN_ATTESA).getElementi().isEmpty());
+        assertEquals(List.of(inviti.get(5)), team.get(5).paginaInviti(null, 10, StatoInvito.IN_ATTESA).getElementi());
+
+        assertEquals(1, primo.paginaSottomissioni(null, 10, StatoSottomissione.VERIFICATA).getElementi().size());
+        assertEquals(2, primo.paginaSottomissioni(null, 10, StatoSottomissione.INVIATA).getElementi().size());
+        assertEquals(List.of(primo.getLeader()), primo.paginaMembri(null, 10).getElementi());
+    }
+}
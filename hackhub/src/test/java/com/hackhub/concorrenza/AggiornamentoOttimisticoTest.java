@@ -0,0 +1,162 @@
+package com.hackhub.concorrenza;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.model.EntitaVersionata;
+import com.hackhub.model.Hackathon;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test degli aggiornamenti ottimistici: conflitti, annullamento degli
+ * aggiornamenti su piu' entita' e modifiche dirette concorrenti.
+ */
+class AggiornamentoOttimisticoTest {
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2026, 5, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    @Test
+    void aggiornamentoAvanzaLaVersioneDiDue() {
+        Hackathon hackathon = hackathon("H");
+        long versione = hackathon.getVersione();
+
+        long nuova = AggiornamentoOttimistico.applica(hackathon, versione, h -> {
+            h.setPremio(100);
+            h.setNome("Nuovo");
+        });
+
+        assertEquals(versione + 2, nuova);
+        assertEquals(nuova, hackathon.getVersione());
+        assertEquals(100, hackathon.getPremio());
+    }
+
+    @Test
+    void versioneCambiataProvocaConflitto() {
+        Hackathon hackathon = hackathon("H");
+        long letta = hackathon.getVersione();
+        hackathon.setPremio(50);
+
+        assertFalse(hackathon.aggiornaSeVersione(letta, () -> hackathon.setPremio(200)));
+        ConflittoVersioneException conflitto = assertThrows(ConflittoVersioneException.class,
+            () -> AggiornamentoOttimistico.applica(hackathon, letta, h -> h.setPremio(200)));
+        assertEquals(letta, conflitto.getVersioneAttesa());
+        assertEquals(hackathon.getVersione(), conflitto.getVersioneCorrente());
+        assertEquals(50, hackathon.getPremio());
+    }
+
+    @Test
+    void conflittoSuUnaEntitaAnnullaLeAltre() {
+        Hackathon primo = hackathon("Primo");
+        Hackathon secondo = hackathon("Secondo");
+        long[] lette = {primo.getVersione(), secondo.getVersione()};
+        secondo.setPremio(10);
+        AtomicBoolean eseguita = new AtomicBoolean();
+
+        assertFalse(EntitaVersionata.aggiornaTutteSeVersione(List.of(primo, secondo), lette,
+            () -> eseguita.set(true)));
+
+        assertFalse(eseguita.get());
+        assertEquals(lette[0], primo.getVersione());
+        long[] rilette = {primo.getVersione(), secondo.getVersione()};
+        assertTrue(EntitaVersionata.aggiornaTutteSeVersione(List.of(primo, secondo), rilette, () -> {
+            primo.setPremio(1);
+            secondo.setPremio(2);
+        }));
+        assertEquals(rilette[0] + 2, primo.getVersione());
+        assertEquals(rilette[1] + 2, secondo.getVersione());
+        assertThrows(IllegalArgumentException.class,
+            () -> EntitaVersionata.aggiornaTutteSeVersione(List.of(primo), rilette, () -> { }));
+    }
+
+    @Test
+    void modificaDirettaNonAttendeLAggiornamentoInCorso() throws Exception {
+        Hackathon hackathon = hackathon("H");
+        long letta = hackathon.getVersione();
+        CountDownLatch preso = new CountDownLatch(1);
+        CountDownLatch rilascia = new CountDownLatch(1);
+        ExecutorService esecutore = Executors.newFixedThreadPool(3);
+        try {
+            Future<Boolean> condizionale = esecutore.submit(() -> hackathon.aggiornaSeVersione(letta, () -> {
+                hackathon.setPremio(100);
+                preso.countDown();
+                try {
+                    rilascia.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(preso.await(5, TimeUnit.SECONDS));
+
+            // Il setter di un altro thread termina mentre la versione e' dispari
+            esecutore.submit(() -> hackathon.setNome("Diretto")).get(5, TimeUnit.SECONDS);
+            Future<String> lettura = esecutore.submit(() -> hackathon.leggiCoerente(hackathon::getNome));
+            assertFalse(lettura.isDone());
+            rilascia.countDown();
+
+            assertTrue(condizionale.get(5, TimeUnit.SECONDS));
+            assertEquals("Diretto", lettura.get(5, TimeUnit.SECONDS));
+            long finale = hackathon.getVersione();
+            assertEquals(letta + 4, finale);
+            // La versione restituita dall'aggiornamento non comprende la modifica diretta
+            assertFalse(hackathon.aggiornaSeVersione(letta + 2, () -> { }));
+        } finally {
+            rilascia.countDown();
+            esecutore.shutdownNow();
+        }
+    }
+
+    @Test
+    void aggiornamentiConcorrentiNonPerdonoIncrementi() throws Exception {
+        Hackathon hackathon = hackathon("H");
+        int thread = 4;
+        int incrementi = 500;
+        ExecutorService esecutore = Executors.newFixedThreadPool(thread);
+        try {
+            CountDownLatch via = new CountDownLatch(1);
+            Future<?>[] lavori = new Future<?>[thread];
+            for (int t = 0; t < thread; t++) {
+                lavori[t] = esecutore.submit(() -> {
+                    via.await();
+                    for (int i = 0; i < incrementi; i++) {
+                        AggiornamentoOttimistico.aggiorna(hackathon, 1000, h -> {
+                            double nuovo = h.getPremio() + 1;
+                            return x -> x.setPremio(nuovo);
+                        });
+                    }
+                    return null;
+                });
+            }
+            via.countDown();
+            for (Future<?> lavoro : lavori) {
+                lavoro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            esecutore.shutdownNow();
+        }
+
+        assertEquals(thread * incrementi, hackathon.getPremio());
+        assertEquals(0, hackathon.getVersione() % 2);
+    }
+
+    @Test
+    void tentativiNonPositiviVengonoRifiutati() {
+        Hackathon hackathon = hackathon("H");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> AggiornamentoOttimistico.aggiorna(hackathon, 0, h -> null));
+        assertEquals(hackathon.getVersione(), AggiornamentoOttimistico.aggiorna(hackathon, h -> null));
+    }
+}
@@ -0,0 +1,172 @@
+package com.hackhub.diagnostica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.ProfiloJfr;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test delle registrazioni JFR con i profili HackHub: eventi di dominio
+ * registrati con il profilo di diagnosi, soglia del profilo di produzione e
+ * riepilogo dell'analizzatore.
+ */
+class RegistrazioneJfrTest {
+
+    @TempDir
+    Path cartella;
+
+    private int progressivo;
+
+    private Utente utente() {
+        return new Utente("Nome", "Cognome", "jfr" + progressivo++ + "@hackhub.it", "pw");
+    }
+
+    /** Eventi di dominio della registrazione, per nome senza prefisso */
+    private static Map<String, List<RecordedEvent>> eventiDiDominio(Path registrazione) throws IOException {
+        Map<String, List<RecordedEvent>> eventi = new HashMap<>();
+        for (RecordedEvent evento : RecordingFile.readAllEvents(registrazione)) {
+            String nome = evento.getEventType().getName();
+            if (nome.startsWith(AnalizzatoreJfr.PREFISSO)) {
+                eventi.computeIfAbsent(nome.substring(AnalizzatoreJfr.PREFISSO.length()),
+                    n -> new ArrayList<>()).add(evento);
+            }
+        }
+        return eventi;
+    }
+
+    private static StatisticaOperazione statistica(AnalizzatoreJfr analizzatore, String nome) {
+        for (StatisticaOperazione statistica : analizzatore.getOperazioniPiuCalde()) {
+            if (statistica.getNome().equals(nome)) {
+                return statistica;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void profiliSovrappongonoLeImpostazioniPredefinite() throws IOException, ParseException {
+        Map<String, String> produzione = RegistrazioneJfr.impostazioni(ProfiloJfr.PRODUZIONE);
+        Map<String, String> diagnosi = RegistrazioneJfr.impostazioni(ProfiloJfr.DIAGNOSI);
+
+        assertEquals("10 ms", produzione.get("com.hackhub.CreazioneTeam#threshold"));
+        assertEquals("false", produzione.get("com.hackhub.CreazioneTeam#stackTrace"));
+        assertEquals("0 ms", diagnosi.get("com.hackhub.CreazioneTeam#threshold"));
+        assertEquals("true", diagnosi.get("com.hackhub.CreazioneTeam#stackTrace"));
+        assertEquals("true", produzione.get("jdk.ObjectAllocationSample#enabled"));
+        // Le impostazioni della JVM restano: la registrazione contiene anche GC e CPU
+        assertEquals("true", produzione.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    void diagnosiRegistraOgniOperazioneConEsito() throws Exception {
+        Path file = cartella.resolve("diagnosi.jfr");
+        Recording registrazione = RegistrazioneJfr.avvia(ProfiloJfr.DIAGNOSI, file);
+        try {
+            Team primo = utente().creaTeam("Jfr primo", null);
+            Team secondo = utente().creaTeam("Jfr secondo", null);
+            Utente invitato = utente();
+            Invito invito = primo.getLeader().invitaUtente(invitato);
+            secondo.getLeader().invitaUtente(invitato);
+            invitato.accettaInvito(invito);
+            assertThrows(IllegalArgumentException.class, () -> secondo.getLeader().invitaUtente(invitato));
+        } finally {
+            registrazione.stop();
+            registrazione.close();
+        }
+
+        Map<String, List<RecordedEvent>> eventi = eventiDiDominio(file);
+        assertEquals(2, eventi.get("CreazioneTeam").size());
+        assertEquals(3, eventi.get("InvitoUtente").size());
+        assertEquals(1, eventi.get("AccettazioneInvito").size());
+        List<RecordedEvent> rifiutati = eventi.get("InvitoUtente").stream()
+            .filter(e -> EventoDominio.RIFIUTATA.equals(e.getString("esito"))).toList();
+        assertEquals(1, rifiutati.size());
+        RecordedEvent rifiutato = rifiutati.get(0);
+        assertEquals(IllegalArgumentException.class.getName(), rifiutato.getString("eccezione"));
+        assertNotNull(rifiutato.getStackTrace());
+
+        AnalizzatoreJfr analizzatore = new AnalizzatoreJfr();
+        analizzatore.analizza(file);
+        StatisticaOperazione inviti = statistica(analizzatore, "InvitoUtente");
+        assertEquals(3, inviti.getConteggio());
+        assertEquals(2, inviti.getCompletate());
+        assertEquals(1, inviti.getRifiutate());
+        assertEquals(0, inviti.getErrori());
+        assertEquals(2, statistica(analizzatore, "CreazioneTeam").getCompletate());
+        assertTrue(analizzatore.getByteAttribuiti() <= analizzatore.getByteCampionati());
+
+        String riepilogo = analizzatore.riepilogo(20);
+        String[] righe = riepilogo.split("\\R");
+        assertTrue(righe[0].startsWith("operazione"));
+        assertEquals(1 + 3 + 1, righe.length);
+        assertTrue(riepilogo.contains("InvitoUtente"));
+        assertTrue(righe[righe.length - 1].startsWith("Allocazione campionata"));
+        assertEquals(1 + 1 + 1, analizzatore.riepilogo(1).split("\\R").length);
+    }
+
+    @Test
+    void produzioneRegistraSoloLeOperazioniLente() throws Exception {
+        AtomicBoolean lento = new AtomicBoolean();
+        Utente fondatore = new Utente("Nome", "Lento", "jfr.lento@hackhub.it", "pw") {
+            @Override
+            public String getEmail() {
+                if (lento.getAndSet(false)) {
+                    try {
+                        Thread.sleep(30);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getEmail();
+            }
+        };
+        Path file = cartella.resolve("produzione.jfr");
+        Recording registrazione = RegistrazioneJfr.avvia(ProfiloJfr.PRODUZIONE, file);
+        try {
+            for (int i = 0; i < 5; i++) {
+                utente().creaTeam("Jfr veloce " + i, null);
+            }
+            lento.set(true);
+            fondatore.creaTeam("Jfr lento", null);
+        } finally {
+            registrazione.stop();
+            registrazione.close();
+        }
+
+        Map<String, List<RecordedEvent>> eventi = eventiDiDominio(file);
+        assertEquals(1, eventi.size());
+        List<RecordedEvent> creazioni = eventi.get("CreazioneTeam");
+        assertEquals(1, creazioni.size());
+        RecordedEvent evento = creazioni.get(0);
+        assertTrue(evento.getDuration().toMillis() >= 10);
+        assertEquals(EventoDominio.COMPLETATA, evento.getString("esito"));
+        assertEquals(fondatore.getId().longValue(), evento.getLong("utenteId"));
+        assertNull(evento.getStackTrace());
+
+        AnalizzatoreJfr analizzatore = new AnalizzatoreJfr();
+        analizzatore.analizza(file);
+        assertEquals(1, analizzatore.getOperazioniPiuCalde().size());
+        assertEquals(1, statistica(analizzatore, "CreazioneTeam").getConteggio());
+        assertFalse(analizzatore.riepilogo(20).contains("InvitoUtente"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hackhub.enums;
+
+/**
+ * Enum che rappresenta le operazioni generate dalla simulazione di carico
+ * di una stagione di hackathon.
+ *
+ * Ogni operazione corrisponde a un passo del ciclo di vita reale: registrazione,
+ * formazione dei team, iscrizione agli hackathon, consegna e valutazione.
+ */
+public enum OperazioneCarico {
+
+    /** Registrazione di un nuovo utente */
+    REGISTRAZIONE,
+
+    /** Creazione di un team da parte di un utente senza team */
+    CREAZIONE_TEAM,
+
+    /** Invito di un utente da parte del leader di un team */
+    INVITO,
+
+    /** Accettazione di un invito in attesa */
+    ACCETTAZIONE_INVITO,
+
+    /** Iscrizione di un team a un hackathon */
+    ISCRIZIONE,
+
+    /** Annullamento di un'iscrizione confermata */
+    ANNULLAMENTO,
+
+    /** Consegna di una sottomissione */
+    SOTTOMISSIONE,
+
+    /** Verifica e valutazione di una sottomissione inviata */
+    VALUTAZIONE
+}
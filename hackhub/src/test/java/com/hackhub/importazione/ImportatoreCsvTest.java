@@ -0,0 +1,236 @@
+package com.hackhub.importazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.AmbitoLimite;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.eventi.AscoltatoreEventi;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.limiti.LimitatoreRichieste;
+import com.hackhub.limiti.Quota;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test dell'importazione CSV: analisi delle righe, numerazione tra blocchi,
+ * intestazione, duplicati e annullamento senza entita' visibili.
+ */
+class ImportatoreCsvTest {
+
+    @TempDir
+    Path cartella;
+
+    private final Set<String> email = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> nomiTeam = ConcurrentHashMap.newKeySet();
+
+    private final List<EventoModello> eventi = new ArrayList<>();
+
+    private final AscoltatoreEventi ascoltatore = eventi::add;
+
+    private Hackathon hackathon;
+
+    @BeforeEach
+    void crea() {
+        LocalDate inizio = LocalDate.of(2026, 10, 1);
+        hackathon = new Hackathon("Importazione", inizio, inizio.plusDays(2), inizio.minusDays(7));
+        hackathon.setMaxMembriTeam(3);
+        GestoreEventi.registra(ascoltatore);
+    }
+
+    @AfterEach
+    void ripristina() {
+        GestoreEventi.rimuovi(ascoltatore);
+        LimitatoreRichieste.installa(null);
+    }
+
+    private Path file(String contenuto) throws IOException {
+        return Files.write(cartella.resolve("utenti.csv"), contenuto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportatoreCsv importatore(boolean iscriviTeam) {
+        ImportatoreCsv importatore = new ImportatoreCsv(hackathon, email, nomiTeam);
+        importatore.setIscriviTeam(iscriviTeam);
+        return importatore;
+    }
+
+    private long creati(Class<?> tipo) {
+        return eventi.stream()
+            .filter(e -> e.getTipo() == TipoEvento.CREAZIONE && tipo.isInstance(e.getSorgente()))
+            .count();
+    }
+
+    @Test
+    void importaUtentiETeamSaltandoIntestazioneERigheVuote() throws IOException {
+        Path csv = file("nome,cognome,email,password,team,ruolo,competenze\r\n"
+            + "Anna,Rossi,Anna@Esempio.it,pw,Alfa,leader,java;sql\r\n"
+            + "\r\n"
+            + "Bruno,Bianchi,bruno@esempio.it,pw,alfa,membro\n"
+            + "Carla,Verdi,carla@esempio.it,pw\n");
+
+        EsitoImportazione esito = importatore(false).importa(csv);
+
+        assertTrue(esito.isCompletata(), esito.getErrori().toString());
+        assertEquals(3, esito.getRigheLette());
+        assertEquals(1, esito.getTeam().size());
+        Team alfa = esito.getTeam().get(0);
+        assertEquals("Alfa", alfa.getNome());
+        assertEquals("anna@esempio.it", alfa.getLeader().getEmail());
+        assertEquals(Set.of("java", "sql"), alfa.getLeader().getCompetenze());
+        assertEquals(2, alfa.countMembri());
+        assertEquals(3, esito.getUtenti().size());
+        assertEquals(Set.of("anna@esempio.it", "bruno@esempio.it", "carla@esempio.it"), email);
+        assertEquals(Set.of("alfa"), nomiTeam);
+        assertEquals(1, creati(Team.class));
+        assertEquals(3, creati(Utente.class));
+    }
+
+    @Test
+    void numeriDiRigaCorrettiTraBlocchi() throws IOException {
+        // Oltre 2 MB: il file viene diviso in piu' blocchi analizzati in parallelo
+        StringBuilder contenuto = new StringBuilder("nome,cognome,email,password\n");
+        int righe = 40_000;
+        for (int i = 2; i <= righe; i++) {
+            String indirizzo = i == 30_001 ? "senza-chiocciola" : "utente" + (i == 35_000 ? 12 : i) + "@esempio.it";
+            contenuto.append("Nome").append(i).append(",Cognome,").append(indirizzo)
+                .append(",password-abbastanza-lunga-per-riempire-i-blocchi\n");
+            if (i == 20_000) {
+                contenuto.append("\n");
+            }
+        }
+        Path csv = file(contenuto.toString());
+        assertTrue(Files.size(csv) > 2 << 20);
+
+        EsitoImportazione esito = importatore(false).importa(csv);
+
+        // La riga vuota dopo la 20000 sposta di uno le righe successive
+        assertFalse(esito.isCompletata());
+        assertEquals(righe - 1, esito.getRigheLette());
+        assertEquals(2, esito.getErrori().size());
+        assertEquals(30_002, esito.getErrori().get(0).getRiga());
+        assertTrue(esito.getErrori().get(0).getMessaggio().startsWith("Email non valida"));
+        assertEquals(35_001, esito.getErrori().get(1).getRiga());
+        assertEquals("Email duplicata, gia' presente alla riga 12", esito.getErrori().get(1).getMessaggio());
+        assertTrue(email.isEmpty());
+        assertTrue(eventi.isEmpty());
+    }
+
+    @Test
+    void duplicatiEdErroriDiTeamVengonoSegnalati() throws IOException {
+        nomiTeam.add("beta");
+        email.add("esistente@esempio.it");
+        Path csv = file("Anna,Rossi,anna@esempio.it,pw,Beta,leader\n"
+            + "Bruno,Bianchi,esistente@esempio.it,pw\n"
+            + "Carla,Verdi,carla@esempio.it,pw,Gamma,membro\n"
+            + "Dario,Neri,dario@esempio.it\n"
+            + "Elena,Gialli,ANNA@esempio.it,pw,,membro\n");
+
+        EsitoImportazione esito = importatore(false).importa(csv);
+
+        List<String> messaggi = new ArrayList<>();
+        for (ErroreRiga errore : esito.getErrori()) {
+            messaggi.add(errore.getRiga() + ": " + errore.getMessaggio());
+        }
+        assertEquals(List.of(
+            "1: Nome del team gia' in uso: Beta",
+            "2: Email gia' registrata: esistente@esempio.it",
+            "3: Il team Gamma deve avere esattamente un leader, trovati 0",
+            "4: Numero di campi insufficiente: 3",
+            "5: Email duplicata, gia' presente alla riga 1",
+            "5: Ruolo indicato senza team"), messaggi);
+        assertEquals(Set.of("esistente@esempio.it"), email);
+        assertEquals(Set.of("beta"), nomiTeam);
+    }
+
+    @Test
+    void quotaEsauritaAnnullaSenzaPubblicareNulla() throws IOException {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.ISCRIZIONE, AmbitoLimite.GLOBALE, new Quota(1, 0.001));
+        LimitatoreRichieste.installa(limitatore);
+        long versione = hackathon.getVersione();
+        Path csv = file("Anna,Rossi,anna@esempio.it,pw,Alfa,leader\n"
+            + "Bruno,Bianchi,bruno@esempio.it,pw,Beta,leader\n"
+            + "Carla,Verdi,carla@esempio.it,pw\n");
+
+        EsitoImportazione esito = importatore(true).importa(csv);
+
+        assertFalse(esito.isCompletata());
+        assertEquals(2, esito.getErrori().get(0).getRiga());
+        assertTrue(esito.getErrori().get(0).getMessaggio().startsWith("Iscrizione del team Beta rifiutata"));
+        assertTrue(eventi.isEmpty());
+        assertTrue(email.isEmpty());
+        assertTrue(nomiTeam.isEmpty());
+        assertEquals(0, hackathon.getIscrizioni().size());
+        assertEquals(versione, hackathon.getVersione());
+        // Il gettone consumato dal primo team e' stato restituito
+        assertTrue(limitatore.prova(TipoOperazione.ISCRIZIONE, null, null));
+    }
+
+    @Test
+    void hackathonChiusoAlleAggiunteAnnullaERestituisceLaQuota() throws IOException {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.ISCRIZIONE, AmbitoLimite.GLOBALE, new Quota(2, 0.001));
+        LimitatoreRichieste.installa(limitatore);
+        hackathon.sospendiAggiunte();
+        Path csv = file("Anna,Rossi,anna@esempio.it,pw,Alfa,leader\n"
+            + "Bruno,Bianchi,bruno@esempio.it,pw,Beta,leader\n");
+
+        EsitoImportazione esito = importatore(true).importa(csv);
+
+        assertFalse(esito.isCompletata());
+        assertEquals(1, esito.getErrori().get(0).getRiga());
+        assertTrue(eventi.isEmpty());
+        assertTrue(email.isEmpty());
+        assertEquals(0, hackathon.getIscrizioni().size());
+        assertTrue(limitatore.prova(TipoOperazione.ISCRIZIONE, null, null));
+        assertTrue(limitatore.prova(TipoOperazione.ISCRIZIONE, null, null));
+
+        // Riaperte le aggiunte e tolto il limite, lo stesso file viene importato
+        hackathon.riprendiAggiunte();
+        LimitatoreRichieste.installa(null);
+        assertTrue(importatore(true).importa(csv).isCompletata());
+        assertEquals(2, hackathon.getIscrizioni().size());
+    }
+
+    @Test
+    void eventiConsegnatiSoloAImportazioneCompletata() throws IOException {
+        List<Integer> iscrizioniViste = new ArrayList<>();
+        AscoltatoreEventi osservatore = evento -> iscrizioniViste.add(hackathon.getIscrizioni().size());
+        Path csv = file("Anna,Rossi,anna@esempio.it,pw,Alfa,leader\n"
+            + "Bruno,Bianchi,bruno@esempio.it,pw,Alfa,membro\n"
+            + "Carla,Verdi,carla@esempio.it,pw,Beta,leader\n");
+        GestoreEventi.registra(osservatore);
+        try {
+            assertTrue(importatore(true).importa(csv).isCompletata());
+        } finally {
+            GestoreEventi.rimuovi(osservatore);
+        }
+
+        // Ogni ascoltatore trova gia' tutte le iscrizioni, anche al primo evento
+        assertFalse(iscrizioniViste.isEmpty());
+        assertTrue(iscrizioniViste.stream().allMatch(n -> n == 2));
+        long aggiunte = eventi.stream()
+            .filter(e -> e.getSorgente() == hackathon && e.getTipo() == TipoEvento.AGGIUNTA)
+            .count();
+        assertEquals(2, aggiunte);
+        assertEquals(2, creati(Team.class));
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackhub.inviti;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Misura della scadenza degli inviti con molti inviti pendenti.
+ *
+ * 1. Gli inviti, inviati in un arco di due mesi, vengono indicizzati
+ * 2. Ogni giorno una parte riceve risposta e poi scadi() fa scadere quelli
+ *    arrivati a scadenza; per confronto si misura una scansione di tutti gli
+ *    inviti che cerca gli scaduti
+ * 3. I contatori dei pendenti vengono confrontati con un conteggio completo
+ * 4. Un Leader reinvita un utente con un invito scaduto ma non ancora spazzato
+ *
+ * Uso: BenchmarkScadenze [inviti] [giorniValidita]
+ */
+public class BenchmarkScadenze {
+
+    private static final int GIORNI_INVIO = 60;
+
+    public static void main(String[] args) {
+        int numeroInviti = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int giorniValidita = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+        Random casuale = new Random(42);
+        LocalDate origine = LocalDate.of(2026, 1, 1);
+
+        List<Invito> inviti = new ArrayList<>(numeroInviti);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            List<Team> team = new ArrayList<>();
+            for (int t = 0; t < 1000; t++) {
+                team.add(new Utente("Nome", "Cognome", "l" + t + "@hackhub.it", "pw").creaTeam("Team " + t, null));
+            }
+            List<Utente> utenti = new ArrayList<>();
+            for (int u = 0; u < 20000; u++) {
+                utenti.add(new Utente("Nome", "Cognome", "u" + u + "@hackhub.it", "pw"));
+            }
+            for (int i = 0; i < numeroInviti; i++) {
+                Invito invito = new Invito(team.get(casuale.nextInt(team.size())),
+                    utenti.get(casuale.nextInt(utenti.size())));
+                invito.setDataInvio(origine.plusDays(casuale.nextInt(GIORNI_INVIO)));
+                inviti.add(invito);
+            }
+        });
+
+        ScadenzaInviti scadenza = new ScadenzaInviti(giorniValidita);
+        long inizio = System.nanoTime();
+        scadenza.indicizza(inviti);
+        System.out.printf("Indicizzati %d inviti pendenti in %d ms%n", scadenza.getNumeroPendenti(),
+            (System.nanoTime() - inizio) / 1_000_000);
+        scadenza.attiva();
+
+        long totaleSpazzata = 0;
+        long totaleScansione = 0;
+        int risposte = numeroInviti / (GIORNI_INVIO + giorniValidita) / 4;
+        for (int giorno = 0; giorno <= GIORNI_INVIO + giorniValidita; giorno++) {
+            LocalDate oggi = origine.plusDays(giorno);
+            for (int r = 0; r < risposte; r++) {
+                Invito invito = inviti.get(casuale.nextInt(inviti.size()));
+                if (invito.getStato() == StatoInvito.IN_ATTESA && !invito.getDataInvio().isAfter(oggi)) {
+                    invito.rifiuta();
+                }
+            }
+            inizio = System.nanoTime();
+            int dovuti = scansione(inviti, oggi, giorniValidita);
+            long durataScansione = System.nanoTime() - inizio;
+            inizio = System.nanoTime();
+            int scaduti = scadenza.scadi(oggi);
+            long durataSpazzata = System.nanoTime() - inizio;
+            if (scaduti != dovuti) {
+                throw new IllegalStateException("Giorno " + giorno + ": scaduti " + scaduti + ", attesi " + dovuti);
+            }
+            totaleSpazzata += durataSpazzata;
+            totaleScansione += durataScansione;
+            if (giorno % 10 == 0 || giorno == GIORNI_INVIO + giorniValidita) {
+                System.out.printf("giorno %2d: %6d scaduti, %7d pendenti, spazzata %6.2f ms, scansione %6.2f ms%n",
+                    giorno, scaduti, scadenza.getNumeroPendenti(), durataSpazzata / 1e6, durataScansione / 1e6);
+            }
+        }
+        System.out.printf("Totale: spazzate %d ms, scansioni %d ms, %d inviti scaduti%n",
+            totaleSpazzata / 1_000_000, totaleScansione / 1_000_000, scadenza.getScaduti());
+        verificaContatori(inviti, scadenza);
+        scadenza.setGiorniValidita(giorniValidita);
+        System.out.println("Contatori dei pendenti per utente e per team allineati");
+
+        Team team = new Utente("Nome", "Cognome", "leader@hackhub.it", "pw").creaTeam("Team reinvito", null);
+        Utente destinatario = new Utente("Nome", "Cognome", "destinatario@hackhub.it", "pw");
+        Invito primo = team.getLeader().invitaUtente(destinatario);
+        primo.setDataInvio(LocalDate.now().minusDays(giorniValidita));
+        Invito secondo = team.getLeader().invitaUtente(destinatario);
+        System.out.println("Reinvito senza spazzata: " + primo.getStato() + ", poi " + secondo.getStato()
+            + " (pendenti del team: " + scadenza.getPendentiTeam(team.getId()) + ")");
+        scadenza.disattiva();
+    }
+
+    private static int scansione(List<Invito> inviti, LocalDate oggi, int giorniValidita) {
+        int dovuti = 0;
+        for (Invito invito : inviti) {
+            if (invito.getStato() == StatoInvito.IN_ATTESA
+                    && !invito.getDataInvio().plusDays(giorniValidita).isAfter(oggi)) {
+                dovuti++;
+            }
+        }
+        return dovuti;
+    }
+
+    private static void verificaContatori(List<Invito> inviti, ScadenzaInviti scadenza) {
+        Map<Long, Integer> perUtente = new HashMap<>();
+        Map<Long, Integer> perTeam = new HashMap<>();
+        int pendenti = 0;
+        for (Invito invito : inviti) {
+            if (invito.getStato() == StatoInvito.IN_ATTESA) {
+                perUtente.merge(invito.getDestinatario().getId(), 1, Integer::sum);
+                perTeam.merge(invito.getTeam().getId(), 1, Integer::sum);
+                pendenti++;
+            }
+        }
+        if (pendenti != scadenza.getNumeroPendenti()) {
+            throw new IllegalStateException("Pendenti " + scadenza.getNumeroPendenti() + ", attesi " + pendenti);
+        }
+        perUtente.forEach((id, numero) -> {
+            if (scadenza.getPendentiUtente(id) != numero) {
+                throw new IllegalStateException("Pendenti dell'utente " + id + " non allineati");
+            }
+        });
+        perTeam.forEach((id, numero) -> {
+            if (scadenza.getPendentiTeam(id) != numero) {
+                throw new IllegalStateException("Pendenti del team " + id + " non allineati");
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package com.hackhub.inviti;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della scadenza degli inviti: spazzate giornaliere confrontate con la
+ * scansione, contatori dei pendenti e inviti scaduti ma non ancora spazzati.
+ * La misura con molti inviti pendenti e' BenchmarkScadenze.
+ */
+class ScadenzaInvitiTest {
+
+    private static final int GIORNI_INVIO = 30;
+
+    private static final int GIORNI_VALIDITA = 14;
+
+    private static final LocalDate ORIGINE = LocalDate.of(2026, 1, 1);
+
+    private ScadenzaInviti scadenza;
+
+    @BeforeEach
+    void attiva() {
+        scadenza = new ScadenzaInviti(GIORNI_VALIDITA);
+        scadenza.attiva();
+    }
+
+    @AfterEach
+    void disattiva() {
+        scadenza.disattiva();
+    }
+
+    private static List<Invito> inviti(int numero, Random casuale) {
+        List<Invito> inviti = new ArrayList<>(numero);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            List<Team> team = new ArrayList<>();
+            for (int t = 0; t < 50; t++) {
+                team.add(new Utente("Nome", "Cognome", "l" + t + "@hackhub.it", "pw").creaTeam("Team " + t, null));
+            }
+            List<Utente> utenti = new ArrayList<>();
+            for (int u = 0; u < 500; u++) {
+                utenti.add(new Utente("Nome", "Cognome", "u" + u + "@hackhub.it", "pw"));
+            }
+            for (int i = 0; i < numero; i++) {
+                Invito invito = new Invito(team.get(casuale.nextInt(team.size())),
+                    utenti.get(casuale.nextInt(utenti.size())));
+                invito.setDataInvio(ORIGINE.plusDays(casuale.nextInt(GIORNI_INVIO)));
+                inviti.add(invito);
+            }
+        });
+        return inviti;
+    }
+
+    private static void assertContatori(List<Invito> inviti, ScadenzaInviti scadenza) {
+        Map<Long, Integer> perUtente = new HashMap<>();
+        Map<Long, Integer> perTeam = new HashMap<>();
+        int pendenti = 0;
+        for (Invito invito : inviti) {
+            if (invito.getStato() == StatoInvito.IN_ATTESA) {
+                perUtente.merge(invito.getDestinatario().getId(), 1, Integer::sum);
+                perTeam.merge(invito.getTeam().getId(), 1, Integer::sum);
+                pendenti++;
+            }
+        }
+        assertEquals(pendenti, scadenza.getNumeroPendenti());
+        perUtente.forEach((id, numero) -> assertEquals(numero, scadenza.getPendentiUtente(id)));
+        perTeam.forEach((id, numero) -> assertEquals(numero, scadenza.getPendentiTeam(id)));
+    }
+
+    @Test
+    void spazzateGiornaliereCoincidonoConLaScansione() {
+        Random casuale = new Random(42);
+        List<Invito> inviti = inviti(5000, casuale);
+        scadenza.indicizza(inviti);
+        assertEquals(inviti.size(), scadenza.getNumeroPendenti());
+
+        long totale = 0;
+        for (int giorno = 0; giorno <= GIORNI_INVIO + GIORNI_VALIDITA; giorno++) {
+            LocalDate oggi = ORIGINE.plusDays(giorno);
+            for (int r = 0; r < 30; r++) {
+                Invito invito = inviti.get(casuale.nextInt(inviti.size()));
+                if (invito.getStato() == StatoInvito.IN_ATTESA && !invito.getDataInvio().isAfter(oggi)) {
+                    invito.rifiuta();
+                }
+            }
+            int dovuti = 0;
+            for (Invito invito : inviti) {
+                if (invito.getStato() == StatoInvito.IN_ATTESA
+                        && !invito.getDataInvio().plusDays(GIORNI_VALIDITA).isAfter(oggi)) {
+                    dovuti++;
+                }
+            }
+
+            assertEquals(dovuti, scadenza.scadi(oggi));
+            totale += dovuti;
+            if (giorno % 10 == 0) {
+                assertContatori(inviti, scadenza);
+            }
+        }
+
+        assertEquals(0, scadenza.getNumeroPendenti());
+        assertEquals(totale, scadenza.getScaduti());
+        assertNull(scadenza.getProssimaScadenza());
+    }
+
+    @Test
+    void cambioDiValiditaRiprogrammaIPendenti() {
+        List<Invito> inviti = inviti(200, new Random(7));
+        scadenza.indicizza(inviti);
+        Invito invito = inviti.get(0);
+        assertEquals(invito.getDataInvio().plusDays(GIORNI_VALIDITA), scadenza.getScadenza(invito));
+
+        scadenza.setGiorniValidita(3);
+        assertEquals(invito.getDataInvio().plusDays(3), scadenza.getScadenza(invito));
+
+        invito.setDataInvio(ORIGINE.plusDays(100));
+        assertEquals(ORIGINE.plusDays(103), scadenza.getScadenza(invito));
+
+        invito.rifiuta();
+        assertNull(scadenza.getScadenza(invito));
+        assertContatori(inviti, scadenza);
+    }
+
+    @Test
+    void reinvitoDopoUnInvitoScadutoNonSpazzato() {
+        Team team = new Utente("Nome", "Cognome", "leader@hackhub.it", "pw").creaTeam("Team reinvito", null);
+        Utente destinatario = new Utente("Nome", "Cognome", "destinatario@hackhub.it", "pw");
+        Invito primo = team.getLeader().invitaUtente(destinatario);
+        primo.setDataInvio(LocalDate.now().minusDays(GIORNI_VALIDITA));
+
+        Invito secondo = team.getLeader().invitaUtente(destinatario);
+
+        assertEquals(StatoInvito.SCADUTO, primo.getStato());
+        assertEquals(StatoInvito.IN_ATTESA, secondo.getStato());
+        assertEquals(1, scadenza.getPendentiTeam(team.getId()));
+        assertEquals(1, scadenza.getScaduti());
+    }
+
+    @Test
+    void invitoScadutoNonSiAccetta() {
+        Team team = new Utente("Nome", "Cognome", "leader2@hackhub.it", "pw").creaTeam("Team scaduto", null);
+        Utente destinatario = new Utente("Nome", "Cognome", "destinatario2@hackhub.it", "pw");
+        Invito invito = team.getLeader().invitaUtente(destinatario);
+        invito.setDataInvio(LocalDate.now().minusDays(GIORNI_VALIDITA + 1));
+
+        assertThrows(IllegalArgumentException.class, () -> destinatario.accettaInvito(invito));
+        assertEquals(StatoInvito.SCADUTO, invito.getStato());
+        assertEquals(0, scadenza.getPendentiUtente(destinatario.getId()));
+    }
+
+    @Test
+    void giorniDiValiditaNonPositiviVengonoRifiutati() {
+        assertThrows(IllegalArgumentException.class, () -> new ScadenzaInviti(0));
+        assertThrows(IllegalArgumentException.class, () -> scadenza.setGiorniValidita(-1));
+    }
+}
@@ -0,0 +1,258 @@
+package com.hackhub.json;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.EntitaVersionata;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Confronto di throughput e allocazioni tra le codifiche JSON scritte a mano e
+ * un codificatore basato su riflessione (getter scoperti a runtime e messi in
+ * cache per classe, come fanno i mapper generici).
+ *
+ * Entrambi codificano gli stessi team con profondita' 1 e riferimenti per id
+ * per le entita' gia' scritte, quindi producono documenti di dimensione simile.
+ * Viene misurata anche la decodifica con le codifiche scritte a mano.
+ *
+ * Uso: BenchmarkJson [team] [ripetizioni]
+ */
+public class BenchmarkJson {
+
+    public static void main(String[] args) {
+        int numeroTeam = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int ripetizioni = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Team> team = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> popola(team, numeroTeam));
+
+        ScrittoreJson scrittore = new ScrittoreJson();
+        ContestoCodifica contesto = new ContestoCodifica(1);
+        CodificatoreRiflessivo riflessivo = new CodificatoreRiflessivo(1);
+
+        long[] byteCodifica = new long[1];
+        long[] byteRiflessione = new long[1];
+        Runnable codifica = () -> {
+            for (Team t : team) {
+                scrittore.reimposta();
+                CodificheJson.codifica(t, CodificheJson.TEAM, contesto, scrittore);
+                byteCodifica[0] += scrittore.getLunghezza();
+            }
+        };
+        Runnable riflessione = () -> {
+            for (Team t : team) {
+                byteRiflessione[0] += riflessivo.codifica(t).length;
+            }
+        };
+
+        // Con profondita' 1 gli hackathon delle iscrizioni sono solo id: li risolve il modello esistente
+        Map<Long, Hackathon> hackathon = new HashMap<>();
+        for (Team t : team) {
+            for (Iscrizione iscrizione : t.getIscrizioni()) {
+                hackathon.put(iscrizione.getHackathon().getId(), iscrizione.getHackathon());
+            }
+        }
+        RisolutoreRiferimenti risolutore = (categoria, id) -> categoria == Hackathon.class ? hackathon.get(id) : null;
+
+        List<byte[]> documenti = new ArrayList<>();
+        for (Team t : team) {
+            documenti.add(CodificheJson.codifica(t, CodificheJson.TEAM, 1));
+        }
+        Runnable decodifica = () -> {
+            for (byte[] documento : documenti) {
+                CodificheJson.decodifica(documento, CodificheJson.TEAM, risolutore);
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            codifica.run();
+            riflessione.run();
+            decodifica.run();
+        }
+        byteCodifica[0] = 0;
+        byteRiflessione[0] = 0;
+
+        misura("codifica scritta a mano", codifica, numeroTeam, ripetizioni);
+        misura("codifica per riflessione", riflessione, numeroTeam, ripetizioni);
+        misura("decodifica scritta a mano", decodifica, numeroTeam, ripetizioni);
+        System.out.printf("dimensione media del documento: %d byte (riflessione %d byte)%n",
+            byteCodifica[0] / ((long) numeroTeam * ripetizioni),
+            byteRiflessione[0] / ((long) numeroTeam * ripetizioni));
+    }
+
+    private static void misura(String nome, Runnable operazione, int numeroTeam, int ripetizioni) {
+        long byteIniziali = byteAllocati();
+        long inizio = System.nanoTime();
+        for (int i = 0; i < ripetizioni; i++) {
+            operazione.run();
+        }
+        long durata = System.nanoTime() - inizio;
+        long allocati = byteAllocati() - byteIniziali;
+        long documenti = (long) numeroTeam * ripetizioni;
+        System.out.printf("%-28s %10.0f documenti/s, %8.0f byte allocati/documento%n",
+            nome, documenti / (durata / 1e9), (double) allocati / documenti);
+    }
+
+    private static long byteAllocati() {
+        java.lang.management.ThreadMXBean thread = ManagementFactory.getThreadMXBean();
+        if (thread instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) thread).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void popola(List<Team> team, int numeroTeam) {
+        List<Hackathon> hackathon = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, numeroTeam / 100); i++) {
+            Hackathon h = new Hackathon("Hackathon " + i, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3),
+                LocalDate.of(2026, 2, 20));
+            h.setLuogo("Milano");
+            h.setRegolamento("Regolamento \"standard\" dell'edizione " + i);
+            h.setPremio(1000 + i);
+            hackathon.add(h);
+        }
+        for (int i = 0; i < numeroTeam; i++) {
+            Utente fondatore = new Utente("Nome" + i, "Cognome" + i, "leader" + i + "@hackhub.it", "pw");
+            fondatore.aggiungiCompetenza("java");
+            fondatore.aggiungiPreferenza("backend");
+            Team t = fondatore.creaTeam("Team " + i, "Descrizione del team " + i);
+            for (int m = 0; m < 3; m++) {
+                Utente invitato = new Utente("Membro" + m, "Team" + i, "m" + m + "." + i + "@hackhub.it", "pw");
+                invitato.aggiungiCompetenza(m % 2 == 0 ? "python" : "react");
+                invitato.accettaInvito(t.getLeader().invitaUtente(invitato));
+            }
+            Hackathon h = hackathon.get(i % hackathon.size());
+            Iscrizione iscrizione = new Iscrizione(t, h);
+            t.aggiungiIscrizione(iscrizione);
+            h.aggiungiIscrizione(iscrizione);
+            Sottomissione sottomissione = new Sottomissione(t, h, "Progetto " + i, "https://example.org/" + i);
+            sottomissione.setContenuto("Contenuto della consegna " + i);
+            t.aggiungiSottomissione(sottomissione);
+            team.add(t);
+        }
+    }
+
+    /**
+     * Codificatore JSON generico basato su riflessione, usato come riferimento.
+     * Scrive tutti i getter pubblici senza parametri (tranne la password).
+     */
+    private static final class CodificatoreRiflessivo {
+
+        private final int profondita;
+
+        private final ClassValue<Method[]> getter = new ClassValue<>() {
+            @Override
+            protected Method[] computeValue(Class<?> classe) {
+                List<Method> trovati = new ArrayList<>();
+                for (Method metodo : classe.getMethods()) {
+                    String nome = metodo.getName();
+                    boolean getter = nome.startsWith("get") && nome.length() > 3
+                        || nome.startsWith("is") && nome.length() > 2;
+                    if (getter && metodo.getParameterCount() == 0 && !Modifier.isStatic(metodo.getModifiers())
+                            && metodo.getReturnType() != void.class && !nome.equals("getClass")
+                            && !nome.equals("getPassword")) {
+                        trovati.add(metodo);
+                    }
+                }
+                trovati.sort(Comparator.comparing(Method::getName));
+                return trovati.toArray(new Method[0]);
+            }
+        };
+
+        private CodificatoreRiflessivo(int profondita) {
+            this.profondita = profondita;
+        }
+
+        byte[] codifica(Object entita) {
+            StringBuilder json = new StringBuilder(1024);
+            scrivi(entita, json, 0, new IdentityHashMap<>());
+            return json.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void scrivi(Object valore, StringBuilder json, int livello, Map<Object, Boolean> scritte) {
+            if (valore == null) {
+                json.append("null");
+            } else if (valore instanceof String || valore instanceof Temporal) {
+                stringa(valore.toString(), json);
+            } else if (valore instanceof Enum) {
+                stringa(((Enum<?>) valore).name(), json);
+            } else if (valore instanceof Number || valore instanceof Boolean) {
+                json.append(valore);
+            } else if (valore instanceof Collection) {
+                json.append('[');
+                boolean primo = true;
+                for (Object elemento : (Collection<?>) valore) {
+                    if (!primo) {
+                        json.append(',');
+                    }
+                    primo = false;
+                    scrivi(elemento, json, livello, scritte);
+                }
+                json.append(']');
+            } else if (valore instanceof EntitaVersionata && (livello > profondita || scritte.containsKey(valore))) {
+                json.append(invoca(metodo(valore.getClass(), "getId"), valore));
+            } else {
+                scritte.put(valore, Boolean.TRUE);
+                json.append('{');
+                boolean primo = true;
+                for (Method metodo : getter.get(valore.getClass())) {
+                    if (!primo) {
+                        json.append(',');
+                    }
+                    primo = false;
+                    String nome = metodo.getName();
+                    String campo = nome.startsWith("is") ? nome.substring(2) : nome.substring(3);
+                    stringa(Character.toLowerCase(campo.charAt(0)) + campo.substring(1), json);
+                    json.append(':');
+                    scrivi(invoca(metodo, valore), json, livello + 1, scritte);
+                }
+                json.append('}');
+            }
+        }
+
+        private Method metodo(Class<?> classe, String nome) {
+            return Arrays.stream(getter.get(classe)).filter(m -> m.getName().equals(nome)).findFirst()
+                .orElseThrow(() -> new IllegalStateException("Getter mancante: " + nome));
+        }
+
+        private static Object invoca(Method metodo, Object oggetto) {
+            try {
+                return metodo.invoke(oggetto);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Getter non invocabile: " + metodo.getName(), e);
+            }
+        }
+
+        private static void stringa(String valore, StringBuilder json) {
+            json.append('"');
+            for (int i = 0; i < valore.length(); i++) {
+                char c = valore.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.hackhub.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test delle codifiche JSON scritte a mano: andata e ritorno di un team e
+ * documenti non validi. Il confronto con la riflessione e' BenchmarkJson.
+ */
+class CodificheJsonTest {
+
+    private static Team team(Hackathon hackathon) {
+        Team[] risultato = new Team[1];
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            Utente fondatore = new Utente("Nome", "Cognome", "leader@hackhub.it", "pw");
+            Team team = fondatore.creaTeam("Team \"uno\"", "Descrizione\tcon\\caratteri speciali");
+            for (int m = 0; m < 3; m++) {
+                Utente invitato = new Utente("Membro" + m, "Team", "m" + m + "@hackhub.it", "pw");
+                invitato.accettaInvito(team.getLeader().invitaUtente(invitato));
+            }
+            Iscrizione iscrizione = new Iscrizione(team, hackathon);
+            team.aggiungiIscrizione(iscrizione);
+            hackathon.aggiungiIscrizione(iscrizione);
+            Sottomissione sottomissione = new Sottomissione(team, hackathon, "Progetto", "https://example.org/p");
+            team.aggiungiSottomissione(sottomissione);
+            risultato[0] = team;
+        });
+        return risultato[0];
+    }
+
+    private static Hackathon hackathon() {
+        Hackathon[] risultato = new Hackathon[1];
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            risultato[0] = new Hackathon("Hackathon", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3),
+                LocalDate.of(2026, 2, 20));
+            risultato[0].setLuogo("Milano");
+        });
+        return risultato[0];
+    }
+
+    @Test
+    void teamSopravviveAllAndataERitorno() {
+        Hackathon hackathon = hackathon();
+        Team originale = team(hackathon);
+        byte[] documento = CodificheJson.codifica(originale, CodificheJson.TEAM, 1);
+
+        // Con profondita' 1 gli hackathon delle iscrizioni sono solo id e li risolve il modello esistente
+        RisolutoreRiferimenti risolutore = (categoria, id) ->
+
+            categoria == Hackathon.class && id == hackathon.getId() ? hackathon : null;
+        Team[] decodificato = new Team[1];
+        GestoreEventi.eseguiSenzaEventi(() ->
+            decodificato[0] = CodificheJson.decodifica(documento, CodificheJson.TEAM, risolutore));
+        Team team = decodificato[0];
+
+        assertEquals(originale.getId(), team.getId());
+        assertEquals(originale.getNome(), team.getNome());
+        assertEquals(originale.getDescrizione(), team.getDescrizione());
+        assertEquals(originale.getDataCreazione(), team.getDataCreazione());
+        assertEquals(originale.getLeader().getEmail(), team.getLeader().getEmail());
+        assertEquals(originale.getMembri().size(), team.getMembri().size());
+        assertEquals(1, team.getIscrizioni().size());
+        assertSame(hackathon, team.getIscrizioni().get(0).getHackathon());
+        assertEquals("Progetto", team.getSottomissioni().get(0).getTitolo());
+    }
+
+    @Test
+    void codificaRipetutaProduceLoStessoDocumento() {
+        Team team = team(hackathon());
+        byte[] primo = CodificheJson.codifica(team, CodificheJson.TEAM, 1);
+
+        ScrittoreJson scrittore = new ScrittoreJson(16);
+        CodificheJson.codifica(team, CodificheJson.TEAM, new ContestoCodifica(1), scrittore);
+
+        assertEquals(new String(primo, StandardCharsets.UTF_8),
+            new String(Arrays.copyOf(scrittore.getBuffer(), scrittore.getLunghezza()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void documentoTroncatoVieneRifiutato() {
+        byte[] documento = CodificheJson.codifica(team(hackathon()), CodificheJson.TEAM, 1);
+        byte[] troncato = Arrays.copyOf(documento, documento.length / 2);
+
+        assertThrows(JsonNonValidoException.class,
+            () -> CodificheJson.decodifica(troncato, CodificheJson.TEAM, (categoria, id) -> null));
+    }
+
+    @Test
+    void teamSenzaIdVieneRifiutato() {
+        byte[] documento = "{\"nome\":\"Team\"}".getBytes(StandardCharsets.UTF_8);
+
+        JsonNonValidoException errore = assertThrows(JsonNonValidoException.class,
+            () -> CodificheJson.decodifica(documento, CodificheJson.TEAM, (categoria, id) -> null));
+        assertEquals(documento.length, errore.getPosizione());
+    }
+}
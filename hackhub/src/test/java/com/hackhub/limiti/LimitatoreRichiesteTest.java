@@ -0,0 +1,221 @@
+package com.hackhub.limiti;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.calendario.IndiceImpegni;
+import com.hackhub.calendario.SovrapposizioneDateException;
+import com.hackhub.enums.AmbitoLimite;
+import com.hackhub.enums.TipoOperazione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del limitatore: secchio GCRA, restituzione dei gettoni tra gli ambiti,
+ * pulizia dei secchi inattivi concorrente ai consumi e quota non consumata
+ * dalle iscrizioni rifiutate.
+ */
+class LimitatoreRichiesteTest {
+
+    private static final long MILLISECONDO = 1_000_000L;
+
+    /** Quota che non si ricarica durante un test */
+    private static Quota ferma(int capacita) {
+        return new Quota(capacita, 0.001);
+    }
+
+    @AfterEach
+    void disinstalla() {
+        LimitatoreRichieste.installa(null);
+    }
+
+    @Test
+    void secchioConsenteLaRafficaPoiIlRitmoRegolare() {
+        Quota quota = new Quota(3, 1000);
+        long t0 = 1_000 * MILLISECONDO;
+        SecchioGettoni secchio = new SecchioGettoni(t0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, secchio.consuma(quota, t0));
+        }
+        assertEquals(MILLISECONDO, secchio.consuma(quota, t0));
+        assertEquals(MILLISECONDO / 2, secchio.consuma(quota, t0 + MILLISECONDO / 2));
+        assertEquals(0, secchio.consuma(quota, t0 + MILLISECONDO));
+        assertEquals(MILLISECONDO, secchio.consuma(quota, t0 + MILLISECONDO));
+
+        // Un gettone restituito e' di nuovo disponibile
+        secchio.restituisci(quota);
+        assertEquals(0, secchio.consuma(quota, t0 + MILLISECONDO));
+        assertFalse(secchio.rimuoviSePieno(t0 + 3 * MILLISECONDO));
+        assertTrue(secchio.rimuoviSePieno(t0 + 4 * MILLISECONDO));
+    }
+
+    @Test
+    void secchioRimossoRifiutaConsumiERestituzioni() {
+        Quota quota = new Quota(1, 1000);
+        long t0 = 1_000 * MILLISECONDO;
+        SecchioGettoni secchio = new SecchioGettoni(t0);
+        assertEquals(0, secchio.consuma(quota, t0));
+
+        assertTrue(secchio.rimuoviSePieno(t0 + MILLISECONDO));
+
+        assertTrue(secchio.isRimosso());
+        assertEquals(-1, secchio.consuma(quota, t0 + 2 * MILLISECONDO));
+        secchio.restituisci(quota);
+        assertTrue(secchio.isRimosso());
+        assertTrue(secchio.rimuoviSePieno(t0));
+    }
+
+    @Test
+    void rifiutoDiUnAmbitoRestituisceIGettoniDegliAltri() {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.UTENTE, ferma(2));
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.TEAM, ferma(1));
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.GLOBALE, ferma(3));
+
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 1L, 10L));
+        // Rifiutato dal team: il gettone dell'utente 1 torna disponibile
+        assertFalse(limitatore.prova(TipoOperazione.INVITO, 1L, 10L));
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 1L, 11L));
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 2L, 12L));
+        // Rifiutato dalla quota globale: utente 3 e team 13 non perdono il gettone
+        LimiteSuperatoException rifiuto = assertThrows(LimiteSuperatoException.class,
+            () -> limitatore.consuma(TipoOperazione.INVITO, 3L, 13L));
+        assertEquals(AmbitoLimite.GLOBALE, rifiuto.getAmbito());
+        assertTrue(rifiuto.getAttesa().toMillis() > 0);
+
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.GLOBALE, null);
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 3L, 13L));
+        assertFalse(limitatore.prova(TipoOperazione.INVITO, 4L, 13L));
+        assertFalse(limitatore.prova(TipoOperazione.INVITO, 1L, 14L));
+        // Le altre operazioni non sono limitate
+        assertTrue(limitatore.prova(TipoOperazione.ISCRIZIONE, 1L, 10L));
+    }
+
+    @Test
+    void restituzioneEsplicitaRendeIGettoniDiTuttiGliAmbiti() {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.UTENTE, ferma(1));
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.TEAM, ferma(1));
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.GLOBALE, ferma(1));
+        limitatore.consuma(TipoOperazione.INVITO, 1L, 10L);
+        assertFalse(limitatore.prova(TipoOperazione.INVITO, 1L, 10L));
+
+        limitatore.restituisci(TipoOperazione.INVITO, 1L, 10L);
+
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 1L, 10L));
+        // Restituire a un id senza secchio non crea secchi
+        int secchi = limitatore.getNumeroSecchi();
+        limitatore.restituisci(TipoOperazione.INVITO, 2L, 20L);
+        assertEquals(secchi, limitatore.getNumeroSecchi());
+    }
+
+    @Test
+    void pulisciRimuoveSoloISecchiPieni() throws InterruptedException {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.UTENTE, new Quota(1, 1_000_000));
+        limitatore.setQuota(TipoOperazione.ISCRIZIONE, AmbitoLimite.UTENTE, ferma(5));
+        for (long id = 0; id < 100; id++) {
+            limitatore.consuma(TipoOperazione.INVITO, id, null);
+            limitatore.consuma(TipoOperazione.ISCRIZIONE, id, null);
+        }
+        assertEquals(200, limitatore.getNumeroSecchi());
+        Thread.sleep(2);
+
+        assertEquals(100, limitatore.pulisci());
+
+        assertEquals(100, limitatore.getNumeroSecchi());
+        // I secchi ricreati dopo la pulizia funzionano come prima
+        assertTrue(limitatore.prova(TipoOperazione.INVITO, 0L, null));
+        assertEquals(101, limitatore.getNumeroSecchi());
+    }
+
+    @Test
+    void puliziaConcorrenteNonConcedeGettoniInPiu() throws Exception {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        Quota quota = new Quota(1, 1000);
+        limitatore.setQuota(TipoOperazione.INVITO, AmbitoLimite.UTENTE, quota);
+        int thread = 4;
+        AtomicBoolean fermo = new AtomicBoolean();
+        ExecutorService esecutore = Executors.newFixedThreadPool(thread + 1);
+        try {
+            long inizio = System.nanoTime();
+            Future<?> pulizia = esecutore.submit(() -> {
+                while (!fermo.get()) {
+                    limitatore.pulisci();
+                }
+            });
+            @SuppressWarnings("unchecked")
+            Future<Integer>[] consumi = new Future[thread];
+            for (int t = 0; t < thread; t++) {
+                consumi[t] = esecutore.submit(() -> {
+                    int consentite = 0;
+                    while (System.nanoTime() - inizio < 200 * MILLISECONDO) {
+                        if (limitatore.prova(TipoOperazione.INVITO, 1L, null)) {
+                            consentite++;
+                        }
+                    }
+                    return consentite;
+                });
+            }
+            int consentite = 0;
+            for (Future<Integer> consumo : consumi) {
+                consentite += consumo.get(10, TimeUnit.SECONDS);
+            }
+            long trascorso = System.nanoTime() - inizio;
+            fermo.set(true);
+            pulizia.get(10, TimeUnit.SECONDS);
+
+            // Al piu' un gettone per intervallo, piu' quello iniziale
+            assertTrue(consentite <= 2 + trascorso / quota.getIntervalloNanos(),
+                consentite + " consentite in " + trascorso / MILLISECONDO + " ms");
+        } finally {
+            fermo.set(true);
+            esecutore.shutdownNow();
+        }
+    }
+
+    @Test
+    void iscrizioneSovrappostaNonConsumaLaQuota() {
+        LimitatoreRichieste limitatore = new LimitatoreRichieste();
+        limitatore.setQuota(TipoOperazione.ISCRIZIONE, AmbitoLimite.TEAM, ferma(2));
+        LimitatoreRichieste.installa(limitatore);
+        IndiceImpegni indice = new IndiceImpegni();
+        indice.attiva();
+        try {
+            Team team = new Utente("Nome", "Cognome", "quota@hackhub.it", "pw").creaTeam("Team quota", null);
+            LocalDate inizio = LocalDate.of(2026, 6, 1);
+            Hackathon primo = new Hackathon("Primo", inizio, inizio.plusDays(2), inizio.minusDays(7));
+            Hackathon sovrapposto = new Hackathon("Sovrapposto", inizio.plusDays(1), inizio.plusDays(3),
+                inizio.minusDays(7));
+            Hackathon successivo = new Hackathon("Successivo", inizio.plusDays(10), inizio.plusDays(11),
+                inizio.minusDays(7));
+            Hackathon ultimo = new Hackathon("Ultimo", inizio.plusDays(20), inizio.plusDays(21),
+                inizio.minusDays(7));
+            primo.aggiungiIscrizione(new Iscrizione(team, primo));
+
+            // Il controllo del team e' saltato: la sovrapposizione emerge da impegna(), dopo la quota
+            assertThrows(SovrapposizioneDateException.class,
+                () -> sovrapposto.aggiungiIscrizione(new Iscrizione(team, sovrapposto)));
+
+            successivo.aggiungiIscrizione(new Iscrizione(team, successivo));
+            assertThrows(LimiteSuperatoException.class,
+                () -> ultimo.aggiungiIscrizione(new Iscrizione(team, ultimo)));
+            assertEquals(0, sovrapposto.getIscrizioni().size());
+        } finally {
+            indice.disattiva();
+        }
+    }
+}
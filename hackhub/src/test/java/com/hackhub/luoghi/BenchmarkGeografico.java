@@ -0,0 +1,169 @@
+package com.hackhub.luoghi;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Confronto tra la ricerca degli hackathon vicini per scansione lineare e con
+ * IndiceGeografico.
+ *
+ * Gli hackathon hanno come luogo il nome di una citta' (anche scritto come
+ * "Via Roma 1, Milano" o "Camerino (MC)"), coordinate scritte direttamente
+ * oppure un luogo sconosciuto. Per ogni ripetizione vengono eseguite ricerche
+ * entro un raggio e dei k piu' vicini, con e senza filtri su stato e date, e i
+ * risultati vengono confrontati con la scansione. Infine una parte degli
+ * hackathon cambia stato con l'indice attivo e il confronto viene ripetuto.
+ *
+ * Uso: BenchmarkGeografico [hackathon] [ricerche] [raggioKm] [k]
+ */
+public class BenchmarkGeografico {
+
+    private static final String[] CITTA = {
+        "Roma", "Milano", "Napoli", "Torino", "Palermo", "Genova", "Bologna", "Firenze", "Bari", "Catania",
+        "Venezia", "Verona", "Messina", "Padova", "Trieste", "Brescia", "Parma", "Modena", "Reggio Calabria",
+        "Perugia", "Ancona", "Pescara", "Cagliari", "Sassari", "Trento", "Bolzano", "Lecce", "Pisa", "Siena",
+        "Udine", "Berlin", "Paris", "Madrid", "Amsterdam", "Zurigo", "Vienna", "Lubiana", "Londra"
+    };
+
+    public static void main(String[] args) {
+        int numeroHackathon = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int numeroRicerche = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        double raggioKm = args.length > 2 ? Double.parseDouble(args[2]) : 50;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        Random casuale = new Random(42);
+        LocalDate oggi = LocalDate.of(2026, 1, 1);
+        StatoHackathon[] stati = StatoHackathon.values();
+
+        List<Hackathon> hackathon = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int i = 0; i < numeroHackathon; i++) {
+                LocalDate inizio = oggi.plusDays(casuale.nextInt(730));
+                Hackathon evento = new Hackathon("Hackathon " + i, inizio, inizio.plusDays(1 + casuale.nextInt(3)),
+                    inizio.minusDays(10));
+                evento.setStato(stati[casuale.nextInt(stati.length)]);
+                evento.setLuogo(luogo(casuale));
+                hackathon.add(evento);
+            }
+        });
+
+        Gazzettiere gazzettiere = Gazzettiere.predefinito();
+        IndiceGeografico indice = new IndiceGeografico(gazzettiere);
+        long inizio = System.nanoTime();
+        indice.indicizza(hackathon);
+        System.out.printf("Indicizzati %d hackathon in %d ms (%d luoghi sconosciuti, gazzettiere di %d nomi)%n",
+            indice.getNumeroIndicizzati(), (System.nanoTime() - inizio) / 1_000_000, indice.getNonRisolti(),
+            gazzettiere.getNumeroNomi());
+
+        List<Coordinate> centri = new ArrayList<>();
+        for (int i = 0; i < numeroRicerche; i++) {
+            centri.add(new Coordinate(37 + casuale.nextDouble() * 9, 7 + casuale.nextDouble() * 11));
+        }
+        CriteriRicerca tutti = new CriteriRicerca();
+        CriteriRicerca aperti = new CriteriRicerca().conStati(StatoHackathon.IN_ISCRIZIONE)
+            .traDate(oggi.plusDays(60), oggi.plusDays(120));
+
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            misura("raggio, tutti", indice, hackathon, gazzettiere, centri, tutti, raggioKm, 0, ripetizione == 0);
+            misura("raggio, aperti", indice, hackathon, gazzettiere, centri, aperti, raggioKm, 0, ripetizione == 0);
+            misura("k vicini, tutti", indice, hackathon, gazzettiere, centri, tutti, 0, k, ripetizione == 0);
+            misura("k vicini, aperti", indice, hackathon, gazzettiere, centri, aperti, 0, k, ripetizione == 0);
+        }
+
+        // Modifiche con l'indice attivo: cambi di stato e di luogo
+        indice.attiva();
+        inizio = System.nanoTime();
+        int modifiche = Math.max(1, numeroHackathon / 20);
+        for (int i = 0; i < modifiche; i++) {
+            Hackathon evento = hackathon.get(casuale.nextInt(hackathon.size()));
+            if (i % 2 == 0) {
+                evento.setStato(stati[casuale.nextInt(stati.length)]);
+            } else {
+                evento.setLuogo(luogo(casuale));
+            }
+        }
+        indice.disattiva();
+        System.out.printf("%d modifiche in %d ms (%d ricostruzioni dell'albero)%n", modifiche,
+            (System.nanoTime() - inizio) / 1_000_000, indice.getRicostruzioni());
+        misura("raggio, aperti", indice, hackathon, gazzettiere, centri, aperti, raggioKm, 0, true);
+        misura("k vicini, aperti", indice, hackathon, gazzettiere, centri, aperti, 0, k, true);
+    }
+
+    private static void misura(String nome, IndiceGeografico indice, List<Hackathon> hackathon, Gazzettiere gazzettiere,
+                               List<Coordinate> centri, CriteriRicerca criteri, double raggioKm, int k,
+                               boolean confronta) {
+        long trovati = 0;
+        long inizio = System.nanoTime();
+        for (Coordinate centro : centri) {
+            trovati += (k > 0 ? indice.piuVicini(centro, k, criteri) : indice.entroRaggio(centro, raggioKm, criteri))
+                .size();
+        }
+        double microsecondi = (System.nanoTime() - inizio) / 1e3 / centri.size();
+        String confronto = "";
+        if (confronta) {
+            // Scansione lineare su un campione di ricerche
+            Coordinate[] posizioni = new Coordinate[hackathon.size()];
+            for (int i = 0; i < posizioni.length; i++) {
+                posizioni[i] = gazzettiere.risolvi(hackathon.get(i).getLuogo());
+            }
+            int campione = Math.min(centri.size(), 300);
+            inizio = System.nanoTime();
+            for (int c = 0; c < campione; c++) {
+                Coordinate centro = centri.get(c);
+                List<double[]> attesi = scansione(hackathon, posizioni, centro, criteri, raggioKm, k);
+                List<HackathonVicino> ottenuti = k > 0 ? indice.piuVicini(centro, k, criteri)
+                    : indice.entroRaggio(centro, raggioKm, criteri);
+                if (attesi.size() != ottenuti.size()) {
+                    throw new IllegalStateException(nome + ": attesi " + attesi.size() + ", trovati " + ottenuti.size());
+                }
+                for (int i = 0; i < attesi.size(); i++) {
+                    if (Math.abs(attesi.get(i)[1] - ottenuti.get(i).getDistanzaKm()) > 1e-6) {
+                        throw new IllegalStateException(nome + ": distanza diversa in posizione " + i);
+                    }
+                }
+            }
+            confronto = String.format(Locale.ROOT, ", scansione %.0f us", (System.nanoTime() - inizio) / 1e3 / campione);
+        }
+        System.out.printf(Locale.ROOT, "%-17s indice %.1f us per ricerca (%.1f risultati)%s%n", nome, microsecondi,
+            (double) trovati / centri.size(), confronto);
+    }
+
+    private static List<double[]> scansione(List<Hackathon> hackathon, Coordinate[] posizioni, Coordinate centro,
+                                            CriteriRicerca criteri, double raggioKm, int k) {
+        List<double[]> trovati = new ArrayList<>();
+        for (int i = 0; i < posizioni.length; i++) {
+            Hackathon evento = hackathon.get(i);
+            if (posizioni[i] == null || !criteri.ammette(CriteriRicerca.maschera(evento.getStato()),
+                    evento.getDataInizio().toEpochDay(), evento.getDataFine().toEpochDay())) {
+                continue;
+            }
+            double distanza = centro.distanzaKm(posizioni[i]);
+            if (k > 0 || distanza <= raggioKm) {
+                trovati.add(new double[] {i, distanza});
+            }
+        }
+        trovati.sort(Comparator.comparingDouble(t -> t[1]));
+        return k > 0 && trovati.size() > k ? trovati.subList(0, k) : trovati;
+    }
+
+    private static String luogo(Random casuale) {
+        int tipo = casuale.nextInt(10);
+        String citta = CITTA[casuale.nextInt(CITTA.length)];
+        if (tipo < 4) {
+            return citta;
+        } else if (tipo < 5) {
+            return "Via Roma " + casuale.nextInt(100) + ", " + citta;
+        } else if (tipo == 5) {
+            return "Camerino (MC)";
+        } else if (tipo < 9) {
+            return String.format(Locale.ROOT, "%.4f, %.4f", 36 + casuale.nextDouble() * 11, 6 + casuale.nextDouble() * 13);
+        }
+        return "Sede " + casuale.nextInt(50);
+    }
+}
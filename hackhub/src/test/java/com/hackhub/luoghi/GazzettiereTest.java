@@ -0,0 +1,49 @@
+package com.hackhub.luoghi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del gazzettiere: forme in cui e' scritto un luogo e luoghi sconosciuti.
+ */
+class GazzettiereTest {
+
+    private final Gazzettiere gazzettiere = Gazzettiere.predefinito();
+
+    @Test
+    void risolveLeFormeDelLuogo() {
+        Coordinate milano = gazzettiere.risolvi("Milano");
+
+        assertEquals(milano, gazzettiere.risolvi("  MILANO "));
+        assertEquals(milano, gazzettiere.risolvi("Via Roma 1, Milano"));
+        assertEquals(gazzettiere.risolvi("Camerino"), gazzettiere.risolvi("Camerino (MC)"));
+        assertEquals(new Coordinate(43.1355, 13.0683), gazzettiere.risolvi("43.1355, 13.0683"));
+    }
+
+    @Test
+    void luogoSconosciutoOVuotoNonVieneRisolto() {
+        assertNull(gazzettiere.risolvi("Sede 12"));
+        assertNull(gazzettiere.risolvi("  "));
+        assertNull(gazzettiere.risolvi(null));
+        assertNull(new Gazzettiere().risolvi("Milano"));
+    }
+
+    @Test
+    void nomeAggiuntoSostituisceIlPrecedente() {
+        Gazzettiere vuoto = new Gazzettiere();
+        vuoto.aggiungi("Città di Prova", new Coordinate(1, 1));
+        vuoto.aggiungi("citta di prova", new Coordinate(2, 2));
+
+        assertEquals(new Coordinate(2, 2), vuoto.risolvi("Città  di Prova"));
+    }
+
+    @Test
+    void distanzaTraCapoluoghi() {
+        double distanza = gazzettiere.risolvi("Roma").distanzaKm(gazzettiere.risolvi("Milano"));
+
+        assertEquals(477, distanza, 5);
+        assertEquals(0, gazzettiere.risolvi("Roma").distanzaKm(gazzettiere.risolvi("Roma")), 1e-9);
+    }
+}
@@ -0,0 +1,175 @@
+package com.hackhub.luoghi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test dell'indice geografico: ricerche entro un raggio e dei k piu' vicini
+ * confrontate con la scansione lineare, anche dopo modifiche con l'indice
+ * attivo. La versione su larga scala con le misure dei tempi e' BenchmarkGeografico.
+ */
+class IndiceGeograficoTest {
+
+    private static final String[] CITTA = {
+        "Roma", "Milano", "Napoli", "Torino", "Palermo", "Bologna", "Firenze", "Bari", "Ancona", "Trento"
+    };
+
+    private static final LocalDate OGGI = LocalDate.of(2026, 1, 1);
+
+    private final Random casuale = new Random(42);
+
+    private final Gazzettiere gazzettiere = Gazzettiere.predefinito();
+
+    private IndiceGeografico indice;
+
+    private List<Hackathon> hackathon;
+
+    @BeforeEach
+    void indicizza() {
+        StatoHackathon[] stati = StatoHackathon.values();
+        hackathon = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int i = 0; i < 2000; i++) {
+                LocalDate inizio = OGGI.plusDays(casuale.nextInt(365));
+                Hackathon evento = new Hackathon("Hackathon " + i, inizio, inizio.plusDays(1 + casuale.nextInt(3)),
+                    inizio.minusDays(10));
+                evento.setStato(stati[casuale.nextInt(stati.length)]);
+                evento.setLuogo(luogo());
+                hackathon.add(evento);
+            }
+        });
+        indice = new IndiceGeografico(gazzettiere);
+        indice.indicizza(hackathon);
+    }
+
+    @AfterEach
+    void disattiva() {
+        indice.disattiva();
+    }
+
+    private String luogo() {
+        int tipo = casuale.nextInt(10);
+        String citta = CITTA[casuale.nextInt(CITTA.length)];
+        if (tipo < 4) {
+            return citta;
+        } else if (tipo < 5) {
+            return "Via Roma " + casuale.nextInt(100) + ", " + citta;
+        } else if (tipo == 5) {
+            return "Camerino (MC)";
+        } else if (tipo < 9) {
+            return String.format(Locale.ROOT, "%.4f, %.4f", 36 + casuale.nextDouble() * 11, 6 + casuale.nextDouble() * 13);
+        }
+        return "Sede " + casuale.nextInt(50);
+    }
+
+    /** Distanze attese, in ordine, dalla scansione di tutti gli hackathon. */
+    private List<Double> scansione(Coordinate[] posizioni, Coordinate centro, CriteriRicerca criteri,
+                                   double raggioKm, int k) {
+        List<Double> distanze = new ArrayList<>();
+        for (int i = 0; i < posizioni.length; i++) {
+            Hackathon evento = hackathon.get(i);
+            Coordinate posizione = posizioni[i];
+            if (posizione == null || !criteri.ammette(CriteriRicerca.maschera(evento.getStato()),
+                    evento.getDataInizio().toEpochDay(), evento.getDataFine().toEpochDay())) {
+                continue;
+            }
+            double distanza = centro.distanzaKm(posizione);
+            if (k > 0 || distanza <= raggioKm) {
+                distanze.add(distanza);
+            }
+        }
+        distanze.sort(Comparator.naturalOrder());
+        return k > 0 && distanze.size() > k ? distanze.subList(0, k) : distanze;
+    }
+
+    private void confronta(CriteriRicerca criteri) {
+        Coordinate[] posizioni = new Coordinate[hackathon.size()];
+        for (int i = 0; i < posizioni.length; i++) {
+            posizioni[i] = gazzettiere.risolvi(hackathon.get(i).getLuogo());
+        }
+        for (int i = 0; i < 200; i++) {
+            Coordinate centro = new Coordinate(37 + casuale.nextDouble() * 9, 7 + casuale.nextDouble() * 11);
+            assertDistanze(scansione(posizioni, centro, criteri, 80, 0), indice.entroRaggio(centro, 80, criteri));
+            assertDistanze(scansione(posizioni, centro, criteri, 0, 10), indice.piuVicini(centro, 10, criteri));
+        }
+    }
+
+    private static void assertDistanze(List<Double> attese, List<HackathonVicino> trovati) {
+        assertEquals(attese.size(), trovati.size());
+        for (int i = 0; i < attese.size(); i++) {
+            assertEquals(attese.get(i), trovati.get(i).getDistanzaKm(), 1e-6);
+        }
+    }
+
+    private CriteriRicerca aperti() {
+        return new CriteriRicerca().conStati(StatoHackathon.IN_ISCRIZIONE).traDate(OGGI.plusDays(60), OGGI.plusDays(120));
+    }
+
+    @Test
+    void ricercheCoincidonoConLaScansione() {
+        long sconosciuti = hackathon.stream().filter(h -> gazzettiere.risolvi(h.getLuogo()) == null).count();
+        assertEquals(sconosciuti, indice.getNonRisolti());
+        assertEquals(hackathon.size() - sconosciuti, indice.getNumeroIndicizzati());
+
+        confronta(new CriteriRicerca());
+        confronta(aperti());
+    }
+
+    @Test
+    void modificheConIndiceAttivoAggiornanoLeRicerche() {
+        StatoHackathon[] stati = StatoHackathon.values();
+        int ricostruzioni = indice.getRicostruzioni();
+        indice.attiva();
+        for (int i = 0; i < 600; i++) {
+            Hackathon evento = hackathon.get(casuale.nextInt(hackathon.size()));
+            if (i % 2 == 0) {
+                evento.setStato(stati[casuale.nextInt(stati.length)]);
+            } else {
+                evento.setLuogo(luogo());
+            }
+        }
+
+        assertTrue(indice.getRicostruzioni() > ricostruzioni);
+        confronta(new CriteriRicerca());
+        confronta(aperti());
+    }
+
+    @Test
+    void hackathonRimossoNonVieneTrovato() {
+        Hackathon evento = hackathon.stream().filter(h -> "Roma".equals(h.getLuogo())).findFirst().orElseThrow();
+        Coordinate roma = indice.getCoordinate(evento);
+
+        indice.rimuovi(evento);
+
+        assertNull(indice.getCoordinate(evento));
+        assertTrue(indice.entroRaggio(roma, 1, new CriteriRicerca()).stream()
+            .noneMatch(vicino -> vicino.getHackathon() == evento));
+    }
+
+    @Test
+    void argomentiNonValidiVengonoRifiutati() {
+        Coordinate centro = new Coordinate(43, 12);
+        CriteriRicerca criteri = new CriteriRicerca();
+
+        assertThrows(IllegalArgumentException.class, () -> indice.entroRaggio(centro, -1, criteri));
+        assertThrows(IllegalArgumentException.class, () -> indice.piuVicini(centro, 0, criteri));
+        assertThrows(IllegalArgumentException.class, () -> criteri.conStati());
+        assertThrows(IllegalArgumentException.class, () -> criteri.traDate(OGGI, OGGI.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> new Coordinate(91, 0));
+    }
+}
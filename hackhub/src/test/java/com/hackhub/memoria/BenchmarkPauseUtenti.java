@@ -0,0 +1,104 @@
+package com.hackhub.memoria;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Utente;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Confronto delle pause di garbage collection tra utenti sull'heap e fuori heap.
+ *
+ * In modalita' "heap" gli utenti restano oggetti Utente in una lista con un indice
+ * per email; in modalita' "fuoriheap" vengono copiati nel RegistroUtentiFuoriHeap
+ * e gli oggetti originali diventano subito garbage. In entrambi i casi vengono
+ * poi forzate alcune collezioni complete e stampati heap occupato, durata media
+ * di una collezione completa e tempi cumulati dei collector.
+ *
+ * Le due modalita' vanno eseguite in JVM separate con la stessa -Xmx, ad esempio:
+ * java -Xmx4g com.hackhub.memoria.BenchmarkPauseUtenti heap 3000000
+ * java -Xmx4g com.hackhub.memoria.BenchmarkPauseUtenti fuoriheap 3000000
+ *
+ * Uso: BenchmarkPauseUtenti [heap|fuoriheap] [utenti] [collezioni]
+ */
+public class BenchmarkPauseUtenti {
+
+    public static void main(String[] args) {
+        String modalita = args.length > 0 ? args[0] : "fuoriheap";
+        int numero = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int collezioni = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        if (!modalita.equals("heap") && !modalita.equals("fuoriheap")) {
+            throw new IllegalArgumentException("Modalita' sconosciuta: " + modalita);
+        }
+
+        List<Utente> utentiHeap = new ArrayList<>();
+        Map<String, Utente> perEmail = new HashMap<>();
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(numero);
+
+        long inizio = System.nanoTime();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int i = 0; i < numero; i++) {
+                Utente utente = new Utente("Nome" + i, "Cognome" + i, "utente" + i + "@hackhub.it", "password" + i);
+                utente.aggiungiCompetenza("java");
+                utente.aggiungiPreferenza(i % 2 == 0 ? "backend" : "frontend");
+                if (modalita.equals("heap")) {
+                    utentiHeap.add(utente);
+                    perEmail.put(utente.getEmail(), utente);
+                } else {
+                    registro.aggiungi(utente);
+                }
+            }
+        });
+        System.out.printf("%s: %d utenti caricati in %d ms%n", modalita, numero, (System.nanoTime() - inizio) / 1_000_000);
+
+        System.gc();
+        long tempoGcIniziale = tempoCollector();
+        long collezioniIniziali = numeroCollezioni();
+        long totale = 0;
+        long massima = 0;
+        for (int i = 0; i < collezioni; i++) {
+            long t0 = System.nanoTime();
+            System.gc();
+            long durata = System.nanoTime() - t0;
+            totale += durata;
+            massima = Math.max(massima, durata);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsato = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("heap occupato: %d MB%n", heapUsato / (1024 * 1024));
+        if (modalita.equals("fuoriheap")) {
+            System.out.printf("memoria fuori heap: %d MB%n", registro.getByteFuoriHeap() / (1024 * 1024));
+        }
+        System.out.printf("collezione completa: media %.1f ms, massima %.1f ms (%d collezioni)%n",
+            totale / 1e6 / collezioni, massima / 1e6, collezioni);
+        System.out.printf("collector: %d collezioni, %d ms cumulati%n",
+            numeroCollezioni() - collezioniIniziali, tempoCollector() - tempoGcIniziale);
+
+        // Verifica che i dati siano ancora raggiungibili dopo le collezioni
+        String campione = "utente" + (numero / 2) + "@hackhub.it";
+        String trovato = modalita.equals("heap")
+            ? perEmail.get(campione).getNome()
+            : registro.get(registro.trovaPerEmail(campione)).getNome();
+        System.out.println("campione: " + campione + " -> " + trovato);
+    }
+
+    private static long tempoCollector() {
+        long totale = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totale += Math.max(0, collector.getCollectionTime());
+        }
+        return totale;
+    }
+
+    private static long numeroCollezioni() {
+        long totale = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totale += Math.max(0, collector.getCollectionCount());
+        }
+        return totale;
+    }
+}
@@ -0,0 +1,123 @@
+package com.hackhub.memoria;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.TipoUtente;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Leader;
+import com.hackhub.model.Utente;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del registro fuori heap: ricerche per id ed email, cambio di email
+ * e ricostruzione degli utenti. Il confronto delle pause e' BenchmarkPauseUtenti.
+ */
+class RegistroUtentiFuoriHeapTest {
+
+    private static List<Utente> utenti(int numero) {
+        List<Utente> utenti = new ArrayList<>(numero);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int i = 0; i < numero; i++) {
+                Utente utente = new Utente("Nome" + i, "Cognome" + i, "utente" + i + "@hackhub.it", "password" + i);
+                utente.aggiungiCompetenza("java");
+                utente.aggiungiPreferenza(i % 2 == 0 ? "backend" : "frontend");
+                utenti.add(utente);
+            }
+        });
+        return utenti;
+    }
+
+    @Test
+    void utentiRestanoRicercabiliSuPiuPagine() {
+        // Piu' di 65536 utenti: i record occupano due pagine
+        List<Utente> utenti = utenti(70_000);
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(1024);
+        utenti.forEach(registro::aggiungi);
+
+        assertEquals(utenti.size(), registro.getNumeroUtenti());
+        for (int i = 0; i < utenti.size(); i += 997) {
+            Utente atteso = utenti.get(i);
+            UtenteFuoriHeap record = registro.get(registro.trovaPerId(atteso.getId()));
+            assertEquals(atteso.getNome(), record.getNome());
+            assertEquals(atteso.getEmail(), record.getEmail());
+            assertEquals(atteso.getPreferenze(), record.getPreferenze());
+            assertEquals(record.getSlot(), registro.trovaPerEmail(atteso.getEmail()));
+        }
+        AtomicInteger scorsi = new AtomicInteger();
+        registro.scorri(record -> scorsi.incrementAndGet());
+        assertEquals(utenti.size(), scorsi.get());
+    }
+
+    @Test
+    void emailNonDistingueMaiuscole() {
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(16);
+        Utente utente = utenti(1).get(0);
+        GestoreEventi.eseguiSenzaEventi(() -> utente.setEmail(" Mario.Rossi@HackHub.it "));
+        int slot = registro.aggiungi(utente);
+
+        assertEquals("mario.rossi@hackhub.it", registro.get(slot).getEmail());
+        assertEquals(slot, registro.trovaPerEmail("MARIO.ROSSI@hackhub.IT"));
+        assertEquals(-1, registro.trovaPerEmail(null));
+    }
+
+    @Test
+    void duplicatiVengonoRifiutati() {
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(16);
+        List<Utente> utenti = utenti(2);
+        registro.aggiungi(utenti.get(0));
+        GestoreEventi.eseguiSenzaEventi(() -> utenti.get(1).setEmail("UTENTE0@hackhub.it"));
+
+        assertThrows(IllegalStateException.class, () -> registro.aggiungi(utenti.get(0)));
+        assertThrows(IllegalStateException.class, () -> registro.aggiungi(utenti.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> registro.aggiungi(null));
+    }
+
+    @Test
+    void cambioEmailSostituisceLaVoceDellIndice() {
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(16);
+        List<Utente> utenti = utenti(100);
+        utenti.forEach(registro::aggiungi);
+        int slot = registro.trovaPerEmail("utente42@hackhub.it");
+
+        registro.setEmail(slot, "Nuova@HackHub.it");
+
+        assertEquals(-1, registro.trovaPerEmail("utente42@hackhub.it"));
+        assertEquals(slot, registro.trovaPerEmail("nuova@hackhub.it"));
+        assertTrue(registro.get(slot).haEmail("NUOVA@hackhub.it"));
+        assertThrows(IllegalStateException.class, () -> registro.setEmail(slot, "utente43@hackhub.it"));
+        assertThrows(IllegalArgumentException.class, () -> registro.setEmail(slot, null));
+        for (int i = 0; i < utenti.size(); i++) {
+            if (i != 42) {
+                assertEquals(i, registro.get(registro.trovaPerEmail("utente" + i + "@hackhub.it")).getSlot());
+            }
+        }
+    }
+
+    @Test
+    void materializzaRicostruisceIlLeader() {
+        Leader[] leader = new Leader[1];
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            leader[0] = new Leader("Anna", "Bianchi", "anna@hackhub.it", "segreta");
+            leader[0].aggiungiCompetenza("python");
+        });
+        RegistroUtentiFuoriHeap registro = new RegistroUtentiFuoriHeap(16);
+        int slot = registro.aggiungi(leader[0]);
+
+        Utente ricostruito = registro.materializza(slot);
+
+        assertInstanceOf(Leader.class, ricostruito);
+        assertEquals(TipoUtente.LEADER, registro.get(slot).getTipo());
+        assertEquals(leader[0].getId(), ricostruito.getId());
+        assertEquals(Set.of("python"), ricostruito.getCompetenze());
+        assertFalse(ricostruito.isViceLeader());
+        assertEquals(leader[0].getDataIngresso(), ricostruito.getDataIngresso());
+    }
+}
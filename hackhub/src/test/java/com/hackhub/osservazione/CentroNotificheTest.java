@@ -0,0 +1,182 @@
+package com.hackhub.osservazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.TipoArgomento;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del centro notifiche: buffer circolare delle sottoscrizioni, perdite
+ * della coda centrale segnalate con risincronizza, smistamento per entita'
+ * interessata e filtro delle password.
+ */
+class CentroNotificheTest {
+
+    private static final long ATTESA_MILLIS = 5_000;
+
+    private CentroNotifiche centro;
+
+    @AfterEach
+    void chiudi() {
+        if (centro != null) {
+            centro.close();
+        }
+    }
+
+    private CentroNotifiche centro(int capacitaCoda, int capacitaBuffer) {
+        centro = new CentroNotifiche(capacitaCoda, capacitaBuffer);
+        centro.attiva();
+        return centro;
+    }
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2026, 11, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    /** Legge finche' non sono arrivate almeno "attese" notifiche o scade l'attesa. */
+    private static List<Notifica> leggi(Sottoscrizione sottoscrizione, int attese) throws InterruptedException {
+        List<Notifica> lette = new ArrayList<>();
+        long scadenza = System.currentTimeMillis() + ATTESA_MILLIS;
+        while (lette.size() < attese && System.currentTimeMillis() < scadenza) {
+            lette.addAll(sottoscrizione.attendi(100, 1_000).getNotifiche());
+        }
+        return lette;
+    }
+
+    private static void attendiFinche(BooleanSupplier condizione) throws InterruptedException {
+        long scadenza = System.currentTimeMillis() + ATTESA_MILLIS;
+        while (!condizione.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < scadenza, "Condizione non raggiunta in tempo");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void bufferPienoSovrascriveLePiuVecchieESegnalaLaPerdita() throws InterruptedException {
+        Sottoscrizione sottoscrizione = centro(1_000, 5).sottoscrivi(TipoArgomento.TEAM, 1);
+        assertEquals(8, sottoscrizione.getCapacita());
+
+        for (int i = 1; i <= 20; i++) {
+            sottoscrizione.consegna(new Notifica(i, 0, TipoEvento.MODIFICA, "Team", 1, "nome", "Nome " + i));
+        }
+
+        assertEquals(8, sottoscrizione.getInAttesa());
+        assertEquals(12, sottoscrizione.getPerse());
+        Lotto primo = sottoscrizione.attendi(0, 3);
+        assertTrue(primo.isRisincronizza());
+        assertEquals(List.of(13L, 14L, 15L), primo.getNotifiche().stream().map(Notifica::getSequenza).toList());
+        Lotto secondo = sottoscrizione.attendi(0, 100);
+        assertFalse(secondo.isRisincronizza());
+        assertEquals(5, secondo.getNotifiche().size());
+        assertEquals(20, secondo.getNotifiche().get(4).getSequenza());
+        assertTrue(sottoscrizione.attendi(0, 100).getNotifiche().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> sottoscrizione.attendi(0, 0));
+    }
+
+    @Test
+    void codaCentralePienaRisincronizzaTuttiGliOsservatori() throws InterruptedException {
+        Hackathon osservato = hackathon("Osservato");
+        centro(1, 16);
+        Sottoscrizione lenta = centro.sottoscrivi(TipoArgomento.HACKATHON, osservato.getId());
+        Sottoscrizione estranea = centro.sottoscrivi(TipoArgomento.TEAM, 1);
+
+        // Il lettore trattiene il monitor: il dispatcher resta fermo sulla prima consegna
+        synchronized (lenta) {
+            osservato.setPremio(1);
+            attendiFinche(() -> centro.getInCoda() == 0);
+            osservato.setPremio(2);
+            osservato.setPremio(3);
+            osservato.setPremio(4);
+        }
+
+        assertEquals(2, centro.getScartate());
+        List<Notifica> lette = leggi(lenta, 2);
+        assertEquals(List.of("1.0", "2.0"), lette.stream().map(Notifica::getValore).toList());
+        // Anche chi non ha perso nulla del proprio argomento deve risincronizzarsi
+        Lotto lotto = estranea.attendi(0, 10);
+        assertTrue(lotto.isRisincronizza());
+        assertTrue(lotto.getNotifiche().isEmpty());
+    }
+
+    @Test
+    void modificheSmistateAlleEntitaInteressate() throws InterruptedException {
+        Hackathon hackathon = hackathon("Smistamento");
+        Team team = new Utente("Leader", "Team", "smistamento.leader@hackhub.it", "pw").creaTeam("Smistamento", null);
+        Utente destinatario = new Utente("Invitato", "Utente", "smistamento.invitato@hackhub.it", "pw");
+        centro(1_000, 16);
+        Sottoscrizione perTeam = centro.sottoscrivi(TipoArgomento.TEAM, team.getId());
+        Sottoscrizione perUtente = centro.sottoscrivi(TipoArgomento.UTENTE, destinatario.getId());
+        Sottoscrizione perHackathon = centro.sottoscrivi(TipoArgomento.HACKATHON, hackathon.getId());
+
+        Invito invito = team.getLeader().invitaUtente(destinatario);
+        destinatario.rifiutaInvito(invito);
+        team.setDescrizione("Nuova descrizione");
+
+        List<Notifica> delTeam = leggi(perTeam, 3);
+        assertTrue(delTeam.stream().anyMatch(n -> "Invito".equals(n.getEntita()) && "stato".equals(n.getCampo())));
+        assertTrue(delTeam.stream().anyMatch(n -> "descrizione".equals(n.getCampo())));
+        List<Notifica> dellUtente = leggi(perUtente, 2);
+        assertTrue(dellUtente.stream().anyMatch(n -> "Invito".equals(n.getEntita())));
+        assertFalse(dellUtente.stream().anyMatch(n -> "descrizione".equals(n.getCampo())));
+        assertTrue(perHackathon.attendi(0, 10).getNotifiche().isEmpty());
+        assertEquals(0, centro.getScartate());
+    }
+
+    @Test
+    void passwordNonVieneMaiNotificata() throws InterruptedException {
+        Utente utente = new Utente("Nome", "Cognome", "password.notifiche@hackhub.it", "pw");
+        centro(1_000, 16);
+        Sottoscrizione sottoscrizione = centro.sottoscrivi(TipoArgomento.UTENTE, utente.getId());
+
+        utente.setPassword("segreta");
+        utente.setNome("Rinominato");
+
+        List<Notifica> lette = leggi(sottoscrizione, 1);
+        assertEquals(1, lette.size());
+        assertEquals("nome", lette.get(0).getCampo());
+        assertFalse(lette.get(0).toJson().contains("segreta"));
+    }
+
+    @Test
+    void annullamentoSvegliaIlLettoreELiberaLaSottoscrizione() throws Exception {
+        Sottoscrizione sottoscrizione = centro(16, 16).sottoscrivi(TipoArgomento.TEAM, 1);
+        AtomicReference<Exception> errore = new AtomicReference<>();
+        Thread lettore = new Thread(() -> {
+            try {
+                sottoscrizione.attendi(ATTESA_MILLIS, 10);
+            } catch (Exception e) {
+                errore.set(e);
+            }
+        });
+        lettore.start();
+        attendiFinche(() -> lettore.getState() == Thread.State.TIMED_WAITING);
+
+        centro.annulla(sottoscrizione);
+        lettore.join(ATTESA_MILLIS);
+
+        assertFalse(lettore.isAlive());
+        assertInstanceOf(IllegalStateException.class, errore.get());
+        assertTrue(sottoscrizione.isChiusa());
+        assertNull(centro.getSottoscrizione(sottoscrizione.getId()));
+        assertEquals(0, centro.getNumeroSottoscrizioni());
+        centro.close();
+        assertThrows(IllegalStateException.class, () -> centro.sottoscrivi(TipoArgomento.TEAM, 1));
+    }
+}
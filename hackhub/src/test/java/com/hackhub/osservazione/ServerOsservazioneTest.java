@@ -0,0 +1,134 @@
+package com.hackhub.osservazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.TipoArgomento;
+import com.hackhub.model.Hackathon;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del server di osservazione su loopback: verifica del token, lettura
+ * long-poll, limite di sottoscrizioni per client e sottoscrizioni altrui.
+ */
+class ServerOsservazioneTest {
+
+    private static final String TOKEN = "token-di-prova";
+
+    private static final Pattern SOTTOSCRIZIONE = Pattern.compile("\"sottoscrizione\":(\\d+)");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private CentroNotifiche centro;
+
+    private ServerOsservazione server;
+
+    @BeforeEach
+    void avvia() throws IOException {
+        centro = new CentroNotifiche();
+        centro.attiva();
+        server = new ServerOsservazione(centro, 0, TOKEN);
+    }
+
+    @AfterEach
+    void chiudi() {
+        server.close();
+        centro.close();
+    }
+
+    private HttpResponse<String> richiesta(String percorso, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder richiesta = HttpRequest.newBuilder(
+            URI.create("http://127.0.0.1:" + server.getPorta() + percorso)).timeout(Duration.ofSeconds(10));
+        if (token != null) {
+            richiesta.header("Authorization", "Bearer " + token);
+        }
+        return client.send(richiesta.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long sottoscrivi(String tipo, long id) throws IOException, InterruptedException {
+        HttpResponse<String> risposta = richiesta("/sottoscrivi?tipo=" + tipo + "&id=" + id, TOKEN);
+        assertEquals(200, risposta.statusCode(), risposta.body());
+        Matcher numero = SOTTOSCRIZIONE.matcher(risposta.body());
+        assertTrue(numero.find());
+        return Long.parseLong(numero.group(1));
+    }
+
+    @Test
+    void richiesteSenzaIlTokenGiustoVengonoRifiutate() throws IOException, InterruptedException {
+        for (String percorso : List.of("/sottoscrivi?tipo=TEAM&id=1", "/attendi?sottoscrizione=1",
+                "/annulla?sottoscrizione=1", "/flusso?tipo=TEAM&id=1")) {
+            HttpResponse<String> senzaToken = richiesta(percorso, null);
+            assertEquals(401, senzaToken.statusCode(), percorso);
+            assertEquals("Bearer", senzaToken.headers().firstValue("WWW-Authenticate").orElse(null));
+            assertEquals(401, richiesta(percorso, "token-sbagliato").statusCode(), percorso);
+            assertEquals(401, richiesta(percorso + "&token=token-sbagliato", null).statusCode(), percorso);
+        }
+        assertEquals(0, centro.getNumeroSottoscrizioni());
+
+        assertEquals(200, richiesta("/sottoscrivi?tipo=TEAM&id=1&token=" + TOKEN, null).statusCode());
+        assertEquals(1, centro.getNumeroSottoscrizioni());
+        assertThrows(IllegalArgumentException.class, () -> new ServerOsservazione(centro, 0, " "));
+    }
+
+    @Test
+    void letturaLongPollRestituisceLeModifiche() throws IOException, InterruptedException {
+        LocalDate inizio = LocalDate.of(2026, 11, 1);
+        Hackathon hackathon = new Hackathon("Osservato", inizio, inizio.plusDays(2), inizio.minusDays(7));
+        long id = sottoscrivi("hackathon", hackathon.getId());
+
+        hackathon.setLuogo("Torino");
+        HttpResponse<String> lotto = richiesta("/attendi?sottoscrizione=" + id + "&attesa=5000", TOKEN);
+
+        assertEquals(200, lotto.statusCode());
+        assertTrue(lotto.body().contains("\"campo\":\"luogo\""), lotto.body());
+        assertTrue(lotto.body().contains("\"valore\":\"Torino\""), lotto.body());
+        assertEquals(400, richiesta("/sottoscrivi?tipo=CALL&id=1", TOKEN).statusCode());
+        assertEquals(400, richiesta("/attendi", TOKEN).statusCode());
+        assertEquals(404, richiesta("/attendi?sottoscrizione=" + (id + 1_000), TOKEN).statusCode());
+    }
+
+    @Test
+    void clientNonSuperaIlLimiteDiSottoscrizioni() throws IOException, InterruptedException {
+        List<Long> aperte = new ArrayList<>();
+        for (int i = 0; i < ServerOsservazione.SOTTOSCRIZIONI_PER_CLIENTE; i++) {
+            aperte.add(sottoscrivi("TEAM", i));
+        }
+
+        assertEquals(429, richiesta("/sottoscrivi?tipo=TEAM&id=0", TOKEN).statusCode());
+        assertEquals(429, richiesta("/flusso?tipo=TEAM&id=0", TOKEN).statusCode());
+
+        // Una sottoscrizione annullata, dal client o dal centro, libera il posto
+        assertEquals(200, richiesta("/annulla?sottoscrizione=" + aperte.get(0), TOKEN).statusCode());
+        assertNull(centro.getSottoscrizione(aperte.get(0)));
+        sottoscrivi("TEAM", 0);
+        centro.annulla(centro.getSottoscrizione(aperte.get(1)));
+        sottoscrivi("TEAM", 1);
+        assertEquals(429, richiesta("/sottoscrivi?tipo=TEAM&id=0", TOKEN).statusCode());
+        assertEquals(ServerOsservazione.SOTTOSCRIZIONI_PER_CLIENTE, centro.getNumeroSottoscrizioni());
+    }
+
+    @Test
+    void sottoscrizioniAltruiNonSonoAccessibili() throws IOException, InterruptedException {
+        Sottoscrizione altrui = centro.sottoscrivi(TipoArgomento.TEAM, 1);
+
+        assertEquals(404, richiesta("/attendi?sottoscrizione=" + altrui.getId() + "&attesa=0", TOKEN).statusCode());
+        assertEquals(404, richiesta("/annulla?sottoscrizione=" + altrui.getId(), TOKEN).statusCode());
+        assertNotNull(centro.getSottoscrizione(altrui.getId()));
+    }
+}
@@ -0,0 +1,215 @@
+package com.hackhub.regole;
+
+import com.hackhub.enums.AzioneRegole;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.unicita.IndiceUnicita;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Misura del motore delle regole su un hackathon molto partecipato.
+ *
+ * Una parte dei team supera il limite di membri, condivide un membro con un
+ * altro team, ha membri non registrati o consegna in ritardo.
+ *
+ * 1. Valutazione completa con un pool a un solo thread e con il pool comune
+ * 2. Modifiche del modello con il motore attivo: costo per evento e numero di
+ *    iscrizioni rivalutate; alla fine le violazioni incrementali vengono
+ *    confrontate con una valutazione completa
+ * 3. Motore in modalita' SQUALIFICA: le iscrizioni non conformi diventano SQUALIFICATE
+ *
+ * Uso: BenchmarkRegole [iscrizioni] [modifiche]
+ */
+public class BenchmarkRegole {
+
+    private static final String REGOLAMENTO = String.join(System.lineSeparator(),
+        "Regolamento della gara: si consegna entro la fine dell'hackathon.",
+        "",
+        "[regole]",
+        "dimensione: membri <= max_membri",
+        "registrati: membri_registrati e leader",
+        "unicita: membro_unico",
+        "consegna: consegna_in_tempo o giorni_ritardo <= 1   # un giorno di tolleranza",
+        "",
+        "[premi]",
+        "Al primo classificato 1000 euro.");
+
+    public static void main(String[] args) {
+        int numeroIscrizioni = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int numeroModifiche = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Random casuale = new Random(42);
+        LocalDate inizio = LocalDate.of(2026, 3, 1);
+
+        Hackathon hackathon = new Hackathon("Hackathon", inizio, inizio.plusDays(2), inizio.minusDays(7));
+        List<Team> team = new ArrayList<>();
+        List<Utente> utenti = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            hackathon.setMaxMembriTeam(4);
+            hackathon.setRegolamento(REGOLAMENTO);
+            popola(hackathon, team, utenti, numeroIscrizioni, casuale);
+        });
+        IndiceUnicita unicita = new IndiceUnicita();
+        unicita.indicizza(team, utenti);
+        unicita.attiva();
+
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        MotoreRegole sequenziale = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata, unThread);
+        MotoreRegole motore = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+        System.out.println(motore.getClass().getSimpleName() + " con " + Regolamento.compila(REGOLAMENTO));
+        sequenziale.segui(hackathon);
+        motore.segui(hackathon);
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            long avvio = System.nanoTime();
+            int sequenziali = sequenziale.rivaluta(hackathon).size();
+            long durataSequenziale = System.nanoTime() - avvio;
+            avvio = System.nanoTime();
+            int parallele = motore.rivaluta(hackathon).size();
+            long durataParallela = System.nanoTime() - avvio;
+            System.out.printf("valutazione di %d iscrizioni: %d violazioni in %d ms con 1 thread, "
+                    + "%d in %d ms con %d thread%n", numeroIscrizioni, sequenziali, durataSequenziale / 1_000_000,
+                parallele, durataParallela / 1_000_000, ForkJoinPool.getCommonPoolParallelism());
+        }
+        unThread.shutdown();
+        confronta(motore.getViolazioni(hackathon), sequenziale.getViolazioni(hackathon));
+
+        motore.attiva();
+        long valutazioniPrima = motore.getValutazioni();
+        long avvio = System.nanoTime();
+        for (int i = 0; i < numeroModifiche; i++) {
+            modifica(hackathon, team, casuale, i);
+        }
+        long durata = System.nanoTime() - avvio;
+        System.out.printf("%d modifiche con il motore attivo: %.1f us per modifica, %d iscrizioni rivalutate%n",
+            numeroModifiche, durata / 1e3 / numeroModifiche, motore.getValutazioni() - valutazioniPrima);
+        motore.disattiva();
+        MotoreRegole verifica = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+        confronta(motore.getViolazioni(hackathon), verifica.segui(hackathon));
+        System.out.println("Violazioni incrementali uguali alla valutazione completa: "
+            + motore.getViolazioni(hackathon).size());
+
+        MotoreRegole squalifica = new MotoreRegole(AzioneRegole.SQUALIFICA, unicita::isEmailRegistrata);
+        squalifica.attiva();
+        List<Violazione> squalificate = squalifica.segui(hackathon);
+        for (Violazione violazione : squalificate) {
+            if (violazione.getIscrizione().getStato() != StatoIscrizione.SQUALIFICATA) {
+                throw new IllegalStateException("Iscrizione non squalificata: " + violazione);
+            }
+        }
+        List<Team> confermati = confermati(hackathon);
+        Team primo = confermati.get(0);
+        Team secondo = confermati.get(1);
+        primo.addMembro(new MembroTeam("Doppio", "Membro", secondo.getLeader().getEmail(), "pw"));
+        int restanti = 0;
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            restanti += iscrizione.getStato() == StatoIscrizione.CONFERMATA ? 1 : 0;
+        }
+        squalifica.disattiva();
+        unicita.disattiva();
+        System.out.printf("SQUALIFICA: %d iscrizioni squalificate, %d confermate dopo un membro condiviso (%s, %s)%n",
+            squalificate.size(), restanti, primo.getIscrizioni().get(0).getStato(),
+            secondo.getIscrizioni().get(0).getStato());
+    }
+
+    /**
+     * Applica una modifica casuale al modello.
+     */
+    private static void modifica(Hackathon hackathon, List<Team> team, Random casuale, int numero) {
+        Team scelto = team.get(casuale.nextInt(team.size()));
+        switch (casuale.nextInt(5)) {
+            case 0:
+                scelto.addMembro(new MembroTeam("Nuovo", "Membro", "nuovo" + numero + "@hackhub.it", "pw"));
+                break;
+            case 1:
+                if (!scelto.getMembri().isEmpty()) {
+                    scelto.removeMembro(scelto.getMembri().get(scelto.getMembri().size() - 1));
+                }
+                break;
+            case 2:
+                // Un membro di un altro team entra anche in questo
+                Team altro = team.get(casuale.nextInt(team.size()));
+                scelto.addMembro(new MembroTeam("Altro", "Membro", altro.getLeader().getEmail(), "pw"));
+                break;
+            case 3:
+                if (!scelto.getSottomissioni().isEmpty()) {
+                    scelto.getSottomissioni().get(0).setDataInvio(hackathon.getDataFine()
+                        .plusDays(casuale.nextInt(4) - 1));
+                }
+                break;
+            default:
+                Iscrizione iscrizione = scelto.getIscrizioni().get(0);
+                if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                    iscrizione.annulla();
+                } else {
+                    iscrizione.setStato(StatoIscrizione.CONFERMATA);
+                }
+        }
+    }
+
+    private static void confronta(List<Violazione> attese, List<Violazione> trovate) {
+        Map<Iscrizione, List<String>> perIscrizione = new IdentityHashMap<>();
+        for (Violazione violazione : attese) {
+            perIscrizione.put(violazione.getIscrizione(), violazione.getNomiRegole());
+        }
+        if (attese.size() != trovate.size()) {
+            throw new IllegalStateException("Violazioni diverse: " + attese.size() + " e " + trovate.size());
+        }
+        for (Violazione violazione : trovate) {
+            if (!violazione.getNomiRegole().equals(perIscrizione.get(violazione.getIscrizione()))) {
+                throw new IllegalStateException("Violazione diversa: " + violazione);
+            }
+        }
+    }
+
+    private static List<Team> confermati(Hackathon hackathon) {
+        List<Team> confermati = new ArrayList<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                confermati.add(iscrizione.getTeam());
+            }
+        }
+        return confermati;
+    }
+
+    private static void popola(Hackathon hackathon, List<Team> team, List<Utente> utenti, int iscrizioni,
+                               Random casuale) {
+        for (int t = 0; t < iscrizioni; t++) {
+            Utente fondatore = new Utente("Nome", "Cognome", t + ".leader@hackhub.it", "pw");
+            utenti.add(fondatore);
+            Team nuovo = fondatore.creaTeam("Team " + t, "Descrizione");
+            // Circa un team su dieci supera il limite di quattro membri
+            int membri = casuale.nextInt(10) == 0 ? 4 : 1 + casuale.nextInt(3);
+            for (int m = 0; m < membri; m++) {
+                String email = t + ".m" + m + "@hackhub.it";
+                int caso = casuale.nextInt(100);
+                if (caso == 0 && t > 0) {
+                    // Membro gia' in un altro team
+                    email = casuale.nextInt(t) + ".m0@hackhub.it";
+                }
+                MembroTeam membro = new MembroTeam("Membro", "Team", email, "pw");
+                if (caso != 1) {
+                    utenti.add(membro);
+                }
+                nuovo.addMembro(membro);
+            }
+            Iscrizione iscrizione = new Iscrizione(nuovo, hackathon);
+            nuovo.aggiungiIscrizione(iscrizione);
+            hackathon.aggiungiIscrizione(iscrizione);
+            Sottomissione sottomissione = new Sottomissione(nuovo, hackathon, "Progetto " + t, "https://example.org/" + t);
+            sottomissione.setDataInvio(hackathon.getDataFine().plusDays(casuale.nextInt(50) == 0 ? 3 : -1));
+            nuovo.aggiungiSottomissione(sottomissione);
+            team.add(nuovo);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.hackhub.regole;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hackhub.enums.AzioneRegole;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.unicita.IndiceUnicita;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del motore delle regole: valutazione completa sequenziale e parallela,
+ * rivalutazione incrementale con il motore attivo e squalifica. La misura su
+ * un hackathon molto partecipato e' BenchmarkRegole.
+ */
+class MotoreRegoleTest {
+
+    private static final String REGOLAMENTO = String.join("\n",
+        "[regole]",
+        "dimensione: membri <= max_membri",
+        "registrati: membri_registrati e leader",
+        "unicita: membro_unico",
+        "consegna: consegna_in_tempo o giorni_ritardo <= 1");
+
+    private final Random casuale = new Random(42);
+
+    private final List<Team> team = new ArrayList<>();
+
+    private final List<Utente> utenti = new ArrayList<>();
+
+    private Hackathon hackathon;
+
+    private IndiceUnicita unicita;
+
+    private MotoreRegole motore;
+
+    @BeforeEach
+    void popola() {
+        LocalDate inizio = LocalDate.of(2026, 3, 1);
+        hackathon = new Hackathon("Hackathon", inizio, inizio.plusDays(2), inizio.minusDays(7));
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            hackathon.setMaxMembriTeam(4);
+            hackathon.setRegolamento(REGOLAMENTO);
+            for (int t = 0; t < 400; t++) {
+                aggiungiTeam(t);
+            }
+        });
+        unicita = new IndiceUnicita();
+        unicita.indicizza(team, utenti);
+        unicita.attiva();
+    }
+
+    @AfterEach
+    void disattiva() {
+        if (motore != null) {
+            motore.disattiva();
+        }
+        unicita.disattiva();
+    }
+
+    /**
+     * Circa un team su dieci supera il limite di membri, uno su cento ha un
+     * membro non registrato o gia' in un altro team e uno su cinquanta consegna
+     * in ritardo.
+     */
+    private void aggiungiTeam(int t) {
+        Utente fondatore = new Utente("Nome", "Cognome", t + ".leader@hackhub.it", "pw");
+        utenti.add(fondatore);
+        Team nuovo = fondatore.creaTeam("Team " + t, "Descrizione");
+        int membri = casuale.nextInt(10) == 0 ? 4 : 1 + casuale.nextInt(3);
+        for (int m = 0; m < membri; m++) {
+            String email = t + ".m" + m + "@hackhub.it";
+            int caso = casuale.nextInt(100);
+            if (caso == 0 && t > 0) {
+                email = casuale.nextInt(t) + ".m0@hackhub.it";
+            }
+            MembroTeam membro = new MembroTeam("Membro", "Team", email, "pw");
+            if (caso != 1) {
+                utenti.add(membro);
+            }
+            nuovo.addMembro(membro);
+        }
+        Iscrizione iscrizione = new Iscrizione(nuovo, hackathon);
+        nuovo.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        Sottomissione sottomissione = new Sottomissione(nuovo, hackathon, "Progetto " + t, "https://example.org/" + t);
+        sottomissione.setDataInvio(hackathon.getDataFine().plusDays(casuale.nextInt(50) == 0 ? 3 : -1));
+        nuovo.aggiungiSottomissione(sottomissione);
+        team.add(nuovo);
+    }
+
+    private void modifica(int numero) {
+        Team scelto = team.get(casuale.nextInt(team.size()));
+        switch (casuale.nextInt(5)) {
+            case 0:
+                scelto.addMembro(new MembroTeam("Nuovo", "Membro", "nuovo" + numero + "@hackhub.it", "pw"));
+                break;
+            case 1:
+                if (!scelto.getMembri().isEmpty()) {
+                    scelto.removeMembro(scelto.getMembri().get(scelto.getMembri().size() - 1));
+                }
+                break;
+            case 2:
+                Team altro = team.get(casuale.nextInt(team.size()));
+                scelto.addMembro(new MembroTeam("Altro", "Membro", altro.getLeader().getEmail(), "pw"));
+                break;
+            case 3:
+                scelto.getSottomissioni().get(0).setDataInvio(hackathon.getDataFine().plusDays(casuale.nextInt(4) - 1));
+                break;
+            default:
+                Iscrizione iscrizione = scelto.getIscrizioni().get(0);
+                if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                    iscrizione.annulla();
+                } else {
+                    iscrizione.setStato(StatoIscrizione.CONFERMATA);
+                }
+        }
+    }
+
+    private static void assertStesseViolazioni(List<Violazione> attese, List<Violazione> trovate) {
+        Map<Iscrizione, List<String>> perIscrizione = new IdentityHashMap<>();
+        for (Violazione violazione : attese) {
+            perIscrizione.put(violazione.getIscrizione(), violazione.getNomiRegole());
+        }
+        assertEquals(attese.size(), trovate.size());
+        for (Violazione violazione : trovate) {
+            assertEquals(perIscrizione.get(violazione.getIscrizione()), violazione.getNomiRegole());
+        }
+    }
+
+    @Test
+    void valutazioneParallelaUgualeASequenziale() {
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        try {
+            MotoreRegole sequenziale = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata, unThread);
+            motore = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+
+            List<Violazione> attese = sequenziale.segui(hackathon);
+            assertFalse(attese.isEmpty());
+            assertStesseViolazioni(attese, motore.segui(hackathon));
+            assertStesseViolazioni(attese, motore.rivaluta(hackathon));
+        } finally {
+            unThread.shutdown();
+        }
+    }
+
+    @Test
+    void violazioniIncrementaliUgualiAllaValutazioneCompleta() {
+        motore = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+        motore.segui(hackathon);
+        motore.attiva();
+        for (int i = 0; i < 300; i++) {
+            modifica(i);
+        }
+        motore.disattiva();
+
+        MotoreRegole verifica = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+        assertStesseViolazioni(verifica.segui(hackathon), motore.getViolazioni(hackathon));
+    }
+
+    @Test
+    void regolaTornataRispettataToglieLaViolazione() {
+        motore = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+        motore.segui(hackathon);
+        motore.attiva();
+        Team scelto = team.get(0);
+        Iscrizione iscrizione = scelto.getIscrizioni().get(0);
+        while (scelto.getMembri().size() <= 4) {
+            scelto.addMembro(new MembroTeam("Nuovo", "Membro", "nuovo" + scelto.getMembri().size() + "@hackhub.it",
+                "pw"));
+        }
+        assertEquals("dimensione", motore.getViolazione(iscrizione).getNomiRegole().get(0));
+
+        while (scelto.getMembri().size() > 1) {
+            scelto.removeMembro(scelto.getMembri().get(scelto.getMembri().size() - 1));
+        }
+        Violazione restante = motore.getViolazione(iscrizione);
+        if (restante != null) {
+            assertFalse(restante.getNomiRegole().contains("dimensione"));
+        }
+        iscrizione.annulla();
+        assertNull(motore.getViolazione(iscrizione));
+    }
+
+    @Test
+    void squalificaLeIscrizioniCheViolanoIlRegolamento() {
+        motore = new MotoreRegole(AzioneRegole.SQUALIFICA, unicita::isEmailRegistrata);
+        motore.attiva();
+        for (Violazione violazione : motore.segui(hackathon)) {
+            assertEquals(StatoIscrizione.SQUALIFICATA, violazione.getIscrizione().getStato());
+        }
+
+        List<Team> confermati = new ArrayList<>();
+        for (Iscrizione iscrizione : hackathon.getIscrizioni()) {
+            if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                confermati.add(iscrizione.getTeam());
+            }
+        }
+        Team primo = confermati.get(0);
+        Team secondo = confermati.get(1);
+        primo.addMembro(new MembroTeam("Doppio", "Membro", secondo.getLeader().getEmail(), "pw"));
+
+        assertEquals(StatoIscrizione.SQUALIFICATA, primo.getIscrizioni().get(0).getStato());
+        assertEquals(StatoIscrizione.SQUALIFICATA, secondo.getIscrizioni().get(0).getStato());
+    }
+
+    @Test
+    void hackathonNonSeguitoNonSiRivaluta() {
+        motore = new MotoreRegole(AzioneRegole.SEGNALA, unicita::isEmailRegistrata);
+
+        assertThrows(IllegalStateException.class, () -> motore.rivaluta(hackathon));
+    }
+}
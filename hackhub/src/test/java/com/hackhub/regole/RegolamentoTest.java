@@ -0,0 +1,64 @@
+package com.hackhub.regole;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.DipendenzaRegola;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della compilazione della sezione [regole] di un regolamento.
+ */
+class RegolamentoTest {
+
+    @Test
+    void compilaSoloLaSezioneDelleRegole() {
+        Regolamento regolamento = Regolamento.compila(String.join("\n",
+            "Si consegna entro la fine dell'hackathon.",
+            "[regole]",
+            "dimensione: membri <= max_membri",
+            "",
+            "consegna_in_tempo o giorni_ritardo <= 1   # un giorno di tolleranza",
+            "[premi]",
+            "leader e non leader"));
+
+        List<Regola> regole = regolamento.getRegole();
+        assertEquals(2, regole.size());
+        assertEquals("dimensione", regole.get(0).getNome());
+        assertEquals("membri <= max_membri", regole.get(0).getTesto());
+        assertEquals("regola2", regole.get(1).getNome());
+        assertEquals(Set.of(DipendenzaRegola.TEAM, DipendenzaRegola.HACKATHON), regole.get(0).getDipendenze());
+        assertTrue(regolamento.dipendeDa(DipendenzaRegola.SOTTOMISSIONI));
+        assertFalse(regolamento.dipendeDa(DipendenzaRegola.REGISTRAZIONI));
+    }
+
+    @Test
+    void regolamentoSenzaSezioneNonHaRegole() {
+        assertTrue(Regolamento.compila(null).isVuoto());
+        assertTrue(Regolamento.compila("Regolamento in testo libero.\n[premi]\nmembri > 3").isVuoto());
+    }
+
+    @Test
+    void regolaNonValidaIndicaRigaEColonna() {
+        RegolaNonValidaException sconosciuto = assertThrows(RegolaNonValidaException.class,
+            () -> Regolamento.compila("[regole]\nmembri <= 4\nleader e iscritto"));
+        assertEquals(3, sconosciuto.getRiga());
+        assertEquals(10, sconosciuto.getColonna());
+
+        assertThrows(RegolaNonValidaException.class, () -> Regolamento.compila("[regole]\nmembri"));
+        assertThrows(RegolaNonValidaException.class, () -> Regolamento.compila("[regole]\n(leader"));
+        assertThrows(RegolaNonValidaException.class, () -> Regolamento.compila("[regole]\nmembri <= 4 leader"));
+    }
+
+    @Test
+    void nomiDuplicatiVengonoRifiutati() {
+        RegolaNonValidaException duplicata = assertThrows(RegolaNonValidaException.class,
+            () -> Regolamento.compila("[regole]\nr: leader\nr: membri <= 4"));
+
+        assertEquals(3, duplicata.getRiga());
+    }
+}
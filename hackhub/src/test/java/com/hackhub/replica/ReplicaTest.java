@@ -0,0 +1,139 @@
+package com.hackhub.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Team;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test della replica su loopback: compattazione del registro, lettura delle
+ * proprie scritture con il token di posizione e obsolescenza segnalata dagli
+ * heartbeat.
+ */
+class ReplicaTest {
+
+    private static final long HEARTBEAT_MILLIS = 50;
+
+    private static final Duration ATTESA = Duration.ofSeconds(5);
+
+    private RegistroMutazioni registro;
+
+    private PrimarioReplica primario;
+
+    private FollowerReplica follower;
+
+    @BeforeEach
+    void avvia() throws IOException {
+        registro = new RegistroMutazioni();
+        registro.attiva();
+        primario = new PrimarioReplica(registro, 0, HEARTBEAT_MILLIS);
+        primario.avvia();
+    }
+
+    @AfterEach
+    void chiudi() throws IOException {
+        if (follower != null) {
+            follower.close();
+        }
+        primario.close();
+        registro.disattiva();
+    }
+
+    private FollowerReplica follower() {
+        follower = new FollowerReplica(InetAddress.getLoopbackAddress().getHostAddress(), primario.getPorta());
+        follower.avvia();
+        return follower;
+    }
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2026, 9, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    @Test
+    void registroConservaSoloLUltimaModificaDiOgniCampo() {
+        Hackathon hackathon = hackathon("Compatto");
+        long dopoCreazione = registro.getPosizioneCorrente();
+        int record = registro.getNumeroRecord();
+
+        for (int i = 1; i <= 100; i++) {
+            hackathon.setPremio(i);
+        }
+        hackathon.setNome("Rinominato");
+
+        assertEquals(dopoCreazione + 101, registro.getPosizioneCorrente());
+        assertEquals(record + 2, registro.getNumeroRecord());
+    }
+
+    @Test
+    void followerArrivatoDopoLaCompattazioneRicostruisceLoStatoFinale() {
+        Hackathon hackathon = hackathon("Tardivo");
+        Team team = new Team("Team tardivo", "Descrizione");
+        for (int i = 1; i <= 50; i++) {
+            hackathon.setPremio(i * 10);
+        }
+        team.setDescrizione("Finale");
+        long token = registro.getPosizioneCorrente();
+
+        FollowerReplica replica = follower();
+
+        assertEquals(500.0, replica.leggiDopo(token, ATTESA, m -> m.getHackathon(hackathon.getId()).getPremio()));
+        assertEquals("Finale", replica.leggiDopo(token, ATTESA, m -> m.getTeam(team.getId()).getDescrizione()));
+    }
+
+    @Test
+    void letturaDopoIlTokenVedeLaPropriaScrittura() {
+        FollowerReplica replica = follower();
+        Hackathon hackathon = hackathon("Scrittura");
+        assertTrue(replica.attendiPosizione(registro.getPosizioneCorrente(), ATTESA));
+
+        for (int i = 0; i < 20; i++) {
+            hackathon.setLuogo("Luogo " + i);
+            long token = registro.getPosizioneCorrente();
+
+            assertEquals("Luogo " + i,
+                replica.leggiDopo(token, ATTESA, m -> m.getHackathon(hackathon.getId()).getLuogo()));
+            assertTrue(replica.getPosizioneApplicata() >= token);
+        }
+        long oltre = registro.getPosizioneCorrente() + 1_000;
+        assertThrows(IllegalStateException.class,
+            () -> replica.leggiDopo(oltre, Duration.ofMillis(100), m -> null));
+    }
+
+    @Test
+    void heartbeatAggiornanoLObsolescenzaFinoAllaChiusuraDelPrimario() throws Exception {
+        FollowerReplica replica = follower();
+        Hackathon hackathon = hackathon("Heartbeat");
+        assertTrue(replica.attendiPosizione(registro.getPosizioneCorrente(), ATTESA));
+
+        // Senza scritture gli heartbeat continuano ad aggiornare l'allineamento
+        Thread.sleep(5 * HEARTBEAT_MILLIS);
+        assertEquals(hackathon.getNome(),
+            replica.leggi(m -> m.getHackathon(hackathon.getId()).getNome(), Duration.ofMillis(20 * HEARTBEAT_MILLIS)));
+        assertEquals(0, replica.getRitardo());
+
+        primario.close();
+        Thread.sleep(10 * HEARTBEAT_MILLIS);
+
+        assertTrue(replica.getObsolescenza().toMillis() >= 8 * HEARTBEAT_MILLIS);
+        assertThrows(IllegalStateException.class,
+            () -> replica.leggi(m -> m.getHackathon(hackathon.getId()), Duration.ofMillis(4 * HEARTBEAT_MILLIS)));
+    }
+
+    @Test
+    void followerMaiAllineatoRifiutaLeLettureLimitate() {
+        FollowerReplica replica = new FollowerReplica(InetAddress.getLoopbackAddress().getHostAddress(),
+            primario.getPorta());
+
+        assertThrows(IllegalStateException.class, () -> replica.leggi(m -> null, Duration.ofDays(1)));
+    }
+}
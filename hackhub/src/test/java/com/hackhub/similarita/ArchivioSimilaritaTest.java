@@ -0,0 +1,227 @@
+package com.hackhub.similarita;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test dell'archivio di similarita': progetti riciclati da edizioni passate e
+ * copiati nella stessa edizione, salvataggio e riapertura. La misura con molte
+ * edizioni e il confronto con tutte le coppie di firme e' BenchmarkSimilarita.
+ */
+class ArchivioSimilaritaTest {
+
+    private static final int EDIZIONI = 3;
+
+    private static final int PER_EDIZIONE = 150;
+
+    private final Random casuale = new Random(42);
+
+    private final String[] vocabolario = new String[5000];
+
+    private final List<List<Sottomissione>> passate = new ArrayList<>();
+
+    private final List<Sottomissione> nuove = new ArrayList<>();
+
+    private final Map<Long, String> testi = new HashMap<>();
+
+    /** Coppie inserite: id della copia -> id dell'originale */
+    private final Map<Long, Long> copie = new HashMap<>();
+
+    private Hackathon nuovoHackathon;
+
+    @BeforeEach
+    void popola() {
+        for (int i = 0; i < vocabolario.length; i++) {
+            vocabolario[i] = "p" + Integer.toString(casuale.nextInt(Integer.MAX_VALUE), 36);
+        }
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            List<Team> team = new ArrayList<>();
+            for (int t = 0; t < 50; t++) {
+                team.add(new Utente("Nome", "Cognome", "l" + t + "@hackhub.it", "pw").creaTeam("Team " + t, null));
+            }
+            List<Sottomissione> archiviate = new ArrayList<>();
+            for (int e = 0; e < EDIZIONI; e++) {
+                Hackathon hackathon = hackathon(e);
+                List<Sottomissione> edizione = new ArrayList<>();
+                for (int s = 0; s < PER_EDIZIONE; s++) {
+                    edizione.add(sottomissione(team.get(casuale.nextInt(team.size())), hackathon, testo()));
+                }
+                passate.add(edizione);
+                archiviate.addAll(edizione);
+            }
+            nuovoHackathon = hackathon(EDIZIONI);
+            for (int s = 0; s < PER_EDIZIONE; s++) {
+                int caso = casuale.nextInt(100);
+                String testo;
+                Long originale = null;
+                if (caso < 5) {
+                    // Progetto riciclato da un'edizione passata
+                    Sottomissione vecchia = archiviate.get(casuale.nextInt(archiviate.size()));
+                    testo = modifica(testi.get(vecchia.getId()), 0.05);
+                    originale = vecchia.getId();
+                } else if (caso < 10 && !nuove.isEmpty()) {
+                    // Progetto copiato da un altro team della stessa edizione
+                    Sottomissione copiata = nuove.get(casuale.nextInt(nuove.size()));
+                    testo = modifica(testi.get(copiata.getId()), 0.03);
+                    originale = copiata.getId();
+                } else {
+                    testo = testo();
+                }
+                Sottomissione sottomissione = sottomissione(team.get(casuale.nextInt(team.size())), nuovoHackathon,
+                    testo);
+                nuove.add(sottomissione);
+                if (originale != null) {
+                    copie.put(sottomissione.getId(), originale);
+                }
+            }
+        });
+    }
+
+    private static Hackathon hackathon(int edizione) {
+        LocalDate inizio = LocalDate.of(2020, 1, 1).plusMonths(edizione);
+        return new Hackathon("Edizione " + edizione, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    private Sottomissione sottomissione(Team team, Hackathon hackathon, String testo) {
+        Sottomissione sottomissione = new Sottomissione(team, hackathon, "Progetto", "https://example.org/");
+        sottomissione.setContenuto(testo);
+        testi.put(sottomissione.getId(), testo);
+        return sottomissione;
+    }
+
+    private String testo() {
+        StringBuilder testo = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            // Le parole con indice basso sono molto piu' frequenti
+            testo.append(vocabolario[casuale.nextInt(1 + casuale.nextInt(vocabolario.length))]);
+            testo.append(i % 12 == 11 ? ".\n" : " ");
+        }
+        return testo.toString();
+    }
+
+    private String modifica(String testo, double frazione) {
+        StringBuilder modificato = new StringBuilder();
+        for (String parola : testo.split(" |\\.\\n")) {
+            modificato.append(casuale.nextDouble() < frazione ? vocabolario[casuale.nextInt(vocabolario.length)] : parola);
+            modificato.append(' ');
+        }
+        return modificato.toString();
+    }
+
+    private ArchivioSimilarita archivioPassato() {
+        ArchivioSimilarita archivio = new ArchivioSimilarita();
+        for (List<Sottomissione> edizione : passate) {
+            archivio.confronta(edizione);
+        }
+        return archivio;
+    }
+
+    @Test
+    void trovaLeCopieDellaNuovaEdizione() {
+        ArchivioSimilarita archivio = archivioPassato();
+
+        List<CoppiaSimile> coppie = archivio.confronta(nuove);
+
+        Set<Long> copieTrovate = new HashSet<>();
+        for (CoppiaSimile coppia : coppie) {
+            long prima = coppia.getPrima().getIdSottomissione();
+            long seconda = coppia.getSeconda().getIdSottomissione();
+            if (Long.valueOf(prima).equals(copie.get(seconda))) {
+                copieTrovate.add(seconda);
+            }
+            // Le altre coppie sono copie di copie: comunque simili
+            assertTrue(CalcolatoreFirmeTest.jaccard(testi.get(prima), testi.get(seconda)) > archivio.getSoglia() - 0.15,
+                coppia.toString());
+        }
+        assertTrue(copie.size() > 5);
+        assertEquals(copie.keySet(), copieTrovate);
+        for (int i = 1; i < coppie.size(); i++) {
+            assertTrue(coppie.get(i - 1).getSimilarita() >= coppie.get(i).getSimilarita());
+        }
+        assertEquals((EDIZIONI + 1) * PER_EDIZIONE, archivio.getDimensione());
+    }
+
+    @Test
+    void archivioRiapertoDaGliStessiRisultati(@TempDir Path cartella) throws IOException {
+        ArchivioSimilarita archivio = archivioPassato();
+        archivio.salva(cartella);
+        assertTrue(Files.exists(cartella.resolve(ArchivioSimilarita.FILE_SIMILARITA)));
+
+        ArchivioSimilarita riaperto = ArchivioSimilarita.apri(cartella);
+
+        assertEquals(archivio.getDimensione(), riaperto.getDimensione());
+        Sottomissione archiviata = passate.get(1).get(7);
+        assertArrayEquals(archivio.getFirma(archiviata.getId()).getValori(),
+            riaperto.getFirma(archiviata.getId()).getValori());
+        List<CoppiaSimile> attese = archivio.confronta(nuove);
+        List<CoppiaSimile> trovate = riaperto.confronta(nuove);
+        assertEquals(attese.size(), trovate.size());
+        for (int i = 0; i < attese.size(); i++) {
+            assertEquals(attese.get(i).getSimilarita(), trovate.get(i).getSimilarita());
+        }
+    }
+
+    @Test
+    void cercaNonArchivia() {
+        ArchivioSimilarita archivio = archivioPassato();
+        Sottomissione riciclata = nuove.stream()
+            .filter(s -> copie.containsKey(s.getId()) && copie.get(s.getId()) < nuove.get(0).getId())
+            .findFirst().orElseThrow();
+
+        List<CoppiaSimile> coppie = archivio.cerca(riciclata);
+
+        assertTrue(coppie.stream().anyMatch(c -> c.getPrima().getIdSottomissione() == copie.get(riciclata.getId())));
+        assertEquals(EDIZIONI * PER_EDIZIONE, archivio.getDimensione());
+    }
+
+    @Test
+    void coppieSimiliDiUnHackathon() {
+        ArchivioSimilarita archivio = archivioPassato();
+        archivio.confronta(nuove);
+
+        List<CoppiaSimile> coppie = archivio.coppieSimili(nuovoHackathon.getId());
+
+        for (CoppiaSimile coppia : coppie) {
+            assertTrue(coppia.isStessoHackathon());
+            assertEquals(nuovoHackathon.getId(), coppia.getPrima().getIdHackathon());
+        }
+        long stessaEdizione = copie.values().stream().filter(id -> id >= nuove.get(0).getId()).count();
+        assertTrue(coppie.size() >= stessaEdizione);
+    }
+
+    @Test
+    void parametriNonValidiVengonoRifiutati() {
+        CalcolatoreFirme calcolatore = new CalcolatoreFirme();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        assertThrows(IllegalArgumentException.class, () -> new ArchivioSimilarita(calcolatore, 3, 0.5, pool));
+        assertThrows(IllegalArgumentException.class, () -> new ArchivioSimilarita(calcolatore, 4, 0, pool));
+        assertThrows(IllegalArgumentException.class, () -> new ArchivioSimilarita(calcolatore, 4, 1.5, pool));
+        ArchivioSimilarita archivio = new ArchivioSimilarita(new CalcolatoreFirme(64, 3, pool), 4, 0.5, pool);
+        List<FirmaMinHash> firme = calcolatore.firme(nuove.subList(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> archivio.archivia(firme));
+    }
+}
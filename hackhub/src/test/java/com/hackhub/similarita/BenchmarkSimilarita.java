@@ -0,0 +1,242 @@
+package com.hackhub.similarita;
+
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Misura della ricerca di progetti copiati e riciclati con MinHash e LSH.
+ *
+ * Un archivio di edizioni passate viene costruito e salvato; una nuova
+ * edizione contiene progetti originali, progetti riciclati da edizioni
+ * passate con qualche modifica e progetti copiati da altri team della stessa
+ * edizione. Il testo usa un vocabolario con parole frequenti e rare.
+ *
+ * 1. Firme della nuova edizione con un pool a un solo thread e con il pool comune
+ * 2. Confronto della nuova edizione con l'archivio riaperto: tempo, coppie trovate
+ *    rispetto a quelle inserite e similarita' di Jaccard esatta delle coppie segnalate
+ * 3. Confronto con il costo di confrontare tutte le coppie di firme
+ *
+ * Uso: BenchmarkSimilarita [edizioniPassate] [sottomissioniPerEdizione] [parolePerSottomissione]
+ */
+public class BenchmarkSimilarita {
+
+    private static final int VOCABOLARIO = 20000;
+
+    public static void main(String[] args) throws IOException {
+        int edizioni = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int perEdizione = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int parole = args.length > 2 ? Integer.parseInt(args[2]) : 800;
+        Random casuale = new Random(42);
+        String[] vocabolario = new String[VOCABOLARIO];
+        for (int i = 0; i < VOCABOLARIO; i++) {
+            vocabolario[i] = parola(casuale);
+        }
+
+        List<Team> team = new ArrayList<>();
+        List<List<Sottomissione>> passate = new ArrayList<>();
+        List<Sottomissione> nuove = new ArrayList<>();
+        Map<Long, String> testi = new HashMap<>();
+        // Coppie inserite: id della copia -> id dell'originale
+        Map<Long, Long> copie = new HashMap<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < 500; t++) {
+                team.add(new Utente("Nome", "Cognome", "l" + t + "@hackhub.it", "pw").creaTeam("Team " + t, null));
+            }
+            List<Sottomissione> archiviate = new ArrayList<>();
+            for (int e = 0; e < edizioni; e++) {
+                Hackathon hackathon = hackathon(e);
+                List<Sottomissione> edizione = new ArrayList<>();
+                for (int s = 0; s < perEdizione; s++) {
+                    edizione.add(sottomissione(team.get(casuale.nextInt(team.size())), hackathon,
+                        testo(vocabolario, parole, casuale), testi));
+                }
+                passate.add(edizione);
+                archiviate.addAll(edizione);
+            }
+            Hackathon nuovo = hackathon(edizioni);
+            for (int s = 0; s < perEdizione; s++) {
+                Team autore = team.get(casuale.nextInt(team.size()));
+                int caso = casuale.nextInt(100);
+                String testo;
+                Long originale = null;
+                if (caso < 3) {
+                    // Progetto riciclato da un'edizione passata, con un decimo delle parole cambiate
+                    Sottomissione vecchia = archiviate.get(casuale.nextInt(archiviate.size()));
+                    testo = modifica(testi.get(vecchia.getId()), 0.10, vocabolario, casuale);
+                    originale = vecchia.getId();
+                } else if (caso < 6 && !nuove.isEmpty()) {
+                    // Progetto copiato da un altro team della stessa edizione
+                    Sottomissione copiata = nuove.get(casuale.nextInt(nuove.size()));
+                    testo = modifica(testi.get(copiata.getId()), 0.05, vocabolario, casuale);
+                    originale = copiata.getId();
+                } else {
+                    testo = testo(vocabolario, parole, casuale);
+                }
+                Sottomissione sottomissione = sottomissione(autore, nuovo, testo, testi);
+                nuove.add(sottomissione);
+                if (originale != null) {
+                    copie.put(sottomissione.getId(), originale);
+                }
+            }
+        });
+
+        ArchivioSimilarita archivio = new ArchivioSimilarita();
+        long inizio = System.nanoTime();
+        int coppiePassate = 0;
+        for (List<Sottomissione> edizione : passate) {
+            coppiePassate += archivio.confronta(edizione).size();
+        }
+        Path cartella = Files.createTempDirectory("hackhub-similarita");
+        archivio.salva(cartella);
+        System.out.printf("Archivio di %d sottomissioni costruito in %d ms (%d coppie simili), file di %d KB%n",
+            archivio.getDimensione(), (System.nanoTime() - inizio) / 1_000_000, coppiePassate,
+            Files.size(cartella.resolve(ArchivioSimilarita.FILE_SIMILARITA)) / 1024);
+
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        CalcolatoreFirme sequenziale = new CalcolatoreFirme(CalcolatoreFirme.VALORI_PREDEFINITI,
+            CalcolatoreFirme.PAROLE_PREDEFINITE, unThread);
+        CalcolatoreFirme parallelo = new CalcolatoreFirme();
+        List<FirmaMinHash> firme = null;
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            inizio = System.nanoTime();
+            sequenziale.firme(nuove);
+            long durataSequenziale = System.nanoTime() - inizio;
+            inizio = System.nanoTime();
+            firme = parallelo.firme(nuove);
+            long durataParallela = System.nanoTime() - inizio;
+            System.out.printf("firme di %d sottomissioni: %d ms con 1 thread, %d ms con %d thread%n", nuove.size(),
+                durataSequenziale / 1_000_000, durataParallela / 1_000_000, ForkJoinPool.getCommonPoolParallelism());
+        }
+        unThread.shutdown();
+
+        inizio = System.nanoTime();
+        ArchivioSimilarita riaperto = ArchivioSimilarita.apri(cartella);
+        long durataApertura = System.nanoTime() - inizio;
+        inizio = System.nanoTime();
+        List<CoppiaSimile> coppie = riaperto.archivia(firme);
+        long durataConfronto = System.nanoTime() - inizio;
+        System.out.printf("Archivio riaperto in %d ms; nuova edizione confrontata in %.1f ms: %d coppie simili%n",
+            durataApertura / 1_000_000, durataConfronto / 1e6, coppie.size());
+
+        int trovate = 0;
+        int inattese = 0;
+        double minimaEsatta = 1;
+        Set<Long> copieTrovate = new HashSet<>();
+        for (CoppiaSimile coppia : coppie) {
+            long prima = coppia.getPrima().getIdSottomissione();
+            long seconda = coppia.getSeconda().getIdSottomissione();
+            if (Long.valueOf(prima).equals(copie.get(seconda)) || Long.valueOf(seconda).equals(copie.get(prima))) {
+                trovate++;
+                copieTrovate.add(seconda);
+            } else {
+                inattese++;
+            }
+            minimaEsatta = Math.min(minimaEsatta, jaccard(testi.get(prima), testi.get(seconda)));
+        }
+        // Le copie con similarita' esatta sotto la soglia possono legittimamente mancare
+        int sopraSogliaEsatta = 0;
+        int mancanti = 0;
+        for (Map.Entry<Long, Long> copia : copie.entrySet()) {
+            if (jaccard(testi.get(copia.getKey()), testi.get(copia.getValue())) >= archivio.getSoglia()) {
+                sopraSogliaEsatta++;
+                mancanti += copieTrovate.contains(copia.getKey()) ? 0 : 1;
+            }
+        }
+        System.out.printf("Copie inserite %d, %d sopra soglia: trovate %d, mancate %d sopra soglia; "
+                + "altre coppie %d (copie di copie); Jaccard esatta minima delle coppie segnalate %.2f%n",
+            copie.size(), sopraSogliaEsatta, trovate, mancanti, inattese, minimaEsatta);
+
+        // Tutte le coppie tra la nuova edizione e l'archivio, su un campione estrapolato
+        int campione = Math.min(50, firme.size());
+        List<FirmaMinHash> archiviate = new ArrayList<>();
+        for (List<Sottomissione> edizione : passate) {
+            for (Sottomissione sottomissione : edizione) {
+                archiviate.add(riaperto.getFirma(sottomissione.getId()));
+            }
+        }
+        archiviate.addAll(firme);
+        inizio = System.nanoTime();
+        int sopraSoglia = 0;
+        for (int i = 0; i < campione; i++) {
+            for (FirmaMinHash altra : archiviate) {
+                if (altra != firme.get(i) && firme.get(i).similarita(altra) >= riaperto.getSoglia()) {
+                    sopraSoglia++;
+                }
+            }
+        }
+        double stimaTutte = (System.nanoTime() - inizio) / 1e6 * firme.size() / campione;
+        System.out.printf("Tutte le coppie di firme: circa %.0f ms (%d confronti), LSH %.1f ms (%d sopra soglia "
+            + "nel campione)%n", stimaTutte, (long) firme.size() * archiviate.size(), durataConfronto / 1e6, sopraSoglia);
+    }
+
+    private static double jaccard(String primo, String secondo) {
+        Set<Long> a = new HashSet<>();
+        for (long s : CalcolatoreFirme.shingle(primo, CalcolatoreFirme.PAROLE_PREDEFINITE)) {
+            a.add(s);
+        }
+        Set<Long> b = new HashSet<>();
+        for (long s : CalcolatoreFirme.shingle(secondo, CalcolatoreFirme.PAROLE_PREDEFINITE)) {
+            b.add(s);
+        }
+        int comuni = 0;
+        for (Long s : a) {
+            comuni += b.contains(s) ? 1 : 0;
+        }
+        return (double) comuni / (a.size() + b.size() - comuni);
+    }
+
+    private static Hackathon hackathon(int edizione) {
+        LocalDate inizio = LocalDate.of(2020, 1, 1).plusMonths(edizione);
+        return new Hackathon("Edizione " + edizione, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    private static Sottomissione sottomissione(Team team, Hackathon hackathon, String testo, Map<Long, String> testi) {
+        Sottomissione sottomissione = new Sottomissione(team, hackathon, "Progetto", "https://example.org/");
+        sottomissione.setContenuto(testo);
+        testi.put(sottomissione.getId(), testo);
+        return sottomissione;
+    }
+
+    private static String testo(String[] vocabolario, int parole, Random casuale) {
+        StringBuilder testo = new StringBuilder();
+        for (int i = 0; i < parole; i++) {
+            // Le parole con indice basso sono molto piu' frequenti
+            testo.append(vocabolario[casuale.nextInt(1 + casuale.nextInt(vocabolario.length))]);
+            testo.append(i % 12 == 11 ? ".\n" : " ");
+        }
+        return testo.toString();
+    }
+
+    private static String modifica(String testo, double frazione, String[] vocabolario, Random casuale) {
+        String[] parole = testo.split(" |\\.\\n");
+        StringBuilder modificato = new StringBuilder();
+        for (String parola : parole) {
+            modificato.append(casuale.nextDouble() < frazione ? vocabolario[casuale.nextInt(vocabolario.length)] : parola);
+            modificato.append(' ');
+        }
+        return modificato.toString();
+    }
+
+    private static String parola(Random casuale) {
+        char[] lettere = new char[3 + casuale.nextInt(8)];
+        for (int i = 0; i < lettere.length; i++) {
+            lettere[i] = (char) ('a' + casuale.nextInt(26));
+        }
+        return new String(lettere);
+    }
+}
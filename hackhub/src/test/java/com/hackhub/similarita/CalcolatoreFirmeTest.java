@@ -0,0 +1,120 @@
+package com.hackhub.similarita;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.model.Sottomissione;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del calcolo delle firme MinHash: testi riformattati, stima della
+ * similarita' di Jaccard e calcolo parallelo.
+ */
+class CalcolatoreFirmeTest {
+
+    private final CalcolatoreFirme calcolatore = new CalcolatoreFirme();
+
+    private static Sottomissione sottomissione(String contenuto) {
+        Sottomissione sottomissione = new Sottomissione(null, null, "Progetto", null);
+        sottomissione.setContenuto(contenuto);
+        return sottomissione;
+    }
+
+    private static String testo(Random casuale, int parole) {
+        StringBuilder testo = new StringBuilder();
+        for (int i = 0; i < parole; i++) {
+            testo.append("parola").append(casuale.nextInt(2000)).append(' ');
+        }
+        return testo.toString();
+    }
+
+    /** Similarita' di Jaccard esatta tra gli shingle dei due testi. */
+    static double jaccard(String primo, String secondo) {
+        Set<Long> a = new HashSet<>();
+        for (long s : CalcolatoreFirme.shingle(primo, CalcolatoreFirme.PAROLE_PREDEFINITE)) {
+            a.add(s);
+        }
+        Set<Long> b = new HashSet<>();
+        for (long s : CalcolatoreFirme.shingle(secondo, CalcolatoreFirme.PAROLE_PREDEFINITE)) {
+            b.add(s);
+        }
+        int comuni = 0;
+        for (Long s : a) {
+            comuni += b.contains(s) ? 1 : 0;
+        }
+        return (double) comuni / (a.size() + b.size() - comuni);
+    }
+
+    @Test
+    void testoRiformattatoHaLaStessaFirma() {
+        FirmaMinHash originale = calcolatore.firma(sottomissione("Un gestore di code, scritto in Java.\nVeloce!"));
+        FirmaMinHash riformattato = calcolatore.firma(sottomissione("  UN gestore di   CODE scritto in java veloce"));
+
+        assertEquals(1.0, originale.similarita(riformattato));
+    }
+
+    @Test
+    void similaritaStimaLaJaccardEsatta() {
+        Random casuale = new Random(42);
+        String originale = testo(casuale, 400);
+        String[] parole = originale.split(" ");
+        for (double frazione : new double[] {0.02, 0.1, 0.3}) {
+            StringBuilder modificato = new StringBuilder();
+            for (String parola : parole) {
+                modificato.append(casuale.nextDouble() < frazione ? "nuova" + casuale.nextInt(2000) : parola).append(' ');
+            }
+            double stimata = calcolatore.firma(sottomissione(originale))
+                .similarita(calcolatore.firma(sottomissione(modificato.toString())));
+
+            // Errore standard circa 1 / sqrt(128): 0.15 sono quasi due deviazioni
+            assertEquals(jaccard(originale, modificato.toString()), stimata, 0.15);
+        }
+        double diversi = calcolatore.firma(sottomissione(testo(casuale, 400)))
+            .similarita(calcolatore.firma(sottomissione(testo(casuale, 400))));
+        assertTrue(diversi < 0.1);
+    }
+
+    @Test
+    void testoSenzaParoleHaFirmaVuota() {
+        FirmaMinHash vuota = calcolatore.firma(sottomissione(" ... !!! "));
+
+        assertTrue(vuota.isVuota());
+        assertEquals(0.0, vuota.similarita(calcolatore.firma(sottomissione("testo qualsiasi"))));
+    }
+
+    @Test
+    void firmeParalleleUgualiASequenziali() {
+        Random casuale = new Random(7);
+        List<Sottomissione> sottomissioni = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sottomissioni.add(sottomissione(testo(casuale, 100)));
+        }
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        try {
+            List<FirmaMinHash> sequenziali = new CalcolatoreFirme(CalcolatoreFirme.VALORI_PREDEFINITI,
+                CalcolatoreFirme.PAROLE_PREDEFINITE, unThread).firme(sottomissioni);
+            List<FirmaMinHash> parallele = calcolatore.firme(sottomissioni);
+
+            for (int i = 0; i < sottomissioni.size(); i++) {
+                assertEquals(sottomissioni.get(i).getId(), parallele.get(i).getIdSottomissione());
+                assertArrayEquals(sequenziali.get(i).getValori(), parallele.get(i).getValori());
+            }
+        } finally {
+            unThread.shutdown();
+        }
+    }
+
+    @Test
+    void parametriNonValidiVengonoRifiutati() {
+        assertThrows(IllegalArgumentException.class, () -> new CalcolatoreFirme(0, 3, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class, () -> new CalcolatoreFirme(128, 0, ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.enums.OperazioneCarico;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Classe che rappresenta una fase di una stagione simulata: una durata e,
+ * per ogni operazione, il tasso medio di arrivo in operazioni al secondo.
+ *
+ * Gli arrivi di una fase sono indipendenti da quanto velocemente il sistema
+ * risponde (carico ad anello aperto): un sistema lento accumula coda invece
+ * di ricevere meno richieste.
+ */
+public class FaseStagione {
+
+    /** Nome della fase */
+    private final String nome;
+
+    /** Durata della fase */
+    private final Duration durata;
+
+    /** Tassi di arrivo per operazione, indicizzati per ordinale */
+    private final double[] tassi;
+
+    /**
+     * Costruttore della fase, senza operazioni.
+     *
+     * @param nome   Il nome della fase
+     * @param durata La durata della fase
+     * @throws IllegalArgumentException se la durata non e' positiva
+     */
+    public FaseStagione(String nome, Duration durata) {
+        if (durata.isNegative() || durata.isZero()) {
+            throw new IllegalArgumentException("La durata della fase deve essere positiva");
+        }
+        this.nome = nome;
+        this.durata = durata;
+        this.tassi = new double[OperazioneCarico.values().length];
+    }
+
+    // ==================== GETTER ====================
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Duration getDurata() {
+        return durata;
+    }
+
+    /**
+     * Restituisce il tasso medio di arrivo di un'operazione.
+     *
+     * @param operazione L'operazione
+     * @return Il tasso in operazioni al secondo
+     */
+    public double getTasso(OperazioneCarico operazione) {
+        return tassi[operazione.ordinal()];
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Imposta il tasso medio di arrivo di un'operazione.
+     *
+     * @param operazione L'operazione
+     * @param perSecondo Il tasso in operazioni al secondo
+     * @return Questa fase
+     * @throws IllegalArgumentException se il tasso e' negativo
+     */
+    public FaseStagione conTasso(OperazioneCarico operazione, double perSecondo) {
+        if (perSecondo < 0 || Double.isNaN(perSecondo)) {
+            throw new IllegalArgumentException("Il tasso di arrivo non puo' essere negativo");
+        }
+        tassi[operazione.ordinal()] = perSecondo;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return nome + " " + durata.toMillis() + " ms " + Arrays.toString(tassi);
+    }
+}
@@ -0,0 +1,223 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.diagnostica.IstogrammaLatenze;
+import com.hackhub.enums.OperazioneCarico;
+import java.lang.management.ManagementFactory;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe che esegue il piano di uno scenario sul mondo simulato e ne misura il comportamento.
+ *
+ * Il carico e' ad anello aperto: un thread di smistamento accoda ogni operazione
+ * all'istante previsto dal piano, senza aspettare che le precedenti siano finite,
+ * e un pool di thread le esegue da una coda illimitata. La latenza e' misurata
+ * dall'istante previsto e non dall'inizio dell'esecuzione, cosi' i rallentamenti
+ * (coda, pause del garbage collector) pesano su tutte le operazioni che ne
+ * subiscono l'effetto invece di sparire dalle misure.
+ *
+ * Ogni thread registra in statistiche proprie, unite alla fine: la misura non
+ * aggiunge contesa tra i thread.
+ */
+public class GeneratoreCarico {
+
+    /** Tempo massimo di attesa per lo smaltimento della coda dopo l'ultimo arrivo */
+    private static final long SMALTIMENTO_SECONDI = 600;
+
+    /** Scenario da eseguire */
+    private final ScenarioStagione scenario;
+
+    /** Mondo su cui agiscono le operazioni */
+    private final MondoSimulato mondo;
+
+    /** Primo errore inatteso, per la diagnosi */
+    private final AtomicReference<RuntimeException> primoErrore;
+
+    /**
+     * Costruttore del generatore: prepara il mondo iniziale dello scenario.
+     *
+     * @param scenario Lo scenario da eseguire
+     */
+    public GeneratoreCarico(ScenarioStagione scenario) {
+        this.scenario = scenario;
+        this.mondo = new MondoSimulato(scenario);
+        this.primoErrore = new AtomicReference<>();
+    }
+
+    // ==================== GETTER ====================
+
+    public ScenarioStagione getScenario() {
+        return scenario;
+    }
+
+    public MondoSimulato getMondo() {
+        return mondo;
+    }
+
+    /**
+     * Restituisce la prima eccezione diversa da un rifiuto del modello.
+     *
+     * @return L'eccezione, o null se non ci sono stati errori
+     */
+    public RuntimeException getPrimoErrore() {
+        return primoErrore.get();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Esegue il piano dello scenario e attende che tutte le operazioni siano finite.
+     *
+     * @return Il rapporto dell'esecuzione
+     * @throws InterruptedException  se il thread viene interrotto durante l'esecuzione
+     * @throws IllegalStateException se la coda non si smaltisce entro il tempo massimo
+     */
+    public RapportoCarico esegui() throws InterruptedException {
+        PianoCarico piano = scenario.pianifica();
+        MonitorGc monitor = new MonitorGc();
+        monitor.installa();
+        Queue<StatisticheThread> raccolte = new ConcurrentLinkedQueue<>();
+        ThreadLocal<StatisticheThread> statistiche = ThreadLocal.withInitial(() -> {
+            StatisticheThread nuove = new StatisticheThread();
+            raccolte.add(nuove);
+            return nuove;
+        });
+        AtomicInteger numeroThread = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(scenario.getThread(), scenario.getThread(),
+            0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), compito -> {
+                Thread thread = new Thread(compito, "hackhub-carico-" + numeroThread.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.prestartAllCoreThreads();
+
+        long pauseIniziali = monitor.getPause();
+        long millisIniziali = monitor.getMillisecondi();
+        long ritardoMassimo = 0;
+        long inizio = System.nanoTime();
+        try {
+            for (int i = 0; i < piano.getDimensione(); i++) {
+                long previsto = inizio + piano.getIstante(i);
+                long attesa;
+                while ((attesa = previsto - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(attesa);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                ritardoMassimo = Math.max(ritardoMassimo, -attesa);
+                int indice = i;
+                pool.execute(() -> esegui(piano, indice, previsto, statistiche.get(), monitor));
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(SMALTIMENTO_SECONDI, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Coda non smaltita entro " + SMALTIMENTO_SECONDI + " secondi");
+            }
+        } finally {
+            pool.shutdownNow();
+            monitor.rimuovi();
+        }
+        long durata = System.nanoTime() - inizio;
+
+        long[][] righe = RapportoCarico.nuoveRighe();
+        for (OperazioneCarico operazione : OperazioneCarico.values()) {
+            int o = operazione.ordinal();
+            IstogrammaLatenze latenze = new IstogrammaLatenze();
+            IstogrammaLatenze servizio = new IstogrammaLatenze();
+            long[] riga = righe[o];
+            for (StatisticheThread parziali : raccolte) {
+                latenze.unisci(parziali.latenze[o]);
+                servizio.unisci(parziali.servizio[o]);
+                for (int campo = 0; campo < parziali.contatori[o].length; campo++) {
+                    riga[campo] += parziali.contatori[o][campo];
+                }
+            }
+            riga[RapportoCarico.PIANIFICATE] = piano.conta(operazione);
+            riga[RapportoCarico.P50] = latenze.percentile(50);
+            riga[RapportoCarico.P90] = latenze.percentile(90);
+            riga[RapportoCarico.P99] = latenze.percentile(99);
+            riga[RapportoCarico.P999] = latenze.percentile(99.9);
+            riga[RapportoCarico.MASSIMO] = latenze.getMassimo();
+            riga[RapportoCarico.SERVIZIO_MEDIO] = Math.round(servizio.getMedia());
+        }
+        return new RapportoCarico(scenario.getSeme(), scenario.getScala(), scenario.getThread(), piano.getImpronta(),
+            durata, monitor.getPause() - pauseIniziali, monitor.getMillisecondi() - millisIniziali,
+            monitor.getMassimo(), ritardoMassimo, righe);
+    }
+
+    /**
+     * Esegue una singola operazione del piano nel thread del pool e ne registra le misure.
+     */
+    private void esegui(PianoCarico piano, int indice, long previsto, StatisticheThread statistiche,
+                        MonitorGc monitor) {
+        OperazioneCarico operazione = piano.getOperazione(indice);
+        SplittableRandom casuale = new SplittableRandom(piano.getSeme(indice));
+        long pause = monitor.getPause();
+        long allocatiPrima = allocati();
+        long avvio = System.nanoTime();
+        int esito;
+        try {
+            esito = mondo.esegui(operazione, casuale) ? RapportoCarico.COMPLETATE : RapportoCarico.SALTATE;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            esito = RapportoCarico.RIFIUTATE;
+        } catch (RuntimeException e) {
+            esito = RapportoCarico.ERRORI;
+            primoErrore.compareAndSet(null, e);
+        }
+        long fine = System.nanoTime();
+        long allocatiDopo = allocati();
+
+        int o = operazione.ordinal();
+        long[] contatori = statistiche.contatori[o];
+        contatori[esito]++;
+        if (esito == RapportoCarico.SALTATE) {
+            return;
+        }
+        statistiche.latenze[o].registra(fine - previsto);
+        statistiche.servizio[o].registra(fine - avvio);
+        if (allocatiPrima >= 0) {
+            contatori[RapportoCarico.BYTE_ALLOCATI] += allocatiDopo - allocatiPrima;
+        }
+        if (monitor.getPause() != pause) {
+            contatori[RapportoCarico.INTERROTTE_DA_GC]++;
+        }
+    }
+
+    /**
+     * Restituisce i byte allocati finora dal thread corrente, o -1 se la JVM non li misura.
+     */
+    private static long allocati() {
+        java.lang.management.ThreadMXBean thread = ManagementFactory.getThreadMXBean();
+        if (thread instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) thread).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Misure raccolte da un singolo thread del pool.
+     */
+    private static final class StatisticheThread {
+        private final IstogrammaLatenze[] latenze;
+        private final IstogrammaLatenze[] servizio;
+        private final long[][] contatori;
+
+        private StatisticheThread() {
+            int numero = OperazioneCarico.values().length;
+            this.latenze = new IstogrammaLatenze[numero];
+            this.servizio = new IstogrammaLatenze[numero];
+            for (int i = 0; i < numero; i++) {
+                latenze[i] = new IstogrammaLatenze();
+                servizio[i] = new IstogrammaLatenze();
+            }
+            this.contatori = RapportoCarico.nuoveRighe();
+        }
+    }
+}
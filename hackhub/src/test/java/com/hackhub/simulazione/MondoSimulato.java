@@ -0,0 +1,290 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.collezioni.ListaSoloAggiunta;
+import com.hackhub.collezioni.VistaLista;
+import com.hackhub.enums.OperazioneCarico;
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import com.hackhub.valutazione.VerificatoreDimensione;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Classe che rappresenta il mondo su cui agisce la simulazione di carico:
+ * gli hackathon della stagione e le entita' create dalle operazioni.
+ *
+ * Le operazioni passano dalle stesse API usate dall'applicazione (creaTeam,
+ * invitaUtente, accettaInvito, ...), quindi i rifiuti del modello arrivano al
+ * chiamante come IllegalStateException o IllegalArgumentException.
+ * Il mondo e' condiviso dai thread della simulazione: le entita' create sono
+ * raccolte in liste in sola aggiunta e i bersagli sono scelti a caso tra le viste.
+ */
+public class MondoSimulato {
+
+    /** Tentativi di scelta di un bersaglio adatto prima di rinunciare */
+    private static final int TENTATIVI = 8;
+
+    /** Dimensione massima accettata dalla valutazione, in caratteri */
+    private static final int DIMENSIONE_MASSIMA = 5000;
+
+    /** Hackathon della stagione */
+    private final List<Hackathon> hackathon;
+
+    /** Utenti registrati */
+    private final ListaSoloAggiunta<Utente> utenti;
+
+    /** Utenti che hanno gia' fondato un team */
+    private final Set<Utente> fondatori;
+
+    /** Team creati */
+    private final ListaSoloAggiunta<Team> team;
+
+    /** Inviti inviati */
+    private final ListaSoloAggiunta<Invito> inviti;
+
+    /** Iscrizioni effettuate */
+    private final ListaSoloAggiunta<Iscrizione> iscrizioni;
+
+    /** Sottomissioni consegnate */
+    private final ListaSoloAggiunta<Sottomissione> sottomissioni;
+
+    /** Verifica usata dalla valutazione */
+    private final VerificatoreDimensione verificatore;
+
+    /** Progressivo per nomi ed email univoci */
+    private final AtomicLong progressivo;
+
+    /**
+     * Costruttore del mondo: crea gli hackathon aperti alle iscrizioni e gli utenti iniziali.
+     *
+     * @param scenario Lo scenario da cui leggere le dimensioni e il seme
+     */
+    public MondoSimulato(ScenarioStagione scenario) {
+        this.utenti = new ListaSoloAggiunta<>();
+        this.fondatori = ConcurrentHashMap.newKeySet();
+        this.team = new ListaSoloAggiunta<>();
+        this.inviti = new ListaSoloAggiunta<>();
+        this.iscrizioni = new ListaSoloAggiunta<>();
+        this.sottomissioni = new ListaSoloAggiunta<>();
+        this.verificatore = new VerificatoreDimensione(DIMENSIONE_MASSIMA);
+        this.progressivo = new AtomicLong();
+
+        List<Hackathon> creati = new ArrayList<>(scenario.getNumeroHackathon());
+        LocalDate oggi = LocalDate.now();
+        for (int i = 0; i < scenario.getNumeroHackathon(); i++) {
+            LocalDate inizio = oggi.plusDays(30 + i * 3L);
+            Hackathon evento = new Hackathon("Hackathon " + i, inizio, inizio.plusDays(2), inizio.minusDays(1));
+            evento.setLuogo("Sede " + i % 10);
+            evento.setStato(StatoHackathon.IN_ISCRIZIONE);
+            creati.add(evento);
+        }
+        this.hackathon = Collections.unmodifiableList(creati);
+
+        SplittableRandom casuale = new SplittableRandom(scenario.getSeme());
+        for (int i = 0; i < scenario.getUtentiIniziali(); i++) {
+            registra(casuale);
+        }
+    }
+
+    // ==================== GETTER ====================
+
+    public List<Hackathon> getHackathon() {
+        return hackathon;
+    }
+
+    public int getNumeroUtenti() {
+        return utenti.dimensione();
+    }
+
+    public int getNumeroTeam() {
+        return team.dimensione();
+    }
+
+    public int getNumeroInviti() {
+        return inviti.dimensione();
+    }
+
+    public int getNumeroIscrizioni() {
+        return iscrizioni.dimensione();
+    }
+
+    public int getNumeroSottomissioni() {
+        return sottomissioni.dimensione();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Esegue un'operazione su bersagli scelti a caso.
+     *
+     * @param operazione L'operazione da eseguire
+     * @param casuale    Il generatore da cui scegliere i bersagli
+     * @return false se non c'era un bersaglio adatto e l'operazione e' stata saltata
+     * @throws IllegalStateException    se il modello rifiuta l'operazione
+     * @throws IllegalArgumentException se il modello rifiuta l'operazione
+     */
+    public boolean esegui(OperazioneCarico operazione, SplittableRandom casuale) {
+        switch (operazione) {
+            case REGISTRAZIONE:
+                registra(casuale);
+                return true;
+            case CREAZIONE_TEAM:
+                return creaTeam(casuale);
+            case INVITO:
+                return invita(casuale);
+            case ACCETTAZIONE_INVITO:
+                return accettaInvito(casuale);
+            case ISCRIZIONE:
+                return iscrivi(casuale);
+            case ANNULLAMENTO:
+                return annulla(casuale);
+            case SOTTOMISSIONE:
+                return consegna(casuale);
+            case VALUTAZIONE:
+                return valuta(casuale);
+            default:
+                throw new IllegalArgumentException("Operazione non gestita: " + operazione);
+        }
+    }
+
+    private void registra(SplittableRandom casuale) {
+        long n = progressivo.incrementAndGet();
+        Utente utente = new Utente("Nome" + n, "Cognome" + n, "utente" + n + "@hackhub.it", "password" + n);
+        utente.aggiungiCompetenza(COMPETENZE[casuale.nextInt(COMPETENZE.length)]);
+        utenti.aggiungi(utente);
+    }
+
+    private boolean creaTeam(SplittableRandom casuale) {
+        Utente fondatore = scegli(utenti, casuale, u -> !u.haTeam() && !fondatori.contains(u));
+        if (fondatore == null || !fondatori.add(fondatore)) {
+            return false;
+        }
+        long n = progressivo.incrementAndGet();
+        team.aggiungi(fondatore.creaTeam("Team " + n, "Team della stagione simulata"));
+        return true;
+    }
+
+    private boolean invita(SplittableRandom casuale) {
+        Team mittente = scegli(team, casuale, t -> true);
+        Utente destinatario = scegli(utenti, casuale, u -> !u.haTeam());
+        if (mittente == null || destinatario == null) {
+            return false;
+        }
+        inviti.aggiungi(mittente.getLeader().invitaUtente(destinatario));
+        return true;
+    }
+
+    private boolean accettaInvito(SplittableRandom casuale) {
+        Invito invito = scegli(inviti, casuale, i -> i.getStato() == StatoInvito.IN_ATTESA);
+        if (invito == null) {
+            return false;
+        }
+        invito.getDestinatario().accettaInvito(invito);
+        return true;
+    }
+
+    private boolean iscrivi(SplittableRandom casuale) {
+        Team iscritto = scegli(team, casuale, t -> true);
+        if (iscritto == null) {
+            return false;
+        }
+        Hackathon evento = hackathon.get(casuale.nextInt(hackathon.size()));
+        if (!evento.isIscrizioniAperte()) {
+            throw new IllegalStateException("Le iscrizioni all'hackathon sono chiuse");
+        }
+        Iscrizione iscrizione = new Iscrizione(iscritto, evento);
+        iscritto.aggiungiIscrizione(iscrizione);
+        evento.aggiungiIscrizione(iscrizione);
+        iscrizioni.aggiungi(iscrizione);
+        return true;
+    }
+
+    private boolean annulla(SplittableRandom casuale) {
+        Iscrizione iscrizione = scegli(iscrizioni, casuale, i -> i.getStato() == StatoIscrizione.CONFERMATA);
+        if (iscrizione == null) {
+            return false;
+        }
+        iscrizione.annulla();
+        return true;
+    }
+
+    private boolean consegna(SplittableRandom casuale) {
+        Iscrizione iscrizione = scegli(iscrizioni, casuale, i -> i.getStato() == StatoIscrizione.CONFERMATA);
+        if (iscrizione == null) {
+            return false;
+        }
+        long n = progressivo.incrementAndGet();
+        Sottomissione sottomissione = new Sottomissione(iscrizione.getTeam(), iscrizione.getHackathon(),
+            "Progetto " + n, "https://example.org/progetti/" + n);
+        sottomissione.setContenuto(contenuto(casuale));
+        iscrizione.getTeam().aggiungiSottomissione(sottomissione);
+        sottomissioni.aggiungi(sottomissione);
+        return true;
+    }
+
+    private boolean valuta(SplittableRandom casuale) {
+        Sottomissione sottomissione = scegli(sottomissioni, casuale,
+            s -> s.getStato() == StatoSottomissione.INVIATA);
+        if (sottomissione == null) {
+            return false;
+        }
+        boolean superata = verificatore.verifica(sottomissione).isSuperata();
+        sottomissione.setStato(superata ? StatoSottomissione.VERIFICATA : StatoSottomissione.NON_CONFORME);
+        return true;
+    }
+
+    /**
+     * Sceglie a caso un elemento che soddisfa il criterio, con un numero limitato di tentativi.
+     *
+     * @return L'elemento scelto, o null se nessun tentativo ha trovato un elemento adatto
+     */
+    private static <E> E scegli(ListaSoloAggiunta<E> lista, SplittableRandom casuale, Predicate<E> criterio) {
+        VistaLista<E> vista = lista.vista();
+        if (vista.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < TENTATIVI; i++) {
+            E elemento = vista.get(casuale.nextInt(vista.size()));
+            if (criterio.test(elemento)) {
+                return elemento;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Genera il contenuto di una sottomissione: una su dieci supera la dimensione massima.
+     */
+    private static String contenuto(SplittableRandom casuale) {
+        int lunghezza = casuale.nextInt(10) == 0
+            ? DIMENSIONE_MASSIMA + 1 + casuale.nextInt(DIMENSIONE_MASSIMA)
+            : 200 + casuale.nextInt(DIMENSIONE_MASSIMA - 200);
+        StringBuilder testo = new StringBuilder(lunghezza);
+        while (testo.length() < lunghezza) {
+            testo.append(PAROLE[casuale.nextInt(PAROLE.length)]).append(' ');
+        }
+        testo.setLength(lunghezza);
+        return testo.toString();
+    }
+
+    private static final String[] COMPETENZE = {"java", "python", "frontend", "dati", "design", "cloud"};
+
+    private static final String[] PAROLE = {
+        "class", "public", "return", "hackathon", "team", "progetto", "dati", "modello", "servizio", "test"
+    };
+}
@@ -0,0 +1,105 @@
+package com.hackhub.simulazione;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Classe che conta le pause del garbage collector tramite le notifiche JMX.
+ *
+ * Le notifiche arrivano alla fine di ogni raccolta con la sua durata; i cicli
+ * concorrenti (che non fermano l'applicazione) non sono contati come pause.
+ * Il numero di pause e' leggibile in ogni momento senza lock: confrontandolo
+ * prima e dopo un'operazione si sa se l'operazione e' stata interrotta da una pausa.
+ */
+public class MonitorGc implements NotificationListener {
+
+    /** Pause osservate */
+    private final AtomicLong pause;
+
+    /** Durata complessiva delle pause, in millisecondi */
+    private final AtomicLong millisecondi;
+
+    /** Durata della pausa piu' lunga, in millisecondi */
+    private final AtomicLong massimo;
+
+    /** Collector a cui il monitor e' registrato */
+    private final List<NotificationEmitter> emettitori;
+
+    public MonitorGc() {
+        this.pause = new AtomicLong();
+        this.millisecondi = new AtomicLong();
+        this.massimo = new AtomicLong();
+        this.emettitori = new ArrayList<>();
+    }
+
+    // ==================== GETTER ====================
+
+    public long getPause() {
+        return pause.get();
+    }
+
+    public long getMillisecondi() {
+        return millisecondi.get();
+    }
+
+    public long getMassimo() {
+        return massimo.get();
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Registra il monitor presso tutti i collector della JVM.
+     *
+     * @return false se la JVM non notifica le raccolte
+     */
+    public synchronized boolean installa() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emettitore = (NotificationEmitter) collector;
+                emettitore.addNotificationListener(this, null, null);
+                emettitori.add(emettitore);
+            }
+        }
+        return !emettitori.isEmpty();
+    }
+
+    /**
+     * Rimuove il monitor dai collector.
+     */
+    public synchronized void rimuovi() {
+        for (NotificationEmitter emettitore : emettitori) {
+            try {
+                emettitore.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // Gia' rimosso
+            }
+        }
+        emettitori.clear();
+    }
+
+    @Override
+    public void handleNotification(Notification notifica, Object contesto) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notifica.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notifica.getUserData());
+        if (info.getGcName().contains("Concurrent") || info.getGcAction().contains("concurrent")) {
+            return;
+        }
+        long durata = info.getGcInfo().getDuration();
+        millisecondi.addAndGet(durata);
+        massimo.accumulateAndGet(durata, Math::max);
+        pause.incrementAndGet();
+    }
+}
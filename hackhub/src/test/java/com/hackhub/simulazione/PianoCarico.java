@@ -0,0 +1,101 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.enums.OperazioneCarico;
+
+/**
+ * Classe che rappresenta il piano di una simulazione: la sequenza ordinata
+ * per istante delle operazioni da eseguire.
+ *
+ * Il piano e' immutabile e dipende solo dallo scenario che lo ha generato:
+ * lo stesso seme produce lo stesso piano, e l'impronta permette di verificarlo
+ * quando si confrontano due esecuzioni.
+ */
+public class PianoCarico {
+
+    /** Operazioni codificate: istante in nanosecondi dall'avvio, moltiplicato per 8, piu' l'ordinale */
+    private final long[] voci;
+
+    /** Seme da cui derivano i semi delle singole operazioni */
+    private final long seme;
+
+    /** Impronta del piano */
+    private final long impronta;
+
+    /**
+     * Costruttore del piano.
+     *
+     * @param voci Le operazioni codificate, gia' ordinate
+     * @param seme Il seme dello scenario
+     */
+    PianoCarico(long[] voci, long seme) {
+        this.voci = voci;
+        this.seme = seme;
+        long h = 0xcbf29ce484222325L ^ seme;
+        for (long voce : voci) {
+            h = (h ^ voce) * 0x100000001b3L;
+        }
+        this.impronta = h;
+    }
+
+    // ==================== GETTER ====================
+
+    public int getDimensione() {
+        return voci.length;
+    }
+
+    public long getImpronta() {
+        return impronta;
+    }
+
+    /**
+     * Restituisce l'istante previsto di un'operazione.
+     *
+     * @param indice La posizione nel piano
+     * @return I nanosecondi dall'avvio della simulazione
+     */
+    public long getIstante(int indice) {
+        return voci[indice] >>> 3;
+    }
+
+    /**
+     * Restituisce il tipo di un'operazione.
+     *
+     * @param indice La posizione nel piano
+     * @return L'operazione
+     */
+    public OperazioneCarico getOperazione(int indice) {
+        return OPERAZIONI[(int) (voci[indice] & 7)];
+    }
+
+    /**
+     * Restituisce il seme di un'operazione, derivato dal seme dello scenario e dalla posizione.
+     * Un'operazione rieseguita con lo stesso seme sceglie gli stessi bersagli, a parita' di stato.
+     *
+     * @param indice La posizione nel piano
+     * @return Il seme dell'operazione
+     */
+    public long getSeme(int indice) {
+        long z = seme + (indice + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Restituisce il numero di operazioni di un tipo.
+     *
+     * @param operazione L'operazione
+     * @return Il numero di operazioni pianificate
+     */
+    public int conta(OperazioneCarico operazione) {
+        int conteggio = 0;
+        for (long voce : voci) {
+            if ((voce & 7) == operazione.ordinal()) {
+                conteggio++;
+            }
+        }
+        return conteggio;
+    }
+
+    private static final OperazioneCarico[] OPERAZIONI = OperazioneCarico.values();
+}
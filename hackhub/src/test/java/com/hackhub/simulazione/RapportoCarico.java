@@ -0,0 +1,314 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.enums.OperazioneCarico;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Classe che raccoglie i risultati di una simulazione di carico.
+ *
+ * Per ogni operazione riporta i conteggi per esito, la produttivita', i
+ * percentili della latenza misurata dall'istante previsto dal piano (quindi
+ * comprensiva dell'attesa in coda), la memoria allocata per operazione e
+ * quante operazioni sono state interrotte da una pausa del garbage collector.
+ *
+ * Il rapporto si salva in un file CSV e si rilegge per confrontare un'esecuzione
+ * con una precedente dello stesso scenario.
+ */
+public class RapportoCarico {
+
+    /** Intestazione della riga dei totali */
+    private static final String INTESTAZIONE_TOTALI =
+        "totale;seme;scala;thread;impronta;durataNanos;pauseGc;millisGc;pausaMassimaMs;ritardoMassimoNanos";
+
+    /** Nomi dei campi per operazione, nell'ordine delle colonne */
+    private static final String[] CAMPI = {
+        "pianificate", "completate", "rifiutate", "saltate", "errori", "p50", "p90", "p99", "p999", "massimo",
+        "servizioMedio", "byteAllocati", "interrotteDaGc"
+    };
+
+    static final int PIANIFICATE = 0;
+    static final int COMPLETATE = 1;
+    static final int RIFIUTATE = 2;
+    static final int SALTATE = 3;
+    static final int ERRORI = 4;
+    static final int P50 = 5;
+    static final int P90 = 6;
+    static final int P99 = 7;
+    static final int P999 = 8;
+    static final int MASSIMO = 9;
+    static final int SERVIZIO_MEDIO = 10;
+    static final int BYTE_ALLOCATI = 11;
+    static final int INTERROTTE_DA_GC = 12;
+
+    /** Seme dello scenario */
+    private final long seme;
+
+    /** Scala dello scenario */
+    private final int scala;
+
+    /** Thread che hanno eseguito le operazioni */
+    private final int thread;
+
+    /** Impronta del piano eseguito */
+    private final long impronta;
+
+    /** Durata dell'esecuzione */
+    private final long durataNanos;
+
+    /** Pause del garbage collector durante l'esecuzione */
+    private final long pauseGc;
+
+    /** Durata complessiva delle pause, in millisecondi */
+    private final long millisGc;
+
+    /** Pausa piu' lunga, in millisecondi */
+    private final long pausaMassima;
+
+    /** Ritardo massimo con cui un'operazione e' stata accodata rispetto al piano */
+    private final long ritardoMassimo;
+
+    /** Valori per operazione, indicizzati per ordinale e campo */
+    private final long[][] righe;
+
+    RapportoCarico(long seme, int scala, int thread, long impronta, long durataNanos, long pauseGc,
+                   long millisGc, long pausaMassima, long ritardoMassimo, long[][] righe) {
+        this.seme = seme;
+        this.scala = scala;
+        this.thread = thread;
+        this.impronta = impronta;
+        this.durataNanos = durataNanos;
+        this.pauseGc = pauseGc;
+        this.millisGc = millisGc;
+        this.pausaMassima = pausaMassima;
+        this.ritardoMassimo = ritardoMassimo;
+        this.righe = righe;
+    }
+
+    /**
+     * Crea una riga vuota per operazione.
+     */
+    static long[][] nuoveRighe() {
+        return new long[OperazioneCarico.values().length][CAMPI.length];
+    }
+
+    // ==================== GETTER ====================
+
+    public long getSeme() {
+        return seme;
+    }
+
+    public int getScala() {
+        return scala;
+    }
+
+    public int getThread() {
+        return thread;
+    }
+
+    public long getImpronta() {
+        return impronta;
+    }
+
+    public long getDurataNanos() {
+        return durataNanos;
+    }
+
+    public long getPauseGc() {
+        return pauseGc;
+    }
+
+    public long getMillisGc() {
+        return millisGc;
+    }
+
+    public long getCompletate(OperazioneCarico operazione) {
+        return righe[operazione.ordinal()][COMPLETATE];
+    }
+
+    public long getRifiutate(OperazioneCarico operazione) {
+        return righe[operazione.ordinal()][RIFIUTATE];
+    }
+
+    public long getErrori(OperazioneCarico operazione) {
+        return righe[operazione.ordinal()][ERRORI];
+    }
+
+    /**
+     * Restituisce il 99-esimo percentile della latenza di un'operazione.
+     *
+     * @param operazione L'operazione
+     * @return La latenza in nanosecondi
+     */
+    public long getLatenzaP99(OperazioneCarico operazione) {
+        return righe[operazione.ordinal()][P99];
+    }
+
+    /**
+     * Restituisce le operazioni eseguite al secondo, qualunque sia l'esito.
+     *
+     * @param operazione L'operazione
+     * @return La produttivita' in operazioni al secondo
+     */
+    public double getProduttivita(OperazioneCarico operazione) {
+        long[] riga = righe[operazione.ordinal()];
+        return (riga[COMPLETATE] + riga[RIFIUTATE] + riga[ERRORI]) * 1e9 / durataNanos;
+    }
+
+    /**
+     * Restituisce i byte allocati in media da un'operazione eseguita.
+     *
+     * @param operazione L'operazione
+     * @return I byte per operazione, 0 se l'operazione non e' mai stata eseguita
+     */
+    public double getBytePerOperazione(OperazioneCarico operazione) {
+        long[] riga = righe[operazione.ordinal()];
+        long eseguite = riga[COMPLETATE] + riga[RIFIUTATE] + riga[ERRORI];
+        return eseguite == 0 ? 0 : (double) riga[BYTE_ALLOCATI] / eseguite;
+    }
+
+    /**
+     * Restituisce la memoria allocata al secondo da tutte le operazioni.
+     *
+     * @return I byte allocati al secondo
+     */
+    public double getTassoAllocazione() {
+        long totale = 0;
+        for (long[] riga : righe) {
+            totale += riga[BYTE_ALLOCATI];
+        }
+        return totale * 1e9 / durataNanos;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Salva il rapporto in un file CSV.
+     *
+     * @param file Il file di destinazione
+     * @throws IOException se il file non puo' essere scritto
+     */
+    public void scrivi(Path file) throws IOException {
+        try (BufferedWriter scrittore = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            scrittore.write(INTESTAZIONE_TOTALI);
+            scrittore.newLine();
+            scrittore.write(String.join(";", "totale", Long.toString(seme), Integer.toString(scala),
+                Integer.toString(thread), Long.toString(impronta), Long.toString(durataNanos),
+                Long.toString(pauseGc), Long.toString(millisGc), Long.toString(pausaMassima),
+                Long.toString(ritardoMassimo)));
+            scrittore.newLine();
+            scrittore.write("operazione;" + String.join(";", CAMPI));
+            scrittore.newLine();
+            for (OperazioneCarico operazione : OperazioneCarico.values()) {
+                StringBuilder riga = new StringBuilder(operazione.name());
+                for (long valore : righe[operazione.ordinal()]) {
+                    riga.append(';').append(valore);
+                }
+                scrittore.write(riga.toString());
+                scrittore.newLine();
+            }
+        }
+    }
+
+    /**
+     * Legge un rapporto salvato con scrivi().
+     *
+     * @param file Il file da leggere
+     * @return Il rapporto
+     * @throws IOException              se il file non puo' essere letto
+     * @throws IllegalArgumentException se il file non e' un rapporto valido
+     */
+    public static RapportoCarico leggi(Path file) throws IOException {
+        List<String> linee = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (linee.size() < 3 || !linee.get(0).equals(INTESTAZIONE_TOTALI)) {
+            throw new IllegalArgumentException("Il file " + file + " non e' un rapporto di carico");
+        }
+        String[] totali = linee.get(1).split(";");
+        long[][] righe = nuoveRighe();
+        for (String linea : linee.subList(3, linee.size())) {
+            if (linea.isBlank()) {
+                continue;
+            }
+            String[] campi = linea.split(";");
+            if (campi.length != CAMPI.length + 1) {
+                throw new IllegalArgumentException("Riga del rapporto non valida: " + linea);
+            }
+            long[] riga = righe[OperazioneCarico.valueOf(campi[0]).ordinal()];
+            for (int i = 0; i < CAMPI.length; i++) {
+                riga[i] = Long.parseLong(campi[i + 1]);
+            }
+        }
+        return new RapportoCarico(Long.parseLong(totali[1]), Integer.parseInt(totali[2]),
+            Integer.parseInt(totali[3]), Long.parseLong(totali[4]), Long.parseLong(totali[5]),
+            Long.parseLong(totali[6]), Long.parseLong(totali[7]), Long.parseLong(totali[8]),
+            Long.parseLong(totali[9]), righe);
+    }
+
+    /**
+     * Confronta questo rapporto con uno di riferimento, operazione per operazione.
+     * Sono segnalati come regressione un calo della produttivita' o una crescita
+     * del p99 o dei byte per operazione oltre la tolleranza.
+     *
+     * @param base       Il rapporto di riferimento
+     * @param tolleranza La variazione relativa tollerata (es. 0.10 per il 10%)
+     * @return Il confronto in forma di tabella
+     */
+    public String confronta(RapportoCarico base, double tolleranza) {
+        StringBuilder testo = new StringBuilder();
+        if (base.impronta != impronta) {
+            testo.append("Attenzione: piani diversi (impronta ").append(Long.toHexString(base.impronta))
+                .append(" e ").append(Long.toHexString(impronta)).append("), confronto solo indicativo\n");
+        }
+        testo.append(String.format(Locale.ROOT, "%-20s %21s %21s %21s%n",
+            "operazione", "op/s", "p99 ms", "byte/op"));
+        for (OperazioneCarico operazione : OperazioneCarico.values()) {
+            double produttivita = getProduttivita(operazione);
+            double produttivitaBase = base.getProduttivita(operazione);
+            double p99 = getLatenzaP99(operazione) / 1e6;
+            double p99Base = base.getLatenzaP99(operazione) / 1e6;
+            double perOperazione = getBytePerOperazione(operazione);
+            double perOperazioneBase = base.getBytePerOperazione(operazione);
+            boolean regressione = variazione(produttivitaBase, produttivita) < -tolleranza
+                || variazione(p99Base, p99) > tolleranza
+                || variazione(perOperazioneBase, perOperazione) > tolleranza;
+            testo.append(String.format(Locale.ROOT, "%-20s %9.1f -> %9.1f %9.2f -> %9.2f %9.0f -> %9.0f%s%n",
+                operazione, produttivitaBase, produttivita, p99Base, p99, perOperazioneBase, perOperazione,
+                regressione ? "  REGRESSIONE" : ""));
+        }
+        testo.append(String.format(Locale.ROOT, "allocazione %.1f -> %.1f MB/s, pause GC %d (%d ms) -> %d (%d ms)%n",
+            base.getTassoAllocazione() / 1e6, getTassoAllocazione() / 1e6, base.pauseGc, base.millisGc,
+            pauseGc, millisGc));
+        return testo.toString();
+    }
+
+    private static double variazione(double base, double valore) {
+        return base == 0 ? 0 : (valore - base) / base;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder testo = new StringBuilder();
+        testo.append(String.format(Locale.ROOT, "Seme %d, scala %d, %d thread, %.1f s, impronta %s%n",
+            seme, scala, thread, durataNanos / 1e9, Long.toHexString(impronta)));
+        testo.append(String.format(Locale.ROOT, "%-20s %8s %8s %8s %7s %6s %8s %8s %8s %8s %8s %9s %6s%n",
+            "operazione", "piano", "ok", "rifiuti", "saltate", "errori", "op/s", "p50 ms", "p99 ms", "p999 ms",
+            "max ms", "byte/op", "gc"));
+        for (OperazioneCarico operazione : OperazioneCarico.values()) {
+            long[] riga = righe[operazione.ordinal()];
+            testo.append(String.format(Locale.ROOT,
+                "%-20s %8d %8d %8d %7d %6d %8.1f %8.3f %8.3f %8.3f %8.3f %9.0f %6d%n",
+                operazione, riga[PIANIFICATE], riga[COMPLETATE], riga[RIFIUTATE], riga[SALTATE], riga[ERRORI],
+                getProduttivita(operazione), riga[P50] / 1e6, riga[P99] / 1e6, riga[P999] / 1e6,
+                riga[MASSIMO] / 1e6, getBytePerOperazione(operazione), riga[INTERROTTE_DA_GC]));
+        }
+        testo.append(String.format(Locale.ROOT,
+            "Allocazione %.1f MB/s, pause GC %d per %d ms (massima %d ms), ritardo massimo del piano %.3f ms",
+            getTassoAllocazione() / 1e6, pauseGc, millisGc, pausaMassima, ritardoMassimo / 1e6));
+        return testo.toString();
+    }
+}
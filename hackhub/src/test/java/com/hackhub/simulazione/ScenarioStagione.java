@@ -0,0 +1,239 @@
+package com.hackhub.simulazione;
+
+import com.hackhub.enums.OperazioneCarico;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Classe che descrive una stagione di hackathon da simulare: le fasi con i loro
+ * tassi di arrivo, la scala del mondo iniziale e il seme.
+ *
+ * Gli arrivi di ogni operazione seguono un processo di Poisson con il tasso
+ * della fase, generato da un Random inizializzato con il seme: a parita' di
+ * scenario il piano e' identico, e due esecuzioni si possono confrontare.
+ * Con un solo thread anche gli esiti delle operazioni si ripetono uguali.
+ */
+public class ScenarioStagione {
+
+    /** Seme della generazione */
+    private final long seme;
+
+    /** Fattore di scala di tassi e dimensioni */
+    private final int scala;
+
+    /** Fasi della stagione, in ordine */
+    private final List<FaseStagione> fasi;
+
+    /** Numero di hackathon aperti alle iscrizioni */
+    private int numeroHackathon;
+
+    /** Numero di utenti registrati prima dell'avvio */
+    private int utentiIniziali;
+
+    /** Numero di thread che eseguono le operazioni */
+    private int thread;
+
+    /**
+     * Costruttore dello scenario, senza fasi.
+     *
+     * @param seme  Il seme della generazione
+     * @param scala Il fattore di scala
+     * @throws IllegalArgumentException se la scala non e' positiva
+     */
+    public ScenarioStagione(long seme, int scala) {
+        if (scala <= 0) {
+            throw new IllegalArgumentException("La scala deve essere positiva");
+        }
+        this.seme = seme;
+        this.scala = scala;
+        this.fasi = new ArrayList<>();
+        this.numeroHackathon = 4 * scala;
+        this.utentiIniziali = 200 * scala;
+        this.thread = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Crea lo scenario di una stagione tipica, con i tassi moltiplicati per la scala:
+     * - apertura: registrazioni e primi team
+     * - corsa alle iscrizioni: inviti e iscrizioni agli hackathon
+     * - sviluppo: pochi movimenti, qualche annullamento e le prime consegne
+     * - scadenza consegne: picco di sottomissioni
+     * - valutazione: verifica delle sottomissioni
+     *
+     * @param seme       Il seme della generazione
+     * @param scala      Il fattore di scala
+     * @param durataFase La durata di ciascuna fase
+     * @return Lo scenario
+     */
+    public static ScenarioStagione predefinito(long seme, int scala, Duration durataFase) {
+        ScenarioStagione scenario = new ScenarioStagione(seme, scala);
+        scenario.aggiungiFase(new FaseStagione("apertura", durataFase)
+            .conTasso(OperazioneCarico.REGISTRAZIONE, 200.0 * scala)
+            .conTasso(OperazioneCarico.CREAZIONE_TEAM, 30.0 * scala)
+            .conTasso(OperazioneCarico.INVITO, 60.0 * scala)
+            .conTasso(OperazioneCarico.ACCETTAZIONE_INVITO, 40.0 * scala));
+        scenario.aggiungiFase(new FaseStagione("corsa alle iscrizioni", durataFase)
+            .conTasso(OperazioneCarico.REGISTRAZIONE, 80.0 * scala)
+            .conTasso(OperazioneCarico.CREAZIONE_TEAM, 30.0 * scala)
+            .conTasso(OperazioneCarico.INVITO, 120.0 * scala)
+            .conTasso(OperazioneCarico.ACCETTAZIONE_INVITO, 90.0 * scala)
+            .conTasso(OperazioneCarico.ISCRIZIONE, 150.0 * scala)
+            .conTasso(OperazioneCarico.ANNULLAMENTO, 10.0 * scala));
+        scenario.aggiungiFase(new FaseStagione("sviluppo", durataFase)
+            .conTasso(OperazioneCarico.REGISTRAZIONE, 20.0 * scala)
+            .conTasso(OperazioneCarico.INVITO, 30.0 * scala)
+            .conTasso(OperazioneCarico.ACCETTAZIONE_INVITO, 20.0 * scala)
+            .conTasso(OperazioneCarico.ANNULLAMENTO, 20.0 * scala)
+            .conTasso(OperazioneCarico.SOTTOMISSIONE, 20.0 * scala));
+        scenario.aggiungiFase(new FaseStagione("scadenza consegne", durataFase)
+            .conTasso(OperazioneCarico.ANNULLAMENTO, 5.0 * scala)
+            .conTasso(OperazioneCarico.SOTTOMISSIONE, 300.0 * scala));
+        scenario.aggiungiFase(new FaseStagione("valutazione", durataFase)
+            .conTasso(OperazioneCarico.VALUTAZIONE, 400.0 * scala));
+        return scenario;
+    }
+
+    // ==================== GETTER ====================
+
+    public long getSeme() {
+        return seme;
+    }
+
+    public int getScala() {
+        return scala;
+    }
+
+    public List<FaseStagione> getFasi() {
+        return Collections.unmodifiableList(fasi);
+    }
+
+    public int getNumeroHackathon() {
+        return numeroHackathon;
+    }
+
+    public int getUtentiIniziali() {
+        return utentiIniziali;
+    }
+
+    public int getThread() {
+        return thread;
+    }
+
+    /**
+     * Restituisce la durata complessiva delle fasi.
+     *
+     * @return La durata della stagione
+     */
+    public Duration getDurata() {
+        Duration totale = Duration.ZERO;
+        for (FaseStagione fase : fasi) {
+            totale = totale.plus(fase.getDurata());
+        }
+        return totale;
+    }
+
+    // ==================== SETTER ====================
+
+    /**
+     * Imposta il numero di hackathon aperti alle iscrizioni.
+     *
+     * @param numeroHackathon Il numero di hackathon
+     * @throws IllegalArgumentException se il numero non e' positivo
+     */
+    public void setNumeroHackathon(int numeroHackathon) {
+        if (numeroHackathon <= 0) {
+            throw new IllegalArgumentException("Serve almeno un hackathon");
+        }
+        this.numeroHackathon = numeroHackathon;
+    }
+
+    /**
+     * Imposta il numero di utenti registrati prima dell'avvio.
+     *
+     * @param utentiIniziali Il numero di utenti
+     * @throws IllegalArgumentException se il numero e' negativo
+     */
+    public void setUtentiIniziali(int utentiIniziali) {
+        if (utentiIniziali < 0) {
+            throw new IllegalArgumentException("Il numero di utenti non puo' essere negativo");
+        }
+        this.utentiIniziali = utentiIniziali;
+    }
+
+    /**
+     * Imposta il numero di thread che eseguono le operazioni.
+     * Con un thread gli esiti sono ripetibili; con piu' thread lo e' solo il piano.
+     *
+     * @param thread Il numero di thread
+     * @throws IllegalArgumentException se il numero non e' positivo
+     */
+    public void setThread(int thread) {
+        if (thread <= 0) {
+            throw new IllegalArgumentException("Serve almeno un thread");
+        }
+        this.thread = thread;
+    }
+
+    // ==================== OPERAZIONI ====================
+
+    /**
+     * Aggiunge una fase in coda alla stagione.
+     *
+     * @param fase La fase da aggiungere
+     */
+    public void aggiungiFase(FaseStagione fase) {
+        fasi.add(fase);
+    }
+
+    /**
+     * Genera il piano delle operazioni.
+     *
+     * @return Il piano, ordinato per istante
+     * @throws IllegalStateException se lo scenario non ha fasi
+     */
+    public PianoCarico pianifica() {
+        if (fasi.isEmpty()) {
+            throw new IllegalStateException("Lo scenario non ha fasi");
+        }
+        Random casuale = new Random(seme);
+        long[] voci = new long[1024];
+        int numero = 0;
+        long inizioFase = 0;
+        for (FaseStagione fase : fasi) {
+            long fineFase = inizioFase + fase.getDurata().toNanos();
+            for (OperazioneCarico operazione : OperazioneCarico.values()) {
+                double tasso = fase.getTasso(operazione);
+                if (tasso == 0) {
+                    continue;
+                }
+                // Intertempi esponenziali: arrivi di Poisson con il tasso della fase
+                double mediaNanos = 1e9 / tasso;
+                long istante = inizioFase;
+                while (true) {
+                    istante += (long) (-Math.log(1.0 - casuale.nextDouble()) * mediaNanos);
+                    if (istante >= fineFase) {
+                        break;
+                    }
+                    if (numero == voci.length) {
+                        voci = Arrays.copyOf(voci, numero * 2);
+                    }
+                    voci[numero++] = istante << 3 | operazione.ordinal();
+                }
+            }
+            inizioFase = fineFase;
+        }
+        voci = Arrays.copyOf(voci, numero);
+        Arrays.sort(voci);
+        return new PianoCarico(voci, seme);
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario seme " + seme + ", scala " + scala + ", " + fasi.size() + " fasi, "
+            + getDurata().toSeconds() + " s, " + thread + " thread";
+    }
+}
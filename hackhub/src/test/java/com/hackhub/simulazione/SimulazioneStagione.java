@@ -0,0 +1,61 @@
+package com.hackhub.simulazione;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Simulazione di carico di una stagione di hackathon: registrazioni, team,
+ * inviti, iscrizioni, annullamenti, consegne e valutazioni secondo lo scenario
+ * predefinito, con arrivi ad anello aperto generati dal seme.
+ *
+ * Stampa il rapporto per operazione e, se indicato, lo salva in CSV. Se viene
+ * passato un rapporto di riferimento, stampa il confronto e segnala le
+ * operazioni peggiorate oltre il 10%. Con thread = 1 gli esiti si ripetono
+ * identici a parita' di seme; con piu' thread si ripete il piano.
+ *
+ * Uso: SimulazioneStagione [seme] [scala] [secondiPerFase] [thread] [rapportoBase.csv] [salvaIn.csv]
+ */
+public class SimulazioneStagione {
+
+    private static final Logger LOG = Logger.getLogger(SimulazioneStagione.class.getName());
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long seme = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        int scala = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int secondiPerFase = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int thread = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path base = args.length > 4 && !args[4].equals("-") ? Path.of(args[4]) : null;
+        Path destinazione = args.length > 5 ? Path.of(args[5]) : null;
+
+        ScenarioStagione scenario = ScenarioStagione.predefinito(seme, scala, Duration.ofSeconds(secondiPerFase));
+        scenario.setThread(thread);
+        PianoCarico piano = scenario.pianifica();
+        System.out.printf("%s: %d operazioni pianificate, impronta %s%n", scenario, piano.getDimensione(),
+            Long.toHexString(piano.getImpronta()));
+
+        GeneratoreCarico generatore = new GeneratoreCarico(scenario);
+        RapportoCarico rapporto = generatore.esegui();
+        System.out.println(rapporto);
+        MondoSimulato mondo = generatore.getMondo();
+        System.out.printf("Mondo finale: %d utenti, %d team, %d inviti, %d iscrizioni, %d sottomissioni%n",
+            mondo.getNumeroUtenti(), mondo.getNumeroTeam(), mondo.getNumeroInviti(), mondo.getNumeroIscrizioni(),
+            mondo.getNumeroSottomissioni());
+        if (generatore.getPrimoErrore() != null) {
+            LOG.log(Level.SEVERE, "Primo errore inatteso", generatore.getPrimoErrore());
+        }
+
+        if (base != null && Files.exists(base)) {
+            System.out.println();
+            System.out.println("Confronto con " + base + ":");
+            System.out.print(rapporto.confronta(RapportoCarico.leggi(base), 0.10));
+        }
+        if (destinazione != null) {
+            rapporto.scrivi(destinazione);
+            System.out.println("Rapporto salvato in " + destinazione);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hackhub.simulazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.OperazioneCarico;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test della simulazione di una stagione: piano ripetibile a parita' di seme,
+ * esecuzione su un solo thread con gli stessi esiti e rapporto salvato e riletto.
+ */
+class SimulazioneStagioneTest {
+
+    private static final Duration DURATA_FASE = Duration.ofMillis(100);
+
+    @TempDir
+    Path cartella;
+
+    private static ScenarioStagione scenario(long seme) {
+        ScenarioStagione scenario = ScenarioStagione.predefinito(seme, 1, DURATA_FASE);
+        scenario.setThread(1);
+        return scenario;
+    }
+
+    @Test
+    void stessoSemeProduceLoStessoPiano() {
+        PianoCarico primo = scenario(42).pianifica();
+        PianoCarico secondo = scenario(42).pianifica();
+
+        assertTrue(primo.getDimensione() > 0);
+        assertEquals(primo.getDimensione(), secondo.getDimensione());
+        assertEquals(primo.getImpronta(), secondo.getImpronta());
+        for (int i = 0; i < primo.getDimensione(); i++) {
+            assertEquals(primo.getIstante(i), secondo.getIstante(i));
+            assertEquals(primo.getOperazione(i), secondo.getOperazione(i));
+            assertEquals(primo.getSeme(i), secondo.getSeme(i));
+        }
+        for (int i = 1; i < primo.getDimensione(); i++) {
+            assertTrue(primo.getIstante(i - 1) <= primo.getIstante(i));
+        }
+        assertNotEquals(primo.getImpronta(), scenario(43).pianifica().getImpronta());
+    }
+
+    @Test
+    void esecuzioneSuUnThreadRipeteGliEsiti() throws InterruptedException {
+        PianoCarico piano = scenario(7).pianifica();
+        GeneratoreCarico primo = new GeneratoreCarico(scenario(7));
+        GeneratoreCarico secondo = new GeneratoreCarico(scenario(7));
+
+        RapportoCarico atteso = primo.esegui();
+        RapportoCarico trovato = secondo.esegui();
+
+        assertNull(primo.getPrimoErrore());
+        assertNull(secondo.getPrimoErrore());
+        assertEquals(atteso.getImpronta(), trovato.getImpronta());
+        for (OperazioneCarico operazione : OperazioneCarico.values()) {
+            // Le operazioni senza un elemento adatto vengono saltate, non contate
+            assertTrue(atteso.getCompletate(operazione) + atteso.getRifiutate(operazione)
+                <= piano.conta(operazione), operazione.name());
+            assertEquals(0, atteso.getErrori(operazione), operazione.name());
+            assertEquals(atteso.getCompletate(operazione), trovato.getCompletate(operazione), operazione.name());
+            assertEquals(atteso.getRifiutate(operazione), trovato.getRifiutate(operazione), operazione.name());
+        }
+        assertEquals(primo.getMondo().getNumeroUtenti(), secondo.getMondo().getNumeroUtenti());
+        assertEquals(primo.getMondo().getNumeroIscrizioni(), secondo.getMondo().getNumeroIscrizioni());
+    }
+
+    @Test
+    void rapportoSalvatoVieneRiletto() throws IOException, InterruptedException {
+        RapportoCarico rapporto = new GeneratoreCarico(scenario(11)).esegui();
+        Path file = cartella.resolve("rapporto.csv");
+
+        rapporto.scrivi(file);
+        RapportoCarico riletto = RapportoCarico.leggi(file);
+
+        assertEquals(rapporto.getSeme(), riletto.getSeme());
+        assertEquals(rapporto.getImpronta(), riletto.getImpronta());
+        assertEquals(rapporto.getDurataNanos(), riletto.getDurataNanos());
+        for (OperazioneCarico operazione : OperazioneCarico.values()) {
+            assertEquals(rapporto.getCompletate(operazione), riletto.getCompletate(operazione));
+            assertEquals(rapporto.getLatenzaP99(operazione), riletto.getLatenzaP99(operazione));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.hackhub.storico;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test degli storici colonnari: colonna degli stati, aggregazioni su piu'
+ * blocchi e registrazione degli inviti scaduti.
+ */
+class StoricoTest {
+
+    private static final LocalDate OGGI = LocalDate.of(2026, 7, 1);
+
+    private static Team team() {
+        return new Utente("Nome", "Cognome", "leader@hackhub.it", "pw").creaTeam("Team storico", null);
+    }
+
+    private static Utente destinatario(int numero) {
+        return new Utente("Invitato", "Utente", "invitato" + numero + "@hackhub.it", "pw");
+    }
+
+    private static Hackathon hackathon(String nome) {
+        return new Hackathon(nome, OGGI.plusDays(30), OGGI.plusDays(32), OGGI.plusDays(20));
+    }
+
+    @Test
+    void colonnaStatiContaTutteLeRigheEIPrefissi() {
+        Random casuale = new Random(42);
+        ColonnaStati colonna = new ColonnaStati();
+        int righe = 2 * StoricoColonnare.DIMENSIONE_BLOCCO + 123;
+        byte[] attesi = new byte[righe];
+        for (int riga = 0; riga < righe; riga++) {
+            attesi[riga] = (byte) casuale.nextInt(4);
+            colonna.aggiungi(riga, attesi[riga]);
+        }
+
+        for (int prefisso : new int[] {0, 1, StoricoColonnare.DIMENSIONE_BLOCCO + 7, righe}) {
+            long[] conteggi = new long[4];
+            for (int riga = 0; riga < prefisso; riga++) {
+                conteggi[attesi[riga]]++;
+            }
+            assertArrayEquals(conteggi, colonna.conta(prefisso, 4), "prefisso " + prefisso);
+        }
+        // Un byte per riga, letto direttamente dal blocco
+        byte[] ultimo = colonna.blocco(2);
+        assertEquals(StoricoColonnare.DIMENSIONE_BLOCCO, ultimo.length);
+        for (int i = 0; i < 123; i++) {
+            assertEquals(attesi[2 * StoricoColonnare.DIMENSIONE_BLOCCO + i], ultimo[i]);
+        }
+    }
+
+    @Test
+    void invitiScadutiRegistratiMaEsclusiDalTasso() {
+        StoricoInviti inviti = new StoricoInviti();
+        RegistratoreStorico registratore = new RegistratoreStorico(inviti, new StoricoIscrizioni());
+        Team team = team();
+        registratore.attiva();
+        try {
+            for (int i = 0; i < 9; i++) {
+                Invito invito = team.getLeader().invitaUtente(destinatario(i));
+                if (i < 2) {
+                    invito.accetta();
+                } else if (i < 4) {
+                    invito.rifiuta();
+                } else if (i < 8) {
+                    invito.scadi(OGGI);
+                }
+            }
+        } finally {
+            registratore.disattiva();
+        }
+
+        // L'invito ancora in attesa non produce righe
+        assertEquals(8, inviti.getNumeroRighe());
+        assertEquals(2, inviti.getConteggio(StatoInvito.ACCETTATO));
+        assertEquals(2, inviti.getConteggio(StatoInvito.RIFIUTATO));
+        assertEquals(4, inviti.getConteggio(StatoInvito.SCADUTO));
+        assertEquals(0, inviti.getConteggio(StatoInvito.IN_ATTESA));
+        assertEquals(0.5, inviti.getTassoAccettazione(), 1e-9);
+    }
+
+    @Test
+    void medianaConsideraSoloGliInvitiAccettati() {
+        StoricoInviti inviti = new StoricoInviti();
+        Team team = team();
+        int[] giorni = {1, 3, 4, 10};
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int i = 0; i < 6; i++) {
+                Invito invito = new Invito(team, destinatario(i));
+                invito.setDataInvio(OGGI);
+                if (i < giorni.length) {
+                    invito.setStato(StatoInvito.ACCETTATO);
+                    invito.setDataRisposta(OGGI.plusDays(giorni[i]));
+                } else {
+                    // Scaduto molto dopo l'invio: non deve spostare la mediana
+                    invito.setStato(StatoInvito.SCADUTO);
+                    invito.setDataRisposta(OGGI.plusDays(100));
+                }
+                inviti.registra(invito);
+            }
+        });
+
+        assertEquals(3.5, inviti.getMedianaGiorniAccettazione(), 1e-9);
+        assertTrue(Double.isNaN(new StoricoInviti().getMedianaGiorniAccettazione()));
+        assertEquals(0.0, new StoricoInviti().getTassoAccettazione(), 1e-9);
+    }
+
+    @Test
+    void invitoInAttesaONullVieneRifiutato() {
+        StoricoInviti inviti = new StoricoInviti();
+
+        assertThrows(IllegalArgumentException.class, () -> inviti.registra(null));
+        Invito inAttesa = new Invito(team(), destinatario(0));
+        assertThrows(IllegalStateException.class, () -> inviti.registra(inAttesa));
+        assertEquals(0, inviti.getNumeroRighe());
+    }
+
+    @Test
+    void conteggiPerHackathonSuPiuBlocchi() {
+        StoricoIscrizioni storico = new StoricoIscrizioni();
+        Team team = team();
+        List<Hackathon> hackathon = List.of(hackathon("A"), hackathon("B"), hackathon("C"));
+        Random casuale = new Random(7);
+        Map<Long, Long> annullateAttese = new HashMap<>();
+        long[] perStato = new long[StatoIscrizione.values().length];
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            Iscrizione[] iscrizioni = new Iscrizione[hackathon.size()];
+            for (int h = 0; h < iscrizioni.length; h++) {
+                iscrizioni[h] = new Iscrizione(team, hackathon.get(h));
+            }
+            StatoIscrizione[] stati = StatoIscrizione.values();
+            for (int riga = 0; riga < 2 * StoricoColonnare.DIMENSIONE_BLOCCO + 500; riga++) {
+                int h = casuale.nextInt(iscrizioni.length);
+                StatoIscrizione stato = stati[casuale.nextInt(stati.length)];
+                iscrizioni[h].setStato(stato);
+                storico.registra(iscrizioni[h], OGGI.plusDays(riga % 400));
+                perStato[stato.ordinal()]++;
+                if (stato == StatoIscrizione.ANNULLATA) {
+                    annullateAttese.merge(hackathon.get(h).getId(), 1L, Long::sum);
+                }
+            }
+        });
+
+        for (StatoIscrizione stato : StatoIscrizione.values()) {
+            assertEquals(perStato[stato.ordinal()], storico.getConteggio(stato), stato.name());
+        }
+        assertEquals(annullateAttese, storico.getAnnullamentiPerHackathon());
+    }
+
+    @Test
+    void registratoreSegueCreazioneEAnnullamentoDelleIscrizioni() {
+        StoricoIscrizioni iscrizioni = new StoricoIscrizioni();
+        RegistratoreStorico registratore = new RegistratoreStorico(new StoricoInviti(), iscrizioni);
+        Hackathon hackathon = hackathon("Registrato");
+        registratore.attiva();
+        try {
+            Iscrizione iscrizione = new Iscrizione(team(), hackathon);
+            iscrizione.annulla();
+        } finally {
+            registratore.disattiva();
+        }
+
+        assertEquals(2, iscrizioni.getNumeroRighe());
+        assertEquals(1, iscrizioni.getConteggio(StatoIscrizione.CONFERMATA));
+        assertEquals(Map.of(hackathon.getId(), 1L), iscrizioni.getAnnullamentiPerHackathon());
+    }
+}
@@ -0,0 +1,95 @@
+package com.hackhub.unicita;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Simulazione dei controlli di unicita' durante le registrazioni: molte email
+ * gia' registrate e una raffica di verifiche, quasi tutte su email libere.
+ *
+ * 1. Verifiche con il solo indice esatto e con il filtro davanti: tempo per
+ *    verifica, quota di risposte date dal filtro e falsi positivi osservati.
+ * 2. Salvataggio e riapertura: tempo alla prima verifica negativa (filtri letti)
+ *    e tempo all'indice esatto completo (chiavi caricate in background).
+ *
+ * Uso: BenchmarkUnicita [emailRegistrate] [verifiche] [quotaPresenti]
+ */
+public class BenchmarkUnicita {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int registrate = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int numeroVerifiche = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        double quotaPresenti = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+        Random casuale = new Random(42);
+
+        IndiceUnicita indice = new IndiceUnicita();
+        Map<String, Long> soloEsatto = new HashMap<>();
+        long inizio = System.nanoTime();
+        for (int i = 0; i < registrate; i++) {
+            String email = "utente" + i + "@hackhub.it";
+            indice.getEmail().riserva(email, i);
+            soloEsatto.put(email, (long) i);
+        }
+        RegistroUnicita registro = indice.getEmail();
+        System.out.printf("Registrate %d email in %d ms, filtro di %d KB su %d livelli (falsi positivi stimati %.3f%%)%n",
+            registrate, (System.nanoTime() - inizio) / 1_000_000, registro.getFiltro().getByte() / 1024,
+            registro.getFiltro().getNumeroLivelli(), registro.getFiltro().getProbabilitaFalsoPositivo() * 100);
+
+        // Le email da verificare vengono costruite come arriverebbero da un modulo di registrazione
+        String[] verifiche = new String[numeroVerifiche];
+        int attesePresenti = 0;
+        for (int i = 0; i < numeroVerifiche; i++) {
+            boolean presente = casuale.nextDouble() < quotaPresenti;
+            attesePresenti += presente ? 1 : 0;
+            verifiche[i] = presente ? "Utente" + casuale.nextInt(registrate) + "@hackhub.it "
+                : "Nuovo" + casuale.nextInt(Integer.MAX_VALUE) + "@Hackhub.it";
+        }
+
+        for (int ripetizione = 0; ripetizione < 3; ripetizione++) {
+            inizio = System.nanoTime();
+            int presentiEsatto = 0;
+            for (String email : verifiche) {
+                presentiEsatto += soloEsatto.containsKey(RegistroUnicita.normalizza(email)) ? 1 : 0;
+            }
+            long durataEsatto = System.nanoTime() - inizio;
+            long falsiPrima = registro.getFalsiPositivi();
+            long negativePrima = registro.getNegativeDalFiltro();
+            inizio = System.nanoTime();
+            int presentiFiltro = 0;
+            for (String email : verifiche) {
+                presentiFiltro += registro.isPresente(email) ? 1 : 0;
+            }
+            long durataFiltro = System.nanoTime() - inizio;
+            if (presentiEsatto != presentiFiltro || presentiFiltro < attesePresenti) {
+                throw new IllegalStateException("Risultati diversi: " + presentiEsatto + " e " + presentiFiltro);
+            }
+            System.out.printf("verifiche: solo indice %.1f ns, con filtro %.1f ns; %.1f%% risposte dal filtro, "
+                    + "%d falsi positivi%n", (double) durataEsatto / numeroVerifiche, (double) durataFiltro / numeroVerifiche,
+                100.0 * (registro.getNegativeDalFiltro() - negativePrima) / numeroVerifiche,
+                registro.getFalsiPositivi() - falsiPrima);
+        }
+
+        Path cartella = Files.createTempDirectory("hackhub-unicita");
+        inizio = System.nanoTime();
+        indice.salva(cartella);
+        System.out.printf("Salvato in %d ms (%d KB)%n", (System.nanoTime() - inizio) / 1_000_000,
+            Files.size(cartella.resolve(IndiceUnicita.FILE_UNICITA)) / 1024);
+
+        inizio = System.nanoTime();
+        IndiceUnicita riaperto = IndiceUnicita.apri(cartella);
+        boolean libera = !riaperto.isEmailRegistrata("nessuno@hackhub.it");
+        long primaNegativa = System.nanoTime() - inizio;
+        boolean caricatoSubito = riaperto.getEmail().isCaricato();
+        boolean presente = riaperto.isEmailRegistrata("utente0@hackhub.it");
+        long indiceCompleto = System.nanoTime() - inizio;
+        if (!libera || !presente || riaperto.getEmail().getDimensione() != registrate) {
+            throw new IllegalStateException("Registro riaperto non coerente");
+        }
+        System.out.printf("Riapertura: prima verifica negativa dopo %.1f ms (chiavi %s), indice esatto dopo %d ms%n",
+            primaNegativa / 1e6, caricatoSubito ? "gia' caricate" : "ancora in caricamento", indiceCompleto / 1_000_000);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hackhub.unicita;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del filtro di Bloom scalabile: nessun falso negativo oltre la capacita'
+ * iniziale, falsi positivi contenuti e persistenza.
+ */
+class FiltroBloomScalabileTest {
+
+    @Test
+    void crescitaNonProduceFalsiNegativi() {
+        FiltroBloomScalabile filtro = new FiltroBloomScalabile(1000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filtro.aggiungi("utente" + i + "@hackhub.it");
+        }
+
+        assertTrue(filtro.getNumeroLivelli() > 1);
+        assertEquals(50_000, filtro.getNumeroChiavi());
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filtro.forseContiene("utente" + i + "@hackhub.it"));
+        }
+        int falsiPositivi = 0;
+        for (int i = 0; i < 50_000; i++) {
+            falsiPositivi += filtro.forseContiene("nuovo" + i + "@hackhub.it") ? 1 : 0;
+        }
+        // La probabilita' composta dei livelli resta sotto il doppio di quella del primo
+        assertTrue(falsiPositivi < 50_000 * 0.02 * 1.5, "Falsi positivi: " + falsiPositivi);
+        assertTrue(filtro.getProbabilitaFalsoPositivo() < 0.02);
+    }
+
+    @Test
+    void filtroRilettoDaLeStesseRisposte() throws IOException {
+        FiltroBloomScalabile filtro = new FiltroBloomScalabile(100, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filtro.aggiungi("team" + i);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream uscita = new DataOutputStream(buffer)) {
+            filtro.scrivi(uscita);
+        }
+
+        FiltroBloomScalabile riletto = FiltroBloomScalabile.leggi(
+            new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+        assertEquals(filtro.getNumeroLivelli(), riletto.getNumeroLivelli());
+        assertEquals(filtro.getNumeroChiavi(), riletto.getNumeroChiavi());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(filtro.forseContiene("team" + i), riletto.forseContiene("team" + i));
+        }
+    }
+
+    @Test
+    void parametriNonValidiVengonoRifiutati() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomScalabile(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomScalabile(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomScalabile(10, 1));
+    }
+}
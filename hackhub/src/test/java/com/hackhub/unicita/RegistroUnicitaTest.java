@@ -0,0 +1,109 @@
+package com.hackhub.unicita;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test dei registri di unicita': risposte uguali a quelle dell'indice esatto,
+ * prenotazioni, rilascio e riapertura da file. I tempi delle verifiche su
+ * milioni di email sono misurati da BenchmarkUnicita.
+ */
+class RegistroUnicitaTest {
+
+    @Test
+    void filtroRispondeComeLIndiceEsatto() {
+        RegistroUnicita registro = new RegistroUnicita();
+        Map<String, Long> esatto = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String email = "utente" + i + "@hackhub.it";
+            assertTrue(registro.riserva(email, i + 1));
+            esatto.put(email, i + 1L);
+        }
+
+        // Le email arrivano come da un modulo di registrazione: maiuscole e spazi
+        Random casuale = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String email = casuale.nextInt(20) == 0 ? "Utente" + casuale.nextInt(100_000) + "@hackhub.it "
+                : "Nuovo" + casuale.nextInt(Integer.MAX_VALUE) + "@Hackhub.it";
+            assertEquals(esatto.containsKey(RegistroUnicita.normalizza(email)), registro.isPresente(email), email);
+        }
+        assertTrue(registro.getNegativeDalFiltro() > registro.getVerifiche() * 9 / 10);
+        assertEquals(100_000, registro.getDimensione());
+    }
+
+    @Test
+    void chiaveAppartieneAUnaSolaEntita() {
+        RegistroUnicita registro = new RegistroUnicita();
+
+        assertTrue(registro.riserva("Team Alfa", 1));
+        assertTrue(registro.riserva(" team alfa ", 1));
+        assertFalse(registro.riserva("TEAM ALFA", 2));
+        assertEquals(Long.valueOf(1), registro.getId("team alfa"));
+        assertFalse(registro.rilascia("team alfa", 2));
+        assertTrue(registro.rilascia("team alfa", 1));
+        assertFalse(registro.isPresente("team alfa"));
+        assertTrue(registro.riserva("team alfa", 2));
+    }
+
+    @Test
+    void prenotazionePassaAllEntitaCreata() {
+        RegistroUnicita registro = new RegistroUnicita();
+
+        assertTrue(registro.prenota("nuovo@hackhub.it"));
+        assertFalse(registro.prenota("Nuovo@hackhub.it"));
+        assertEquals(Long.valueOf(RegistroUnicita.PRENOTAZIONE), registro.getId("nuovo@hackhub.it"));
+        assertTrue(registro.riserva("nuovo@hackhub.it", 7));
+        assertEquals(Long.valueOf(7), registro.getId("nuovo@hackhub.it"));
+        assertFalse(registro.riserva("nuovo@hackhub.it", 8));
+    }
+
+    @Test
+    void ricostruzioneEliminaLeChiaviRilasciate() {
+        RegistroUnicita registro = new RegistroUnicita();
+        for (int i = 0; i < 1000; i++) {
+            registro.riserva("team" + i, i + 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            registro.rilascia("team" + i, i + 1);
+        }
+        assertEquals(1000, registro.getRilasciate());
+
+        registro.ricostruisci();
+
+        assertEquals(0, registro.getRilasciate());
+        long falsiPrima = registro.getFalsiPositivi();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(registro.isPresente("team" + i));
+        }
+        assertTrue(registro.getFalsiPositivi() - falsiPrima < 50);
+    }
+
+    @Test
+    void indiceRiapertoRispondePrimaDelCaricamento(@TempDir Path cartella) throws IOException {
+        IndiceUnicita indice = new IndiceUnicita();
+        for (int i = 0; i < 10_000; i++) {
+            indice.getEmail().riserva("utente" + i + "@hackhub.it", i + 1);
+        }
+        indice.getNomiTeam().riserva("Team Alfa", 1);
+        indice.salva(cartella);
+
+        IndiceUnicita riaperto = IndiceUnicita.apri(cartella);
+
+        assertFalse(riaperto.isEmailRegistrata("nessuno@hackhub.it"));
+        assertTrue(riaperto.isEmailRegistrata("UTENTE0@hackhub.it"));
+        assertTrue(riaperto.isNomeTeamUsato("team alfa"));
+        assertNull(riaperto.getNomiTeam().getId("team beta"));
+        assertTrue(riaperto.getEmail().isCaricato());
+        assertEquals(10_000, riaperto.getEmail().getDimensione());
+    }
+}
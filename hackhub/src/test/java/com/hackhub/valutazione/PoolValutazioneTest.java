@@ -0,0 +1,150 @@
+package com.hackhub.valutazione;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hackhub.enums.StatoSottomissione;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test del pool di valutazione: consegne concorrenti, contropressione e timeout.
+ * La versione su larga scala della corsa alla consegna e' SimulazioneScadenza.
+ */
+class PoolValutazioneTest {
+
+    private static final Hackathon HACKATHON = new Hackathon("Test", LocalDate.now().minusDays(2),
+        LocalDate.now(), LocalDate.now().minusDays(3));
+
+    private static Sottomissione sottomissione(int i, int dimensione) {
+        Sottomissione sottomissione = new Sottomissione(new Team("Team " + i, null), HACKATHON, "Progetto " + i, null);
+        sottomissione.setContenuto("x".repeat(dimensione));
+        return sottomissione;
+    }
+
+    /** Verifica che resta in corso finche' il latch non viene aperto. */
+    private static Verificatore bloccante(CountDownLatch sblocca) {
+        return new Verificatore() {
+            @Override
+            public String getNome() {
+                return "bloccante";
+            }
+
+            @Override
+            public EsitoVerifica verifica(Sottomissione sottomissione) throws InterruptedException {
+                sblocca.await();
+                return new EsitoVerifica(getNome(), true, null);
+            }
+        };
+    }
+
+    @Test
+    void consegneConcorrentiVengonoTutteValutate() throws InterruptedException {
+        int numero = 200;
+        List<Sottomissione> sottomissioni = new ArrayList<>(numero);
+        for (int i = 0; i < numero; i++) {
+            sottomissioni.add(sottomissione(i, i % 2 == 0 ? 10 : 100));
+        }
+
+        try (PoolValutazione pool = new PoolValutazione(List.of(new VerificatoreDimensione(50)), 2, 4,
+                Duration.ofSeconds(5))) {
+            AtomicInteger prossima = new AtomicInteger();
+            CountDownLatch fine = new CountDownLatch(8);
+            for (int c = 0; c < 8; c++) {
+                Thread caricatore = new Thread(() -> {
+                    int i;
+                    while ((i = prossima.getAndIncrement()) < numero) {
+                        while (true) {
+                            try {
+                                pool.sottometti(sottomissioni.get(i), Duration.ofMillis(200));
+                                break;
+                            } catch (IllegalStateException e) {
+                                // Coda piena: si riprova
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                    fine.countDown();
+                });
+                caricatore.setDaemon(true);
+                caricatore.start();
+            }
+            assertTrue(fine.await(10, TimeUnit.SECONDS));
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.getCompletati() < numero && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(numero, pool.getCompletati());
+            for (int i = 0; i < numero; i++) {
+                assertEquals(i % 2 == 0 ? StatoSottomissione.VERIFICATA : StatoSottomissione.NON_CONFORME,
+                    sottomissioni.get(i).getStato());
+            }
+        }
+    }
+
+    @Test
+    void codaPienaRespingeLaConsegna() throws InterruptedException {
+        CountDownLatch sblocca = new CountDownLatch(1);
+        try (PoolValutazione pool = new PoolValutazione(List.of(bloccante(sblocca)), 1, 1, Duration.ofSeconds(5))) {
+            pool.sottometti(sottomissione(0, 1), Duration.ZERO);
+            pool.sottometti(sottomissione(1, 1), Duration.ZERO);
+            Sottomissione respinta = sottomissione(2, 1);
+
+            assertThrows(IllegalStateException.class, () -> pool.sottometti(respinta, Duration.ofMillis(20)));
+            assertEquals(1, pool.getRifiutati());
+            assertEquals(StatoSottomissione.INVIATA, respinta.getStato());
+            sblocca.countDown();
+        }
+    }
+
+    @Test
+    void sottomissioneGiaInCodaVieneRifiutata() throws InterruptedException {
+        CountDownLatch sblocca = new CountDownLatch(1);
+        try (PoolValutazione pool = new PoolValutazione(List.of(bloccante(sblocca)), 1, 1, Duration.ofSeconds(5))) {
+            Sottomissione sottomissione = sottomissione(0, 1);
+            pool.sottometti(sottomissione, Duration.ZERO);
+
+            assertThrows(IllegalArgumentException.class, () -> pool.sottometti(sottomissione, Duration.ZERO));
+            sblocca.countDown();
+        }
+    }
+
+    @Test
+    void verificaOltreIlTimeoutTerminaInErrore() throws InterruptedException {
+        Verificatore lenta = new Verificatore() {
+            @Override
+            public String getNome() {
+                return "lenta";
+            }
+
+            @Override
+            public EsitoVerifica verifica(Sottomissione sottomissione) throws InterruptedException {
+                Thread.sleep(10_000);
+                return new EsitoVerifica(getNome(), true, null);
+            }
+        };
+
+        try (PoolValutazione pool = new PoolValutazione(List.of(lenta), 1, 1, Duration.ofMillis(50))) {
+            LavoroValutazione lavoro = pool.sottometti(sottomissione(0, 1), Duration.ZERO);
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!lavoro.isTerminato() && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(lavoro.isScaduto());
+            assertEquals(StatoSottomissione.ERRORE_VERIFICA, lavoro.getSottomissione().getStato());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.hackhub.valutazione;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Sottomissione;
+import com.hackhub.model.Team;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulazione della corsa alla consegna allo scadere della dataFine.
+ *
+ * Molti caricatori consegnano contemporaneamente tutte le sottomissioni;
+ * il pool di valutazione applica la contropressione e la simulazione stampa
+ * ogni secondo quante verifiche sono state completate e quanti lavori sono
+ * in carico. Con la coda limitata il throughput resta costante e la memoria
+ * occupata dai lavori in attesa non cresce con il numero di consegne.
+ *
+ * Uso: SimulazioneScadenza [sottomissioni] [caricatori] [msPerVerifica]
+ */
+public class SimulazioneScadenza {
+
+    public static void main(String[] args) throws InterruptedException {
+        int numero = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int caricatori = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        long msPerVerifica = args.length > 2 ? Long.parseLong(args[2]) : 2;
+
+        Hackathon hackathon = new Hackathon("Simulazione", LocalDate.now().minusDays(2),
+            LocalDate.now(), LocalDate.now().minusDays(3));
+        List<Sottomissione> sottomissioni = new ArrayList<>(numero);
+        for (int i = 0; i < numero; i++) {
+            Team team = new Team("Team " + i, null);
+            Sottomissione sottomissione = new Sottomissione(team, hackathon, "Progetto " + i, null);
+            sottomissione.setContenuto("x".repeat(i % 1000));
+            sottomissioni.add(sottomissione);
+        }
+
+        List<Verificatore> verificatori = List.of(
+            new VerificatoreDimensione(900),
+            new VerificaSimulata("build", msPerVerifica),
+            new VerificaSimulata("test", msPerVerifica));
+        int thread = Runtime.getRuntime().availableProcessors();
+
+        try (PoolValutazione pool = new PoolValutazione(verificatori, thread, thread * 4, Duration.ofSeconds(5))) {
+            AtomicInteger prossima = new AtomicInteger();
+            AtomicInteger tentativiRespinti = new AtomicInteger();
+            CountDownLatch fine = new CountDownLatch(caricatori);
+            long inizio = System.nanoTime();
+
+            for (int c = 0; c < caricatori; c++) {
+                Thread caricatore = new Thread(() -> {
+                    int i;
+                    while ((i = prossima.getAndIncrement()) < numero) {
+                        while (true) {
+                            try {
+                                pool.sottometti(sottomissioni.get(i), Duration.ofMillis(200));
+                                break;
+                            } catch (IllegalStateException e) {
+                                tentativiRespinti.incrementAndGet();
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                    fine.countDown();
+                });
+                caricatore.setDaemon(true);
+                caricatore.start();
+            }
+
+            long precedenti = 0;
+            while (pool.getCompletati() < numero) {
+                Thread.sleep(1000);
+                long completati = pool.getCompletati();
+                System.out.println("Completate " + (completati - precedenti) + "/s, in carico "
+                    + pool.getInCarico() + ", totale " + completati + "/" + numero);
+                precedenti = completati;
+            }
+            fine.await();
+
+            double secondi = (System.nanoTime() - inizio) / 1e9;
+            System.out.printf("Throughput medio: %.0f sottomissioni/s, tentativi respinti: %d%n",
+                numero / secondi, tentativiRespinti.get());
+        }
+    }
+
+    /**
+     * Verifica simulata che occupa la CPU per un tempo fisso.
+     */
+    private static class VerificaSimulata implements Verificatore {
+
+        private final String nome;
+        private final long nanos;
+
+        VerificaSimulata(String nome, long millis) {
+            this.nome = nome;
+            this.nanos = millis * 1_000_000;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public EsitoVerifica verifica(Sottomissione sottomissione) throws InterruptedException {
+            long fine = System.nanoTime() + nanos;
+            while (System.nanoTime() < fine) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return new EsitoVerifica(nome, true, null);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.hackhub.vista;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.hackhub.enums.StatoHackathon;
+import com.hackhub.enums.StatoInvito;
+import com.hackhub.enums.StatoIscrizione;
+import com.hackhub.enums.TipoEvento;
+import com.hackhub.eventi.EventoModello;
+import com.hackhub.eventi.GestoreEventi;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.Invito;
+import com.hackhub.model.Iscrizione;
+import com.hackhub.model.MembroTeam;
+import com.hackhub.model.Team;
+import com.hackhub.model.Utente;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test delle viste della dashboard: aggiornamento incrementale confrontato con
+ * il ricalcolo, eventi consegnati dopo la lettura dello stato e iscrizioni che
+ * smettono di essere tracciate.
+ */
+class VisteDashboardTest {
+
+    private final Random casuale = new Random(42);
+
+    private VisteDashboard viste;
+
+    private int progressivo;
+
+    @BeforeEach
+    void crea() {
+        viste = new VisteDashboard();
+    }
+
+    @AfterEach
+    void disattiva() {
+        viste.disattiva();
+    }
+
+    private static Hackathon hackathon(String nome) {
+        LocalDate inizio = LocalDate.of(2026, 11, 1);
+        return new Hackathon(nome, inizio, inizio.plusDays(2), inizio.minusDays(7));
+    }
+
+    private Team team(int membri) {
+        int numero = progressivo++;
+        Team team = new Utente("Nome", "Cognome", "leader" + numero + "@hackhub.it", "pw")
+            .creaTeam("Team " + numero, null);
+        for (int m = 0; m < membri; m++) {
+            team.addMembro(membro());
+        }
+        return team;
+    }
+
+    private MembroTeam membro() {
+        return new MembroTeam("Membro", "Team", "membro" + progressivo++ + "@hackhub.it", "pw");
+    }
+
+    private static Iscrizione iscrivi(Hackathon hackathon, Team team) {
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        team.aggiungiIscrizione(iscrizione);
+        hackathon.aggiungiIscrizione(iscrizione);
+        return iscrizione;
+    }
+
+    private static void assertStesseViste(VistaHackathon attesa, VistaHackathon trovata) {
+        for (StatoIscrizione stato : StatoIscrizione.values()) {
+            assertEquals(attesa.getIscrizioni(stato), trovata.getIscrizioni(stato), stato.name());
+        }
+        assertEquals(attesa.getMediaMembriTeam(), trovata.getMediaMembriTeam(), 1e-9);
+        assertEquals(attesa.getInvitiInviati(), trovata.getInvitiInviati());
+        assertEquals(attesa.getInvitiAccettati(), trovata.getInvitiAccettati());
+        assertEquals(attesa.getInvitiRifiutati(), trovata.getInvitiRifiutati());
+    }
+
+    @Test
+    void aggiornamentoIncrementaleUgualeAlRicalcolo() {
+        List<Hackathon> hackathon = List.of(hackathon("Primo"), hackathon("Secondo"));
+        List<Team> team = new ArrayList<>();
+        List<Iscrizione> iscrizioni = new ArrayList<>();
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            for (int t = 0; t < 20; t++) {
+                team.add(team(casuale.nextInt(3)));
+                iscrizioni.add(iscrivi(hackathon.get(t % 2), team.get(t)));
+            }
+        });
+        viste.inizializza(hackathon);
+        viste.attiva();
+
+        List<Invito> pendenti = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Team scelto = team.get(casuale.nextInt(team.size()));
+            switch (casuale.nextInt(6)) {
+                case 0:
+                    scelto.addMembro(membro());
+                    break;
+                case 1:
+                    if (scelto.countMembri() > 1) {
+                        scelto.removeMembro(scelto.getMembri().get(scelto.countMembri() - 1));
+                    }
+                    break;
+                case 2:
+                    pendenti.add(scelto.getLeader().invitaUtente(
+                        new Utente("Invitato", "Utente", "invitato" + progressivo++ + "@hackhub.it", "pw")));
+                    break;
+                case 3:
+                    if (!pendenti.isEmpty()) {
+                        Invito invito = pendenti.remove(casuale.nextInt(pendenti.size()));
+                        if (casuale.nextBoolean()) {
+                            invito.getDestinatario().accettaInvito(invito);
+                        } else {
+                            invito.getDestinatario().rifiutaInvito(invito);
+                        }
+                    }
+                    break;
+                case 4:
+                    Iscrizione iscrizione = iscrizioni.get(casuale.nextInt(iscrizioni.size()));
+                    if (iscrizione.getStato() == StatoIscrizione.CONFERMATA) {
+                        iscrizione.annulla();
+                    } else {
+                        iscrizione.setStato(StatoIscrizione.CONFERMATA);
+                    }
+                    break;
+                default:
+                    iscrizioni.add(iscrivi(hackathon.get(casuale.nextInt(2)), team(casuale.nextInt(3))));
+            }
+        }
+
+        VisteDashboard ricalcolo = new VisteDashboard();
+        ricalcolo.inizializza(hackathon);
+        for (Hackathon h : hackathon) {
+            assertStesseViste(ricalcolo.getVista(h), viste.getVista(h));
+        }
+        long annullate = iscrizioni.stream().filter(i -> i.getStato() == StatoIscrizione.ANNULLATA).count();
+        assertEquals(iscrizioni.size() - annullate, viste.getIscrizioniTracciate());
+    }
+
+    @Test
+    void eventoConsegnatoDopoLaLetturaNonContaDueVolte() {
+        Hackathon hackathon = hackathon("In viaggio");
+        Team team = team(1);
+        viste.inizializza(List.of(hackathon));
+
+        // Membro e iscrizione sono gia' nel modello, i loro eventi non ancora consegnati
+        MembroTeam nuovo = membro();
+        Iscrizione iscrizione = new Iscrizione(team, hackathon);
+        GestoreEventi.eseguiSenzaEventi(() -> {
+            team.addMembro(nuovo);
+            hackathon.aggiungiIscrizione(iscrizione);
+        });
+        viste.gestisciEvento(new EventoModello(TipoEvento.AGGIUNTA, hackathon, "iscrizioni", null, iscrizione));
+        viste.gestisciEvento(new EventoModello(TipoEvento.AGGIUNTA, team, "membri", null, nuovo));
+
+        VistaHackathon vista = viste.getVista(hackathon);
+        assertEquals(3, vista.getMediaMembriTeam(), 1e-9);
+
+        // Stato gia' cambiato e consegnato due volte: conta una sola transizione
+        GestoreEventi.eseguiSenzaEventi(() -> iscrizione.setStato(StatoIscrizione.SQUALIFICATA));
+        EventoModello squalifica = new EventoModello(TipoEvento.MODIFICA, iscrizione, "stato",
+            StatoIscrizione.CONFERMATA, StatoIscrizione.SQUALIFICATA);
+        viste.gestisciEvento(squalifica);
+        viste.gestisciEvento(squalifica);
+
+        assertEquals(0, vista.getIscrizioni(StatoIscrizione.CONFERMATA));
+        assertEquals(1, vista.getIscrizioni(StatoIscrizione.SQUALIFICATA));
+        assertEquals(0, vista.getMediaMembriTeam(), 1e-9);
+    }
+
+    @Test
+    void iscrizioneAnnullataNonVieneTracciataFinoAllaRiattivazione() {
+        Hackathon hackathon = hackathon("Annullata");
+        Team team = team(2);
+        viste.attiva();
+        Iscrizione iscrizione = iscrivi(hackathon, team);
+        VistaHackathon vista = viste.getVista(hackathon);
+        assertEquals(1, viste.getIscrizioniTracciate());
+
+        iscrizione.annulla();
+        team.addMembro(membro());
+
+        assertEquals(0, viste.getIscrizioniTracciate());
+        assertEquals(1, vista.getIscrizioni(StatoIscrizione.ANNULLATA));
+        assertEquals(0, vista.getTeamAttivi());
+
+        iscrizione.setStato(StatoIscrizione.CONFERMATA);
+
+        assertEquals(1, viste.getIscrizioniTracciate());
+        assertEquals(0, vista.getIscrizioni(StatoIscrizione.ANNULLATA));
+        assertEquals(1, vista.getTeamAttivi());
+        assertEquals(4, vista.getMediaMembriTeam(), 1e-9);
+    }
+
+    @Test
+    void vistaDiUnHackathonConclusoRestaFerma() {
+        Hackathon hackathon = hackathon("Concluso");
+        Team team = team(1);
+        viste.attiva();
+        iscrivi(hackathon, team);
+        Invito invito = team.getLeader().invitaUtente(new Utente("Invitato", "Utente", "concluso@hackhub.it", "pw"));
+        VistaHackathon vista = viste.getVista(hackathon);
+
+        hackathon.setStato(StatoHackathon.CONCLUSO);
+        team.addMembro(membro());
+        invito.getDestinatario().rifiutaInvito(invito);
+
+        assertEquals(0, viste.getIscrizioniTracciate());
+        assertEquals(2, vista.getMediaMembriTeam(), 1e-9);
+        assertEquals(1, vista.getInvitiInviati());
+        assertEquals(0, vista.getInvitiRifiutati());
+        assertEquals(StatoInvito.RIFIUTATO, invito.getStato());
+    }
+}